@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import org.hipparchus.random.RandomGenerator;
+
+/** Utility methods shared by several benchmarks.
+ */
+public class BenchmarksUtils {
+
+    /** Private constructor for a utility class.
+     */
+    private BenchmarksUtils() {
+        // nothing to do
+    }
+
+    /** Create an array filled with uniformly distributed values in [-1, 1).
+     * @param random random generator to use
+     * @param rows number of rows
+     * @param columns number of columns
+     * @return random array
+     */
+    public static double[][] randomArray(final RandomGenerator random, final int rows, final int columns) {
+        final double[][] array = new double[rows][columns];
+        for (final double[] row : array) {
+            for (int j = 0; j < columns; ++j) {
+                row[j] = 2 * random.nextDouble() - 1;
+            }
+        }
+        return array;
+    }
+
+    /** Create a vector filled with uniformly distributed values in [-1, 1).
+     * @param random random generator to use
+     * @param size number of elements
+     * @return random vector
+     */
+    public static double[] randomVector(final RandomGenerator random, final int size) {
+        final double[] vector = new double[size];
+        for (int i = 0; i < size; ++i) {
+            vector[i] = 2 * random.nextDouble() - 1;
+        }
+        return vector;
+    }
+
+}
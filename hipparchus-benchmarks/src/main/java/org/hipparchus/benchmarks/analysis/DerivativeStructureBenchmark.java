@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.analysis;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.analysis.differentiation.DSFactory;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link DerivativeStructure} arithmetic, which relies on {@code DSCompiler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DerivativeStructureBenchmark {
+
+    /** Number of free parameters. */
+    @Param({"1", "3", "6"})
+    private int parameters;
+
+    /** Derivation order. */
+    @Param({"1", "2", "4"})
+    private int order;
+
+    /** First operand. */
+    private DerivativeStructure x;
+
+    /** Second operand. */
+    private DerivativeStructure y;
+
+    /** Build the operands.
+     */
+    @Setup
+    public void setUp() {
+        final DSFactory factory = new DSFactory(parameters, order);
+        x = factory.variable(0, 0.75);
+        y = factory.variable(parameters - 1, 1.25);
+    }
+
+    /** Benchmark addition.
+     * @return sum
+     */
+    @Benchmark
+    public DerivativeStructure add() {
+        return x.add(y);
+    }
+
+    /** Benchmark multiplication.
+     * @return product
+     */
+    @Benchmark
+    public DerivativeStructure multiply() {
+        return x.multiply(y);
+    }
+
+    /** Benchmark division.
+     * @return quotient
+     */
+    @Benchmark
+    public DerivativeStructure divide() {
+        return x.divide(y);
+    }
+
+    /** Benchmark composition with a transcendental function.
+     * @return sine
+     */
+    @Benchmark
+    public DerivativeStructure sin() {
+        return x.sin();
+    }
+
+    /** Benchmark two arguments function.
+     * @return arc tangent of x/y
+     */
+    @Benchmark
+    public DerivativeStructure atan2() {
+        return DerivativeStructure.atan2(x, y);
+    }
+
+    /** Benchmark a small expression mixing several operations.
+     * @return expression value
+     */
+    @Benchmark
+    public DerivativeStructure expression() {
+        return x.multiply(y).add(x.sin()).divide(y.exp()).subtract(x.pow(3));
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.clustering.Cluster;
+import org.hipparchus.clustering.DBSCANClusterer;
+import org.hipparchus.clustering.DoublePoint;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.neighbors.BallTreeNeighborSearch;
+import org.hipparchus.clustering.neighbors.GridNeighborSearch;
+import org.hipparchus.clustering.neighbors.KDTreeNeighborSearch;
+import org.hipparchus.clustering.neighbors.LinearScanNeighborSearch;
+import org.hipparchus.clustering.neighbors.NeighborSearch;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link DBSCANClusterer} with the various neighbor searches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DBSCANClustererBenchmark {
+
+    /** Number of points. */
+    @Param({"2000", "20000"})
+    private int size;
+
+    /** Neighbor search. */
+    @Param({"linear", "kdtree", "balltree", "grid"})
+    private String search;
+
+    /** Points dimension. */
+    private static final int DIMENSION = 2;
+
+    /** Number of dense groups. */
+    private static final int GROUPS = 16;
+
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /** Neighbor search. */
+    private NeighborSearch neighborSearch;
+
+    /** Build the random points, grouped around dense centers plus uniform noise.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x58b2e06c1d9f4a73l);
+        final double[][] centers = new double[GROUPS][DIMENSION];
+        for (final double[] center : centers) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                center[j] = 100 * random.nextDouble();
+            }
+        }
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            final double[] p = new double[DIMENSION];
+            for (int j = 0; j < DIMENSION; ++j) {
+                p[j] = (i % 10 == 0) ? 100 * random.nextDouble() : centers[i % GROUPS][j] + random.nextGaussian();
+            }
+            points.add(new DoublePoint(p));
+        }
+        switch (search) {
+            case "linear" :
+                neighborSearch = new LinearScanNeighborSearch();
+                break;
+            case "kdtree" :
+                neighborSearch = new KDTreeNeighborSearch();
+                break;
+            case "balltree" :
+                neighborSearch = new BallTreeNeighborSearch();
+                break;
+            default :
+                neighborSearch = new GridNeighborSearch();
+        }
+    }
+
+    /** Benchmark clustering.
+     * @return clusters
+     */
+    @Benchmark
+    public List<Cluster<DoublePoint>> cluster() {
+        return new DBSCANClusterer<DoublePoint>(0.5, 8, new EuclideanDistance(), neighborSearch).cluster(points);
+    }
+
+}
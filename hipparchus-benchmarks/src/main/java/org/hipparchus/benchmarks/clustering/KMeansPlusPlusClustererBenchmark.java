@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.clustering.CentroidCluster;
+import org.hipparchus.clustering.DoublePoint;
+import org.hipparchus.clustering.KMeansPlusPlusClusterer;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link KMeansPlusPlusClusterer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KMeansPlusPlusClustererBenchmark {
+
+    /** Number of points. */
+    @Param({"1000", "20000"})
+    private int size;
+
+    /** Number of clusters. */
+    @Param({"8", "32"})
+    private int k;
+
+    /** Assignment strategy. */
+    @Param({"EXHAUSTIVE", "HAMERLY", "ELKAN"})
+    private KMeansPlusPlusClusterer.AssignmentStrategy strategy;
+
+    /** Points dimension. */
+    private static final int DIMENSION = 3;
+
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /** Pool for parallel clustering. */
+    private ForkJoinPool pool;
+
+    /** Build the random points, grouped around k centers.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x7d41a2c95e0f3b86l);
+        final double[][] centers = new double[k][DIMENSION];
+        for (final double[] center : centers) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                center[j] = 100 * random.nextDouble();
+            }
+        }
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            final double[] center = centers[i % k];
+            final double[] p = new double[DIMENSION];
+            for (int j = 0; j < DIMENSION; ++j) {
+                p[j] = center[j] + random.nextGaussian();
+            }
+            points.add(new DoublePoint(p));
+        }
+        pool = new ForkJoinPool();
+    }
+
+    /** Release the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** Benchmark clustering.
+     * @return clusters
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> cluster() {
+        return cluster(null);
+    }
+
+    /** Benchmark parallel clustering.
+     * @return clusters
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> parallelCluster() {
+        return cluster(pool);
+    }
+
+    /** Run clustering.
+     * @param clusteringPool pool to use (may be null)
+     * @return clusters
+     */
+    private List<CentroidCluster<DoublePoint>> cluster(final ForkJoinPool clusteringPool) {
+        final KMeansPlusPlusClusterer<DoublePoint> clusterer =
+                        new KMeansPlusPlusClusterer<>(k, 100, new EuclideanDistance(),
+                                                      new Well19937a(0x2f6a9c1e4b8d7053l),
+                                                      KMeansPlusPlusClusterer.EmptyClusterStrategy.LARGEST_VARIANCE,
+                                                      strategy, clusteringPool);
+        return clusterer.cluster(points);
+    }
+
+}
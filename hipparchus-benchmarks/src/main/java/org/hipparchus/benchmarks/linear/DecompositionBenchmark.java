@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.linear;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarksUtils;
+import org.hipparchus.linear.BlockRealMatrix;
+import org.hipparchus.linear.EigenDecomposition;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for dense matrices decompositions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecompositionBenchmark {
+
+    /** Matrix dimension. */
+    @Param({"20", "100", "300"})
+    private int size;
+
+    /** General square matrix. */
+    private RealMatrix general;
+
+    /** Symmetric matrix. */
+    private RealMatrix symmetric;
+
+    /** Build the random operands.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x3a9e2f41c6d8b057l);
+        general   = new BlockRealMatrix(BenchmarksUtils.randomArray(random, size, size));
+        symmetric = general.add(general.transpose());
+    }
+
+    /** Benchmark {@link LUDecomposition}.
+     * @return decomposition determinant
+     */
+    @Benchmark
+    public double lu() {
+        return new LUDecomposition(general).getDeterminant();
+    }
+
+    /** Benchmark {@link LUDecomposition} using the common fork-join pool.
+     * @return decomposition determinant
+     */
+    @Benchmark
+    public double luParallel() {
+        return new LUDecomposition(general, 1.0e-11, ForkJoinPool.commonPool()).getDeterminant();
+    }
+
+    /** Benchmark {@link QRDecomposition}.
+     * @return R factor
+     */
+    @Benchmark
+    public RealMatrix qr() {
+        return new QRDecomposition(general).getR();
+    }
+
+    /** Benchmark {@link QRDecomposition} using the common fork-join pool.
+     * @return R factor
+     */
+    @Benchmark
+    public RealMatrix qrParallel() {
+        return new QRDecomposition(general, 0.0, ForkJoinPool.commonPool()).getR();
+    }
+
+    /** Benchmark {@link EigenDecomposition} on a symmetric matrix.
+     * @return real parts of eigenvalues
+     */
+    @Benchmark
+    public double[] eigenSymmetric() {
+        return new EigenDecomposition(symmetric).getRealEigenvalues();
+    }
+
+    /** Benchmark {@link EigenDecomposition} on a general matrix.
+     * @return real parts of eigenvalues
+     */
+    @Benchmark
+    public double[] eigenGeneral() {
+        return new EigenDecomposition(general).getRealEigenvalues();
+    }
+
+}
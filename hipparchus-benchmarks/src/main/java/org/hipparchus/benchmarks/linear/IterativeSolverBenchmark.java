@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.CompressedSparseRealMatrix;
+import org.hipparchus.linear.ConjugateGradient;
+import org.hipparchus.linear.IncompleteCholeskyPreconditioner;
+import org.hipparchus.linear.JacobiPreconditioner;
+import org.hipparchus.linear.RealLinearOperator;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.linear.SSORPreconditioner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for preconditioned conjugate gradient.
+ * <p>
+ * The matrix is the 5 points Laplacian on a square grid.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IterativeSolverBenchmark {
+
+    /** Number of grid points along each side. */
+    @Param({"100", "300"})
+    private int grid;
+
+    /** Matrix. */
+    private CompressedSparseRealMatrix matrix;
+
+    /** Right hand side. */
+    private RealVector rhs;
+
+    /** Jacobi preconditioner. */
+    private RealLinearOperator jacobi;
+
+    /** Incomplete Cholesky preconditioner. */
+    private RealLinearOperator ic0;
+
+    /** SSOR preconditioner. */
+    private RealLinearOperator ssor;
+
+    /** Pool for parallel solves. */
+    private ForkJoinPool pool;
+
+    /** Build the operands.
+     */
+    @Setup
+    public void setUp() {
+        final int n = grid * grid;
+        final int[]    rows    = new int[5 * n];
+        final int[]    columns = new int[5 * n];
+        final double[] values  = new double[5 * n];
+        int k = 0;
+        for (int i = 0; i < grid; ++i) {
+            for (int j = 0; j < grid; ++j) {
+                final int node = i * grid + j;
+                k = add(rows, columns, values, k, node, node, 4.0);
+                if (i > 0) {
+                    k = add(rows, columns, values, k, node, node - grid, -1.0);
+                }
+                if (i < grid - 1) {
+                    k = add(rows, columns, values, k, node, node + grid, -1.0);
+                }
+                if (j > 0) {
+                    k = add(rows, columns, values, k, node, node - 1, -1.0);
+                }
+                if (j < grid - 1) {
+                    k = add(rows, columns, values, k, node, node + 1, -1.0);
+                }
+            }
+        }
+        matrix = CompressedSparseRealMatrix.createFromTriplets(n, n,
+                                                               Arrays.copyOf(rows, k),
+                                                               Arrays.copyOf(columns, k),
+                                                               Arrays.copyOf(values, k),
+                                                               CompressedSparseRealMatrix.Format.CSR);
+        rhs    = new ArrayRealVector(n, 1.0);
+        jacobi = JacobiPreconditioner.create(matrix);
+        ic0    = new IncompleteCholeskyPreconditioner(matrix);
+        ssor   = new SSORPreconditioner(matrix, 1.5);
+        pool   = new ForkJoinPool();
+    }
+
+    /** Release the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** Add one triplet.
+     * @param rows row indices
+     * @param columns column indices
+     * @param values entries
+     * @param k index of the triplet
+     * @param i row index
+     * @param j column index
+     * @param v entry
+     * @return index of next triplet
+     */
+    private static int add(final int[] rows, final int[] columns, final double[] values,
+                           final int k, final int i, final int j, final double v) {
+        rows[k]    = i;
+        columns[k] = j;
+        values[k]  = v;
+        return k + 1;
+    }
+
+    /** Benchmark conjugate gradient with {@link JacobiPreconditioner}.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector jacobi() {
+        return new ConjugateGradient(10000, 1.0e-10, false).solve(matrix, jacobi, rhs);
+    }
+
+    /** Benchmark conjugate gradient with {@link JacobiPreconditioner} and parallel kernels.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector jacobiParallel() {
+        return new ConjugateGradient(10000, 1.0e-10, false, pool).solve(matrix, jacobi, rhs);
+    }
+
+    /** Benchmark conjugate gradient with {@link IncompleteCholeskyPreconditioner}.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector incompleteCholesky() {
+        return new ConjugateGradient(10000, 1.0e-10, false).solve(matrix, ic0, rhs);
+    }
+
+    /** Benchmark conjugate gradient with {@link SSORPreconditioner}.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector ssor() {
+        return new ConjugateGradient(10000, 1.0e-10, false).solve(matrix, ssor, rhs);
+    }
+
+}
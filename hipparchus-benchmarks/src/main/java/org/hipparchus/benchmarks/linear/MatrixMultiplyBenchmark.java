@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.benchmarks.linear;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarksUtils;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.BlockRealMatrix;
+import org.hipparchus.linear.FlatRealMatrix;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for dense matrices products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixMultiplyBenchmark {
+
+    /** Matrices dimension. */
+    @Param({"50", "200", "500"})
+    private int size;
+
+    /** Left hand side block matrix. */
+    private BlockRealMatrix blockA;
+
+    /** Right hand side block matrix. */
+    private BlockRealMatrix blockB;
+
+    /** Left hand side array-based matrix. */
+    private Array2DRowRealMatrix arrayA;
+
+    /** Right hand side array-based matrix. */
+    private Array2DRowRealMatrix arrayB;
+
+    /** Left hand side flat matrix. */
+    private FlatRealMatrix flatA;
+
+    /** Right hand side flat matrix. */
+    private FlatRealMatrix flatB;
+
+    /** Build the random operands.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x6f2c5d7e1a8b3c49l);
+        final double[][] a = BenchmarksUtils.randomArray(random, size, size);
+        final double[][] b = BenchmarksUtils.randomArray(random, size, size);
+        blockA = new BlockRealMatrix(a);
+        blockB = new BlockRealMatrix(b);
+        arrayA = new Array2DRowRealMatrix(a);
+        arrayB = new Array2DRowRealMatrix(b);
+        flatA  = new FlatRealMatrix(a);
+        flatB  = new FlatRealMatrix(b);
+    }
+
+    /** Benchmark {@link BlockRealMatrix#multiply(BlockRealMatrix)}.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix blockMultiply() {
+        return blockA.multiply(blockB);
+    }
+
+    /** Benchmark {@link BlockRealMatrix#multiplyTransposed(BlockRealMatrix)}.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix blockMultiplyTransposed() {
+        return blockA.multiplyTransposed(blockB);
+    }
+
+    /** Benchmark {@link BlockRealMatrix#transposeMultiply(BlockRealMatrix)}.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix blockTransposeMultiply() {
+        return blockA.transposeMultiply(blockB);
+    }
+
+    /** Benchmark {@link BlockRealMatrix#multiply(BlockRealMatrix, ForkJoinPool)}.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix blockMultiplyParallel() {
+        return blockA.multiply(blockB, ForkJoinPool.commonPool());
+    }
+
+    /** Benchmark {@link Array2DRowRealMatrix#multiply(Array2DRowRealMatrix)}.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix arrayMultiply() {
+        return arrayA.multiply(arrayB);
+    }
+
+    /** Benchmark {@link FlatRealMatrix#multiply(FlatRealMatrix)}.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix flatMultiply() {
+        return flatA.multiply(flatB);
+    }
+
+    /** Benchmark {@link FlatRealMatrix#multiply(FlatRealMatrix)} on a transposed view.
+     * @return product matrix
+     */
+    @Benchmark
+    public RealMatrix flatTransposeViewMultiply() {
+        return flatA.transposeView().multiply(flatB);
+    }
+
+}
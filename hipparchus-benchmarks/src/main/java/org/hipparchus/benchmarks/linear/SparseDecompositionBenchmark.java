@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.linear.CholeskyDecomposition;
+import org.hipparchus.linear.CompressedSparseRealMatrix;
+import org.hipparchus.linear.OpenMapRealMatrix;
+import org.hipparchus.linear.SparseCholeskyDecomposition;
+import org.hipparchus.linear.SparseLUDecomposition;
+import org.hipparchus.linear.SparseOrdering;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for sparse matrices products and decompositions.
+ * <p>
+ * The matrix is the 5 points Laplacian on a square grid.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SparseDecompositionBenchmark {
+
+    /** Number of grid points along each side. */
+    @Param({"30", "100"})
+    private int grid;
+
+    /** Compressed sparse matrix. */
+    private CompressedSparseRealMatrix compressed;
+
+    /** Hash map based sparse matrix. */
+    private OpenMapRealMatrix openMap;
+
+    /** Vector to multiply. */
+    private double[] vector;
+
+    /** Build the operands.
+     */
+    @Setup
+    public void setUp() {
+        final int n = grid * grid;
+        final int[]    rows    = new int[5 * n];
+        final int[]    columns = new int[5 * n];
+        final double[] values  = new double[5 * n];
+        int k = 0;
+        for (int i = 0; i < grid; ++i) {
+            for (int j = 0; j < grid; ++j) {
+                final int node = i * grid + j;
+                k = add(rows, columns, values, k, node, node, 4.0);
+                if (i > 0) {
+                    k = add(rows, columns, values, k, node, node - grid, -1.0);
+                }
+                if (i < grid - 1) {
+                    k = add(rows, columns, values, k, node, node + grid, -1.0);
+                }
+                if (j > 0) {
+                    k = add(rows, columns, values, k, node, node - 1, -1.0);
+                }
+                if (j < grid - 1) {
+                    k = add(rows, columns, values, k, node, node + 1, -1.0);
+                }
+            }
+        }
+        compressed = CompressedSparseRealMatrix.createFromTriplets(n, n,
+                                                                   Arrays.copyOf(rows, k),
+                                                                   Arrays.copyOf(columns, k),
+                                                                   Arrays.copyOf(values, k),
+                                                                   CompressedSparseRealMatrix.Format.CSR);
+        openMap = new OpenMapRealMatrix(n, n);
+        for (int p = 0; p < k; ++p) {
+            openMap.setEntry(rows[p], columns[p], values[p]);
+        }
+        vector = new double[n];
+        Arrays.fill(vector, 1.0);
+    }
+
+    /** Add one triplet.
+     * @param rows row indices
+     * @param columns column indices
+     * @param values entries
+     * @param k index of the triplet
+     * @param i row index
+     * @param j column index
+     * @param v entry
+     * @return index of next triplet
+     */
+    private static int add(final int[] rows, final int[] columns, final double[] values,
+                           final int k, final int i, final int j, final double v) {
+        rows[k]    = i;
+        columns[k] = j;
+        values[k]  = v;
+        return k + 1;
+    }
+
+    /** Benchmark matrix-vector product with {@link CompressedSparseRealMatrix}.
+     * @return product
+     */
+    @Benchmark
+    public double[] operateCompressed() {
+        return compressed.operate(vector);
+    }
+
+    /** Benchmark matrix-vector product with {@link OpenMapRealMatrix}.
+     * @return product
+     */
+    @Benchmark
+    public double[] operateOpenMap() {
+        return openMap.operate(vector);
+    }
+
+    /** Benchmark {@link SparseCholeskyDecomposition} with approximate minimum degree ordering.
+     * @return decomposition determinant
+     */
+    @Benchmark
+    public double choleskyAmd() {
+        return cholesky(SparseOrdering.APPROXIMATE_MINIMUM_DEGREE);
+    }
+
+    /** Benchmark {@link SparseCholeskyDecomposition} with reverse Cuthill-McKee ordering.
+     * @return decomposition determinant
+     */
+    @Benchmark
+    public double choleskyRcm() {
+        return cholesky(SparseOrdering.REVERSE_CUTHILL_MCKEE);
+    }
+
+    /** Benchmark {@link SparseLUDecomposition} with approximate minimum degree ordering.
+     * @return decomposition determinant
+     */
+    @Benchmark
+    public double luAmd() {
+        return new SparseLUDecomposition(compressed).getDeterminant();
+    }
+
+    /** Run a sparse Cholesky decomposition.
+     * @param ordering fill-reducing ordering
+     * @return decomposition determinant
+     */
+    private double cholesky(final SparseOrdering ordering) {
+        return new SparseCholeskyDecomposition(compressed, ordering,
+                                               CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                               CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD).
+               getDeterminant();
+    }
+
+}
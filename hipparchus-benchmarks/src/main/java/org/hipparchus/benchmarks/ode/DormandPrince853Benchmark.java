@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.ode;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link DormandPrince853Integrator} on a Keplerian orbit, with and without events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DormandPrince853Benchmark {
+
+    /** Number of events handlers. */
+    @Param({"0", "1", "10"})
+    private int events;
+
+    /** Orbit eccentricity. */
+    private static final double ECCENTRICITY = 0.2;
+
+    /** Number of orbits to integrate. */
+    private static final int ORBITS = 10;
+
+    /** Differential equations. */
+    private OrdinaryDifferentialEquation kepler;
+
+    /** Initial state. */
+    private ODEState initialState;
+
+    /** Build the problem.
+     */
+    @Setup
+    public void setUp() {
+        kepler = new OrdinaryDifferentialEquation() {
+
+            /** {@inheritDoc} */
+            @Override
+            public int getDimension() {
+                return 4;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double[] computeDerivatives(final double t, final double[] y) {
+                final double r2 = y[0] * y[0] + y[1] * y[1];
+                final double f  = -1.0 / (r2 * FastMath.sqrt(r2));
+                return new double[] {
+                    y[2], y[3], f * y[0], f * y[1]
+                };
+            }
+
+        };
+
+        // start at periapsis, with unit semi-major axis and gravity constant
+        initialState = new ODEState(0.0,
+                                    new double[] {
+                                        1 - ECCENTRICITY, 0.0,
+                                        0.0, FastMath.sqrt((1 + ECCENTRICITY) / (1 - ECCENTRICITY))
+                                    });
+
+    }
+
+    /** Benchmark a full integration.
+     * @return final state
+     */
+    @Benchmark
+    public ODEStateAndDerivative integrate() {
+        final DormandPrince853Integrator integrator =
+                        new DormandPrince853Integrator(1.0e-6, 1.0, 1.0e-10, 1.0e-10);
+        for (int i = 0; i < events; ++i) {
+            // crossings of lines through origin, at various angles
+            integrator.addEventHandler(new LineCrossing(i * FastMath.PI / events), 0.1, 1.0e-9, 100);
+        }
+        return integrator.integrate(kepler, initialState, ORBITS * 2 * FastMath.PI);
+    }
+
+    /** Event handler for crossing of a line through origin. */
+    private static class LineCrossing implements ODEEventHandler {
+
+        /** Cosine of line angle. */
+        private final double cos;
+
+        /** Sine of line angle. */
+        private final double sin;
+
+        /** Simple constructor.
+         * @param angle line angle
+         */
+        LineCrossing(final double angle) {
+            this.cos = FastMath.cos(angle);
+            this.sin = FastMath.sin(angle);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double g(final ODEStateAndDerivative state) {
+            final double[] y = state.getPrimaryState();
+            return y[1] * cos - y[0] * sin;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Action eventOccurred(final ODEStateAndDerivative state, final boolean increasing) {
+            return Action.CONTINUE;
+        }
+
+    }
+
+}
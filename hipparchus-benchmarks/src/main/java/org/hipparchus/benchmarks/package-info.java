@@ -0,0 +1,29 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * JMH benchmarks for Hipparchus computation kernels.
+ * <p>
+ * The benchmarks are not run during the regular build. They are packaged
+ * in a self-contained jar that can be run as
+ * {@code java -jar hipparchus-benchmarks/target/hipparchus-benchmarks.jar},
+ * optionally followed by a regular expression selecting the benchmarks
+ * and by the usual JMH options.
+ * </p>
+ *
+ */
+package org.hipparchus.benchmarks;
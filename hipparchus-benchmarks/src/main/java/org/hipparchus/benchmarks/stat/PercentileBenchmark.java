@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.stat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarksUtils;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.stat.descriptive.rank.Percentile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link Percentile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentileBenchmark {
+
+    /** Sample size. */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /** Sample. */
+    private double[] sample;
+
+    /** Build the random sample.
+     */
+    @Setup
+    public void setUp() {
+        sample = BenchmarksUtils.randomVector(new Well19937a(0x52e7b1f94c3d0a68l), size);
+    }
+
+    /** Benchmark a single median computation.
+     * @return median
+     */
+    @Benchmark
+    public double median() {
+        return new Percentile().evaluate(sample, 50.0);
+    }
+
+    /** Benchmark several quantiles computed on the same stored data, which reuses cached pivots.
+     * @return sum of quantiles
+     */
+    @Benchmark
+    public double quartilesOnStoredData() {
+        final Percentile percentile = new Percentile();
+        percentile.setData(sample);
+        return percentile.evaluate(25.0) + percentile.evaluate(50.0) + percentile.evaluate(75.0);
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks.transform;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.benchmarks.BenchmarksUtils;
+import org.hipparchus.complex.Complex;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.transform.DftNormalization;
+import org.hipparchus.transform.FastFourierTransformPlan;
+import org.hipparchus.transform.FastFourierTransformer;
+import org.hipparchus.transform.RealFastFourierTransformPlan;
+import org.hipparchus.transform.TransformType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link FastFourierTransformer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastFourierTransformerBenchmark {
+
+    /** Signal length (powers of 2, mixed radix and prime lengths). */
+    @Param({"256", "1000", "3600", "4096", "4099", "65536"})
+    private int size;
+
+    /** Transformer. */
+    private FastFourierTransformer transformer;
+
+    /** Real signal. */
+    private double[] real;
+
+    /** Real and imaginary parts of complex signal. */
+    private double[][] dataRI;
+
+    /** Forward transform plan. */
+    private FastFourierTransformPlan forwardPlan;
+
+    /** Inverse transform plan. */
+    private FastFourierTransformPlan inversePlan;
+
+    /** Real transform plan. */
+    private RealFastFourierTransformPlan realPlan;
+
+    /** Real parts of half spectrum. */
+    private double[] halfR;
+
+    /** Imaginary parts of half spectrum. */
+    private double[] halfI;
+
+    /** Build the random signals.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x0b8d3e6f2a7c1954l);
+        transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+        real        = BenchmarksUtils.randomVector(random, size);
+        dataRI      = BenchmarksUtils.randomArray(random, 2, size);
+        forwardPlan = transformer.createPlan(size, TransformType.FORWARD);
+        inversePlan = transformer.createPlan(size, TransformType.INVERSE);
+        realPlan    = transformer.createRealPlan(size);
+        halfR       = new double[realPlan.getSpectrumLength()];
+        halfI       = new double[realPlan.getSpectrumLength()];
+    }
+
+    /** Benchmark forward transform of a real signal.
+     * @return transformed signal
+     */
+    @Benchmark
+    public Complex[] forwardReal() {
+        return transformer.transform(real, TransformType.FORWARD);
+    }
+
+    /** Benchmark in-place forward then inverse transform of a complex signal.
+     * @return transformed signal
+     */
+    @Benchmark
+    public double[][] inPlaceRoundTrip() {
+        FastFourierTransformer.transformInPlace(dataRI, DftNormalization.STANDARD, TransformType.FORWARD);
+        FastFourierTransformer.transformInPlace(dataRI, DftNormalization.STANDARD, TransformType.INVERSE);
+        return dataRI;
+    }
+
+    /** Benchmark in-place forward then inverse transform of a complex signal using precomputed plans.
+     * @return transformed signal
+     */
+    @Benchmark
+    public double[][] planRoundTrip() {
+        forwardPlan.transform(dataRI);
+        inversePlan.transform(dataRI);
+        return dataRI;
+    }
+
+    /** Benchmark forward transform of a real signal using a precomputed real plan.
+     * @return real parts of the half spectrum
+     */
+    @Benchmark
+    public double[] realPlanForward() {
+        realPlan.forward(real, halfR, halfI);
+        return halfR;
+    }
+
+}
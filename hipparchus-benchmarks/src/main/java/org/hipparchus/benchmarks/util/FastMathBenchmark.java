@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.hipparchus.benchmarks.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark comparing {@link FastMath} and {@link Math} elementary functions.
+ * <p>
+ * Each benchmark method evaluates the function on {@link #SIZE} arguments,
+ * so the reported time is the average time for one call.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(FastMathBenchmark.SIZE)
+public class FastMathBenchmark {
+
+    /** Number of arguments per invocation. */
+    static final int SIZE = 1000;
+
+    /** Arguments in [-10, 10). */
+    private double[] x;
+
+    /** Other arguments in [-10, 10). */
+    private double[] y;
+
+    /** Positive arguments in (0, 10]. */
+    private double[] p;
+
+    /** Build the random arguments.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x1c3f5b7d9e2a4c6el);
+        x = new double[SIZE];
+        y = new double[SIZE];
+        p = new double[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            x[i] = 20 * random.nextDouble() - 10;
+            y[i] = 20 * random.nextDouble() - 10;
+            p[i] = 10 * (1 - random.nextDouble());
+        }
+    }
+
+    /** Benchmark {@link FastMath#sin}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathSin() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.sin(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#sin}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathSin() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.sin(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#cos}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathCos() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.cos(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#cos}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathCos() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.cos(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#tan}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathTan() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.tan(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#tan}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathTan() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.tan(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#exp}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathExp() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.exp(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#exp}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathExp() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.exp(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#log}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathLog() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.log(p[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#log}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathLog() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.log(p[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#pow}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathPow() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.pow(p[i], x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#pow}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathPow() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.pow(p[i], x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#sqrt}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathSqrt() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.sqrt(p[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#sqrt}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathSqrt() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.sqrt(p[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#atan2}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathAtan2() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.atan2(x[i], y[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#atan2}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathAtan2() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.atan2(x[i], y[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#cbrt}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathCbrt() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.cbrt(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#cbrt}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathCbrt() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.cbrt(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#sinh}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double fastMathSinh() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += FastMath.sinh(x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link Math#sinh}.
+     * @return sum of results
+     */
+    @Benchmark
+    public double mathSinh() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; ++i) {
+            sum += Math.sinh(x[i]);
+        }
+        return sum;
+    }
+
+}
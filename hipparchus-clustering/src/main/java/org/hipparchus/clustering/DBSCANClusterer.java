@@ -29,8 +29,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.hipparchus.clustering.distance.ChebyshevDistance;
 import org.hipparchus.clustering.distance.DistanceMeasure;
 import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
+import org.hipparchus.clustering.neighbors.KDTreeNeighborSearch;
+import org.hipparchus.clustering.neighbors.LinearScanNeighborSearch;
+import org.hipparchus.clustering.neighbors.NeighborIndex;
+import org.hipparchus.clustering.neighbors.NeighborSearch;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
@@ -54,6 +60,14 @@ import org.hipparchus.util.MathUtils;
  *   <li>eps: the distance that defines the &epsilon;-neighborhood of a point
  *   <li>minPoints: the minimum number of density-connected points required to form a cluster
  * </ul>
+ * <p>
+ * The &epsilon;-neighborhoods are retrieved from a spatial index built by a
+ * {@link NeighborSearch}. By default, a {@link KDTreeNeighborSearch k-d tree} is
+ * used for the Euclidean, Manhattan and Chebyshev distances, and a
+ * {@link LinearScanNeighborSearch linear scan} is used for other distances.
+ * All indexes return the same neighborhoods, so the clusters do not depend
+ * on the index, only the computation time does.
+ * </p>
  *
  * @param <T> type of the points to cluster
  * @see <a href="http://en.wikipedia.org/wiki/DBSCAN">DBSCAN (wikipedia)</a>
@@ -68,6 +82,9 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
     /** Minimum number of points needed for a cluster. */
     private final int                 minPts;
 
+    /** Neighbor search used to build spatial indexes. */
+    private final NeighborSearch      neighborSearch;
+
     /** Status of a point during the clustering process. */
     private enum PointStatus {
         /** The point has is considered to be noise. */
@@ -100,7 +117,24 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      */
     public DBSCANClusterer(final double eps, final int minPts, final DistanceMeasure measure)
         throws MathIllegalArgumentException {
+        this(eps, minPts, measure, defaultNeighborSearch(measure));
+    }
+
+    /**
+     * Creates a new instance of a DBSCANClusterer.
+     *
+     * @param eps maximum radius of the neighborhood to be considered
+     * @param minPts minimum number of points needed for a cluster
+     * @param measure the distance measure to use
+     * @param neighborSearch neighbor search used to build spatial indexes
+     * @throws MathIllegalArgumentException if {@code eps < 0.0} or {@code minPts < 0}
+     * @since 1.9
+     */
+    public DBSCANClusterer(final double eps, final int minPts, final DistanceMeasure measure,
+                           final NeighborSearch neighborSearch)
+        throws MathIllegalArgumentException {
         super(measure);
+        MathUtils.checkNotNull(neighborSearch);
 
         if (eps < 0.0d) {
             throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, eps, 0);
@@ -110,6 +144,28 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         }
         this.eps = eps;
         this.minPts = minPts;
+        this.neighborSearch = neighborSearch;
+    }
+
+    /** Select the default neighbor search for a distance measure.
+     * <p>
+     * A k-d tree is used only for the exact {@link EuclideanDistance},
+     * {@link ManhattanDistance} and {@link ChebyshevDistance} classes. Subclasses
+     * may override {@link DistanceMeasure#compute(double[], double[]) compute} and
+     * lose the coordinate bounds the tree relies on, so they fall back to a linear scan.
+     * </p>
+     * @param measure distance measure
+     * @return default neighbor search
+     */
+    private static NeighborSearch defaultNeighborSearch(final DistanceMeasure measure) {
+        final Class<?> measureClass = measure.getClass();
+        if (measureClass == EuclideanDistance.class ||
+            measureClass == ManhattanDistance.class ||
+            measureClass == ChebyshevDistance.class) {
+            return new KDTreeNeighborSearch();
+        } else {
+            return new LinearScanNeighborSearch();
+        }
     }
 
     /**
@@ -128,6 +184,15 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         return minPts;
     }
 
+    /**
+     * Returns the neighbor search used to build spatial indexes.
+     * @return neighbor search used to build spatial indexes
+     * @since 1.9
+     */
+    public NeighborSearch getNeighborSearch() {
+        return neighborSearch;
+    }
+
     /**
      * Performs DBSCAN cluster analysis.
      *
@@ -143,16 +208,17 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
 
         final List<Cluster<T>> clusters = new ArrayList<>();
         final Map<Clusterable, PointStatus> visited = new HashMap<>();
+        final NeighborIndex<T> index = neighborSearch.buildIndex(points, getDistanceMeasure(), eps);
 
         for (final T point : points) {
             if (visited.get(point) != null) {
                 continue;
             }
-            final List<T> neighbors = getNeighbors(point, points);
+            final List<T> neighbors = getNeighbors(point, index);
             if (neighbors.size() >= minPts) {
                 // DBSCAN does not care about center points
                 final Cluster<T> cluster = new Cluster<>();
-                clusters.add(expandCluster(cluster, point, neighbors, points, visited));
+                clusters.add(expandCluster(cluster, point, neighbors, index, visited));
             } else {
                 visited.put(point, PointStatus.NOISE);
             }
@@ -167,28 +233,29 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      * @param cluster Cluster to expand
      * @param point Point to add to cluster
      * @param neighbors List of neighbors
-     * @param points the data set
+     * @param index spatial index of the data set
      * @param visited the set of already visited points
      * @return the expanded cluster
      */
     private Cluster<T> expandCluster(final Cluster<T> cluster,
                                      final T point,
                                      final List<T> neighbors,
-                                     final Collection<T> points,
+                                     final NeighborIndex<T> index,
                                      final Map<Clusterable, PointStatus> visited) {
         cluster.addPoint(point);
         visited.put(point, PointStatus.PART_OF_CLUSTER);
 
-        List<T> seeds = new ArrayList<>(neighbors);
-        int index = 0;
-        while (index < seeds.size()) {
-            final T current = seeds.get(index);
+        final List<T> seeds   = new ArrayList<>(neighbors);
+        final Set<T>  seedSet = new HashSet<>(neighbors);
+        int rank = 0;
+        while (rank < seeds.size()) {
+            final T current = seeds.get(rank);
             PointStatus pStatus = visited.get(current);
             // only check non-visited points
             if (pStatus == null) {
-                final List<T> currentNeighbors = getNeighbors(current, points);
+                final List<T> currentNeighbors = getNeighbors(current, index);
                 if (currentNeighbors.size() >= minPts) {
-                    seeds = merge(seeds, currentNeighbors);
+                    merge(seeds, seedSet, currentNeighbors);
                 }
             }
 
@@ -197,7 +264,7 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
                 cluster.addPoint(current);
             }
 
-            index++;
+            rank++;
         }
         return cluster;
     }
@@ -206,33 +273,27 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      * Returns a list of density-reachable neighbors of a {@code point}.
      *
      * @param point the point to look for
-     * @param points possible neighbors
+     * @param index spatial index of possible neighbors
      * @return the List of neighbors
      */
-    private List<T> getNeighbors(final T point, final Collection<T> points) {
-        final List<T> neighbors = new ArrayList<>();
-        for (final T neighbor : points) {
-            if (point != neighbor && distance(neighbor, point) <= eps) {
-                neighbors.add(neighbor);
-            }
-        }
+    private List<T> getNeighbors(final T point, final NeighborIndex<T> index) {
+        final List<T> neighbors = index.getNeighbors(point.getPoint(), eps);
+        neighbors.removeIf(neighbor -> neighbor == point);
         return neighbors;
     }
 
     /**
-     * Merges two lists together.
+     * Merges a list into another one.
      *
-     * @param one first list
+     * @param one first list (modified in place)
+     * @param oneSet set containing the same elements as {@code one} (modified in place)
      * @param two second list
-     * @return merged lists
      */
-    private List<T> merge(final List<T> one, final List<T> two) {
-        final Set<T> oneSet = new HashSet<>(one);
+    private void merge(final List<T> one, final Set<T> oneSet, final List<T> two) {
         for (T item : two) {
-            if (!oneSet.contains(item)) {
+            if (oneSet.add(item)) {
                 one.add(item);
             }
         }
-        return one;
     }
 }
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.clustering.distance.DistanceMeasure;
 import org.hipparchus.clustering.distance.EuclideanDistance;
@@ -35,10 +36,24 @@ import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.random.JDKRandomGenerator;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.stat.descriptive.moment.Variance;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * Clustering algorithm based on David Arthur and Sergei Vassilvitski k-means++ algorithm.
+ * <p>
+ * The assignment of points to their nearest center at each iteration can use
+ * distance bounds derived from the triangle inequality (see {@link AssignmentStrategy})
+ * to avoid most distance computations once the centers start to stabilize. As bounds
+ * only allow skipping computations when the nearest center is provably known, the
+ * clusters are the same as with an exhaustive search.
+ * </p>
+ * <p>
+ * If a {@link ForkJoinPool} is provided, the assignment of points and the update of
+ * cluster centers are performed concurrently. As each point and each center is handled
+ * independently, the clusters are exactly the same as the ones computed serially.
+ * </p>
  * @param <T> type of the points to cluster
  * @see <a href="http://en.wikipedia.org/wiki/K-means%2B%2B">K-means++ (wikipedia)</a>
  */
@@ -61,6 +76,44 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     }
 
+    /** Strategies to use for assigning points to their nearest center.
+     * <p>
+     * The bound-based strategies rely on the triangle inequality, so they
+     * must be used only with distance measures that are true metrics. All
+     * the measures provided in the {@link org.hipparchus.clustering.distance}
+     * package are metrics.
+     * </p>
+     * @since 1.9
+     */
+    public enum AssignmentStrategy {
+
+        /** Compute the distances from each point to all centers at each iteration (Lloyd's algorithm, the default). */
+        EXHAUSTIVE,
+
+        /** Use one upper bound and one lower bound per point (Hamerly's algorithm).
+         * <p>
+         * This strategy uses O(n) additional memory and is well suited
+         * to small and moderate numbers of clusters.
+         * </p>
+         */
+        HAMERLY,
+
+        /** Use one upper bound and k lower bounds per point (Elkan's algorithm).
+         * <p>
+         * This strategy uses O(nk) additional memory and skips more distance
+         * computations than {@link #HAMERLY} for large numbers of clusters.
+         * </p>
+         */
+        ELKAN
+
+    }
+
+    /** Relative margin protecting bounds comparisons against rounding errors. */
+    private static final double MARGIN = 1.0e-10;
+
+    /** Number of points processed by each task in parallel mode. */
+    private static final int GRAIN = 256;
+
     /** The number of clusters. */
     private final int k;
 
@@ -73,6 +126,12 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     /** Selected strategy for empty clusters. */
     private final EmptyClusterStrategy emptyStrategy;
 
+    /** Selected strategy for assigning points to clusters. */
+    private final AssignmentStrategy assignmentStrategy;
+
+    /** Pool to use for assignments and centers updates (may be null). */
+    private final ForkJoinPool pool;
+
     /** Build a clusterer.
      * <p>
      * The default strategy for handling empty clusters that may appear during
@@ -133,6 +192,11 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     }
 
     /** Build a clusterer.
+     * <p>
+     * The assignment strategy is {@link AssignmentStrategy#EXHAUSTIVE} (i.e. the
+     * classical Lloyd iteration) and the clustering is performed serially. The
+     * bound-based strategies must be selected explicitly.
+     * </p>
      *
      * @param k the number of clusters to split the data into
      * @param maxIterations the maximum number of iterations to run the algorithm for.
@@ -146,11 +210,51 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                                    final DistanceMeasure measure,
                                    final RandomGenerator random,
                                    final EmptyClusterStrategy emptyStrategy) {
+        this(k, maxIterations, measure, random, emptyStrategy, AssignmentStrategy.EXHAUSTIVE, null);
+    }
+
+    /** Build a clusterer.
+     *
+     * @param k the number of clusters to split the data into
+     * @param maxIterations the maximum number of iterations to run the algorithm for.
+     *   If negative, no maximum will be used.
+     * @param measure the distance measure to use
+     * @param random random generator to use for choosing initial centers
+     * @param emptyStrategy strategy to use for handling empty clusters that
+     * may appear during algorithm iterations
+     * @param assignmentStrategy strategy to use for assigning points to clusters
+     * @param pool pool to use for assigning points and updating centers (if null,
+     * the clustering is performed serially in the calling thread)
+     * @since 1.9
+     */
+    public KMeansPlusPlusClusterer(final int k, final int maxIterations,
+                                   final DistanceMeasure measure,
+                                   final RandomGenerator random,
+                                   final EmptyClusterStrategy emptyStrategy,
+                                   final AssignmentStrategy assignmentStrategy,
+                                   final ForkJoinPool pool) {
         super(measure);
-        this.k             = k;
-        this.maxIterations = maxIterations;
-        this.random        = random;
-        this.emptyStrategy = emptyStrategy;
+        this.k                  = k;
+        this.maxIterations      = maxIterations;
+        this.random             = random;
+        this.emptyStrategy      = emptyStrategy;
+        this.assignmentStrategy = assignmentStrategy;
+        this.pool               = pool;
+    }
+
+    /** Create a copy of this clusterer using another random generator.
+     * <p>
+     * All other settings (number of clusters, maximum number of iterations,
+     * distance measure, empty clusters and assignment strategies, pool) are
+     * shared with the instance.
+     * </p>
+     * @param newRandom random generator to use for choosing initial centers
+     * @return a new clusterer, using the specified generator
+     * @since 1.9
+     */
+    public KMeansPlusPlusClusterer<T> withRandomGenerator(final RandomGenerator newRandom) {
+        return new KMeansPlusPlusClusterer<>(k, maxIterations, getDistanceMeasure(), newRandom,
+                                             emptyStrategy, assignmentStrategy, pool);
     }
 
     /**
@@ -185,6 +289,24 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return emptyStrategy;
     }
 
+    /**
+     * Returns the {@link AssignmentStrategy} used by this instance.
+     * @return the {@link AssignmentStrategy}
+     * @since 1.9
+     */
+    public AssignmentStrategy getAssignmentStrategy() {
+        return assignmentStrategy;
+    }
+
+    /**
+     * Returns the pool used by this instance.
+     * @return the pool used, or null if clustering is performed serially
+     * @since 1.9
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
     /**
      * Runs the K-means++ clustering algorithm.
      *
@@ -208,42 +330,27 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                                                    points.size(), k);
         }
 
+        // convert to list for indexed access
+        final List<T> pointList = new ArrayList<>(points);
+
         // create the initial clusters
-        List<CentroidCluster<T>> clusters = chooseInitialCenters(points);
+        List<CentroidCluster<T>> clusters = chooseInitialCenters(pointList);
 
-        // create an array containing the latest assignment of a point to a cluster
-        // no need to initialize the array, as it will be filled with the first assignment
-        int[] assignments = new int[points.size()];
-        assignPointsToClusters(clusters, points, assignments);
+        // create the assigner, which holds the latest assignment of points to clusters
+        final Assigner assigner = new Assigner(pointList);
+        assigner.assign(clusters);
 
         // iterate through updating the centers until we're done
         final int max = (maxIterations < 0) ? Integer.MAX_VALUE : maxIterations;
         for (int count = 0; count < max; count++) {
             boolean emptyCluster = false;
-            List<CentroidCluster<T>> newClusters = new ArrayList<>();
             for (final CentroidCluster<T> cluster : clusters) {
-                final Clusterable newCenter;
-                if (cluster.getPoints().isEmpty()) {
-                    switch (emptyStrategy) {
-                        case LARGEST_VARIANCE :
-                            newCenter = getPointFromLargestVarianceCluster(clusters);
-                            break;
-                        case LARGEST_POINTS_NUMBER :
-                            newCenter = getPointFromLargestNumberCluster(clusters);
-                            break;
-                        case FARTHEST_POINT :
-                            newCenter = getFarthestPoint(clusters);
-                            break;
-                        default :
-                            throw new MathIllegalStateException(LocalizedClusteringFormats.EMPTY_CLUSTER_IN_K_MEANS);
-                    }
-                    emptyCluster = true;
-                } else {
-                    newCenter = centroidOf(cluster.getPoints(), cluster.getCenter().getPoint().length);
-                }
-                newClusters.add(new CentroidCluster<T>(newCenter));
+                emptyCluster |= cluster.getPoints().isEmpty();
             }
-            int changes = assignPointsToClusters(newClusters, points, assignments);
+            List<CentroidCluster<T>> newClusters = emptyCluster ?
+                                                   updateCentersWithEmptyClusters(clusters) :
+                                                   updateCenters(clusters);
+            int changes = assigner.assign(newClusters);
             clusters = newClusters;
 
             // if there were no more changes in the point-to-cluster assignment
@@ -256,30 +363,62 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     }
 
     /**
-     * Adds the given points to the closest {@link Cluster}.
-     *
-     * @param clusters the {@link Cluster}s to add the points to
-     * @param points the points to add to the given {@link Cluster}s
-     * @param assignments points assignments to clusters
-     * @return the number of points assigned to different clusters as the iteration before
+     * Compute the new centers when all clusters have points.
+     * <p>
+     * The centroids of the clusters are computed independently from
+     * each other, possibly in parallel.
+     * </p>
+     * @param clusters current clusters
+     * @return new clusters, without any points
      */
-    private int assignPointsToClusters(final List<CentroidCluster<T>> clusters,
-                                       final Collection<T> points,
-                                       final int[] assignments) {
-        int assignedDifferently = 0;
-        int pointIndex = 0;
-        for (final T p : points) {
-            int clusterIndex = getNearestCluster(clusters, p);
-            if (clusterIndex != assignments[pointIndex]) {
-                assignedDifferently++;
-            }
-
-            CentroidCluster<T> cluster = clusters.get(clusterIndex);
-            cluster.addPoint(p);
-            assignments[pointIndex++] = clusterIndex;
+    private List<CentroidCluster<T>> updateCenters(final List<CentroidCluster<T>> clusters) {
+        final Clusterable[] newCenters = new Clusterable[clusters.size()];
+        ParallelUtils.forEach(pool, 0, newCenters.length, 1, j -> {
+            final CentroidCluster<T> cluster = clusters.get(j);
+            newCenters[j] = centroidOf(cluster.getPoints(), cluster.getCenter().getPoint().length);
+        });
+        final List<CentroidCluster<T>> newClusters = new ArrayList<>(newCenters.length);
+        for (final Clusterable center : newCenters) {
+            newClusters.add(new CentroidCluster<T>(center));
         }
+        return newClusters;
+    }
 
-        return assignedDifferently;
+    /**
+     * Compute the new centers when some clusters are empty.
+     * <p>
+     * The clusters are handled serially, as the empty clusters strategy
+     * may remove points from the clusters that are handled later.
+     * </p>
+     * @param clusters current clusters
+     * @return new clusters, without any points
+     * @throws MathIllegalStateException if the {@link #emptyStrategy} is set to {@code ERROR}
+     */
+    private List<CentroidCluster<T>> updateCentersWithEmptyClusters(final List<CentroidCluster<T>> clusters)
+        throws MathIllegalStateException {
+        final List<CentroidCluster<T>> newClusters = new ArrayList<>();
+        for (final CentroidCluster<T> cluster : clusters) {
+            final Clusterable newCenter;
+            if (cluster.getPoints().isEmpty()) {
+                switch (emptyStrategy) {
+                    case LARGEST_VARIANCE :
+                        newCenter = getPointFromLargestVarianceCluster(clusters);
+                        break;
+                    case LARGEST_POINTS_NUMBER :
+                        newCenter = getPointFromLargestNumberCluster(clusters);
+                        break;
+                    case FARTHEST_POINT :
+                        newCenter = getFarthestPoint(clusters);
+                        break;
+                    default :
+                        throw new MathIllegalStateException(LocalizedClusteringFormats.EMPTY_CLUSTER_IN_K_MEANS);
+                }
+            } else {
+                newCenter = centroidOf(cluster.getPoints(), cluster.getCenter().getPoint().length);
+            }
+            newClusters.add(new CentroidCluster<T>(newCenter));
+        }
+        return newClusters;
     }
 
     /**
@@ -288,11 +427,11 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
      * @param points the points to choose the initial centers from
      * @return the initial centers
      */
-    private List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points) {
+    private List<CentroidCluster<T>> chooseInitialCenters(final List<T> points) {
 
-        // Convert to list for indexed access. Make it unmodifiable, since removal of items
+        // Make the list unmodifiable, since removal of items
         // would screw up the logic of this method.
-        final List<T> pointList = Collections.unmodifiableList(new ArrayList<T> (points));
+        final List<T> pointList = Collections.unmodifiableList(points);
 
         // The number of points in the list.
         final int numPoints = pointList.size();
@@ -384,7 +523,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                 if (resultSet.size() < k) {
                     // Now update elements of minDistSquared.  We only have to compute
                     // the distance to the new center to do this.
-                    for (int j = 0; j < numPoints; j++) {
+                    ParallelUtils.forEach(pool, 0, numPoints, GRAIN, j -> {
                         // Only have to worry about the points still not taken.
                         if (!taken[j]) {
                             double d = distance(p, pointList.get(j));
@@ -393,7 +532,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                                 minDistSquared[j] = d2;
                             }
                         }
-                    }
+                    });
                 }
 
             } else {
@@ -523,28 +662,6 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     }
 
-    /**
-     * Returns the nearest {@link Cluster} to the given point
-     *
-     * @param clusters the {@link Cluster}s to search
-     * @param point the point to find the nearest {@link Cluster} for
-     * @return the index of the nearest {@link Cluster} to the given point
-     */
-    private int getNearestCluster(final Collection<CentroidCluster<T>> clusters, final T point) {
-        double minDistance = Double.MAX_VALUE;
-        int clusterIndex = 0;
-        int minCluster = 0;
-        for (final CentroidCluster<T> c : clusters) {
-            final double distance = distance(point, c.getCenter());
-            if (distance < minDistance) {
-                minDistance = distance;
-                minCluster = clusterIndex;
-            }
-            clusterIndex++;
-        }
-        return minCluster;
-    }
-
     /**
      * Computes the centroid for a set of points.
      *
@@ -566,4 +683,233 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return new DoublePoint(centroid);
     }
 
+    /** Assigner of points to their nearest cluster.
+     * <p>
+     * The assigner keeps track of the previous centers and of the distance
+     * bounds of all points between calls, as required by the bound-based
+     * {@link AssignmentStrategy assignment strategies}.
+     * </p>
+     */
+    private class Assigner {
+
+        /** Points to assign. */
+        private final List<T> pointList;
+
+        /** Coordinates of the points. */
+        private final double[][] coordinates;
+
+        /** Latest assignment of points to clusters. */
+        private final int[] assignments;
+
+        /** Upper bounds of the distances between points and their assigned centers. */
+        private final double[] upper;
+
+        /** Lower bounds of the distances between points and their second closest center (Hamerly). */
+        private final double[] lower;
+
+        /** Lower bounds of the distances between points and all centers (Elkan). */
+        private final double[][] lowers;
+
+        /** Centers used in the previous assignment (null before first assignment). */
+        private double[][] previousCenters;
+
+        /** Simple constructor.
+         * @param pointList points to assign
+         */
+        Assigner(final List<T> pointList) {
+            final int n = pointList.size();
+            this.pointList   = pointList;
+            this.coordinates = new double[n][];
+            for (int i = 0; i < n; ++i) {
+                coordinates[i] = pointList.get(i).getPoint();
+            }
+            this.assignments = new int[n];
+            this.upper       = assignmentStrategy == AssignmentStrategy.EXHAUSTIVE ? null : new double[n];
+            this.lower       = assignmentStrategy == AssignmentStrategy.HAMERLY    ? new double[n] : null;
+            this.lowers      = assignmentStrategy == AssignmentStrategy.ELKAN      ? new double[n][k] : null;
+        }
+
+        /** Add all points to their nearest cluster.
+         * @param clusters clusters to which points should be added
+         * @return the number of points assigned to different clusters as the previous call
+         */
+        int assign(final List<CentroidCluster<T>> clusters) {
+
+            final double[][] centers = new double[clusters.size()][];
+            for (int j = 0; j < centers.length; ++j) {
+                centers[j] = clusters.get(j).getCenter().getPoint();
+            }
+            final int[] newAssignments = new int[assignments.length];
+
+            if (previousCenters == null || assignmentStrategy == AssignmentStrategy.EXHAUSTIVE) {
+                // no bounds available yet, compute all distances
+                ParallelUtils.forEach(pool, 0, coordinates.length, GRAIN,
+                                      i -> newAssignments[i] = fullSearch(i, centers));
+            } else {
+
+                // distances travelled by centers since previous assignment
+                final double[] drift = new double[centers.length];
+                double maxDrift = 0;
+                for (int j = 0; j < centers.length; ++j) {
+                    drift[j] = getDistanceMeasure().compute(previousCenters[j], centers[j]);
+                    maxDrift = FastMath.max(maxDrift, drift[j]);
+                }
+
+                // distances between centers
+                final double[][] centersDistances = new double[centers.length][centers.length];
+                final double[]   halfSeparation   = new double[centers.length];
+                ParallelUtils.forEach(pool, 0, centers.length, 1, j -> {
+                    double min = Double.POSITIVE_INFINITY;
+                    for (int l = 0; l < centers.length; ++l) {
+                        if (l != j) {
+                            centersDistances[j][l] = getDistanceMeasure().compute(centers[j], centers[l]);
+                            min = FastMath.min(min, centersDistances[j][l]);
+                        }
+                    }
+                    halfSeparation[j] = 0.5 * min;
+                });
+
+                final double maxDriftCopy = maxDrift;
+                ParallelUtils.forEach(pool, 0, coordinates.length, GRAIN, i ->
+                    newAssignments[i] = (assignmentStrategy == AssignmentStrategy.HAMERLY) ?
+                                        hamerlySearch(i, centers, drift, maxDriftCopy, halfSeparation) :
+                                        elkanSearch(i, centers, drift, centersDistances, halfSeparation));
+
+            }
+            previousCenters = centers;
+
+            // add points to clusters, preserving points order
+            int assignedDifferently = 0;
+            for (int i = 0; i < newAssignments.length; ++i) {
+                if (newAssignments[i] != assignments[i]) {
+                    assignedDifferently++;
+                }
+                clusters.get(newAssignments[i]).addPoint(pointList.get(i));
+                assignments[i] = newAssignments[i];
+            }
+
+            return assignedDifferently;
+
+        }
+
+        /** Find the nearest center of a point by computing all distances.
+         * @param i index of the point
+         * @param centers clusters centers
+         * @return index of the nearest center
+         */
+        private int fullSearch(final int i, final double[][] centers) {
+            double minDistance = Double.MAX_VALUE;
+            double secondDistance = Double.POSITIVE_INFINITY;
+            int minCluster = 0;
+            for (int j = 0; j < centers.length; ++j) {
+                final double distance = getDistanceMeasure().compute(coordinates[i], centers[j]);
+                if (lowers != null) {
+                    lowers[i][j] = distance;
+                }
+                if (distance < minDistance) {
+                    secondDistance = minDistance;
+                    minDistance    = distance;
+                    minCluster     = j;
+                } else if (distance < secondDistance) {
+                    secondDistance = distance;
+                }
+            }
+            if (upper != null) {
+                upper[i] = minDistance;
+            }
+            if (lower != null) {
+                lower[i] = secondDistance;
+            }
+            return minCluster;
+        }
+
+        /** Find the nearest center of a point using Hamerly's bounds.
+         * @param i index of the point
+         * @param centers clusters centers
+         * @param drift distances travelled by centers since previous assignment
+         * @param maxDrift maximum distance travelled by centers since previous assignment
+         * @param halfSeparation half distance from each center to its closest other center
+         * @return index of the nearest center
+         */
+        private int hamerlySearch(final int i, final double[][] centers, final double[] drift,
+                                  final double maxDrift, final double[] halfSeparation) {
+
+            // update bounds according to centers motion
+            final int a = assignments[i];
+            upper[i] += drift[a];
+            lower[i] -= maxDrift;
+
+            // all other centers are provably farther than the assigned one
+            final double threshold = FastMath.max(halfSeparation[a], lower[i]);
+            if (upper[i] * (1 + MARGIN) < threshold) {
+                return a;
+            }
+
+            // tighten upper bound and check again
+            upper[i] = getDistanceMeasure().compute(coordinates[i], centers[a]);
+            if (upper[i] * (1 + MARGIN) < threshold) {
+                return a;
+            }
+
+            return fullSearch(i, centers);
+
+        }
+
+        /** Find the nearest center of a point using Elkan's bounds.
+         * @param i index of the point
+         * @param centers clusters centers
+         * @param drift distances travelled by centers since previous assignment
+         * @param centersDistances distances between centers
+         * @param halfSeparation half distance from each center to its closest other center
+         * @return index of the nearest center
+         */
+        private int elkanSearch(final int i, final double[][] centers, final double[] drift,
+                                final double[][] centersDistances, final double[] halfSeparation) {
+
+            // update bounds according to centers motion
+            int a = assignments[i];
+            final double[] lowersI = lowers[i];
+            upper[i] += drift[a];
+            for (int j = 0; j < centers.length; ++j) {
+                lowersI[j] = FastMath.max(0, lowersI[j] - drift[j]);
+            }
+
+            // all other centers are provably farther than the assigned one
+            if (upper[i] * (1 + MARGIN) < halfSeparation[a]) {
+                return a;
+            }
+
+            boolean tight = false;
+            for (int j = 0; j < centers.length; ++j) {
+                if (j == a ||
+                    upper[i] * (1 + MARGIN) < lowersI[j] ||
+                    upper[i] * (1 + MARGIN) < 0.5 * centersDistances[a][j]) {
+                    // center j is provably farther than the assigned one
+                    continue;
+                }
+                if (!tight) {
+                    // tighten upper bound and check again
+                    upper[i]   = getDistanceMeasure().compute(coordinates[i], centers[a]);
+                    lowersI[a] = upper[i];
+                    tight      = true;
+                    if (upper[i] * (1 + MARGIN) < lowersI[j] ||
+                        upper[i] * (1 + MARGIN) < 0.5 * centersDistances[a][j]) {
+                        continue;
+                    }
+                }
+                final double distance = getDistanceMeasure().compute(coordinates[i], centers[j]);
+                lowersI[j] = distance;
+                if (distance < upper[i] || (distance == upper[i] && j < a)) {
+                    // ties are resolved in favor of the first center, as in exhaustive search
+                    a        = j;
+                    upper[i] = distance;
+                }
+            }
+
+            return a;
+
+        }
+
+    }
+
 }
@@ -47,7 +47,9 @@ public enum LocalizedClusteringFormats implements Localizable {
     // CHECKSTYLE: stop MultipleVariableDeclarations
     // CHECKSTYLE: stop JavadocVariable
 
-    EMPTY_CLUSTER_IN_K_MEANS("empty cluster in k-means");
+    EMPTY_CLUSTER_IN_K_MEANS("empty cluster in k-means"),
+    UNSUPPORTED_DISTANCE_MEASURE("distance measure {0} is not supported by {1}"),
+    CLUSTERER_NOT_INITIALIZED("clusterer not initialized, {0} points received but {1} needed");
 
     // CHECKSTYLE: resume JavadocVariable
     // CHECKSTYLE: resume MultipleVariableDeclarations
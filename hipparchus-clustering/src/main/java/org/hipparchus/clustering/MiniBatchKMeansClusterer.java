@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.JDKRandomGenerator;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Mini-batch k-means clustering algorithm.
+ * <p>
+ * This clusterer implements the mini-batch k-means algorithm from D. Sculley's paper
+ * <a href="https://www.eecs.tufts.edu/~dsculley/papers/fastkmeans.pdf">Web-Scale
+ * K-Means Clustering</a>. Instead of iterating over the full data set, the centers
+ * are updated from small batches of points: each point of a batch is assigned to its
+ * nearest center, which is then moved towards the point using a per-cluster learning
+ * rate equal to the inverse of the number of points already assigned to this cluster.
+ * Each center is therefore the running mean of the points assigned to it.
+ * </p>
+ * <p>
+ * Points can be fed incrementally, using {@link #update(Collection)} for a single batch
+ * or {@link #update(Iterator)} for an arbitrarily long sequence of points (which can
+ * come from a {@link java.util.stream.Stream#iterator() stream}), which is split into
+ * batches. Only one batch of points is held in memory at any time, so data sets that
+ * do not fit in memory can be clustered. The current state can be retrieved at any
+ * time as a list of {@link CentroidCluster centroid clusters} using {@link #getClusters()}.
+ * </p>
+ * <p>
+ * The initial centers are selected using the k-means++ seeding from the first
+ * points received. Until enough points have been received for this seeding,
+ * points are only buffered.
+ * </p>
+ * <p>
+ * For non-stationary data, a minimum learning rate can be set. Once the number of
+ * points assigned to a cluster exceeds the inverse of this rate, the center becomes
+ * an exponentially weighted moving average of its points, thus allowing it to
+ * follow slow drifts of the data.
+ * </p>
+ * <p>
+ * Instances of this class are stateful and not thread-safe.
+ * </p>
+ * @param <T> type of the points to cluster
+ * @since 1.9
+ */
+public class MiniBatchKMeansClusterer<T extends Clusterable> extends Clusterer<T> {
+
+    /** Ratio between the number of points used for seeding and the batch size. */
+    private static final int INITIALIZATION_BATCHES = 3;
+
+    /** The number of clusters. */
+    private final int k;
+
+    /** The number of points in each batch. */
+    private final int batchSize;
+
+    /** The number of batches used in {@link #cluster(Collection)}. */
+    private final int maxIterations;
+
+    /** Random generator for choosing initial centers and sampling batches. */
+    private final RandomGenerator random;
+
+    /** Minimum learning rate. */
+    private final double minLearningRate;
+
+    /** Points buffered before initialization. */
+    private final List<T> initializationBuffer;
+
+    /** Current centers (null before initialization). */
+    private double[][] centers;
+
+    /** Number of points assigned to each center. */
+    private long[] counts;
+
+    /** Number of points received. */
+    private long received;
+
+    /** Build a clusterer.
+     * <p>
+     * The euclidean distance will be used as default distance measure,
+     * with no minimum learning rate.
+     * </p>
+     * @param k the number of clusters to split the data into
+     * @param batchSize the number of points in each batch
+     * @param maxIterations the number of batches used in {@link #cluster(Collection)}
+     * @exception MathIllegalArgumentException if some parameter is out of range
+     */
+    public MiniBatchKMeansClusterer(final int k, final int batchSize, final int maxIterations)
+        throws MathIllegalArgumentException {
+        this(k, batchSize, maxIterations, new EuclideanDistance(), new JDKRandomGenerator(), 0.0);
+    }
+
+    /** Build a clusterer.
+     * @param k the number of clusters to split the data into
+     * @param batchSize the number of points in each batch
+     * @param maxIterations the number of batches used in {@link #cluster(Collection)}
+     * @param measure the distance measure to use
+     * @param random random generator to use for choosing initial centers and sampling batches
+     * @param minLearningRate minimum learning rate (0 for pure running means)
+     * @exception MathIllegalArgumentException if some parameter is out of range
+     */
+    public MiniBatchKMeansClusterer(final int k, final int batchSize, final int maxIterations,
+                                    final DistanceMeasure measure, final RandomGenerator random,
+                                    final double minLearningRate)
+        throws MathIllegalArgumentException {
+        super(measure);
+        if (k < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, k, 1);
+        }
+        if (batchSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, batchSize, 1);
+        }
+        if (maxIterations < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxIterations, 0);
+        }
+        MathUtils.checkRangeInclusive(minLearningRate, 0.0, 1.0);
+        this.k                    = k;
+        this.batchSize            = batchSize;
+        this.maxIterations        = maxIterations;
+        this.random               = random;
+        this.minLearningRate      = minLearningRate;
+        this.initializationBuffer = new ArrayList<>();
+        reset();
+    }
+
+    /**
+     * Return the number of clusters this instance will use.
+     * @return the number of clusters
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Return the number of points in each batch.
+     * @return the number of points in each batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of batches used in {@link #cluster(Collection)}.
+     * @return the number of batches used in {@link #cluster(Collection)}
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Returns the random generator this instance will use.
+     * @return the random generator
+     */
+    public RandomGenerator getRandomGenerator() {
+        return random;
+    }
+
+    /**
+     * Returns the minimum learning rate.
+     * @return the minimum learning rate
+     */
+    public double getMinLearningRate() {
+        return minLearningRate;
+    }
+
+    /** Reset the clusterer, discarding all points received so far.
+     */
+    public void reset() {
+        initializationBuffer.clear();
+        centers  = null;
+        counts   = null;
+        received = 0;
+    }
+
+    /** Check if the clusterer has been initialized.
+     * <p>
+     * The clusterer is initialized once it has received enough
+     * points to select the initial centers.
+     * </p>
+     * @return true if the clusterer has been initialized
+     */
+    public boolean isInitialized() {
+        return centers != null;
+    }
+
+    /** Get the number of points received since last reset.
+     * @return number of points received since last reset
+     */
+    public long getReceivedPoints() {
+        return received;
+    }
+
+    /** Get the number of points assigned to each cluster since last reset.
+     * @return number of points assigned to each cluster (empty array
+     * if the clusterer has not been initialized yet)
+     */
+    public long[] getCounts() {
+        return counts == null ? new long[0] : counts.clone();
+    }
+
+    /** Update the clusters with one batch of points.
+     * <p>
+     * The collection is processed as one batch regardless of its size.
+     * </p>
+     * @param batch batch of points
+     * @exception MathIllegalArgumentException if points dimension is inconsistent
+     */
+    public void update(final Collection<T> batch) throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(batch);
+        int dimension = getDimension();
+        for (final T point : batch) {
+            if (dimension < 0) {
+                dimension = point.getPoint().length;
+            }
+            MathUtils.checkDimension(point.getPoint().length, dimension);
+        }
+        received += batch.size();
+        if (centers == null) {
+            initializationBuffer.addAll(batch);
+            if (initializationBuffer.size() >= FastMath.max(k, INITIALIZATION_BATCHES * batchSize)) {
+                initialize();
+            }
+        } else {
+            step(batch);
+        }
+    }
+
+    /** Update the clusters with a sequence of points.
+     * <p>
+     * The points are consumed by batches of {@link #getBatchSize()} points,
+     * the last batch being possibly smaller. Only one batch is held in memory
+     * at any time.
+     * </p>
+     * @param points sequence of points
+     * @exception MathIllegalArgumentException if points dimension is inconsistent
+     */
+    public void update(final Iterator<T> points) throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(points);
+        final List<T> batch = new ArrayList<>(batchSize);
+        while (points.hasNext()) {
+            batch.add(points.next());
+            if (batch.size() == batchSize) {
+                update(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            update(batch);
+        }
+    }
+
+    /** Get a snapshot of the current clusters.
+     * <p>
+     * As the points received are not retained, the clusters only hold their centers.
+     * Later updates of the clusterer do not change the returned clusters.
+     * </p>
+     * @return current clusters (empty list if the clusterer has not been initialized yet)
+     */
+    public List<CentroidCluster<T>> getClusters() {
+        final List<CentroidCluster<T>> clusters = new ArrayList<>(k);
+        if (centers != null) {
+            for (final double[] center : centers) {
+                clusters.add(new CentroidCluster<T>(new DoublePoint(center.clone())));
+            }
+        }
+        return clusters;
+    }
+
+    /** Get the index of the cluster nearest to a point.
+     * @param point point to check
+     * @return index of the nearest cluster in the list returned by {@link #getClusters()}
+     * @exception MathIllegalStateException if the clusterer has not been initialized yet
+     * @exception MathIllegalArgumentException if point dimension is inconsistent
+     */
+    public int getNearestCluster(final Clusterable point)
+        throws MathIllegalStateException, MathIllegalArgumentException {
+        if (centers == null) {
+            throw new MathIllegalStateException(LocalizedClusteringFormats.CLUSTERER_NOT_INITIALIZED,
+                                                received, FastMath.max(k, INITIALIZATION_BATCHES * batchSize));
+        }
+        MathUtils.checkDimension(point.getPoint().length, getDimension());
+        return nearest(point.getPoint());
+    }
+
+    /**
+     * Runs the mini-batch k-means clustering algorithm on a data set held in memory.
+     * <p>
+     * This method {@link #reset() resets} the clusterer, then performs
+     * {@link #getMaxIterations()} updates with batches of points sampled uniformly
+     * (with replacement) from the data set, and finally assigns all points to their
+     * nearest cluster.
+     * </p>
+     * @param points the points to cluster
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *     of clusters is larger than the number of data points
+     */
+    @Override
+    public List<CentroidCluster<T>> cluster(final Collection<T> points)
+        throws MathIllegalArgumentException {
+
+        // sanity checks
+        MathUtils.checkNotNull(points);
+
+        // number of clusters has to be smaller or equal the number of data points
+        if (points.size() < k) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                   points.size(), k);
+        }
+
+        reset();
+        final List<T> pointList = new ArrayList<>(points);
+        final List<T> batch     = new ArrayList<>(batchSize);
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            batch.clear();
+            for (int i = 0; i < batchSize; ++i) {
+                batch.add(pointList.get(random.nextInt(pointList.size())));
+            }
+            update(batch);
+        }
+        if (centers == null) {
+            // not enough batches for regular initialization, seed from the whole data set
+            initializationBuffer.clear();
+            initializationBuffer.addAll(pointList);
+            initialize();
+        }
+
+        // assign all points
+        final List<CentroidCluster<T>> clusters = getClusters();
+        for (final T point : pointList) {
+            clusters.get(nearest(point.getPoint())).addPoint(point);
+        }
+        return clusters;
+
+    }
+
+    /** Select the initial centers from the buffered points.
+     */
+    private void initialize() {
+
+        // k-means++ seeding
+        final List<CentroidCluster<T>> seeds =
+                        new KMeansPlusPlusClusterer<T>(k, 0, getDistanceMeasure(), random).cluster(initializationBuffer);
+        centers = new double[seeds.size()][];
+        counts  = new long[seeds.size()];
+        for (int j = 0; j < centers.length; ++j) {
+            centers[j] = seeds.get(j).getCenter().getPoint().clone();
+        }
+
+        // process the buffered points as regular batches
+        final List<T> buffered = new ArrayList<>(initializationBuffer);
+        initializationBuffer.clear();
+        for (int start = 0; start < buffered.size(); start += batchSize) {
+            step(buffered.subList(start, FastMath.min(start + batchSize, buffered.size())));
+        }
+
+    }
+
+    /** Perform one mini-batch step.
+     * @param batch batch of points
+     */
+    private void step(final Collection<T> batch) {
+
+        // assign all points to the centers, before any center is moved
+        final int[] assignments = new int[batch.size()];
+        int index = 0;
+        for (final T point : batch) {
+            assignments[index++] = nearest(point.getPoint());
+        }
+
+        // move the centers towards their points, using per-cluster learning rates
+        index = 0;
+        for (final T point : batch) {
+            final int      j      = assignments[index++];
+            final double[] p      = point.getPoint();
+            final double[] center = centers[j];
+            final double   eta    = FastMath.max(1.0 / ++counts[j], minLearningRate);
+            for (int l = 0; l < center.length; ++l) {
+                center[l] += eta * (p[l] - center[l]);
+            }
+        }
+
+    }
+
+    /** Find the center nearest to a point.
+     * @param point point to check
+     * @return index of the nearest center
+     */
+    private int nearest(final double[] point) {
+        double minDistance = Double.MAX_VALUE;
+        int minCluster = 0;
+        for (int j = 0; j < centers.length; ++j) {
+            final double distance = getDistanceMeasure().compute(point, centers[j]);
+            if (distance < minDistance) {
+                minDistance = distance;
+                minCluster  = j;
+            }
+        }
+        return minCluster;
+    }
+
+    /** Get the dimension of the points received so far.
+     * @return dimension of the points received so far, or -1 if no points have been received
+     */
+    private int getDimension() {
+        if (centers != null) {
+            return centers[0].length;
+        } else if (!initializationBuffer.isEmpty()) {
+            return initializationBuffer.get(0).getPoint().length;
+        } else {
+            return -1;
+        }
+    }
+
+}
@@ -24,15 +24,29 @@ package org.hipparchus.clustering;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.clustering.evaluation.ClusterEvaluator;
 import org.hipparchus.clustering.evaluation.SumOfClusterVariances;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937c;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * A wrapper around a k-means++ clustering algorithm which performs multiple trials
  * and returns the best solution.
+ * <p>
+ * If a {@link ForkJoinPool} is provided, the trials are run concurrently. As the
+ * random generator of the underlying clusterer cannot be shared between threads,
+ * each trial then uses a {@link KMeansPlusPlusClusterer#withRandomGenerator(RandomGenerator)
+ * copy} of the underlying clusterer with its own {@link Well19937c} generator, seeded
+ * from the underlying clusterer generator. The results are therefore reproducible and
+ * independent of the pool size, but differ from the serial results. In this mode,
+ * the evaluator must be thread-safe, which is the case of the evaluators provided
+ * in the {@link org.hipparchus.clustering.evaluation} package.
+ * </p>
  * @param <T> type of the points to cluster
  */
 public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T> {
@@ -46,6 +60,9 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
     /** The cluster evaluator to use. */
     private final ClusterEvaluator<T> evaluator;
 
+    /** Pool to use for running trials (may be null). */
+    private final ForkJoinPool pool;
+
     /** Build a clusterer.
      * @param clusterer the k-means clusterer to use
      * @param numTrials number of trial runs
@@ -63,10 +80,26 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
     public MultiKMeansPlusPlusClusterer(final KMeansPlusPlusClusterer<T> clusterer,
                                         final int numTrials,
                                         final ClusterEvaluator<T> evaluator) {
+        this(clusterer, numTrials, evaluator, null);
+    }
+
+    /** Build a clusterer.
+     * @param clusterer the k-means clusterer to use
+     * @param numTrials number of trial runs
+     * @param evaluator the cluster evaluator to use
+     * @param pool pool to use for running trials (if null, the trials are
+     * run serially in the calling thread)
+     * @since 1.9
+     */
+    public MultiKMeansPlusPlusClusterer(final KMeansPlusPlusClusterer<T> clusterer,
+                                        final int numTrials,
+                                        final ClusterEvaluator<T> evaluator,
+                                        final ForkJoinPool pool) {
         super(clusterer.getDistanceMeasure());
         this.clusterer = clusterer;
         this.numTrials = numTrials;
         this.evaluator = evaluator;
+        this.pool      = pool;
     }
 
     /**
@@ -93,6 +126,15 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
        return evaluator;
     }
 
+    /**
+     * Returns the pool used for running trials.
+     * @return the pool used, or null if trials are run serially
+     * @since 1.9
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
     /**
      * Runs the K-means++ clustering algorithm.
      *
@@ -108,6 +150,10 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
     public List<CentroidCluster<T>> cluster(final Collection<T> points)
         throws MathIllegalArgumentException, MathIllegalStateException {
 
+        if (pool != null) {
+            return parallelCluster(points);
+        }
+
         // at first, we have not found any clusters list yet
         List<CentroidCluster<T>> best = null;
         double bestVarianceSum = Double.POSITIVE_INFINITY;
@@ -134,4 +180,43 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
 
     }
 
+    /**
+     * Runs the trials concurrently.
+     *
+     * @param points the points to cluster
+     * @return a list of clusters containing the points
+     */
+    private List<CentroidCluster<T>> parallelCluster(final Collection<T> points) {
+
+        // draw the seeds serially, so results do not depend on tasks scheduling
+        final long[] seeds = new long[numTrials];
+        for (int i = 0; i < numTrials; ++i) {
+            seeds[i] = clusterer.getRandomGenerator().nextLong();
+        }
+
+        // run the trials, each one storing its result in its own slot
+        // (joining the pool tasks makes the slots visible to the calling thread)
+        @SuppressWarnings("unchecked")
+        final List<CentroidCluster<T>>[] trials = new List[numTrials];
+        final double[] scores = new double[numTrials];
+        ParallelUtils.forEach(pool, 0, numTrials, 1, i -> {
+            final List<CentroidCluster<T>> clusters =
+                            clusterer.withRandomGenerator(new Well19937c(seeds[i])).cluster(points);
+            scores[i] = evaluator.score(clusters);
+            trials[i] = clusters;
+        });
+
+        // select the best trial, ties being resolved in favor of the first one
+        List<CentroidCluster<T>> best = null;
+        double bestVarianceSum = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < numTrials; ++i) {
+            if (evaluator.isBetterScore(scores[i], bestVarianceSum)) {
+                best            = trials[i];
+                bestVarianceSum = scores[i];
+            }
+        }
+        return best;
+
+    }
+
 }
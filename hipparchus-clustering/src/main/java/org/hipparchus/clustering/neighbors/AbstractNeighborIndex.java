@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.hipparchus.clustering.Clusterable;
+import org.hipparchus.clustering.LocalizedClusteringFormats;
+import org.hipparchus.clustering.distance.ChebyshevDistance;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Base class for neighbor indexes.
+ * <p>
+ * This class stores the points and their coordinates, and sorts the
+ * points found by the searches back in the original iteration order.
+ * </p>
+ * @param <T> type of the points
+ * @since 1.9
+ */
+abstract class AbstractNeighborIndex<T extends Clusterable> implements NeighborIndex<T> {
+
+    /** Indexed points. */
+    private final List<T> points;
+
+    /** Coordinates of the points. */
+    private final double[][] coordinates;
+
+    /** Distance measure. */
+    private final DistanceMeasure measure;
+
+    /** Simple constructor.
+     * @param points points to index
+     * @param measure distance measure
+     * @exception MathIllegalArgumentException if points do not have the same dimension
+     */
+    protected AbstractNeighborIndex(final Collection<T> points, final DistanceMeasure measure)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(measure);
+        this.points      = new ArrayList<>(points);
+        this.coordinates = new double[this.points.size()][];
+        this.measure     = measure;
+        for (int i = 0; i < coordinates.length; ++i) {
+            coordinates[i] = this.points.get(i).getPoint();
+            if (coordinates[i].length != coordinates[0].length) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       coordinates[i].length, coordinates[0].length);
+            }
+        }
+    }
+
+    /** Check a distance measure bounds each coordinate difference.
+     * <p>
+     * The supported measures are the L<sub>1</sub> ({@link ManhattanDistance}),
+     * L<sub>2</sub> ({@link EuclideanDistance}) and L<sub>&infin;</sub>
+     * ({@link ChebyshevDistance}) norms, for which the distance between two points
+     * is never smaller than the absolute difference of any of their coordinates,
+     * and never increases when a coordinate difference decreases. Only these exact
+     * classes are accepted, as subclasses may override the distance computation.
+     * </p>
+     * @param measure distance measure to check
+     * @param user class of the index requiring the check
+     * @exception MathIllegalArgumentException if the measure is not supported
+     */
+    static void checkCoordinateBounded(final DistanceMeasure measure, final Class<?> user)
+        throws MathIllegalArgumentException {
+        final Class<?> measureClass = measure.getClass();
+        if (!(measureClass == EuclideanDistance.class ||
+              measureClass == ManhattanDistance.class ||
+              measureClass == ChebyshevDistance.class)) {
+            throw new MathIllegalArgumentException(LocalizedClusteringFormats.UNSUPPORTED_DISTANCE_MEASURE,
+                                                   measure.getClass().getName(), user.getName());
+        }
+    }
+
+    /** Get the number of indexed points.
+     * @return number of indexed points
+     */
+    protected int size() {
+        return coordinates.length;
+    }
+
+    /** Get the coordinates of an indexed point.
+     * @param i index of the point
+     * @return coordinates of the point (reference to internal array, must not be modified)
+     */
+    protected double[] getCoordinates(final int i) {
+        return coordinates[i];
+    }
+
+    /** Get the distance measure.
+     * @return distance measure
+     */
+    protected DistanceMeasure getMeasure() {
+        return measure;
+    }
+
+    /** Compute the bounding box of a range of points.
+     * @param permutation permutation of the points indices
+     * @param start start of the range (included)
+     * @param end end of the range (excluded)
+     * @param min placeholder for the lower corner of the box
+     * @param max placeholder for the upper corner of the box
+     */
+    protected void computeBounds(final int[] permutation, final int start, final int end,
+                                 final double[] min, final double[] max) {
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (int k = start; k < end; ++k) {
+            final double[] c = coordinates[permutation[k]];
+            for (int j = 0; j < c.length; ++j) {
+                min[j] = FastMath.min(min[j], c[j]);
+                max[j] = FastMath.max(max[j], c[j]);
+            }
+        }
+    }
+
+    /** Find the widest dimension of a bounding box.
+     * @param min lower corner of the box
+     * @param max upper corner of the box
+     * @return index of the widest dimension, or -1 if the box is reduced to a point
+     */
+    protected static int widestDimension(final double[] min, final double[] max) {
+        int    widest = -1;
+        double width  = 0;
+        for (int j = 0; j < min.length; ++j) {
+            if (max[j] - min[j] > width) {
+                widest = j;
+                width  = max[j] - min[j];
+            }
+        }
+        return widest;
+    }
+
+    /** Partially sort a range of points along one dimension.
+     * <p>
+     * After the call, the point at rank {@code k} is at its sorted place,
+     * points before it are not larger and points after it are not smaller.
+     * </p>
+     * @param permutation permutation of the points indices (modified in place)
+     * @param start start of the range (included)
+     * @param end end of the range (excluded)
+     * @param k rank of the point to select
+     * @param dim dimension to sort
+     */
+    protected void select(final int[] permutation, final int start, final int end,
+                          final int k, final int dim) {
+        int left  = start;
+        int right = end - 1;
+        while (left < right) {
+            // Hoare partition around middle element
+            final double pivot = coordinates[permutation[(left + right) >>> 1]][dim];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinates[permutation[i]][dim] < pivot) {
+                    ++i;
+                }
+                while (coordinates[permutation[j]][dim] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    final int tmp  = permutation[i];
+                    permutation[i] = permutation[j];
+                    permutation[j] = tmp;
+                    ++i;
+                    --j;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /** Create the identity permutation of points indices.
+     * @return identity permutation
+     */
+    protected int[] identityPermutation() {
+        final int[] permutation = new int[coordinates.length];
+        for (int i = 0; i < permutation.length; ++i) {
+            permutation[i] = i;
+        }
+        return permutation;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<T> getNeighbors(final double[] center, final double radius) {
+        final Collector collector = new Collector();
+        search(center, radius, collector);
+        return collector.getPoints();
+    }
+
+    /** Search the points within some distance of a center.
+     * @param center center of the search
+     * @param radius search radius
+     * @param collector collector for the found points
+     */
+    protected abstract void search(double[] center, double radius, Collector collector);
+
+    /** Collector for points found during a search. */
+    protected class Collector {
+
+        /** Indices of the found points. */
+        private int[] indices;
+
+        /** Number of found points. */
+        private int size;
+
+        /** Simple constructor.
+         */
+        Collector() {
+            indices = new int[16];
+            size    = 0;
+        }
+
+        /** Check one point and add it if it is within radius.
+         * @param i index of the point
+         * @param center center of the search
+         * @param radius search radius
+         */
+        public void check(final int i, final double[] center, final double radius) {
+            if (measure.compute(coordinates[i], center) <= radius) {
+                if (size == indices.length) {
+                    indices = Arrays.copyOf(indices, 2 * size);
+                }
+                indices[size++] = i;
+            }
+        }
+
+        /** Get the found points, in original iteration order.
+         * @return found points
+         */
+        List<T> getPoints() {
+            Arrays.sort(indices, 0, size);
+            final List<T> found = new ArrayList<>(size);
+            for (int k = 0; k < size; ++k) {
+                found.add(points.get(indices[k]));
+            }
+            return found;
+        }
+
+    }
+
+}
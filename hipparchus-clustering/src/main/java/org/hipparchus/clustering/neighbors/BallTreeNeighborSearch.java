@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.Collection;
+
+import org.hipparchus.clustering.Clusterable;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Neighbor search based on a ball tree.
+ * <p>
+ * The tree is built by recursively splitting the points at the median of the
+ * widest dimension of their bounding box. Each node stores the centroid of its
+ * points and the largest distance from this centroid to any of its points. A
+ * sub-tree is skipped during a search when the triangle inequality proves none
+ * of its points can be within the search radius.
+ * </p>
+ * <p>
+ * The index accepts any distance measure, but pruning is exact only if the
+ * measure is a true metric (i.e. it fulfills the triangle inequality). Measures
+ * like {@link org.hipparchus.clustering.distance.CanberraDistance Canberra} or
+ * {@link org.hipparchus.clustering.distance.EarthMoversDistance earth mover's}
+ * are metrics, so this index can be used with them.
+ * </p>
+ * @since 1.9
+ */
+public class BallTreeNeighborSearch implements NeighborSearch {
+
+    /** Default maximum number of points in leaves. */
+    public static final int DEFAULT_LEAF_SIZE = 16;
+
+    /** Relative margin protecting pruning against rounding errors. */
+    private static final double MARGIN = 1.0e-12;
+
+    /** Maximum number of points in leaves. */
+    private final int leafSize;
+
+    /** Build a search with default leaf size.
+     */
+    public BallTreeNeighborSearch() {
+        this(DEFAULT_LEAF_SIZE);
+    }
+
+    /** Build a search with specified leaf size.
+     * @param leafSize maximum number of points in leaves
+     * @exception MathIllegalArgumentException if leaf size is not strictly positive
+     */
+    public BallTreeNeighborSearch(final int leafSize) throws MathIllegalArgumentException {
+        if (leafSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, leafSize, 1);
+        }
+        this.leafSize = leafSize;
+    }
+
+    /** Get the maximum number of points in leaves.
+     * @return maximum number of points in leaves
+     */
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Clusterable> NeighborIndex<T> buildIndex(final Collection<T> points,
+                                                               final DistanceMeasure measure,
+                                                               final double radius)
+        throws MathIllegalArgumentException {
+        return new BallTreeIndex<>(points, measure, leafSize);
+    }
+
+    /** Index based on a ball tree.
+     * @param <T> type of the points
+     */
+    private static class BallTreeIndex<T extends Clusterable> extends AbstractNeighborIndex<T> {
+
+        /** Permutation of points indices, each node covers a contiguous range. */
+        private final int[] permutation;
+
+        /** Root node (null if there are no points). */
+        private final Node root;
+
+        /** Simple constructor.
+         * @param points points to index
+         * @param measure distance measure
+         * @param leafSize maximum number of points in leaves
+         */
+        BallTreeIndex(final Collection<T> points, final DistanceMeasure measure, final int leafSize) {
+            super(points, measure);
+            permutation = identityPermutation();
+            root        = size() == 0 ? null : build(0, size(), leafSize);
+        }
+
+        /** Build a sub-tree.
+         * @param start start of the range (included)
+         * @param end end of the range (excluded)
+         * @param leafSize maximum number of points in leaves
+         * @return root of the sub-tree
+         */
+        private Node build(final int start, final int end, final int leafSize) {
+
+            // ball enclosing all points in the range
+            final int      dimension = getCoordinates(permutation[start]).length;
+            final double[] centroid  = new double[dimension];
+            for (int k = start; k < end; ++k) {
+                final double[] c = getCoordinates(permutation[k]);
+                for (int j = 0; j < dimension; ++j) {
+                    centroid[j] += c[j];
+                }
+            }
+            for (int j = 0; j < dimension; ++j) {
+                centroid[j] /= end - start;
+            }
+            double ballRadius = 0;
+            for (int k = start; k < end; ++k) {
+                ballRadius = FastMath.max(ballRadius,
+                                          getMeasure().compute(centroid, getCoordinates(permutation[k])));
+            }
+
+            final double[] min = new double[dimension];
+            final double[] max = new double[dimension];
+            computeBounds(permutation, start, end, min, max);
+            final int widest = widestDimension(min, max);
+            if (end - start <= leafSize || widest < 0) {
+                return new Node(start, end, centroid, ballRadius, null, null);
+            }
+            final int middle = (start + end) >>> 1;
+            select(permutation, start, end, middle, widest);
+            return new Node(start, end, centroid, ballRadius,
+                            build(start, middle, leafSize),
+                            build(middle, end, leafSize));
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void search(final double[] center, final double radius, final Collector collector) {
+            if (root != null) {
+                search(root, center, radius, collector);
+            }
+        }
+
+        /** Search a sub-tree.
+         * @param node root of the sub-tree
+         * @param center center of the search
+         * @param radius search radius
+         * @param collector collector for the found points
+         */
+        private void search(final Node node, final double[] center, final double radius,
+                            final Collector collector) {
+
+            // triangle inequality: all points are at least d(center, centroid) - ballRadius away
+            if (getMeasure().compute(center, node.centroid) > (radius + node.radius) * (1 + MARGIN)) {
+                return;
+            }
+
+            if (node.lower == null) {
+                for (int k = node.start; k < node.end; ++k) {
+                    collector.check(permutation[k], center, radius);
+                }
+            } else {
+                search(node.lower, center, radius, collector);
+                search(node.upper, center, radius, collector);
+            }
+
+        }
+
+    }
+
+    /** Node of the ball tree. */
+    private static class Node {
+
+        /** Start of the points range (included). */
+        private final int start;
+
+        /** End of the points range (excluded). */
+        private final int end;
+
+        /** Centroid of the points. */
+        private final double[] centroid;
+
+        /** Largest distance between centroid and points. */
+        private final double radius;
+
+        /** Lower child (null for leaves). */
+        private final Node lower;
+
+        /** Upper child (null for leaves). */
+        private final Node upper;
+
+        /** Simple constructor.
+         * @param start start of the points range (included)
+         * @param end end of the points range (excluded)
+         * @param centroid centroid of the points
+         * @param radius largest distance between centroid and points
+         * @param lower lower child (null for leaves)
+         * @param upper upper child (null for leaves)
+         */
+        Node(final int start, final int end, final double[] centroid, final double radius,
+             final Node lower, final Node upper) {
+            this.start    = start;
+            this.end      = end;
+            this.centroid = centroid;
+            this.radius   = radius;
+            this.lower    = lower;
+            this.upper    = upper;
+        }
+
+    }
+
+}
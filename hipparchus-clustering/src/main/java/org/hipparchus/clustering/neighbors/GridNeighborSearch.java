@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hipparchus.clustering.Clusterable;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Neighbor search based on a uniform grid.
+ * <p>
+ * Points are hashed into hypercubic cells. A search only checks the points
+ * belonging to cells that intersect the bounding box of the search ball.
+ * With a cell size equal to the search radius, this is very efficient in
+ * low dimensions (typically 2 or 3) for points with uniform density, as
+ * only 3<sup>d</sup> cells are checked. As the number of cells checked
+ * grows exponentially with dimension, this index is not suited for high
+ * dimensions.
+ * </p>
+ * <p>
+ * The index supports only the Manhattan, Euclidean and Chebyshev distances.
+ * </p>
+ * @since 1.9
+ */
+public class GridNeighborSearch implements NeighborSearch {
+
+    /** Relative margin protecting cells selection against rounding errors. */
+    private static final double MARGIN = 1.0e-10;
+
+    /** Configured cell size (0 if the radius hint should be used). */
+    private final double cellSize;
+
+    /** Build a search using the radius hint as the cell size.
+     * <p>
+     * If the radius hint is not strictly positive, a cell size of 1.0 is used.
+     * </p>
+     */
+    public GridNeighborSearch() {
+        this.cellSize = 0.0;
+    }
+
+    /** Build a search with a fixed cell size.
+     * @param cellSize cell size
+     * @exception MathIllegalArgumentException if cell size is not strictly positive
+     */
+    public GridNeighborSearch(final double cellSize) throws MathIllegalArgumentException {
+        if (!(cellSize > 0)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                   cellSize, 0);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Clusterable> NeighborIndex<T> buildIndex(final Collection<T> points,
+                                                               final DistanceMeasure measure,
+                                                               final double radius)
+        throws MathIllegalArgumentException {
+        AbstractNeighborIndex.checkCoordinateBounded(measure, GridNeighborSearch.class);
+        final double size = cellSize > 0 ? cellSize : (radius > 0 ? radius : 1.0);
+        return new GridIndex<>(points, measure, size);
+    }
+
+    /** Index based on a uniform grid.
+     * @param <T> type of the points
+     */
+    private static class GridIndex<T extends Clusterable> extends AbstractNeighborIndex<T> {
+
+        /** Cell size. */
+        private final double size;
+
+        /** Origin of the grid. */
+        private final double[] origin;
+
+        /** Non-empty cells. */
+        private final Map<CellKey, int[]> cells;
+
+        /** Simple constructor.
+         * @param points points to index
+         * @param measure distance measure
+         * @param size cell size
+         */
+        GridIndex(final Collection<T> points, final DistanceMeasure measure, final double size) {
+            super(points, measure);
+            this.size  = size;
+            this.cells = new HashMap<>();
+            if (size() == 0) {
+                origin = new double[0];
+                return;
+            }
+
+            final int dimension = getCoordinates(0).length;
+            origin = new double[dimension];
+            computeBounds(identityPermutation(), 0, size(), origin, new double[dimension]);
+
+            // first pass: count points per cell
+            final CellKey[] keys = new CellKey[size()];
+            final Map<CellKey, int[]> counts = new HashMap<>();
+            for (int i = 0; i < keys.length; ++i) {
+                final long[] indices = new long[dimension];
+                final double[] c = getCoordinates(i);
+                for (int j = 0; j < dimension; ++j) {
+                    indices[j] = (long) FastMath.floor((c[j] - origin[j]) / size);
+                }
+                keys[i] = new CellKey(indices);
+                counts.computeIfAbsent(keys[i], k -> new int[1])[0]++;
+            }
+
+            // second pass: store points indices in compact arrays
+            for (final Map.Entry<CellKey, int[]> entry : counts.entrySet()) {
+                cells.put(entry.getKey(), new int[entry.getValue()[0]]);
+                entry.getValue()[0] = 0;
+            }
+            for (int i = 0; i < keys.length; ++i) {
+                final int[] fill = counts.get(keys[i]);
+                cells.get(keys[i])[fill[0]++] = i;
+            }
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void search(final double[] center, final double radius, final Collector collector) {
+
+            if (cells.isEmpty()) {
+                return;
+            }
+
+            // range of cells intersecting the bounding box of the search ball
+            final int    dimension = origin.length;
+            final long[] low       = new long[dimension];
+            final long[] high      = new long[dimension];
+            for (int j = 0; j < dimension; ++j) {
+                final double margin = MARGIN * (FastMath.abs(center[j]) + radius);
+                low[j]  = (long) FastMath.floor((center[j] - radius - margin - origin[j]) / size);
+                high[j] = (long) FastMath.floor((center[j] + radius + margin - origin[j]) / size);
+            }
+
+            // when the search range covers more cells than are occupied, scanning
+            // the occupied cells is cheaper than enumerating the range
+            double rangeCells = 1;
+            for (int j = 0; j < dimension; ++j) {
+                rangeCells *= (double) (high[j] - low[j]) + 1;
+            }
+            if (rangeCells > cells.size()) {
+                for (final Map.Entry<CellKey, int[]> entry : cells.entrySet()) {
+                    if (entry.getKey().isWithin(low, high)) {
+                        for (final int i : entry.getValue()) {
+                            collector.check(i, center, radius);
+                        }
+                    }
+                }
+                return;
+            }
+
+            // odometer-like iteration over the cells
+            final long[] current = low.clone();
+            final CellKey key = new CellKey(current);
+            while (true) {
+                key.rehash();
+                final int[] cell = cells.get(key);
+                if (cell != null) {
+                    for (final int i : cell) {
+                        collector.check(i, center, radius);
+                    }
+                }
+                int j = 0;
+                while (j < dimension && current[j] == high[j]) {
+                    current[j] = low[j];
+                    ++j;
+                }
+                if (j == dimension) {
+                    return;
+                }
+                ++current[j];
+            }
+
+        }
+
+    }
+
+    /** Key for grid cells. */
+    private static class CellKey {
+
+        /** Cell indices. */
+        private final long[] indices;
+
+        /** Cached hash code. */
+        private int hash;
+
+        /** Simple constructor.
+         * @param indices cell indices (stored by reference)
+         */
+        CellKey(final long[] indices) {
+            this.indices = indices;
+            rehash();
+        }
+
+        /** Update the hash code after the indices have been changed.
+         */
+        void rehash() {
+            hash = Arrays.hashCode(indices);
+        }
+
+        /** Check if the cell is within a range.
+         * @param low lower cell indices (included)
+         * @param high upper cell indices (included)
+         * @return true if the cell is within the range
+         */
+        boolean isWithin(final long[] low, final long[] high) {
+            for (int j = 0; j < indices.length; ++j) {
+                if (indices[j] < low[j] || indices[j] > high[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof CellKey && Arrays.equals(indices, ((CellKey) other).indices);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.Collection;
+
+import org.hipparchus.clustering.Clusterable;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Neighbor search based on a k-d tree.
+ * <p>
+ * The tree is built by recursively splitting the points at the median of the
+ * widest dimension of their bounding box. A sub-tree is skipped during a search
+ * when the distance between the search center and the closest point of the
+ * sub-tree bounding box exceeds the search radius. This pruning is exact, so
+ * the results are the same as those of a {@link LinearScanNeighborSearch linear scan}.
+ * </p>
+ * <p>
+ * The index supports only the Manhattan, Euclidean and Chebyshev distances.
+ * It is most efficient in low dimensions (typically up to 10 or 20).
+ * </p>
+ * @since 1.9
+ */
+public class KDTreeNeighborSearch implements NeighborSearch {
+
+    /** Default maximum number of points in leaves. */
+    public static final int DEFAULT_LEAF_SIZE = 16;
+
+    /** Maximum number of points in leaves. */
+    private final int leafSize;
+
+    /** Build a search with default leaf size.
+     */
+    public KDTreeNeighborSearch() {
+        this(DEFAULT_LEAF_SIZE);
+    }
+
+    /** Build a search with specified leaf size.
+     * @param leafSize maximum number of points in leaves
+     * @exception MathIllegalArgumentException if leaf size is not strictly positive
+     */
+    public KDTreeNeighborSearch(final int leafSize) throws MathIllegalArgumentException {
+        if (leafSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, leafSize, 1);
+        }
+        this.leafSize = leafSize;
+    }
+
+    /** Get the maximum number of points in leaves.
+     * @return maximum number of points in leaves
+     */
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Clusterable> NeighborIndex<T> buildIndex(final Collection<T> points,
+                                                               final DistanceMeasure measure,
+                                                               final double radius)
+        throws MathIllegalArgumentException {
+        AbstractNeighborIndex.checkCoordinateBounded(measure, KDTreeNeighborSearch.class);
+        return new KDTreeIndex<>(points, measure, leafSize);
+    }
+
+    /** Index based on a k-d tree.
+     * @param <T> type of the points
+     */
+    private static class KDTreeIndex<T extends Clusterable> extends AbstractNeighborIndex<T> {
+
+        /** Permutation of points indices, each node covers a contiguous range. */
+        private final int[] permutation;
+
+        /** Root node (null if there are no points). */
+        private final Node root;
+
+        /** Simple constructor.
+         * @param points points to index
+         * @param measure distance measure
+         * @param leafSize maximum number of points in leaves
+         */
+        KDTreeIndex(final Collection<T> points, final DistanceMeasure measure, final int leafSize) {
+            super(points, measure);
+            permutation = identityPermutation();
+            root        = size() == 0 ? null : build(0, size(), leafSize);
+        }
+
+        /** Build a sub-tree.
+         * @param start start of the range (included)
+         * @param end end of the range (excluded)
+         * @param leafSize maximum number of points in leaves
+         * @return root of the sub-tree
+         */
+        private Node build(final int start, final int end, final int leafSize) {
+            final int    dimension = getCoordinates(permutation[start]).length;
+            final double[] min     = new double[dimension];
+            final double[] max     = new double[dimension];
+            computeBounds(permutation, start, end, min, max);
+            final int widest = widestDimension(min, max);
+            if (end - start <= leafSize || widest < 0) {
+                return new Node(start, end, min, max, null, null);
+            }
+            final int middle = (start + end) >>> 1;
+            select(permutation, start, end, middle, widest);
+            return new Node(start, end, min, max,
+                            build(start, middle, leafSize),
+                            build(middle, end, leafSize));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void search(final double[] center, final double radius, final Collector collector) {
+            if (root != null) {
+                search(root, center, radius, new double[center.length], collector);
+            }
+        }
+
+        /** Search a sub-tree.
+         * @param node root of the sub-tree
+         * @param center center of the search
+         * @param radius search radius
+         * @param closest placeholder for the closest point of node bounding box
+         * @param collector collector for the found points
+         */
+        private void search(final Node node, final double[] center, final double radius,
+                            final double[] closest, final Collector collector) {
+
+            // the distance to the closest point of the bounding box is a lower bound
+            // of the distance to all points within the box
+            for (int j = 0; j < center.length; ++j) {
+                closest[j] = FastMath.max(node.min[j], FastMath.min(node.max[j], center[j]));
+            }
+            if (getMeasure().compute(closest, center) > radius) {
+                return;
+            }
+
+            if (node.lower == null) {
+                for (int k = node.start; k < node.end; ++k) {
+                    collector.check(permutation[k], center, radius);
+                }
+            } else {
+                search(node.lower, center, radius, closest, collector);
+                search(node.upper, center, radius, closest, collector);
+            }
+
+        }
+
+    }
+
+    /** Node of the k-d tree. */
+    private static class Node {
+
+        /** Start of the points range (included). */
+        private final int start;
+
+        /** End of the points range (excluded). */
+        private final int end;
+
+        /** Lower corner of the bounding box. */
+        private final double[] min;
+
+        /** Upper corner of the bounding box. */
+        private final double[] max;
+
+        /** Lower child (null for leaves). */
+        private final Node lower;
+
+        /** Upper child (null for leaves). */
+        private final Node upper;
+
+        /** Simple constructor.
+         * @param start start of the points range (included)
+         * @param end end of the points range (excluded)
+         * @param min lower corner of the bounding box
+         * @param max upper corner of the bounding box
+         * @param lower lower child (null for leaves)
+         * @param upper upper child (null for leaves)
+         */
+        Node(final int start, final int end, final double[] min, final double[] max,
+             final Node lower, final Node upper) {
+            this.start = start;
+            this.end   = end;
+            this.min   = min;
+            this.max   = max;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.Collection;
+
+import org.hipparchus.clustering.Clusterable;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+
+/**
+ * Exhaustive neighbor search.
+ * <p>
+ * The index built by this search checks all points for each search, so
+ * searches cost O(n) distance computations. This is the reference
+ * implementation, it supports all distance measures.
+ * </p>
+ * @since 1.9
+ */
+public class LinearScanNeighborSearch implements NeighborSearch {
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends Clusterable> NeighborIndex<T> buildIndex(final Collection<T> points,
+                                                               final DistanceMeasure measure,
+                                                               final double radius) {
+        return new LinearScanIndex<>(points, measure);
+    }
+
+    /** Index performing exhaustive scans.
+     * @param <T> type of the points
+     */
+    private static class LinearScanIndex<T extends Clusterable> extends AbstractNeighborIndex<T> {
+
+        /** Simple constructor.
+         * @param points points to index
+         * @param measure distance measure
+         */
+        LinearScanIndex(final Collection<T> points, final DistanceMeasure measure) {
+            super(points, measure);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void search(final double[] center, final double radius, final Collector collector) {
+            for (int i = 0; i < size(); ++i) {
+                collector.check(i, center, radius);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.List;
+
+import org.hipparchus.clustering.Clusterable;
+
+/**
+ * Spatial index supporting fixed-radius neighbor searches.
+ * <p>
+ * Indexes are immutable once built, so they can be searched concurrently.
+ * </p>
+ * @param <T> type of the points
+ * @see NeighborSearch
+ * @since 1.9
+ */
+public interface NeighborIndex<T extends Clusterable> {
+
+    /** Get the points within some distance of a center.
+     * <p>
+     * A point p is selected if {@code measure.compute(p.getPoint(), center) <= radius},
+     * so the result is exactly the same as the one of an exhaustive scan. The
+     * selected points are returned in the iteration order of the collection
+     * the index was built from.
+     * </p>
+     * @param center center of the search
+     * @param radius search radius
+     * @return points within radius of center (including points at center)
+     */
+    List<T> getNeighbors(double[] center, double radius);
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.Collection;
+
+import org.hipparchus.clustering.Clusterable;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Strategy for building spatial indexes supporting fixed-radius neighbor searches.
+ * <p>
+ * Implementations are lightweight configuration objects; the heavy data
+ * structures are the {@link NeighborIndex indexes} they build.
+ * </p>
+ * @since 1.9
+ */
+public interface NeighborSearch {
+
+    /** Build an index for a set of points.
+     * @param <T> type of the points
+     * @param points points to index (the collection is copied, later changes
+     * to the collection are not reflected in the index)
+     * @param measure distance measure to use
+     * @param radius typical radius of the searches that will be performed
+     * (used only as a hint for tuning some indexes)
+     * @return index for the points
+     * @exception MathIllegalArgumentException if the distance measure is not
+     * supported by the index or if points do not have the same dimension
+     */
+    <T extends Clusterable> NeighborIndex<T> buildIndex(Collection<T> points, DistanceMeasure measure, double radius)
+        throws MathIllegalArgumentException;
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Spatial indexes for fixed-radius neighbor searches.
+ * <p>
+ * These indexes are used by density-based clusterers like
+ * {@link org.hipparchus.clustering.DBSCANClusterer DBSCANClusterer} to
+ * avoid scanning all points when looking for the neighbors of one point.
+ * </p>
+ * @since 1.9
+ */
+package org.hipparchus.clustering.neighbors;
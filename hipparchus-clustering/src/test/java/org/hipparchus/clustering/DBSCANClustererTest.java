@@ -21,12 +21,25 @@
  */
 package org.hipparchus.clustering;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.hipparchus.clustering.distance.CanberraDistance;
+import org.hipparchus.clustering.distance.ChebyshevDistance;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
+import org.hipparchus.clustering.neighbors.BallTreeNeighborSearch;
+import org.hipparchus.clustering.neighbors.GridNeighborSearch;
+import org.hipparchus.clustering.neighbors.KDTreeNeighborSearch;
+import org.hipparchus.clustering.neighbors.LinearScanNeighborSearch;
+import org.hipparchus.clustering.neighbors.NeighborSearch;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.junit.Assert;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937c;
 import org.junit.Test;
 
 public class DBSCANClustererTest {
@@ -164,6 +177,64 @@ public class DBSCANClustererTest {
         Assert.assertTrue(clusters.get(0).getPoints().containsAll(clusterOne));
     }
 
+    @Test
+    public void testNeighborSearchesGiveSameClusters() {
+        final RandomGenerator random = new Well19937c(0x3e8a5c7d91f2b064l);
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int c = 0; c < 6; ++c) {
+            final double cx = 20 * random.nextDouble();
+            final double cy = 20 * random.nextDouble();
+            for (int i = 0; i < 80; ++i) {
+                points.add(new DoublePoint(new double[] {
+                    cx + random.nextGaussian(), cy + random.nextGaussian()
+                }));
+            }
+        }
+        for (int i = 0; i < 100; ++i) {
+            points.add(new DoublePoint(new double[] { 20 * random.nextDouble(), 20 * random.nextDouble() }));
+        }
+
+        for (final DistanceMeasure measure : new DistanceMeasure[] {
+            new EuclideanDistance(), new ManhattanDistance(), new ChebyshevDistance()
+        }) {
+            final List<Cluster<DoublePoint>> reference =
+                new DBSCANClusterer<DoublePoint>(0.6, 5, measure, new LinearScanNeighborSearch()).cluster(points);
+            Assert.assertTrue(reference.size() > 1);
+            for (final NeighborSearch search : new NeighborSearch[] {
+                new KDTreeNeighborSearch(), new KDTreeNeighborSearch(1), new BallTreeNeighborSearch(4),
+                new GridNeighborSearch(), new GridNeighborSearch(0.25)
+            }) {
+                final DBSCANClusterer<DoublePoint> clusterer =
+                    new DBSCANClusterer<DoublePoint>(0.6, 5, measure, search);
+                Assert.assertSame(search, clusterer.getNeighborSearch());
+                final List<Cluster<DoublePoint>> clusters = clusterer.cluster(points);
+                Assert.assertEquals(reference.size(), clusters.size());
+                for (int i = 0; i < reference.size(); ++i) {
+                    Assert.assertEquals(reference.get(i).getPoints(), clusters.get(i).getPoints());
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testDefaultNeighborSearch() {
+        Assert.assertTrue(new DBSCANClusterer<DoublePoint>(2.0, 5).getNeighborSearch()
+                          instanceof KDTreeNeighborSearch);
+        Assert.assertTrue(new DBSCANClusterer<DoublePoint>(2.0, 5, new CanberraDistance()).getNeighborSearch()
+                          instanceof LinearScanNeighborSearch);
+        // subclasses may change the distance, they must not get a k-d tree
+        final DistanceMeasure scaled = new EuclideanDistance() {
+            private static final long serialVersionUID = 20261017L;
+            @Override
+            public double compute(double[] a, double[] b) {
+                return 0.5 * super.compute(a, b);
+            }
+        };
+        Assert.assertTrue(new DBSCANClusterer<DoublePoint>(2.0, 5, scaled).getNeighborSearch()
+                          instanceof LinearScanNeighborSearch);
+    }
+
     @Test
     public void testGetEps() {
         final DBSCANClusterer<DoublePoint> transformer = new DBSCANClusterer<DoublePoint>(2.0, 5);
@@ -26,11 +26,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import org.hipparchus.clustering.distance.CanberraDistance;
+import org.hipparchus.clustering.distance.DistanceMeasure;
 import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.random.JDKRandomGenerator;
 import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -173,6 +178,96 @@ public class KMeansPlusPlusClustererTest {
         Assert.assertTrue(uniquePointIsCenter);
     }
 
+    @Test
+    public void testAssignmentStrategiesAndPool() {
+        final RandomGenerator generator = new Well19937a(0x4c19e3a7d20fb856l);
+        final double[][] centers = new double[12][3];
+        for (final double[] center : centers) {
+            for (int j = 0; j < center.length; ++j) {
+                center[j] = 20 * generator.nextDouble();
+            }
+        }
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 3000; ++i) {
+            final double[] p = centers[i % centers.length].clone();
+            for (int j = 0; j < p.length; ++j) {
+                p[j] += 1.5 * generator.nextGaussian();
+            }
+            points.add(new DoublePoint(p));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final DistanceMeasure measure : new DistanceMeasure[] {
+                new EuclideanDistance(), new ManhattanDistance()
+            }) {
+                final List<CentroidCluster<DoublePoint>> reference =
+                                clusterWith(measure, KMeansPlusPlusClusterer.AssignmentStrategy.EXHAUSTIVE, null, points);
+                for (final KMeansPlusPlusClusterer.AssignmentStrategy strategy :
+                     KMeansPlusPlusClusterer.AssignmentStrategy.values()) {
+                    for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                        final List<CentroidCluster<DoublePoint>> clusters = clusterWith(measure, strategy, p, points);
+                        Assert.assertEquals(reference.size(), clusters.size());
+                        for (int i = 0; i < reference.size(); ++i) {
+                            Assert.assertArrayEquals(reference.get(i).getCenter().getPoint(),
+                                                     clusters.get(i).getCenter().getPoint(),
+                                                     0.0);
+                            Assert.assertEquals(reference.get(i).getPoints(), clusters.get(i).getPoints());
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultAssignmentStrategy() {
+        Assert.assertEquals(KMeansPlusPlusClusterer.AssignmentStrategy.EXHAUSTIVE,
+                            new KMeansPlusPlusClusterer<DoublePoint>(3).getAssignmentStrategy());
+        Assert.assertEquals(KMeansPlusPlusClusterer.AssignmentStrategy.EXHAUSTIVE,
+                            new KMeansPlusPlusClusterer<DoublePoint>(3, 10, new CanberraDistance()).getAssignmentStrategy());
+        Assert.assertEquals(KMeansPlusPlusClusterer.AssignmentStrategy.EXHAUSTIVE,
+                            new KMeansPlusPlusClusterer<DoublePoint>(3, 10, new CloseDistance()).getAssignmentStrategy());
+        Assert.assertNull(new KMeansPlusPlusClusterer<DoublePoint>(3).getPool());
+    }
+
+    @Test
+    public void testWithRandomGenerator() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final KMeansPlusPlusClusterer<DoublePoint> original =
+                            new KMeansPlusPlusClusterer<>(4, 20, new ManhattanDistance(), new Well19937a(0x3c1e5d7f2a9b4806l),
+                                                          KMeansPlusPlusClusterer.EmptyClusterStrategy.FARTHEST_POINT,
+                                                          KMeansPlusPlusClusterer.AssignmentStrategy.ELKAN, pool);
+            final RandomGenerator random = new Well19937a(0x5e4a2c8d1f3b7960l);
+            final KMeansPlusPlusClusterer<DoublePoint> copy = original.withRandomGenerator(random);
+            Assert.assertSame(random, copy.getRandomGenerator());
+            Assert.assertEquals(original.getK(), copy.getK());
+            Assert.assertEquals(original.getMaxIterations(), copy.getMaxIterations());
+            Assert.assertSame(original.getDistanceMeasure(), copy.getDistanceMeasure());
+            Assert.assertEquals(original.getEmptyClusterStrategy(), copy.getEmptyClusterStrategy());
+            Assert.assertEquals(original.getAssignmentStrategy(), copy.getAssignmentStrategy());
+            Assert.assertSame(original.getPool(), copy.getPool());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<CentroidCluster<DoublePoint>> clusterWith(final DistanceMeasure measure,
+                                                           final KMeansPlusPlusClusterer.AssignmentStrategy strategy,
+                                                           final ForkJoinPool pool,
+                                                           final List<DoublePoint> points) {
+        final KMeansPlusPlusClusterer<DoublePoint> clusterer =
+                        new KMeansPlusPlusClusterer<>(12, 100, measure, new Well19937a(0x71be5d2c4f0938a6l),
+                                                      KMeansPlusPlusClusterer.EmptyClusterStrategy.LARGEST_VARIANCE,
+                                                      strategy, pool);
+        Assert.assertEquals(strategy, clusterer.getAssignmentStrategy());
+        Assert.assertSame(pool, clusterer.getPool());
+        return clusterer.cluster(points);
+    }
+
     /**
      * 2 variables cannot be clustered into 3 clusters. See issue MATH-436.
      */
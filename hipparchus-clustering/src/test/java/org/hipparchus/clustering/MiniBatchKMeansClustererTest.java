@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MiniBatchKMeansClustererTest {
+
+    private static final double[][] CENTERS = {
+        { -10.0, -10.0 }, { -10.0, 10.0 }, { 10.0, -10.0 }, { 10.0, 10.0 }, { 0.0, 0.0 }
+    };
+
+    @Test
+    public void testStreaming() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                        new MiniBatchKMeansClusterer<>(CENTERS.length, 100, 0, new EuclideanDistance(),
+                                                       new Well19937a(0x39e5c0d7a214bf68l), 0.0);
+        Assert.assertFalse(clusterer.isInitialized());
+        Assert.assertTrue(clusterer.getClusters().isEmpty());
+        Assert.assertEquals(0, clusterer.getCounts().length);
+
+        // the points are generated on the fly, they are never all held in memory
+        clusterer.update(new Generator(new Well19937a(0x5e21b09f7ac3d846l), 50000));
+        Assert.assertTrue(clusterer.isInitialized());
+        Assert.assertEquals(50000, clusterer.getReceivedPoints());
+        Assert.assertEquals(50000, Arrays.stream(clusterer.getCounts()).sum());
+
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.getClusters();
+        Assert.assertEquals(CENTERS.length, clusters.size());
+        for (final double[] expected : CENTERS) {
+            final int nearest = clusterer.getNearestCluster(new DoublePoint(expected));
+            final double[] found = clusters.get(nearest).getCenter().getPoint();
+            Assert.assertEquals(expected[0], found[0], 0.05);
+            Assert.assertEquals(expected[1], found[1], 0.05);
+            Assert.assertTrue(clusters.get(nearest).getPoints().isEmpty());
+        }
+
+        // snapshots are not affected by later updates
+        final double[] before = clusters.get(0).getCenter().getPoint().clone();
+        clusterer.update(new Generator(new Well19937a(0x0b7d3e81c5f4a926l), 1000));
+        Assert.assertArrayEquals(before, clusters.get(0).getCenter().getPoint(), 0.0);
+
+        clusterer.reset();
+        Assert.assertFalse(clusterer.isInitialized());
+        Assert.assertEquals(0, clusterer.getReceivedPoints());
+    }
+
+    @Test
+    public void testMinLearningRateFollowsDrift() {
+        final double[] driftedCenters = new double[2];
+        for (final double minLearningRate : new double[] { 0.0, 0.01 }) {
+            final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                            new MiniBatchKMeansClusterer<>(1, 50, 0, new EuclideanDistance(),
+                                                           new Well19937a(0x6a40f2d9c13e8b57l), minLearningRate);
+            Assert.assertEquals(minLearningRate, clusterer.getMinLearningRate(), 0.0);
+            final RandomGenerator random = new Well19937a(0x17c8e5a03bd296f4l);
+            // the single cluster moves from 0.0 to 10.0 after 10000 points
+            for (int i = 0; i < 20000; i += 50) {
+                final List<DoublePoint> batch = new ArrayList<>();
+                for (int j = 0; j < 50; ++j) {
+                    batch.add(new DoublePoint(new double[] { (i < 10000 ? 0.0 : 10.0) + random.nextGaussian() }));
+                }
+                clusterer.update(batch);
+            }
+            driftedCenters[minLearningRate == 0.0 ? 0 : 1] = clusterer.getClusters().get(0).getCenter().getPoint()[0];
+        }
+
+        // without minimum learning rate, the center is the mean of all points
+        Assert.assertEquals(5.0, driftedCenters[0], 0.05);
+
+        // with minimum learning rate, the center forgets old points
+        Assert.assertEquals(10.0, driftedCenters[1], 0.2);
+    }
+
+    @Test
+    public void testCluster() {
+        final List<DoublePoint> points = new ArrayList<>();
+        new Generator(new Well19937a(0x2d9f6b4a8e05c713l), 5000).forEachRemaining(points::add);
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer =
+                        new MiniBatchKMeansClusterer<>(CENTERS.length, 100, 200, new EuclideanDistance(),
+                                                       new Well19937a(0x48be1f7c3a6d2059l), 0.0);
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(points);
+        Assert.assertEquals(CENTERS.length, clusters.size());
+        int total = 0;
+        for (final CentroidCluster<DoublePoint> cluster : clusters) {
+            // all clusters have been found, with 1000 points each
+            Assert.assertEquals(1000, cluster.getPoints().size());
+            total += cluster.getPoints().size();
+        }
+        Assert.assertEquals(points.size(), total);
+        Assert.assertEquals(200 * 100, clusterer.getReceivedPoints());
+    }
+
+    @Test
+    public void testClusterWithoutIterations() {
+        final List<DoublePoint> points = new ArrayList<>();
+        new Generator(new Well19937a(0x7f1a3c5e9b2d4068l), 20).forEachRemaining(points::add);
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer = new MiniBatchKMeansClusterer<>(3, 100, 0);
+        final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(points);
+        Assert.assertEquals(3, clusters.size());
+        Assert.assertEquals(20, clusters.stream().mapToInt(c -> c.getPoints().size()).sum());
+    }
+
+    @Test
+    public void testNotInitialized() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer = new MiniBatchKMeansClusterer<>(3, 10, 0);
+        clusterer.update(Arrays.asList(new DoublePoint(new double[] { 1.0 })));
+        try {
+            clusterer.getNearestCluster(new DoublePoint(new double[] { 1.0 }));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals(LocalizedClusteringFormats.CLUSTERER_NOT_INITIALIZED, mise.getSpecifier());
+            Assert.assertEquals(1L, mise.getParts()[0]);
+            Assert.assertEquals(30, mise.getParts()[1]);
+        }
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        final MiniBatchKMeansClusterer<DoublePoint> clusterer = new MiniBatchKMeansClusterer<>(3, 10, 0);
+        try {
+            clusterer.update(Arrays.asList(new DoublePoint(new double[] { 1.0 }),
+                                           new DoublePoint(new double[] { 1.0, 2.0 })));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongParameters() {
+        checkWrongParameters(0, 10, 0, 0.0, LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkWrongParameters(3, 0, 0, 0.0, LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkWrongParameters(3, 10, -1, 0.0, LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkWrongParameters(3, 10, 0, 1.5, LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE);
+        try {
+            new MiniBatchKMeansClusterer<DoublePoint>(3, 10, 0).cluster(Arrays.asList(new DoublePoint(new double[1])));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, miae.getSpecifier());
+        }
+    }
+
+    private void checkWrongParameters(final int k, final int batchSize, final int maxIterations,
+                                      final double minLearningRate, final LocalizedCoreFormats expected) {
+        try {
+            new MiniBatchKMeansClusterer<DoublePoint>(k, batchSize, maxIterations,
+                                                      new EuclideanDistance(), new Well19937a(0l),
+                                                      minLearningRate);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(expected, miae.getSpecifier());
+        }
+    }
+
+    /** Generator for points around the test centers. */
+    private static class Generator implements Iterator<DoublePoint> {
+
+        private final RandomGenerator random;
+        private final int size;
+        private int generated;
+
+        Generator(final RandomGenerator random, final int size) {
+            this.random = random;
+            this.size   = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return generated < size;
+        }
+
+        @Override
+        public DoublePoint next() {
+            final double[] center = CENTERS[generated++ % CENTERS.length];
+            return new DoublePoint(new double[] {
+                center[0] + random.nextGaussian(), center[1] + random.nextGaussian()
+            });
+        }
+
+    }
+
+}
@@ -23,9 +23,15 @@
 package org.hipparchus.clustering;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.evaluation.SumOfClusterVariances;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -100,4 +106,46 @@ public class MultiKMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    public void testParallelTrials() {
+        final RandomGenerator generator = new Well19937a(0x2a8f61c0e59d3b47l);
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            final int c = i % 5;
+            points.add(new DoublePoint(new double[] {
+                10 * c + generator.nextGaussian(), 10 * (c % 2) + generator.nextGaussian()
+            }));
+        }
+
+        final List<List<CentroidCluster<DoublePoint>>> results = new ArrayList<>();
+        for (final int threads : new int[] { 1, 2, 4 }) {
+            final ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                final KMeansPlusPlusClusterer<DoublePoint> kMeans =
+                                new KMeansPlusPlusClusterer<>(5, 50, new EuclideanDistance(),
+                                                              new Well19937a(0x6d03b9e2a17fc548l));
+                final MultiKMeansPlusPlusClusterer<DoublePoint> multi =
+                                new MultiKMeansPlusPlusClusterer<>(kMeans, 8,
+                                                                   new SumOfClusterVariances<>(new EuclideanDistance()),
+                                                                   pool);
+                Assert.assertSame(pool, multi.getPool());
+                results.add(multi.cluster(points));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        // results are independent of the number of threads
+        for (final List<CentroidCluster<DoublePoint>> result : results) {
+            Assert.assertEquals(5, result.size());
+            for (int i = 0; i < result.size(); ++i) {
+                Assert.assertArrayEquals(results.get(0).get(i).getCenter().getPoint(),
+                                         result.get(i).getCenter().getPoint(),
+                                         0.0);
+                Assert.assertEquals(results.get(0).get(i).getPoints(), result.get(i).getPoints());
+            }
+        }
+
+    }
+
 }
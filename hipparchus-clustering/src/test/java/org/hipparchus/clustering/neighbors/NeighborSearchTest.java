@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering.neighbors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.clustering.DoublePoint;
+import org.hipparchus.clustering.LocalizedClusteringFormats;
+import org.hipparchus.clustering.distance.CanberraDistance;
+import org.hipparchus.clustering.distance.ChebyshevDistance;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937c;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NeighborSearchTest {
+
+    @Test
+    public void testKDTree() {
+        checkAgainstLinearScan(new KDTreeNeighborSearch(), 3);
+        checkAgainstLinearScan(new KDTreeNeighborSearch(1), 2);
+        Assert.assertEquals(KDTreeNeighborSearch.DEFAULT_LEAF_SIZE, new KDTreeNeighborSearch().getLeafSize());
+    }
+
+    @Test
+    public void testBallTree() {
+        checkAgainstLinearScan(new BallTreeNeighborSearch(), 3);
+        checkAgainstLinearScan(new BallTreeNeighborSearch(2), 2);
+        Assert.assertEquals(BallTreeNeighborSearch.DEFAULT_LEAF_SIZE, new BallTreeNeighborSearch().getLeafSize());
+    }
+
+    @Test
+    public void testGrid() {
+        checkAgainstLinearScan(new GridNeighborSearch(), 2);
+        checkAgainstLinearScan(new GridNeighborSearch(0.05), 3);
+        // cell size much smaller than search radius triggers scanning of occupied cells
+        checkAgainstLinearScan(new GridNeighborSearch(1.0e-3), 3);
+    }
+
+    @Test
+    public void testBallTreeCanberra() {
+        final List<DoublePoint> points = randomPoints(new Well19937c(0x1d4b0e2f6c83a597l), 500, 4);
+        final DistanceMeasure canberra = new CanberraDistance();
+        final NeighborIndex<DoublePoint> reference =
+                        new LinearScanNeighborSearch().buildIndex(points, canberra, 0.5);
+        final NeighborIndex<DoublePoint> index =
+                        new BallTreeNeighborSearch(8).buildIndex(points, canberra, 0.5);
+        for (final DoublePoint p : points) {
+            Assert.assertEquals(reference.getNeighbors(p.getPoint(), 0.5), index.getNeighbors(p.getPoint(), 0.5));
+        }
+    }
+
+    @Test
+    public void testDuplicatesAndEmpty() {
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            points.add(new DoublePoint(new double[] { 1.0, 2.0 }));
+        }
+        points.add(new DoublePoint(new double[] { 3.0, 2.0 }));
+        for (final NeighborSearch search : allSearches()) {
+            final NeighborIndex<DoublePoint> index = search.buildIndex(points, new EuclideanDistance(), 0.0);
+            Assert.assertEquals(points.subList(0, 50), index.getNeighbors(new double[] { 1.0, 2.0 }, 0.0));
+            Assert.assertEquals(points, index.getNeighbors(new double[] { 2.0, 2.0 }, 1.0));
+            Assert.assertTrue(index.getNeighbors(new double[] { 2.0, 2.0 }, 0.999).isEmpty());
+            final NeighborIndex<DoublePoint> empty =
+                            search.buildIndex(Collections.<DoublePoint>emptyList(), new EuclideanDistance(), 1.0);
+            Assert.assertTrue(empty.getNeighbors(new double[] { 2.0, 2.0 }, 1.0).isEmpty());
+        }
+    }
+
+    @Test
+    public void testUnsupportedMeasure() {
+        final List<DoublePoint> points = randomPoints(new Well19937c(0x6f03a2d8c4e1b975l), 10, 2);
+        for (final NeighborSearch search : new NeighborSearch[] {
+            new KDTreeNeighborSearch(), new GridNeighborSearch()
+        }) {
+            for (final DistanceMeasure measure : new DistanceMeasure[] {
+                new CanberraDistance(),
+                new EuclideanDistance() {
+                    private static final long serialVersionUID = 20261017L;
+                    @Override
+                    public double compute(double[] a, double[] b) {
+                        return 0.5 * super.compute(a, b);
+                    }
+                }
+            }) {
+                try {
+                    search.buildIndex(points, measure, 1.0);
+                    Assert.fail("an exception should have been thrown");
+                } catch (MathIllegalArgumentException miae) {
+                    Assert.assertEquals(LocalizedClusteringFormats.UNSUPPORTED_DISTANCE_MEASURE, miae.getSpecifier());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        final List<DoublePoint> points = new ArrayList<>();
+        points.add(new DoublePoint(new double[] { 1.0, 2.0 }));
+        points.add(new DoublePoint(new double[] { 1.0, 2.0, 3.0 }));
+        for (final NeighborSearch search : allSearches()) {
+            try {
+                search.buildIndex(points, new EuclideanDistance(), 1.0);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException miae) {
+                Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+            }
+        }
+    }
+
+    @Test
+    public void testWrongSettings() {
+        try {
+            new KDTreeNeighborSearch(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+        try {
+            new BallTreeNeighborSearch(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+        try {
+            new GridNeighborSearch(0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, miae.getSpecifier());
+        }
+    }
+
+    private void checkAgainstLinearScan(final NeighborSearch search, final int dimension) {
+        final RandomGenerator random = new Well19937c(0x52c9e7a10b3fd846l);
+        final List<DoublePoint> points = randomPoints(random, 1000, dimension);
+        for (final DistanceMeasure measure : new DistanceMeasure[] {
+            new EuclideanDistance(), new ManhattanDistance(), new ChebyshevDistance()
+        }) {
+            for (final double radius : new double[] { 0.0, 0.02, 0.1, 0.4, 2.0 }) {
+                final NeighborIndex<DoublePoint> reference =
+                                new LinearScanNeighborSearch().buildIndex(points, measure, radius);
+                final NeighborIndex<DoublePoint> index = search.buildIndex(points, measure, radius);
+                for (int i = 0; i < 50; ++i) {
+                    // search around both existing points and arbitrary centers
+                    final double[] center = (i % 2 == 0) ?
+                                            points.get(random.nextInt(points.size())).getPoint() :
+                                            randomPoints(random, 1, dimension).get(0).getPoint();
+                    final List<DoublePoint> expected = reference.getNeighbors(center, radius);
+                    Assert.assertEquals(expected, index.getNeighbors(center, radius));
+                    if (radius == 0 && i % 2 == 0) {
+                        Assert.assertFalse(expected.isEmpty());
+                    }
+                }
+            }
+        }
+    }
+
+    private List<DoublePoint> randomPoints(final RandomGenerator random, final int n, final int dimension) {
+        final List<DoublePoint> points = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            final double[] p = new double[dimension];
+            for (int j = 0; j < dimension; ++j) {
+                // coarse quantization creates many ties
+                p[j] = FastMath.rint(100 * random.nextDouble()) / 100;
+            }
+            points.add(new DoublePoint(p));
+        }
+        return points;
+    }
+
+    private NeighborSearch[] allSearches() {
+        return new NeighborSearch[] {
+            new LinearScanNeighborSearch(), new KDTreeNeighborSearch(2),
+            new BallTreeNeighborSearch(2), new GridNeighborSearch()
+        };
+    }
+
+}
@@ -23,6 +23,7 @@
 package org.hipparchus.linear;
 
 import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -30,6 +31,7 @@ import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * Implementation of {@link RealMatrix} using a {@code double[][]} array to
@@ -37,6 +39,9 @@ import org.hipparchus.util.MathUtils;
  *
  */
 public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializable {
+    /** Number of multiply-add operations performed by one task in parallel operations. */
+    private static final int PARALLEL_TASK_SIZE = 16384;
+
     /** Serializable version identifier. */
     private static final long serialVersionUID = -1067294169172445528L;
 
@@ -227,6 +232,12 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         final int nSum = this.getColumnDimension();
 
         final double[][] outData = new double[nRows][nCols];
+        if (DenseMatrixMultiplier.isWorthIt(nRows, nCols, nSum)) {
+            // use register-blocked kernel
+            DenseMatrixMultiplier.multiplyAdd(data, m.data, outData);
+            return new Array2DRowRealMatrix(outData, false);
+        }
+
         // Will hold a column of "m".
         final double[] mCol = new double[nSum];
         final double[][] mData = m.data;
@@ -252,6 +263,17 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return new Array2DRowRealMatrix(outData, false);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof Array2DRowRealMatrix) {
+            return multiply((Array2DRowRealMatrix) m);
+        } else {
+            return super.multiply(m);
+        }
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m^T}.
      * @param m matrix to first transpose and second postmultiply by
@@ -503,6 +525,30 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return out;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void operate(final RealVector x, final RealVector y, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            final int nRows = getRowDimension();
+            final int nCols = getColumnDimension();
+            final double[] v   = ((ArrayRealVector) x).getDataRef();
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            MathUtils.checkDimension(v.length, nCols);
+            MathUtils.checkDimension(out.length, nRows);
+            ParallelUtils.forEach(pool, 0, nRows, FastMath.max(1, PARALLEL_TASK_SIZE / FastMath.max(1, nCols)), row -> {
+                final double[] dataRow = data[row];
+                double sum = 0;
+                for (int i = 0; i < nCols; i++) {
+                    sum += dataRow[i] * v[i];
+                }
+                out[row] = sum;
+            });
+        } else {
+            super.operate(x, y, pool);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -24,6 +24,7 @@ package org.hipparchus.linear;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.exception.LocalizedCoreFormats;
@@ -31,6 +32,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * This class implements the {@link RealVector} interface with a double array.
@@ -38,6 +40,8 @@ import org.hipparchus.util.MathUtils;
 public class ArrayRealVector extends RealVector implements Serializable {
     /** Serializable version identifier. */
     private static final long serialVersionUID = -1097961340710804027L;
+    /** Number of entries processed by one task in parallel operations. */
+    private static final int PARALLEL_CHUNK_SIZE = 8192;
     /** Default format. */
     private static final RealVectorFormat DEFAULT_FORMAT = RealVectorFormat.getRealVectorFormat();
 
@@ -466,6 +470,23 @@ public class ArrayRealVector extends RealVector implements Serializable {
         return super.dotProduct(v);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double dotProduct(final RealVector v, final ForkJoinPool pool) throws MathIllegalArgumentException {
+        if (pool != null && v instanceof ArrayRealVector) {
+            final double[] vData = ((ArrayRealVector) v).data;
+            checkVectorDimensions(vData.length);
+            return ParallelUtils.sum(pool, 0, data.length, PARALLEL_CHUNK_SIZE, (start, end) -> {
+                double dot = 0;
+                for (int i = start; i < end; i++) {
+                    dot += data[i] * vData[i];
+                }
+                return dot;
+            });
+        }
+        return dotProduct(v);
+    }
+
     /** {@inheritDoc} */
     @Override
     public double getNorm() {
@@ -863,6 +884,26 @@ public class ArrayRealVector extends RealVector implements Serializable {
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ArrayRealVector combineToSelf(final double a, final double b, final RealVector y,
+                                         final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        if (pool != null && y instanceof ArrayRealVector) {
+            final double[] yData = ((ArrayRealVector) y).data;
+            checkVectorDimensions(yData.length);
+            final int nbChunks = (data.length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+            ParallelUtils.forEach(pool, 0, nbChunks, 1, chunk -> {
+                final int end = FastMath.min(data.length, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+                for (int i = chunk * PARALLEL_CHUNK_SIZE; i < end; i++) {
+                    data[i] = a * data[i] + b * yData[i];
+                }
+            });
+            return this;
+        }
+        return combineToSelf(a, b, y);
+    }
+
     /** {@inheritDoc} */
     @Override
     public double walkInDefaultOrder(final RealVectorPreservingVisitor visitor) {
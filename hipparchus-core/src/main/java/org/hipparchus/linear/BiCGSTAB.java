@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the BiConjugate Gradient STABilized method for
+ * general (nonsymmetric) {@link RealLinearOperator}. It follows closely the
+ * template by <a href="#BARR1994">Barrett et al. (1994)</a> (figure 2.10),
+ * with right preconditioning, so the monitored residual is the residual
+ * r = b - A &middot; x of the original system.
+ * </p>
+ * <h3><a id="stopcrit">Default stopping criterion</a></h3>
+ * <p>
+ * The iterations stop when || r || &le; &delta; || b ||, where b is the
+ * right-hand side vector, r the current estimate of the residual, and &delta;
+ * a user-specified tolerance. As for {@link ConjugateGradient}, r is the
+ * <em>updated</em> residual, which might differ from the true residual due to
+ * rounding-off errors.
+ * </p>
+ * <h3>Iteration count</h3>
+ * <p>
+ * In the present context, an iteration should be understood as one evaluation
+ * of the matrix-vector product A &middot; x. The initialization phase therefore
+ * counts as one iteration, and each BiCGSTAB step, which involves two
+ * matrix-vector products, counts as two iterations. Both half-steps update the
+ * solution and the residual, and the convergence test is performed after each
+ * of them.
+ * </p>
+ * <h3>Memory</h3>
+ * <p>
+ * The work vectors are allocated once per call to
+ * {@link #solveInPlace(RealLinearOperator, RealLinearOperator, RealVector, RealVector)
+ * solveInPlace}, the iterations themselves do not allocate any vector when the
+ * operator and preconditioner override
+ * {@link RealLinearOperator#operate(RealVector, RealVector, ForkJoinPool)}.
+ * </p>
+ * <h3>Breakdown</h3>
+ * <p>
+ * The method breaks down when the shadow residual becomes orthogonal to the
+ * residual, or when the stabilizing step vanishes. In both cases, a
+ * {@link MathIllegalStateException} is thrown.
+ * </p>
+ * <h3>References</h3>
+ * <dl>
+ * <dt><a id="BARR1994">Barret et al. (1994)</a></dt>
+ * <dd>R. Barrett, M. Berry, T. F. Chan, J. Demmel, J. M. Donato, J. Dongarra,
+ * V. Eijkhout, R. Pozo, C. Romine and H. Van der Vorst,
+ * <a href="http://www.netlib.org/linalg/html_templates/Templates.html"><em>
+ * Templates for the Solution of Linear Systems: Building Blocks for Iterative
+ * Methods</em></a>, SIAM</dd>
+ * <dt><a id="VORS1992">Van der Vorst (1992)</a></dt>
+ * <dd>H. A. Van der Vorst, <em>Bi-CGSTAB: A Fast and Smoothly Converging
+ * Variant of Bi-CG for the Solution of Nonsymmetric Linear Systems</em>,
+ * SIAM Journal on Scientific and Statistical Computing 13(2): 631-644,
+ * 1992</dd>
+ * </dl>
+ *
+ * @since 1.9
+ */
+public class BiCGSTAB extends PreconditionedIterativeLinearSolver {
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     */
+    public BiCGSTAB(final int maxIterations, final double delta) {
+        this(new IterationManager(maxIterations), delta, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and fork-join pool.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     */
+    public BiCGSTAB(final int maxIterations, final double delta, final ForkJoinPool pool) {
+        this(new IterationManager(maxIterations), delta, pool);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     */
+    public BiCGSTAB(final IterationManager manager, final double delta)
+        throws NullArgumentException {
+        this(manager, delta, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>, custom iteration manager and fork-join pool.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     */
+    public BiCGSTAB(final IterationManager manager, final double delta, final ForkJoinPool pool)
+        throws NullArgumentException {
+        super(manager, pool);
+        this.delta = delta;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathIllegalStateException if the method breaks down
+     */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws MathIllegalArgumentException, NullArgumentException,
+        MathIllegalStateException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        final ForkJoinPool     pool    = getPool();
+        final int              n       = a.getRowDimension();
+
+        // Initialization of default stopping criterion
+        manager.resetIterationCount();
+        final double rmax = delta * b.getNorm();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final RealVector x   = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+
+        // work storage
+        final ArrayRealVector r      = new ArrayRealVector(n);
+        final RealVector      rro    = RealVector.unmodifiableRealVector(r);
+        final ArrayRealVector rTilde = new ArrayRealVector(n);
+        final ArrayRealVector p      = new ArrayRealVector(n);
+        final ArrayRealVector v      = new ArrayRealVector(n);
+        final ArrayRealVector t      = new ArrayRealVector(n);
+        final ArrayRealVector pHat   = m == null ? p : new ArrayRealVector(n);
+        final ArrayRealVector sHat   = m == null ? r : new ArrayRealVector(n);
+
+        a.operate(x, r, pool);
+        r.combineToSelf(-1.0, 1.0, b, pool);
+        rTilde.setSubVector(0, r);
+        double rnorm = FastMath.sqrt(r.dotProduct(r, pool));
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rro, rnorm);
+        manager.fireInitializationEvent(evt);
+        if (rnorm <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        double rhoPrev = 1.0;
+        double alpha   = 1.0;
+        double omega   = 1.0;
+        boolean first  = true;
+        while (true) {
+
+            // first half-step: BiCG update
+            manager.incrementIterationCount();
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationStartedEvent(evt);
+            final double rho = rTilde.dotProduct(r, pool);
+            if (rho == 0.0) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.CONVERGENCE_FAILED);
+            }
+            if (first) {
+                p.setSubVector(0, r);
+                first = false;
+            } else {
+                // p = r + beta (p - omega v)
+                final double beta = (rho / rhoPrev) * (alpha / omega);
+                p.combineToSelf(1.0, -omega, v, pool);
+                p.combineToSelf(beta, 1.0, r, pool);
+            }
+            if (m != null) {
+                m.operate(p, pHat, pool);
+            }
+            a.operate(pHat, v, pool);
+            final double rTildeV = rTilde.dotProduct(v, pool);
+            if (rTildeV == 0.0) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.CONVERGENCE_FAILED);
+            }
+            alpha = rho / rTildeV;
+            x.combineToSelf(1.0, alpha, pHat, pool);
+            r.combineToSelf(1.0, -alpha, v, pool);
+            rhoPrev = rho;
+            rnorm   = FastMath.sqrt(r.dotProduct(r, pool));
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationPerformedEvent(evt);
+            if (rnorm <= rmax) {
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+
+            // second half-step: stabilization
+            manager.incrementIterationCount();
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationStartedEvent(evt);
+            if (m != null) {
+                m.operate(r, sHat, pool);
+            }
+            a.operate(sHat, t, pool);
+            final double tt = t.dotProduct(t, pool);
+            omega = tt == 0.0 ? 0.0 : t.dotProduct(r, pool) / tt;
+            if (omega == 0.0) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.CONVERGENCE_FAILED);
+            }
+            x.combineToSelf(1.0, omega, sHat, pool);
+            r.combineToSelf(1.0, -omega, t, pool);
+            rnorm = FastMath.sqrt(r.dotProduct(r, pool));
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationPerformedEvent(evt);
+            if (rnorm <= rmax) {
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+
+        }
+    }
+
+}
@@ -24,12 +24,14 @@ package org.hipparchus.linear;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * Cache-friendly implementation of RealMatrix using a flat arrays to store
@@ -532,6 +534,26 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @throws MathIllegalArgumentException if the matrices are not compatible.
      */
     public BlockRealMatrix multiply(BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiply(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, using a fork-join pool.
+     * <p>
+     * The output blocks are independent of each other, so they are computed
+     * concurrently by the tasks of the pool. The result is exactly the same
+     * as the one computed by {@link #multiply(BlockRealMatrix)}.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param pool pool to use for computing output blocks (if null,
+     * the product is computed serially in the calling thread)
+     * @return {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible.
+     * @since 1.9
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ForkJoinPool pool)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkMultiplicationCompatible(this, m);
@@ -539,57 +561,40 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        ParallelUtils.forEach(pool, 0, out.blocks.length, 1,
+                              blockIndex -> multiplyBlock(m, out, blockIndex));
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
+    /**
+     * Compute one block of the product of this by {@code m}.
+     * @param m Matrix to postmultiply by.
+     * @param out output matrix
+     * @param blockIndex index of the output block to compute
+     */
+    private void multiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out, final int blockIndex) {
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final int iBlock = blockIndex / out.blockColumns;
+        final int jBlock = blockIndex - iBlock * out.blockColumns;
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
-                    }
-                }
-                // go to next block
-                ++blockIndex;
-            }
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+
+        // select current block
+        final double[] outBlock = out.blocks[blockIndex];
+
+        // perform multiplication on current block, using register-blocked kernel
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            DenseMatrixMultiplier.multiplyAdd(tBlock, 0, kWidth, mBlock, 0, jWidth, outBlock, 0, jWidth,
+                                              pEnd - pStart, jWidth, kWidth);
         }
 
-        return out;
     }
 
     /**
@@ -601,6 +606,26 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @since 1.3
      */
     public BlockRealMatrix multiplyTransposed(BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiplyTransposed(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m^T}, using a fork-join pool.
+     * <p>
+     * The output blocks are independent of each other, so they are computed
+     * concurrently by the tasks of the pool. The result is exactly the same
+     * as the one computed by {@link #multiplyTransposed(BlockRealMatrix)}.
+     * </p>
+     * @param m matrix to first transpose and second postmultiply by
+     * @param pool pool to use for computing output blocks (if null,
+     * the product is computed serially in the calling thread)
+     * @return {@code this * m^T}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != columnDimension(m)}
+     * @since 1.9
+     */
+    public BlockRealMatrix multiplyTransposed(final BlockRealMatrix m, final ForkJoinPool pool)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkSameColumnDimension(this, m);
@@ -608,53 +633,62 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.rows);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        ParallelUtils.forEach(pool, 0, out.blocks.length, 1,
+                              blockIndex -> multiplyTransposedBlock(m, out, blockIndex));
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
+    /**
+     * Compute one block of the product of this by {@code m^T}.
+     * @param m matrix to first transpose and second postmultiply by
+     * @param out output matrix
+     * @param blockIndex index of the output block to compute
+     */
+    private void multiplyTransposedBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                                         final int blockIndex) {
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final int iBlock = blockIndex / out.blockColumns;
+        final int jBlock = blockIndex - iBlock * out.blockColumns;
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l]     * mBlock[n]     +
-                                       tBlock[l + 1] * mBlock[n + 1] +
-                                       tBlock[l + 2] * mBlock[n + 2] +
-                                       tBlock[l + 3] * mBlock[n + 3];
-                                l += 4;
-                                n += 4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n++];
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+
+        // select current block
+        final double[] outBlock = out.blocks[blockIndex];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l]     * mBlock[n]     +
+                               tBlock[l + 1] * mBlock[n + 1] +
+                               tBlock[l + 2] * mBlock[n + 2] +
+                               tBlock[l + 3] * mBlock[n + 3];
+                        l += 4;
+                        n += 4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n++];
                     }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -720,6 +754,26 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @since 1.3
      */
     public BlockRealMatrix transposeMultiply(final BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return transposeMultiply(m, null);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this^T} by {@code m}, using a fork-join pool.
+     * <p>
+     * The output blocks are independent of each other, so they are computed
+     * concurrently by the tasks of the pool. The result is exactly the same
+     * as the one computed by {@link #transposeMultiply(BlockRealMatrix)}.
+     * </p>
+     * @param m matrix to postmultiply by
+     * @param pool pool to use for computing output blocks (if null,
+     * the product is computed serially in the calling thread)
+     * @return {@code this^T * m}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != columnDimension(m)}
+     * @since 1.9
+     */
+    public BlockRealMatrix transposeMultiply(final BlockRealMatrix m, final ForkJoinPool pool)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkSameRowDimension(this, m);
@@ -727,62 +781,71 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(columns, m.columns);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        ParallelUtils.forEach(pool, 0, out.blocks.length, 1,
+                              blockIndex -> transposeMultiplyBlock(m, out, blockIndex));
 
-            final int iHeight  = out.blockHeight(iBlock);
-            final int iHeight2 = iHeight  + iHeight;
-            final int iHeight3 = iHeight2 + iHeight;
-            final int iHeight4 = iHeight3 + iHeight;
-            final int pStart   = iBlock * BLOCK_SIZE;
-            final int pEnd     = FastMath.min(pStart + BLOCK_SIZE, columns);
-
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth  = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
-
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        return out;
+    }
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockRows; ++kBlock) {
-                    final int      kHeight = blockHeight(kBlock);
-                    final double[] tBlock  = blocks[kBlock * blockColumns + iBlock];
-                    final double[] mBlock  = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = p - pStart;
-                        final int lEnd   = lStart + iHeight * kHeight;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - iHeight3) {
-                                sum += tBlock[l]            * mBlock[n] +
-                                       tBlock[l + iHeight]  * mBlock[n + jWidth] +
-                                       tBlock[l + iHeight2] * mBlock[n + jWidth2] +
-                                       tBlock[l + iHeight3] * mBlock[n + jWidth3];
-                                l += iHeight4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l] * mBlock[n];
-                                l += iHeight;
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+    /**
+     * Compute one block of the product of this^T by {@code m}.
+     * @param m matrix to postmultiply by
+     * @param out output matrix
+     * @param blockIndex index of the output block to compute
+     */
+    private void transposeMultiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                                        final int blockIndex) {
+
+        final int iBlock = blockIndex / out.blockColumns;
+        final int jBlock = blockIndex - iBlock * out.blockColumns;
+
+        final int iHeight  = out.blockHeight(iBlock);
+        final int iHeight2 = iHeight  + iHeight;
+        final int iHeight3 = iHeight2 + iHeight;
+        final int iHeight4 = iHeight3 + iHeight;
+        final int pStart   = iBlock * BLOCK_SIZE;
+        final int pEnd     = FastMath.min(pStart + BLOCK_SIZE, columns);
+
+        final int jWidth  = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // select current block
+        final double[] outBlock = out.blocks[blockIndex];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockRows; ++kBlock) {
+            final int      kHeight = blockHeight(kBlock);
+            final double[] tBlock  = blocks[kBlock * blockColumns + iBlock];
+            final double[] mBlock  = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = p - pStart;
+                final int lEnd   = lStart + iHeight * kHeight;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - iHeight3) {
+                        sum += tBlock[l]            * mBlock[n] +
+                               tBlock[l + iHeight]  * mBlock[n + jWidth] +
+                               tBlock[l + iHeight2] * mBlock[n + jWidth2] +
+                               tBlock[l + iHeight3] * mBlock[n + jWidth3];
+                        l += iHeight4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l] * mBlock[n];
+                        l += iHeight;
+                        n += jWidth;
                     }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1549,35 +1612,64 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform multiplication block-wise, to ensure good cache behavior
         for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
-            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
-                final double[] block  = blocks[iBlock * blockColumns + jBlock];
-                final int qStart = jBlock * BLOCK_SIZE;
-                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
-                int k = 0;
-                for (int p = pStart; p < pEnd; ++p) {
-                    double sum = 0;
-                    int q = qStart;
-                    while (q < qEnd - 3) {
-                        sum += block[k]     * v[q]     +
-                               block[k + 1] * v[q + 1] +
-                               block[k + 2] * v[q + 2] +
-                               block[k + 3] * v[q + 3];
-                        k += 4;
-                        q += 4;
-                    }
-                    while (q < qEnd) {
-                        sum += block[k++] * v[q++];
-                    }
-                    out[p] += sum;
-                }
-            }
+            operateBlockRow(iBlock, v, out);
         }
 
         return out;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void operate(final RealVector x, final RealVector y, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            final double[] v   = ((ArrayRealVector) x).getDataRef();
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            MathUtils.checkDimension(v.length, columns);
+            MathUtils.checkDimension(out.length, rows);
+            // block rows write to disjoint parts of the output
+            ParallelUtils.forEach(pool, 0, blockRows, 1, iBlock -> {
+                final int pStart = iBlock * BLOCK_SIZE;
+                Arrays.fill(out, pStart, FastMath.min(pStart + BLOCK_SIZE, rows), 0.0);
+                operateBlockRow(iBlock, v, out);
+            });
+        } else {
+            super.operate(x, y, pool);
+        }
+    }
+
+    /** Add the product of one row of blocks by a vector.
+     * @param iBlock index of the block row
+     * @param v vector to multiply by
+     * @param out output vector, only the rows covered by the block row are updated
+     */
+    private void operateBlockRow(final int iBlock, final double[] v, final double[] out) {
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+        for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+            final double[] block  = blocks[iBlock * blockColumns + jBlock];
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                double sum = 0;
+                int q = qStart;
+                while (q < qEnd - 3) {
+                    sum += block[k]     * v[q]     +
+                           block[k + 1] * v[q + 1] +
+                           block[k + 2] * v[q + 2] +
+                           block[k + 3] * v[q + 3];
+                    k += 4;
+                    q += 4;
+                }
+                while (q < qEnd) {
+                    sum += block[k++] * v[q++];
+                }
+                out[p] += sum;
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -0,0 +1,985 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
+
+/**
+ * Sparse matrix implementation using compressed sparse row or column storage.
+ * <p>
+ * In {@link Format#CSR compressed sparse row} format, the non-zero entries are
+ * stored row after row in two arrays holding their column indices and values,
+ * a third array holding for each row the index of its first entry in the two
+ * other arrays. Within each row, entries are sorted by increasing column index.
+ * The {@link Format#CSC compressed sparse column} format is the same with rows
+ * and columns exchanged. The format is selected at construction time, it can be
+ * changed using {@link #convert(Format)}.
+ * </p>
+ * <p>
+ * Contrary to {@link OpenMapRealMatrix}, entries are not hashed, so matrix-vector
+ * and matrix-matrix products stream through contiguous arrays. This is the storage
+ * expected by sparse direct solvers like {@link SparseLUDecomposition} and
+ * {@link SparseCholeskyDecomposition}.
+ * </p>
+ * <p>
+ * The sparsity pattern is meant to be built once, typically using
+ * {@link #createFromTriplets(int, int, int[], int[], double[], Format)}.
+ * Changing the value of an entry already in the pattern is fast, but adding
+ * new entries using {@link #setEntry(int, int, double)} or {@link #addToEntry(int,
+ * int, double)} is slower: such entries are kept in a hash map until the next
+ * operation that needs the compressed arrays, which merges them in. Single entry
+ * accesses like {@link #getEntry(int, int)} look pending entries up without merging,
+ * so assembly loops mixing reads and writes of entries remain cheap.
+ * </p>
+ * <p>
+ * Instances are not thread-safe for writes: calls to the methods that modify
+ * entries must not be concurrent with any other call, and the usual external
+ * synchronization is needed to publish the modified matrix to other threads.
+ * Once published, the matrix can be read concurrently by several threads,
+ * for example using {@link #operate(RealVector, RealVector, ForkJoinPool)} with
+ * a pool. The merge of pending entries performed by the first bulk read is synchronized
+ * and publishes the new compressed arrays safely to the other readers.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ * @since 1.9
+ */
+public class CompressedSparseRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+
+    /** Storage format. */
+    public enum Format {
+
+        /** Compressed sparse row format: entries of each row are contiguous. */
+        CSR,
+
+        /** Compressed sparse column format: entries of each column are contiguous. */
+        CSC
+
+    }
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20210110L;
+
+    /** Number of rows processed by one task in parallel operations. */
+    private static final int PARALLEL_CHUNK_ROWS = 2048;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Number of columns. */
+    private final int columns;
+
+    /** Storage format. */
+    private final Format format;
+
+    /** Index of the first entry of each row (CSR) or column (CSC), plus one final end index. */
+    private int[] pointers;
+
+    /** Column (CSR) or row (CSC) indices of the entries. */
+    private int[] indices;
+
+    /** Values of the entries. */
+    private double[] values;
+
+    /** Entries added outside of the compressed pattern, not merged yet (may be null).
+     * <p>
+     * This field is volatile so that readers seeing it null also see the
+     * compressed arrays built by a merge performed in another thread.
+     * </p>
+     */
+    private volatile Map<Long, Double> pending;
+
+    /** Create a new zero matrix.
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param format storage format
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     */
+    public CompressedSparseRealMatrix(final int rows, final int columns, final Format format)
+        throws MathIllegalArgumentException {
+        this(rows, columns, format,
+             new int[(format == Format.CSR ? rows : columns) + 1], new int[0], new double[0]);
+    }
+
+    /** Create a new matrix from compressed arrays.
+     * <p>
+     * The arrays are copied.
+     * </p>
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param pointers index of the first entry of each row (CSR) or column (CSC),
+     * plus one final end index (the array length is therefore the number of rows
+     * or columns plus one)
+     * @param indices column (CSR) or row (CSC) indices of the entries, strictly
+     * increasing within each row (CSR) or column (CSC)
+     * @param values values of the entries
+     * @param format storage format
+     * @throws MathIllegalArgumentException if dimensions are inconsistent, or if
+     * pointers are not increasing, or if indices are out of range or not sorted
+     */
+    public CompressedSparseRealMatrix(final int rows, final int columns,
+                                      final int[] pointers, final int[] indices, final double[] values,
+                                      final Format format)
+        throws MathIllegalArgumentException {
+        this(rows, columns, format, pointers.clone(), indices.clone(), values.clone());
+        final int major = getMajorDimension();
+        final int minor = getMinorDimension();
+        MathUtils.checkDimension(pointers.length, major + 1);
+        MathUtils.checkDimension(values.length, indices.length);
+        if (pointers[0] != 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INDEX, pointers[0]);
+        }
+        MathUtils.checkDimension(pointers[major], indices.length);
+        for (int m = 0; m < major; ++m) {
+            if (pointers[m + 1] < pointers[m]) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_INCREASING_SEQUENCE,
+                                                       pointers[m + 1], pointers[m], m + 1, m);
+            }
+            for (int p = pointers[m]; p < pointers[m + 1]; ++p) {
+                MathUtils.checkRangeInclusive(indices[p], 0, minor - 1);
+                if (p > pointers[m] && indices[p] <= indices[p - 1]) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE,
+                                                           indices[p], indices[p - 1], p, p - 1);
+                }
+            }
+        }
+    }
+
+    /** Create a new matrix by copying another one.
+     * <p>
+     * Only non-zero entries are stored. If the matrix to copy is already
+     * a {@link CompressedSparseRealMatrix}, its pattern is reused, otherwise
+     * all its entries are visited.
+     * </p>
+     * @param matrix matrix to copy
+     * @param format storage format
+     */
+    public CompressedSparseRealMatrix(final RealMatrix matrix, final Format format) {
+        super(matrix.getRowDimension(), matrix.getColumnDimension());
+        this.rows    = matrix.getRowDimension();
+        this.columns = matrix.getColumnDimension();
+        this.format  = format;
+        if (matrix instanceof CompressedSparseRealMatrix) {
+            final CompressedSparseRealMatrix other = (CompressedSparseRealMatrix) matrix;
+            other.compact();
+            if (other.format == format) {
+                this.pointers = other.pointers.clone();
+                this.indices  = other.indices.clone();
+                this.values   = other.values.clone();
+            } else {
+                this.pointers = new int[getMajorDimension() + 1];
+                this.indices  = new int[other.values.length];
+                this.values   = new double[other.values.length];
+                transposeStorage(other.getMajorDimension(), getMajorDimension(),
+                                 other.pointers, other.indices, other.values,
+                                 pointers, indices, values);
+            }
+        } else {
+            // count non-zero entries
+            final int major = getMajorDimension();
+            final int minor = getMinorDimension();
+            this.pointers = new int[major + 1];
+            for (int m = 0; m < major; ++m) {
+                int count = 0;
+                for (int n = 0; n < minor; ++n) {
+                    if (get(matrix, m, n) != 0) {
+                        ++count;
+                    }
+                }
+                pointers[m + 1] = pointers[m] + count;
+            }
+
+            // store them
+            this.indices = new int[pointers[major]];
+            this.values  = new double[pointers[major]];
+            int p = 0;
+            for (int m = 0; m < major; ++m) {
+                for (int n = 0; n < minor; ++n) {
+                    final double value = get(matrix, m, n);
+                    if (value != 0) {
+                        indices[p]  = n;
+                        values[p++] = value;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Create a new matrix from raw arrays without checks.
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param format storage format
+     * @param pointers index of the first entry of each row (CSR) or column (CSC) (stored by reference)
+     * @param indices column (CSR) or row (CSC) indices of the entries (stored by reference)
+     * @param values values of the entries (stored by reference)
+     */
+    CompressedSparseRealMatrix(final int rows, final int columns, final Format format,
+                               final int[] pointers, final int[] indices, final double[] values) {
+        super(rows, columns);
+        this.rows     = rows;
+        this.columns  = columns;
+        this.format   = format;
+        this.pointers = pointers;
+        this.indices  = indices;
+        this.values   = values;
+        this.pending  = null;
+    }
+
+    /** Create a new matrix from entries given as triplets.
+     * <p>
+     * This is the most efficient way to assemble a matrix, for example
+     * in finite elements methods. The triplets can be given in any order.
+     * Several triplets can correspond to the same entry, their values are
+     * then added together. The cost is linear in the number of triplets.
+     * </p>
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param rowIndices row indices of the triplets
+     * @param columnIndices column indices of the triplets
+     * @param entries values of the triplets
+     * @param format storage format
+     * @return a new matrix
+     * @throws MathIllegalArgumentException if arrays lengths are inconsistent
+     * or some indices are out of range
+     */
+    public static CompressedSparseRealMatrix createFromTriplets(final int rows, final int columns,
+                                                                final int[] rowIndices, final int[] columnIndices,
+                                                                final double[] entries, final Format format)
+        throws MathIllegalArgumentException {
+
+        MathArrays.checkEqualLength(rowIndices, columnIndices);
+        MathUtils.checkDimension(entries.length, rowIndices.length);
+        final int nnz = entries.length;
+        for (int p = 0; p < nnz; ++p) {
+            MathUtils.checkRangeInclusive(rowIndices[p],    0, rows - 1);
+            MathUtils.checkRangeInclusive(columnIndices[p], 0, columns - 1);
+        }
+        final boolean csr        = format == Format.CSR;
+        final int[]   majorIndex = csr ? rowIndices : columnIndices;
+        final int[]   minorIndex = csr ? columnIndices : rowIndices;
+        final int     major      = csr ? rows : columns;
+        final int     minor      = csr ? columns : rows;
+
+        // bucket triplets by minor index, then by major index, as the second
+        // bucketing is stable, entries end up sorted by minor index in each slice
+        final int[] byMinorPointers = new int[minor + 1];
+        final int[] byMinorMajor    = new int[nnz];
+        final double[] byMinorValue = new double[nnz];
+        bucket(minor, nnz, minorIndex, majorIndex, entries, byMinorPointers, byMinorMajor, byMinorValue);
+        final int[] p1 = new int[major + 1];
+        final int[] i1 = new int[nnz];
+        final double[] v1 = new double[nnz];
+        final int[] minorOf = new int[nnz];
+        for (int n = 0; n < minor; ++n) {
+            for (int p = byMinorPointers[n]; p < byMinorPointers[n + 1]; ++p) {
+                minorOf[p] = n;
+            }
+        }
+        bucket(major, nnz, byMinorMajor, minorOf, byMinorValue, p1, i1, v1);
+
+        // sum duplicates
+        final int[] pointers = new int[major + 1];
+        int q = 0;
+        for (int m = 0; m < major; ++m) {
+            pointers[m] = q;
+            for (int p = p1[m]; p < p1[m + 1]; ++p) {
+                if (q > pointers[m] && i1[q - 1] == i1[p]) {
+                    v1[q - 1] += v1[p];
+                } else {
+                    i1[q]   = i1[p];
+                    v1[q++] = v1[p];
+                }
+            }
+        }
+        pointers[major] = q;
+
+        return new CompressedSparseRealMatrix(rows, columns, format, pointers,
+                                              Arrays.copyOf(i1, q), Arrays.copyOf(v1, q));
+
+    }
+
+    /** Stable bucket sort of triplets.
+     * @param nbBuckets number of buckets
+     * @param nnz number of triplets
+     * @param keys bucket of each triplet
+     * @param others other index of each triplet
+     * @param vals value of each triplet
+     * @param outPointers placeholder for start of each bucket (size nbBuckets + 1)
+     * @param outOthers placeholder for sorted other indices
+     * @param outVals placeholder for sorted values
+     */
+    private static void bucket(final int nbBuckets, final int nnz,
+                               final int[] keys, final int[] others, final double[] vals,
+                               final int[] outPointers, final int[] outOthers, final double[] outVals) {
+        for (int p = 0; p < nnz; ++p) {
+            outPointers[keys[p] + 1]++;
+        }
+        for (int b = 0; b < nbBuckets; ++b) {
+            outPointers[b + 1] += outPointers[b];
+        }
+        final int[] next = Arrays.copyOf(outPointers, nbBuckets);
+        for (int p = 0; p < nnz; ++p) {
+            final int q = next[keys[p]]++;
+            outOthers[q] = others[p];
+            outVals[q]   = vals[p];
+        }
+    }
+
+    /** Convert compressed storage between row and column formats.
+     * @param major number of slices in the input
+     * @param minor number of slices in the output
+     * @param inPointers input pointers
+     * @param inIndices input indices
+     * @param inValues input values
+     * @param outPointers placeholder for output pointers (size minor + 1)
+     * @param outIndices placeholder for output indices
+     * @param outValues placeholder for output values
+     */
+    static void transposeStorage(final int major, final int minor,
+                                 final int[] inPointers, final int[] inIndices, final double[] inValues,
+                                 final int[] outPointers, final int[] outIndices, final double[] outValues) {
+        Arrays.fill(outPointers, 0);
+        final int nnz = inPointers[major];
+        for (int p = 0; p < nnz; ++p) {
+            outPointers[inIndices[p] + 1]++;
+        }
+        for (int n = 0; n < minor; ++n) {
+            outPointers[n + 1] += outPointers[n];
+        }
+        final int[] next = Arrays.copyOf(outPointers, minor);
+        for (int m = 0; m < major; ++m) {
+            for (int p = inPointers[m]; p < inPointers[m + 1]; ++p) {
+                final int q = next[inIndices[p]]++;
+                outIndices[q] = m;
+                outValues[q]  = inValues[p];
+            }
+        }
+    }
+
+    /** Get an entry of a matrix using major/minor indices.
+     * @param matrix matrix
+     * @param m major index
+     * @param n minor index
+     * @return entry value
+     */
+    private double get(final RealMatrix matrix, final int m, final int n) {
+        return format == Format.CSR ? matrix.getEntry(m, n) : matrix.getEntry(n, m);
+    }
+
+    /** Get the storage format.
+     * @return storage format
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /** Convert the matrix to another storage format.
+     * @param targetFormat storage format of the converted matrix
+     * @return a new matrix in the specified format (a copy if the
+     * format is the same as the one of the instance)
+     */
+    public CompressedSparseRealMatrix convert(final Format targetFormat) {
+        return new CompressedSparseRealMatrix(this, targetFormat);
+    }
+
+    /** Get the number of stored entries.
+     * <p>
+     * Stored entries may include explicit zeros, for example
+     * entries that were set to zero after construction.
+     * </p>
+     * @return number of stored entries
+     */
+    public int getStoredEntriesCount() {
+        compact();
+        return pointers[getMajorDimension()];
+    }
+
+    /** Get a reference to the internal pointers array.
+     * <p>
+     * The array holds the index of the first entry of each row (CSR) or column (CSC),
+     * plus one final end index.
+     * </p>
+     * @return reference to the internal pointers array (must not be modified)
+     */
+    public int[] getPointersRef() {
+        compact();
+        return pointers;
+    }
+
+    /** Get a reference to the internal indices array.
+     * <p>
+     * The array holds the column (CSR) or row (CSC) indices of the entries.
+     * </p>
+     * @return reference to the internal indices array (must not be modified)
+     */
+    public int[] getIndicesRef() {
+        compact();
+        return indices;
+    }
+
+    /** Get a reference to the internal values array.
+     * @return reference to the internal values array (values may be modified,
+     * but not the array length)
+     */
+    public double[] getValuesRef() {
+        compact();
+        return values;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new CompressedSparseRealMatrix(rowDimension, columnDimension, format);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRealMatrix copy() {
+        return new CompressedSparseRealMatrix(this, format);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int m = format == Format.CSR ? row : column;
+        final int n = format == Format.CSR ? column : row;
+        if (pending == null) {
+            // no merge can occur, the compressed arrays are stable
+            final int p = find(m, n);
+            return p >= 0 ? values[p] : 0.0;
+        }
+        // a concurrent reader may be merging pending entries, look at a consistent view
+        synchronized (this) {
+            final int p = find(m, n);
+            return p >= 0 ? values[p] : getPending(m, n);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int m = format == Format.CSR ? row : column;
+        final int n = format == Format.CSR ? column : row;
+        final int p = find(m, n);
+        if (p >= 0) {
+            values[p] = value;
+        } else if (value != 0.0) {
+            if (pending == null) {
+                pending = new HashMap<>();
+            }
+            pending.put(key(m, n), value);
+        } else if (pending != null) {
+            pending.remove(key(m, n));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int m = format == Format.CSR ? row : column;
+        final int n = format == Format.CSR ? column : row;
+        final int p = find(m, n);
+        if (p >= 0) {
+            values[p] += increment;
+        } else {
+            setEntry(row, column, getPending(m, n) + increment);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int m = format == Format.CSR ? row : column;
+        final int n = format == Format.CSR ? column : row;
+        final int p = find(m, n);
+        if (p >= 0) {
+            values[p] *= factor;
+        } else {
+            setEntry(row, column, getPending(m, n) * factor);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRealMatrix transpose() {
+        compact();
+        return new CompressedSparseRealMatrix(columns, rows, format == Format.CSR ? Format.CSC : Format.CSR,
+                                              pointers.clone(), indices.clone(), values.clone());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRealMatrix scalarMultiply(final double d) {
+        final CompressedSparseRealMatrix out = copy();
+        for (int p = 0; p < out.values.length; ++p) {
+            out.values[p] *= d;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m) throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseRealMatrix) {
+            return add((CompressedSparseRealMatrix) m, 1.0);
+        } else {
+            return super.add(m);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m) throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseRealMatrix) {
+            return add((CompressedSparseRealMatrix) m, -1.0);
+        } else {
+            return super.subtract(m);
+        }
+    }
+
+    /** Compute this + factor * m.
+     * @param m matrix to add
+     * @param factor multiplication factor for m
+     * @return this + factor * m, in the format of the instance
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    private CompressedSparseRealMatrix add(final CompressedSparseRealMatrix m, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        compact();
+        final CompressedSparseRealMatrix other = m.format == format ? m : m.convert(format);
+        other.compact();
+        final int major = getMajorDimension();
+        final int[] sumPointers = new int[major + 1];
+        final int[] sumIndices  = new int[values.length + other.values.length];
+        final double[] sumValues = new double[sumIndices.length];
+        int q = 0;
+        for (int s = 0; s < major; ++s) {
+            int p1 = pointers[s];
+            int p2 = other.pointers[s];
+            while (p1 < pointers[s + 1] || p2 < other.pointers[s + 1]) {
+                final int n1 = p1 < pointers[s + 1] ? indices[p1] : Integer.MAX_VALUE;
+                final int n2 = p2 < other.pointers[s + 1] ? other.indices[p2] : Integer.MAX_VALUE;
+                if (n1 < n2) {
+                    sumIndices[q]  = n1;
+                    sumValues[q++] = values[p1++];
+                } else if (n2 < n1) {
+                    sumIndices[q]  = n2;
+                    sumValues[q++] = factor * other.values[p2++];
+                } else {
+                    sumIndices[q]  = n1;
+                    sumValues[q++] = values[p1++] + factor * other.values[p2++];
+                }
+            }
+            sumPointers[s + 1] = q;
+        }
+        return new CompressedSparseRealMatrix(rows, columns, format, sumPointers,
+                                              Arrays.copyOf(sumIndices, q), Arrays.copyOf(sumValues, q));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m) throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseRealMatrix) {
+            return multiply((CompressedSparseRealMatrix) m);
+        }
+
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        compact();
+        final int outCols = m.getColumnDimension();
+        final double[][] b   = m.getData();
+        final double[][] out = new double[rows][outCols];
+        for (int s = 0; s < getMajorDimension(); ++s) {
+            for (int p = pointers[s]; p < pointers[s + 1]; ++p) {
+                // entry at (i, k) contributes value * b[k] to out[i]
+                final int      i   = format == Format.CSR ? s : indices[p];
+                final int      k   = format == Format.CSR ? indices[p] : s;
+                final double   v   = values[p];
+                final double[] bK  = b[k];
+                final double[] outI = out[i];
+                for (int j = 0; j < outCols; ++j) {
+                    outI[j] += v * bK[j];
+                }
+            }
+        }
+        return MatrixUtils.createRealMatrix(out);
+    }
+
+    /** Multiply by another compressed sparse matrix.
+     * <p>
+     * The product is computed using Gustavson's algorithm, with a cost proportional
+     * to the number of floating point operations, independently of the dimensions.
+     * The result is in the format of the instance.
+     * </p>
+     * @param m matrix to postmultiply by
+     * @return this &times; m
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public CompressedSparseRealMatrix multiply(final CompressedSparseRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        if (format == Format.CSR) {
+            // row i of product is a combination of rows of m
+            final CompressedSparseRealMatrix right = m.format == Format.CSR ? m : m.convert(Format.CSR);
+            compact();
+            right.compact();
+            return gustavson(this, right, rows, m.columns, Format.CSR);
+        } else {
+            // column j of product is a combination of columns of this
+            final CompressedSparseRealMatrix right = m.format == Format.CSC ? m : m.convert(Format.CSC);
+            compact();
+            right.compact();
+            return gustavson(right, this, m.columns, rows, Format.CSC);
+        }
+    }
+
+    /** Compute a sparse product using Gustavson's algorithm.
+     * <p>
+     * Slice s of the result is the combination of slices of {@code combined}
+     * weighted by the entries of slice s of {@code driver}.
+     * </p>
+     * @param driver matrix whose slices drive the combination
+     * @param combined matrix whose slices are combined
+     * @param major number of slices in the result
+     * @param minor size of the slices in the result
+     * @param resultFormat format of the result
+     * @return product matrix
+     */
+    private static CompressedSparseRealMatrix gustavson(final CompressedSparseRealMatrix driver,
+                                                        final CompressedSparseRealMatrix combined,
+                                                        final int major, final int minor,
+                                                        final Format resultFormat) {
+        final int[]    marker      = new int[minor];
+        final double[] accumulator = new double[minor];
+        Arrays.fill(marker, -1);
+        final int[] outPointers = new int[major + 1];
+        int[]    outIndices = new int[FastMath.max(16, driver.values.length + combined.values.length)];
+        double[] outValues  = new double[outIndices.length];
+        int q = 0;
+        for (int s = 0; s < major; ++s) {
+            final int start = q;
+            for (int p = driver.pointers[s]; p < driver.pointers[s + 1]; ++p) {
+                final int    k = driver.indices[p];
+                final double v = driver.values[p];
+                for (int r = combined.pointers[k]; r < combined.pointers[k + 1]; ++r) {
+                    final int n = combined.indices[r];
+                    if (marker[n] != s) {
+                        marker[n]      = s;
+                        accumulator[n] = v * combined.values[r];
+                        if (q == outIndices.length) {
+                            outIndices = Arrays.copyOf(outIndices, 2 * q);
+                            outValues  = Arrays.copyOf(outValues,  2 * q);
+                        }
+                        outIndices[q++] = n;
+                    } else {
+                        accumulator[n] += v * combined.values[r];
+                    }
+                }
+            }
+            Arrays.sort(outIndices, start, q);
+            for (int r = start; r < q; ++r) {
+                outValues[r] = accumulator[outIndices[r]];
+            }
+            outPointers[s + 1] = q;
+        }
+        final int rowsOut    = resultFormat == Format.CSR ? major : minor;
+        final int columnsOut = resultFormat == Format.CSR ? minor : major;
+        return new CompressedSparseRealMatrix(rowsOut, columnsOut, resultFormat, outPointers,
+                                              Arrays.copyOf(outIndices, q), Arrays.copyOf(outValues, q));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v) throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, columns);
+        final double[] out = new double[rows];
+        operate(v, out);
+        return out;
+    }
+
+    /** Compute the product of the instance by a vector, storing the result in a placeholder.
+     * <p>
+     * This method does not allocate anything, it is intended to be called
+     * repeatedly, for example by iterative solvers.
+     * </p>
+     * @param v vector to multiply by (size must be the column dimension)
+     * @param out placeholder for the result (size must be the row dimension)
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public void operate(final double[] v, final double[] out) throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, columns);
+        MathUtils.checkDimension(out.length, rows);
+        compact();
+        if (format == Format.CSR) {
+            productBySlices(v, out);
+        } else {
+            productByScatter(v, out);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v) throws MathIllegalArgumentException {
+        if (v instanceof ArrayRealVector) {
+            return new ArrayRealVector(operate(((ArrayRealVector) v).getDataRef()), false);
+        } else {
+            return new ArrayRealVector(operate(v.toArray()), false);
+        }
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Only matrices in {@link Format#CSR compressed sparse row} format
+     * use the pool, as rows of the product can then be computed independently.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            final double[] v   = ((ArrayRealVector) x).getDataRef();
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            MathUtils.checkDimension(v.length, columns);
+            MathUtils.checkDimension(out.length, rows);
+            compact();
+            if (format == Format.CSR) {
+                final int nbChunks = (rows + PARALLEL_CHUNK_ROWS - 1) / PARALLEL_CHUNK_ROWS;
+                ParallelUtils.forEach(pool, 0, nbChunks, 1, chunk -> {
+                    final int end = FastMath.min(rows, (chunk + 1) * PARALLEL_CHUNK_ROWS);
+                    for (int s = chunk * PARALLEL_CHUNK_ROWS; s < end; ++s) {
+                        double sum = 0;
+                        for (int p = pointers[s]; p < pointers[s + 1]; ++p) {
+                            sum += values[p] * v[indices[p]];
+                        }
+                        out[s] = sum;
+                    }
+                });
+            } else {
+                productByScatter(v, out);
+            }
+        } else {
+            super.operate(x, y, pool);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v) throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, rows);
+        compact();
+        final double[] out = new double[columns];
+        if (format == Format.CSC) {
+            productBySlices(v, out);
+        } else {
+            productByScatter(v, out);
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v) throws MathIllegalArgumentException {
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    /** Compute a product where each output component is the dot product of one slice.
+     * @param v vector to multiply by
+     * @param out placeholder for the result
+     */
+    private void productBySlices(final double[] v, final double[] out) {
+        for (int s = 0; s < out.length; ++s) {
+            double sum = 0;
+            for (int p = pointers[s]; p < pointers[s + 1]; ++p) {
+                sum += values[p] * v[indices[p]];
+            }
+            out[s] = sum;
+        }
+    }
+
+    /** Compute a product where each input component scatters one slice.
+     * @param v vector to multiply by
+     * @param out placeholder for the result
+     */
+    private void productByScatter(final double[] v, final double[] out) {
+        Arrays.fill(out, 0.0);
+        for (int s = 0; s < v.length; ++s) {
+            final double vs = v[s];
+            if (vs != 0) {
+                for (int p = pointers[s]; p < pointers[s + 1]; ++p) {
+                    out[indices[p]] += values[p] * vs;
+                }
+            }
+        }
+    }
+
+    /** Get the number of slices (rows for CSR, columns for CSC).
+     * @return number of slices
+     */
+    private int getMajorDimension() {
+        return format == Format.CSR ? rows : columns;
+    }
+
+    /** Get the size of slices (columns for CSR, rows for CSC).
+     * @return size of slices
+     */
+    private int getMinorDimension() {
+        return format == Format.CSR ? columns : rows;
+    }
+
+    /** Find an entry in the compressed arrays.
+     * @param m major index
+     * @param n minor index
+     * @return index of the entry in the compressed arrays, or -1 if not found
+     */
+    private int find(final int m, final int n) {
+        final int p = Arrays.binarySearch(indices, pointers[m], pointers[m + 1], n);
+        return p >= 0 ? p : -1;
+    }
+
+    /** Get the value of an entry outside of the compressed pattern.
+     * <p>
+     * This method never triggers a merge.
+     * </p>
+     * @param m major index
+     * @param n minor index
+     * @return value of the pending entry, or 0 if there is no such entry
+     */
+    private double getPending(final int m, final int n) {
+        final Map<Long, Double> map = pending;
+        if (map != null) {
+            final Double value = map.get(key(m, n));
+            if (value != null) {
+                return value;
+            }
+        }
+        return 0.0;
+    }
+
+    /** Build the key of an entry in the pending map.
+     * @param m major index
+     * @param n minor index
+     * @return key of the entry
+     */
+    private long key(final int m, final int n) {
+        return ((long) m) * getMinorDimension() + n;
+    }
+
+    /** Merge pending entries into the compressed arrays.
+     * <p>
+     * The merge is synchronized, so concurrent readers of a matrix
+     * with pending entries all see the same merged arrays.
+     * </p>
+     */
+    private void compact() {
+        if (pending != null) {
+            synchronized (this) {
+                if (pending != null) {
+                    merge(pending);
+                }
+            }
+        }
+    }
+
+    /** Merge pending entries into the compressed arrays.
+     * @param map pending entries
+     */
+    private void merge(final Map<Long, Double> map) {
+
+        if (map.isEmpty()) {
+            pending = null;
+            return;
+        }
+
+        final long[] keys = new long[map.size()];
+        int k = 0;
+        for (final Long key : map.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+
+        final int major = getMajorDimension();
+        final int minor = getMinorDimension();
+        final int[]    newPointers = new int[major + 1];
+        final int[]    newIndices  = new int[values.length + keys.length];
+        final double[] newValues   = new double[newIndices.length];
+        int q  = 0;
+        int kp = 0;
+        for (int s = 0; s < major; ++s) {
+            int p = pointers[s];
+            while (p < pointers[s + 1] || (kp < keys.length && keys[kp] / minor == s)) {
+                final int nExisting = p < pointers[s + 1] ? indices[p] : Integer.MAX_VALUE;
+                final int nPending  = (kp < keys.length && keys[kp] / minor == s) ?
+                                      (int) (keys[kp] % minor) : Integer.MAX_VALUE;
+                if (nExisting < nPending) {
+                    newIndices[q]  = nExisting;
+                    newValues[q++] = values[p++];
+                } else {
+                    // pending entries are never in the compressed pattern
+                    newIndices[q]  = nPending;
+                    newValues[q++] = map.get(keys[kp++]);
+                }
+            }
+            newPointers[s + 1] = q;
+        }
+
+        pointers = newPointers;
+        indices  = newIndices;
+        values   = newValues;
+
+        // must be last, as the volatile write publishes the new arrays
+        pending  = null;
+
+    }
+
+}
@@ -21,10 +21,13 @@
  */
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.IterationManager;
 
 /**
@@ -49,6 +52,16 @@ import org.hipparchus.util.IterationManager;
  * of the matrix-vector product A &middot; x. The initialization phase therefore
  * counts as one iteration.
  * </p>
+ * <h3>Memory and parallelism</h3>
+ * <p>
+ * Once initialized, the iterations do not allocate any new vectors when the
+ * operator, the preconditioner and the vectors override the in-place methods
+ * {@link RealLinearOperator#operate(RealVector, RealVector, ForkJoinPool)},
+ * {@link RealVector#dotProduct(RealVector, ForkJoinPool)} and
+ * {@link RealVector#combineToSelf(double, double, RealVector, ForkJoinPool)},
+ * as array-based matrices and vectors do. If a {@link ForkJoinPool} is provided
+ * at construction, these operations are also split among its threads.
+ * </p>
  * <h3><a id="context">Exception context</a></h3>
  * <p>
  * Besides standard {@link MathIllegalArgumentException}, this class might throw
@@ -125,7 +138,42 @@ public class ConjugateGradient
     public ConjugateGradient(final IterationManager manager,
                              final double delta, final boolean check)
         throws NullArgumentException {
-        super(manager);
+        this(manager, delta, check, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and fork-join pool.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param check {@code true} if positive definiteness of both matrix and
+     * preconditioner should be checked
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @since 1.9
+     */
+    public ConjugateGradient(final int maxIterations, final double delta,
+                             final boolean check, final ForkJoinPool pool) {
+        this(new IterationManager(maxIterations), delta, check, pool);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>, custom iteration manager and fork-join pool.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param check {@code true} if positive definiteness of both matrix and
+     * preconditioner should be checked
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @since 1.9
+     */
+    public ConjugateGradient(final IterationManager manager,
+                             final double delta, final boolean check,
+                             final ForkJoinPool pool)
+        throws NullArgumentException {
+        super(manager, pool);
         this.delta = delta;
         this.check = check;
     }
@@ -168,6 +216,7 @@ public class ConjugateGradient
         MathIllegalStateException {
         checkParameters(a, m, b, x0);
         final IterationManager manager = getIterationManager();
+        final ForkJoinPool     pool    = getPool();
         // Initialization of default stopping criterion
         manager.resetIterationCount();
         final double rmax = delta * b.getNorm();
@@ -181,16 +230,17 @@ public class ConjugateGradient
         final RealVector x = x0;
         final RealVector xro = RealVector.unmodifiableRealVector(x);
         final RealVector p = x.copy();
-        RealVector q = a.operate(p);
+        // q is allocated once and then updated in place
+        final RealVector q = a.operate(p);
 
         final RealVector r = b.combine(1, -1, q);
         final RealVector rro = RealVector.unmodifiableRealVector(r);
         double rnorm = r.getNorm();
-        RealVector z;
+        final RealVector z;
         if (m == null) {
             z = r;
         } else {
-            z = null;
+            z = r.copy();
         }
         IterativeLinearSolverEvent evt;
         evt = new DefaultIterativeLinearSolverEvent(this,
@@ -207,27 +257,27 @@ public class ConjugateGradient
                 manager.getIterations(), xro, bro, rro, rnorm);
             manager.fireIterationStartedEvent(evt);
             if (m != null) {
-                z = m.operate(r);
+                m.operate(r, z, pool);
             }
-            final double rhoNext = r.dotProduct(z);
+            final double rhoNext = r.dotProduct(z, pool);
             if (check && (rhoNext <= 0.)) {
                 throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR);
             }
             if (manager.getIterations() == 2) {
                 p.setSubVector(0, z);
             } else {
-                p.combineToSelf(rhoNext / rhoPrev, 1., z);
+                p.combineToSelf(rhoNext / rhoPrev, 1., z, pool);
             }
-            q = a.operate(p);
-            final double pq = p.dotProduct(q);
+            a.operate(p, q, pool);
+            final double pq = p.dotProduct(q, pool);
             if (check && (pq <= 0.)) {
                 throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR);
             }
             final double alpha = rhoNext / pq;
-            x.combineToSelf(1., alpha, p);
-            r.combineToSelf(1., -alpha, q);
+            x.combineToSelf(1., alpha, p, pool);
+            r.combineToSelf(1., -alpha, q, pool);
             rhoPrev = rhoNext;
-            rnorm = r.getNorm();
+            rnorm = pool == null ? r.getNorm() : FastMath.sqrt(r.dotProduct(r, pool));
             evt = new DefaultIterativeLinearSolverEvent(this,
                 manager.getIterations(), xro, bro, rro, rnorm);
             manager.fireIterationPerformedEvent(evt);
@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Register-blocked kernels for dense matrices products.
+ * <p>
+ * The kernels compute the output by small rectangular tiles, keeping the
+ * partial sums of each tile in local variables while streaming through the
+ * operands. Each loaded element is therefore used for several multiply-add
+ * operations instead of one, and independent operations are exposed that the
+ * JIT compiler can schedule in parallel.
+ * </p>
+ * <p>
+ * For products of large matrices stored as rows arrays, the right hand side
+ * operand is first copied in cache-sized packed panels, {@link #NR} columns
+ * wide and {@link #KC} rows deep, so the innermost loops read contiguous memory
+ * only, and 4x4 tiles are used. Matrices stored in small flat blocks (like
+ * {@link BlockRealMatrix}) already fit in cache and use 2x4 tiles without
+ * packing, which keeps register pressure low enough despite the terms being
+ * accumulated by groups of four.
+ * </p>
+ * <p>
+ * In both cases, the order in which the terms are summed is the same as in
+ * the historical loops, so the results are unchanged to the last bit.
+ * </p>
+ * @since 1.9
+ */
+final class DenseMatrixMultiplier {
+
+    /** Number of rows in register tiles for rows arrays. */
+    static final int MR = 4;
+
+    /** Number of columns in register tiles. */
+    static final int NR = 4;
+
+    /** Depth of packed panels (number of terms accumulated per pass). */
+    static final int KC = 256;
+
+    /** Maximum number of right hand side columns packed at once. */
+    static final int NC = 1024;
+
+    /** Minimum number of multiply-add operations for which the register-blocked kernels are worth using. */
+    static final long MIN_SIZE = 4096;
+
+    /** Private constructor for a utility class. */
+    private DenseMatrixMultiplier() {
+        // nothing to do
+    }
+
+    /** Check if the register-blocked kernels should be used for a product.
+     * @param m number of rows of the left hand side operand
+     * @param n number of columns of the right hand side operand
+     * @param k number of columns of the left hand side operand
+     * @return true if the product is large enough to benefit from register blocking
+     */
+    static boolean isWorthIt(final int m, final int n, final int k) {
+        return m >= MR && n >= NR && ((long) m) * n * k >= MIN_SIZE;
+    }
+
+    /** Compute c += a &times; b for matrices stored as rows arrays.
+     * @param a left hand side operand, m rows of k elements
+     * @param b right hand side operand, k rows of n elements
+     * @param c output matrix, m rows of n elements, must be initialized by caller
+     */
+    static void multiplyAdd(final double[][] a, final double[][] b, final double[][] c) {
+
+        final int m = a.length;
+        final int k = b.length;
+        final int n = c[0].length;
+
+        // padding row for incomplete tiles at the bottom
+        final double[] zero = new double[k];
+
+        final int      panels = (FastMath.min(NC, n) + NR - 1) / NR;
+        final double[] packed = new double[FastMath.min(KC, k) * panels * NR];
+        final double[] tile   = new double[MR * NR];
+        for (int jc = 0; jc < n; jc += NC) {
+            final int nc = FastMath.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                final int kc = FastMath.min(KC, k - pc);
+
+                packRightHandSide(b, pc, kc, jc, nc, packed);
+
+                for (int i = 0; i < m; i += MR) {
+                    final int      mr = FastMath.min(MR, m - i);
+                    final double[] a0 = a[i];
+                    final double[] a1 = mr > 1 ? a[i + 1] : zero;
+                    final double[] a2 = mr > 2 ? a[i + 2] : zero;
+                    final double[] a3 = mr > 3 ? a[i + 3] : zero;
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        final int nr = FastMath.min(NR, nc - jr);
+                        for (int p = 0; p < mr; ++p) {
+                            System.arraycopy(c[i + p], jc + jr, tile, p * NR, nr);
+                        }
+                        tileKernel(a0, a1, a2, a3, pc, packed, jr * kc, kc, tile);
+                        for (int p = 0; p < mr; ++p) {
+                            System.arraycopy(tile, p * NR, c[i + p], jc + jr, nr);
+                        }
+                    }
+                }
+
+            }
+        }
+
+    }
+
+    /** Pack a part of right hand side operand into panels {@link #NR} columns wide.
+     * <p>
+     * Each panel holds {@code kc} rows of {@link #NR} contiguous elements, the
+     * last panel being padded with zeros if needed.
+     * </p>
+     * @param b right hand side operand
+     * @param pc index of first row to pack
+     * @param kc number of rows to pack
+     * @param jc index of first column to pack
+     * @param nc number of columns to pack
+     * @param packed array where to pack the data
+     */
+    private static void packRightHandSide(final double[][] b, final int pc, final int kc,
+                                          final int jc, final int nc, final double[] packed) {
+        int index = 0;
+        for (int jr = 0; jr < nc; jr += NR) {
+            final int nr = FastMath.min(NR, nc - jr);
+            for (int l = pc; l < pc + kc; ++l) {
+                final double[] bRow = b[l];
+                for (int q = 0; q < nr; ++q) {
+                    packed[index + q] = bRow[jc + jr + q];
+                }
+                for (int q = nr; q < NR; ++q) {
+                    packed[index + q] = 0.0;
+                }
+                index += NR;
+            }
+        }
+    }
+
+    /** Update one 4x4 tile from four rows and a packed panel.
+     * <p>
+     * The terms are accumulated one at a time, in increasing index order, so
+     * the result is exactly the same as with a classical dot product.
+     * </p>
+     * @param a0 first row of left hand side operand
+     * @param a1 second row of left hand side operand
+     * @param a2 third row of left hand side operand
+     * @param a3 fourth row of left hand side operand
+     * @param pc index of first element to use in the rows
+     * @param packed packed panels of right hand side operand
+     * @param offset offset of the panel in the packed array
+     * @param kc number of terms to accumulate
+     * @param tile 4x4 tile (in row major order), containing the initial
+     * values of the sums on input and their final values on output
+     */
+    private static void tileKernel(final double[] a0, final double[] a1, final double[] a2, final double[] a3,
+                                   final int pc, final double[] packed, final int offset, final int kc,
+                                   final double[] tile) {
+        double c00 = tile[ 0];
+        double c01 = tile[ 1];
+        double c02 = tile[ 2];
+        double c03 = tile[ 3];
+        double c10 = tile[ 4];
+        double c11 = tile[ 5];
+        double c12 = tile[ 6];
+        double c13 = tile[ 7];
+        double c20 = tile[ 8];
+        double c21 = tile[ 9];
+        double c22 = tile[10];
+        double c23 = tile[11];
+        double c30 = tile[12];
+        double c31 = tile[13];
+        double c32 = tile[14];
+        double c33 = tile[15];
+        int index = offset;
+        for (int l = pc; l < pc + kc; ++l) {
+            final double b0 = packed[index];
+            final double b1 = packed[index + 1];
+            final double b2 = packed[index + 2];
+            final double b3 = packed[index + 3];
+            final double x0 = a0[l];
+            c00 += x0 * b0;
+            c01 += x0 * b1;
+            c02 += x0 * b2;
+            c03 += x0 * b3;
+            final double x1 = a1[l];
+            c10 += x1 * b0;
+            c11 += x1 * b1;
+            c12 += x1 * b2;
+            c13 += x1 * b3;
+            final double x2 = a2[l];
+            c20 += x2 * b0;
+            c21 += x2 * b1;
+            c22 += x2 * b2;
+            c23 += x2 * b3;
+            final double x3 = a3[l];
+            c30 += x3 * b0;
+            c31 += x3 * b1;
+            c32 += x3 * b2;
+            c33 += x3 * b3;
+            index += NR;
+        }
+        tile[ 0] = c00;
+        tile[ 1] = c01;
+        tile[ 2] = c02;
+        tile[ 3] = c03;
+        tile[ 4] = c10;
+        tile[ 5] = c11;
+        tile[ 6] = c12;
+        tile[ 7] = c13;
+        tile[ 8] = c20;
+        tile[ 9] = c21;
+        tile[10] = c22;
+        tile[11] = c23;
+        tile[12] = c30;
+        tile[13] = c31;
+        tile[14] = c32;
+        tile[15] = c33;
+    }
+
+    /** Compute c += a &times; b for matrices stored as flat arrays in row major order.
+     * <p>
+     * For each output element, the terms are accumulated by groups of four
+     * consecutive indices and the sum is added to the output element at the
+     * end, exactly as in the historical {@link BlockRealMatrix} block products,
+     * so the result does not change with respect to these products.
+     * </p>
+     * @param a left hand side operand
+     * @param aOffset index of first element of a
+     * @param lda leading dimension of a (distance between rows starts)
+     * @param b right hand side operand
+     * @param bOffset index of first element of b
+     * @param ldb leading dimension of b (distance between rows starts)
+     * @param c output matrix, must be initialized by caller
+     * @param cOffset index of first element of c
+     * @param ldc leading dimension of c (distance between rows starts)
+     * @param m number of rows of a and c
+     * @param n number of columns of b and c
+     * @param k number of columns of a and rows of b
+     */
+    static void multiplyAdd(final double[] a, final int aOffset, final int lda,
+                            final double[] b, final int bOffset, final int ldb,
+                            final double[] c, final int cOffset, final int ldc,
+                            final int m, final int n, final int k) {
+
+        final int k4 = k & ~0x3;
+        int i = 0;
+        for (; i + 2 <= m; i += 2) {
+            final int a0Start = aOffset + i * lda;
+            final int a1Start = a0Start + lda;
+            final int c0Start = cOffset + i * ldc;
+            final int c1Start = c0Start + ldc;
+            int j = 0;
+            for (; j + NR <= n; j += NR) {
+                double c00 = 0;
+                double c01 = 0;
+                double c02 = 0;
+                double c03 = 0;
+                double c10 = 0;
+                double c11 = 0;
+                double c12 = 0;
+                double c13 = 0;
+                int bIndex = bOffset + j;
+                for (int l = 0; l < k4; l += 4) {
+
+                    // 2x4 elements from left hand side operand
+                    final double x00 = a[a0Start + l];
+                    final double x01 = a[a0Start + l + 1];
+                    final double x02 = a[a0Start + l + 2];
+                    final double x03 = a[a0Start + l + 3];
+                    final double x10 = a[a1Start + l];
+                    final double x11 = a[a1Start + l + 1];
+                    final double x12 = a[a1Start + l + 2];
+                    final double x13 = a[a1Start + l + 3];
+
+                    // right hand side operand, one column of 4 elements at a time
+                    final int b1Index = bIndex + ldb;
+                    final int b2Index = b1Index + ldb;
+                    final int b3Index = b2Index + ldb;
+                    double b0 = b[bIndex];
+                    double b1 = b[b1Index];
+                    double b2 = b[b2Index];
+                    double b3 = b[b3Index];
+                    c00 += x00 * b0 + x01 * b1 + x02 * b2 + x03 * b3;
+                    c10 += x10 * b0 + x11 * b1 + x12 * b2 + x13 * b3;
+                    b0 = b[bIndex  + 1];
+                    b1 = b[b1Index + 1];
+                    b2 = b[b2Index + 1];
+                    b3 = b[b3Index + 1];
+                    c01 += x00 * b0 + x01 * b1 + x02 * b2 + x03 * b3;
+                    c11 += x10 * b0 + x11 * b1 + x12 * b2 + x13 * b3;
+                    b0 = b[bIndex  + 2];
+                    b1 = b[b1Index + 2];
+                    b2 = b[b2Index + 2];
+                    b3 = b[b3Index + 2];
+                    c02 += x00 * b0 + x01 * b1 + x02 * b2 + x03 * b3;
+                    c12 += x10 * b0 + x11 * b1 + x12 * b2 + x13 * b3;
+                    b0 = b[bIndex  + 3];
+                    b1 = b[b1Index + 3];
+                    b2 = b[b2Index + 3];
+                    b3 = b[b3Index + 3];
+                    c03 += x00 * b0 + x01 * b1 + x02 * b2 + x03 * b3;
+                    c13 += x10 * b0 + x11 * b1 + x12 * b2 + x13 * b3;
+
+                    bIndex = b3Index + ldb;
+
+                }
+                for (int l = k4; l < k; ++l) {
+                    final double x0 = a[a0Start + l];
+                    final double x1 = a[a1Start + l];
+                    c00 += x0 * b[bIndex];
+                    c01 += x0 * b[bIndex + 1];
+                    c02 += x0 * b[bIndex + 2];
+                    c03 += x0 * b[bIndex + 3];
+                    c10 += x1 * b[bIndex];
+                    c11 += x1 * b[bIndex + 1];
+                    c12 += x1 * b[bIndex + 2];
+                    c13 += x1 * b[bIndex + 3];
+                    bIndex += ldb;
+                }
+                c[c0Start + j]     += c00;
+                c[c0Start + j + 1] += c01;
+                c[c0Start + j + 2] += c02;
+                c[c0Start + j + 3] += c03;
+                c[c1Start + j]     += c10;
+                c[c1Start + j + 1] += c11;
+                c[c1Start + j + 2] += c12;
+                c[c1Start + j + 3] += c13;
+            }
+
+            // remaining columns, one at a time
+            for (; j < n; ++j) {
+                c[c0Start + j] += dot(a, a0Start, b, bOffset + j, ldb, k);
+                c[c1Start + j] += dot(a, a1Start, b, bOffset + j, ldb, k);
+            }
+
+        }
+
+        // remaining row
+        for (; i < m; ++i) {
+            for (int j = 0; j < n; ++j) {
+                c[cOffset + i * ldc + j] += dot(a, aOffset + i * lda, b, bOffset + j, ldb, k);
+            }
+        }
+
+    }
+
+    /** Compute a dot product between a row and a column, accumulating terms by groups of four.
+     * @param a array containing the row
+     * @param aStart index of the first element of the row
+     * @param b array containing the column
+     * @param bStart index of the first element of the column
+     * @param ldb leading dimension of b (distance between rows starts)
+     * @param k number of terms
+     * @return dot product
+     */
+    private static double dot(final double[] a, final int aStart,
+                              final double[] b, final int bStart, final int ldb,
+                              final int k) {
+        final int aEnd = aStart + k;
+        double sum = 0;
+        int l = aStart;
+        int n = bStart;
+        while (l < aEnd - 3) {
+            sum += a[l]     * b[n] +
+                   a[l + 1] * b[n + ldb] +
+                   a[l + 2] * b[n + 2 * ldb] +
+                   a[l + 3] * b[n + 3 * ldb];
+            l += 4;
+            n += 4 * ldb;
+        }
+        while (l < aEnd) {
+            sum += a[l++] * b[n];
+            n += ldb;
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,525 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Implementation of {@link RealMatrix} using a single flat {@code double[]} array.
+ * <p>
+ * The entry at row {@code i} and column {@code j} is stored at index
+ * {@code offset + i * rowStride + j * columnStride} in the array. A compact
+ * {@link Layout#ROW_MAJOR row major} matrix with leading dimension {@code ld}
+ * has {@code rowStride = ld} and {@code columnStride = 1}, a compact
+ * {@link Layout#COLUMN_MAJOR column major} matrix has {@code rowStride = 1}
+ * and {@code columnStride = ld}.
+ * </p>
+ * <p>
+ * As all entries are in one array, there is one object per matrix instead
+ * of one object per row and traversals do not chase pointers. This layout is
+ * also the one used by native libraries (BLAS, LAPACK), so data can be exchanged
+ * with them without reorganization.
+ * </p>
+ * <p>
+ * The strides allow some matrices to be built as <em>views</em> of another
+ * matrix, sharing the same array instead of copying entries:
+ * {@link #transposeView()}, {@link #getSubMatrixView(int, int, int, int)},
+ * {@link #getRowView(int)} and {@link #getColumnView(int)}. Changing an entry
+ * in a view changes the corresponding entry in the original matrix and conversely.
+ * The regular {@link #transpose()}, {@link #getSubMatrix(int, int, int, int)},
+ * {@link #getRowMatrix(int)} and {@link #getColumnMatrix(int)} methods still
+ * return independent copies, as specified by the {@link RealMatrix} interface.
+ * </p>
+ * @since 1.9
+ */
+public class FlatRealMatrix extends AbstractRealMatrix implements Serializable {
+
+    /** Storage layout for compact matrices. */
+    public enum Layout {
+
+        /** Row major layout: entries of each row are contiguous. */
+        ROW_MAJOR,
+
+        /** Column major layout: entries of each column are contiguous. */
+        COLUMN_MAJOR
+
+    }
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20201231L;
+
+    /** Entries of the matrix (may be shared with other matrices). */
+    private final double[] data;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Number of columns. */
+    private final int columns;
+
+    /** Index of the entry at row 0, column 0. */
+    private final int offset;
+
+    /** Distance in the array between entries in consecutive rows. */
+    private final int rowStride;
+
+    /** Distance in the array between entries in consecutive columns. */
+    private final int columnStride;
+
+    /** Create a new zero matrix in row major layout.
+     * @param rows number of rows
+     * @param columns number of columns
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     */
+    public FlatRealMatrix(final int rows, final int columns)
+        throws MathIllegalArgumentException {
+        this(rows, columns, Layout.ROW_MAJOR);
+    }
+
+    /** Create a new zero matrix with the specified layout.
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param layout storage layout
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     */
+    public FlatRealMatrix(final int rows, final int columns, final Layout layout)
+        throws MathIllegalArgumentException {
+        this(rows, columns, new double[checkedSize(rows, columns)], layout,
+             layout == Layout.ROW_MAJOR ? columns : rows);
+    }
+
+    /** Create a new row major matrix copying entries from a rows array.
+     * @param rawData data for the new matrix, in rows array layout
+     * @throws MathIllegalArgumentException if rawData is not rectangular or is empty
+     * @throws NullArgumentException if rawData is null
+     */
+    public FlatRealMatrix(final double[][] rawData)
+        throws MathIllegalArgumentException, NullArgumentException {
+        this(checkedRows(rawData), rawData[0].length);
+        for (int i = 0; i < rows; ++i) {
+            if (rawData[i].length != columns) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       rawData[i].length, columns);
+            }
+            System.arraycopy(rawData[i], 0, data, i * columns, columns);
+        }
+    }
+
+    /** Create a new matrix wrapping an existing array, without copying it.
+     * <p>
+     * The leading dimension is the distance in the array between the starts
+     * of consecutive rows (for {@link Layout#ROW_MAJOR row major} layout) or
+     * consecutive columns (for {@link Layout#COLUMN_MAJOR column major} layout).
+     * It is at least the number of columns (resp. rows), and it may be larger
+     * when the matrix is part of a larger array, for example one of several
+     * matrices stored side by side.
+     * </p>
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param data array holding the entries (it is referenced, not copied)
+     * @param layout storage layout
+     * @param leadingDimension distance between the starts of consecutive rows
+     * (for row major layout) or columns (for column major layout)
+     * @throws MathIllegalArgumentException if row or column dimension is not positive,
+     * if leading dimension is too small or if array is too small
+     * @throws NullArgumentException if data is null
+     */
+    public FlatRealMatrix(final int rows, final int columns, final double[] data,
+                          final Layout layout, final int leadingDimension)
+        throws MathIllegalArgumentException, NullArgumentException {
+        super(rows, columns);
+        MathUtils.checkNotNull(data);
+        final int minLD = layout == Layout.ROW_MAJOR ? columns : rows;
+        if (leadingDimension < minLD) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   leadingDimension, minLD);
+        }
+        final int required = (layout == Layout.ROW_MAJOR ? rows - 1 : columns - 1) * leadingDimension + minLD;
+        if (data.length < required) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION,
+                                                   data.length, required);
+        }
+        this.data         = data;
+        this.rows         = rows;
+        this.columns      = columns;
+        this.offset       = 0;
+        this.rowStride    = layout == Layout.ROW_MAJOR ? leadingDimension : 1;
+        this.columnStride = layout == Layout.ROW_MAJOR ? 1 : leadingDimension;
+    }
+
+    /** Create a view sharing an existing array.
+     * @param data array holding the entries
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param offset index of the entry at row 0, column 0
+     * @param rowStride distance in the array between entries in consecutive rows
+     * @param columnStride distance in the array between entries in consecutive columns
+     */
+    private FlatRealMatrix(final double[] data, final int rows, final int columns,
+                           final int offset, final int rowStride, final int columnStride) {
+        super(rows, columns);
+        this.data         = data;
+        this.rows         = rows;
+        this.columns      = columns;
+        this.offset       = offset;
+        this.rowStride    = rowStride;
+        this.columnStride = columnStride;
+    }
+
+    /** Check rows array is not null and not empty.
+     * @param rawData rows array
+     * @return number of rows
+     * @throws MathIllegalArgumentException if rawData is empty
+     * @throws NullArgumentException if rawData is null
+     */
+    private static int checkedRows(final double[][] rawData)
+        throws MathIllegalArgumentException, NullArgumentException {
+        MathUtils.checkNotNull(rawData);
+        if (rawData.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.AT_LEAST_ONE_ROW);
+        }
+        if (rawData[0].length == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.AT_LEAST_ONE_COLUMN);
+        }
+        return rawData.length;
+    }
+
+    /** Check dimensions and compute array size.
+     * @param rows number of rows
+     * @param columns number of columns
+     * @return array size
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     */
+    private static int checkedSize(final int rows, final int columns)
+        throws MathIllegalArgumentException {
+        if (rows < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, rows, 1);
+        }
+        if (columns < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, columns, 1);
+        }
+        return rows * columns;
+    }
+
+    /** Get a reference to the underlying data array.
+     * <p>
+     * The array may be shared with other matrices and may contain entries that do
+     * not belong to this matrix. Use {@link #getOffset()}, {@link #getRowStride()}
+     * and {@link #getColumnStride()} to locate the entries.
+     * </p>
+     * @return underlying data array
+     */
+    public double[] getDataRef() {
+        return data; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /** Get the index of the entry at row 0, column 0 in the {@link #getDataRef() data array}.
+     * @return index of the entry at row 0, column 0
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /** Get the distance in the {@link #getDataRef() data array} between entries in consecutive rows.
+     * @return distance between entries in consecutive rows
+     */
+    public int getRowStride() {
+        return rowStride;
+    }
+
+    /** Get the distance in the {@link #getDataRef() data array} between entries in consecutive columns.
+     * @return distance between entries in consecutive columns
+     */
+    public int getColumnStride() {
+        return columnStride;
+    }
+
+    /** Get a view of the transpose of this matrix.
+     * <p>
+     * The view shares its entries with this matrix, no data is copied.
+     * </p>
+     * @return view of the transpose of this matrix
+     * @see #transpose()
+     */
+    public FlatRealMatrix transposeView() {
+        return new FlatRealMatrix(data, columns, rows, offset, columnStride, rowStride);
+    }
+
+    /** Get a view of a submatrix. Rows and columns are indicated
+     * counting from 0 to n - 1.
+     * <p>
+     * The view shares its entries with this matrix, no data is copied.
+     * </p>
+     * @param startRow Initial row index
+     * @param endRow Final row index (inclusive)
+     * @param startColumn Initial column index
+     * @param endColumn Final column index (inclusive)
+     * @return view of the submatrix containing the data of the specified rows and columns
+     * @throws MathIllegalArgumentException if the indices are not valid
+     * @see #getSubMatrix(int, int, int, int)
+     */
+    public FlatRealMatrix getSubMatrixView(final int startRow, final int endRow,
+                                           final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubMatrixIndex(this, startRow, endRow, startColumn, endColumn);
+        return new FlatRealMatrix(data, endRow - startRow + 1, endColumn - startColumn + 1,
+                                  index(startRow, startColumn), rowStride, columnStride);
+    }
+
+    /** Get a view of a row, as a 1 &times; n matrix.
+     * <p>
+     * The view shares its entries with this matrix, no data is copied.
+     * </p>
+     * @param row Row to be fetched
+     * @return view of the row
+     * @throws MathIllegalArgumentException if the specified row index is invalid
+     * @see #getRowMatrix(int)
+     */
+    public FlatRealMatrix getRowView(final int row)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        return new FlatRealMatrix(data, 1, columns, index(row, 0), rowStride, columnStride);
+    }
+
+    /** Get a view of a column, as a m &times; 1 matrix.
+     * <p>
+     * The view shares its entries with this matrix, no data is copied.
+     * </p>
+     * @param column Column to be fetched
+     * @return view of the column
+     * @throws MathIllegalArgumentException if the specified column index is invalid
+     * @see #getColumnMatrix(int)
+     */
+    public FlatRealMatrix getColumnView(final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkColumnIndex(this, column);
+        return new FlatRealMatrix(data, rows, 1, index(0, column), rowStride, columnStride);
+    }
+
+    /** Compute the index of an entry in the data array.
+     * @param row row index
+     * @param column column index
+     * @return index of the entry in the data array
+     */
+    private int index(final int row, final int column) {
+        return offset + row * rowStride + column * columnStride;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FlatRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new FlatRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The copy is compact and does not share any data with this matrix. It
+     * preserves the layout of this matrix (column major if entries of each
+     * column are contiguous, row major otherwise).
+     * </p>
+     */
+    @Override
+    public FlatRealMatrix copy() {
+        final Layout layout = (rowStride == 1 && columnStride != 1) ? Layout.COLUMN_MAJOR : Layout.ROW_MAJOR;
+        final FlatRealMatrix copy = new FlatRealMatrix(rows, columns, layout);
+        for (int i = 0; i < rows; ++i) {
+            int index = index(i, 0);
+            int copyIndex = copy.index(i, 0);
+            for (int j = 0; j < columns; ++j) {
+                copy.data[copyIndex] = data[index];
+                index     += columnStride;
+                copyIndex += copy.columnStride;
+            }
+        }
+        return copy;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return data[index(row, column)];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        data[index(row, column)] = value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        data[index(row, column)] += increment;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        data[index(row, column)] *= factor;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[][] getData() {
+        final double[][] out = new double[rows][columns];
+        for (int i = 0; i < rows; ++i) {
+            final double[] outI = out[i];
+            int index = index(i, 0);
+            for (int j = 0; j < columns; ++j) {
+                outI[j] = data[index];
+                index  += columnStride;
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FlatRealMatrix transpose() {
+        return transposeView().copy();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof FlatRealMatrix) {
+            return multiply((FlatRealMatrix) m);
+        } else {
+            return super.multiply(m);
+        }
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m}.
+     * <p>
+     * The result is a compact row major matrix.
+     * </p>
+     * @param m matrix to postmultiply by
+     * @return {@code this * m}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != rowDimension(m)}
+     */
+    public FlatRealMatrix multiply(final FlatRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        // the kernel needs rows with contiguous entries
+        final FlatRealMatrix a = columnStride == 1 ? this : rowMajorCopy();
+        final FlatRealMatrix b = m.columnStride == 1 ? m : m.rowMajorCopy();
+
+        final FlatRealMatrix out = new FlatRealMatrix(rows, m.columns);
+        DenseMatrixMultiplier.multiplyAdd(a.data, a.offset, a.rowStride,
+                                          b.data, b.offset, b.rowStride,
+                                          out.data, 0, out.columns,
+                                          rows, m.columns, columns);
+        return out;
+    }
+
+    /** Create a compact row major copy.
+     * @return compact row major copy
+     */
+    private FlatRealMatrix rowMajorCopy() {
+        return new FlatRealMatrix(rows, columns, Layout.ROW_MAJOR).copyFrom(this);
+    }
+
+    /** Copy entries from another matrix with same dimensions.
+     * @param m matrix to copy
+     * @return this
+     */
+    private FlatRealMatrix copyFrom(final FlatRealMatrix m) {
+        for (int i = 0; i < rows; ++i) {
+            int index  = index(i, 0);
+            int mIndex = m.index(i, 0);
+            for (int j = 0; j < columns; ++j) {
+                data[index] = m.data[mIndex];
+                index  += columnStride;
+                mIndex += m.columnStride;
+            }
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columns);
+        }
+        final double[] out = new double[rows];
+        for (int i = 0; i < rows; ++i) {
+            int index = index(i, 0);
+            double sum = 0;
+            for (int j = 0; j < columns; ++j) {
+                sum   += data[index] * v[j];
+                index += columnStride;
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        return transposeView().operate(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor) {
+        return (rowStride == 1 && columnStride != 1) ?
+               walkInColumnOrder(visitor) : walkInRowOrder(visitor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixPreservingVisitor visitor) {
+        return (rowStride == 1 && columnStride != 1) ?
+               walkInColumnOrder(visitor) : walkInRowOrder(visitor);
+    }
+
+}
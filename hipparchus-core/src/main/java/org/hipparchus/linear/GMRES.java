@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the restarted Generalized Minimal RESidual
+ * method, GMRES(m), for general (nonsymmetric) {@link RealLinearOperator}.
+ * It follows the template by <a href="#SAAD1986">Saad and Schultz (1986)</a>,
+ * with modified Gram-Schmidt orthogonalization of the Krylov basis and Givens
+ * rotations for the least squares problem.
+ * </p>
+ * <p>
+ * Preconditioning is applied on the right: the method solves
+ * (A &middot; M) &middot; y = b and then computes x = M &middot; y, so the
+ * minimized residual is the residual r = b - A &middot; x of the original
+ * system.
+ * </p>
+ * <h3><a id="stopcrit">Default stopping criterion</a></h3>
+ * <p>
+ * The iterations stop when || r || &le; &delta; || b ||, where b is the
+ * right-hand side vector, r the current estimate of the residual, and &delta;
+ * a user-specified tolerance. Within a cycle, || r || is the cheap estimate
+ * provided by the least squares problem. At the end of each cycle, the true
+ * residual is computed and used to restart the method or to confirm
+ * convergence.
+ * </p>
+ * <h3>Iteration count</h3>
+ * <p>
+ * In the present context, an iteration should be understood as one evaluation
+ * of the matrix-vector product A &middot; x. The initialization phase and the
+ * computation of the true residual at the end of each cycle therefore count
+ * as one iteration each.
+ * </p>
+ * <h3>Memory</h3>
+ * <p>
+ * The Krylov basis holds up to m + 1 vectors. The basis, the Hessenberg matrix
+ * and the work vectors are allocated once per call to
+ * {@link #solveInPlace(RealLinearOperator, RealLinearOperator, RealVector, RealVector)
+ * solveInPlace} and reused across restarts. The estimate of the solution
+ * attached to the iteration events is updated only at the end of each cycle.
+ * </p>
+ * <h3>References</h3>
+ * <dl>
+ * <dt><a id="SAAD1986">Saad and Schultz (1986)</a></dt>
+ * <dd>Y. Saad and M. H. Schultz, <em>GMRES: A Generalized Minimal Residual
+ * Algorithm for Solving Nonsymmetric Linear Systems</em>, SIAM Journal on
+ * Scientific and Statistical Computing 7(3): 856-869, 1986</dd>
+ * </dl>
+ *
+ * @since 1.9
+ */
+public class GMRES extends PreconditionedIterativeLinearSolver {
+
+    /** Restart parameter, m. */
+    private final int restart;
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param restart the number of iterations between restarts (i.e. the
+     * maximum dimension of the Krylov subspace)
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws MathIllegalArgumentException if {@code restart} is not strictly positive
+     */
+    public GMRES(final int maxIterations, final int restart, final double delta)
+        throws MathIllegalArgumentException {
+        this(new IterationManager(maxIterations), restart, delta, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and fork-join pool.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param restart the number of iterations between restarts (i.e. the
+     * maximum dimension of the Krylov subspace)
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws MathIllegalArgumentException if {@code restart} is not strictly positive
+     */
+    public GMRES(final int maxIterations, final int restart, final double delta,
+                 final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        this(new IterationManager(maxIterations), restart, delta, pool);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param restart the number of iterations between restarts (i.e. the
+     * maximum dimension of the Krylov subspace)
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @throws MathIllegalArgumentException if {@code restart} is not strictly positive
+     */
+    public GMRES(final IterationManager manager, final int restart, final double delta)
+        throws MathIllegalArgumentException, NullArgumentException {
+        this(manager, restart, delta, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>, custom iteration manager and fork-join pool.
+     *
+     * @param manager the custom iteration manager
+     * @param restart the number of iterations between restarts (i.e. the
+     * maximum dimension of the Krylov subspace)
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @throws MathIllegalArgumentException if {@code restart} is not strictly positive
+     */
+    public GMRES(final IterationManager manager, final int restart, final double delta,
+                 final ForkJoinPool pool)
+        throws MathIllegalArgumentException, NullArgumentException {
+        super(manager, pool);
+        if (restart < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   restart, 1);
+        }
+        this.restart = restart;
+        this.delta   = delta;
+    }
+
+    /**
+     * Returns the number of iterations between restarts.
+     *
+     * @return restart parameter m
+     */
+    public int getRestart() {
+        return restart;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws MathIllegalArgumentException, NullArgumentException,
+        MathIllegalStateException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        final ForkJoinPool     pool    = getPool();
+        final int              n       = a.getRowDimension();
+
+        // Initialization of default stopping criterion
+        manager.resetIterationCount();
+        final double rmax = delta * b.getNorm();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final RealVector x   = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+
+        // work storage, shared by all cycles
+        final ArrayRealVector[] basis = new ArrayRealVector[restart + 1];
+        basis[0] = new ArrayRealVector(n);
+        final ArrayRealVector   z     = m == null ? null : new ArrayRealVector(n);
+        final ArrayRealVector   u     = new ArrayRealVector(n);
+        final double[][]        h     = new double[restart + 1][restart];
+        final double[]          cs    = new double[restart];
+        final double[]          sn    = new double[restart];
+        final double[]          g     = new double[restart + 1];
+        final double[]          y     = new double[restart];
+
+        double rnorm = computeResidual(a, b, x, basis[0], pool);
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rnorm);
+        manager.fireInitializationEvent(evt);
+        if (rnorm <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        while (true) {
+
+            // start a new cycle from the current residual
+            basis[0].mapMultiplyToSelf(1.0 / rnorm);
+            g[0] = rnorm;
+            int k = 0;
+            boolean lucky = false;
+            while (k < restart && rnorm > rmax && !lucky) {
+                manager.incrementIterationCount();
+                evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rnorm);
+                manager.fireIterationStartedEvent(evt);
+
+                // expand the Krylov basis
+                if (basis[k + 1] == null) {
+                    basis[k + 1] = new ArrayRealVector(n);
+                }
+                final ArrayRealVector w = basis[k + 1];
+                if (m == null) {
+                    a.operate(basis[k], w, pool);
+                } else {
+                    m.operate(basis[k], z, pool);
+                    a.operate(z, w, pool);
+                }
+                for (int i = 0; i <= k; ++i) {
+                    h[i][k] = w.dotProduct(basis[i], pool);
+                    w.combineToSelf(1.0, -h[i][k], basis[i], pool);
+                }
+                final double norm = FastMath.sqrt(w.dotProduct(w, pool));
+                h[k + 1][k] = norm;
+                if (norm == 0.0) {
+                    // the Krylov subspace is invariant, the least squares solution is exact
+                    lucky = true;
+                } else {
+                    w.mapMultiplyToSelf(1.0 / norm);
+                }
+
+                // apply previous rotations to the new Hessenberg column
+                for (int i = 0; i < k; ++i) {
+                    final double hik  = h[i][k];
+                    final double hi1k = h[i + 1][k];
+                    h[i][k]     =  cs[i] * hik + sn[i] * hi1k;
+                    h[i + 1][k] = -sn[i] * hik + cs[i] * hi1k;
+                }
+
+                // compute the new rotation, cancelling the subdiagonal element
+                final double gamma = FastMath.hypot(h[k][k], h[k + 1][k]);
+                if (gamma == 0.0) {
+                    throw new MathIllegalStateException(LocalizedCoreFormats.CONVERGENCE_FAILED);
+                }
+                cs[k]       = h[k][k] / gamma;
+                sn[k]       = h[k + 1][k] / gamma;
+                h[k][k]     = gamma;
+                h[k + 1][k] = 0.0;
+                g[k + 1]    = -sn[k] * g[k];
+                g[k]        =  cs[k] * g[k];
+                rnorm       = FastMath.abs(g[k + 1]);
+                ++k;
+
+                evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rnorm);
+                manager.fireIterationPerformedEvent(evt);
+
+            }
+
+            // solve the triangular system and update the solution
+            for (int i = k - 1; i >= 0; --i) {
+                double s = g[i];
+                for (int j = i + 1; j < k; ++j) {
+                    s -= h[i][j] * y[j];
+                }
+                y[i] = s / h[i][i];
+            }
+            u.set(0.0);
+            for (int i = 0; i < k; ++i) {
+                u.combineToSelf(1.0, y[i], basis[i], pool);
+            }
+            if (m == null) {
+                x.combineToSelf(1.0, 1.0, u, pool);
+            } else {
+                m.operate(u, z, pool);
+                x.combineToSelf(1.0, 1.0, z, pool);
+            }
+
+            // compute the true residual, either to confirm convergence or to restart
+            manager.incrementIterationCount();
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rnorm);
+            manager.fireIterationStartedEvent(evt);
+            rnorm = computeResidual(a, b, x, basis[0], pool);
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, rnorm);
+            manager.fireIterationPerformedEvent(evt);
+            if (rnorm <= rmax) {
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+
+        }
+    }
+
+    /**
+     * Compute the residual r = b - A &middot; x.
+     *
+     * @param a the linear operator A of the system
+     * @param b the right-hand side vector
+     * @param x the current estimate of the solution
+     * @param r placeholder for the residual
+     * @param pool pool to use (may be null)
+     * @return norm of the residual
+     */
+    private static double computeResidual(final RealLinearOperator a, final RealVector b,
+                                          final RealVector x, final ArrayRealVector r,
+                                          final ForkJoinPool pool) {
+        a.operate(x, r, pool);
+        r.combineToSelf(-1.0, 1.0, b, pool);
+        return FastMath.sqrt(r.dotProduct(r, pool));
+    }
+
+}
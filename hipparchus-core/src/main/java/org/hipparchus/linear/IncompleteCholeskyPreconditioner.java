@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * This class implements the incomplete Cholesky preconditioner with zero fill-in, IC(0).
+ * <p>
+ * For a symmetric positive definite matrix A, this preconditioner computes a lower
+ * triangular matrix L having the same sparsity pattern as the lower triangular part
+ * of A, such that L L<sup>T</sup> matches A on this pattern. The preconditioner is
+ * then M = (L L<sup>T</sup>)<sup>-1</sup>, applied by two sparse triangular solves.
+ * </p>
+ * <p>
+ * The factorization is guaranteed to exist for M-matrices, like the ones arising
+ * from finite differences discretizations of elliptic problems. For other matrices,
+ * it may break down with a non-positive pivot. In this case, a diagonal shift can
+ * be used, the factorization being computed for A + shift &times; diag(A).
+ * </p>
+ * <p>
+ * Only the lower triangular part of the matrix is used, it is assumed to be symmetric.
+ * </p>
+ * @since 1.9
+ */
+public class IncompleteCholeskyPreconditioner implements RealLinearOperator {
+
+    /** Dimension of the matrix. */
+    private final int n;
+
+    /** Column pointers of L. */
+    private final int[] lPointers;
+
+    /** Row indices of L (diagonal element is first in each column). */
+    private final int[] lIndices;
+
+    /** Values of L. */
+    private final double[] lValues;
+
+    /**
+     * Creates a new instance of this class, without diagonal shift.
+     *
+     * @param a the symmetric positive definite matrix to be preconditioned
+     * @throws MathIllegalArgumentException if {@code a} is not square
+     * @throws MathIllegalArgumentException if the factorization breaks down
+     */
+    public IncompleteCholeskyPreconditioner(final RealMatrix a)
+        throws MathIllegalArgumentException {
+        this(a, 0.0);
+    }
+
+    /**
+     * Creates a new instance of this class.
+     * <p>
+     * If the matrix is not a {@link CompressedSparseRealMatrix}, it is
+     * converted first, which requires visiting all its entries.
+     * </p>
+     *
+     * @param a the symmetric positive definite matrix to be preconditioned
+     * @param shift relative diagonal shift, the factorization is computed
+     * for A + shift &times; diag(A)
+     * @throws MathIllegalArgumentException if {@code a} is not square
+     * @throws MathIllegalArgumentException if the factorization breaks down
+     */
+    public IncompleteCholeskyPreconditioner(final RealMatrix a, final double shift)
+        throws MathIllegalArgumentException {
+
+        n = a.getRowDimension();
+        if (a.getColumnDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                                                   n, a.getColumnDimension());
+        }
+
+        // extract lower triangular part, diagonal first in each column
+        final CompressedSparseRealMatrix csc = SparseCholeskyDecomposition.toCSC(a);
+        final int[]    ap = csc.getPointersRef();
+        final int[]    ai = csc.getIndicesRef();
+        final double[] ax = csc.getValuesRef();
+        lPointers = new int[n + 1];
+        for (int j = 0; j < n; ++j) {
+            int count = 0;
+            for (int p = ap[j]; p < ap[j + 1]; ++p) {
+                if (ai[p] >= j) {
+                    ++count;
+                }
+            }
+            lPointers[j + 1] = lPointers[j] + count;
+        }
+        lIndices = new int[lPointers[n]];
+        lValues  = new double[lPointers[n]];
+        for (int j = 0; j < n; ++j) {
+            int q = lPointers[j];
+            for (int p = ap[j]; p < ap[j + 1]; ++p) {
+                if (ai[p] >= j) {
+                    lIndices[q]  = ai[p];
+                    lValues[q++] = ai[p] == j ? ax[p] * (1 + shift) : ax[p];
+                }
+            }
+            if (q == lPointers[j] || lIndices[lPointers[j]] != j) {
+                // missing diagonal element
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+        }
+
+        // right-looking factorization, restricted to the pattern of A
+        for (int k = 0; k < n; ++k) {
+            final int    diag  = lPointers[k];
+            final int    end   = lPointers[k + 1];
+            final double pivot = lValues[diag];
+            if (pivot <= 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            final double lKK = FastMath.sqrt(pivot);
+            lValues[diag] = lKK;
+            for (int p = diag + 1; p < end; ++p) {
+                lValues[p] /= lKK;
+            }
+            for (int p = diag + 1; p < end; ++p) {
+                // update column j with entries i >= j of column k, dropping fill-in
+                final int    j    = lIndices[p];
+                final double lJK  = lValues[p];
+                final int    endJ = lPointers[j + 1];
+                int r = lPointers[j];
+                for (int q = p; q < end; ++q) {
+                    final int i = lIndices[q];
+                    while (r < endJ && lIndices[r] < i) {
+                        ++r;
+                    }
+                    if (r < endJ && lIndices[r] == i) {
+                        lValues[r] -= lValues[q] * lJK;
+                    }
+                }
+            }
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x) throws MathIllegalArgumentException {
+        MathUtils.checkDimension(x.getDimension(), n);
+        final double[] y = x.toArray();
+        solveInPlace(y);
+        return new ArrayRealVector(y, false);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The pool is ignored, as triangular solves are inherently sequential.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        if (y instanceof ArrayRealVector) {
+            MathUtils.checkDimension(x.getDimension(), n);
+            MathUtils.checkDimension(y.getDimension(), n);
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            for (int i = 0; i < n; ++i) {
+                out[i] = x.getEntry(i);
+            }
+            solveInPlace(out);
+        } else {
+            RealLinearOperator.super.operate(x, y, pool);
+        }
+    }
+
+    /** Solve L L<sup>T</sup> y = x in place.
+     * @param y right hand side on input, solution on output
+     */
+    private void solveInPlace(final double[] y) {
+
+        // solve L z = x
+        for (int j = 0; j < n; ++j) {
+            y[j] /= lValues[lPointers[j]];
+            final double yJ = y[j];
+            for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                y[lIndices[p]] -= lValues[p] * yJ;
+            }
+        }
+
+        // solve L^T y = z
+        for (int j = n - 1; j >= 0; --j) {
+            double yJ = y[j];
+            for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                yJ -= lValues[p] * y[lIndices[p]];
+            }
+            y[j] = yJ / lValues[lPointers[j]];
+        }
+
+    }
+
+}
@@ -21,6 +21,8 @@
  */
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
@@ -40,6 +42,9 @@ public abstract class IterativeLinearSolver {
     /** The object in charge of managing the iterations. */
     private final IterationManager manager;
 
+    /** Pool to use for matrix-vector products and vector operations (may be null). */
+    private final ForkJoinPool pool;
+
     /**
      * Creates a new instance of this class, with default iteration manager.
      *
@@ -47,6 +52,7 @@ public abstract class IterativeLinearSolver {
      */
     public IterativeLinearSolver(final int maxIterations) {
         this.manager = new IterationManager(maxIterations);
+        this.pool    = null;
     }
 
     /**
@@ -56,9 +62,32 @@ public abstract class IterativeLinearSolver {
      * @throws NullArgumentException if {@code manager} is {@code null}
      */
     public IterativeLinearSolver(final IterationManager manager)
+        throws NullArgumentException {
+        this(manager, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with custom iteration manager
+     * and fork-join pool.
+     * <p>
+     * The pool is used for matrix-vector products and vector operations,
+     * by solvers that support it. It is only really useful for large
+     * operators backed by arrays.
+     * </p>
+     *
+     * @param manager the custom iteration manager
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @see RealLinearOperator#operate(RealVector, RealVector, ForkJoinPool)
+     * @see RealVector#dotProduct(RealVector, ForkJoinPool)
+     * @see RealVector#combineToSelf(double, double, RealVector, ForkJoinPool)
+     * @since 1.9
+     */
+    public IterativeLinearSolver(final IterationManager manager, final ForkJoinPool pool)
         throws NullArgumentException {
         MathUtils.checkNotNull(manager);
         this.manager = manager;
+        this.pool    = pool;
     }
 
     /**
@@ -104,6 +133,16 @@ public abstract class IterativeLinearSolver {
         return manager;
     }
 
+    /**
+     * Returns the pool used for matrix-vector products and vector operations.
+     *
+     * @return pool used (null if iterations are computed serially in the calling thread)
+     * @since 1.9
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
     /**
      * Returns an estimate of the solution to the linear system A &middot; x =
      * b.
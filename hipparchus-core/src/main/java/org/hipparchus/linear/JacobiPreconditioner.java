@@ -21,10 +21,15 @@
  */
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.analysis.function.Sqrt;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * This class implements the standard Jacobi (diagonal) preconditioner. For a
@@ -33,6 +38,9 @@ import org.hipparchus.util.MathArrays;
  */
 public class JacobiPreconditioner implements RealLinearOperator {
 
+    /** Number of entries processed by one task in parallel operations. */
+    private static final int PARALLEL_CHUNK_SIZE = 8192;
+
     /** The diagonal coefficients of the preconditioner. */
     private final ArrayRealVector diag;
 
@@ -106,6 +114,27 @@ public class JacobiPreconditioner implements RealLinearOperator {
                                    false);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void operate(final RealVector x, final RealVector y, final ForkJoinPool pool) {
+        if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+            final double[] d   = diag.getDataRef();
+            final double[] v   = ((ArrayRealVector) x).getDataRef();
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            MathUtils.checkDimension(v.length, d.length);
+            MathUtils.checkDimension(out.length, d.length);
+            final int nbChunks = (d.length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+            ParallelUtils.forEach(pool, 0, nbChunks, 1, chunk -> {
+                final int end = FastMath.min(d.length, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+                for (int i = chunk * PARALLEL_CHUNK_SIZE; i < end; ++i) {
+                    out[i] = v[i] / d[i];
+                }
+            });
+        } else {
+            RealLinearOperator.super.operate(x, y, pool);
+        }
+    }
+
     /**
      * Returns the square root of {@code this} diagonal operator. More
      * precisely, this method returns
@@ -22,9 +22,12 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * Calculates the LUP-decomposition of a square matrix.
@@ -53,6 +56,8 @@ import org.hipparchus.util.FastMath;
 public class LUDecomposition {
     /** Default bound to determine effective singularity in LU decomposition. */
     private static final double DEFAULT_TOO_SMALL = 1e-11;
+    /** Minimum number of multiply-add operations per task in parallel mode. */
+    private static final int PARALLEL_TASK_SIZE = 16384;
     /** Entries of LU decomposition. */
     private final double[][] lu;
     /** Pivot permutation associated with LU decomposition. */
@@ -88,6 +93,25 @@ public class LUDecomposition {
      * @throws MathIllegalArgumentException if matrix is not square
      */
     public LUDecomposition(RealMatrix matrix, double singularityThreshold) {
+        this(matrix, singularityThreshold, null);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix, using a fork-join pool.
+     * <p>
+     * For each column, the updates of the rows below the diagonal are independent
+     * of each other, so they are computed concurrently by the tasks of the pool.
+     * The decomposition is exactly the same as the one computed serially.
+     * </p>
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param pool pool to use for updating rows (if null, the decomposition
+     * is computed serially in the calling thread)
+     * @throws MathIllegalArgumentException if matrix is not square
+     * @since 1.9
+     */
+    public LUDecomposition(RealMatrix matrix, double singularityThreshold, ForkJoinPool pool) {
         if (!matrix.isSquare()) {
             throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
                                                    matrix.getRowDimension(), matrix.getColumnDimension());
@@ -121,19 +145,24 @@ public class LUDecomposition {
             }
 
             // lower
+            final int c = col;
+            ParallelUtils.forEach(pool, col, m, FastMath.max(1, PARALLEL_TASK_SIZE / FastMath.max(1, col)),
+                                  row -> {
+                                      final double[] luRow = lu[row];
+                                      double sum = luRow[c];
+                                      for (int i = 0; i < c; i++) {
+                                          sum -= luRow[i] * lu[i][c];
+                                      }
+                                      luRow[c] = sum;
+                                  });
+
+            // best permutation choice
             int max = col; // permutation row
             double largest = Double.NEGATIVE_INFINITY;
             for (int row = col; row < m; row++) {
-                final double[] luRow = lu[row];
-                double sum = luRow[col];
-                for (int i = 0; i < col; i++) {
-                    sum -= luRow[i] * lu[i][col];
-                }
-                luRow[col] = sum;
-
-                // maintain best permutation choice
-                if (FastMath.abs(sum) > largest) {
-                    largest = FastMath.abs(sum);
+                final double abs = FastMath.abs(lu[row][col]);
+                if (abs > largest) {
+                    largest = abs;
                     max = row;
                 }
             }
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the MINimum RESidual method proposed by <a
+ * href="#PAIG1975">Paige and Saunders (1975)</a>, for symmetric, possibly
+ * indefinite, {@link RealLinearOperator}. It follows the reference
+ * implementation by <a href="#CHOI2011">Choi et al. (2011)</a>. Like
+ * {@link SymmLQ}, it relies on the Lanczos process, but it minimizes the norm
+ * of the residual at each iteration, so the residual norm decreases
+ * monotonically.
+ * </p>
+ * <h3>Preconditioning</h3>
+ * <p>
+ * The preconditioner M must be symmetric positive definite. The method then
+ * minimizes || r ||<sub>M</sub> = (r<sup>T</sup> &middot; M &middot;
+ * r)<sup>1/2</sup>, which reduces to the Euclidean norm of the residual when
+ * there is no preconditioner.
+ * </p>
+ * <h3><a id="stopcrit">Default stopping criterion</a></h3>
+ * <p>
+ * The iterations stop when || r ||<sub>M</sub> &le; &delta; ||
+ * b ||<sub>M</sub>, where b is the right-hand side vector, r the current
+ * estimate of the residual, and &delta; a user-specified tolerance. The norm of
+ * the residual is estimated cheaply from the Lanczos recurrence, it is also the
+ * value provided to the iteration events.
+ * </p>
+ * <h3>Iteration count</h3>
+ * <p>
+ * In the present context, an iteration should be understood as one evaluation
+ * of the matrix-vector product A &middot; x. The initialization phase therefore
+ * counts as one iteration.
+ * </p>
+ * <h3>Memory</h3>
+ * <p>
+ * The work vectors are allocated once per call to
+ * {@link #solveInPlace(RealLinearOperator, RealLinearOperator, RealVector, RealVector)
+ * solveInPlace} and recycled between iterations.
+ * </p>
+ * <h3>References</h3>
+ * <dl>
+ * <dt><a id="PAIG1975">Paige and Saunders (1975)</a></dt>
+ * <dd>C. C. Paige and M. A. Saunders, <a
+ * href="http://www.stanford.edu/group/SOL/software/symmlq/PS75.pdf"><em>
+ * Solution of Sparse Indefinite Systems of Linear Equations</em></a>, SIAM
+ * Journal on Numerical Analysis 12(4): 617-629, 1975</dd>
+ * <dt><a id="CHOI2011">Choi et al. (2011)</a></dt>
+ * <dd>S.-C. T. Choi, C. C. Paige and M. A. Saunders, <em>MINRES-QLP: A Krylov
+ * Subspace Method for Indefinite or Singular Symmetric Systems</em>, SIAM
+ * Journal on Scientific Computing 33(4): 1810-1836, 2011</dd>
+ * </dl>
+ *
+ * @since 1.9
+ */
+public class MINRES extends PreconditionedIterativeLinearSolver {
+
+    /** The machine precision. */
+    private static final double MACH_PREC = FastMath.ulp(1.);
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     */
+    public MINRES(final int maxIterations, final double delta) {
+        this(new IterationManager(maxIterations), delta, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and fork-join pool.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     */
+    public MINRES(final int maxIterations, final double delta, final ForkJoinPool pool) {
+        this(new IterationManager(maxIterations), delta, pool);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     */
+    public MINRES(final IterationManager manager, final double delta)
+        throws NullArgumentException {
+        this(manager, delta, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>, custom iteration manager and fork-join pool.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     */
+    public MINRES(final IterationManager manager, final double delta, final ForkJoinPool pool)
+        throws NullArgumentException {
+        super(manager, pool);
+        this.delta = delta;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws MathIllegalArgumentException if {@code m} is not positive
+     * definite
+     */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws MathIllegalArgumentException, NullArgumentException,
+        MathIllegalStateException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        final ForkJoinPool     pool    = getPool();
+        final int              n       = a.getRowDimension();
+
+        manager.resetIterationCount();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final RealVector x   = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+
+        // work storage
+        final ArrayRealVector v     = new ArrayRealVector(n);
+        final ArrayRealVector yBuf  = m == null ? null : new ArrayRealVector(n);
+        ArrayRealVector       r1    = new ArrayRealVector(n);
+        ArrayRealVector       r2    = new ArrayRealVector(n);
+        ArrayRealVector       t     = new ArrayRealVector(n);
+        ArrayRealVector       w     = new ArrayRealVector(n);
+        ArrayRealVector       wPrev = new ArrayRealVector(n);
+
+        // Initialization of default stopping criterion
+        final double bnorm;
+        if (m == null) {
+            bnorm = b.getNorm();
+        } else {
+            m.operate(b, v, pool);
+            bnorm = FastMath.sqrt(checkedDotProduct(b, v, pool));
+        }
+        final double rmax = delta * bnorm;
+
+        // set up the first Lanczos vector
+        a.operate(x, r2, pool);
+        r2.combineToSelf(-1.0, 1.0, b, pool);
+        ArrayRealVector y = r2;
+        if (m != null) {
+            m.operate(r2, yBuf, pool);
+            y = yBuf;
+        }
+        final double beta1 = FastMath.sqrt(checkedDotProduct(r2, y, pool));
+
+        double oldb   = 0.;
+        double beta   = beta1;
+        double dbar   = 0.;
+        double epsln  = 0.;
+        double phibar = beta1;
+        double cs     = -1.;
+        double sn     = 0.;
+
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, phibar);
+        manager.fireInitializationEvent(evt);
+        if (phibar <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        while (true) {
+            manager.incrementIterationCount();
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, phibar);
+            manager.fireIterationStartedEvent(evt);
+
+            // Lanczos step
+            v.setSubVector(0, y);
+            v.mapMultiplyToSelf(1. / beta);
+            a.operate(v, t, pool);
+            if (oldb != 0.) {
+                t.combineToSelf(1., -beta / oldb, r1, pool);
+            }
+            final double alpha = v.dotProduct(t, pool);
+            t.combineToSelf(1., -alpha / beta, r2, pool);
+
+            // recycle storage: r1 is not needed anymore
+            final ArrayRealVector spare = r1;
+            r1 = r2;
+            r2 = t;
+            t  = spare;
+            if (m == null) {
+                y = r2;
+            } else {
+                m.operate(r2, yBuf, pool);
+            }
+            oldb = beta;
+            beta = FastMath.sqrt(checkedDotProduct(r2, y, pool));
+
+            // apply previous rotation
+            final double oldeps = epsln;
+            final double deltak = cs * dbar + sn * alpha;
+            final double gbar   = sn * dbar - cs * alpha;
+            epsln = sn * beta;
+            dbar  = -cs * beta;
+
+            // compute next rotation
+            final double gamma = FastMath.max(FastMath.hypot(gbar, beta), MACH_PREC);
+            cs = gbar / gamma;
+            sn = beta / gamma;
+            final double phi = cs * phibar;
+            phibar = sn * phibar;
+
+            // update search direction, the new direction overwrites the oldest one
+            final double denom = 1. / gamma;
+            wPrev.combineToSelf(-oldeps * denom, denom, v, pool);
+            wPrev.combineToSelf(1., -deltak * denom, w, pool);
+            final ArrayRealVector newW = wPrev;
+            wPrev = w;
+            w     = newW;
+
+            // update solution
+            x.combineToSelf(1., phi, w, pool);
+
+            evt = new DefaultIterativeLinearSolverEvent(this, manager.getIterations(), xro, bro, phibar);
+            manager.fireIterationPerformedEvent(evt);
+            if (phibar <= rmax) {
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+        }
+    }
+
+    /**
+     * Compute a dot product that should be non-negative due to preconditioner
+     * positive definiteness.
+     *
+     * @param u first vector
+     * @param v second vector, which should be M &middot; u
+     * @param pool pool to use (may be null)
+     * @return dot product
+     * @throws MathIllegalArgumentException if the dot product is negative
+     */
+    private static double checkedDotProduct(final RealVector u, final RealVector v,
+                                            final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        final double dot = u.dotProduct(v, pool);
+        if (dot < 0.) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR);
+        }
+        return dot;
+    }
+
+}
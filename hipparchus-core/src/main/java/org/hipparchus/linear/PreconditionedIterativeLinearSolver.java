@@ -21,6 +21,8 @@
  */
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
@@ -75,6 +77,20 @@ public abstract class PreconditionedIterativeLinearSolver
         super(manager);
     }
 
+    /**
+     * Creates a new instance of this class, with custom iteration manager
+     * and fork-join pool.
+     *
+     * @param manager the custom iteration manager
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @since 1.9
+     */
+    public PreconditionedIterativeLinearSolver(final IterationManager manager, final ForkJoinPool pool)
+        throws NullArgumentException {
+        super(manager, pool);
+    }
+
     /**
      * Returns an estimate of the solution to the linear system A &middot; x =
      * b.
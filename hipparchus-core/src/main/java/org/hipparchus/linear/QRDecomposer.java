@@ -17,6 +17,8 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 /** Matrix decomposer using QR-decomposition.
  * @since 1.3
  */
@@ -25,19 +27,36 @@ public class QRDecomposer implements MatrixDecomposer {
     /** Threshold under which a matrix is considered singular. */
     private final double singularityThreshold;
 
+    /** Pool to use for decompositions (may be null). */
+    private final ForkJoinPool pool;
+
     /**
      * Creates a QR decomposer with specify threshold for several matrices.
      * @param singularityThreshold threshold (based on partial row norm)
      * under which a matrix is considered singular
      */
     public QRDecomposer(final double singularityThreshold) {
+        this(singularityThreshold, null);
+    }
+
+    /**
+     * Creates a QR decomposer with specify threshold for several matrices, using a fork-join pool.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param pool pool to use for decompositions (if null, decompositions
+     * are computed serially in the calling thread)
+     * @see QRDecomposition#QRDecomposition(RealMatrix, double, ForkJoinPool)
+     * @since 1.9
+     */
+    public QRDecomposer(final double singularityThreshold, final ForkJoinPool pool) {
         this.singularityThreshold = singularityThreshold;
+        this.pool                 = pool;
     }
 
     /** {@inheritDoc} */
     @Override
     public DecompositionSolver decompose(final RealMatrix a) {
-        return new QRDecomposition(a, singularityThreshold).getSolver();
+        return new QRDecomposition(a, singularityThreshold, pool).getSolver();
     }
 
 }
@@ -23,10 +23,12 @@
 package org.hipparchus.linear;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ParallelUtils;
 
 
 /**
@@ -53,6 +55,8 @@ import org.hipparchus.util.FastMath;
  *
  */
 public class QRDecomposition {
+    /** Minimum number of multiply-add operations per task in parallel mode. */
+    private static final int PARALLEL_TASK_SIZE = 16384;
     /**
      * A packed TRANSPOSED representation of the QR decomposition.
      * <p>The elements BELOW the diagonal are the elements of the UPPER triangular
@@ -72,6 +76,8 @@ public class QRDecomposition {
     private RealMatrix cachedH;
     /** Singularity threshold. */
     private final double threshold;
+    /** Pool to use for updating columns (may be null). */
+    private final ForkJoinPool pool;
 
     /**
      * Calculates the QR-decomposition of the given matrix.
@@ -93,7 +99,29 @@ public class QRDecomposition {
      */
     public QRDecomposition(RealMatrix matrix,
                            double threshold) {
+        this(matrix, threshold, null);
+    }
+
+    /**
+     * Calculates the QR-decomposition of the given matrix, using a fork-join pool.
+     * <p>
+     * For each Householder reflection, the updates of the remaining columns
+     * are independent of each other, so they are computed concurrently by the
+     * tasks of the pool. The decomposition is exactly the same as the one
+     * computed serially.
+     * </p>
+     *
+     * @param matrix The matrix to decompose.
+     * @param threshold Singularity threshold.
+     * @param pool pool to use for updating columns (if null, the decomposition
+     * is computed serially in the calling thread)
+     * @since 1.9
+     */
+    public QRDecomposition(RealMatrix matrix,
+                           double threshold,
+                           ForkJoinPool pool) {
         this.threshold = threshold;
+        this.pool      = pool;
 
         final int m = matrix.getRowDimension();
         final int n = matrix.getColumnDimension();
@@ -164,7 +192,8 @@ public class QRDecomposition {
              * |v|^2 = -2a*(qr[minor][minor]), so
              * alpha = -<x,v>/(a*qr[minor][minor])
              */
-            for (int col = minor+1; col < matrix.length; col++) {
+            final int grain = FastMath.max(1, PARALLEL_TASK_SIZE / (qrtMinor.length - minor));
+            ParallelUtils.forEach(pool, minor + 1, matrix.length, grain, col -> {
                 final double[] qrtCol = matrix[col];
                 double alpha = 0;
                 for (int row = minor; row < qrtCol.length; row++) {
@@ -176,7 +205,7 @@ public class QRDecomposition {
                 for (int row = minor; row < qrtCol.length; row++) {
                     qrtCol[row] -= alpha * qrtMinor[row];
                 }
-            }
+            });
         }
     }
 
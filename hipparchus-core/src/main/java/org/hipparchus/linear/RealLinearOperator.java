@@ -22,7 +22,10 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
 
 /**
  * This class defines a linear operator operating on real ({@code double})
@@ -77,6 +80,30 @@ public interface RealLinearOperator {
     RealVector operate(RealVector x)
         throws MathIllegalArgumentException;
 
+    /**
+     * Multiplies {@code this} by the vector {@code x}, storing the result in {@code y}.
+     * <p>
+     * This method is intended to be called repeatedly by iterative algorithms,
+     * without allocating a new vector at each call. The default implementation
+     * ignores the pool and copies the result of {@link #operate(RealVector)}
+     * into {@code y}. Implementations backed by arrays compute the product in place,
+     * splitting rows in chunks processed concurrently when a pool is provided.
+     * </p>
+     *
+     * @param x the vector to operate on
+     * @param y placeholder for the product of {@code this} instance with {@code x}
+     * (must be distinct from {@code x})
+     * @param pool pool to use (if null, the product is computed serially in the calling thread)
+     * @throws MathIllegalArgumentException if the column dimension does not match
+     * the size of {@code x} or the row dimension does not match the size of {@code y}
+     * @since 1.9
+     */
+    default void operate(final RealVector x, final RealVector y, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(y.getDimension(), getRowDimension());
+        y.setSubVector(0, operate(x));
+    }
+
     /**
      * Returns the result of multiplying the transpose of {@code this} operator
      * by the vector {@code x} (optional operation).
@@ -24,6 +24,7 @@ package org.hipparchus.linear;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.analysis.FunctionUtils;
 import org.hipparchus.analysis.UnivariateFunction;
@@ -311,6 +312,26 @@ public abstract class RealVector {
         return d;
     }
 
+    /**
+     * Compute the dot product of this vector with {@code v}, using a fork-join pool.
+     * <p>
+     * The default implementation ignores the pool and calls {@link #dotProduct(RealVector)},
+     * implementations backed by arrays split the vectors in chunks processed concurrently.
+     * As partial sums are added in a different order, the result may differ slightly
+     * from the serial one.
+     * </p>
+     *
+     * @param v Vector with which dot product should be computed
+     * @param pool pool to use (if null, the dot product is computed serially in the calling thread)
+     * @return the scalar dot product between this instance and {@code v}.
+     * @throws MathIllegalArgumentException if {@code v} is not the same size as
+     * {@code this} vector.
+     * @since 1.9
+     */
+    public double dotProduct(RealVector v, ForkJoinPool pool) throws MathIllegalArgumentException {
+        return dotProduct(v);
+    }
+
     /**
      * Computes the cosine of the angle between this vector and the
      * argument.
@@ -863,6 +884,30 @@ public abstract class RealVector {
         return this;
     }
 
+    /**
+     * Updates {@code this} with the linear combination of {@code this} and
+     * {@code y}, using a fork-join pool.
+     * <p>
+     * The default implementation ignores the pool and calls {@link
+     * #combineToSelf(double, double, RealVector)}, implementations backed by
+     * arrays split the vectors in chunks processed concurrently.
+     * </p>
+     *
+     * @param a Weight of {@code this}.
+     * @param b Weight of {@code y}.
+     * @param y Vector with which {@code this} is linearly combined.
+     * @param pool pool to use (if null, the combination is computed serially in the calling thread)
+     * @return {@code this}, with components equal to
+     * {@code a * this[i] + b * y[i]} for all {@code i}.
+     * @throws MathIllegalArgumentException if {@code y} is not the same size as
+     * {@code this} vector.
+     * @since 1.9
+     */
+    public RealVector combineToSelf(double a, double b, RealVector y, ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        return combineToSelf(a, b, y);
+    }
+
     /**
      * Visits (but does not alter) all entries of this vector in default order
      * (increasing index).
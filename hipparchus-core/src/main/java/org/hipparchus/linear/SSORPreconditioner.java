@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * This class implements the symmetric successive over-relaxation (SSOR) preconditioner.
+ * <p>
+ * Splitting a matrix A as A = L + D + U, with L strictly lower triangular,
+ * D diagonal and U strictly upper triangular, the preconditioner is
+ * M = &omega; (2 - &omega;) (D + &omega; U)<sup>-1</sup> D (D + &omega; L)<sup>-1</sup>,
+ * applied by two sparse triangular solves. For &omega; = 1, this is the symmetric
+ * Gauss-Seidel preconditioner. For symmetric matrices with positive diagonal, the
+ * preconditioner is symmetric positive definite for any &omega; in (0, 2), so it
+ * can be used with {@link ConjugateGradient}.
+ * </p>
+ * <p>
+ * Contrary to {@link IncompleteCholeskyPreconditioner}, there is no setup cost
+ * besides conversion of the matrix to compressed sparse row format, and no
+ * breakdown can occur.
+ * </p>
+ * @since 1.9
+ */
+public class SSORPreconditioner implements RealLinearOperator {
+
+    /** Dimension of the matrix. */
+    private final int n;
+
+    /** Relaxation parameter. */
+    private final double omega;
+
+    /** Row pointers of A. */
+    private final int[] pointers;
+
+    /** Column indices of A. */
+    private final int[] indices;
+
+    /** Values of A. */
+    private final double[] values;
+
+    /** Position of the diagonal element in each row. */
+    private final int[] diagonal;
+
+    /**
+     * Creates a new instance of this class.
+     * <p>
+     * If the matrix is not a {@link CompressedSparseRealMatrix} in {@link
+     * CompressedSparseRealMatrix.Format#CSR compressed sparse row} format,
+     * it is converted first.
+     * </p>
+     *
+     * @param a the matrix to be preconditioned
+     * @param omega relaxation parameter (must be in (0, 2))
+     * @throws MathIllegalArgumentException if {@code a} is not square
+     * @throws MathIllegalArgumentException if {@code omega} is not in (0, 2)
+     * @throws MathIllegalArgumentException if some diagonal element is not strictly positive
+     */
+    public SSORPreconditioner(final RealMatrix a, final double omega)
+        throws MathIllegalArgumentException {
+
+        n = a.getRowDimension();
+        if (a.getColumnDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                                                   n, a.getColumnDimension());
+        }
+        if (omega <= 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                   omega, 0);
+        }
+        if (omega >= 2) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE_BOUND_EXCLUDED,
+                                                   omega, 2);
+        }
+        this.omega = omega;
+
+        final CompressedSparseRealMatrix csr =
+                        (a instanceof CompressedSparseRealMatrix &&
+                         ((CompressedSparseRealMatrix) a).getFormat() == CompressedSparseRealMatrix.Format.CSR) ?
+                        (CompressedSparseRealMatrix) a :
+                        new CompressedSparseRealMatrix(a, CompressedSparseRealMatrix.Format.CSR);
+        pointers = csr.getPointersRef().clone();
+        indices  = csr.getIndicesRef().clone();
+        values   = csr.getValuesRef().clone();
+        diagonal = new int[n];
+        for (int i = 0; i < n; ++i) {
+            diagonal[i] = Arrays.binarySearch(indices, pointers[i], pointers[i + 1], i);
+            if (diagonal[i] < 0 || values[diagonal[i]] <= 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+        }
+
+    }
+
+    /** Get the relaxation parameter.
+     * @return relaxation parameter
+     */
+    public double getOmega() {
+        return omega;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector x) throws MathIllegalArgumentException {
+        MathUtils.checkDimension(x.getDimension(), n);
+        final double[] y = x.toArray();
+        solveInPlace(y);
+        return new ArrayRealVector(y, false);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The pool is ignored, as triangular solves are inherently sequential.
+     * </p>
+     */
+    @Override
+    public void operate(final RealVector x, final RealVector y, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        if (y instanceof ArrayRealVector) {
+            MathUtils.checkDimension(x.getDimension(), n);
+            MathUtils.checkDimension(y.getDimension(), n);
+            final double[] out = ((ArrayRealVector) y).getDataRef();
+            for (int i = 0; i < n; ++i) {
+                out[i] = x.getEntry(i);
+            }
+            solveInPlace(out);
+        } else {
+            RealLinearOperator.super.operate(x, y, pool);
+        }
+    }
+
+    /** Apply the preconditioner in place.
+     * @param y vector to precondition on input, preconditioned vector on output
+     */
+    private void solveInPlace(final double[] y) {
+
+        // solve (D + omega L) u = x, then scale by D
+        for (int i = 0; i < n; ++i) {
+            double s = y[i];
+            for (int p = pointers[i]; p < diagonal[i]; ++p) {
+                s -= omega * values[p] * y[indices[p]];
+            }
+            y[i] = s / values[diagonal[i]];
+        }
+        for (int i = 0; i < n; ++i) {
+            y[i] *= values[diagonal[i]];
+        }
+
+        // solve (D + omega U) z = D u, then scale by omega (2 - omega)
+        final double scale = omega * (2 - omega);
+        for (int i = n - 1; i >= 0; --i) {
+            double s = y[i];
+            for (int p = diagonal[i] + 1; p < pointers[i + 1]; ++p) {
+                s -= omega * values[p] * y[indices[p]];
+            }
+            y[i] = s / values[diagonal[i]];
+        }
+        for (int i = 0; i < n; ++i) {
+            y[i] *= scale;
+        }
+
+    }
+
+}
@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Calculates the Cholesky decomposition of a sparse matrix.
+ * <p>The Cholesky decomposition of a real symmetric positive-definite
+ * matrix A consists of a lower triangular matrix L with same size such
+ * that: P A P<sup>T</sup> = L L<sup>T</sup>, where P is a fill-reducing
+ * permutation computed from the sparsity pattern of A.</p>
+ * <p>The factorization is computed one row of L at a time (up-looking
+ * algorithm), the sparsity pattern of each row being found by traversing the
+ * elimination tree of the permuted matrix. Both the symbolic and the numeric
+ * costs are proportional to the number of floating point operations, so
+ * large matrices with limited fill-in can be decomposed efficiently.</p>
+ * <p>As in {@link CholeskyDecomposition}, the symmetry and positivity checks
+ * use relative and absolute thresholds.</p>
+ *
+ * @see CholeskyDecomposition
+ * @see SparseOrdering
+ * @since 1.9
+ */
+public class SparseCholeskyDecomposition {
+
+    /** Dimension of the matrix. */
+    private final int n;
+
+    /** Permutation, element k being the index of the original row and column at position k. */
+    private final int[] permutation;
+
+    /** Column pointers of L. */
+    private final int[] lPointers;
+
+    /** Row indices of L (diagonal element is first in each column). */
+    private final int[] lIndices;
+
+    /** Values of L. */
+    private final double[] lValues;
+
+    /** Cached value of L. */
+    private CompressedSparseRealMatrix cachedL;
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #SparseCholeskyDecomposition(RealMatrix, SparseOrdering, double, double)} with the
+     * {@link SparseOrdering#APPROXIMATE_MINIMUM_DEGREE approximate minimum degree}
+     * ordering and the thresholds set to the default values {@link
+     * CholeskyDecomposition#DEFAULT_RELATIVE_SYMMETRY_THRESHOLD} and {@link
+     * CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD}
+     * </p>
+     * @param matrix the matrix to decompose
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     */
+    public SparseCholeskyDecomposition(final RealMatrix matrix) {
+        this(matrix, SparseOrdering.APPROXIMATE_MINIMUM_DEGREE,
+             CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given matrix.
+     * <p>
+     * If the matrix is not a {@link CompressedSparseRealMatrix}, it is
+     * converted first, which requires visiting all its entries.
+     * </p>
+     * @param matrix the matrix to decompose
+     * @param ordering fill-reducing ordering to use
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     */
+    public SparseCholeskyDecomposition(final RealMatrix matrix, final SparseOrdering ordering,
+                                       final double relativeSymmetryThreshold,
+                                       final double absolutePositivityThreshold) {
+
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        MathUtils.checkNotNull(ordering);
+        n = matrix.getRowDimension();
+
+        final CompressedSparseRealMatrix a = toCSC(matrix);
+        checkSymmetry(a, relativeSymmetryThreshold);
+
+        // upper triangular part of C = P A P^T
+        permutation = ordering.order(a);
+        final int[] inverse = new int[n];
+        for (int k = 0; k < n; ++k) {
+            inverse[permutation[k]] = k;
+        }
+        final CompressedSparseRealMatrix c = permutedUpper(a, inverse);
+        final int[]    cp = c.getPointersRef();
+        final int[]    ci = c.getIndicesRef();
+        final double[] cx = c.getValuesRef();
+
+        // symbolic analysis: elimination tree and column counts
+        final int[] parent = eliminationTree(cp, ci);
+        final int[] stack  = new int[n];
+        final int[] marks  = new int[n];
+        Arrays.fill(marks, -1);
+        final int[] counts = new int[n];
+        for (int k = 0; k < n; ++k) {
+            ++counts[k];
+            for (int top = rowPattern(cp, ci, k, parent, stack, marks); top < n; ++top) {
+                ++counts[stack[top]];
+            }
+        }
+        lPointers = new int[n + 1];
+        for (int j = 0; j < n; ++j) {
+            lPointers[j + 1] = lPointers[j] + counts[j];
+        }
+        lIndices = new int[lPointers[n]];
+        lValues  = new double[lPointers[n]];
+
+        // numeric factorization, one row of L at a time
+        final int[]    free = Arrays.copyOf(lPointers, n);
+        final double[] x    = new double[n];
+        Arrays.fill(marks, -1);
+        for (int k = 0; k < n; ++k) {
+
+            // scatter column k of the upper part of C
+            final int top = rowPattern(cp, ci, k, parent, stack, marks);
+            x[k] = 0;
+            for (int p = cp[k]; p < cp[k + 1]; ++p) {
+                x[ci[p]] = cx[p];
+            }
+            double d = x[k];
+            x[k] = 0;
+
+            // sparse triangular solve for row k of L
+            for (int t = top; t < n; ++t) {
+                final int    i   = stack[t];
+                final double lki = x[i] / lValues[lPointers[i]];
+                x[i] = 0;
+                for (int p = lPointers[i] + 1; p < free[i]; ++p) {
+                    x[lIndices[p]] -= lValues[p] * lki;
+                }
+                d -= lki * lki;
+                final int p = free[i]++;
+                lIndices[p] = k;
+                lValues[p]  = lki;
+            }
+
+            // diagonal element
+            if (d <= absolutePositivityThreshold) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            final int p = free[k]++;
+            lIndices[p] = k;
+            lValues[p]  = FastMath.sqrt(d);
+
+        }
+
+    }
+
+    /** Convert a matrix to compressed sparse column format.
+     * @param matrix matrix to convert
+     * @return matrix in compressed sparse column format (may be the matrix itself)
+     */
+    static CompressedSparseRealMatrix toCSC(final RealMatrix matrix) {
+        if (matrix instanceof CompressedSparseRealMatrix &&
+            ((CompressedSparseRealMatrix) matrix).getFormat() == CompressedSparseRealMatrix.Format.CSC) {
+            return (CompressedSparseRealMatrix) matrix;
+        } else {
+            return new CompressedSparseRealMatrix(matrix, CompressedSparseRealMatrix.Format.CSC);
+        }
+    }
+
+    /** Check a matrix is symmetric.
+     * @param a matrix to check
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     */
+    private static void checkSymmetry(final CompressedSparseRealMatrix a,
+                                      final double relativeSymmetryThreshold) {
+        final int[]    ap = a.getPointersRef();
+        final int[]    ai = a.getIndicesRef();
+        final double[] ax = a.getValuesRef();
+        for (int j = 0; j < ap.length - 1; ++j) {
+            for (int p = ap[j]; p < ap[j + 1]; ++p) {
+                final int i = ai[p];
+                if (i < j) {
+                    final double lIJ = ax[p];
+                    final double lJI = a.getEntry(j, i);
+                    final double maxDelta =
+                        relativeSymmetryThreshold * FastMath.max(FastMath.abs(lIJ), FastMath.abs(lJI));
+                    if (FastMath.abs(lIJ - lJI) > maxDelta) {
+                        throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
+                                                               i, j, relativeSymmetryThreshold);
+                    }
+                } else if (i > j && a.getEntry(j, i) == 0 && ax[p] != 0) {
+                    // entry missing in the upper part
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
+                                                           j, i, relativeSymmetryThreshold);
+                }
+            }
+        }
+    }
+
+    /** Extract the upper triangular part of a symmetrically permuted matrix.
+     * @param a symmetric matrix in compressed sparse column format
+     * @param inverse inverse permutation, element i being the position of original index i
+     * @return upper triangular part of P A P<sup>T</sup>, in compressed sparse column format
+     */
+    private static CompressedSparseRealMatrix permutedUpper(final CompressedSparseRealMatrix a,
+                                                            final int[] inverse) {
+        final int[]    ap = a.getPointersRef();
+        final int[]    ai = a.getIndicesRef();
+        final double[] ax = a.getValuesRef();
+        final int[]    rows    = new int[ax.length];
+        final int[]    columns = new int[ax.length];
+        final double[] values  = new double[ax.length];
+        int q = 0;
+        for (int j = 0; j < inverse.length; ++j) {
+            for (int p = ap[j]; p < ap[j + 1]; ++p) {
+                final int i = ai[p];
+                if (i <= j) {
+                    // use only the upper part of A, its permutation may go to the lower part of C
+                    final int ni = inverse[i];
+                    final int nj = inverse[j];
+                    rows[q]      = FastMath.min(ni, nj);
+                    columns[q]   = FastMath.max(ni, nj);
+                    values[q++]  = ax[p];
+                }
+            }
+        }
+        return CompressedSparseRealMatrix.createFromTriplets(inverse.length, inverse.length,
+                                                             Arrays.copyOf(rows, q), Arrays.copyOf(columns, q),
+                                                             Arrays.copyOf(values, q),
+                                                             CompressedSparseRealMatrix.Format.CSC);
+    }
+
+    /** Compute the elimination tree of a symmetric matrix.
+     * @param cp column pointers of the upper triangular part
+     * @param ci row indices of the upper triangular part
+     * @return parent of each node in the elimination tree (-1 for roots)
+     */
+    private static int[] eliminationTree(final int[] cp, final int[] ci) {
+        final int   size     = cp.length - 1;
+        final int[] parent   = new int[size];
+        final int[] ancestor = new int[size];
+        for (int k = 0; k < size; ++k) {
+            parent[k]   = -1;
+            ancestor[k] = -1;
+            for (int p = cp[k]; p < cp[k + 1]; ++p) {
+                // traverse from i to the root of its current subtree, compressing the path to k
+                int i = ci[p];
+                while (i != -1 && i < k) {
+                    final int next = ancestor[i];
+                    ancestor[i] = k;
+                    if (next == -1) {
+                        parent[i] = k;
+                    }
+                    i = next;
+                }
+            }
+        }
+        return parent;
+    }
+
+    /** Compute the nonzero pattern of one row of L.
+     * @param cp column pointers of the upper triangular part
+     * @param ci row indices of the upper triangular part
+     * @param k index of the row
+     * @param parent elimination tree
+     * @param stack placeholder for the pattern, which is stored in topological order
+     * in {@code stack[top]} to {@code stack[n-1]}
+     * @param marks marks for visited nodes (nodes are marked with k)
+     * @return top index of the pattern in the stack
+     */
+    private static int rowPattern(final int[] cp, final int[] ci, final int k,
+                                  final int[] parent, final int[] stack, final int[] marks) {
+        final int size = stack.length;
+        int top = size;
+        marks[k] = k;
+        for (int p = cp[k]; p < cp[k + 1]; ++p) {
+            int i = ci[p];
+            if (i <= k) {
+                // climb the elimination tree up to a marked node
+                int length = 0;
+                while (marks[i] != k) {
+                    stack[length++] = i;
+                    marks[i] = k;
+                    i = parent[i];
+                }
+                // push the path on the output stack
+                while (length > 0) {
+                    stack[--top] = stack[--length];
+                }
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is an lower-triangular matrix such that P A P<sup>T</sup> = L L<sup>T</sup></p>
+     * @return the L matrix, in compressed sparse column format
+     */
+    public CompressedSparseRealMatrix getL() {
+        if (cachedL == null) {
+            cachedL = new CompressedSparseRealMatrix(n, n, lPointers, lIndices, lValues,
+                                                     CompressedSparseRealMatrix.Format.CSC);
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the transpose of the matrix L of the decomposition.
+     * <p>L<sup>T</sup> is an upper-triangular matrix such that P A P<sup>T</sup> = L L<sup>T</sup></p>
+     * @return the transpose of the matrix L, in compressed sparse row format
+     */
+    public CompressedSparseRealMatrix getLT() {
+        return getL().transpose();
+    }
+
+    /**
+     * Returns the fill-reducing permutation.
+     * @return permutation, element k being the index of the row and column
+     * of the original matrix that are at position k in P A P<sup>T</sup>
+     */
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    /**
+     * Returns the number of non-zero elements in L.
+     * @return number of non-zero elements in L
+     */
+    public int getNonZeroCount() {
+        return lPointers[n];
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        double determinant = 1.0;
+        for (int j = 0; j < n; ++j) {
+            final double lJJ = lValues[lPointers[j]];
+            determinant *= lJJ * lJJ;
+        }
+        return determinant;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            // if we get this far, the matrix was positive definite, hence non-singular
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            MathUtils.checkDimension(b.getDimension(), n);
+            final double[] x = new double[n];
+            solveInPlace(b.toArray(), x);
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            MathUtils.checkDimension(b.getRowDimension(), n);
+            final int nColB = b.getColumnDimension();
+            final RealMatrix x = MatrixUtils.createRealMatrix(n, nColB);
+            final double[] y = new double[n];
+            for (int j = 0; j < nColB; ++j) {
+                solveInPlace(b.getColumn(j), y);
+                x.setColumn(j, y);
+            }
+            return x;
+        }
+
+        /** Solve a linear system.
+         * @param b right hand side
+         * @param x placeholder for solution
+         */
+        private void solveInPlace(final double[] b, final double[] x) {
+
+            final double[] y = new double[n];
+            for (int k = 0; k < n; ++k) {
+                y[k] = b[permutation[k]];
+            }
+
+            // solve L Y = P B
+            for (int j = 0; j < n; ++j) {
+                y[j] /= lValues[lPointers[j]];
+                final double yJ = y[j];
+                for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                    y[lIndices[p]] -= lValues[p] * yJ;
+                }
+            }
+
+            // solve L^T Z = Y
+            for (int j = n - 1; j >= 0; --j) {
+                double yJ = y[j];
+                for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                    yJ -= lValues[p] * y[lIndices[p]];
+                }
+                y[j] = yJ / lValues[lPointers[j]];
+            }
+
+            for (int k = 0; k < n; ++k) {
+                x[permutation[k]] = y[k];
+            }
+
+        }
+
+        /** Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(n));
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+/** Matrix decomposer using sparse LU-decomposition.
+ * @see SparseLUDecomposition
+ * @since 1.9
+ */
+public class SparseLUDecomposer implements MatrixDecomposer {
+
+    /** Fill-reducing ordering. */
+    private final SparseOrdering ordering;
+
+    /** Threshold for partial pivoting. */
+    private final double pivotingThreshold;
+
+    /** Threshold under which a matrix is considered singular. */
+    private final double singularityThreshold;
+
+    /**
+     * Creates a sparse LU decomposer with specified parameters for several matrices.
+     * @param ordering fill-reducing ordering to use for columns
+     * @param pivotingThreshold fraction of the largest candidate magnitude above
+     * which the diagonal element is selected as pivot
+     * @param singularityThreshold threshold under which a pivot is considered null
+     * and the matrix singular
+     */
+    public SparseLUDecomposer(final SparseOrdering ordering,
+                              final double pivotingThreshold, final double singularityThreshold) {
+        this.ordering             = ordering;
+        this.pivotingThreshold    = pivotingThreshold;
+        this.singularityThreshold = singularityThreshold;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DecompositionSolver decompose(final RealMatrix a) {
+        return new SparseLUDecomposition(a, ordering, pivotingThreshold, singularityThreshold).getSolver();
+    }
+
+}
@@ -0,0 +1,531 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Calculates the LUP-decomposition of a sparse square matrix.
+ * <p>The LUP-decomposition of a matrix A consists of a unit lower triangular
+ * matrix L, an upper triangular matrix U and two permutations P and Q such
+ * that: P A Q = L U. The column permutation Q is a fill-reducing ordering
+ * computed from the sparsity pattern of A + A<sup>T</sup>, the row permutation
+ * P is computed during factorization by threshold partial pivoting.</p>
+ * <p>The factorization is computed one column at a time using the left-looking
+ * algorithm by Gilbert and Peierls: the sparsity pattern of each column is found
+ * by a depth-first search in the graph of the already computed columns of L,
+ * so the cost is proportional to the number of floating point operations.</p>
+ * <p>Threshold partial pivoting favors the diagonal element as long as its
+ * magnitude is at least a fraction of the largest candidate in the column,
+ * which preserves the fill-reducing ordering for matrices with a strong
+ * diagonal while remaining stable.</p>
+ * <p>As in {@link LUDecomposition}, a singular matrix does not trigger an
+ * exception at decomposition time, it is reported by the {@link
+ * DecompositionSolver#isNonSingular() solver}.</p>
+ *
+ * @see LUDecomposition
+ * @see SparseOrdering
+ * @since 1.9
+ */
+public class SparseLUDecomposition {
+
+    /** Default threshold for partial pivoting. */
+    public static final double DEFAULT_PIVOTING_THRESHOLD = 0.1;
+
+    /** Default bound to determine effective singularity in LU decomposition. */
+    private static final double DEFAULT_TOO_SMALL = 1e-11;
+
+    /** Dimension of the matrix. */
+    private final int n;
+
+    /** Row permutation, element k being the index of the original row at position k. */
+    private final int[] rowPermutation;
+
+    /** Column permutation, element k being the index of the original column at position k. */
+    private final int[] columnPermutation;
+
+    /** Column pointers of L. */
+    private int[] lPointers;
+
+    /** Row indices of L (unit diagonal element is first in each column). */
+    private int[] lIndices;
+
+    /** Values of L. */
+    private double[] lValues;
+
+    /** Column pointers of U. */
+    private int[] uPointers;
+
+    /** Row indices of U (diagonal element is last in each column). */
+    private int[] uIndices;
+
+    /** Values of U. */
+    private double[] uValues;
+
+    /** Parity of the permutations. */
+    private final boolean even;
+
+    /** Singularity indicator. */
+    private boolean singular;
+
+    /** Cached value of L. */
+    private CompressedSparseRealMatrix cachedL;
+
+    /** Cached value of U. */
+    private CompressedSparseRealMatrix cachedU;
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * <p>
+     * This constructor uses the {@link SparseOrdering#APPROXIMATE_MINIMUM_DEGREE
+     * approximate minimum degree} ordering, {@link #DEFAULT_PIVOTING_THRESHOLD} for
+     * pivoting and 1e-11 as default value for the singularity threshold.
+     * </p>
+     * @param matrix Matrix to decompose.
+     * @throws MathIllegalArgumentException if matrix is not square
+     */
+    public SparseLUDecomposition(final RealMatrix matrix) {
+        this(matrix, SparseOrdering.APPROXIMATE_MINIMUM_DEGREE, DEFAULT_PIVOTING_THRESHOLD, DEFAULT_TOO_SMALL);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * <p>
+     * If the matrix is not a {@link CompressedSparseRealMatrix}, it is
+     * converted first, which requires visiting all its entries.
+     * </p>
+     * @param matrix Matrix to decompose.
+     * @param ordering fill-reducing ordering to use for columns
+     * @param pivotingThreshold fraction of the largest candidate magnitude above
+     * which the diagonal element is selected as pivot (between 0 and 1, 1 meaning
+     * classical partial pivoting)
+     * @param singularityThreshold threshold under which a pivot is considered null
+     * and the matrix singular
+     * @throws MathIllegalArgumentException if matrix is not square
+     * @throws MathIllegalArgumentException if pivoting threshold is not between 0 and 1
+     */
+    public SparseLUDecomposition(final RealMatrix matrix, final SparseOrdering ordering,
+                                 final double pivotingThreshold, final double singularityThreshold) {
+
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        MathUtils.checkNotNull(ordering);
+        MathUtils.checkRangeInclusive(pivotingThreshold, 0.0, 1.0);
+        n = matrix.getRowDimension();
+
+        final CompressedSparseRealMatrix a = SparseCholeskyDecomposition.toCSC(matrix);
+        final int[]    ap = a.getPointersRef();
+        final int[]    ai = a.getIndicesRef();
+        final double[] ax = a.getValuesRef();
+
+        columnPermutation = ordering.order(a);
+
+        // rows position in the factorization, -1 for rows not pivotal yet
+        final int[] pinv = new int[n];
+        Arrays.fill(pinv, -1);
+
+        lPointers = new int[n + 1];
+        uPointers = new int[n + 1];
+        int capacity = 4 * ax.length + n;
+        lIndices = new int[capacity];
+        lValues  = new double[capacity];
+        uIndices = new int[capacity];
+        uValues  = new double[capacity];
+        int lnz  = 0;
+        int unz  = 0;
+
+        final double[] x      = new double[n];
+        final int[]    stack  = new int[n];
+        final int[]    pstack = new int[n];
+        final int[]    marks  = new int[n];
+        Arrays.fill(marks, -1);
+
+        singular = false;
+        for (int k = 0; k < n; ++k) {
+
+            final int col = columnPermutation[k];
+            lPointers[k] = lnz;
+            uPointers[k] = unz;
+
+            // ensure there is room for column k of L and U
+            if (lnz + n > lIndices.length) {
+                capacity = FastMath.max(2 * lIndices.length, lnz + n);
+                lIndices = Arrays.copyOf(lIndices, capacity);
+                lValues  = Arrays.copyOf(lValues,  capacity);
+            }
+            if (unz + n > uIndices.length) {
+                capacity = FastMath.max(2 * uIndices.length, unz + n);
+                uIndices = Arrays.copyOf(uIndices, capacity);
+                uValues  = Arrays.copyOf(uValues,  capacity);
+            }
+
+            // solve L x = A(:, col), x being sparse
+            final int top = reach(ap, ai, col, pinv, k, stack, pstack, marks);
+            for (int t = top; t < n; ++t) {
+                x[stack[t]] = 0;
+            }
+            for (int p = ap[col]; p < ap[col + 1]; ++p) {
+                x[ai[p]] = ax[p];
+            }
+            for (int t = top; t < n; ++t) {
+                final int j  = stack[t];
+                final int jj = pinv[j];
+                if (jj >= 0) {
+                    // diagonal of L is unit, and first in the column
+                    final double xJ = x[j];
+                    for (int p = lPointers[jj] + 1; p < lPointers[jj + 1]; ++p) {
+                        x[lIndices[p]] -= lValues[p] * xJ;
+                    }
+                }
+            }
+
+            // select pivot among rows not pivotal yet, and store column of U
+            int    pivotRow = -1;
+            double largest  = -1;
+            for (int t = top; t < n; ++t) {
+                final int i = stack[t];
+                if (pinv[i] < 0) {
+                    final double abs = FastMath.abs(x[i]);
+                    if (abs > largest) {
+                        largest  = abs;
+                        pivotRow = i;
+                    }
+                } else {
+                    uIndices[unz]  = pinv[i];
+                    uValues[unz++] = x[i];
+                }
+            }
+            if (pivotRow < 0 || largest < singularityThreshold) {
+                singular = true;
+                break;
+            }
+            if (pinv[col] < 0 && marks[col] == k && FastMath.abs(x[col]) >= pivotingThreshold * largest) {
+                // prefer diagonal element
+                pivotRow = col;
+            }
+
+            // store diagonal of U and column of L
+            final double pivot = x[pivotRow];
+            uIndices[unz]  = k;
+            uValues[unz++] = pivot;
+            pinv[pivotRow] = k;
+            lIndices[lnz]  = pivotRow;
+            lValues[lnz++] = 1.0;
+            for (int t = top; t < n; ++t) {
+                final int i = stack[t];
+                if (pinv[i] < 0) {
+                    lIndices[lnz]  = i;
+                    lValues[lnz++] = x[i] / pivot;
+                }
+                x[i] = 0;
+            }
+
+        }
+
+        if (singular) {
+            rowPermutation = null;
+            even           = true;
+        } else {
+            lPointers[n] = lnz;
+            uPointers[n] = unz;
+
+            // express row indices of L in the permuted order
+            for (int p = 0; p < lnz; ++p) {
+                lIndices[p] = pinv[lIndices[p]];
+            }
+            rowPermutation = new int[n];
+            for (int i = 0; i < n; ++i) {
+                rowPermutation[pinv[i]] = i;
+            }
+            even = isEven(rowPermutation) == isEven(columnPermutation);
+        }
+
+    }
+
+    /** Find the rows reachable from a column in the graph of L.
+     * @param ap column pointers of A
+     * @param ai row indices of A
+     * @param col column of A
+     * @param pinv rows position in the factorization, -1 for rows not pivotal yet
+     * @param k index of the current step (used as marker)
+     * @param stack placeholder for the reachable rows, which are stored in topological
+     * order in {@code stack[top]} to {@code stack[n-1]}
+     * @param pstack placeholder for the depth-first search
+     * @param marks marks for visited nodes (nodes are marked with k)
+     * @return top index of the reachable rows in the stack
+     */
+    private int reach(final int[] ap, final int[] ai, final int col, final int[] pinv, final int k,
+                      final int[] stack, final int[] pstack, final int[] marks) {
+        int top = n;
+        for (int p = ap[col]; p < ap[col + 1]; ++p) {
+            if (marks[ai[p]] != k) {
+                top = depthFirstSearch(ai[p], pinv, k, top, stack, pstack, marks);
+            }
+        }
+        return top;
+    }
+
+    /** Depth-first search in the graph of L.
+     * @param start start row
+     * @param pinv rows position in the factorization, -1 for rows not pivotal yet
+     * @param k index of the current step (used as marker)
+     * @param top current top of the output stack
+     * @param stack output stack (the lower part is also used as the recursion stack)
+     * @param pstack placeholder for the depth-first search
+     * @param marks marks for visited nodes (nodes are marked with k)
+     * @return new top of the output stack
+     */
+    private int depthFirstSearch(final int start, final int[] pinv, final int k, final int top,
+                                 final int[] stack, final int[] pstack, final int[] marks) {
+        int newTop = top;
+        int head   = 0;
+        stack[0]   = start;
+        while (head >= 0) {
+            final int j  = stack[head];
+            final int jj = pinv[j];
+            if (marks[j] != k) {
+                // first visit of the node
+                marks[j]     = k;
+                pstack[head] = jj < 0 ? 0 : lPointers[jj] + 1;
+            }
+            boolean done = true;
+            final int end = jj < 0 ? 0 : lPointers[jj + 1];
+            for (int p = pstack[head]; p < end; ++p) {
+                final int i = lIndices[p];
+                if (marks[i] != k) {
+                    // push unvisited child, and resume from next child later
+                    pstack[head]   = p + 1;
+                    stack[++head]  = i;
+                    done           = false;
+                    break;
+                }
+            }
+            if (done) {
+                // all children visited, node is finished
+                --head;
+                stack[--newTop] = j;
+            }
+        }
+        return newTop;
+    }
+
+    /** Check if a permutation is even.
+     * @param permutation permutation to check
+     * @return true if the permutation is even
+     */
+    private static boolean isEven(final int[] permutation) {
+        final boolean[] visited = new boolean[permutation.length];
+        int transpositions = 0;
+        for (int i = 0; i < permutation.length; ++i) {
+            if (!visited[i]) {
+                // a cycle of length l is l - 1 transpositions
+                for (int j = permutation[i]; !visited[j]; j = permutation[j]) {
+                    visited[j] = true;
+                    ++transpositions;
+                }
+                --transpositions;
+            }
+        }
+        return (transpositions & 0x1) == 0;
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a unit lower-triangular matrix</p>
+     * @return the L matrix (or null if decomposed matrix is singular)
+     */
+    public CompressedSparseRealMatrix getL() {
+        if ((cachedL == null) && !singular) {
+            cachedL = sortedCopy(lPointers, lIndices, lValues);
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the matrix U of the decomposition.
+     * <p>U is an upper-triangular matrix</p>
+     * @return the U matrix (or null if decomposed matrix is singular)
+     */
+    public CompressedSparseRealMatrix getU() {
+        if ((cachedU == null) && !singular) {
+            cachedU = sortedCopy(uPointers, uIndices, uValues);
+        }
+        return cachedU;
+    }
+
+    /** Build a compressed sparse column matrix with sorted indices.
+     * @param pointers column pointers
+     * @param indices row indices (unsorted)
+     * @param values values
+     * @return matrix in compressed sparse column format
+     */
+    private CompressedSparseRealMatrix sortedCopy(final int[] pointers, final int[] indices, final double[] values) {
+        // transposing twice sorts the indices
+        final int      nnz = pointers[n];
+        final int[]    tp  = new int[n + 1];
+        final int[]    ti  = new int[nnz];
+        final double[] tx  = new double[nnz];
+        CompressedSparseRealMatrix.transposeStorage(n, n, pointers, indices, values, tp, ti, tx);
+        final int[]    sp  = new int[n + 1];
+        final int[]    si  = new int[nnz];
+        final double[] sx  = new double[nnz];
+        CompressedSparseRealMatrix.transposeStorage(n, n, tp, ti, tx, sp, si, sx);
+        return new CompressedSparseRealMatrix(n, n, CompressedSparseRealMatrix.Format.CSC, sp, si, sx);
+    }
+
+    /**
+     * Returns the row permutation.
+     * @return row permutation, element k being the index of the row of the
+     * original matrix that is at row k in P A Q (or null if decomposed matrix is singular)
+     */
+    public int[] getRowPermutation() {
+        return singular ? null : rowPermutation.clone();
+    }
+
+    /**
+     * Returns the column permutation.
+     * @return column permutation, element k being the index of the column of the
+     * original matrix that is at column k in P A Q
+     */
+    public int[] getColumnPermutation() {
+        return columnPermutation.clone();
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        if (singular) {
+            return 0;
+        } else {
+            double determinant = even ? 1 : -1;
+            for (int j = 0; j < n; ++j) {
+                // diagonal element is last in each column of U
+                determinant *= uValues[uPointers[j + 1] - 1];
+            }
+            return determinant;
+        }
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in exact linear
+     * sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            return !singular;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            MathUtils.checkDimension(b.getDimension(), n);
+            checkNonSingular();
+            final double[] x = new double[n];
+            solveInPlace(b.toArray(), x);
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            MathUtils.checkDimension(b.getRowDimension(), n);
+            checkNonSingular();
+            final int nColB = b.getColumnDimension();
+            final RealMatrix x = MatrixUtils.createRealMatrix(n, nColB);
+            final double[] y = new double[n];
+            for (int j = 0; j < nColB; ++j) {
+                solveInPlace(b.getColumn(j), y);
+                x.setColumn(j, y);
+            }
+            return x;
+        }
+
+        /** Check the matrix is not singular.
+         * @throws MathIllegalArgumentException if the matrix is singular
+         */
+        private void checkNonSingular() {
+            if (singular) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+        }
+
+        /** Solve a linear system.
+         * @param b right hand side
+         * @param x placeholder for solution
+         */
+        private void solveInPlace(final double[] b, final double[] x) {
+
+            final double[] y = new double[n];
+            for (int k = 0; k < n; ++k) {
+                y[k] = b[rowPermutation[k]];
+            }
+
+            // solve L Y = P B
+            for (int j = 0; j < n; ++j) {
+                final double yJ = y[j];
+                for (int p = lPointers[j] + 1; p < lPointers[j + 1]; ++p) {
+                    y[lIndices[p]] -= lValues[p] * yJ;
+                }
+            }
+
+            // solve U Z = Y
+            for (int j = n - 1; j >= 0; --j) {
+                final int    diag = uPointers[j + 1] - 1;
+                final double yJ   = y[j] / uValues[diag];
+                y[j] = yJ;
+                for (int p = uPointers[j]; p < diag; ++p) {
+                    y[uIndices[p]] -= uValues[p] * yJ;
+                }
+            }
+
+            for (int k = 0; k < n; ++k) {
+                x[columnPermutation[k]] = y[k];
+            }
+
+        }
+
+        /** Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         * @throws MathIllegalArgumentException if the decomposed matrix is singular.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(n));
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+/** Enumerate for fill-reducing orderings used by sparse direct decompositions.
+ * <p>
+ * Orderings are computed from the sparsity pattern of A + A<sup>T</sup> only,
+ * they do not depend on the values of the entries.
+ * </p>
+ * @see SparseLUDecomposition
+ * @see SparseCholeskyDecomposition
+ * @since 1.9
+ */
+public enum SparseOrdering {
+
+    /** Natural ordering, no permutation is applied. */
+    NATURAL {
+        /** {@inheritDoc} */
+        @Override
+        int[] order(final CompressedSparseRealMatrix matrix) {
+            final int[] permutation = new int[matrix.getRowDimension()];
+            for (int i = 0; i < permutation.length; ++i) {
+                permutation[i] = i;
+            }
+            return permutation;
+        }
+    },
+
+    /** Reverse Cuthill-McKee ordering.
+     * <p>
+     * This ordering reduces the bandwidth of the matrix, it is well suited
+     * to matrices arising from discretization of one or two dimensional domains.
+     * </p>
+     */
+    REVERSE_CUTHILL_MCKEE {
+        /** {@inheritDoc} */
+        @Override
+        int[] order(final CompressedSparseRealMatrix matrix) {
+            return SparseOrderings.reverseCuthillMcKee(SparseOrderings.symmetricPattern(matrix));
+        }
+    },
+
+    /** Approximate minimum degree ordering.
+     * <p>
+     * This ordering greedily eliminates the variable with smallest approximate
+     * external degree in the quotient graph, it generally produces much less
+     * fill-in than {@link #REVERSE_CUTHILL_MCKEE}.
+     * </p>
+     */
+    APPROXIMATE_MINIMUM_DEGREE {
+        /** {@inheritDoc} */
+        @Override
+        int[] order(final CompressedSparseRealMatrix matrix) {
+            return SparseOrderings.approximateMinimumDegree(SparseOrderings.symmetricPattern(matrix));
+        }
+    };
+
+    /** Compute the ordering of a square matrix.
+     * @param matrix square matrix to order
+     * @return permutation, element k being the index of the row and column
+     * of the original matrix that should be at position k
+     */
+    abstract int[] order(CompressedSparseRealMatrix matrix);
+
+}
@@ -0,0 +1,489 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/** Fill-reducing orderings algorithms for sparse matrices.
+ * <p>
+ * All algorithms work on the adjacency structure of the graph of
+ * A + A<sup>T</sup>, without self loops.
+ * </p>
+ * @see SparseOrdering
+ * @since 1.9
+ */
+class SparseOrderings {
+
+    /** State of variables (nodes not eliminated yet). */
+    private static final int VARIABLE = 0;
+
+    /** State of elements (nodes eliminated). */
+    private static final int ELEMENT = 1;
+
+    /** State of elements absorbed in another element. */
+    private static final int ABSORBED = 2;
+
+    /** State of dense variables (postponed to the end of the ordering). */
+    private static final int DENSE = 3;
+
+    /** Private constructor for a utility class.
+     */
+    private SparseOrderings() {
+        // nothing to do
+    }
+
+    /** Build the adjacency structure of A + A<sup>T</sup>.
+     * @param matrix square matrix
+     * @return adjacency lists, sorted and without self loops
+     * @exception MathIllegalArgumentException if matrix is not square
+     */
+    static int[][] symmetricPattern(final CompressedSparseRealMatrix matrix)
+        throws MathIllegalArgumentException {
+
+        final int n = matrix.getRowDimension();
+        if (matrix.getColumnDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   n, matrix.getColumnDimension());
+        }
+        final int[] pointers = matrix.getPointersRef();
+        final int[] indices  = matrix.getIndicesRef();
+
+        // count the entries of each adjacency list (with duplicates)
+        final int[] count = new int[n];
+        for (int s = 0; s < n; ++s) {
+            for (int p = pointers[s]; p < pointers[s + 1]; ++p) {
+                if (indices[p] != s) {
+                    ++count[s];
+                    ++count[indices[p]];
+                }
+            }
+        }
+
+        // fill them
+        final int[][] adjacency = new int[n][];
+        for (int i = 0; i < n; ++i) {
+            adjacency[i] = new int[count[i]];
+        }
+        Arrays.fill(count, 0);
+        for (int s = 0; s < n; ++s) {
+            for (int p = pointers[s]; p < pointers[s + 1]; ++p) {
+                final int t = indices[p];
+                if (t != s) {
+                    adjacency[s][count[s]++] = t;
+                    adjacency[t][count[t]++] = s;
+                }
+            }
+        }
+
+        // remove duplicates
+        for (int i = 0; i < n; ++i) {
+            final int[] list = adjacency[i];
+            Arrays.sort(list);
+            int size = 0;
+            for (int k = 0; k < list.length; ++k) {
+                if (size == 0 || list[k] != list[size - 1]) {
+                    list[size++] = list[k];
+                }
+            }
+            if (size < list.length) {
+                adjacency[i] = Arrays.copyOf(list, size);
+            }
+        }
+
+        return adjacency;
+
+    }
+
+    /** Compute the reverse Cuthill-McKee ordering.
+     * <p>
+     * Each connected component is traversed breadth-first starting from a
+     * pseudo-peripheral node found using the George-Liu algorithm, neighbors
+     * being visited by increasing degree.
+     * </p>
+     * @param adjacency adjacency lists of the graph
+     * @return permutation
+     */
+    static int[] reverseCuthillMcKee(final int[][] adjacency) {
+
+        final int n = adjacency.length;
+        final boolean[] visited = new boolean[n];
+        final int[] order   = new int[n];
+        final int[] levels  = new int[n];
+        final int[] queue   = new int[n];
+        Arrays.fill(levels, -1);
+        int count = 0;
+
+        for (int s = 0; s < n; ++s) {
+            if (!visited[s]) {
+
+                // traverse the component breadth-first
+                final int root = pseudoPeripheralNode(adjacency, s, levels, queue);
+                visited[root]  = true;
+                order[count++] = root;
+                for (int head = count - 1; head < count; ++head) {
+                    final int start = count;
+                    for (final int neighbor : adjacency[order[head]]) {
+                        if (!visited[neighbor]) {
+                            visited[neighbor] = true;
+                            order[count++]    = neighbor;
+                        }
+                    }
+                    sortByDegree(adjacency, order, start, count);
+                }
+
+            }
+        }
+
+        // reverse the ordering
+        for (int i = 0, j = n - 1; i < j; ++i, --j) {
+            final int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        return order;
+
+    }
+
+    /** Find a pseudo-peripheral node in a connected component.
+     * @param adjacency adjacency lists of the graph
+     * @param start start node
+     * @param levels placeholder for levels (must be -1 for all nodes, and is reset to -1 on exit)
+     * @param queue placeholder for breadth-first traversal
+     * @return pseudo-peripheral node in the same component as start
+     */
+    private static int pseudoPeripheralNode(final int[][] adjacency, final int start,
+                                            final int[] levels, final int[] queue) {
+        int root         = start;
+        int eccentricity = -1;
+        while (true) {
+
+            // breadth-first traversal, marking levels
+            final int size = levelStructure(adjacency, root, levels, queue);
+            final int last = levels[queue[size - 1]];
+
+            // select the node with minimum degree in the last level
+            int candidate = queue[size - 1];
+            for (int k = size - 1; k >= 0 && levels[queue[k]] == last; --k) {
+                if (adjacency[queue[k]].length < adjacency[candidate].length) {
+                    candidate = queue[k];
+                }
+            }
+            for (int k = 0; k < size; ++k) {
+                levels[queue[k]] = -1;
+            }
+
+            if (last <= eccentricity || candidate == root) {
+                return root;
+            }
+            eccentricity = last;
+            root = candidate;
+
+        }
+    }
+
+    /** Build the level structure rooted at one node.
+     * @param adjacency adjacency lists of the graph
+     * @param root root node
+     * @param levels placeholder for levels (must be -1 for all nodes of the component)
+     * @param queue placeholder for the nodes of the component, in traversal order
+     * @return number of nodes in the component
+     */
+    private static int levelStructure(final int[][] adjacency, final int root,
+                                      final int[] levels, final int[] queue) {
+        int size = 0;
+        queue[size++] = root;
+        levels[root]  = 0;
+        for (int head = 0; head < size; ++head) {
+            final int node = queue[head];
+            for (final int neighbor : adjacency[node]) {
+                if (levels[neighbor] < 0) {
+                    levels[neighbor] = levels[node] + 1;
+                    queue[size++]    = neighbor;
+                }
+            }
+        }
+        return size;
+    }
+
+    /** Sort a range of nodes by increasing degree (and increasing index for equal degrees).
+     * @param adjacency adjacency lists of the graph
+     * @param nodes array containing the nodes to sort
+     * @param start start of the range (included)
+     * @param end end of the range (excluded)
+     */
+    private static void sortByDegree(final int[][] adjacency, final int[] nodes,
+                                     final int start, final int end) {
+        for (int i = start + 1; i < end; ++i) {
+            final int node   = nodes[i];
+            final int degree = adjacency[node].length;
+            int j = i - 1;
+            while (j >= start &&
+                   (adjacency[nodes[j]].length > degree ||
+                    adjacency[nodes[j]].length == degree && nodes[j] > node)) {
+                nodes[j + 1] = nodes[j];
+                --j;
+            }
+            nodes[j + 1] = node;
+        }
+    }
+
+    /** Compute an approximate minimum degree ordering.
+     * <p>
+     * This is a simplified version of the algorithm by Amestoy, Davis and Duff,
+     * using a quotient graph where eliminated nodes become elements representing
+     * the cliques created by elimination. Degrees are approximated by
+     * |A<sub>i</sub>| + |L<sub>p</sub>| - 1 + &sum; |L<sub>e</sub> \ L<sub>p</sub>|
+     * and elements included in the newly created one are absorbed. Contrary
+     * to the full algorithm, indistinguishable variables are not merged into
+     * supervariables. Dense nodes are postponed to the end of the ordering.
+     * </p>
+     * @param adjacency adjacency lists of the graph
+     * @return permutation
+     */
+    static int[] approximateMinimumDegree(final int[][] adjacency) {
+
+        final int n = adjacency.length;
+        final int denseThreshold = FastMath.max(16, (int) (10 * FastMath.sqrt(n)));
+
+        final int[]   state    = new int[n];
+        final int[][] vars     = new int[n][];
+        final int[]   nVars    = new int[n];
+        final int[][] elems    = new int[n][];
+        final int[]   nElems   = new int[n];
+        final int[][] members  = new int[n][];
+        final int[]   nMembers = new int[n];
+        final int[]   degree   = new int[n];
+        final int[]   head     = new int[n];
+        final int[]   next     = new int[n];
+        final int[]   previous = new int[n];
+        final int[]   mark     = new int[n];
+        final int[]   wMark    = new int[n];
+        final int[]   w        = new int[n];
+        final int[]   order    = new int[n];
+        Arrays.fill(head, -1);
+
+        // set up initial quotient graph, which is the original graph
+        int nbDense = 0;
+        for (int i = 0; i < n; ++i) {
+            if (adjacency[i].length > denseThreshold) {
+                state[i] = DENSE;
+                ++nbDense;
+            }
+        }
+        for (int i = 0; i < n; ++i) {
+            if (state[i] == VARIABLE) {
+                vars[i]  = new int[adjacency[i].length];
+                for (final int j : adjacency[i]) {
+                    if (state[j] == VARIABLE) {
+                        vars[i][nVars[i]++] = j;
+                    }
+                }
+                elems[i]  = new int[4];
+                degree[i] = nVars[i];
+                insert(i, degree[i], head, next, previous);
+            }
+        }
+
+        final int nbVariables = n - nbDense;
+        int minDegree = 0;
+        int stamp     = 0;
+        for (int k = 0; k < nbVariables; ++k) {
+
+            // select variable with minimum approximate degree
+            while (head[minDegree] < 0) {
+                ++minDegree;
+            }
+            final int p = head[minDegree];
+            remove(p, degree[p], head, next, previous);
+            order[k] = p;
+
+            // build the new element Lp, absorbing the elements adjacent to p
+            mark[p] = ++stamp;
+            int[] lp   = new int[nVars[p] + 4];
+            int   nLp  = 0;
+            for (int t = 0; t < nVars[p]; ++t) {
+                final int i = vars[p][t];
+                if (state[i] == VARIABLE && mark[i] != stamp) {
+                    mark[i] = stamp;
+                    lp = append(lp, nLp++, i);
+                }
+            }
+            for (int t = 0; t < nElems[p]; ++t) {
+                final int e = elems[p][t];
+                if (state[e] == ELEMENT) {
+                    for (int u = 0; u < nMembers[e]; ++u) {
+                        final int i = members[e][u];
+                        if (state[i] == VARIABLE && mark[i] != stamp) {
+                            mark[i] = stamp;
+                            lp = append(lp, nLp++, i);
+                        }
+                    }
+                    state[e]   = ABSORBED;
+                    members[e] = null;
+                }
+            }
+            state[p]    = ELEMENT;
+            members[p]  = lp;
+            nMembers[p] = nLp;
+            vars[p]     = null;
+            elems[p]    = null;
+
+            // update the lists of the variables in Lp
+            for (int t = 0; t < nLp; ++t) {
+                final int i = lp[t];
+
+                // remaining elements, plus the new one
+                int size = 0;
+                for (int u = 0; u < nElems[i]; ++u) {
+                    if (state[elems[i][u]] == ELEMENT) {
+                        elems[i][size++] = elems[i][u];
+                    }
+                }
+                elems[i]  = append(elems[i], size++, p);
+                nElems[i] = size;
+
+                // remaining variables, except those now reachable through the new element
+                size = 0;
+                for (int u = 0; u < nVars[i]; ++u) {
+                    final int j = vars[i][u];
+                    if (state[j] == VARIABLE && mark[j] != stamp) {
+                        vars[i][size++] = j;
+                    }
+                }
+                nVars[i] = size;
+
+            }
+
+            // compute |Le \ Lp| for all elements adjacent to Lp
+            for (int t = 0; t < nLp; ++t) {
+                final int i = lp[t];
+                for (int u = 0; u < nElems[i]; ++u) {
+                    final int e = elems[i][u];
+                    if (e != p) {
+                        if (wMark[e] != stamp) {
+                            wMark[e] = stamp;
+                            int size = 0;
+                            for (int v = 0; v < nMembers[e]; ++v) {
+                                if (state[members[e][v]] == VARIABLE) {
+                                    members[e][size++] = members[e][v];
+                                }
+                            }
+                            nMembers[e] = size;
+                            w[e]        = size;
+                        }
+                        --w[e];
+                    }
+                }
+            }
+
+            // update approximate degrees
+            final int remaining = nbVariables - k - 1;
+            for (int t = 0; t < nLp; ++t) {
+                final int i = lp[t];
+                int d = nVars[i] + nLp - 1;
+                int size = 0;
+                for (int u = 0; u < nElems[i]; ++u) {
+                    final int e = elems[i][u];
+                    if (e == p) {
+                        elems[i][size++] = e;
+                    } else if (state[e] == ELEMENT) {
+                        if (w[e] == 0) {
+                            // aggressive absorption: Le is included in Lp
+                            state[e]   = ABSORBED;
+                            members[e] = null;
+                        } else {
+                            elems[i][size++] = e;
+                            d += w[e];
+                        }
+                    }
+                }
+                nElems[i] = size;
+                d = FastMath.min(d, remaining - 1);
+                remove(i, degree[i], head, next, previous);
+                degree[i] = FastMath.max(d, 0);
+                insert(i, degree[i], head, next, previous);
+                minDegree = FastMath.min(minDegree, degree[i]);
+            }
+
+        }
+
+        // dense nodes come last
+        int k = nbVariables;
+        for (int i = 0; i < n; ++i) {
+            if (state[i] == DENSE) {
+                order[k++] = i;
+            }
+        }
+
+        return order;
+
+    }
+
+    /** Append an element to an array, growing it if needed.
+     * @param array array to append to
+     * @param size current number of elements in the array
+     * @param value value to append
+     * @return array containing the value (may be a new array)
+     */
+    private static int[] append(final int[] array, final int size, final int value) {
+        final int[] grown = size < array.length ? array : Arrays.copyOf(array, FastMath.max(4, 2 * size));
+        grown[size] = value;
+        return grown;
+    }
+
+    /** Insert a node in a degree list.
+     * @param node node to insert
+     * @param d degree of the node
+     * @param head heads of degree lists
+     * @param next next node in degree lists
+     * @param previous previous node in degree lists
+     */
+    private static void insert(final int node, final int d,
+                               final int[] head, final int[] next, final int[] previous) {
+        previous[node] = -1;
+        next[node]     = head[d];
+        if (head[d] >= 0) {
+            previous[head[d]] = node;
+        }
+        head[d] = node;
+    }
+
+    /** Remove a node from a degree list.
+     * @param node node to remove
+     * @param d degree of the node
+     * @param head heads of degree lists
+     * @param next next node in degree lists
+     * @param previous previous node in degree lists
+     */
+    private static void remove(final int node, final int d,
+                               final int[] head, final int[] next, final int[] previous) {
+        if (previous[node] >= 0) {
+            next[previous[node]] = next[node];
+        } else {
+            head[d] = next[node];
+        }
+        if (next[node] >= 0) {
+            previous[next[node]] = previous[node];
+        }
+    }
+
+}
@@ -21,6 +21,8 @@
  */
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
@@ -28,6 +30,7 @@ import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.IterationManager;
 import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * <p>
@@ -250,9 +253,15 @@ public class SymmLQ
         /** The machine precision. */
         static final double MACH_PREC;
 
+        /** Number of entries processed by one task in parallel vector operations. */
+        private static final int CHUNK_SIZE = 8192;
+
         /** Reference to the linear operator. */
         private final RealLinearOperator a;
 
+        /** Pool to use for vector operations (may be null). */
+        private final ForkJoinPool pool;
+
         /** Reference to the right-hand side vector. */
         private final RealVector b;
 
@@ -325,6 +334,12 @@ public class SymmLQ
         /** The value of beta[k+1] * M^(-1) * P' * v[k+1]. */
         private RealVector r2;
 
+        /** Buffer for the current Lanczos vector P' v[k]. */
+        private RealVector v;
+
+        /** Spare buffer, recycled between r1 and r2 at each iteration. */
+        private RealVector t;
+
         /**
          * The value of the updated, preconditioned residual P * r. This value is
          * given by {@code min(}{@link #cgnorm}{@code , }{@link #lqnorm}{@code )}.
@@ -384,6 +399,7 @@ public class SymmLQ
          * @param delta the &delta; parameter for the default stopping criterion
          * @param check {@code true} if self-adjointedness of both matrix and
          * preconditioner should be checked
+         * @param pool pool to use for vector operations (may be null)
          */
         State(final RealLinearOperator a,
             final RealLinearOperator m,
@@ -391,8 +407,10 @@ public class SymmLQ
             final boolean goodb,
             final double shift,
             final double delta,
-            final boolean check) {
+            final boolean check,
+            final ForkJoinPool pool) {
             this.a = a;
+            this.pool = pool;
             this.m = m;
             this.b = b;
             this.xL = new ArrayRealVector(b.getDimension());
@@ -444,11 +462,22 @@ public class SymmLQ
          * @param x the vector to be added to {@code y}
          * @param y the vector to be incremented
          */
-        private static void daxpy(final double a, final RealVector x,
+        private void daxpy(final double a, final RealVector x,
             final RealVector y) {
             final int n = x.getDimension();
-            for (int i = 0; i < n; i++) {
-                y.setEntry(i, a * x.getEntry(i) + y.getEntry(i));
+            if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+                final double[] xData = ((ArrayRealVector) x).getDataRef();
+                final double[] yData = ((ArrayRealVector) y).getDataRef();
+                ParallelUtils.forEach(pool, 0, nbChunks(n), 1, chunk -> {
+                    final int end = FastMath.min(n, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        yData[i] = a * xData[i] + yData[i];
+                    }
+                });
+            } else {
+                for (int i = 0; i < n; i++) {
+                    y.setEntry(i, a * x.getEntry(i) + y.getEntry(i));
+                }
             }
         }
 
@@ -463,16 +492,65 @@ public class SymmLQ
          * @param y the second vector to be added to {@code z}
          * @param z the vector to be incremented
          */
-        private static void daxpbypz(final double a, final RealVector x,
+        private void daxpbypz(final double a, final RealVector x,
             final double b, final RealVector y, final RealVector z) {
             final int n = z.getDimension();
-            for (int i = 0; i < n; i++) {
-                final double zi;
-                zi = a * x.getEntry(i) + b * y.getEntry(i) + z.getEntry(i);
-                z.setEntry(i, zi);
+            if (x instanceof ArrayRealVector && y instanceof ArrayRealVector &&
+                z instanceof ArrayRealVector) {
+                final double[] xData = ((ArrayRealVector) x).getDataRef();
+                final double[] yData = ((ArrayRealVector) y).getDataRef();
+                final double[] zData = ((ArrayRealVector) z).getDataRef();
+                ParallelUtils.forEach(pool, 0, nbChunks(n), 1, chunk -> {
+                    final int end = FastMath.min(n, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        zData[i] = a * xData[i] + b * yData[i] + zData[i];
+                    }
+                });
+            } else {
+                for (int i = 0; i < n; i++) {
+                    final double zi;
+                    zi = a * x.getEntry(i) + b * y.getEntry(i) + z.getEntry(i);
+                    z.setEntry(i, zi);
+                }
             }
         }
 
+        /**
+         * Carries out the operation y &larr; a &middot; x. This is for internal
+         * use only: no dimension checks are provided.
+         *
+         * @param a the scalar by which {@code x} is to be multiplied
+         * @param x the vector to be scaled
+         * @param y the vector to be overwritten
+         */
+        private void scale(final double a, final RealVector x, final RealVector y) {
+            final int n = x.getDimension();
+            if (x instanceof ArrayRealVector && y instanceof ArrayRealVector) {
+                final double[] xData = ((ArrayRealVector) x).getDataRef();
+                final double[] yData = ((ArrayRealVector) y).getDataRef();
+                ParallelUtils.forEach(pool, 0, nbChunks(n), 1, chunk -> {
+                    final int end = FastMath.min(n, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        yData[i] = a * xData[i];
+                    }
+                });
+            } else {
+                for (int i = 0; i < n; i++) {
+                    y.setEntry(i, a * x.getEntry(i));
+                }
+            }
+        }
+
+        /**
+         * Get the number of chunks used for vector operations.
+         *
+         * @param n dimension of the vectors
+         * @return number of chunks
+         */
+        private static int nbChunks(final int n) {
+            return (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        }
+
         /**
          * <p>
          * Move to the CG point if it seems better. In this version of SYMMLQ,
@@ -557,6 +635,7 @@ public class SymmLQ
              */
             final RealVector v = this.y.mapMultiply(1. / this.beta1);
             this.y = this.a.operate(v);
+            this.v = v;
             if (this.check) {
                 checkSymmetry(v, this.y, this.a.operate(this.y));
             }
@@ -565,7 +644,7 @@ public class SymmLQ
              * or very small if b is an eigenvector.
              */
             daxpy(-this.shift, v, this.y);
-            final double alpha = v.dotProduct(this.y);
+            final double alpha = v.dotProduct(this.y, pool);
             daxpy(-alpha / this.beta1, this.r1, this.y);
             /*
              * At this point
@@ -573,15 +652,16 @@ public class SymmLQ
              *   y     = beta[2] * M^(-1) * P' * v[2]
              */
             /* Make sure r2 will be orthogonal to the first v. */
-            final double vty = v.dotProduct(this.y);
-            final double vtv = v.dotProduct(v);
+            final double vty = v.dotProduct(this.y, pool);
+            final double vtv = v.dotProduct(v, pool);
             daxpy(-vty / vtv, v, this.y);
             this.r2 = this.y.copy();
             if (this.m != null) {
                 this.y = this.m.operate(this.r2);
             }
+            this.t = new ArrayRealVector(this.r2.getDimension());
             this.oldb = this.beta1;
-            this.beta = this.r2.dotProduct(this.y);
+            this.beta = this.r2.dotProduct(this.y, pool);
             if (this.beta < 0.) {
                 throwNPDLOException();
             }
@@ -609,7 +689,8 @@ public class SymmLQ
                 this.wbar = new ArrayRealVector(this.a.getRowDimension());
                 this.wbar.set(0.);
             } else {
-                this.wbar = v;
+                // v is recycled by the following iterations, it cannot be shared
+                this.wbar = v.copy();
             }
             updateNorms();
         }
@@ -621,41 +702,51 @@ public class SymmLQ
          * current iteration count {@code k}.
          */
         void update() {
-            final RealVector v = y.mapMultiply(1. / beta);
-            y = a.operate(v);
-            daxpbypz(-shift, v, -beta / oldb, r1, y);
-            final double alpha = v.dotProduct(y);
+            /*
+             * All vectors are updated in place. The spare vector t receives
+             * the new value of r2, and the previous r1 becomes the new spare.
+             */
+            scale(1. / beta, y, v);
+            final RealVector w = t;
+            a.operate(v, w, pool);
+            daxpbypz(-shift, v, -beta / oldb, r1, w);
+            final double alpha = v.dotProduct(w, pool);
             /*
              * At this point
              *   v     = P' * v[k],
-             *   y     = (A - shift * I) * P' * v[k] - beta[k] * M^(-1) * P' * v[k-1],
+             *   w     = (A - shift * I) * P' * v[k] - beta[k] * M^(-1) * P' * v[k-1],
              *   alpha = v'[k] * P * (A - shift * I) * P' * v[k]
              *           - beta[k] * v[k]' * P * M^(-1) * P' * v[k-1]
              *         = v'[k] * P * (A - shift * I) * P' * v[k]
              *           - beta[k] * v[k]' * v[k-1]
              *         = alpha[k].
              */
-            daxpy(-alpha / beta, r2, y);
+            daxpy(-alpha / beta, r2, w);
             /*
              * At this point
-             *   y = (A - shift * I) * P' * v[k] - alpha[k] * M^(-1) * P' * v[k]
+             *   w = (A - shift * I) * P' * v[k] - alpha[k] * M^(-1) * P' * v[k]
              *       - beta[k] * M^(-1) * P' * v[k-1]
              *     = M^(-1) * P' * (P * (A - shift * I) * P' * v[k] -alpha[k] * v[k]
              *       - beta[k] * v[k-1])
              *     = beta[k+1] * M^(-1) * P' * v[k+1],
              * from Paige and Saunders (1975), equation (3.2).
              *
-             * WATCH-IT: the two following lines work only because y is no longer
-             * updated up to the end of the present iteration, and is
-             * reinitialized at the beginning of the next iteration.
+             * WATCH-IT: the following lines work only because v[k-1], stored
+             * in r1, is no longer used up to the end of the present iteration,
+             * so its storage can be recycled for the next iteration. If there
+             * is a preconditioner, y has its own storage, otherwise it shares
+             * it with r2.
              */
+            t  = r1;
             r1 = r2;
-            r2 = y;
-            if (m != null) {
-                y = m.operate(r2);
+            r2 = w;
+            if (m == null) {
+                y = r2;
+            } else {
+                m.operate(r2, y, pool);
             }
             oldb = beta;
-            beta = r2.dotProduct(y);
+            beta = r2.dotProduct(y, pool);
             if (beta < 0.) {
                 throwNPDLOException();
             }
@@ -704,12 +795,27 @@ public class SymmLQ
             final double zetaC = zeta * c;
             final double zetaS = zeta * s;
             final int n = xL.getDimension();
-            for (int i = 0; i < n; i++) {
-                final double xi = xL.getEntry(i);
-                final double vi = v.getEntry(i);
-                final double wi = wbar.getEntry(i);
-                xL.setEntry(i, xi + wi * zetaC + vi * zetaS);
-                wbar.setEntry(i, wi * s - vi * c);
+            if (v instanceof ArrayRealVector && wbar instanceof ArrayRealVector) {
+                final double[] xData = ((ArrayRealVector) xL).getDataRef();
+                final double[] vData = ((ArrayRealVector) v).getDataRef();
+                final double[] wData = ((ArrayRealVector) wbar).getDataRef();
+                ParallelUtils.forEach(pool, 0, nbChunks(n), 1, chunk -> {
+                    final int end = FastMath.min(n, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        final double vi = vData[i];
+                        final double wi = wData[i];
+                        xData[i] += wi * zetaC + vi * zetaS;
+                        wData[i]  = wi * s - vi * c;
+                    }
+                });
+            } else {
+                for (int i = 0; i < n; i++) {
+                    final double xi = xL.getEntry(i);
+                    final double vi = v.getEntry(i);
+                    final double wi = wbar.getEntry(i);
+                    xL.setEntry(i, xi + wi * zetaC + vi * zetaS);
+                    wbar.setEntry(i, wi * s - vi * c);
+                }
             }
             /*
              * At this point
@@ -849,7 +955,43 @@ public class SymmLQ
      */
     public SymmLQ(final IterationManager manager, final double delta,
                   final boolean check) {
-        super(manager);
+        this(manager, delta, check, null);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a> and fork-join pool. Note that setting
+     * {@code check} to {@code true} entails an extra matrix-vector product in
+     * the initial phase.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param check {@code true} if self-adjointedness of both matrix and
+     * preconditioner should be checked
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @since 1.9
+     */
+    public SymmLQ(final int maxIterations, final double delta,
+                  final boolean check, final ForkJoinPool pool) {
+        this(new IterationManager(maxIterations), delta, check, pool);
+    }
+
+    /**
+     * Creates a new instance of this class, with <a href="#stopcrit">default
+     * stopping criterion</a>, custom iteration manager and fork-join pool.
+     * Note that setting {@code check} to {@code true} entails an extra
+     * matrix-vector product in the initial phase.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @param check {@code true} if self-adjointedness of both matrix and
+     * preconditioner should be checked
+     * @param pool pool to use (if null, iterations are computed serially in the calling thread)
+     * @since 1.9
+     */
+    public SymmLQ(final IterationManager manager, final double delta,
+                  final boolean check, final ForkJoinPool pool) {
+        super(manager, pool);
         this.delta = delta;
         this.check = check;
     }
@@ -1114,7 +1256,7 @@ public class SymmLQ
         manager.incrementIterationCount();
 
         final State state;
-        state = new State(a, m, b, goodb, shift, delta, check);
+        state = new State(a, m, b, goodb, shift, delta, check, getPool());
         state.init();
         state.refineSolution(x);
         IterativeLinearSolverEvent event;
@@ -22,6 +22,8 @@
 package org.hipparchus.random;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hipparchus.util.FastMath;
 
@@ -40,11 +42,17 @@ import org.hipparchus.util.FastMath;
  *
  * @see <a href="http://www.iro.umontreal.ca/~panneton/WELLRNG.html">WELL Random number generator</a>
  */
-public abstract class AbstractWell extends IntRandomGenerator implements Serializable {
+public abstract class AbstractWell extends IntRandomGenerator implements JumpableRandomGenerator, Serializable {
 
     /** Serializable version identifier. */
     private static final long serialVersionUID = 20150223L;
 
+    /** Base 2 logarithm of the jump distance. */
+    private static final int JUMP_LOG2 = 64;
+
+    /** Jump polynomials for each generator type, computed on first use. */
+    private static final Map<Class<?>, long[]> JUMP_POLYNOMIALS = new ConcurrentHashMap<>();
+
     /** Current index in the bytes pool. */
     protected int index;
 
@@ -93,6 +101,17 @@ public abstract class AbstractWell extends IntRandomGenerator implements Seriali
         this(k, new int[] { (int) (seed >>> 32), (int) (seed & 0xffffffffl) });
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     * @since 1.9
+     */
+    protected AbstractWell(final AbstractWell source) {
+        this.v     = source.v.clone();
+        this.index = source.index;
+        copyCache(source);
+    }
+
     /**
      * Reinitialize the generator as if just built with the given int array seed.
      * <p>
@@ -123,6 +142,73 @@ public abstract class AbstractWell extends IntRandomGenerator implements Seriali
         clearCache(); // Clear normal deviate cache
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The jump distance is 2<sup>64</sup> calls to {@link #nextInt()}. The
+     * jump polynomial is computed once for each generator type, the first time
+     * a jump is requested (this first computation takes from a few milliseconds
+     * to about one second, depending on the pool size), then each jump costs about
+     * as much as generating k numbers, where k is the number of bits in the pool.
+     * </p>
+     * @since 1.9
+     */
+    @Override
+    public void jump() {
+        jump(JUMP_POLYNOMIALS.computeIfAbsent(getClass(),
+                                              c -> F2LinearJump.xPowerOfTwo(linearModulus(), JUMP_LOG2)));
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public abstract AbstractWell copy();
+
+    /** Compute a polynomial annihilating the generator transition matrix.
+     * <p>
+     * The state of the generator is preserved.
+     * </p>
+     * @return polynomial P such that P(T) annihilates all output sequences
+     */
+    long[] linearModulus() {
+        final int[] savedV     = v.clone();
+        final int   savedIndex = index;
+        final long[] p = F2LinearJump.minimalPolynomial(this::nextInt, 64 * v.length);
+        System.arraycopy(savedV, 0, v, 0, v.length);
+        index = savedIndex;
+        // the unused bits of the pool do not belong to the recurrence,
+        // the extra x factors absorb the transient they induce on the first outputs
+        return F2LinearJump.shift(p, 64);
+    }
+
+    /** Apply a jump polynomial.
+     * @param polynomial jump polynomial (reduced modulo {@link #linearModulus()})
+     */
+    void jump(final long[] polynomial) {
+
+        // the pool seen from the current index evolves linearly at each step,
+        // the jumped pool is the combination of pools selected by the polynomial
+        final int   r      = v.length;
+        final int[] jumped = new int[r];
+        for (int i = 0; i < 64 * polynomial.length; ++i) {
+            if (F2LinearJump.coefficient(polynomial, i)) {
+                final int n = r - index;
+                for (int j = 0; j < n; ++j) {
+                    jumped[j] ^= v[index + j];
+                }
+                for (int j = 0; j < index; ++j) {
+                    jumped[n + j] ^= v[j];
+                }
+            }
+            nextInt();
+        }
+
+        System.arraycopy(jumped, 0, v, 0, r);
+        index = 0;
+        clearCache(); // Clear normal deviate cache
+
+    }
+
     /**
      * Calculate the number of 32-bits blocks.
      * @param k number of bits in the pool (not necessarily a multiple of 32)
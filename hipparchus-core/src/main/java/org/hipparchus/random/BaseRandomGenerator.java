@@ -83,6 +83,73 @@ abstract class BaseRandomGenerator implements RandomGenerator {
         return val;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void nextBytes(byte[] bytes) {
+        nextBytesFill(bytes, 0, bytes.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextBytes(byte[] bytes, int start, int len) {
+        if (start < 0 ||
+            start >= bytes.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   start, 0, bytes.length);
+        }
+        if (len < 0 ||
+            len > bytes.length - start) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   len, 0, bytes.length - start);
+        }
+
+        nextBytesFill(bytes, start, len);
+    }
+
+    /**
+     * Generates random bytes and places them into a user-supplied array.
+     *
+     * @see #nextBytes(byte[], int, int)
+     *
+     * @param bytes the non-null byte array in which to put the random bytes
+     * @param offset the starting index for inserting the generated bytes into
+     * the array
+     * @param len the number of bytes to generate
+     * @throws MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len >= bytes.length}
+     */
+    private void nextBytesFill(byte[] bytes, int offset, int len) {
+        int index = offset; // Index of first insertion.
+
+        // Index of first insertion plus multiple of 4 part of length
+        // (i.e. length with 2 least significant bits unset).
+        final int indexLoopLimit = index + (len & 0x7ffffffc);
+
+        // Start filling in the byte array, 4 bytes at a time.
+        while (index < indexLoopLimit) {
+            final int random = nextInt();
+            bytes[index++] = (byte) random;
+            bytes[index++] = (byte) (random >>> 8);
+            bytes[index++] = (byte) (random >>> 16);
+            bytes[index++] = (byte) (random >>> 24);
+        }
+
+        final int indexLimit = offset + len; // Index of last insertion + 1.
+
+        // Fill in the remaining bytes.
+        if (index < indexLimit) {
+            int random = nextInt();
+            while (true) {
+                bytes[index++] = (byte) random;
+                if (index < indexLimit) {
+                    random >>>= 8;
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double nextGaussian() {
@@ -106,6 +173,48 @@ abstract class BaseRandomGenerator implements RandomGenerator {
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation draws all uniform deviates in one call to {@link
+     * #nextDouble(double[], int, int)} and transforms them by pairs, as {@link
+     * #nextGaussian()} does.
+     * </p>
+     * @since 1.9
+     */
+    @Override
+    public void nextGaussian(double[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        int i = offset;
+        final int end = offset + len;
+
+        if (i < end && !Double.isNaN(nextGaussian)) {
+            // use the second element of the pair already generated
+            values[i++] = nextGaussian;
+            nextGaussian = Double.NaN;
+        }
+
+        // draw all the uniform deviates at once, then transform them in place by pairs
+        final int nbPairs = (end - i) / 2;
+        nextDouble(values, i, 2 * nbPairs);
+        for (int k = 0; k < nbPairs; ++k) {
+            final double alpha = 2 * FastMath.PI * values[i];
+            final double r      = FastMath.sqrt(-2 * FastMath.log(values[i + 1]));
+            values[i++] = r * FastMath.cos(alpha);
+            values[i++] = r * FastMath.sin(alpha);
+        }
+
+        if (i < end) {
+            // generate a new pair of gaussian numbers, keeping the second one for later
+            final double x = nextDouble();
+            final double y = nextDouble();
+            final double alpha = 2 * FastMath.PI * x;
+            final double r      = FastMath.sqrt(-2 * FastMath.log(y));
+            values[i]    = r * FastMath.cos(alpha);
+            nextGaussian = r * FastMath.sin(alpha);
+        }
+
+    }
+
     /**
      * Clears the cache used by the default implementation of
      * {@link #nextGaussian}.
@@ -114,10 +223,43 @@ abstract class BaseRandomGenerator implements RandomGenerator {
         nextGaussian = Double.NaN;
     }
 
+    /**
+     * Copies the cache used by the default implementation of
+     * {@link #nextGaussian} from another generator.
+     * @param source generator from which cache should be copied
+     * @since 1.9
+     */
+    void copyCache(final BaseRandomGenerator source) {
+        nextGaussian = source.nextGaussian;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toString() {
         return getClass().getName();
     }
 
+    /**
+     * Checks the range of an array to fill.
+     * @param length length of the array
+     * @param offset the starting index for inserting the generated values into
+     * the array
+     * @param len the number of values to generate
+     * @throws MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > length}
+     * @since 1.9
+     */
+    static void checkRange(final int length, final int offset, final int len) {
+        if (offset < 0 ||
+            offset > length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   offset, 0, length);
+        }
+        if (len < 0 ||
+            len > length - offset) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   len, 0, length - offset);
+        }
+    }
+
 }
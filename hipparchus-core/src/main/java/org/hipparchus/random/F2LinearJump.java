@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import java.util.function.IntSupplier;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Polynomial arithmetic modulo 2 used to jump ahead generators based on
+ * linear recurrences modulo 2 (Mersenne twister, WELL, xoshiro families).
+ * <p>
+ * If T is the transition matrix of such a generator and P(x) a polynomial
+ * annihilating it, then T<sup>J</sup> = φ(T) where φ(x) = x<sup>J</sup> mod P(x).
+ * Jumping J steps ahead therefore reduces to accumulating (by exclusive or)
+ * the states T<sup>i</sup>s for which the coefficient φ<sub>i</sub> is set,
+ * which only requires deg(P) ordinary steps instead of J steps. This is the
+ * method described by Haramoto, Matsumoto, Nishimura, Panneton and L'Ecuyer in
+ * <a href="https://www.iro.umontreal.ca/~lecuyer/myftp/papers/jumpf2.pdf">Efficient
+ * Jump Ahead for F<sub>2</sub>-Linear Random Number Generators</a>, INFORMS Journal
+ * on Computing 20(3), 2008.
+ * </p>
+ * <p>
+ * Polynomials are stored as {@code long} arrays, bit {@code i % 64} of element
+ * {@code i / 64} being the coefficient of x<sup>i</sup>.
+ * </p>
+ * @since 1.9
+ */
+final class F2LinearJump {
+
+    /** Private constructor for a utility class. */
+    private F2LinearJump() {
+        // nothing to do
+    }
+
+    /** Get the coefficient of x<sup>i</sup> in a polynomial.
+     * @param p polynomial
+     * @param i index of the coefficient
+     * @return true if coefficient of x<sup>i</sup> is one
+     */
+    static boolean coefficient(final long[] p, final int i) {
+        return (i >>> 6) < p.length && ((p[i >>> 6] >>> (i & 0x3f)) & 0x1L) != 0;
+    }
+
+    /** Get the degree of a polynomial.
+     * @param p polynomial
+     * @return degree of the polynomial (-1 for the null polynomial)
+     */
+    static int degree(final long[] p) {
+        for (int i = p.length - 1; i >= 0; --i) {
+            if (p[i] != 0) {
+                return 64 * i + 63 - Long.numberOfLeadingZeros(p[i]);
+            }
+        }
+        return -1;
+    }
+
+    /** Compute the minimal polynomial of a bits sequence, using Berlekamp-Massey algorithm.
+     * <p>
+     * The sequence bits are the sign bits of the values provided by the source, so for
+     * a generator the source is typically {@code generator::nextInt}. The number of bits
+     * must be at least twice the degree of the generator recurrence.
+     * </p>
+     * @param source source for the sequence (only the sign bit of each value is used)
+     * @param nbBits number of bits to extract from the source
+     * @return minimal polynomial P such that P(T) annihilates the sequence
+     */
+    static long[] minimalPolynomial(final IntSupplier source, final int nbBits) {
+
+        // store the sequence in reverse order, so the bits s[n-l] ... s[n]
+        // can be extracted as one contiguous block aligned with the connection polynomial
+        final int    nbWords  = (nbBits + 63) / 64 + 1;
+        final long[] reversed = new long[nbWords];
+        for (int j = 0; j < nbBits; ++j) {
+            if (source.getAsInt() < 0) {
+                final int k = nbBits - 1 - j;
+                reversed[k >>> 6] |= 1L << (k & 0x3f);
+            }
+        }
+
+        // Berlekamp-Massey algorithm in GF(2)
+        long[] c = new long[nbWords];
+        long[] b = new long[nbWords];
+        c[0]     = 1L;
+        b[0]     = 1L;
+        int l    = 0;
+        int lB   = 0;
+        int m    = 1;
+        for (int n = 0; n < nbBits; ++n) {
+
+            // discrepancy: s[n] + c[1] s[n-1] + ... + c[l] s[n-l]
+            final int offset = nbBits - 1 - n;
+            final int q      = offset >>> 6;
+            final int r      = offset & 0x3f;
+            long acc = 0L;
+            for (int w = 0; w <= (l >>> 6); ++w) {
+                long window = reversed[q + w] >>> r;
+                if (r != 0 && q + w + 1 < nbWords) {
+                    window |= reversed[q + w + 1] << (64 - r);
+                }
+                acc ^= c[w] & window;
+            }
+
+            if ((Long.bitCount(acc) & 0x1) == 0) {
+                ++m;
+            } else if (2 * l <= n) {
+                final long[] t = c.clone();
+                xorShifted(c, b, lB, m);
+                lB = l;
+                l  = n + 1 - l;
+                b  = t;
+                m  = 1;
+            } else {
+                xorShifted(c, b, lB, m);
+                ++m;
+            }
+
+        }
+
+        // the characteristic polynomial is the reciprocal of the connection polynomial
+        final long[] p = new long[l / 64 + 1];
+        for (int i = 0; i <= l; ++i) {
+            if (coefficient(c, i)) {
+                final int k = l - i;
+                p[k >>> 6] |= 1L << (k & 0x3f);
+            }
+        }
+        return p;
+
+    }
+
+    /** Multiply a polynomial by a power of x.
+     * @param p polynomial
+     * @param n power of x
+     * @return p x<sup>n</sup>
+     */
+    static long[] shift(final long[] p, final int n) {
+        final long[] shifted = new long[(FastMath.max(degree(p), 0) + n) / 64 + 1];
+        xorShifted(shifted, p, 64 * p.length - 1, n);
+        return shifted;
+    }
+
+    /** Compute x<sup>2<sup>e</sup></sup> modulo a polynomial.
+     * @param q modulus (degree must be at least 1)
+     * @param e base 2 logarithm of the exponent
+     * @return x<sup>2<sup>e</sup></sup> mod q
+     */
+    static long[] xPowerOfTwo(final long[] q, final int e) {
+        final Reducer reducer = new Reducer(q);
+        long[] p = reducer.x();
+        for (int i = 0; i < e; ++i) {
+            p = reducer.square(p);
+        }
+        return p;
+    }
+
+    /** Compute x<sup>n</sup> modulo a polynomial.
+     * @param q modulus (degree must be at least 1)
+     * @param n exponent
+     * @return x<sup>n</sup> mod q
+     */
+    static long[] xPower(final long[] q, final long n) {
+        final Reducer reducer = new Reducer(q);
+        long[] p = reducer.one();
+        for (int i = 63 - Long.numberOfLeadingZeros(n); i >= 0; --i) {
+            p = reducer.square(p);
+            if (((n >>> i) & 0x1L) != 0) {
+                p = reducer.multiplyByX(p);
+            }
+        }
+        return p;
+    }
+
+    /** Add a shifted polynomial to another one.
+     * @param c polynomial to update (c ← c + b x<sup>shift</sup>)
+     * @param b polynomial to add
+     * @param degB upper bound of the degree of b
+     * @param shift shift to apply to b
+     */
+    private static void xorShifted(final long[] c, final long[] b, final int degB, final int shift) {
+        final int q  = shift >>> 6;
+        final int r  = shift & 0x3f;
+        final int nb = FastMath.min(FastMath.min(degB / 64 + 1, b.length), c.length - q);
+        for (int w = 0; w < nb; ++w) {
+            c[w + q] ^= b[w] << r;
+            if (r != 0 && w + q + 1 < c.length) {
+                c[w + q + 1] ^= b[w] >>> (64 - r);
+            }
+        }
+    }
+
+    /** Spread the 32 low bits of a long, inserting zeros between them.
+     * @param x bits to spread
+     * @return spread bits (i.e. bit i moved to bit 2i)
+     */
+    private static long spread(final long x) {
+        long s = x & 0xffffffffL;
+        s = (s | (s << 16)) & 0x0000ffff0000ffffL;
+        s = (s | (s <<  8)) & 0x00ff00ff00ff00ffL;
+        s = (s | (s <<  4)) & 0x0f0f0f0f0f0f0f0fL;
+        s = (s | (s <<  2)) & 0x3333333333333333L;
+        s = (s | (s <<  1)) & 0x5555555555555555L;
+        return s;
+    }
+
+    /** Arithmetic modulo a fixed polynomial. */
+    private static class Reducer {
+
+        /** Degree of the modulus. */
+        private final int degree;
+
+        /** Number of words for reduced polynomials. */
+        private final int nbWords;
+
+        /** Modulus shifted by 0 to 63 bits, so reduction only uses aligned words. */
+        private final long[][] shifted;
+
+        /** Simple constructor.
+         * @param q modulus
+         */
+        Reducer(final long[] q) {
+            degree  = degree(q);
+            nbWords = (degree + 63) / 64;
+            shifted = new long[64][];
+            for (int r = 0; r < 64; ++r) {
+                shifted[r] = new long[(degree + r) / 64 + 1];
+                xorShifted(shifted[r], q, degree, r);
+            }
+        }
+
+        /** Get the constant polynomial 1 modulo q.
+         * @return 1 mod q
+         */
+        long[] one() {
+            return reduce(new long[] { 1L }, 0);
+        }
+
+        /** Get the polynomial x modulo q.
+         * @return x mod q
+         */
+        long[] x() {
+            return reduce(new long[] { 2L }, 1);
+        }
+
+        /** Square a polynomial modulo q.
+         * @param p polynomial to square (already reduced)
+         * @return p<sup>2</sup> mod q
+         */
+        long[] square(final long[] p) {
+            // in GF(2), squaring simply spreads the coefficients
+            final long[] s = new long[2 * p.length];
+            for (int i = 0; i < p.length; ++i) {
+                s[2 * i]     = spread(p[i]);
+                s[2 * i + 1] = spread(p[i] >>> 32);
+            }
+            return reduce(s, 64 * s.length - 1);
+        }
+
+        /** Multiply a polynomial by x modulo q.
+         * @param p polynomial to multiply (already reduced)
+         * @return p x mod q
+         */
+        long[] multiplyByX(final long[] p) {
+            final long[] s = new long[p.length + 1];
+            xorShifted(s, p, 64 * p.length - 1, 1);
+            return reduce(s, 64 * s.length - 1);
+        }
+
+        /** Reduce a polynomial in place.
+         * @param p polynomial to reduce (modified in place)
+         * @param maxDegree upper bound of the degree of p
+         * @return reduced polynomial
+         */
+        private long[] reduce(final long[] p, final int maxDegree) {
+            for (int i = FastMath.min(maxDegree, 64 * p.length - 1); i >= degree; --i) {
+                if (((p[i >>> 6] >>> (i & 0x3f)) & 0x1L) != 0) {
+                    final int    t = i - degree;
+                    final int    q = t >>> 6;
+                    final long[] s = shifted[t & 0x3f];
+                    for (int w = 0; w < s.length && w + q < p.length; ++w) {
+                        p[w + q] ^= s[w];
+                    }
+                }
+            }
+            final long[] reduced = new long[nbWords];
+            System.arraycopy(p, 0, reduced, 0, FastMath.min(nbWords, p.length));
+            return reduced;
+        }
+
+    }
+
+}
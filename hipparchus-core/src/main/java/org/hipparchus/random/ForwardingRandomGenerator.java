@@ -115,4 +115,36 @@ abstract class ForwardingRandomGenerator implements RandomGenerator {
     public double nextGaussian() {
         return delegate().nextGaussian();
     }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextInt(int[] values, int offset, int len) {
+        delegate().nextInt(values, offset, len);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextLong(long[] values, int offset, int len) {
+        delegate().nextLong(values, offset, len);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        delegate().nextDouble(values, offset, len);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextGaussian(double[] values, int offset, int len) {
+        delegate().nextGaussian(values, offset, len);
+    }
 }
@@ -22,8 +22,7 @@
 
 package org.hipparchus.random;
 
-import org.hipparchus.exception.LocalizedCoreFormats;
-import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
 
 /**
  * Base class for all {@code int}-based (32-bit) random generator
@@ -31,6 +30,9 @@ import org.hipparchus.exception.MathIllegalArgumentException;
  */
 abstract class IntRandomGenerator extends BaseRandomGenerator {
 
+    /** Maximum number of {@code int} values drawn at once by bulk methods. */
+    private static final int CHUNK_SIZE = 256;
+
     /** {@inheritDoc} */
     @Override
     public abstract int nextInt();
@@ -61,70 +63,46 @@ abstract class IntRandomGenerator extends BaseRandomGenerator {
         return (((long) nextInt()) << 32) | (nextInt() & 0xffffffffL);
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public void nextBytes(byte[] bytes) {
-        nextBytesFill(bytes, 0, bytes.length);
-    }
-
-    /** {@inheritDoc} */
+    /** {@inheritDoc}
+     * <p>
+     * This implementation draws the underlying {@code int} values by chunks,
+     * using {@link #nextInt(int[], int, int)}.
+     * </p>
+     * @since 1.9
+     */
     @Override
-    public void nextBytes(byte[] bytes, int start, int len) {
-        if (start < 0 ||
-            start >= bytes.length) {
-            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
-                                                   start, 0, bytes.length);
-        }
-        if (len < 0 ||
-            len > bytes.length - start) {
-            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
-                                                   len, 0, bytes.length - start);
+    public void nextLong(long[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        final int[] chunk = new int[2 * FastMath.min(len, CHUNK_SIZE)];
+        for (int start = offset; start < offset + len; start += CHUNK_SIZE) {
+            final int n = FastMath.min(CHUNK_SIZE, offset + len - start);
+            nextInt(chunk, 0, 2 * n);
+            for (int i = 0; i < n; ++i) {
+                values[start + i] = (((long) chunk[2 * i]) << 32) | (chunk[2 * i + 1] & 0xffffffffL);
+            }
         }
-
-        nextBytesFill(bytes, start, len);
     }
 
-    /**
-     * Generates random bytes and places them into a user-supplied array.
-     *
-     * @see #nextBytes(byte[], int, int)
-     *
-     * @param bytes the non-null byte array in which to put the random bytes
-     * @param offset the starting index for inserting the generated bytes into
-     * the array
-     * @param len the number of bytes to generate
-     * @throws MathIllegalArgumentException if {@code offset < 0} or
-     * {@code offset + len >= bytes.length}
+    /** {@inheritDoc}
+     * <p>
+     * This implementation draws the underlying {@code int} values by chunks,
+     * using {@link #nextInt(int[], int, int)}.
+     * </p>
+     * @since 1.9
      */
-    private void nextBytesFill(byte[] bytes, int offset, int len) {
-        int index = offset; // Index of first insertion.
-
-        // Index of first insertion plus multiple of 4 part of length
-        // (i.e. length with 2 least significant bits unset).
-        final int indexLoopLimit = index + (len & 0x7ffffffc);
-
-        // Start filling in the byte array, 4 bytes at a time.
-        while (index < indexLoopLimit) {
-            final int random = nextInt();
-            bytes[index++] = (byte) random;
-            bytes[index++] = (byte) (random >>> 8);
-            bytes[index++] = (byte) (random >>> 16);
-            bytes[index++] = (byte) (random >>> 24);
-        }
-
-        final int indexLimit = offset + len; // Index of last insertion + 1.
-
-        // Fill in the remaining bytes.
-        if (index < indexLimit) {
-            int random = nextInt();
-            while (true) {
-                bytes[index++] = (byte) random;
-                if (index < indexLimit) {
-                    random >>>= 8;
-                } else {
-                    break;
-                }
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        final int[] chunk = new int[2 * FastMath.min(len, CHUNK_SIZE)];
+        for (int start = offset; start < offset + len; start += CHUNK_SIZE) {
+            final int n = FastMath.min(CHUNK_SIZE, offset + len - start);
+            nextInt(chunk, 0, 2 * n);
+            for (int i = 0; i < n; ++i) {
+                final long high = ((long) (chunk[2 * i] >>> 6)) << 26;
+                final int  low  = chunk[2 * i + 1] >>> 6;
+                values[start + i] = (high | low) * 0x1.0p-52d;
             }
         }
     }
+
 }
@@ -128,6 +128,39 @@ public class JDKRandomGenerator extends IntRandomGenerator implements Serializab
         return delegate.nextGaussian();
     }
 
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextLong(long[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = delegate.nextLong();
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = delegate.nextDouble();
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextGaussian(double[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = delegate.nextGaussian();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt(int n) {
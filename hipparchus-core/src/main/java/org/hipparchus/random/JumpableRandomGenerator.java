@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+/**
+ * Interface for generators able to advance their state by a large fixed
+ * number of steps in a short time.
+ * <p>
+ * Jumping is the preferred way to provide several threads with statistically
+ * independent and reproducible streams: a master generator is seeded once,
+ * then {@link #copyAndJump()} is called once per worker, each worker receiving
+ * a subsequence that does not overlap the other ones unless it draws more than
+ * the jump distance. The workers can then use their own generator without any
+ * synchronization, contrary to {@link SynchronizedRandomGenerator}.
+ * </p>
+ * @since 1.9
+ */
+public interface JumpableRandomGenerator extends RandomGenerator {
+
+    /** Advance the state of this generator by the jump distance.
+     * <p>
+     * The jump distance is specific to each implementation and is documented there.
+     * </p>
+     */
+    void jump();
+
+    /** Create a copy of this generator, in the same state.
+     * @return new generator, producing the same sequence as this one
+     */
+    JumpableRandomGenerator copy();
+
+    /** Create a copy of this generator and advance this generator by the jump distance.
+     * @return new generator in the state this generator had before the jump
+     */
+    default JumpableRandomGenerator copyAndJump() {
+        final JumpableRandomGenerator copy = copy();
+        jump();
+        return copy;
+    }
+
+}
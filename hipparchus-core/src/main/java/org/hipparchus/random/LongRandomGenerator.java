@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+/**
+ * Base class for all {@code long}-based (64-bit) random generator
+ * implementations.
+ * <p>
+ * Seeding is performed through a {@link SplitMix64} generator, as
+ * recommended for the xorshift family of generators: a single seed
+ * is expanded into a full state with no correlation between its words,
+ * and which is never entirely zero.
+ * </p>
+ * @since 1.9
+ */
+abstract class LongRandomGenerator extends BaseRandomGenerator {
+
+    /** {@inheritDoc} */
+    @Override
+    public abstract long nextLong();
+
+    /** {@inheritDoc} */
+    @Override
+    public void setSeed(int seed) {
+        setSeed((long) seed);
+    }
+
+    /**
+     * Reinitialize the generator as if just built with the given int array seed.
+     * <p>
+     * The array elements are hashed into a single {@code long} seed.
+     * </p>
+     * @param seed the initial seed (32 bits integers array). If null
+     * the seed of the generator will be the system time plus the system identity
+     * hash code of the instance.
+     */
+    @Override
+    public void setSeed(int[] seed) {
+        if (seed == null) {
+            setSeed(System.currentTimeMillis() + System.identityHashCode(this));
+            return;
+        }
+        long hash = 0L;
+        for (final int s : seed) {
+            hash = SplitMix64.mix64(hash + SplitMix64.GOLDEN_GAMMA) ^ (s & 0xffffffffL);
+        }
+        setSeed(hash);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public abstract void setSeed(long seed);
+
+    /** {@inheritDoc} */
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53d;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+}
@@ -85,7 +85,7 @@ import org.hipparchus.util.FastMath;
  * DAMAGE.</strong></td></tr>
  * </table>
  */
-public class MersenneTwister extends IntRandomGenerator implements Serializable {
+public class MersenneTwister extends IntRandomGenerator implements JumpableRandomGenerator, Serializable {
 
     /** Serializable version identifier. */
     private static final long serialVersionUID = 20160529L;
@@ -99,6 +99,9 @@ public class MersenneTwister extends IntRandomGenerator implements Serializable
     /** X * MATRIX_A for X = {0, 1}. */
     private static final int[] MAG01 = { 0x0, 0x9908b0df };
 
+    /** Base 2 logarithm of the jump distance. */
+    private static final int JUMP_LOG2 = 64;
+
     /** Bytes pool. */
     private int[] mt;
 
@@ -144,6 +147,16 @@ public class MersenneTwister extends IntRandomGenerator implements Serializable
         setSeed(seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private MersenneTwister(final MersenneTwister source) {
+        mt  = source.mt.clone();
+        mti = source.mti;
+        copyCache(source);
+    }
+
     /**
      * Reinitialize the generator as if just built with the given int seed.
      * <p>
@@ -227,37 +240,192 @@ public class MersenneTwister extends IntRandomGenerator implements Serializable
     @Override
     public int nextInt() {
 
-        int y;
-
         if (mti >= N) { // generate N words at one time
-            int mtNext = mt[0];
-            for (int k = 0; k < N - M; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+            twist();
+            mti = 0;
+        }
+
+        return temper(mt[mti++]);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextInt(int[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        final int[] pool = mt;
+        int k = mti;
+        for (int i = offset; i < offset + len; ++i) {
+            if (k >= N) {
+                twist();
+                k = 0;
             }
-            for (int k = N - M; k < N - 1; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+            values[i] = temper(pool[k++]);
+        }
+        mti = k;
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextLong(long[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        final int[] pool = mt;
+        int k = mti;
+        for (int i = offset; i < offset + len; ++i) {
+            if (k >= N) {
+                twist();
+                k = 0;
+            }
+            final int high = temper(pool[k++]);
+            if (k >= N) {
+                twist();
+                k = 0;
             }
-            y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
-            mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+            final int low = temper(pool[k++]);
+            values[i] = (((long) high) << 32) | (low & 0xffffffffL);
+        }
+        mti = k;
+    }
 
-            mti = 0;
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        final int[] pool = mt;
+        int k = mti;
+        for (int i = offset; i < offset + len; ++i) {
+            if (k >= N) {
+                twist();
+                k = 0;
+            }
+            final long high = ((long) (temper(pool[k++]) >>> 6)) << 26;
+            if (k >= N) {
+                twist();
+                k = 0;
+            }
+            final int low = temper(pool[k++]) >>> 6;
+            values[i] = (high | low) * 0x1.0p-52d;
         }
+        mti = k;
+    }
 
-        y = mt[mti++];
+    /** Generate N words at one time.
+     */
+    private void twist() {
+        int y;
+        int mtNext = mt[0];
+        for (int k = 0; k < N - M; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        for (int k = N - M; k < N - 1; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
+        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    }
 
-        // tempering
+    /** Apply tempering to a pool word.
+     * @param word pool word
+     * @return tempered word
+     */
+    private static int temper(final int word) {
+        int y = word;
         y ^=  y >>> 11;
         y ^= (y <<   7) & 0x9d2c5680;
         y ^= (y <<  15) & 0xefc60000;
         y ^=  y >>> 18;
-
         return y;
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The jump distance is 2<sup>64</sup> calls to {@link #nextInt()}. The
+     * jump polynomial is computed once, the first time a jump is requested
+     * (this first computation takes a few tenths of a second), then each jump
+     * costs about as much as generating 20000 numbers.
+     * </p>
+     * @since 1.9
+     */
+    @Override
+    public void jump() {
+        jump(JumpPolynomialHolder.JUMP);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public MersenneTwister copy() {
+        return new MersenneTwister(this);
+    }
+
+    /** Compute a polynomial annihilating the generator transition matrix.
+     * <p>
+     * The state of the generator is preserved.
+     * </p>
+     * @return polynomial P such that P(T) annihilates all output sequences
+     */
+    long[] linearModulus() {
+        final int[] savedMt  = mt.clone();
+        final int   savedMti = mti;
+        final long[] p = F2LinearJump.minimalPolynomial(this::nextInt, 64 * N);
+        mt  = savedMt;
+        mti = savedMti;
+        // the 31 unused bits of the pool do not belong to the recurrence,
+        // the extra x factors absorb the transient they induce on the first outputs
+        return F2LinearJump.shift(p, 64);
+    }
+
+    /** Apply a jump polynomial.
+     * @param polynomial jump polynomial (reduced modulo {@link #linearModulus()})
+     */
+    void jump(final long[] polynomial) {
+
+        // untempered sequence, starting at the beginning of the current block
+        final int   nbTerms = 64 * polynomial.length;
+        final int[] x       = new int[mti + nbTerms + N];
+        System.arraycopy(mt, 0, x, 0, N);
+        for (int k = N; k < x.length; ++k) {
+            final int y = (x[k - N] & 0x80000000) | (x[k - N + 1] & 0x7fffffff);
+            x[k] = x[k - N + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+
+        // the pool for a sequence starting at index i is x[i] ... x[i + N - 1],
+        // the jumped pool is the combination of pools selected by the polynomial
+        final int[] jumped = new int[N];
+        for (int i = 0; i < nbTerms; ++i) {
+            if (F2LinearJump.coefficient(polynomial, i)) {
+                final int start = mti + i;
+                for (int j = 0; j < N; ++j) {
+                    jumped[j] ^= x[start + j];
+                }
+            }
+        }
+
+        mt  = jumped;
+        mti = 0;
+        clearCache(); // Clear normal deviate cache
+
+    }
+
+    /** Holder for the jump polynomial, computed on first use. */
+    private static class JumpPolynomialHolder {
+
+        /** Jump polynomial for 2<sup>64</sup> steps. */
+        private static final long[] JUMP =
+                        F2LinearJump.xPowerOfTwo(new MersenneTwister(0).linearModulus(), JUMP_LOG2);
+
+    }
+
 }
@@ -209,4 +209,36 @@ public class RandomAdaptor extends Random implements RandomGenerator {
         }
     }
 
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextInt(int[] values, int offset, int len) {
+        randomGenerator.nextInt(values, offset, len);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextLong(long[] values, int offset, int len) {
+        randomGenerator.nextLong(values, offset, len);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        randomGenerator.nextDouble(values, offset, len);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextGaussian(double[] values, int offset, int len) {
+        randomGenerator.nextGaussian(values, offset, len);
+    }
+
 }
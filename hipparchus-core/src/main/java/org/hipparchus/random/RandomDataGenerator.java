@@ -82,6 +82,9 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
     /** Map of <classname, switch constant> for discrete distributions */
     private static final Map<Class<? extends IntegerDistribution>, IntegerDistributionSampler> DISCRETE_SAMPLERS = new ConcurrentHashMap<>();
 
+    /** Map of <classname, bulk sampler> for continuous distributions with dedicated bulk algorithms */
+    private static final Map<Class<? extends RealDistribution>, RealDistributionFiller> CONTINUOUS_FILLERS = new ConcurrentHashMap<>();
+
     /** The default sampler for continuous distributions using the inversion technique. */
     private static final RealDistributionSampler DEFAULT_REAL_SAMPLER =
             (generator, dist) -> dist.inverseCumulativeProbability(generator.nextDouble());
@@ -111,6 +114,24 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
         double nextSample(RandomDataGenerator generator, RealDistribution distribution);
     }
 
+    /**
+     * Interface for bulk samplers of continuous distributions.
+     */
+    @FunctionalInterface
+    private interface RealDistributionFiller {
+        /**
+         * Fill an array range with samples following the given distribution.
+         *
+         * @param generator the random data generator to use
+         * @param distribution the distribution to use
+         * @param values array to fill
+         * @param offset index of the first value to fill
+         * @param len number of values to fill
+         */
+        void fill(RandomDataGenerator generator, RealDistribution distribution,
+                  double[] values, int offset, int len);
+    }
+
     /**
      * Interface for samplers of discrete distributions.
      */
@@ -198,6 +219,41 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
                     return sampler.sample();
                 });
 
+        // Continuous bulk samplers, drawing all underlying uniform or gaussian deviates at once
+
+        CONTINUOUS_FILLERS.put(NormalDistribution.class,
+                               (generator, dist, values, offset, len) -> {
+                                   final NormalDistribution normal = (NormalDistribution) dist;
+                                   final double mean = normal.getMean();
+                                   final double sd   = normal.getStandardDeviation();
+                                   generator.randomGenerator.nextGaussian(values, offset, len);
+                                   for (int k = offset; k < offset + len; ++k) {
+                                       values[k] = sd * values[k] + mean;
+                                   }
+                               });
+
+        CONTINUOUS_FILLERS.put(LogNormalDistribution.class,
+                               (generator, dist, values, offset, len) -> {
+                                   final LogNormalDistribution logNormal = (LogNormalDistribution) dist;
+                                   final double shape    = logNormal.getShape();
+                                   final double location = logNormal.getLocation();
+                                   generator.randomGenerator.nextGaussian(values, offset, len);
+                                   for (int k = offset; k < offset + len; ++k) {
+                                       values[k] = FastMath.exp(location + shape * values[k]);
+                                   }
+                               });
+
+        CONTINUOUS_FILLERS.put(UniformRealDistribution.class,
+                               (generator, dist, values, offset, len) -> {
+                                   final double lower = dist.getSupportLowerBound();
+                                   final double upper = dist.getSupportUpperBound();
+                                   generator.randomGenerator.nextDouble(values, offset, len);
+                                   for (int k = offset; k < offset + len; ++k) {
+                                       final double u = values[k];
+                                       values[k] = u * upper + (1 - u) * lower;
+                                   }
+                               });
+
         // Discrete samplers
 
         DISCRETE_SAMPLERS.put(PoissonDistribution.class,
@@ -544,14 +600,64 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
      * @return an array of {@code size} values following the given distribution
      */
     public double[] nextDeviates(RealDistribution dist, int size) {
-        //TODO: check parameters
+        final double[] out = new double[size];
+        nextDeviates(dist, out, 0, size);
+        return out;
+    }
 
-        RealDistributionSampler sampler = getSampler(dist);
-        double[] out = new double[size];
-        for (int i = 0; i < size; i++) {
-            out[i] = sampler.nextSample(this, dist);
+    /**
+     * Fills a user-supplied array with random deviates from the given distribution.
+     *
+     * @param dist the distribution to sample from
+     * @param values the non-null array in which to put the random deviates
+     * @since 1.9
+     */
+    public void nextDeviates(RealDistribution dist, double[] values) {
+        nextDeviates(dist, values, 0, values.length);
+    }
+
+    /**
+     * Fills a range of a user-supplied array with random deviates from the given distribution.
+     * <p>
+     * For normal, log-normal and uniform distributions, as well as for all distributions
+     * sampled by inversion, the underlying uniform or gaussian deviates are drawn all at
+     * once using the bulk methods of the random generator. The values are the same as
+     * the ones that would be returned by {@code len} successive calls to
+     * {@link #nextDeviate(RealDistribution)}.
+     * </p>
+     *
+     * @param dist the distribution to sample from
+     * @param values the non-null array in which to put the random deviates
+     * @param offset the starting index for inserting the generated deviates into
+     * the array
+     * @param len the number of deviates to generate
+     * @throws MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > values.length}
+     * @since 1.9
+     */
+    public void nextDeviates(RealDistribution dist, double[] values, int offset, int len) {
+        BaseRandomGenerator.checkRange(values.length, offset, len);
+
+        final RealDistributionFiller filler = CONTINUOUS_FILLERS.get(dist.getClass());
+        if (filler != null) {
+            filler.fill(this, dist, values, offset, len);
+            return;
         }
-        return out;
+
+        final RealDistributionSampler sampler = CONTINUOUS_SAMPLERS.get(dist.getClass());
+        if (sampler != null) {
+            for (int i = offset; i < offset + len; i++) {
+                values[i] = sampler.nextSample(this, dist);
+            }
+            return;
+        }
+
+        // default inversion technique
+        randomGenerator.nextDouble(values, offset, len);
+        for (int i = offset; i < offset + len; i++) {
+            values[i] = dist.inverseCumulativeProbability(values[i]);
+        }
+
     }
 
     /**
@@ -573,14 +679,61 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
      * @return an array of {@code size }values following the given distribution
      */
     public int[] nextDeviates(IntegerDistribution dist, int size) {
-        //TODO: check parameters
+        final int[] out = new int[size];
+        nextDeviates(dist, out, 0, size);
+        return out;
+    }
+
+    /**
+     * Fills a user-supplied array with random deviates from the given distribution.
+     *
+     * @param dist the distribution to sample from
+     * @param values the non-null array in which to put the random deviates
+     * @since 1.9
+     */
+    public void nextDeviates(IntegerDistribution dist, int[] values) {
+        nextDeviates(dist, values, 0, values.length);
+    }
 
-        IntegerDistributionSampler sampler = getSampler(dist);
-        int[] out = new int[size];
-        for (int i = 0; i < size; i++) {
-            out[i] = sampler.nextSample(this, dist);
+    /**
+     * Fills a range of a user-supplied array with random deviates from the given distribution.
+     * <p>
+     * For distributions sampled by inversion, the underlying uniform deviates are drawn
+     * by chunks using the bulk methods of the random generator. The values are the same
+     * as the ones that would be returned by {@code len} successive calls to
+     * {@link #nextDeviate(IntegerDistribution)}.
+     * </p>
+     *
+     * @param dist the distribution to sample from
+     * @param values the non-null array in which to put the random deviates
+     * @param offset the starting index for inserting the generated deviates into
+     * the array
+     * @param len the number of deviates to generate
+     * @throws MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > values.length}
+     * @since 1.9
+     */
+    public void nextDeviates(IntegerDistribution dist, int[] values, int offset, int len) {
+        BaseRandomGenerator.checkRange(values.length, offset, len);
+
+        final IntegerDistributionSampler sampler = DISCRETE_SAMPLERS.get(dist.getClass());
+        if (sampler != null) {
+            for (int i = offset; i < offset + len; i++) {
+                values[i] = sampler.nextSample(this, dist);
+            }
+            return;
         }
-        return out;
+
+        // default inversion technique
+        final double[] uniform = new double[FastMath.min(len, 256)];
+        for (int start = offset; start < offset + len; start += uniform.length) {
+            final int n = FastMath.min(uniform.length, offset + len - start);
+            randomGenerator.nextDouble(uniform, 0, n);
+            for (int i = 0; i < n; i++) {
+                values[start + i] = dist.inverseCumulativeProbability(uniform[i]);
+            }
+        }
+
     }
 
     /**
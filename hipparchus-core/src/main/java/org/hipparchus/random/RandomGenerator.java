@@ -172,4 +172,151 @@ public interface RandomGenerator {
      *  generator's sequence
      */
     double nextGaussian();
+
+    /**
+     * Fills a user-supplied array with pseudorandom, uniformly distributed
+     * {@code int} values.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code values.length} successive calls to {@link #nextInt()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @since 1.9
+     */
+    default void nextInt(int[] values) {
+        nextInt(values, 0, values.length);
+    }
+
+    /**
+     * Fills a range of a user-supplied array with pseudorandom, uniformly
+     * distributed {@code int} values.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code len} successive calls to {@link #nextInt()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @param offset the starting index for inserting the generated values into
+     * the array
+     * @param len the number of values to generate
+     * @throws org.hipparchus.exception.MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > values.length}
+     * @since 1.9
+     */
+    default void nextInt(int[] values, int offset, int len) {
+        BaseRandomGenerator.checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = nextInt();
+        }
+    }
+
+    /**
+     * Fills a user-supplied array with pseudorandom, uniformly distributed
+     * {@code long} values.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code values.length} successive calls to {@link #nextLong()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @since 1.9
+     */
+    default void nextLong(long[] values) {
+        nextLong(values, 0, values.length);
+    }
+
+    /**
+     * Fills a range of a user-supplied array with pseudorandom, uniformly
+     * distributed {@code long} values.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code len} successive calls to {@link #nextLong()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @param offset the starting index for inserting the generated values into
+     * the array
+     * @param len the number of values to generate
+     * @throws org.hipparchus.exception.MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > values.length}
+     * @since 1.9
+     */
+    default void nextLong(long[] values, int offset, int len) {
+        BaseRandomGenerator.checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = nextLong();
+        }
+    }
+
+    /**
+     * Fills a user-supplied array with pseudorandom, uniformly distributed
+     * <code>double</code> values between <code>0.0</code> and <code>1.0</code>.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code values.length} successive calls to {@link #nextDouble()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @since 1.9
+     */
+    default void nextDouble(double[] values) {
+        nextDouble(values, 0, values.length);
+    }
+
+    /**
+     * Fills a range of a user-supplied array with pseudorandom, uniformly
+     * distributed <code>double</code> values between <code>0.0</code> and <code>1.0</code>.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code len} successive calls to {@link #nextDouble()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @param offset the starting index for inserting the generated values into
+     * the array
+     * @param len the number of values to generate
+     * @throws org.hipparchus.exception.MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > values.length}
+     * @since 1.9
+     */
+    default void nextDouble(double[] values, int offset, int len) {
+        BaseRandomGenerator.checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = nextDouble();
+        }
+    }
+
+    /**
+     * Fills a user-supplied array with pseudorandom, Gaussian ("normally")
+     * distributed <code>double</code> values with mean <code>0.0</code> and
+     * standard deviation <code>1.0</code>.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code values.length} successive calls to {@link #nextGaussian()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @since 1.9
+     */
+    default void nextGaussian(double[] values) {
+        nextGaussian(values, 0, values.length);
+    }
+
+    /**
+     * Fills a range of a user-supplied array with pseudorandom, Gaussian ("normally")
+     * distributed <code>double</code> values with mean <code>0.0</code> and
+     * standard deviation <code>1.0</code>.
+     * <p>
+     * The values are the same as the ones that would be returned by
+     * {@code len} successive calls to {@link #nextGaussian()}.
+     * </p>
+     * @param values the non-null array in which to put the random values
+     * @param offset the starting index for inserting the generated values into
+     * the array
+     * @param len the number of values to generate
+     * @throws org.hipparchus.exception.MathIllegalArgumentException if {@code offset < 0} or
+     * {@code offset + len > values.length}
+     * @since 1.9
+     */
+    default void nextGaussian(double[] values, int offset, int len) {
+        BaseRandomGenerator.checkRange(values.length, offset, len);
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = nextGaussian();
+        }
+    }
+
 }
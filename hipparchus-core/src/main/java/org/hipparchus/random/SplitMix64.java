@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import java.io.Serializable;
+
+/**
+ * SplitMix64 random generator.
+ * <p>
+ * This is the generator by Guy L. Steele, Doug Lea and Christine H. Flood
+ * described in <a href="https://doi.org/10.1145/2714064.2660195">Fast
+ * Splittable Pseudorandom Number Generators</a>, OOPSLA 2014. It is the
+ * algorithm behind {@code java.util.SplittableRandom}, and for the same seed
+ * it produces the same {@code long} sequence and the same splits.
+ * </p>
+ * <p>
+ * The state is a 64 bits counter incremented by an odd constant (the gamma)
+ * at each step, the output being a bijective mix of the counter. The period
+ * is therefore 2<sup>64</sup>, which is short for large simulations, but the
+ * generator is very fast, has no bad states, and is the recommended way to expand
+ * a single seed into the larger state of generators like {@link Xoshiro256StarStar}.
+ * </p>
+ * @since 1.9
+ */
+public class SplitMix64 extends LongRandomGenerator implements SplittableRandomGenerator, Serializable {
+
+    /** Default gamma, 2<sup>64</sup>/φ where φ is the golden ratio. */
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Current counter. */
+    private long seed;
+
+    /** Counter increment (always odd). */
+    private long gamma;
+
+    /**
+     * Creates a new random number generator.
+     * <p>
+     * The instance is initialized using the current time plus the
+     * system identity hash code of this instance as the seed.
+     */
+    public SplitMix64() {
+        setSeed(System.currentTimeMillis() + System.identityHashCode(this));
+    }
+
+    /**
+     * Creates a new random number generator using a single int seed.
+     * @param seed the initial seed (32 bits integer)
+     */
+    public SplitMix64(int seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator using an int array seed.
+     * @param seed the initial seed (32 bits integers array), if null
+     * the seed of the generator will be related to the current time
+     */
+    public SplitMix64(int[] seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator using a single long seed.
+     * @param seed the initial seed (64 bits integer)
+     */
+    public SplitMix64(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator with a specified gamma.
+     * @param seed the initial counter
+     * @param gamma counter increment (must be odd)
+     */
+    private SplitMix64(final long seed, final long gamma) {
+        this.seed  = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Reinitialize the generator as if just built with the given long seed.
+     * <p>
+     * The state of the generator is exactly the same as a new
+     * generator built with the same seed.
+     *
+     * @param seed the initial seed (64 bits integer)
+     */
+    @Override
+    public void setSeed(long seed) {
+        this.seed  = seed;
+        this.gamma = GOLDEN_GAMMA;
+        clearCache(); // Clear normal deviate cache
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long nextLong() {
+        seed += gamma;
+        return mix64(seed);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The new generator uses a different gamma, hence produces a different
+     * sequence, not a shifted copy of this one.
+     * </p>
+     */
+    @Override
+    public SplitMix64 split() {
+        final long newSeed = nextLong();
+        seed += gamma;
+        return new SplitMix64(newSeed, mixGamma(seed));
+    }
+
+    /** Mix the bits of a 64 bits value (variant 13 of Stafford's mixers).
+     * @param z value to mix
+     * @return mixed value (this function is a bijection)
+     */
+    static long mix64(final long z) {
+        long m = z;
+        m = (m ^ (m >>> 30)) * 0xbf58476d1ce4e5b9L;
+        m = (m ^ (m >>> 27)) * 0x94d049bb133111ebL;
+        return m ^ (m >>> 31);
+    }
+
+    /** Compute a gamma for a new generator.
+     * @param z counter from which to build the gamma
+     * @return odd gamma with enough bits transitions
+     */
+    private static long mixGamma(final long z) {
+        long m = z;
+        m = (m ^ (m >>> 33)) * 0xff51afd7ed558ccdL;
+        m = (m ^ (m >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        m = (m ^ (m >>> 33)) | 0x1L;
+        // avoid gammas with too few 01 or 10 transitions, they are badly mixed
+        final int n = Long.bitCount(m ^ (m >>> 1));
+        return (n < 24) ? m ^ 0xaaaaaaaaaaaaaaaaL : m;
+    }
+
+}
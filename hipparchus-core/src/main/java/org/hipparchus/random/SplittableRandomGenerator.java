@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+/**
+ * Interface for generators able to create new generators from their own state.
+ * <p>
+ * Splitting is convenient for recursive or dynamic parallel decomposition, when
+ * the number of streams is not known beforehand: each task splits the generator
+ * it received before forking sub-tasks. The parent and child sequences are
+ * statistically independent but, contrary to {@link JumpableRandomGenerator
+ * jumps}, they are not guaranteed not to overlap.
+ * </p>
+ * @since 1.9
+ */
+public interface SplittableRandomGenerator extends RandomGenerator {
+
+    /** Create a new generator, seeded from the current state of this generator.
+     * <p>
+     * The state of this generator is changed by the call, so successive splits
+     * return different generators.
+     * </p>
+     * @return new generator
+     */
+    SplittableRandomGenerator split();
+
+}
@@ -150,4 +150,44 @@ public class SynchronizedRandomGenerator implements RandomGenerator {
         }
     }
 
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextInt(int[] values, int offset, int len) {
+        synchronized (wrapped) {
+            wrapped.nextInt(values, offset, len);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextLong(long[] values, int offset, int len) {
+        synchronized (wrapped) {
+            wrapped.nextLong(values, offset, len);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        synchronized (wrapped) {
+            wrapped.nextDouble(values, offset, len);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextGaussian(double[] values, int offset, int len) {
+        synchronized (wrapped) {
+            wrapped.nextGaussian(values, offset, len);
+        }
+    }
+
 }
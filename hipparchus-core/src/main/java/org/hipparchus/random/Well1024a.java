@@ -89,6 +89,22 @@ public class Well1024a extends AbstractWell {
         super(K, seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Well1024a(final Well1024a source) {
+        super(source);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public Well1024a copy() {
+        return new Well1024a(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt() {
@@ -90,6 +90,22 @@ public class Well19937a extends AbstractWell {
         super(K, seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Well19937a(final Well19937a source) {
+        super(source);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public Well19937a copy() {
+        return new Well19937a(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt() {
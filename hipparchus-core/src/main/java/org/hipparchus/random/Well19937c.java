@@ -90,6 +90,22 @@ public class Well19937c extends AbstractWell {
         super(K, seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Well19937c(final Well19937c source) {
+        super(source);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public Well19937c copy() {
+        return new Well19937c(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt() {
@@ -121,4 +137,46 @@ public class Well19937c extends AbstractWell {
         return z4;
     }
 
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public void nextInt(int[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+
+        // same recurrence as nextInt(), with the pool index held in a local variable
+        final int[] pool = v;
+        int i0 = index;
+        for (int i = offset; i < offset + len; ++i) {
+
+            final int indexRm1 = TABLE.getIndexPred(i0);
+            final int indexRm2 = TABLE.getIndexPred2(i0);
+
+            final int v0       = pool[i0];
+            final int vM1      = pool[TABLE.getIndexM1(i0)];
+            final int vM2      = pool[TABLE.getIndexM2(i0)];
+            final int vM3      = pool[TABLE.getIndexM3(i0)];
+
+            final int z0 = (0x80000000 & pool[indexRm1]) ^ (0x7FFFFFFF & pool[indexRm2]);
+            final int z1 = (v0 ^ (v0 << 25))  ^ (vM1 ^ (vM1 >>> 27));
+            final int z2 = (vM2 >>> 9) ^ (vM3 ^ (vM3 >>> 1));
+            final int z3 = z1      ^ z2;
+            int z4 = z0 ^ (z1 ^ (z1 << 9)) ^ (z2 ^ (z2 << 21)) ^ (z3 ^ (z3 >>> 21));
+
+            pool[i0]        = z3;
+            pool[indexRm1]  = z4;
+            pool[indexRm2] &= 0x80000000;
+            i0              = indexRm1;
+
+            // add Matsumoto-Kurita tempering
+            z4 ^= (z4 <<  7) & 0xe46e1700;
+            z4 ^= (z4 << 15) & 0x9b868000;
+
+            values[i] = z4;
+
+        }
+        index = i0;
+
+    }
+
 }
@@ -89,6 +89,22 @@ public class Well44497a extends AbstractWell {
         super(K, seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Well44497a(final Well44497a source) {
+        super(source);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public Well44497a copy() {
+        return new Well44497a(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt() {
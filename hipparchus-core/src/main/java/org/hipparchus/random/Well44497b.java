@@ -88,6 +88,22 @@ public class Well44497b extends AbstractWell {
         super(K, seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Well44497b(final Well44497b source) {
+        super(source);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public Well44497b copy() {
+        return new Well44497b(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt() {
@@ -90,6 +90,22 @@ public class Well512a extends AbstractWell {
         super(K, seed);
     }
 
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Well512a(final Well512a source) {
+        super(source);
+    }
+
+    /** {@inheritDoc}
+     * @since 1.9
+     */
+    @Override
+    public Well512a copy() {
+        return new Well512a(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public int nextInt() {
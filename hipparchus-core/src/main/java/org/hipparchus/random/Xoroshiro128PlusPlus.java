@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import java.io.Serializable;
+
+/**
+ * xoroshiro128++ random generator.
+ * <p>
+ * This is the small state 64 bits generator by David Blackman and Sebastiano
+ * Vigna described in <a href="https://doi.org/10.1145/3460772">Scrambled Linear
+ * Pseudorandom Number Generators</a>, ACM Transactions on Mathematical Software
+ * 47(4), 2021. It has a 128 bits state and a period of 2<sup>128</sup> - 1. It
+ * is well suited when a very large number of generators must be kept at the same
+ * time, for example one per particle or per path; otherwise {@link Xoshiro256StarStar}
+ * should be preferred.
+ * </p>
+ * <p>
+ * The {@link #jump() jump} distance is 2<sup>64</sup> calls to {@link #nextLong()},
+ * which provides 2<sup>64</sup> non-overlapping subsequences. The {@link #longJump()
+ * long jump} distance is 2<sup>96</sup>.
+ * </p>
+ * @since 1.9
+ */
+public class Xoroshiro128PlusPlus extends LongRandomGenerator
+    implements JumpableRandomGenerator, SplittableRandomGenerator, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Jump polynomial for 2<sup>64</sup> steps. */
+    private static final long[] JUMP = {
+        0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L
+    };
+
+    /** Jump polynomial for 2<sup>96</sup> steps. */
+    private static final long[] LONG_JUMP = {
+        0x360fd5f2cf8d5d99L, 0x9c6e6877736c46e3L
+    };
+
+    /** First state word. */
+    private long s0;
+
+    /** Second state word. */
+    private long s1;
+
+    /**
+     * Creates a new random number generator.
+     * <p>
+     * The instance is initialized using the current time plus the
+     * system identity hash code of this instance as the seed.
+     */
+    public Xoroshiro128PlusPlus() {
+        setSeed(System.currentTimeMillis() + System.identityHashCode(this));
+    }
+
+    /**
+     * Creates a new random number generator using a single int seed.
+     * @param seed the initial seed (32 bits integer)
+     */
+    public Xoroshiro128PlusPlus(int seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator using an int array seed.
+     * @param seed the initial seed (32 bits integers array), if null
+     * the seed of the generator will be related to the current time
+     */
+    public Xoroshiro128PlusPlus(int[] seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator using a single long seed.
+     * @param seed the initial seed (64 bits integer)
+     */
+    public Xoroshiro128PlusPlus(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Xoroshiro128PlusPlus(final Xoroshiro128PlusPlus source) {
+        this.s0 = source.s0;
+        this.s1 = source.s1;
+        copyCache(source);
+    }
+
+    /**
+     * Reinitialize the generator as if just built with the given long seed.
+     * <p>
+     * The state of the generator is exactly the same as a new
+     * generator built with the same seed. It is filled with the
+     * first two outputs of a {@link SplitMix64} generator built
+     * with the same seed.
+     *
+     * @param seed the initial seed (64 bits integer)
+     */
+    @Override
+    public void setSeed(long seed) {
+        final SplitMix64 seeder = new SplitMix64(seed);
+        s0 = seeder.nextLong();
+        s1 = seeder.nextLong();
+        clearCache(); // Clear normal deviate cache
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(s0 + s1, 17) + s0;
+        final long t = s1 ^ s0;
+        s0 = Long.rotateLeft(s0, 49) ^ t ^ (t << 21);
+        s1 = Long.rotateLeft(t, 28);
+        return result;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The jump distance is 2<sup>64</sup> calls to {@link #nextLong()}.
+     * </p>
+     */
+    @Override
+    public void jump() {
+        jump(JUMP);
+    }
+
+    /** Advance the state of this generator by 2<sup>96</sup> calls to {@link #nextLong()}.
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Xoroshiro128PlusPlus copy() {
+        return new Xoroshiro128PlusPlus(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Xoroshiro128PlusPlus copyAndJump() {
+        final Xoroshiro128PlusPlus copy = copy();
+        jump();
+        return copy;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The new generator is seeded with the next output of this generator.
+     * </p>
+     */
+    @Override
+    public Xoroshiro128PlusPlus split() {
+        return new Xoroshiro128PlusPlus(nextLong());
+    }
+
+    /** Apply a jump polynomial.
+     * @param polynomial jump polynomial
+     */
+    void jump(final long[] polynomial) {
+        long j0 = 0;
+        long j1 = 0;
+        for (final long word : polynomial) {
+            for (int b = 0; b < 64; ++b) {
+                if (((word >>> b) & 0x1L) != 0) {
+                    j0 ^= s0;
+                    j1 ^= s1;
+                }
+                nextLong();
+            }
+        }
+        s0 = j0;
+        s1 = j1;
+        clearCache(); // Clear normal deviate cache
+    }
+
+}
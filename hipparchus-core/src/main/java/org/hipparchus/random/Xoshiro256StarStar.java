@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import java.io.Serializable;
+
+/**
+ * xoshiro256** random generator.
+ * <p>
+ * This is the all-purpose 64 bits generator by David Blackman and Sebastiano
+ * Vigna described in <a href="https://doi.org/10.1145/3460772">Scrambled Linear
+ * Pseudorandom Number Generators</a>, ACM Transactions on Mathematical Software
+ * 47(4), 2021. It has a 256 bits state, a period of 2<sup>256</sup> - 1, is
+ * equidistributed in 4 dimensions and passes all known statistical tests. It is
+ * also much faster than {@link MersenneTwister} or the WELL generators.
+ * </p>
+ * <p>
+ * The {@link #jump() jump} distance is 2<sup>128</sup> calls to {@link #nextLong()},
+ * which provides 2<sup>128</sup> non-overlapping subsequences. The {@link #longJump()
+ * long jump} distance is 2<sup>192</sup>, which can be used to first distribute
+ * streams among computers, each computer then distributing its part among threads
+ * with regular jumps.
+ * </p>
+ * @since 1.9
+ */
+public class Xoshiro256StarStar extends LongRandomGenerator
+    implements JumpableRandomGenerator, SplittableRandomGenerator, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Jump polynomial for 2<sup>128</sup> steps. */
+    private static final long[] JUMP = {
+        0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+    };
+
+    /** Jump polynomial for 2<sup>192</sup> steps. */
+    private static final long[] LONG_JUMP = {
+        0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L, 0x39109bb02acbe635L
+    };
+
+    /** First state word. */
+    private long s0;
+
+    /** Second state word. */
+    private long s1;
+
+    /** Third state word. */
+    private long s2;
+
+    /** Fourth state word. */
+    private long s3;
+
+    /**
+     * Creates a new random number generator.
+     * <p>
+     * The instance is initialized using the current time plus the
+     * system identity hash code of this instance as the seed.
+     */
+    public Xoshiro256StarStar() {
+        setSeed(System.currentTimeMillis() + System.identityHashCode(this));
+    }
+
+    /**
+     * Creates a new random number generator using a single int seed.
+     * @param seed the initial seed (32 bits integer)
+     */
+    public Xoshiro256StarStar(int seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator using an int array seed.
+     * @param seed the initial seed (32 bits integers array), if null
+     * the seed of the generator will be related to the current time
+     */
+    public Xoshiro256StarStar(int[] seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator using a single long seed.
+     * @param seed the initial seed (64 bits integer)
+     */
+    public Xoshiro256StarStar(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a new random number generator as a copy of another one.
+     * @param source generator to copy
+     */
+    private Xoshiro256StarStar(final Xoshiro256StarStar source) {
+        this.s0 = source.s0;
+        this.s1 = source.s1;
+        this.s2 = source.s2;
+        this.s3 = source.s3;
+        copyCache(source);
+    }
+
+    /**
+     * Reinitialize the generator as if just built with the given long seed.
+     * <p>
+     * The state of the generator is exactly the same as a new
+     * generator built with the same seed. It is filled with the
+     * first four outputs of a {@link SplitMix64} generator built
+     * with the same seed.
+     *
+     * @param seed the initial seed (64 bits integer)
+     */
+    @Override
+    public void setSeed(long seed) {
+        final SplitMix64 seeder = new SplitMix64(seed);
+        s0 = seeder.nextLong();
+        s1 = seeder.nextLong();
+        s2 = seeder.nextLong();
+        s3 = seeder.nextLong();
+        clearCache(); // Clear normal deviate cache
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextLong(long[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        long x0 = s0;
+        long x1 = s1;
+        long x2 = s2;
+        long x3 = s3;
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = Long.rotateLeft(x1 * 5, 7) * 9;
+            final long t = x1 << 17;
+            x2 ^= x0;
+            x3 ^= x1;
+            x1 ^= x2;
+            x0 ^= x3;
+            x2 ^= t;
+            x3 = Long.rotateLeft(x3, 45);
+        }
+        s0 = x0;
+        s1 = x1;
+        s2 = x2;
+        s3 = x3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nextDouble(double[] values, int offset, int len) {
+        checkRange(values.length, offset, len);
+        long x0 = s0;
+        long x1 = s1;
+        long x2 = s2;
+        long x3 = s3;
+        for (int i = offset; i < offset + len; ++i) {
+            values[i] = ((Long.rotateLeft(x1 * 5, 7) * 9) >>> 11) * 0x1.0p-53d;
+            final long t = x1 << 17;
+            x2 ^= x0;
+            x3 ^= x1;
+            x1 ^= x2;
+            x0 ^= x3;
+            x2 ^= t;
+            x3 = Long.rotateLeft(x3, 45);
+        }
+        s0 = x0;
+        s1 = x1;
+        s2 = x2;
+        s3 = x3;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The jump distance is 2<sup>128</sup> calls to {@link #nextLong()}.
+     * </p>
+     */
+    @Override
+    public void jump() {
+        jump(JUMP);
+    }
+
+    /** Advance the state of this generator by 2<sup>192</sup> calls to {@link #nextLong()}.
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Xoshiro256StarStar copy() {
+        return new Xoshiro256StarStar(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Xoshiro256StarStar copyAndJump() {
+        final Xoshiro256StarStar copy = copy();
+        jump();
+        return copy;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The new generator is seeded with the next output of this generator.
+     * </p>
+     */
+    @Override
+    public Xoshiro256StarStar split() {
+        return new Xoshiro256StarStar(nextLong());
+    }
+
+    /** Apply a jump polynomial.
+     * @param polynomial jump polynomial
+     */
+    void jump(final long[] polynomial) {
+        long j0 = 0;
+        long j1 = 0;
+        long j2 = 0;
+        long j3 = 0;
+        for (final long word : polynomial) {
+            for (int b = 0; b < 64; ++b) {
+                if (((word >>> b) & 0x1L) != 0) {
+                    j0 ^= s0;
+                    j1 ^= s1;
+                    j2 ^= s2;
+                    j3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = j0;
+        s1 = j1;
+        s2 = j2;
+        s3 = j3;
+        clearCache(); // Clear normal deviate cache
+    }
+
+}
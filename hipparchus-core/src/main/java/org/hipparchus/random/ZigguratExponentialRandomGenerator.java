@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Exponential random generator for scalars, using the ziggurat method.
+ * <p>
+ * The ziggurat method of Marsaglia and Tsang covers the exponential density
+ * with 256 horizontal layers of equal area. A sample is generated by picking a
+ * layer and a point in it from a single 64 bits random number; the point is
+ * accepted without further computation if it lies in the part of the layer
+ * that is completely below the density curve, which happens about 99% of the
+ * time. So in most cases, generating an exponential deviate needs no logarithm.
+ * The rare remaining cases (wedges and tail) are handled exactly, so the
+ * generated numbers follow the exponential distribution.
+ * </p>
+ * <p>
+ * The layer tables are computed once, when the class is loaded. As the
+ * underlying generator, instances of this class are not thread-safe.
+ * </p>
+ * @see <a href="https://www.jstatsoft.org/article/view/v005i08">G. Marsaglia and
+ * W. W. Tsang, The Ziggurat Method for Generating Random Variables, Journal of
+ * Statistical Software 5(8), 2000</a>
+ * @see ZigguratNormalizedRandomGenerator
+ * @since 1.9
+ */
+public class ZigguratExponentialRandomGenerator {
+
+    /** Number of layers (must be a power of 2). */
+    private static final int LAYERS = 256;
+
+    /** Mask for extracting the layer index from random bits. */
+    private static final int LAYER_MASK = LAYERS - 1;
+
+    /** Start of the tail, i.e. right edge of the first layer proper. */
+    private static final double R = 7.69711747013104972;
+
+    /** Area of each layer. */
+    private static final double V = 0.0039496598225815571993;
+
+    /** Scaling factor for converting 53 bits to a double in [0, 1). */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /** Right edges of the layers, from bottom ({@link #R} for the first one proper) to top (0). */
+    private static final double[] X;
+
+    /** Density values at layers edges. */
+    private static final double[] F;
+
+    static {
+        X = new double[LAYERS + 1];
+        F = new double[LAYERS + 1];
+        // the base layer is the rectangle below R plus the tail,
+        // it is seen as a pseudo-rectangle with area V
+        X[0] = V / FastMath.exp(-R);
+        X[1] = R;
+        for (int i = 1; i < LAYERS - 1; ++i) {
+            X[i + 1] = -FastMath.log(V / X[i] + FastMath.exp(-X[i]));
+        }
+        X[LAYERS] = 0;
+        for (int i = 0; i <= LAYERS; ++i) {
+            F[i] = FastMath.exp(-X[i]);
+        }
+    }
+
+    /** Underlying generator. */
+    private final RandomGenerator generator;
+
+    /** Create a new generator.
+     * @param generator underlying random generator to use
+     */
+    public ZigguratExponentialRandomGenerator(final RandomGenerator generator) {
+        this.generator = generator;
+    }
+
+    /** Generate a random scalar following an exponential distribution with unit mean.
+     * @return a random scalar following an exponential distribution with unit mean
+     */
+    public double nextExponential() {
+        double shift = 0;
+        while (true) {
+            // a single 64 bits random number gives the layer (8 bits)
+            // and the abscissa in the layer (53 bits)
+            final long   bits = generator.nextLong();
+            final int    i    = (int) bits & LAYER_MASK;
+            final double x    = ((bits >>> 11) * DOUBLE_UNIT) * X[i];
+
+            if (x < X[i + 1]) {
+                // the point is in the part of the layer fully below the density
+                return shift + x;
+            }
+
+            if (i == 0) {
+                // the point is in the tail, which is itself exponential (memoryless property)
+                shift += R;
+            } else if (F[i] + generator.nextDouble() * (F[i + 1] - F[i]) < FastMath.exp(-x)) {
+                // the point is in the wedge, below the density
+                return shift + x;
+            }
+
+        }
+    }
+
+    /** Generate a random scalar following an exponential distribution.
+     * @param mean mean of the distribution
+     * @return a random scalar following an exponential distribution with specified mean
+     * @exception MathIllegalArgumentException if {@code mean} is not strictly positive
+     */
+    public double nextExponential(final double mean) {
+        if (mean <= 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.MEAN, mean);
+        }
+        return mean * nextExponential();
+    }
+
+}
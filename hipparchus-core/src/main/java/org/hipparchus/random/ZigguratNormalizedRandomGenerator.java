@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Gaussian normalized random generator for scalars, using the ziggurat method.
+ * <p>
+ * The ziggurat method of Marsaglia and Tsang covers the Gaussian density with
+ * 256 horizontal layers of equal area. A sample is generated by picking a layer
+ * and a point in it from a single 64 bits random number; the point is accepted
+ * without further computation if it lies in the part of the layer that is
+ * completely below the density curve, which happens about 99% of the time. So
+ * in most cases, generating a normal deviate needs neither logarithms, square
+ * roots nor trigonometric functions, in contrast with the Box-Muller transform
+ * used by {@link RandomGenerator#nextGaussian()}. The rare remaining cases
+ * (wedges and tail) are handled exactly, so the generated numbers follow the
+ * normal distribution.
+ * </p>
+ * <p>
+ * The layer tables are computed once, when the class is loaded. As the
+ * underlying generator, instances of this class are not thread-safe.
+ * </p>
+ * @see <a href="https://www.jstatsoft.org/article/view/v005i08">G. Marsaglia and
+ * W. W. Tsang, The Ziggurat Method for Generating Random Variables, Journal of
+ * Statistical Software 5(8), 2000</a>
+ * @see ZigguratExponentialRandomGenerator
+ * @since 1.9
+ */
+public class ZigguratNormalizedRandomGenerator implements NormalizedRandomGenerator {
+
+    /** Number of layers (must be a power of 2). */
+    private static final int LAYERS = 256;
+
+    /** Mask for extracting the layer index from random bits. */
+    private static final int LAYER_MASK = LAYERS - 1;
+
+    /** Bit holding the sign of the deviate. */
+    private static final long SIGN_BIT = 0x100L;
+
+    /** Start of the tail, i.e. right edge of the first layer proper. */
+    private static final double R = 3.6541528853610088;
+
+    /** Area of each layer (for the unnormalized density exp(-x²/2)). */
+    private static final double V = 0.00492867323399;
+
+    /** Scaling factor for converting 53 bits to a double in [0, 1). */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /** Right edges of the layers, from bottom ({@link #R} for the first one proper) to top (0). */
+    private static final double[] X;
+
+    /** Density values at layers edges. */
+    private static final double[] F;
+
+    static {
+        X = new double[LAYERS + 1];
+        F = new double[LAYERS + 1];
+        // the base layer is the rectangle below R plus the tail,
+        // it is seen as a pseudo-rectangle with area V
+        X[0] = V / FastMath.exp(-0.5 * R * R);
+        X[1] = R;
+        for (int i = 1; i < LAYERS - 1; ++i) {
+            X[i + 1] = FastMath.sqrt(-2 * FastMath.log(V / X[i] + FastMath.exp(-0.5 * X[i] * X[i])));
+        }
+        X[LAYERS] = 0;
+        for (int i = 0; i <= LAYERS; ++i) {
+            F[i] = FastMath.exp(-0.5 * X[i] * X[i]);
+        }
+    }
+
+    /** Underlying generator. */
+    private final RandomGenerator generator;
+
+    /** Create a new generator.
+     * @param generator underlying random generator to use
+     */
+    public ZigguratNormalizedRandomGenerator(final RandomGenerator generator) {
+        this.generator = generator;
+    }
+
+    /** Generate a random scalar with null mean and unit standard deviation.
+     * @return a random scalar with null mean and unit standard deviation
+     */
+    @Override
+    public double nextNormalizedDouble() {
+        while (true) {
+            // a single 64 bits random number gives the layer (8 bits),
+            // the sign (1 bit) and the abscissa in the layer (53 bits)
+            final long   bits = generator.nextLong();
+            final int    i    = (int) bits & LAYER_MASK;
+            final double x    = ((bits >>> 11) * DOUBLE_UNIT) * X[i];
+            final double sign = (bits & SIGN_BIT) == 0 ? 1.0 : -1.0;
+
+            if (x < X[i + 1]) {
+                // the point is in the part of the layer fully below the density
+                return sign * x;
+            }
+
+            if (i == 0) {
+                // the point is in the tail, use Marsaglia's tail algorithm
+                double xt;
+                double yt;
+                do {
+                    xt = -FastMath.log(1.0 - generator.nextDouble()) / R;
+                    yt = -FastMath.log(1.0 - generator.nextDouble());
+                } while (yt + yt < xt * xt);
+                return sign * (R + xt);
+            }
+
+            // the point is in the wedge, check it against the density
+            if (F[i] + generator.nextDouble() * (F[i + 1] - F[i]) < FastMath.exp(-0.5 * x * x)) {
+                return sign * x;
+            }
+
+        }
+    }
+
+}
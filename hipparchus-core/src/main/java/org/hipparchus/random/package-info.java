@@ -126,6 +126,22 @@
  *      </p>
  *
  *      <p>
+ *      For multi-threaded simulations, sharing one generator through {@link
+ *      org.hipparchus.random.SynchronizedRandomGenerator SynchronizedRandomGenerator} serializes
+ *      all draws. It is better to give each thread its own generator, on a stream that does not
+ *      overlap the other ones. Generators implementing {@link
+ *      org.hipparchus.random.JumpableRandomGenerator JumpableRandomGenerator} provide such streams
+ *      through {@link org.hipparchus.random.JumpableRandomGenerator#copyAndJump() copyAndJump()}:
+ *      {@link org.hipparchus.random.Xoshiro256StarStar Xoshiro256StarStar} and {@link
+ *      org.hipparchus.random.Xoroshiro128PlusPlus Xoroshiro128PlusPlus} jump in constant time, while
+ *      MersenneTwister and the WELL generators jump with a cost similar to generating as many numbers
+ *      as their pool has bits. Generators implementing {@link
+ *      org.hipparchus.random.SplittableRandomGenerator SplittableRandomGenerator}, like {@link
+ *      org.hipparchus.random.SplitMix64 SplitMix64}, can also create new generators on the fly,
+ *      which is convenient for recursive decomposition.
+ *      </p>
+ *
+ *      <p>
  *      Note that <em>none</em> of these generators are suitable for cryptography. They are devoted
  *      to simulation, and to generate very long series with strong properties on the series as a whole
  *      (equidistribution, no correlation ...). They do not attempt to create small series but with
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Utilities for running loops with independent iterations on a fork-join pool.
+ * <p>
+ * All methods accept a {@code null} pool, which means the loop is executed
+ * serially in the calling thread. This allows algorithms to share one code
+ * path for both serial and parallel execution.
+ * </p>
+ * @since 1.9
+ */
+public final class ParallelUtils {
+
+    /** Private constructor (class contains only static methods). */
+    private ParallelUtils() {}
+
+    /** Run a loop body for all indices in a range.
+     * <p>
+     * The range is split recursively until sub-ranges contain at most
+     * {@code grain} indices, each sub-range being processed by one task.
+     * The iterations <em>must</em> be independent of each other, as they
+     * may be run concurrently and in any order. The method returns only
+     * once all iterations have completed. If some iteration throws an
+     * exception, it is propagated to the caller.
+     * </p>
+     * @param pool pool to use (if null, the loop is run serially in the calling thread)
+     * @param start first index (included)
+     * @param end last index (excluded)
+     * @param grain maximum number of indices processed by one task (must be strictly positive)
+     * @param body loop body, called once for each index
+     */
+    public static void forEach(final ForkJoinPool pool, final int start, final int end,
+                               final int grain, final IntConsumer body) {
+        if (pool == null || end - start <= grain) {
+            for (int i = start; i < end; ++i) {
+                body.accept(i);
+            }
+        } else {
+            pool.invoke(new RangeAction(start, end, grain, body));
+        }
+    }
+
+    /** Sum partial results computed over sub-ranges of indices.
+     * <p>
+     * The range is split recursively until sub-ranges contain at most
+     * {@code grain} indices, each sub-range partial sum being computed by
+     * one task, and partial sums being added pairwise. As floating-point
+     * addition is not associative, the result may differ slightly from
+     * the serial sum, but it does not depend on the number of threads
+     * in the pool.
+     * </p>
+     * @param pool pool to use (if null, {@code body} is called once for
+     * the whole range in the calling thread)
+     * @param start first index (included)
+     * @param end last index (excluded)
+     * @param grain maximum number of indices processed by one task (must be strictly positive)
+     * @param body partial sum over a sub-range
+     * @return sum of all partial sums
+     */
+    public static double sum(final ForkJoinPool pool, final int start, final int end,
+                             final int grain, final RangeSum body) {
+        if (pool == null || end - start <= grain) {
+            return body.sum(start, end);
+        } else {
+            return pool.invoke(new RangeSumTask(start, end, grain, body));
+        }
+    }
+
+    /** Partial sum over a range of indices.
+     */
+    @FunctionalInterface
+    public interface RangeSum {
+
+        /** Compute the partial sum over a range of indices.
+         * @param start first index (included)
+         * @param end last index (excluded)
+         * @return partial sum
+         */
+        double sum(int start, int end);
+
+    }
+
+    /** Task processing a range of indices. */
+    private static class RangeAction extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201205L;
+
+        /** First index (included). */
+        private final int start;
+
+        /** Last index (excluded). */
+        private final int end;
+
+        /** Maximum number of indices processed without splitting. */
+        private final int grain;
+
+        /** Loop body. */
+        private final transient IntConsumer body;
+
+        /** Simple constructor.
+         * @param start first index (included)
+         * @param end last index (excluded)
+         * @param grain maximum number of indices processed without splitting
+         * @param body loop body
+         */
+        RangeAction(final int start, final int end, final int grain, final IntConsumer body) {
+            this.start = start;
+            this.end   = end;
+            this.grain = grain;
+            this.body  = body;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                for (int i = start; i < end; ++i) {
+                    body.accept(i);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new RangeAction(start, middle, grain, body),
+                          new RangeAction(middle, end, grain, body));
+            }
+        }
+
+    }
+
+    /** Task summing over a range of indices. */
+    private static class RangeSumTask extends RecursiveTask<Double> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20210117L;
+
+        /** First index (included). */
+        private final int start;
+
+        /** Last index (excluded). */
+        private final int end;
+
+        /** Maximum number of indices processed without splitting. */
+        private final int grain;
+
+        /** Partial sum. */
+        private final transient RangeSum body;
+
+        /** Simple constructor.
+         * @param start first index (included)
+         * @param end last index (excluded)
+         * @param grain maximum number of indices processed without splitting
+         * @param body partial sum
+         */
+        RangeSumTask(final int start, final int end, final int grain, final RangeSum body) {
+            this.start = start;
+            this.end   = end;
+            this.grain = grain;
+            this.body  = body;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Double compute() {
+            if (end - start <= grain) {
+                return body.sum(start, end);
+            } else {
+                final int middle = (start + end) >>> 1;
+                final RangeSumTask left = new RangeSumTask(start, middle, grain, body);
+                left.fork();
+                final double right = new RangeSumTask(middle, end, grain, body).compute();
+                return left.join() + right;
+            }
+        }
+
+    }
+
+}
@@ -21,7 +21,10 @@
  */
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -174,4 +177,26 @@ public class ArrayRealVectorTest extends RealVectorAbstractTest {
         Assert.assertEquals(0, new ArrayRealVector(new double[0], true).getDimension());
         Assert.assertEquals(0, new ArrayRealVector(new double[0], false).getDimension());
     }
+
+    @Test
+    public void testParallelDotProductAndCombine() {
+        final int n = 50000;
+        final ArrayRealVector u = new ArrayRealVector(n);
+        final ArrayRealVector v = new ArrayRealVector(n);
+        for (int i = 0; i < n; ++i) {
+            u.setEntry(i, FastMath.sin(0.001 * i));
+            v.setEntry(i, FastMath.cos(0.003 * i));
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(u.dotProduct(v), u.dotProduct(v, null), 0.0);
+            Assert.assertEquals(u.dotProduct(v), u.dotProduct(v, pool), 1.0e-11);
+            final ArrayRealVector serial   = u.copy().combineToSelf(0.5, -2.0, v);
+            final ArrayRealVector parallel = u.copy().combineToSelf(0.5, -2.0, v, pool);
+            Assert.assertArrayEquals(serial.getDataRef(), parallel.getDataRef(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.IterationEvent;
+import org.hipparchus.util.IterationListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BiCGSTABTest {
+
+    @Test
+    public void testNonSymmetric() {
+        final CompressedSparseRealMatrix a = GMRESTest.convectionDiffusion(20, 0.8);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final RealVector ref = new LUDecomposition(a).getSolver().solve(b);
+        final BiCGSTAB solver = new BiCGSTAB(1000, 1.0e-12);
+        final RealVector x = solver.solve(a, b);
+        Assert.assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+        Assert.assertEquals(0.0, x.subtract(ref).getNorm(), 1.0e-9 * ref.getNorm());
+    }
+
+    @Test
+    public void testPreconditioned() {
+        final CompressedSparseRealMatrix a = GMRESTest.convectionDiffusion(30, 0.8);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final BiCGSTAB plain = new BiCGSTAB(10000, 1.0e-10);
+        final RealVector x1 = plain.solve(a, b);
+        final BiCGSTAB preconditioned = new BiCGSTAB(10000, 1.0e-10);
+        final RealVector x2 = preconditioned.solve(a, new SSORPreconditioner(a, 1.0), b);
+        Assert.assertEquals(0.0, a.operate(x1).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+        Assert.assertEquals(0.0, a.operate(x2).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+        Assert.assertTrue(preconditioned.getIterationManager().getIterations() <
+                          plain.getIterationManager().getIterations());
+    }
+
+    @Test
+    public void testUpdatedResidual() {
+        final CompressedSparseRealMatrix a = GMRESTest.convectionDiffusion(10, 0.5);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final BiCGSTAB solver = new BiCGSTAB(1000, 1.0e-10);
+        final int[] count = new int[1];
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+            public void initializationPerformed(final IterationEvent e) {
+                check(e);
+            }
+            public void iterationStarted(final IterationEvent e) {
+            }
+            public void iterationPerformed(final IterationEvent e) {
+                ++count[0];
+                check(e);
+            }
+            public void terminationPerformed(final IterationEvent e) {
+                check(e);
+            }
+            private void check(final IterationEvent e) {
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                Assert.assertTrue(evt.providesResidual());
+                final RealVector r = evt.getRightHandSideVector().subtract(a.operate(evt.getSolution()));
+                Assert.assertEquals(0.0, r.subtract(evt.getResidual()).getNorm(), 1.0e-12 * b.getNorm());
+                Assert.assertEquals(evt.getResidual().getNorm(), evt.getNormOfResidual(), 1.0e-15 * b.getNorm());
+            }
+        });
+        solver.solve(a, b);
+        Assert.assertEquals(solver.getIterationManager().getIterations() - 1, count[0]);
+    }
+
+    @Test
+    public void testParallel() {
+        final CompressedSparseRealMatrix a = GMRESTest.convectionDiffusion(100, 0.8);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final BiCGSTAB serial   = new BiCGSTAB(10000, 1.0e-10);
+            final BiCGSTAB parallel = new BiCGSTAB(10000, 1.0e-10, pool);
+            final RealVector xS = serial.solve(a, JacobiPreconditioner.create(a), b);
+            final RealVector xP = parallel.solve(a, JacobiPreconditioner.create(a), b);
+            Assert.assertEquals(0.0, a.operate(xP).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+            Assert.assertEquals(0.0, xP.subtract(xS).getNorm(), 1.0e-8 * xS.getNorm());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBreakdown() {
+        // for this rotation, the shadow residual is orthogonal to A r
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            { 0.0, -1.0 },
+            { 1.0,  0.0 }
+        });
+        try {
+            new BiCGSTAB(10, 1.0e-12).solve(a, new ArrayRealVector(new double[] { 1.0, 0.0 }));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals(LocalizedCoreFormats.CONVERGENCE_FAILED, mise.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNonSquare() {
+        try {
+            new BiCGSTAB(10, 1.0e-12).solve(new Array2DRowRealMatrix(3, 2), new ArrayRealVector(3));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_SQUARE_OPERATOR, miae.getSpecifier());
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ package org.hipparchus.linear;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.UnitTestUtils;
 import org.hipparchus.exception.LocalizedCoreFormats;
@@ -333,6 +334,36 @@ public final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    public void testParallelProducts() {
+        final Random r = new Random(0x4b3f1e27a6d98c05l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int[] dims : new int[][] { { 1, 1, 1 }, { 53, 105, 17 }, { 130, 70, 160 } }) {
+                final BlockRealMatrix a = createRandomMatrix(r, dims[0], dims[1]);
+                final BlockRealMatrix b = createRandomMatrix(r, dims[1], dims[2]);
+                final BlockRealMatrix c = createRandomMatrix(r, dims[2], dims[1]);
+                final BlockRealMatrix d = createRandomMatrix(r, dims[0], dims[2]);
+                // parallel computation must give exactly the same results as serial computation
+                Assert.assertEquals(0.0, a.multiply(b, pool).subtract(a.multiply(b)).getNorm1(), 0.0);
+                Assert.assertEquals(0.0, a.multiplyTransposed(c, pool).subtract(a.multiplyTransposed(c)).getNorm1(), 0.0);
+                Assert.assertEquals(0.0, a.transposeMultiply(d, pool).subtract(a.transposeMultiply(d)).getNorm1(), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testParallelMultiplyWrongDimensions() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new BlockRealMatrix(3, 2).multiply(new BlockRealMatrix(3, 2), pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testMultiplyTransposedArray2DRowRealMatrix() {
         RandomGenerator randomGenerator = new Well1024a(0xac2d0185fc69670bl);
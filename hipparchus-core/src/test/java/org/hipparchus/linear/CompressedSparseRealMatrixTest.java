@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.ParallelUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressedSparseRealMatrixTest {
+
+    @Test
+    public void testDenseRoundTrip() {
+        final RealMatrix dense = randomSparse(new Well19937a(0x9c6a2e4b7f3d1085l), 13, 17, 0.2);
+        for (final CompressedSparseRealMatrix.Format format : CompressedSparseRealMatrix.Format.values()) {
+            final CompressedSparseRealMatrix sparse = new CompressedSparseRealMatrix(dense, format);
+            Assert.assertEquals(format, sparse.getFormat());
+            Assert.assertEquals(13, sparse.getRowDimension());
+            Assert.assertEquals(17, sparse.getColumnDimension());
+            Assert.assertEquals(countNonZero(dense), sparse.getStoredEntriesCount());
+            Assert.assertEquals(0.0, dense.subtract(sparse).getNorm1(), 0.0);
+            for (final CompressedSparseRealMatrix.Format other : CompressedSparseRealMatrix.Format.values()) {
+                final CompressedSparseRealMatrix converted = sparse.convert(other);
+                Assert.assertEquals(other, converted.getFormat());
+                Assert.assertEquals(0.0, dense.subtract(converted).getNorm1(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testTriplets() {
+        final int[]    rows    = { 2, 0, 2, 1, 0, 2 };
+        final int[]    columns = { 1, 3, 1, 0, 3, 3 };
+        final double[] values  = { 1.5, 2.0, 0.5, -1.0, 3.0, 4.0 };
+        for (final CompressedSparseRealMatrix.Format format : CompressedSparseRealMatrix.Format.values()) {
+            final CompressedSparseRealMatrix m =
+                            CompressedSparseRealMatrix.createFromTriplets(3, 4, rows, columns, values, format);
+            // duplicates are summed
+            Assert.assertEquals(4, m.getStoredEntriesCount());
+            Assert.assertEquals( 2.0, m.getEntry(2, 1), 0.0);
+            Assert.assertEquals( 5.0, m.getEntry(0, 3), 0.0);
+            Assert.assertEquals(-1.0, m.getEntry(1, 0), 0.0);
+            Assert.assertEquals( 4.0, m.getEntry(2, 3), 0.0);
+            Assert.assertEquals( 0.0, m.getEntry(1, 1), 0.0);
+            // indices are sorted within each slice
+            final int[] pointers = m.getPointersRef();
+            final int[] indices  = m.getIndicesRef();
+            for (int s = 0; s < pointers.length - 1; ++s) {
+                for (int p = pointers[s] + 1; p < pointers[s + 1]; ++p) {
+                    Assert.assertTrue(indices[p] > indices[p - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRawArrays() {
+        final CompressedSparseRealMatrix m =
+                        new CompressedSparseRealMatrix(2, 3, new int[] { 0, 2, 3 }, new int[] { 0, 2, 1 },
+                                                       new double[] { 1.0, 2.0, 3.0 },
+                                                       CompressedSparseRealMatrix.Format.CSR);
+        Assert.assertEquals(1.0, m.getEntry(0, 0), 0.0);
+        Assert.assertEquals(2.0, m.getEntry(0, 2), 0.0);
+        Assert.assertEquals(3.0, m.getEntry(1, 1), 0.0);
+        try {
+            new CompressedSparseRealMatrix(2, 3, new int[] { 0, 2, 3 }, new int[] { 2, 0, 1 },
+                                           new double[] { 1.0, 2.0, 3.0 },
+                                           CompressedSparseRealMatrix.Format.CSR);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE, miae.getSpecifier());
+        }
+        try {
+            new CompressedSparseRealMatrix(2, 3, new int[] { 0, 2, 3 }, new int[] { 0, 3, 1 },
+                                           new double[] { 1.0, 2.0, 3.0 },
+                                           CompressedSparseRealMatrix.Format.CSR);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        }
+        try {
+            new CompressedSparseRealMatrix(2, 3, new int[] { 0, 2 }, new int[] { 0, 2 },
+                                           new double[] { 1.0, 2.0 },
+                                           CompressedSparseRealMatrix.Format.CSR);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testPendingEntries() {
+        final RandomGenerator random = new Well19937a(0x4e81b3f2a69c0d57l);
+        for (final CompressedSparseRealMatrix.Format format : CompressedSparseRealMatrix.Format.values()) {
+            final CompressedSparseRealMatrix sparse = new CompressedSparseRealMatrix(8, 6, format);
+            final RealMatrix dense = MatrixUtils.createRealMatrix(8, 6);
+            for (int k = 0; k < 200; ++k) {
+                final int    i = random.nextInt(8);
+                final int    j = random.nextInt(6);
+                final double v = random.nextDouble();
+                switch (k % 4) {
+                    case 0 :
+                        sparse.setEntry(i, j, v);
+                        dense.setEntry(i, j, v);
+                        break;
+                    case 1 :
+                        sparse.addToEntry(i, j, v);
+                        dense.addToEntry(i, j, v);
+                        break;
+                    case 2 :
+                        sparse.multiplyEntry(i, j, v);
+                        dense.multiplyEntry(i, j, v);
+                        break;
+                    default :
+                        // force merging pending entries from time to time
+                        Assert.assertEquals(0.0, dense.subtract(sparse.copy()).getNorm1(), 1.0e-15);
+                }
+                Assert.assertEquals(dense.getEntry(i, j), sparse.getEntry(i, j), 1.0e-15);
+            }
+            Assert.assertEquals(0.0, dense.subtract(sparse).getNorm1(), 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testAssemblyWithPendingEntries() {
+        final RandomGenerator random = new Well19937a(0x1f7d3b9a5c2e4860l);
+        for (final CompressedSparseRealMatrix.Format format : CompressedSparseRealMatrix.Format.values()) {
+            final CompressedSparseRealMatrix sparse = new CompressedSparseRealMatrix(30, 20, format);
+            final RealMatrix dense = MatrixUtils.createRealMatrix(30, 20);
+            // read-modify-write loop on entries outside of the pattern
+            for (int k = 0; k < 500; ++k) {
+                final int    i = random.nextInt(30);
+                final int    j = random.nextInt(20);
+                final double v = random.nextDouble();
+                sparse.setEntry(i, j, sparse.getEntry(i, j) + v);
+                dense.setEntry(i, j, dense.getEntry(i, j) + v);
+            }
+            // changing visitors also read and write entries one at a time
+            final DefaultRealMatrixChangingVisitor doubler = new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(final int row, final int column, final double value) {
+                    return 2 * value + row - column;
+                }
+            };
+            sparse.walkInRowOrder(doubler);
+            dense.walkInRowOrder(doubler);
+            sparse.walkInOptimizedOrder(doubler);
+            dense.walkInOptimizedOrder(doubler);
+            Assert.assertEquals(0.0, dense.subtract(sparse).getNorm1(), 1.0e-13);
+        }
+    }
+
+    @Test
+    public void testConcurrentReadsMergePendingEntries() {
+        final RandomGenerator random = new Well19937a(0x9a2f6c1d8e3b5047l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 20; ++round) {
+                final RealMatrix dense = randomSparse(random, 60, 50, 0.05);
+                final CompressedSparseRealMatrix sparse =
+                                new CompressedSparseRealMatrix(dense, CompressedSparseRealMatrix.Format.CSR);
+                // add entries outside of the pattern, they remain pending until the first read
+                for (int k = 0; k < 100; ++k) {
+                    final int    i = random.nextInt(60);
+                    final int    j = random.nextInt(50);
+                    final double v = random.nextDouble();
+                    sparse.setEntry(i, j, v);
+                    dense.setEntry(i, j, v);
+                }
+                final double[] v = new double[50];
+                for (int j = 0; j < v.length; ++j) {
+                    v[j] = random.nextDouble();
+                }
+                final double[] reference = dense.operate(v);
+                ParallelUtils.forEach(pool, 0, 16, 1, task -> {
+                    if (task % 2 == 0) {
+                        for (int i = 0; i < 60; ++i) {
+                            for (int j = 0; j < 50; ++j) {
+                                Assert.assertEquals(dense.getEntry(i, j), sparse.getEntry(i, j), 0.0);
+                            }
+                        }
+                    } else {
+                        final ArrayRealVector out = new ArrayRealVector(60);
+                        sparse.operate(new ArrayRealVector(v), out, pool);
+                        Assert.assertArrayEquals(reference, out.toArray(), 1.0e-14);
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testProducts() {
+        final RandomGenerator random = new Well19937a(0x27d5c0e98a1f6b43l);
+        final RealMatrix a = randomSparse(random, 20, 15, 0.15);
+        final RealMatrix b = randomSparse(random, 15, 25, 0.15);
+        final double[]   v = new double[15];
+        final double[]   u = new double[20];
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = random.nextDouble();
+        }
+        for (int i = 0; i < u.length; ++i) {
+            u[i] = random.nextDouble();
+        }
+        final RealMatrix ab = a.multiply(b);
+        for (final CompressedSparseRealMatrix.Format fa : CompressedSparseRealMatrix.Format.values()) {
+            final CompressedSparseRealMatrix sa = new CompressedSparseRealMatrix(a, fa);
+            Assert.assertArrayEquals(a.operate(v), sa.operate(v), 1.0e-14);
+            Assert.assertArrayEquals(a.preMultiply(u), sa.preMultiply(u), 1.0e-14);
+            Assert.assertEquals(0.0,
+                                new ArrayRealVector(a.operate(v)).subtract(sa.operate(new ArrayRealVector(v))).getNorm(),
+                                1.0e-14);
+            Assert.assertEquals(0.0, ab.subtract(sa.multiply(b)).getNorm1(), 1.0e-14);
+            for (final CompressedSparseRealMatrix.Format fb : CompressedSparseRealMatrix.Format.values()) {
+                final CompressedSparseRealMatrix sb = new CompressedSparseRealMatrix(b, fb);
+                final CompressedSparseRealMatrix product = sa.multiply(sb);
+                Assert.assertEquals(fa, product.getFormat());
+                Assert.assertEquals(0.0, ab.subtract(product).getNorm1(), 1.0e-14);
+                Assert.assertEquals(0.0, ab.subtract(sa.multiply((RealMatrix) sb)).getNorm1(), 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    public void testAlgebra() {
+        final RandomGenerator random = new Well19937a(0xa3f1c86e2d5b9047l);
+        final RealMatrix a = randomSparse(random, 9, 11, 0.3);
+        final RealMatrix b = randomSparse(random, 9, 11, 0.3);
+        final CompressedSparseRealMatrix sa = new CompressedSparseRealMatrix(a, CompressedSparseRealMatrix.Format.CSR);
+        final CompressedSparseRealMatrix sb = new CompressedSparseRealMatrix(b, CompressedSparseRealMatrix.Format.CSC);
+        Assert.assertEquals(0.0, a.add(b).subtract(sa.add(sb)).getNorm1(), 1.0e-15);
+        Assert.assertEquals(0.0, a.subtract(b).subtract(sa.subtract(sb)).getNorm1(), 1.0e-15);
+        Assert.assertEquals(0.0, a.scalarMultiply(-2.5).subtract(sa.scalarMultiply(-2.5)).getNorm1(), 1.0e-15);
+        final CompressedSparseRealMatrix t = sa.transpose();
+        Assert.assertEquals(CompressedSparseRealMatrix.Format.CSC, t.getFormat());
+        Assert.assertEquals(0.0, a.transpose().subtract(t).getNorm1(), 0.0);
+        Assert.assertTrue(sa.createMatrix(3, 4) instanceof CompressedSparseRealMatrix);
+    }
+
+    @Test
+    public void testDimensionsMismatch() {
+        final CompressedSparseRealMatrix m = new CompressedSparseRealMatrix(3, 4, CompressedSparseRealMatrix.Format.CSR);
+        try {
+            m.operate(new double[3]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            m.multiply(new CompressedSparseRealMatrix(3, 4, CompressedSparseRealMatrix.Format.CSC));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            CompressedSparseRealMatrix.createFromTriplets(3, 4, new int[] { 3 }, new int[] { 0 }, new double[] { 1 },
+                                                          CompressedSparseRealMatrix.Format.CSR);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        }
+    }
+
+    private static RealMatrix randomSparse(final RandomGenerator random, final int rows, final int columns,
+                                           final double density) {
+        final RealMatrix m = MatrixUtils.createRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                if (random.nextDouble() < density) {
+                    m.setEntry(i, j, 2 * random.nextDouble() - 1);
+                }
+            }
+        }
+        return m;
+    }
+
+    private static int countNonZero(final RealMatrix m) {
+        int count = 0;
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            for (int j = 0; j < m.getColumnDimension(); ++j) {
+                if (m.getEntry(i, j) != 0) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DenseMatrixMultiplierTest {
+
+    @Test
+    public void testRowsArrays() {
+        final RandomGenerator random = new Well19937a(0x9c4e1a7b3f2d8056l);
+        // dimensions chosen to exercise incomplete tiles and several packed panels
+        for (int[] dims : new int[][] { { 4, 4, 4 }, { 5, 7, 3 }, { 17, 9, 31 },
+                                        { 30, 1030, 20 }, { 45, 50, 300 } }) {
+            final double[][] a = createRandomArray(random, dims[0], dims[2]);
+            final double[][] b = createRandomArray(random, dims[2], dims[1]);
+            final double[][] c = createRandomArray(random, dims[0], dims[1]);
+            final double[][] expected = naiveMultiplyAdd(a, b, c);
+            DenseMatrixMultiplier.multiplyAdd(a, b, c);
+            checkEquals(expected, c, dims[2]);
+        }
+    }
+
+    @Test
+    public void testFlatArrays() {
+        final RandomGenerator random = new Well19937a(0x31b7f2c8e04a96d5l);
+        for (int[] dims : new int[][] { { 1, 1, 1 }, { 4, 4, 4 }, { 7, 6, 5 }, { 52, 52, 52 }, { 11, 3, 48 } }) {
+            final double[][] a = createRandomArray(random, dims[0], dims[2]);
+            final double[][] b = createRandomArray(random, dims[2], dims[1]);
+            final double[][] c = createRandomArray(random, dims[0], dims[1]);
+            final double[][] expected = naiveMultiplyAdd(a, b, c);
+            final double[] flatC = flatten(c);
+            DenseMatrixMultiplier.multiplyAdd(flatten(a), 0, dims[2], flatten(b), 0, dims[1], flatC, 0, dims[1],
+                                              dims[0], dims[1], dims[2]);
+            for (int i = 0; i < dims[0]; ++i) {
+                System.arraycopy(flatC, i * dims[1], c[i], 0, dims[1]);
+            }
+            checkEquals(expected, c, dims[2]);
+        }
+    }
+
+    @Test
+    public void testIsWorthIt() {
+        Assert.assertFalse(DenseMatrixMultiplier.isWorthIt(3, 1000, 1000));
+        Assert.assertFalse(DenseMatrixMultiplier.isWorthIt(1000, 3, 1000));
+        Assert.assertFalse(DenseMatrixMultiplier.isWorthIt(4, 4, 4));
+        Assert.assertTrue(DenseMatrixMultiplier.isWorthIt(16, 16, 16));
+    }
+
+    private double[][] createRandomArray(final RandomGenerator random, final int rows, final int columns) {
+        final double[][] array = new double[rows][columns];
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                array[i][j] = 2 * random.nextDouble() - 1;
+            }
+        }
+        return array;
+    }
+
+    private double[][] naiveMultiplyAdd(final double[][] a, final double[][] b, final double[][] c) {
+        final double[][] result = new double[c.length][c[0].length];
+        for (int i = 0; i < result.length; ++i) {
+            for (int j = 0; j < result[i].length; ++j) {
+                double sum = c[i][j];
+                for (int l = 0; l < b.length; ++l) {
+                    sum += a[i][l] * b[l][j];
+                }
+                result[i][j] = sum;
+            }
+        }
+        return result;
+    }
+
+    private double[] flatten(final double[][] array) {
+        final double[] flat = new double[array.length * array[0].length];
+        for (int i = 0; i < array.length; ++i) {
+            System.arraycopy(array[i], 0, flat, i * array[i].length, array[i].length);
+        }
+        return flat;
+    }
+
+    private void checkEquals(final double[][] expected, final double[][] actual, final int k) {
+        for (int i = 0; i < expected.length; ++i) {
+            for (int j = 0; j < expected[i].length; ++j) {
+                Assert.assertEquals(expected[i][j], actual[i][j], 4 * k * 1.0e-16);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlatRealMatrixTest {
+
+    private final double[][] d = { { 1, 2, 3, 4 }, { 5, 6, 7, 8 }, { 9, 10, 11, 12 } };
+
+    @Test
+    public void testDimensions() {
+        FlatRealMatrix m = new FlatRealMatrix(d);
+        Assert.assertEquals(3, m.getRowDimension());
+        Assert.assertEquals(4, m.getColumnDimension());
+        Assert.assertEquals(4, m.getRowStride());
+        Assert.assertEquals(1, m.getColumnStride());
+        Assert.assertEquals(0, m.getOffset());
+        Assert.assertEquals(12, m.getDataRef().length);
+        UnitTestUtils.assertEquals("", MatrixUtils.createRealMatrix(d), m, 1.0e-15);
+    }
+
+    @Test
+    public void testColumnMajorWrap() {
+        // two 3x2 column major matrices stored side by side with leading dimension 3
+        final double[] data = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+        FlatRealMatrix m = new FlatRealMatrix(3, 4, data, FlatRealMatrix.Layout.COLUMN_MAJOR, 3);
+        Assert.assertEquals(1.0, m.getEntry(0, 0), 0.0);
+        Assert.assertEquals(2.0, m.getEntry(1, 0), 0.0);
+        Assert.assertEquals(4.0, m.getEntry(0, 1), 0.0);
+        Assert.assertEquals(12.0, m.getEntry(2, 3), 0.0);
+        m.setEntry(1, 2, -1.0);
+        Assert.assertEquals(-1.0, data[7], 0.0);
+        Assert.assertEquals(1, m.getRowStride());
+        Assert.assertEquals(3, m.getColumnStride());
+
+        // the transposed view of a column major matrix is row major
+        final FlatRealMatrix t = m.transposeView();
+        Assert.assertEquals(1, t.getColumnStride());
+        Assert.assertEquals(-1.0, t.getEntry(2, 1), 0.0);
+    }
+
+    @Test
+    public void testLeadingDimension() {
+        final double[] data = new double[4 * 5];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = i;
+        }
+        FlatRealMatrix m = new FlatRealMatrix(4, 3, data, FlatRealMatrix.Layout.ROW_MAJOR, 5);
+        Assert.assertEquals(5, m.getRowStride());
+        Assert.assertEquals(0.0,  m.getEntry(0, 0), 0.0);
+        Assert.assertEquals(7.0,  m.getEntry(1, 2), 0.0);
+        Assert.assertEquals(17.0, m.getEntry(3, 2), 0.0);
+    }
+
+    @Test
+    public void testWrapErrors() {
+        try {
+            new FlatRealMatrix(3, 4, new double[12], FlatRealMatrix.Layout.ROW_MAJOR, 3);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+        try {
+            new FlatRealMatrix(3, 4, new double[13], FlatRealMatrix.Layout.ROW_MAJOR, 5);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.INSUFFICIENT_DIMENSION, miae.getSpecifier());
+        }
+        try {
+            new FlatRealMatrix(new double[][] { { 1, 2 }, { 3 } });
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            new FlatRealMatrix(new double[0][0]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.AT_LEAST_ONE_ROW, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testTransposeView() {
+        FlatRealMatrix m = new FlatRealMatrix(d);
+        FlatRealMatrix t = m.transposeView();
+        Assert.assertSame(m.getDataRef(), t.getDataRef());
+        UnitTestUtils.assertEquals("", MatrixUtils.createRealMatrix(d).transpose(), t, 1.0e-15);
+        t.setEntry(3, 1, 100.0);
+        Assert.assertEquals(100.0, m.getEntry(1, 3), 0.0);
+
+        // regular transpose is a copy
+        FlatRealMatrix copy = m.transpose();
+        Assert.assertNotSame(m.getDataRef(), copy.getDataRef());
+        copy.setEntry(0, 0, -50.0);
+        Assert.assertEquals(1.0, m.getEntry(0, 0), 0.0);
+    }
+
+    @Test
+    public void testSubMatrixView() {
+        FlatRealMatrix m = new FlatRealMatrix(d);
+        FlatRealMatrix sub = m.getSubMatrixView(1, 2, 1, 3);
+        Assert.assertEquals(2, sub.getRowDimension());
+        Assert.assertEquals(3, sub.getColumnDimension());
+        Assert.assertEquals(5, sub.getOffset());
+        UnitTestUtils.assertEquals("", m.getSubMatrix(1, 2, 1, 3), sub, 1.0e-15);
+        sub.addToEntry(1, 2, 0.5);
+        Assert.assertEquals(12.5, m.getEntry(2, 3), 0.0);
+
+        // views of views
+        FlatRealMatrix subSub = sub.transposeView().getSubMatrixView(1, 2, 0, 0);
+        Assert.assertEquals(7.0,  subSub.getEntry(0, 0), 0.0);
+        Assert.assertEquals(8.0,  subSub.getEntry(1, 0), 0.0);
+
+        try {
+            m.getSubMatrixView(2, 3, 0, 1);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.ROW_INDEX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testRowColumnViews() {
+        FlatRealMatrix m = new FlatRealMatrix(d);
+        FlatRealMatrix row = m.getRowView(1);
+        FlatRealMatrix column = m.getColumnView(2);
+        UnitTestUtils.assertEquals("", m.getRowMatrix(1), row, 1.0e-15);
+        UnitTestUtils.assertEquals("", m.getColumnMatrix(2), column, 1.0e-15);
+        row.multiplyEntry(0, 2, 2.0);
+        Assert.assertEquals(14.0, column.getEntry(1, 0), 0.0);
+    }
+
+    @Test
+    public void testCopyPreservesLayout() {
+        FlatRealMatrix m = new FlatRealMatrix(d).transposeView().getSubMatrixView(1, 3, 0, 1);
+        FlatRealMatrix copy = m.copy();
+        Assert.assertEquals(1, copy.getRowStride());
+        Assert.assertEquals(3, copy.getColumnStride());
+        Assert.assertEquals(6, copy.getDataRef().length);
+        UnitTestUtils.assertEquals("", m, copy, 1.0e-15);
+    }
+
+    @Test
+    public void testMultiply() {
+        final RandomGenerator random = new Well19937a(0x5e2b7c91d4a03f68l);
+        for (int[] dims : new int[][] { { 1, 1, 1 }, { 3, 5, 7 }, { 30, 25, 40 } }) {
+            final RealMatrix a = createRandom(random, dims[0], dims[2]);
+            final RealMatrix b = createRandom(random, dims[2], dims[1]);
+            final RealMatrix reference = a.multiply(b);
+
+            // row major operands
+            final FlatRealMatrix fa = new FlatRealMatrix(a.getData());
+            final FlatRealMatrix fb = new FlatRealMatrix(b.getData());
+            UnitTestUtils.assertEquals("", reference, fa.multiply(fb), 1.0e-13);
+            UnitTestUtils.assertEquals("", reference, fa.multiply((RealMatrix) fb), 1.0e-13);
+
+            // column major operands, seen as transpose views
+            final FlatRealMatrix ta = new FlatRealMatrix(a.transpose().getData()).transposeView();
+            final FlatRealMatrix tb = new FlatRealMatrix(b.transpose().getData()).transposeView();
+            UnitTestUtils.assertEquals("", reference, ta.multiply(tb), 1.0e-13);
+
+            // mixed with other implementations
+            UnitTestUtils.assertEquals("", reference, fa.multiply(b), 1.0e-13);
+        }
+    }
+
+    @Test
+    public void testMultiplyWrongDimensions() {
+        try {
+            new FlatRealMatrix(3, 4).multiply(new FlatRealMatrix(3, 4));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testOperate() {
+        FlatRealMatrix m = new FlatRealMatrix(d);
+        RealMatrix reference = MatrixUtils.createRealMatrix(d);
+        double[] v = { 1, -2, 0.5, 3 };
+        double[] u = { 2, 0.25, -1 };
+        UnitTestUtils.assertEquals(reference.operate(v), m.operate(v), 1.0e-15);
+        UnitTestUtils.assertEquals(reference.preMultiply(u), m.preMultiply(u), 1.0e-15);
+        UnitTestUtils.assertEquals(reference.transpose().operate(u), m.transposeView().operate(u), 1.0e-15);
+        try {
+            m.operate(u);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testSerial() {
+        FlatRealMatrix m = new FlatRealMatrix(d).getSubMatrixView(0, 1, 1, 2);
+        Assert.assertEquals(m, UnitTestUtils.serializeAndRecover(m));
+    }
+
+    private RealMatrix createRandom(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix m = MatrixUtils.createRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.IterationEvent;
+import org.hipparchus.util.IterationListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GMRESTest {
+
+    @Test
+    public void testNonSymmetric() {
+        final CompressedSparseRealMatrix a = convectionDiffusion(20, 0.8);
+        final RealVector b = rhs(a.getRowDimension());
+        final RealVector ref = new LUDecomposition(a).getSolver().solve(b);
+        for (final int restart : new int[] { 10, 30, 400 }) {
+            final GMRES solver = new GMRES(10000, restart, 1.0e-12);
+            Assert.assertEquals(restart, solver.getRestart());
+            final RealVector x = solver.solve(a, b);
+            Assert.assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-12 * b.getNorm());
+            Assert.assertEquals(0.0, x.subtract(ref).getNorm(), 1.0e-9 * ref.getNorm());
+        }
+    }
+
+    @Test
+    public void testPreconditioned() {
+        final CompressedSparseRealMatrix a = convectionDiffusion(20, 0.8);
+        final RealVector b = rhs(a.getRowDimension());
+        final GMRES plain = new GMRES(10000, 20, 1.0e-10);
+        final RealVector x1 = plain.solve(a, b);
+        final GMRES preconditioned = new GMRES(10000, 20, 1.0e-10);
+        final RealVector x2 = preconditioned.solve(a, new SSORPreconditioner(a, 1.0), b);
+        Assert.assertEquals(0.0, a.operate(x2).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+        Assert.assertEquals(0.0, x2.subtract(x1).getNorm(), 1.0e-7 * x1.getNorm());
+        Assert.assertTrue(preconditioned.getIterationManager().getIterations() <
+                          plain.getIterationManager().getIterations());
+    }
+
+    @Test
+    public void testFullKrylovSpaceIsExact() {
+        // without restart, GMRES finds the solution in at most n steps
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            {  3.0, 1.0, -2.0, 0.5 },
+            { -1.0, 4.0,  1.0, 0.0 },
+            {  2.0, 0.0,  5.0, 1.0 },
+            {  0.0, 3.0, -1.0, 2.0 }
+        });
+        final RealVector b = new ArrayRealVector(new double[] { 1.0, -2.0, 0.5, 3.0 });
+        final GMRES solver = new GMRES(100, 4, 1.0e-14);
+        final RealVector x = solver.solve(a, b);
+        Assert.assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-14 * b.getNorm());
+        // initialization, at most 4 Arnoldi steps, one true residual evaluation
+        Assert.assertTrue(solver.getIterationManager().getIterations() <= 6);
+    }
+
+    @Test
+    public void testEvents() {
+        final CompressedSparseRealMatrix a = convectionDiffusion(10, 0.5);
+        final RealVector b = rhs(a.getRowDimension());
+        final GMRES solver = new GMRES(1000, 5, 1.0e-10);
+        final int[] counts = new int[4];
+        final double[] last = new double[] { Double.POSITIVE_INFINITY };
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+            public void initializationPerformed(final IterationEvent e) {
+                ++counts[0];
+                check(e);
+            }
+            public void iterationStarted(final IterationEvent e) {
+                ++counts[1];
+            }
+            public void iterationPerformed(final IterationEvent e) {
+                ++counts[2];
+                final double rnorm = ((IterativeLinearSolverEvent) e).getNormOfResidual();
+                // GMRES residual norm never increases (up to the accuracy of the estimate)
+                Assert.assertTrue(rnorm <= last[0] + 1.0e-12 * b.getNorm());
+                last[0] = rnorm;
+            }
+            public void terminationPerformed(final IterationEvent e) {
+                ++counts[3];
+                check(e);
+            }
+            private void check(final IterationEvent e) {
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                final double rnorm = a.operate(evt.getSolution()).subtract(evt.getRightHandSideVector()).getNorm();
+                Assert.assertEquals(rnorm, evt.getNormOfResidual(), 1.0e-12 * b.getNorm());
+                last[0] = rnorm;
+            }
+        });
+        solver.solve(a, b);
+        Assert.assertEquals(1, counts[0]);
+        Assert.assertEquals(solver.getIterationManager().getIterations() - 1, counts[1]);
+        Assert.assertEquals(counts[1], counts[2]);
+        Assert.assertEquals(1, counts[3]);
+    }
+
+    @Test
+    public void testParallel() {
+        final CompressedSparseRealMatrix a = convectionDiffusion(100, 0.8);
+        final RealVector b = rhs(a.getRowDimension());
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final GMRES serial   = new GMRES(10000, 30, 1.0e-10);
+            final GMRES parallel = new GMRES(10000, 30, 1.0e-10, pool);
+            final RealVector xS = serial.solve(a, b);
+            final RealVector xP = parallel.solve(a, b);
+            Assert.assertEquals(0.0, a.operate(xP).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+            Assert.assertEquals(0.0, xP.subtract(xS).getNorm(), 1.0e-8 * xS.getNorm());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMaxIterations() {
+        final CompressedSparseRealMatrix a = convectionDiffusion(20, 0.8);
+        try {
+            new GMRES(10, 5, 1.0e-12).solve(a, rhs(a.getRowDimension()));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, mise.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongRestart() {
+        try {
+            new GMRES(10, 0, 1.0e-12);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        try {
+            new GMRES(10, 5, 1.0e-12).solve(new Array2DRowRealMatrix(3, 3), new ArrayRealVector(4));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    /** Build the upwind discretization of a 2D convection-diffusion operator.
+     * @param m number of grid points along each side
+     * @param convection convection to diffusion ratio (times grid step), between 0 and 1
+     * @return nonsymmetric matrix
+     */
+    static CompressedSparseRealMatrix convectionDiffusion(final int m, final double convection) {
+        final int n = m * m;
+        final int[]    rows    = new int[5 * n];
+        final int[]    columns = new int[5 * n];
+        final double[] values  = new double[5 * n];
+        int k = 0;
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < m; ++j) {
+                final int node = i * m + j;
+                rows[k] = node;
+                columns[k] = node;
+                values[k++] = 4.0 + 2 * convection;
+                if (i > 0) {
+                    rows[k] = node;
+                    columns[k] = node - m;
+                    values[k++] = -1.0 - convection;
+                }
+                if (i < m - 1) {
+                    rows[k] = node;
+                    columns[k] = node + m;
+                    values[k++] = -1.0;
+                }
+                if (j > 0) {
+                    rows[k] = node;
+                    columns[k] = node - 1;
+                    values[k++] = -1.0 - convection;
+                }
+                if (j < m - 1) {
+                    rows[k] = node;
+                    columns[k] = node + 1;
+                    values[k++] = -1.0;
+                }
+            }
+        }
+        return CompressedSparseRealMatrix.createFromTriplets(n, n,
+                                                             Arrays.copyOf(rows, k),
+                                                             Arrays.copyOf(columns, k),
+                                                             Arrays.copyOf(values, k),
+                                                             CompressedSparseRealMatrix.Format.CSR);
+    }
+
+    /** Build a smooth right hand side.
+     * @param n dimension
+     * @return right hand side
+     */
+    static RealVector rhs(final int n) {
+        final RealVector b = new ArrayRealVector(n);
+        for (int i = 0; i < n; ++i) {
+            b.setEntry(i, 1.0 + FastMath.sin(0.1 * i));
+        }
+        return b;
+    }
+
+}
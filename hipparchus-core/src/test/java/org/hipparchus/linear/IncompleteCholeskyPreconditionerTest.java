@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IncompleteCholeskyPreconditionerTest {
+
+    @Test
+    public void testTridiagonalIsExact() {
+        // there is no fill-in for tridiagonal matrices, so IC(0) is the exact factorization
+        final int n = 50;
+        final RealMatrix a = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            a.setEntry(i, i, 2.5 + 0.01 * i);
+            if (i > 0) {
+                a.setEntry(i, i - 1, -1.0);
+                a.setEntry(i - 1, i, -1.0);
+            }
+        }
+        final IncompleteCholeskyPreconditioner m = new IncompleteCholeskyPreconditioner(a);
+        Assert.assertEquals(n, m.getRowDimension());
+        Assert.assertEquals(n, m.getColumnDimension());
+        final RealVector x = new ArrayRealVector(n);
+        for (int i = 0; i < n; ++i) {
+            x.setEntry(i, FastMath.sin(i));
+        }
+        final RealVector y = m.operate(a.operate(x));
+        Assert.assertEquals(0.0, y.subtract(x).getNorm(), 1.0e-13);
+
+        // in place version
+        final RealVector z = new ArrayRealVector(n);
+        m.operate(a.operate(x), z, null);
+        Assert.assertEquals(0.0, z.subtract(y).getNorm(), 0.0);
+    }
+
+    @Test
+    public void testFewerIterationsThanJacobi() {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(30);
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final ConjugateGradient jacobiSolver = new ConjugateGradient(1000, 1.0e-10, true);
+        final RealVector xJ = jacobiSolver.solve(a, JacobiPreconditioner.create(a), b);
+        final ConjugateGradient icSolver = new ConjugateGradient(1000, 1.0e-10, true);
+        final RealVector xIC = icSolver.solve(a, new IncompleteCholeskyPreconditioner(a), b);
+        Assert.assertEquals(0.0, a.operate(xIC).subtract(b).getNorm(), 1.0e-8);
+        Assert.assertEquals(0.0, xIC.subtract(xJ).getNorm(), 1.0e-7);
+        Assert.assertTrue(icSolver.getIterationManager().getIterations() <
+                          0.6 * jacobiSolver.getIterationManager().getIterations());
+    }
+
+    @Test
+    public void testShift() {
+        final RealMatrix a = MatrixUtils.createRealMatrix(new double[][] {
+            { 1.0, 2.0 },
+            { 2.0, 1.0 }
+        });
+        try {
+            new IncompleteCholeskyPreconditioner(a);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        }
+        // with diagonal scaled by 5, the factorization is [[sqrt(5), 0], [2/sqrt(5), sqrt(21/5)]]
+        final IncompleteCholeskyPreconditioner m = new IncompleteCholeskyPreconditioner(a, 4.0);
+        final RealMatrix shifted = MatrixUtils.createRealMatrix(new double[][] {
+            { 5.0, 2.0 },
+            { 2.0, 5.0 }
+        });
+        final RealVector x = new ArrayRealVector(new double[] { 0.25, -1.5 });
+        Assert.assertEquals(0.0, m.operate(shifted.operate(x)).subtract(x).getNorm(), 1.0e-15);
+    }
+
+    @Test
+    public void testNonSquare() {
+        try {
+            new IncompleteCholeskyPreconditioner(new Array2DRowRealMatrix(3, 2));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_SQUARE_OPERATOR, miae.getSpecifier());
+        }
+    }
+
+}
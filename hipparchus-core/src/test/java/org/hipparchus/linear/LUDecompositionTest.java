@@ -22,6 +22,9 @@
 
 package org.hipparchus.linear;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.fraction.Fraction;
@@ -329,4 +332,31 @@ public class LUDecompositionTest {
         }
     }
 
+    @Test
+    public void testParallel() {
+        final Random r = new Random(0x1d8a53f2e9b06c47l);
+        final int n = 150;
+        final RealMatrix a = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                a.setEntry(i, j, 2 * r.nextDouble() - 1);
+            }
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final LUDecomposition serial   = new LUDecomposition(a);
+            final LUDecomposition parallel = new LUDecomposition(a, 1.0e-11, pool);
+            Assert.assertArrayEquals(serial.getPivot(), parallel.getPivot());
+            Assert.assertEquals(0.0, serial.getL().subtract(parallel.getL()).getNorm1(), 0.0);
+            Assert.assertEquals(0.0, serial.getU().subtract(parallel.getU()).getNorm1(), 0.0);
+            Assert.assertEquals(serial.getDeterminant(), parallel.getDeterminant(), 0.0);
+            final RealMatrix inverse = new LUDecomposer(1.0e-11, pool).decompose(a).getInverse();
+            Assert.assertEquals(0.0,
+                                a.multiply(inverse).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(),
+                                1.0e-10);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
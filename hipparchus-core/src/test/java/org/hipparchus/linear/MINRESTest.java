@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.IterationEvent;
+import org.hipparchus.util.IterationListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MINRESTest {
+
+    @Test
+    public void testIndefinite() {
+        // shifted Laplacian has both positive and negative eigenvalues
+        final CompressedSparseRealMatrix a = shiftedLaplacian(15, 3.1);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final RealVector ref = new LUDecomposition(a).getSolver().solve(b);
+        final MINRES solver = new MINRES(1000, 1.0e-12);
+        final RealVector x = solver.solve(a, b);
+        Assert.assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-10 * b.getNorm());
+        Assert.assertEquals(0.0, x.subtract(ref).getNorm(), 1.0e-9 * ref.getNorm());
+    }
+
+    @Test
+    public void testMonotonicResidual() {
+        final CompressedSparseRealMatrix a = shiftedLaplacian(10, 2.5);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final MINRES solver = new MINRES(1000, 1.0e-10);
+        final double[] last = new double[] { Double.POSITIVE_INFINITY };
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+            public void initializationPerformed(final IterationEvent e) {
+                check(e);
+            }
+            public void iterationStarted(final IterationEvent e) {
+            }
+            public void iterationPerformed(final IterationEvent e) {
+                check(e);
+            }
+            public void terminationPerformed(final IterationEvent e) {
+                check(e);
+            }
+            private void check(final IterationEvent e) {
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                final double rnorm = a.operate(evt.getSolution()).subtract(evt.getRightHandSideVector()).getNorm();
+                Assert.assertEquals(rnorm, evt.getNormOfResidual(), 1.0e-10 * b.getNorm());
+                Assert.assertTrue(evt.getNormOfResidual() <= last[0]);
+                last[0] = evt.getNormOfResidual();
+            }
+        });
+        solver.solve(a, b);
+    }
+
+    @Test
+    public void testPreconditioned() {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(30);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final MINRES plain = new MINRES(10000, 1.0e-10);
+        final RealVector x1 = plain.solve(a, b);
+        final MINRES preconditioned = new MINRES(10000, 1.0e-10);
+        final RealVector x2 = preconditioned.solve(a, new IncompleteCholeskyPreconditioner(a), b);
+        Assert.assertEquals(0.0, a.operate(x2).subtract(b).getNorm(), 1.0e-8 * b.getNorm());
+        Assert.assertEquals(0.0, x2.subtract(x1).getNorm(), 1.0e-7 * x1.getNorm());
+        Assert.assertTrue(preconditioned.getIterationManager().getIterations() <
+                          0.6 * plain.getIterationManager().getIterations());
+    }
+
+    @Test
+    public void testParallel() {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(120);
+        final RealVector b = GMRESTest.rhs(a.getRowDimension());
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final MINRES serial   = new MINRES(10000, 1.0e-10);
+            final MINRES parallel = new MINRES(10000, 1.0e-10, pool);
+            final RealVector xS = serial.solve(a, JacobiPreconditioner.create(a), b);
+            final RealVector xP = parallel.solve(a, JacobiPreconditioner.create(a), b);
+            Assert.assertEquals(0.0, a.operate(xP).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+            Assert.assertEquals(0.0, xP.subtract(xS).getNorm(), 1.0e-8 * xS.getNorm());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNonPositiveDefinitePreconditioner() {
+        final DiagonalMatrix a = new DiagonalMatrix(new double[] { 1.0, 1.0, 1.0 });
+        final DiagonalMatrix m = new DiagonalMatrix(new double[] { 1.0, -1.0, 1.0 });
+        try {
+            new MINRES(10, 1.0e-12).solve(a, m, new ArrayRealVector(new double[] { 0.0, 1.0, 0.0 }));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_POSITIVE_DEFINITE_OPERATOR, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testZeroRightHandSide() {
+        final MINRES solver = new MINRES(10, 1.0e-12);
+        final RealVector x = solver.solve(SparseCholeskyDecompositionTest.laplacian(4), new ArrayRealVector(16));
+        Assert.assertEquals(0.0, x.getNorm(), 0.0);
+        Assert.assertEquals(1, solver.getIterationManager().getIterations());
+    }
+
+    /** Build a shifted Laplacian.
+     * @param m number of grid points along each side
+     * @param shift shift to subtract from diagonal
+     * @return shifted Laplacian
+     */
+    private static CompressedSparseRealMatrix shiftedLaplacian(final int m, final double shift) {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(m);
+        for (int i = 0; i < a.getRowDimension(); ++i) {
+            a.addToEntry(i, i, -shift);
+        }
+        return a;
+    }
+
+}
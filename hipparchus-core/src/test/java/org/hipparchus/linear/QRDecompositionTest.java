@@ -23,6 +23,7 @@
 package org.hipparchus.linear;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.junit.Assert;
@@ -279,6 +280,28 @@ public class QRDecompositionTest {
         return m;
     }
 
+    @Test
+    public void testParallel() {
+        final Random r = new Random(0x62c7e15b0a94d3f8l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int[] dims : new int[][] { { 160, 120 }, { 120, 160 }, { 3, 3 } }) {
+                final RealMatrix a = createTestMatrix(r, dims[0], dims[1]);
+                final QRDecomposition serial   = new QRDecomposition(a);
+                final QRDecomposition parallel = new QRDecomposition(a, 0.0, pool);
+                Assert.assertEquals(0.0, serial.getR().subtract(parallel.getR()).getNorm1(), 0.0);
+                Assert.assertEquals(0.0, serial.getQ().subtract(parallel.getQ()).getNorm1(), 0.0);
+            }
+            final RealMatrix a = MatrixUtils.createRealMatrix(testData3x3NonSingular);
+            final RealMatrix inverse = new QRDecomposer(0.0, pool).decompose(a).getInverse();
+            Assert.assertEquals(0.0,
+                                a.multiply(inverse).subtract(MatrixUtils.createRealIdentityMatrix(3)).getNorm1(),
+                                1.0e-14);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test(expected=MathIllegalArgumentException.class)
     public void testQRSingular() {
         final RealMatrix a = MatrixUtils.createRealMatrix(new double[][] {
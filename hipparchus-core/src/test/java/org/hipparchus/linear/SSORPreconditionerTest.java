@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SSORPreconditionerTest {
+
+    @Test
+    public void testDenseEquivalent() {
+        final RealMatrix a = MatrixUtils.createRealMatrix(new double[][] {
+            {  4.0, -1.0,  0.5,  0.0 },
+            { -1.0,  5.0, -2.0,  1.0 },
+            {  0.5, -2.0,  6.0, -1.5 },
+            {  0.0,  1.0, -1.5,  3.0 }
+        });
+        for (final double omega : new double[] { 0.5, 1.0, 1.3, 1.9 }) {
+            final SSORPreconditioner m = new SSORPreconditioner(a, omega);
+            Assert.assertEquals(omega, m.getOmega(), 0.0);
+
+            // M = (D + omega L) D^-1 (D + omega U) / (omega (2 - omega))
+            final int n = a.getRowDimension();
+            final RealMatrix lower  = new Array2DRowRealMatrix(n, n);
+            final RealMatrix invD   = new Array2DRowRealMatrix(n, n);
+            final RealMatrix upper  = new Array2DRowRealMatrix(n, n);
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    if (i == j) {
+                        lower.setEntry(i, i, a.getEntry(i, i));
+                        upper.setEntry(i, i, a.getEntry(i, i));
+                        invD.setEntry(i, i, 1.0 / a.getEntry(i, i));
+                    } else if (i > j) {
+                        lower.setEntry(i, j, omega * a.getEntry(i, j));
+                    } else {
+                        upper.setEntry(i, j, omega * a.getEntry(i, j));
+                    }
+                }
+            }
+            final RealMatrix dense = lower.multiply(invD).multiply(upper).scalarMultiply(1.0 / (omega * (2 - omega)));
+
+            final RealVector x = new ArrayRealVector(new double[] { 1.0, -2.0, 0.25, 3.5 });
+            Assert.assertEquals(0.0, dense.operate(m.operate(x)).subtract(x).getNorm(), 1.0e-14);
+            final RealVector y = new ArrayRealVector(n);
+            m.operate(x, y, null);
+            Assert.assertEquals(0.0, y.subtract(m.operate(x)).getNorm(), 0.0);
+        }
+    }
+
+    @Test
+    public void testConjugateGradient() {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(30);
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final ConjugateGradient plainSolver = new ConjugateGradient(1000, 1.0e-10, true);
+        plainSolver.solve(a, b);
+        final ConjugateGradient ssorSolver = new ConjugateGradient(1000, 1.0e-10, true);
+        final RealVector x = ssorSolver.solve(a, new SSORPreconditioner(a, 1.5), b);
+        Assert.assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-8);
+        Assert.assertTrue(ssorSolver.getIterationManager().getIterations() <
+                          0.6 * plainSolver.getIterationManager().getIterations());
+    }
+
+    @Test
+    public void testWrongOmega() {
+        final RealMatrix a = MatrixUtils.createRealIdentityMatrix(3);
+        try {
+            new SSORPreconditioner(a, 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, miae.getSpecifier());
+        }
+        try {
+            new SSORPreconditioner(a, 2.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_LARGE_BOUND_EXCLUDED, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNonPositiveDiagonal() {
+        final RealMatrix a = MatrixUtils.createRealDiagonalMatrix(new double[] { 1.0, -0.125, 2.0 });
+        try {
+            new SSORPreconditioner(a, 1.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        }
+    }
+
+}
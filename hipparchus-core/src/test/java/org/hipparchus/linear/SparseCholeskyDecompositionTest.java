@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SparseCholeskyDecompositionTest {
+
+    @Test
+    public void testLaplacian() {
+        final CompressedSparseRealMatrix a = laplacian(12);
+        final RealMatrix dense = MatrixUtils.createRealMatrix(a.getData());
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final RealVector reference = new CholeskyDecomposition(dense).getSolver().solve(b);
+        for (final SparseOrdering ordering : SparseOrdering.values()) {
+            final SparseCholeskyDecomposition cholesky =
+                            new SparseCholeskyDecomposition(a, ordering,
+                                                            CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                                            CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
+            checkFactors(dense, cholesky, 1.0e-13);
+            final RealVector x = cholesky.getSolver().solve(b);
+            Assert.assertEquals(0.0, x.subtract(reference).getNorm() / reference.getNorm(), 1.0e-13);
+            Assert.assertTrue(cholesky.getSolver().isNonSingular());
+        }
+    }
+
+    @Test
+    public void testFillReduction() {
+        final CompressedSparseRealMatrix a = laplacian(30);
+        final int natural = new SparseCholeskyDecomposition(a, SparseOrdering.NATURAL, 1.0e-15, 1.0e-10).getNonZeroCount();
+        final int rcm     = new SparseCholeskyDecomposition(a, SparseOrdering.REVERSE_CUTHILL_MCKEE, 1.0e-15, 1.0e-10).getNonZeroCount();
+        final int amd     = new SparseCholeskyDecomposition(a).getNonZeroCount();
+        Assert.assertTrue(rcm <= natural);
+        Assert.assertTrue(amd < natural / 2);
+    }
+
+    @Test
+    public void testRandom() {
+        final RandomGenerator random = new Well19937a(0x1f8b3c6d52e0a974l);
+        for (int n = 1; n < 60; n += 7) {
+            // A = B^T B + I is symmetric positive definite
+            final RealMatrix b = MatrixUtils.createRealMatrix(n, n);
+            for (int k = 0; k < 2 * n; ++k) {
+                b.setEntry(random.nextInt(n), random.nextInt(n), 2 * random.nextDouble() - 1);
+            }
+            final RealMatrix a = b.transpose().multiply(b).add(MatrixUtils.createRealIdentityMatrix(n));
+            final SparseCholeskyDecomposition cholesky = new SparseCholeskyDecomposition(a);
+            checkFactors(a, cholesky, 1.0e-13);
+            Assert.assertEquals(new CholeskyDecomposition(a).getDeterminant(), cholesky.getDeterminant(),
+                                1.0e-12 * cholesky.getDeterminant());
+            final RealMatrix inverse = new SparseCholeskyDecomposer(SparseOrdering.APPROXIMATE_MINIMUM_DEGREE,
+                                                                    1.0e-15, 1.0e-10).
+                                       decompose(a).getInverse();
+            Assert.assertEquals(0.0,
+                                a.multiply(inverse).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(),
+                                1.0e-12);
+        }
+    }
+
+    @Test
+    public void testDenseRow() {
+        // arrow matrix, the dense row and column must be ordered last
+        final int n = 200;
+        final CompressedSparseRealMatrix a = new CompressedSparseRealMatrix(n, n, CompressedSparseRealMatrix.Format.CSC);
+        for (int i = 0; i < n; ++i) {
+            a.setEntry(i, i, 4.0);
+            if (i > 0) {
+                a.setEntry(0, i, 1.0 / n);
+                a.setEntry(i, 0, 1.0 / n);
+            }
+        }
+        final SparseCholeskyDecomposition cholesky = new SparseCholeskyDecomposition(a);
+        Assert.assertEquals(0, cholesky.getPermutation()[n - 1]);
+        Assert.assertEquals(2 * n - 1, cholesky.getNonZeroCount());
+        checkFactors(MatrixUtils.createRealMatrix(a.getData()), cholesky, 1.0e-14);
+    }
+
+    @Test
+    public void testNotPositiveDefinite() {
+        final CompressedSparseRealMatrix a = laplacian(5);
+        a.setEntry(7, 7, -1.0);
+        try {
+            new SparseCholeskyDecomposition(a);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotSymmetric() {
+        final CompressedSparseRealMatrix a = laplacian(5);
+        a.setEntry(3, 17, 0.5);
+        try {
+            new SparseCholeskyDecomposition(a);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX, miae.getSpecifier());
+        }
+        a.addToEntry(3, 4, 1.0e-3);
+        try {
+            new SparseCholeskyDecomposition(a);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNonSquare() {
+        try {
+            new SparseCholeskyDecomposition(new CompressedSparseRealMatrix(3, 4, CompressedSparseRealMatrix.Format.CSC));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+        }
+    }
+
+    private static void checkFactors(final RealMatrix a, final SparseCholeskyDecomposition cholesky,
+                                     final double tolerance) {
+        final int   n = a.getRowDimension();
+        final int[] p = checkPermutation(cholesky.getPermutation());
+        final RealMatrix permuted = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                permuted.setEntry(i, j, a.getEntry(p[i], p[j]));
+            }
+        }
+        final RealMatrix l = cholesky.getL();
+        for (int i = 0; i < n; ++i) {
+            for (int j = i + 1; j < n; ++j) {
+                Assert.assertEquals(0.0, l.getEntry(i, j), 0.0);
+            }
+        }
+        final RealMatrix llt = l.multiply(cholesky.getLT());
+        Assert.assertEquals(0.0, permuted.subtract(llt).getNorm1(), tolerance * permuted.getNorm1());
+    }
+
+    static int[] checkPermutation(final int[] permutation) {
+        final boolean[] seen = new boolean[permutation.length];
+        for (final int i : permutation) {
+            Assert.assertFalse(seen[i]);
+            seen[i] = true;
+        }
+        return permutation;
+    }
+
+    /** Build the 5 points Laplacian on a square grid. */
+    static CompressedSparseRealMatrix laplacian(final int m) {
+        final int n = m * m;
+        final int[]    rows    = new int[5 * n];
+        final int[]    columns = new int[5 * n];
+        final double[] values  = new double[5 * n];
+        int k = 0;
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < m; ++j) {
+                final int node = i * m + j;
+                rows[k]     = node;
+                columns[k]  = node;
+                values[k++] = 4.0;
+                if (i > 0) {
+                    rows[k]     = node;
+                    columns[k]  = node - m;
+                    values[k++] = -1.0;
+                }
+                if (i < m - 1) {
+                    rows[k]     = node;
+                    columns[k]  = node + m;
+                    values[k++] = -1.0;
+                }
+                if (j > 0) {
+                    rows[k]     = node;
+                    columns[k]  = node - 1;
+                    values[k++] = -1.0;
+                }
+                if (j < m - 1) {
+                    rows[k]     = node;
+                    columns[k]  = node + 1;
+                    values[k++] = -1.0;
+                }
+            }
+        }
+        return CompressedSparseRealMatrix.createFromTriplets(n, n,
+                                                             Arrays.copyOf(rows, k),
+                                                             Arrays.copyOf(columns, k),
+                                                             Arrays.copyOf(values, k),
+                                                             CompressedSparseRealMatrix.Format.CSC);
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SparseLUDecompositionTest {
+
+    @Test
+    public void testRandomUnsymmetric() {
+        final RandomGenerator random = new Well19937a(0x5d0e7a3c91b4f286l);
+        for (int n = 1; n < 80; n += 9) {
+            final RealMatrix a = MatrixUtils.createRealMatrix(n, n);
+            for (int i = 0; i < n; ++i) {
+                a.setEntry(i, i, 1 + random.nextDouble());
+            }
+            for (int k = 0; k < 3 * n; ++k) {
+                a.setEntry(random.nextInt(n), random.nextInt(n), 2 * random.nextDouble() - 1);
+            }
+            for (final SparseOrdering ordering : SparseOrdering.values()) {
+                final SparseLUDecomposition lu = new SparseLUDecomposition(a, ordering, 0.1, 1.0e-11);
+                checkFactors(a, lu, 1.0e-14);
+                final LUDecomposition reference = new LUDecomposition(a);
+                Assert.assertEquals(reference.getDeterminant(), lu.getDeterminant(),
+                                    1.0e-12 * FastMath.abs(reference.getDeterminant()));
+                final RealVector b = new ArrayRealVector(n, 1.0);
+                final RealVector x = lu.getSolver().solve(b);
+                Assert.assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testPivoting() {
+        // zero diagonal requires off-diagonal pivots
+        final int n = 40;
+        final CompressedSparseRealMatrix a = new CompressedSparseRealMatrix(n, n, CompressedSparseRealMatrix.Format.CSR);
+        for (int i = 0; i < n; ++i) {
+            a.setEntry(i, (i + 1) % n, 2.0 + i);
+            a.setEntry(i, (i + 7) % n, 0.5);
+        }
+        final SparseLUDecomposition lu = new SparseLUDecomposition(a);
+        checkFactors(MatrixUtils.createRealMatrix(a.getData()), lu, 1.0e-14);
+        final RealMatrix inverse = new SparseLUDecomposer(SparseOrdering.REVERSE_CUTHILL_MCKEE, 1.0, 1.0e-11).
+                                   decompose(a).getInverse();
+        Assert.assertEquals(0.0,
+                            a.multiply(inverse).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(),
+                            1.0e-13);
+    }
+
+    @Test
+    public void testLaplacian() {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(20);
+        final RealVector b = new ArrayRealVector(a.getRowDimension(), 1.0);
+        final RealVector reference = new SparseCholeskyDecomposition(a).getSolver().solve(b);
+        final SparseLUDecomposition natural =
+                        new SparseLUDecomposition(a, SparseOrdering.NATURAL, 0.1, 1.0e-11);
+        final SparseLUDecomposition amd = new SparseLUDecomposition(a);
+        for (final SparseLUDecomposition lu : new SparseLUDecomposition[] { natural, amd }) {
+            final RealVector x = lu.getSolver().solve(b);
+            Assert.assertEquals(0.0, x.subtract(reference).getNorm() / reference.getNorm(), 1.0e-13);
+        }
+        // diagonally dominant matrix, diagonal pivots are kept and ordering reduces fill-in
+        Assert.assertArrayEquals(amd.getColumnPermutation(), amd.getRowPermutation());
+        Assert.assertTrue(amd.getL().getStoredEntriesCount() < natural.getL().getStoredEntriesCount() / 2);
+    }
+
+    @Test
+    public void testSingular() {
+        final RealMatrix a = MatrixUtils.createRealMatrix(new double[][] {
+            { 1.0, 0.0, 2.0, 0.0 },
+            { 0.0, 3.0, 0.0, 0.0 },
+            { 2.0, 0.0, 4.0, 0.0 },
+            { 0.0, 1.0, 0.0, 5.0 }
+        });
+        final SparseLUDecomposition lu = new SparseLUDecomposition(a);
+        Assert.assertFalse(lu.getSolver().isNonSingular());
+        Assert.assertNull(lu.getL());
+        Assert.assertNull(lu.getU());
+        Assert.assertNull(lu.getRowPermutation());
+        Assert.assertEquals(0.0, lu.getDeterminant(), 0.0);
+        try {
+            lu.getSolver().solve(new ArrayRealVector(4));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.SINGULAR_MATRIX, miae.getSpecifier());
+        }
+
+        // structurally singular
+        final SparseLUDecomposition empty =
+                        new SparseLUDecomposition(new CompressedSparseRealMatrix(3, 3, CompressedSparseRealMatrix.Format.CSC));
+        Assert.assertFalse(empty.getSolver().isNonSingular());
+    }
+
+    @Test
+    public void testErrors() {
+        try {
+            new SparseLUDecomposition(MatrixUtils.createRealMatrix(2, 3));
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NON_SQUARE_MATRIX, miae.getSpecifier());
+        }
+        try {
+            new SparseLUDecomposition(MatrixUtils.createRealIdentityMatrix(2), SparseOrdering.NATURAL, 1.5, 1.0e-11);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        }
+    }
+
+    private static void checkFactors(final RealMatrix a, final SparseLUDecomposition lu, final double tolerance) {
+        final int   n = a.getRowDimension();
+        final int[] p = SparseCholeskyDecompositionTest.checkPermutation(lu.getRowPermutation());
+        final int[] q = SparseCholeskyDecompositionTest.checkPermutation(lu.getColumnPermutation());
+        final RealMatrix permuted = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                permuted.setEntry(i, j, a.getEntry(p[i], q[j]));
+            }
+        }
+        final RealMatrix l = lu.getL();
+        final RealMatrix u = lu.getU();
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(1.0, l.getEntry(i, i), 0.0);
+            for (int j = i + 1; j < n; ++j) {
+                Assert.assertEquals(0.0, l.getEntry(i, j), 0.0);
+                Assert.assertEquals(0.0, u.getEntry(j, i), 0.0);
+            }
+        }
+        Assert.assertEquals(0.0, permuted.subtract(l.multiply(u)).getNorm1(), tolerance * permuted.getNorm1());
+    }
+
+}
@@ -22,6 +22,7 @@
 package org.hipparchus.linear;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -691,5 +692,33 @@ public class SymmLQTest {
             solver.solve(a, m, b);
         }
     }
+
+    @Test
+    public void testParallel() {
+        final CompressedSparseRealMatrix a = SparseCholeskyDecompositionTest.laplacian(120);
+        final RealVector b = new ArrayRealVector(a.getRowDimension());
+        for (int i = 0; i < b.getDimension(); ++i) {
+            b.setEntry(i, FastMath.cos(0.01 * i));
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final RealLinearOperator m : new RealLinearOperator[] {
+                null, JacobiPreconditioner.create(a), new SSORPreconditioner(a, 1.2)
+            }) {
+                final SymmLQ serial   = new SymmLQ(1000, 1.0e-10, true);
+                final SymmLQ parallel = new SymmLQ(1000, 1.0e-10, true, pool);
+                Assert.assertNull(serial.getPool());
+                Assert.assertSame(pool, parallel.getPool());
+                final RealVector xS = serial.solve(a, m, b);
+                final RealVector xP = parallel.solve(a, m, b);
+                Assert.assertEquals(0.0, a.operate(xP).subtract(b).getNorm(), 1.0e-8 * b.getNorm());
+                Assert.assertEquals(0.0, xP.subtract(xS).getNorm(), 1.0e-8 * xS.getNorm());
+                Assert.assertEquals(serial.getIterationManager().getIterations(),
+                                    parallel.getIterationManager().getIterations(), 1);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
 
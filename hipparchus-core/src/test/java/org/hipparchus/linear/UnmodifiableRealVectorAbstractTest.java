@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.analysis.function.Sin;
@@ -274,6 +275,8 @@ public abstract class UnmodifiableRealVectorAbstractTest {
             return createVector();
         } else if (c.isAssignableFrom(UnivariateFunction.class)) {
             return new Sin();
+        } else if (c == ForkJoinPool.class) {
+            return ForkJoinPool.commonPool();
         } else {
             throw new IllegalArgumentException("could not create " + c);
         }
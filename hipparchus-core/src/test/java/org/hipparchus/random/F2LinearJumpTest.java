@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class F2LinearJumpTest {
+
+    @Test
+    public void testMinimalPolynomialLfsr() {
+        // x^31 + x^3 + 1 is primitive, the corresponding sequence must give it back
+        final int[] register = { 0x1 };
+        final long[] p = F2LinearJump.minimalPolynomial(() -> {
+            final int state = register[0];
+            final int bit   = ((state >>> 30) ^ (state >>> 27)) & 0x1;
+            register[0] = ((state << 1) | bit) & 0x7fffffff;
+            return -(state & 0x1);
+        }, 128);
+        Assert.assertEquals(31, F2LinearJump.degree(p));
+        Assert.assertArrayEquals(new long[] { (1L << 31) | (1L << 3) | 1L }, p);
+    }
+
+    @Test
+    public void testPowers() {
+        final long[] q = F2LinearJump.shift(new long[] { 0x1d7L }, 100);
+        for (int e = 0; e < 20; ++e) {
+            Assert.assertArrayEquals(F2LinearJump.xPower(q, 1L << e), F2LinearJump.xPowerOfTwo(q, e));
+        }
+        // below the modulus degree, powers of x are not reduced
+        final long[] p = F2LinearJump.xPower(q, 100);
+        Assert.assertEquals(100, F2LinearJump.degree(p));
+        Assert.assertTrue(F2LinearJump.coefficient(p, 100));
+        Assert.assertFalse(F2LinearJump.coefficient(p, 99));
+        Assert.assertFalse(F2LinearJump.coefficient(p, 1000));
+        Assert.assertEquals(-1, F2LinearJump.degree(new long[2]));
+    }
+
+}
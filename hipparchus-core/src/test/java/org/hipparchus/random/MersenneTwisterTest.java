@@ -306,4 +306,46 @@ public class MersenneTwisterTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Test
+    public void testJumpAgainstSteps() {
+        for (final int warmup : new int[] { 0, 1, 623, 624, 1000 }) {
+            final MersenneTwister generator = new MersenneTwister(new int[] {0x123, 0x234, 0x345, 0x456});
+            for (int i = 0; i < warmup; ++i) {
+                generator.nextInt();
+            }
+            final MersenneTwister stepped = generator.copy();
+            for (int i = 0; i < 10007; ++i) {
+                stepped.nextInt();
+            }
+            generator.jump(F2LinearJump.xPower(generator.linearModulus(), 10007));
+            for (int i = 0; i < 2000; ++i) {
+                Assert.assertEquals(stepped.nextInt(), generator.nextInt());
+            }
+        }
+    }
+
+    @Test
+    public void testCopyAndJump() {
+        final MersenneTwister generator = new MersenneTwister(new int[] {0x123, 0x234, 0x345, 0x456});
+        generator.nextGaussian();
+        final MersenneTwister reference = generator.copy();
+        final JumpableRandomGenerator copy = generator.copyAndJump();
+        Assert.assertEquals(reference.nextGaussian(), copy.nextGaussian(), 0.0);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(reference.nextInt(), copy.nextInt());
+        }
+        final MersenneTwister other = new MersenneTwister(new int[] {0x123, 0x234, 0x345, 0x456});
+        other.nextGaussian();
+        other.jump();
+        int same = 0;
+        for (int i = 0; i < 100; ++i) {
+            final int next = generator.nextInt();
+            Assert.assertEquals(other.nextInt(), next);
+            if (next == reference.nextInt()) {
+                ++same;
+            }
+        }
+        Assert.assertTrue(same < 3);
+    }
+
 }
@@ -28,13 +28,20 @@ import java.util.List;
 
 import org.hipparchus.RetryRunner;
 import org.hipparchus.UnitTestUtils;
+import org.hipparchus.distribution.IntegerDistribution;
+import org.hipparchus.distribution.RealDistribution;
 import org.hipparchus.distribution.continuous.BetaDistribution;
 import org.hipparchus.distribution.continuous.EnumeratedRealDistribution;
 import org.hipparchus.distribution.continuous.ExponentialDistribution;
 import org.hipparchus.distribution.continuous.GammaDistribution;
+import org.hipparchus.distribution.continuous.LogNormalDistribution;
 import org.hipparchus.distribution.continuous.NormalDistribution;
+import org.hipparchus.distribution.continuous.UniformRealDistribution;
+import org.hipparchus.distribution.continuous.WeibullDistribution;
+import org.hipparchus.distribution.discrete.BinomialDistribution;
 import org.hipparchus.distribution.discrete.EnumeratedIntegerDistribution;
 import org.hipparchus.distribution.discrete.PoissonDistribution;
+import org.hipparchus.distribution.discrete.UniformIntegerDistribution;
 import org.hipparchus.distribution.discrete.ZipfDistribution;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
@@ -979,4 +986,44 @@ public class RandomDataGeneratorTest {
         UnitTestUtils.assertChiSquareAccept(new String[] {"0", "1", "2"}, expected, observed, 0.01);
     }
 
+    @Test
+    public void testNextDeviatesBulk() {
+        final RealDistribution[] realDistributions = {
+            new NormalDistribution(1.5, 0.25),
+            new LogNormalDistribution(0.5, 0.75),
+            new UniformRealDistribution(-2.0, 3.0),
+            new ExponentialDistribution(2.0),
+            new WeibullDistribution(1.5, 2.0)
+        };
+        for (final RealDistribution dist : realDistributions) {
+            final RandomDataGenerator scalar = RandomDataGenerator.of(new Well19937c(100));
+            final RandomDataGenerator bulk   = RandomDataGenerator.of(new Well19937c(100));
+            final double[] values = new double[1003];
+            bulk.nextDeviates(dist, values, 2, 1001);
+            Assert.assertEquals(0.0, values[0], 0.0);
+            Assert.assertEquals(0.0, values[1], 0.0);
+            for (int i = 2; i < values.length; ++i) {
+                Assert.assertEquals(scalar.nextDeviate(dist), values[i], 0.0);
+            }
+            Assert.assertEquals(scalar.nextGaussian(), bulk.nextGaussian(), 0.0);
+        }
+
+        final IntegerDistribution[] integerDistributions = {
+            new BinomialDistribution(20, 0.3),
+            new PoissonDistribution(3.0),
+            new UniformIntegerDistribution(-3, 8)
+        };
+        for (final IntegerDistribution dist : integerDistributions) {
+            final RandomDataGenerator scalar = RandomDataGenerator.of(new Well19937c(100));
+            final RandomDataGenerator bulk   = RandomDataGenerator.of(new Well19937c(100));
+            final int[] values = new int[1001];
+            bulk.nextDeviates(dist, values);
+            for (int i = 0; i < values.length; ++i) {
+                Assert.assertEquals(scalar.nextDeviate(dist), values[i]);
+            }
+            Assert.assertEquals(scalar.nextInt(), bulk.nextInt());
+        }
+    }
+
 }
+
@@ -337,6 +337,57 @@ public abstract class RandomGeneratorAbstractTest extends RandomDataGeneratorTes
         checkSameSequence(gen, gen1);
     }
 
+    @Test
+    public void testBulkMethods() {
+        // odd offset and length larger than pools and chunks
+        final int offset = 3;
+        final int len    = 1501;
+        final RandomGenerator scalar = makeGenerator();
+        final RandomGenerator bulk   = makeGenerator();
+
+        final int[] ints = new int[offset + len + 2];
+        bulk.nextInt(ints, offset, len);
+        for (int i = 0; i < ints.length; ++i) {
+            Assert.assertEquals(i < offset || i >= offset + len ? 0 : scalar.nextInt(), ints[i]);
+        }
+
+        final long[] longs = new long[len];
+        bulk.nextLong(longs);
+        for (int i = 0; i < longs.length; ++i) {
+            Assert.assertEquals(scalar.nextLong(), longs[i]);
+        }
+
+        final double[] doubles = new double[offset + len];
+        bulk.nextDouble(doubles, offset, len);
+        for (int i = offset; i < doubles.length; ++i) {
+            Assert.assertEquals(scalar.nextDouble(), doubles[i], 0.0);
+        }
+
+        // gaussian values, with a pending cached value both before and after the bulk call
+        Assert.assertEquals(scalar.nextGaussian(), bulk.nextGaussian(), 0.0);
+        final double[] gaussians = new double[len];
+        bulk.nextGaussian(gaussians);
+        for (int i = 0; i < gaussians.length; ++i) {
+            Assert.assertEquals(scalar.nextGaussian(), gaussians[i], 0.0);
+        }
+        Assert.assertEquals(scalar.nextGaussian(), bulk.nextGaussian(), 0.0);
+        Assert.assertEquals(scalar.nextInt(), bulk.nextInt());
+
+        // empty ranges are allowed, even at the end of the array
+        bulk.nextDouble(doubles, doubles.length, 0);
+        Assert.assertEquals(scalar.nextInt(), bulk.nextInt());
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testBulkMethodsOffsetError() {
+        makeGenerator().nextDouble(new double[5], 6, 0);
+    }
+
+    @Test(expected=MathIllegalArgumentException.class)
+    public void testBulkMethodsLengthError() {
+        makeGenerator().nextInt(new int[5], 2, 4);
+    }
+
     private void checkSameSequence(RandomGenerator gen1, RandomGenerator gen2) {
         final int len = 11;  // Needs to be an odd number to check MATH-723
         final double[][] values = new double[2][len];
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SplitMix64Test extends RandomGeneratorAbstractTest {
+
+    @Override
+    protected RandomGenerator makeGenerator() {
+        return new SplitMix64(111L);
+    }
+
+    @Test
+    public void testSplittableRandomCompatibility() {
+        final SplittableRandom reference = new SplittableRandom(0x123456789abcdefL);
+        final SplitMix64       generator = new SplitMix64(0x123456789abcdefL);
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(reference.nextLong(), generator.nextLong());
+        }
+        final SplittableRandom referenceSplit = reference.split();
+        final SplitMix64       split          = generator.split();
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(referenceSplit.nextLong(), split.nextLong());
+            Assert.assertEquals(reference.nextLong(), generator.nextLong());
+        }
+    }
+
+    @Test
+    public void testSplitsDiffer() {
+        final SplitMix64 generator = new SplitMix64(42L);
+        final SplitMix64 split1    = generator.split();
+        final SplitMix64 split2    = generator.split();
+        int same = 0;
+        for (int i = 0; i < 1000; ++i) {
+            if (split1.nextLong() == split2.nextLong()) {
+                ++same;
+            }
+        }
+        Assert.assertEquals(0, same);
+    }
+
+    @Test
+    public void testMixIsBijective() {
+        // the mixing function is inverted by undoing each xorshift and multiplication
+        final long[] values = { 0L, 1L, -1L, 0x123456789abcdefL, Long.MIN_VALUE };
+        for (final long value : values) {
+            long m = SplitMix64.mix64(value);
+            m = m ^ (m >>> 31) ^ (m >>> 62);
+            m = m * 0x319642b2d24d8ec3L;
+            m = m ^ (m >>> 27) ^ (m >>> 54);
+            m = m * 0x96de1b173f119089L;
+            m = m ^ (m >>> 30) ^ (m >>> 60);
+            Assert.assertEquals(value, m);
+        }
+    }
+
+}
@@ -117,4 +117,46 @@ public class Well19937cTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Test
+    public void testJumpAgainstSteps() {
+        for (final int warmup : new int[] { 0, 1, 623, 1000 }) {
+            final Well19937c generator = new Well19937c(12345);
+            for (int i = 0; i < warmup; ++i) {
+                generator.nextInt();
+            }
+            final Well19937c stepped = generator.copy();
+            for (int i = 0; i < 10007; ++i) {
+                stepped.nextInt();
+            }
+            generator.jump(F2LinearJump.xPower(generator.linearModulus(), 10007));
+            for (int i = 0; i < 2000; ++i) {
+                Assert.assertEquals(stepped.nextInt(), generator.nextInt());
+            }
+        }
+    }
+
+    @Test
+    public void testCopyAndJump() {
+        final Well19937c generator = new Well19937c(12345);
+        generator.nextGaussian();
+        final Well19937c reference = generator.copy();
+        final JumpableRandomGenerator copy = generator.copyAndJump();
+        Assert.assertEquals(reference.nextGaussian(), copy.nextGaussian(), 0.0);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(reference.nextInt(), copy.nextInt());
+        }
+        final Well19937c other = new Well19937c(12345);
+        other.nextGaussian();
+        other.jump();
+        int same = 0;
+        for (int i = 0; i < 100; ++i) {
+            final int next = generator.nextInt();
+            Assert.assertEquals(other.nextInt(), next);
+            if (next == reference.nextInt()) {
+                ++same;
+            }
+        }
+        Assert.assertTrue(same < 3);
+    }
+
 }
@@ -117,4 +117,46 @@ public class Well44497bTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Test
+    public void testJumpAgainstSteps() {
+        for (final int warmup : new int[] { 0, 1391, 2000 }) {
+            final Well44497b generator = new Well44497b(12345);
+            for (int i = 0; i < warmup; ++i) {
+                generator.nextInt();
+            }
+            final Well44497b stepped = generator.copy();
+            for (int i = 0; i < 30011; ++i) {
+                stepped.nextInt();
+            }
+            generator.jump(F2LinearJump.xPower(generator.linearModulus(), 30011));
+            for (int i = 0; i < 2000; ++i) {
+                Assert.assertEquals(stepped.nextInt(), generator.nextInt());
+            }
+        }
+    }
+
+    @Test
+    public void testCopyAndJump() {
+        final Well44497b generator = new Well44497b(12345);
+        generator.nextGaussian();
+        final Well44497b reference = generator.copy();
+        final JumpableRandomGenerator copy = generator.copyAndJump();
+        Assert.assertEquals(reference.nextGaussian(), copy.nextGaussian(), 0.0);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(reference.nextInt(), copy.nextInt());
+        }
+        final Well44497b other = new Well44497b(12345);
+        other.nextGaussian();
+        other.jump();
+        int same = 0;
+        for (int i = 0; i < 100; ++i) {
+            final int next = generator.nextInt();
+            Assert.assertEquals(other.nextInt(), next);
+            if (next == reference.nextInt()) {
+                ++same;
+            }
+        }
+        Assert.assertTrue(same < 3);
+    }
+
 }
@@ -77,4 +77,46 @@ public class Well512aTest extends RandomGeneratorAbstractTest {
 
     }
 
+    @Test
+    public void testJumpAgainstSteps() {
+        for (final int warmup : new int[] { 0, 1, 15, 17 }) {
+            final Well512a generator = new Well512a(12345);
+            for (int i = 0; i < warmup; ++i) {
+                generator.nextInt();
+            }
+            final Well512a stepped = generator.copy();
+            for (int i = 0; i < 1009; ++i) {
+                stepped.nextInt();
+            }
+            generator.jump(F2LinearJump.xPower(generator.linearModulus(), 1009));
+            for (int i = 0; i < 2000; ++i) {
+                Assert.assertEquals(stepped.nextInt(), generator.nextInt());
+            }
+        }
+    }
+
+    @Test
+    public void testCopyAndJump() {
+        final Well512a generator = new Well512a(12345);
+        generator.nextGaussian();
+        final Well512a reference = generator.copy();
+        final JumpableRandomGenerator copy = generator.copyAndJump();
+        Assert.assertEquals(reference.nextGaussian(), copy.nextGaussian(), 0.0);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(reference.nextInt(), copy.nextInt());
+        }
+        final Well512a other = new Well512a(12345);
+        other.nextGaussian();
+        other.jump();
+        int same = 0;
+        for (int i = 0; i < 100; ++i) {
+            final int next = generator.nextInt();
+            Assert.assertEquals(other.nextInt(), next);
+            if (next == reference.nextInt()) {
+                ++same;
+            }
+        }
+        Assert.assertTrue(same < 3);
+    }
+
 }
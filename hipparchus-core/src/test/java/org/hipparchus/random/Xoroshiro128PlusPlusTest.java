@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Xoroshiro128PlusPlusTest extends RandomGeneratorAbstractTest {
+
+    @Override
+    protected RandomGenerator makeGenerator() {
+        return new Xoroshiro128PlusPlus(111L);
+    }
+
+    @Test
+    public void testJumpPolynomials() {
+        final long[] p = characteristicPolynomial();
+        Assert.assertEquals(128, F2LinearJump.degree(p));
+        Assert.assertArrayEquals(new long[] { 0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L },
+                                 F2LinearJump.xPowerOfTwo(p, 64));
+        Assert.assertArrayEquals(new long[] { 0x360fd5f2cf8d5d99L, 0x9c6e6877736c46e3L },
+                                 F2LinearJump.xPowerOfTwo(p, 96));
+    }
+
+    @Test
+    public void testJumpAgainstSteps() {
+        final Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(0x1234L);
+        final Xoroshiro128PlusPlus stepped   = generator.copy();
+        for (int i = 0; i < 1009; ++i) {
+            stepped.nextLong();
+        }
+        generator.jump(F2LinearJump.xPower(characteristicPolynomial(), 1009));
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(stepped.nextLong(), generator.nextLong());
+        }
+    }
+
+    @Test
+    public void testCopyAndJump() {
+        final Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(0x1234L);
+        generator.nextGaussian();
+        final Xoroshiro128PlusPlus reference = generator.copy();
+        final Xoroshiro128PlusPlus copy      = generator.copyAndJump();
+        Assert.assertEquals(reference.nextGaussian(), copy.nextGaussian(), 0.0);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(reference.nextLong(), copy.nextLong());
+        }
+        final Xoroshiro128PlusPlus other = new Xoroshiro128PlusPlus(0x1234L);
+        other.nextGaussian();
+        other.jump();
+        final Xoroshiro128PlusPlus far = new Xoroshiro128PlusPlus(0x1234L);
+        far.nextGaussian();
+        far.longJump();
+        for (int i = 0; i < 100; ++i) {
+            final long next = generator.nextLong();
+            Assert.assertEquals(other.nextLong(), next);
+            Assert.assertNotEquals(reference.nextLong(), next);
+            Assert.assertNotEquals(far.nextLong(), next);
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        final Xoroshiro128PlusPlus generator1 = new Xoroshiro128PlusPlus(0x1234L);
+        final Xoroshiro128PlusPlus generator2 = new Xoroshiro128PlusPlus(0x1234L);
+        final Xoroshiro128PlusPlus split1     = generator1.split();
+        final Xoroshiro128PlusPlus split2     = generator2.split();
+        for (int i = 0; i < 100; ++i) {
+            final long next = split1.nextLong();
+            Assert.assertEquals(split2.nextLong(), next);
+            Assert.assertNotEquals(generator1.nextLong(), next);
+        }
+    }
+
+    private long[] characteristicPolynomial() {
+        // linear engine of xoroshiro128, observed through the sign bit of its first word
+        final long[] s = { 1L, 2L };
+        return F2LinearJump.minimalPolynomial(() -> {
+            final int bit = (int) (s[0] >>> 32);
+            final long t = s[1] ^ s[0];
+            s[0] = Long.rotateLeft(s[0], 49) ^ t ^ (t << 21);
+            s[1] = Long.rotateLeft(t, 28);
+            return bit;
+        }, 2 * 128);
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Xoshiro256StarStarTest extends RandomGeneratorAbstractTest {
+
+    @Override
+    protected RandomGenerator makeGenerator() {
+        return new Xoshiro256StarStar(111L);
+    }
+
+    @Test
+    public void testJumpPolynomials() {
+        final long[] p = characteristicPolynomial();
+        Assert.assertEquals(256, F2LinearJump.degree(p));
+        Assert.assertArrayEquals(new long[] { 0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL },
+                                 F2LinearJump.xPowerOfTwo(p, 128));
+        Assert.assertArrayEquals(new long[] { 0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L, 0x39109bb02acbe635L },
+                                 F2LinearJump.xPowerOfTwo(p, 192));
+    }
+
+    @Test
+    public void testJumpAgainstSteps() {
+        final Xoshiro256StarStar generator = new Xoshiro256StarStar(0x1234L);
+        final Xoshiro256StarStar stepped   = generator.copy();
+        for (int i = 0; i < 1009; ++i) {
+            stepped.nextLong();
+        }
+        generator.jump(F2LinearJump.xPower(characteristicPolynomial(), 1009));
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(stepped.nextLong(), generator.nextLong());
+        }
+    }
+
+    @Test
+    public void testCopyAndJump() {
+        final Xoshiro256StarStar generator = new Xoshiro256StarStar(0x1234L);
+        generator.nextGaussian();
+        final Xoshiro256StarStar reference = generator.copy();
+        final Xoshiro256StarStar copy      = generator.copyAndJump();
+        Assert.assertEquals(reference.nextGaussian(), copy.nextGaussian(), 0.0);
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(reference.nextLong(), copy.nextLong());
+        }
+        final Xoshiro256StarStar other = new Xoshiro256StarStar(0x1234L);
+        other.nextGaussian();
+        other.jump();
+        final Xoshiro256StarStar far = new Xoshiro256StarStar(0x1234L);
+        far.nextGaussian();
+        far.longJump();
+        for (int i = 0; i < 100; ++i) {
+            final long next = generator.nextLong();
+            Assert.assertEquals(other.nextLong(), next);
+            Assert.assertNotEquals(reference.nextLong(), next);
+            Assert.assertNotEquals(far.nextLong(), next);
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        final Xoshiro256StarStar generator1 = new Xoshiro256StarStar(0x1234L);
+        final Xoshiro256StarStar generator2 = new Xoshiro256StarStar(0x1234L);
+        final Xoshiro256StarStar split1     = generator1.split();
+        final Xoshiro256StarStar split2     = generator2.split();
+        for (int i = 0; i < 100; ++i) {
+            final long next = split1.nextLong();
+            Assert.assertEquals(split2.nextLong(), next);
+            Assert.assertNotEquals(generator1.nextLong(), next);
+        }
+    }
+
+    private long[] characteristicPolynomial() {
+        // linear engine of xoshiro256, observed through the sign bit of its first word
+        final long[] s = { 1L, 2L, 3L, 4L };
+        return F2LinearJump.minimalPolynomial(() -> {
+            final int bit = (int) (s[0] >>> 32);
+            final long t = s[1] << 17;
+            s[2] ^= s[0];
+            s[3] ^= s[1];
+            s[1] ^= s[2];
+            s[0] ^= s[3];
+            s[2] ^= t;
+            s[3] = Long.rotateLeft(s[3], 45);
+            return bit;
+        }, 2 * 256);
+    }
+
+}
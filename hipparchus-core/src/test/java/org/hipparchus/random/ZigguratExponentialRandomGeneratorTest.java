@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.distribution.continuous.ExponentialDistribution;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZigguratExponentialRandomGeneratorTest {
+
+    @Test
+    public void testMeanAndStandardDeviation() {
+        ZigguratExponentialRandomGenerator generator =
+                        new ZigguratExponentialRandomGenerator(new Well19937c(17399225432l));
+        double[] sample = new double[100000];
+        for (int i = 0; i < sample.length; ++i) {
+            sample[i] = generator.nextExponential(2.5);
+        }
+        Assert.assertEquals(2.5, UnitTestUtils.mean(sample), 0.04);
+        Assert.assertEquals(6.25, UnitTestUtils.variance(sample), 0.25);
+    }
+
+    @Test
+    public void testDistribution() {
+        ZigguratExponentialRandomGenerator generator =
+                        new ZigguratExponentialRandomGenerator(new Well19937c(0x5d8a1c30a2c7f1e4l));
+        double[] sample = new double[100000];
+        for (int i = 0; i < sample.length; ++i) {
+            sample[i] = generator.nextExponential();
+        }
+        UnitTestUtils.assertGTest(new ExponentialDistribution(1), sample, 0.001);
+    }
+
+    @Test
+    public void testTail() {
+        // values beyond the base layer are generated by shifting
+        ZigguratExponentialRandomGenerator generator =
+                        new ZigguratExponentialRandomGenerator(new Well19937c(0x3a6b9d81f0c2e457l));
+        final double threshold = 7.69711747013104972;
+        final int n = 2000000;
+        int beyond = 0;
+        int farBeyond = 0;
+        for (int i = 0; i < n; ++i) {
+            final double x = generator.nextExponential();
+            if (x > threshold) {
+                ++beyond;
+                if (x > threshold + 1) {
+                    ++farBeyond;
+                }
+            }
+        }
+        final double expected = n * FastMath.exp(-threshold);
+        Assert.assertEquals(expected, beyond, 4 * FastMath.sqrt(expected));
+        Assert.assertEquals(expected * FastMath.exp(-1), farBeyond, 4 * FastMath.sqrt(expected * FastMath.exp(-1)));
+    }
+
+    @Test(expected = MathIllegalArgumentException.class)
+    public void testNegativeMean() {
+        new ZigguratExponentialRandomGenerator(new Well19937c(42l)).nextExponential(-1.0);
+    }
+
+}
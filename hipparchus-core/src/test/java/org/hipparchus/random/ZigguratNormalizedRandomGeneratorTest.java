@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.distribution.continuous.NormalDistribution;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZigguratNormalizedRandomGeneratorTest {
+
+    @Test
+    public void testMeanAndStandardDeviation() {
+        RandomGenerator rg = new Well19937c(17399225432l);
+        ZigguratNormalizedRandomGenerator generator = new ZigguratNormalizedRandomGenerator(rg);
+        double[] sample = new double[100000];
+        for (int i = 0; i < sample.length; ++i) {
+            sample[i] = generator.nextNormalizedDouble();
+        }
+        Assert.assertEquals(0.0, UnitTestUtils.mean(sample), 0.012);
+        Assert.assertEquals(1.0, UnitTestUtils.variance(sample), 0.02);
+    }
+
+    @Test
+    public void testDistribution() {
+        ZigguratNormalizedRandomGenerator generator =
+                        new ZigguratNormalizedRandomGenerator(new Well19937c(0x5d8a1c30a2c7f1e4l));
+        double[] sample = new double[100000];
+        for (int i = 0; i < sample.length; ++i) {
+            sample[i] = generator.nextNormalizedDouble();
+        }
+        UnitTestUtils.assertGTest(new NormalDistribution(0, 1), sample, 0.001);
+    }
+
+    @Test
+    public void testTail() {
+        // values beyond the base layer are generated by a separate algorithm
+        ZigguratNormalizedRandomGenerator generator =
+                        new ZigguratNormalizedRandomGenerator(new Well19937c(0x3a6b9d81f0c2e457l));
+        final NormalDistribution normal = new NormalDistribution(0, 1);
+        final double threshold = 3.6541528853610088;
+        final int n = 2000000;
+        int positive = 0;
+        int negative = 0;
+        for (int i = 0; i < n; ++i) {
+            final double x = generator.nextNormalizedDouble();
+            if (x > threshold) {
+                ++positive;
+            } else if (x < -threshold) {
+                ++negative;
+            }
+        }
+        final double expected = n * normal.cumulativeProbability(-threshold);
+        Assert.assertEquals(expected, positive, 4 * FastMath.sqrt(expected));
+        Assert.assertEquals(expected, negative, 4 * FastMath.sqrt(expected));
+    }
+
+    @Test
+    public void testReproducible() {
+        ZigguratNormalizedRandomGenerator g1 = new ZigguratNormalizedRandomGenerator(new Well19937c(42l));
+        ZigguratNormalizedRandomGenerator g2 = new ZigguratNormalizedRandomGenerator(new Well19937c(42l));
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(g1.nextNormalizedDouble(), g2.nextNormalizedDouble(), 0.0);
+        }
+    }
+
+}
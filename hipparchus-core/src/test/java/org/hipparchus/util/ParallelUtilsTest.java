@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelUtilsTest {
+
+    @Test
+    public void testSerial() {
+        final int[] count = new int[100];
+        ParallelUtils.forEach(null, 10, 90, 7, i -> ++count[i]);
+        for (int i = 0; i < count.length; ++i) {
+            Assert.assertEquals((i >= 10 && i < 90) ? 1 : 0, count[i]);
+        }
+    }
+
+    @Test
+    public void testParallel() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int grain : new int[] { 1, 3, 64, 1000 }) {
+                final AtomicIntegerArray count = new AtomicIntegerArray(1000);
+                ParallelUtils.forEach(pool, 5, 995, grain, i -> count.incrementAndGet(i));
+                for (int i = 0; i < count.length(); ++i) {
+                    Assert.assertEquals((i >= 5 && i < 995) ? 1 : 0, count.get(i));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSum() {
+        final double[] data = new double[10000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = 1.0 / (i + 1);
+        }
+        final ParallelUtils.RangeSum body = (start, end) -> {
+            double s = 0;
+            for (int i = start; i < end; ++i) {
+                s += data[i];
+            }
+            return s;
+        };
+        final double serial = ParallelUtils.sum(null, 0, data.length, 100, body);
+        Assert.assertEquals(body.sum(0, data.length), serial, 0.0);
+        final ForkJoinPool pool2 = new ForkJoinPool(2);
+        final ForkJoinPool pool4 = new ForkJoinPool(4);
+        try {
+            final double parallel2 = ParallelUtils.sum(pool2, 0, data.length, 100, body);
+            final double parallel4 = ParallelUtils.sum(pool4, 0, data.length, 100, body);
+            Assert.assertEquals(serial, parallel2, 1.0e-13);
+            // result does not depend on the number of threads
+            Assert.assertEquals(parallel2, parallel4, 0.0);
+            Assert.assertEquals(0.0, ParallelUtils.sum(pool4, 7, 7, 100, body), 0.0);
+        } finally {
+            pool2.shutdown();
+            pool4.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyRange() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelUtils.forEach(pool, 4, 4, 1, i -> Assert.fail("no iteration expected"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testExceptionPropagation() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelUtils.forEach(pool, 0, 100, 1, i -> {
+                if (i == 57) {
+                    throw new MathIllegalStateException(LocalizedCoreFormats.SIMPLE_MESSAGE, "boom");
+                }
+            });
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals(LocalizedCoreFormats.SIMPLE_MESSAGE, mise.getSpecifier());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -25,7 +25,6 @@ import java.io.Serializable;
 
 import org.hipparchus.analysis.FunctionUtils;
 import org.hipparchus.analysis.UnivariateFunction;
-import org.hipparchus.complex.Complex;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.ArithmeticUtils;
 import org.hipparchus.util.FastMath;
@@ -167,18 +166,19 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
             x[n - i] = a + b;
             t1 += c;
         }
-        FastFourierTransformer transformer;
-        transformer = new FastFourierTransformer(DftNormalization.STANDARD);
-        Complex[] y = transformer.transform(x, TransformType.FORWARD);
+        final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, DftNormalization.STANDARD);
+        final double[] yR = new double[plan.getSpectrumLength()];
+        final double[] yI = new double[plan.getSpectrumLength()];
+        plan.forward(x, yR, yI);
 
         // reconstruct the FCT result for the original array
-        transformed[0] = y[0].getReal();
+        transformed[0] = yR[0];
         transformed[1] = t1;
         for (int i = 1; i < (n >> 1); i++) {
-            transformed[2 * i]     = y[i].getReal();
-            transformed[2 * i + 1] = transformed[2 * i - 1] - y[i].getImaginary();
+            transformed[2 * i]     = yR[i];
+            transformed[2 * i + 1] = transformed[2 * i - 1] - yI[i];
         }
-        transformed[n] = y[n >> 1].getReal();
+        transformed[n] = yR[n >> 1];
 
         return transformed;
     }
@@ -0,0 +1,779 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
+import org.hipparchus.util.SinCos;
+
+/**
+ * Precomputed plan for discrete Fourier transforms of a fixed length and direction.
+ * <p>
+ * Building a plan factors the length, computes the roots of unity and allocates
+ * the scratch buffers once. The plan can then be applied to any number of data
+ * sets of the same length, in place, on separate real and imaginary arrays and
+ * without allocating any memory. This is the preferred way to perform many
+ * transforms of the same size, as the {@link FastFourierTransformer} methods
+ * based on {@link org.hipparchus.complex.Complex Complex} arrays allocate
+ * a new array and recompute everything at each call.
+ * </p>
+ * <p>
+ * The length is factored in radices 4, 2, 3, 5 (which have dedicated
+ * butterflies) and other small primes (which use a generic butterfly).
+ * The factors are combined using a self-sorting Stockham formulation of
+ * the Cooley-Tukey algorithm, which does not need any bit reversal
+ * permutation but ping-pongs between the data and a scratch buffer.
+ * </p>
+ * <p>
+ * If the length has a prime factor larger than {@link #MAX_GENERIC_RADIX},
+ * the transform is computed using Bluestein's chirp-z algorithm, which
+ * expresses the transform as a circular convolution of length a power of two
+ * at least twice the original length, and computes this convolution using
+ * a precomputed power of two plan.
+ * </p>
+ * <p>
+ * Instances of this class hold scratch buffers, they are therefore
+ * <em>not</em> thread-safe. Concurrent transforms must use one plan per thread.
+ * </p>
+ * @see FastFourierTransformer#createPlan(int, TransformType)
+ * @since 1.9
+ */
+public class FastFourierTransformPlan {
+
+    /** Largest prime factor handled by the generic butterfly. */
+    public static final int MAX_GENERIC_RADIX = 64;
+
+    /** cos(2&pi;/5). */
+    private static final double C51 = FastMath.cos(0.4 * FastMath.PI);
+
+    /** cos(4&pi;/5). */
+    private static final double C52 = FastMath.cos(0.8 * FastMath.PI);
+
+    /** sin(2&pi;/5). */
+    private static final double S51 = FastMath.sin(0.4 * FastMath.PI);
+
+    /** sin(4&pi;/5). */
+    private static final double S52 = FastMath.sin(0.8 * FastMath.PI);
+
+    /** &radic;3/2. */
+    private static final double S3 = 0.5 * FastMath.sqrt(3.0);
+
+    /** Transform length. */
+    private final int n;
+
+    /** Normalization to apply. */
+    private final DftNormalization normalization;
+
+    /** Type of transform. */
+    private final TransformType type;
+
+    /** Scaling factor applied after the unnormalized transform. */
+    private final double scale;
+
+    /** Sign of the exponent (-1 for forward transforms, +1 for inverse transforms). */
+    private final double sign;
+
+    /** Radices of the Stockham stages (null if Bluestein algorithm is used). */
+    private final int[] radices;
+
+    /** Real parts of the roots of unity exp(sign 2i&pi;k/n). */
+    private final double[] wR;
+
+    /** Imaginary parts of the roots of unity exp(sign 2i&pi;k/n). */
+    private final double[] wI;
+
+    /** Real parts of scratch buffer. */
+    private final double[] scratchR;
+
+    /** Imaginary parts of scratch buffer. */
+    private final double[] scratchI;
+
+    /** Real parts of generic butterfly buffer. */
+    private final double[] genericR;
+
+    /** Imaginary parts of generic butterfly buffer. */
+    private final double[] genericI;
+
+    /** Power of two forward transform for Bluestein convolution (null if not needed). */
+    private final FastFourierTransformPlan convolution;
+
+    /** Real parts of Bluestein chirp. */
+    private final double[] chirpR;
+
+    /** Imaginary parts of Bluestein chirp. */
+    private final double[] chirpI;
+
+    /** Real parts of transformed (and scaled) Bluestein filter. */
+    private final double[] filterR;
+
+    /** Imaginary parts of transformed (and scaled) Bluestein filter. */
+    private final double[] filterI;
+
+    /** Simple constructor.
+     * @param n transform length
+     * @param normalization normalization to apply
+     * @param type type of transform
+     * @exception MathIllegalArgumentException if length is not strictly positive
+     */
+    public FastFourierTransformPlan(final int n, final DftNormalization normalization,
+                                    final TransformType type)
+        throws MathIllegalArgumentException {
+
+        if (n < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, n, 1);
+        }
+        MathUtils.checkNotNull(normalization);
+        MathUtils.checkNotNull(type);
+
+        this.n             = n;
+        this.normalization = normalization;
+        this.type          = type;
+        this.sign          = type == TransformType.FORWARD ? -1.0 : 1.0;
+        if (normalization == DftNormalization.UNITARY) {
+            this.scale = 1.0 / FastMath.sqrt(n);
+        } else {
+            this.scale = type == TransformType.INVERSE ? 1.0 / n : 1.0;
+        }
+
+        final int[] factors = factor(n);
+        int largest = 1;
+        for (final int f : factors) {
+            largest = FastMath.max(largest, f);
+        }
+
+        if (largest <= MAX_GENERIC_RADIX) {
+
+            // direct Stockham algorithm
+            radices     = factors;
+            wR          = new double[n];
+            wI          = new double[n];
+            rootsOfUnity(n, sign, wR, wI);
+            scratchR    = new double[n];
+            scratchI    = new double[n];
+            genericR    = new double[largest];
+            genericI    = new double[largest];
+            convolution = null;
+            chirpR      = null;
+            chirpI      = null;
+            filterR     = null;
+            filterI     = null;
+
+        } else {
+
+            // Bluestein algorithm
+            int m = 1;
+            while (m < 2 * n - 1) {
+                m <<= 1;
+            }
+            radices     = null;
+            wR          = null;
+            wI          = null;
+            genericR    = null;
+            genericI    = null;
+            convolution = new FastFourierTransformPlan(m, DftNormalization.STANDARD, TransformType.FORWARD);
+            scratchR    = new double[m];
+            scratchI    = new double[m];
+
+            // chirp c_j = exp(sign i pi j^2 / n)
+            chirpR = new double[n];
+            chirpI = new double[n];
+            final long twoN = 2L * n;
+            for (int j = 0; j < n; ++j) {
+                final long   j2 = (((long) j) * j) % twoN;
+                final SinCos sc = FastMath.sinCos(FastMath.PI * j2 / n);
+                chirpR[j] = sc.cos();
+                chirpI[j] = sign * sc.sin();
+            }
+
+            // filter b_j = conj(c_j), wrapped around for negative indices,
+            // transformed and scaled so the inverse transform is normalized
+            filterR = new double[m];
+            filterI = new double[m];
+            filterR[0] = chirpR[0];
+            filterI[0] = -chirpI[0];
+            for (int j = 1; j < n; ++j) {
+                filterR[j]     = chirpR[j];
+                filterI[j]     = -chirpI[j];
+                filterR[m - j] = chirpR[j];
+                filterI[m - j] = -chirpI[j];
+            }
+            convolution.compute(filterR, filterI);
+            final double scale = 1.0 / m;
+            for (int k = 0; k < m; ++k) {
+                filterR[k] *= scale;
+                filterI[k] *= scale;
+            }
+
+        }
+
+    }
+
+    /** Copy constructor.
+     * <p>
+     * The copy shares the precomputed tables with the original plan
+     * but has its own scratch buffers.
+     * </p>
+     * @param original plan to copy
+     */
+    private FastFourierTransformPlan(final FastFourierTransformPlan original) {
+        this.n             = original.n;
+        this.normalization = original.normalization;
+        this.type          = original.type;
+        this.scale         = original.scale;
+        this.sign          = original.sign;
+        this.radices       = original.radices;
+        this.wR            = original.wR;
+        this.wI            = original.wI;
+        this.scratchR      = new double[original.scratchR.length];
+        this.scratchI      = new double[original.scratchI.length];
+        this.genericR      = original.genericR == null ? null : new double[original.genericR.length];
+        this.genericI      = original.genericI == null ? null : new double[original.genericI.length];
+        this.convolution   = original.convolution == null ? null : original.convolution.copy();
+        this.chirpR        = original.chirpR;
+        this.chirpI        = original.chirpI;
+        this.filterR       = original.filterR;
+        this.filterI       = original.filterI;
+    }
+
+    /** Create a copy of the plan, for use in another thread.
+     * <p>
+     * The copy shares the precomputed tables with the original plan
+     * but has its own scratch buffers, so it is much cheaper to build
+     * than a new plan. The original plan and its copy can be used
+     * concurrently.
+     * </p>
+     * @return copy of the plan
+     */
+    public FastFourierTransformPlan copy() {
+        return new FastFourierTransformPlan(this);
+    }
+
+    /** Get the transform length.
+     * @return transform length
+     */
+    public int getLength() {
+        return n;
+    }
+
+    /** Get the normalization.
+     * @return normalization
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /** Get the type of transform.
+     * @return type of transform
+     */
+    public TransformType getTransformType() {
+        return type;
+    }
+
+    /** Factor a length into radices.
+     * @param n length to factor
+     * @return radices, starting with 4, 2, 3 and 5 and ending with
+     * larger primes in increasing order
+     */
+    private static int[] factor(final int n) {
+        final List<Integer> factors = new ArrayList<>();
+        int remaining = n;
+        while (remaining % 4 == 0) {
+            factors.add(4);
+            remaining /= 4;
+        }
+        for (int p = 2; p * p <= remaining; p += (p == 2) ? 1 : 2) {
+            while (remaining % p == 0) {
+                factors.add(p);
+                remaining /= p;
+            }
+        }
+        if (remaining > 1) {
+            factors.add(remaining);
+        }
+        final int[] array = new int[factors.size()];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = factors.get(i);
+        }
+        return array;
+    }
+
+    /** Compute the roots of unity.
+     * @param n number of roots
+     * @param sign sign of the exponent
+     * @param wR placeholder for real parts
+     * @param wI placeholder for imaginary parts
+     */
+    private static void rootsOfUnity(final int n, final double sign,
+                                     final double[] wR, final double[] wI) {
+        wR[0] = 1.0;
+        wI[0] = 0.0;
+        final double theta = 2 * FastMath.PI / n;
+        for (int k = 1; 2 * k <= n; ++k) {
+            final SinCos sc = FastMath.sinCos(theta * k);
+            wR[k]     = sc.cos();
+            wI[k]     = sign * sc.sin();
+            wR[n - k] = wR[k];
+            wI[n - k] = -wI[k];
+        }
+    }
+
+    /** Compute the transform in place.
+     * <p>
+     * This method does not allocate any memory.
+     * </p>
+     * @param dataR real parts of the data, replaced by the real parts of the transform
+     * @param dataI imaginary parts of the data, replaced by the imaginary parts of the transform
+     * @exception MathIllegalArgumentException if arrays lengths do not match plan length
+     */
+    public void transform(final double[] dataR, final double[] dataI)
+        throws MathIllegalArgumentException {
+        MathArrays.checkEqualLength(dataR, dataI);
+        MathUtils.checkDimension(dataR.length, n);
+        compute(dataR, dataI);
+        if (scale != 1.0) {
+            for (int i = 0; i < n; ++i) {
+                dataR[i] *= scale;
+                dataI[i] *= scale;
+            }
+        }
+    }
+
+    /** Compute the transform in place, in the layout used by
+     * {@link FastFourierTransformer#transformInPlace(double[][], DftNormalization, TransformType)}.
+     * <p>
+     * This method does not allocate any memory.
+     * </p>
+     * @param dataRI the two dimensional array of real and imaginary parts of the data
+     * @exception MathIllegalArgumentException if the number of rows of the specified
+     * array is not two, or if arrays lengths do not match plan length
+     */
+    public void transform(final double[][] dataRI)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(dataRI.length, 2);
+        transform(dataRI[0], dataRI[1]);
+    }
+
+    /** Compute the transforms of several channels in place.
+     * <p>
+     * If a pool is provided, the channels are split in chunks transformed
+     * concurrently, each chunk using its own {@link #copy() copy} of the plan.
+     * </p>
+     * @param channelsR real parts of the channels data, replaced by the real parts of the transforms
+     * @param channelsI imaginary parts of the channels data, replaced by the imaginary parts of the transforms
+     * @param pool pool to use (if null, channels are transformed serially in the calling thread)
+     * @exception MathIllegalArgumentException if the number of real and imaginary channels
+     * do not match, or if arrays lengths do not match plan length
+     */
+    public void transform(final double[][] channelsR, final double[][] channelsI, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(channelsI.length, channelsR.length);
+        final int nbChannels = channelsR.length;
+        final int nbChunks   = TransformUtils.chunks(nbChannels, pool);
+        ParallelUtils.forEach(pool, 0, nbChunks, 1, chunk -> {
+            // the first chunk uses this plan, the other ones use copies
+            final FastFourierTransformPlan plan = chunk == 0 ? this : copy();
+            for (int c = chunk * nbChannels / nbChunks; c < (chunk + 1) * nbChannels / nbChunks; ++c) {
+                plan.transform(channelsR[c], channelsI[c]);
+            }
+        });
+    }
+
+    /** Compute the unnormalized transform in place.
+     * @param dataR real parts of the data
+     * @param dataI imaginary parts of the data
+     */
+    void compute(final double[] dataR, final double[] dataI) {
+        if (radices == null) {
+            bluestein(dataR, dataI);
+        } else {
+            stockham(dataR, dataI);
+        }
+    }
+
+    /** Compute the transform using Stockham algorithm.
+     * @param dataR real parts of the data
+     * @param dataI imaginary parts of the data
+     */
+    private void stockham(final double[] dataR, final double[] dataI) {
+
+        double[] xR = dataR;
+        double[] xI = dataI;
+        double[] yR = scratchR;
+        double[] yI = scratchI;
+
+        // at each stage, sub-transforms of length len are interleaved with stride s
+        int s = 1;
+        int len = n;
+        for (final int p : radices) {
+            final int m = len / p;
+            switch (p) {
+                case 2 :
+                    radix2(xR, xI, yR, yI, s, m);
+                    break;
+                case 3 :
+                    radix3(xR, xI, yR, yI, s, m);
+                    break;
+                case 4 :
+                    radix4(xR, xI, yR, yI, s, m);
+                    break;
+                case 5 :
+                    radix5(xR, xI, yR, yI, s, m);
+                    break;
+                default :
+                    radixGeneric(p, xR, xI, yR, yI, s, m);
+            }
+            final double[] tR = xR;
+            final double[] tI = xI;
+            xR  = yR;
+            xI  = yI;
+            yR  = tR;
+            yI  = tI;
+            s  *= p;
+            len = m;
+        }
+
+        if (xR != dataR) {
+            System.arraycopy(xR, 0, dataR, 0, n);
+            System.arraycopy(xI, 0, dataI, 0, n);
+        }
+
+    }
+
+    /** Radix 2 stage.
+     * @param xR real parts of stage input
+     * @param xI imaginary parts of stage input
+     * @param yR real parts of stage output
+     * @param yI imaginary parts of stage output
+     * @param s stride
+     * @param m length of the sub-transforms after this stage
+     */
+    private void radix2(final double[] xR, final double[] xI,
+                        final double[] yR, final double[] yI,
+                        final int s, final int m) {
+        for (int j = 0; j < m; ++j) {
+            final double w1R = wR[j * s];
+            final double w1I = wI[j * s];
+            final int in0  = s * j;
+            final int in1  = s * (j + m);
+            final int out0 = s * 2 * j;
+            final int out1 = out0 + s;
+            for (int q = 0; q < s; ++q) {
+                final double a0R = xR[in0 + q];
+                final double a0I = xI[in0 + q];
+                final double a1R = xR[in1 + q];
+                final double a1I = xI[in1 + q];
+                final double dR  = a0R - a1R;
+                final double dI  = a0I - a1I;
+                yR[out0 + q] = a0R + a1R;
+                yI[out0 + q] = a0I + a1I;
+                yR[out1 + q] = dR * w1R - dI * w1I;
+                yI[out1 + q] = dR * w1I + dI * w1R;
+            }
+        }
+    }
+
+    /** Radix 3 stage.
+     * @param xR real parts of stage input
+     * @param xI imaginary parts of stage input
+     * @param yR real parts of stage output
+     * @param yI imaginary parts of stage output
+     * @param s stride
+     * @param m length of the sub-transforms after this stage
+     */
+    private void radix3(final double[] xR, final double[] xI,
+                        final double[] yR, final double[] yI,
+                        final int s, final int m) {
+        final double s3 = sign * S3;
+        for (int j = 0; j < m; ++j) {
+            final double w1R = wR[j * s];
+            final double w1I = wI[j * s];
+            final double w2R = wR[2 * j * s];
+            final double w2I = wI[2 * j * s];
+            final int in0  = s * j;
+            final int in1  = s * (j + m);
+            final int in2  = s * (j + 2 * m);
+            final int out0 = s * 3 * j;
+            final int out1 = out0 + s;
+            final int out2 = out1 + s;
+            for (int q = 0; q < s; ++q) {
+                final double a0R = xR[in0 + q];
+                final double a0I = xI[in0 + q];
+                final double a1R = xR[in1 + q];
+                final double a1I = xI[in1 + q];
+                final double a2R = xR[in2 + q];
+                final double a2I = xI[in2 + q];
+                final double tR  = a1R + a2R;
+                final double tI  = a1I + a2I;
+                final double cR  = a0R - 0.5 * tR;
+                final double cI  = a0I - 0.5 * tI;
+                final double dR  = s3 * (a1R - a2R);
+                final double dI  = s3 * (a1I - a2I);
+                final double b1R = cR - dI;
+                final double b1I = cI + dR;
+                final double b2R = cR + dI;
+                final double b2I = cI - dR;
+                yR[out0 + q] = a0R + tR;
+                yI[out0 + q] = a0I + tI;
+                yR[out1 + q] = b1R * w1R - b1I * w1I;
+                yI[out1 + q] = b1R * w1I + b1I * w1R;
+                yR[out2 + q] = b2R * w2R - b2I * w2I;
+                yI[out2 + q] = b2R * w2I + b2I * w2R;
+            }
+        }
+    }
+
+    /** Radix 4 stage.
+     * @param xR real parts of stage input
+     * @param xI imaginary parts of stage input
+     * @param yR real parts of stage output
+     * @param yI imaginary parts of stage output
+     * @param s stride
+     * @param m length of the sub-transforms after this stage
+     */
+    private void radix4(final double[] xR, final double[] xI,
+                        final double[] yR, final double[] yI,
+                        final int s, final int m) {
+        for (int j = 0; j < m; ++j) {
+            final double w1R = wR[j * s];
+            final double w1I = wI[j * s];
+            final double w2R = wR[2 * j * s];
+            final double w2I = wI[2 * j * s];
+            final double w3R = wR[3 * j * s];
+            final double w3I = wI[3 * j * s];
+            final int in0  = s * j;
+            final int in1  = s * (j + m);
+            final int in2  = s * (j + 2 * m);
+            final int in3  = s * (j + 3 * m);
+            final int out0 = s * 4 * j;
+            final int out1 = out0 + s;
+            final int out2 = out1 + s;
+            final int out3 = out2 + s;
+            for (int q = 0; q < s; ++q) {
+                final double a0R = xR[in0 + q];
+                final double a0I = xI[in0 + q];
+                final double a1R = xR[in1 + q];
+                final double a1I = xI[in1 + q];
+                final double a2R = xR[in2 + q];
+                final double a2I = xI[in2 + q];
+                final double a3R = xR[in3 + q];
+                final double a3I = xI[in3 + q];
+                final double s02R = a0R + a2R;
+                final double s02I = a0I + a2I;
+                final double d02R = a0R - a2R;
+                final double d02I = a0I - a2I;
+                final double s13R = a1R + a3R;
+                final double s13I = a1I + a3I;
+                // multiplication of a1 - a3 by sign * i
+                final double r13R = -sign * (a1I - a3I);
+                final double r13I =  sign * (a1R - a3R);
+                final double b1R  = d02R + r13R;
+                final double b1I  = d02I + r13I;
+                final double b2R  = s02R - s13R;
+                final double b2I  = s02I - s13I;
+                final double b3R  = d02R - r13R;
+                final double b3I  = d02I - r13I;
+                yR[out0 + q] = s02R + s13R;
+                yI[out0 + q] = s02I + s13I;
+                yR[out1 + q] = b1R * w1R - b1I * w1I;
+                yI[out1 + q] = b1R * w1I + b1I * w1R;
+                yR[out2 + q] = b2R * w2R - b2I * w2I;
+                yI[out2 + q] = b2R * w2I + b2I * w2R;
+                yR[out3 + q] = b3R * w3R - b3I * w3I;
+                yI[out3 + q] = b3R * w3I + b3I * w3R;
+            }
+        }
+    }
+
+    /** Radix 5 stage.
+     * @param xR real parts of stage input
+     * @param xI imaginary parts of stage input
+     * @param yR real parts of stage output
+     * @param yI imaginary parts of stage output
+     * @param s stride
+     * @param m length of the sub-transforms after this stage
+     */
+    private void radix5(final double[] xR, final double[] xI,
+                        final double[] yR, final double[] yI,
+                        final int s, final int m) {
+        final double s51 = sign * S51;
+        final double s52 = sign * S52;
+        for (int j = 0; j < m; ++j) {
+            final double w1R = wR[j * s];
+            final double w1I = wI[j * s];
+            final double w2R = wR[2 * j * s];
+            final double w2I = wI[2 * j * s];
+            final double w3R = wR[3 * j * s];
+            final double w3I = wI[3 * j * s];
+            final double w4R = wR[4 * j * s];
+            final double w4I = wI[4 * j * s];
+            final int in0  = s * j;
+            final int in1  = s * (j + m);
+            final int in2  = s * (j + 2 * m);
+            final int in3  = s * (j + 3 * m);
+            final int in4  = s * (j + 4 * m);
+            final int out0 = s * 5 * j;
+            final int out1 = out0 + s;
+            final int out2 = out1 + s;
+            final int out3 = out2 + s;
+            final int out4 = out3 + s;
+            for (int q = 0; q < s; ++q) {
+                final double a0R = xR[in0 + q];
+                final double a0I = xI[in0 + q];
+                final double a1R = xR[in1 + q];
+                final double a1I = xI[in1 + q];
+                final double a2R = xR[in2 + q];
+                final double a2I = xI[in2 + q];
+                final double a3R = xR[in3 + q];
+                final double a3I = xI[in3 + q];
+                final double a4R = xR[in4 + q];
+                final double a4I = xI[in4 + q];
+                final double t1R = a1R + a4R;
+                final double t1I = a1I + a4I;
+                final double t2R = a2R + a3R;
+                final double t2I = a2I + a3I;
+                final double d1R = a1R - a4R;
+                final double d1I = a1I - a4I;
+                final double d2R = a2R - a3R;
+                final double d2I = a2I - a3I;
+                final double c1R = a0R + C51 * t1R + C52 * t2R;
+                final double c1I = a0I + C51 * t1I + C52 * t2I;
+                final double c2R = a0R + C52 * t1R + C51 * t2R;
+                final double c2I = a0I + C52 * t1I + C51 * t2I;
+                // multiplications by sign * i
+                final double e1R = -(s51 * d1I + s52 * d2I);
+                final double e1I =   s51 * d1R + s52 * d2R;
+                final double e2R = -(s52 * d1I - s51 * d2I);
+                final double e2I =   s52 * d1R - s51 * d2R;
+                final double b1R = c1R + e1R;
+                final double b1I = c1I + e1I;
+                final double b2R = c2R + e2R;
+                final double b2I = c2I + e2I;
+                final double b3R = c2R - e2R;
+                final double b3I = c2I - e2I;
+                final double b4R = c1R - e1R;
+                final double b4I = c1I - e1I;
+                yR[out0 + q] = a0R + t1R + t2R;
+                yI[out0 + q] = a0I + t1I + t2I;
+                yR[out1 + q] = b1R * w1R - b1I * w1I;
+                yI[out1 + q] = b1R * w1I + b1I * w1R;
+                yR[out2 + q] = b2R * w2R - b2I * w2I;
+                yI[out2 + q] = b2R * w2I + b2I * w2R;
+                yR[out3 + q] = b3R * w3R - b3I * w3I;
+                yI[out3 + q] = b3R * w3I + b3I * w3R;
+                yR[out4 + q] = b4R * w4R - b4I * w4I;
+                yI[out4 + q] = b4R * w4I + b4I * w4R;
+            }
+        }
+    }
+
+    /** Generic radix stage.
+     * @param p radix
+     * @param xR real parts of stage input
+     * @param xI imaginary parts of stage input
+     * @param yR real parts of stage output
+     * @param yI imaginary parts of stage output
+     * @param s stride
+     * @param m length of the sub-transforms after this stage
+     */
+    private void radixGeneric(final int p,
+                              final double[] xR, final double[] xI,
+                              final double[] yR, final double[] yI,
+                              final int s, final int m) {
+        final int rootStride = n / p;
+        for (int j = 0; j < m; ++j) {
+            for (int q = 0; q < s; ++q) {
+
+                // gather inputs
+                for (int t = 0; t < p; ++t) {
+                    genericR[t] = xR[s * (j + t * m) + q];
+                    genericI[t] = xI[s * (j + t * m) + q];
+                }
+
+                // size p transform and twiddle
+                for (int u = 0; u < p; ++u) {
+                    double bR = genericR[0];
+                    double bI = genericI[0];
+                    int tu = 0;
+                    for (int t = 1; t < p; ++t) {
+                        tu += u;
+                        if (tu >= p) {
+                            tu -= p;
+                        }
+                        final double rR = wR[tu * rootStride];
+                        final double rI = wI[tu * rootStride];
+                        bR += genericR[t] * rR - genericI[t] * rI;
+                        bI += genericR[t] * rI + genericI[t] * rR;
+                    }
+                    final double twR = wR[j * u * s];
+                    final double twI = wI[j * u * s];
+                    final int out = s * (p * j + u) + q;
+                    yR[out] = bR * twR - bI * twI;
+                    yI[out] = bR * twI + bI * twR;
+                }
+
+            }
+        }
+    }
+
+    /** Compute the transform using Bluestein algorithm.
+     * @param dataR real parts of the data
+     * @param dataI imaginary parts of the data
+     */
+    private void bluestein(final double[] dataR, final double[] dataI) {
+
+        final int m = scratchR.length;
+
+        // a_j = x_j c_j, padded with zeros
+        for (int j = 0; j < n; ++j) {
+            scratchR[j] = dataR[j] * chirpR[j] - dataI[j] * chirpI[j];
+            scratchI[j] = dataR[j] * chirpI[j] + dataI[j] * chirpR[j];
+        }
+        for (int j = n; j < m; ++j) {
+            scratchR[j] = 0.0;
+            scratchI[j] = 0.0;
+        }
+        convolution.compute(scratchR, scratchI);
+
+        // pointwise product with filter, conjugated so the inverse
+        // transform can be computed using the forward transform
+        for (int k = 0; k < m; ++k) {
+            final double pR = scratchR[k] * filterR[k] - scratchI[k] * filterI[k];
+            final double pI = scratchR[k] * filterI[k] + scratchI[k] * filterR[k];
+            scratchR[k] = pR;
+            scratchI[k] = -pI;
+        }
+        convolution.compute(scratchR, scratchI);
+
+        // X_k = c_k conj(y_k)
+        for (int k = 0; k < n; ++k) {
+            final double yR = scratchR[k];
+            final double yI = -scratchI[k];
+            dataR[k] = yR * chirpR[k] - yI * chirpI[k];
+            dataI[k] = yR * chirpI[k] + yI * chirpR[k];
+        }
+
+    }
+
+}
@@ -42,11 +42,14 @@ import org.hipparchus.util.MathUtils;
  * normalization conventions, which are specified by the parameter
  * {@link DftNormalization}.
  * <p>
- * The current implementation of the discrete Fourier transform as a fast
- * Fourier transform requires the length of the data set to be a power of 2.
- * This greatly simplifies and speeds up the code. Users can pad the data with
- * zeros to meet this requirement. There are other flavors of FFT, for
- * reference, see S. Winograd,
+ * Data sets with a length that is a power of 2 use a dedicated radix 2
+ * algorithm. Other lengths are factored in radices 4, 2, 3, 5 and small
+ * primes combined using a mixed-radix Cooley-Tukey algorithm; lengths
+ * with large prime factors use Bluestein's chirp-z algorithm, which
+ * reduces them to power of 2 transforms. So data sets need not be padded
+ * with zeros anymore, even if lengths that are powers of 2 or have only
+ * small prime factors remain the fastest ones. There are other flavors of
+ * FFT, for reference, see S. Winograd,
  * <i>On computing the discrete Fourier transform</i>, Mathematics of
  * Computation, 32 (1978), 175 - 199.
  *
@@ -117,6 +120,44 @@ public class FastFourierTransformer implements Serializable {
         this.normalization = normalization;
     }
 
+    /**
+     * Creates a reusable plan for transforms of a given length and direction,
+     * with the normalization of this transformer.
+     * <p>
+     * Plans are the preferred way to perform many transforms of the same length,
+     * as they precompute the roots of unity and the scratch buffers once and
+     * transform data in place without allocating memory.
+     * </p>
+     *
+     * @param n length of the data sets to transform
+     * @param type the type of transform (forward, inverse) to be performed
+     * @return plan for transforms of length {@code n}
+     * @throws MathIllegalArgumentException if length is not strictly positive
+     * @since 1.9
+     */
+    public FastFourierTransformPlan createPlan(final int n, final TransformType type)
+        throws MathIllegalArgumentException {
+        return new FastFourierTransformPlan(n, normalization, type);
+    }
+
+    /**
+     * Creates a reusable plan for transforms of real data sets of a given length,
+     * with the normalization of this transformer.
+     * <p>
+     * Real plans compute only the non-redundant half of the conjugate-symmetric
+     * spectrum of real data, which halves both work and memory.
+     * </p>
+     *
+     * @param n length of the real data sets to transform
+     * @return plan for real transforms of length {@code n}
+     * @throws MathIllegalArgumentException if length is not strictly positive
+     * @since 1.9
+     */
+    public RealFastFourierTransformPlan createRealPlan(final int n)
+        throws MathIllegalArgumentException {
+        return new RealFastFourierTransformPlan(n, normalization);
+    }
+
     /**
      * Performs identical index bit reversal shuffles on two arrays of identical
      * size. Each element in the array is swapped with another element based on
@@ -208,8 +249,6 @@ public class FastFourierTransformer implements Serializable {
      * @param type the type of transform (forward, inverse) to be performed
      * @throws MathIllegalArgumentException if the number of rows of the specified
      *   array is not two, or the array is not rectangular
-     * @throws MathIllegalArgumentException if the number of data points is not
-     *   a power of two
      */
     public static void transformInPlace(final double[][] dataRI,
         final DftNormalization normalization, final TransformType type) {
@@ -220,9 +259,11 @@ public class FastFourierTransformer implements Serializable {
         MathArrays.checkEqualLength(dataR, dataI);
 
         final int n = dataR.length;
-        if (!ArithmeticUtils.isPowerOfTwo(n)) {
-            throw new MathIllegalArgumentException(LocalizedFFTFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
-                                                   Integer.valueOf(n));
+        if (n == 0) {
+            return;
+        } else if (!ArithmeticUtils.isPowerOfTwo(n)) {
+            new FastFourierTransformPlan(n, normalization, type).transform(dataR, dataI);
+            return;
         }
 
         if (n == 1) {
@@ -359,12 +400,39 @@ public class FastFourierTransformer implements Serializable {
      * @param f the real data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
      */
     public Complex[] transform(final double[] f, final TransformType type) {
-        final double[][] dataRI = { f.clone(), new double[f.length] };
-        transformInPlace(dataRI, normalization, type);
-        return TransformUtils.createComplexArray(dataRI);
+
+        final int n = f.length;
+        if (n == 0) {
+            return new Complex[0];
+        }
+
+        // compute the non-redundant half of the unnormalized forward transform
+        final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, DftNormalization.STANDARD);
+        final double[] halfR = new double[plan.getSpectrumLength()];
+        final double[] halfI = new double[plan.getSpectrumLength()];
+        plan.forward(f, halfR, halfI);
+
+        // as data is real, the inverse transform is the conjugate of the forward transform
+        final double scale;
+        if (normalization == DftNormalization.UNITARY) {
+            scale = 1.0 / FastMath.sqrt(n);
+        } else {
+            scale = type == TransformType.INVERSE ? 1.0 / n : 1.0;
+        }
+        final double sign = type == TransformType.INVERSE ? -scale : scale;
+
+        // rebuild the full spectrum using conjugate symmetry
+        final Complex[] transformed = new Complex[n];
+        for (int k = 0; k < halfR.length; ++k) {
+            transformed[k] = new Complex(scale * halfR[k], sign * halfI[k]);
+            if (k > 0 && k < n - k) {
+                transformed[n - k] = new Complex(scale * halfR[k], -sign * halfI[k]);
+            }
+        }
+        return transformed;
+
     }
 
     /**
@@ -381,8 +449,6 @@ public class FastFourierTransformer implements Serializable {
      *   if the lower bound is greater than, or equal to the upper bound
      * @throws org.hipparchus.exception.MathIllegalArgumentException
      *   if the number of sample points {@code n} is negative
-     * @throws MathIllegalArgumentException if the number of sample points
-     *   {@code n} is not a power of two
      */
     public Complex[] transform(final UnivariateFunction f,
                                final double min, final double max, final int n,
@@ -398,7 +464,6 @@ public class FastFourierTransformer implements Serializable {
      * @param f the complex data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
      */
     public Complex[] transform(final Complex[] f, final TransformType type) {
         final double[][] dataRI = TransformUtils.createRealImaginaryArray(f);
@@ -25,7 +25,6 @@ import java.io.Serializable;
 
 import org.hipparchus.analysis.FunctionUtils;
 import org.hipparchus.analysis.UnivariateFunction;
-import org.hipparchus.complex.Complex;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.ArithmeticUtils;
 import org.hipparchus.util.FastMath;
@@ -168,16 +167,17 @@ public class FastSineTransformer implements RealTransformer, Serializable {
             x[i]     = a + b;
             x[n - i] = a - b;
         }
-        FastFourierTransformer transformer;
-        transformer = new FastFourierTransformer(DftNormalization.STANDARD);
-        Complex[] y = transformer.transform(x, TransformType.FORWARD);
+        final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, DftNormalization.STANDARD);
+        final double[] yR = new double[plan.getSpectrumLength()];
+        final double[] yI = new double[plan.getSpectrumLength()];
+        plan.forward(x, yR, yI);
 
         // reconstruct the FST result for the original array
         transformed[0] = 0.0;
-        transformed[1] = 0.5 * y[0].getReal();
+        transformed[1] = 0.5 * yR[0];
         for (int i = 1; i < (n >> 1); i++) {
-            transformed[2 * i]     = -y[i].getImaginary();
-            transformed[2 * i + 1] = y[i].getReal() + transformed[2 * i - 1];
+            transformed[2 * i]     = -yI[i];
+            transformed[2 * i + 1] = yR[i] + transformed[2 * i - 1];
         }
 
         return transformed;
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
+import org.hipparchus.util.SinCos;
+
+/**
+ * Precomputed plan for discrete Fourier transforms of real data sets of a fixed length.
+ * <p>
+ * The spectrum X<sub>0</sub>, &hellip;, X<sub>n-1</sub> of a real data set is
+ * conjugate-symmetric: X<sub>n-k</sub> = conj(X<sub>k</sub>). This plan therefore
+ * computes only the non-redundant half X<sub>0</sub>, &hellip;, X<sub>n/2</sub>
+ * (i.e. {@link #getSpectrumLength() n/2 + 1} complex values) in the
+ * {@link #forward(double[], double[], double[]) real to complex} direction, and
+ * rebuilds a real data set from such a half spectrum in the
+ * {@link #inverse(double[], double[], double[]) complex to real} direction.
+ * </p>
+ * <p>
+ * For even lengths, the n real values are packed as n/2 complex values
+ * (even indices as real parts, odd indices as imaginary parts), transformed
+ * with a complex plan of length n/2 and unpacked, which halves both the work
+ * and the memory with respect to a complex transform of length n. Odd lengths
+ * fall back to a complex transform of length n.
+ * </p>
+ * <p>
+ * Instances of this class hold scratch buffers, they are therefore
+ * <em>not</em> thread-safe. Concurrent transforms must use one plan per thread,
+ * for example using {@link #copy()}.
+ * </p>
+ * @see FastFourierTransformer#createRealPlan(int)
+ * @since 1.9
+ */
+public class RealFastFourierTransformPlan {
+
+    /** Data length. */
+    private final int n;
+
+    /** Normalization to apply. */
+    private final DftNormalization normalization;
+
+    /** Scaling factor applied in the forward direction. */
+    private final double forwardScale;
+
+    /** Scaling factor applied in the inverse direction. */
+    private final double inverseScale;
+
+    /** Unnormalized complex forward plan (half length for even lengths, full length for odd lengths). */
+    private final FastFourierTransformPlan complexPlan;
+
+    /** Real parts of the roots of unity exp(-2i&pi;k/n), for 0 &le; k &le; n/2 (null for odd lengths). */
+    private final double[] wR;
+
+    /** Imaginary parts of the roots of unity exp(-2i&pi;k/n), for 0 &le; k &le; n/2 (null for odd lengths). */
+    private final double[] wI;
+
+    /** Real parts of complex buffer. */
+    private final double[] bufferR;
+
+    /** Imaginary parts of complex buffer. */
+    private final double[] bufferI;
+
+    /** Simple constructor.
+     * @param n data length
+     * @param normalization normalization to apply
+     * @exception MathIllegalArgumentException if length is not strictly positive
+     */
+    public RealFastFourierTransformPlan(final int n, final DftNormalization normalization)
+        throws MathIllegalArgumentException {
+
+        if (n < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, n, 1);
+        }
+        MathUtils.checkNotNull(normalization);
+
+        this.n             = n;
+        this.normalization = normalization;
+
+        // length of the underlying complex transform
+        final int complexLength = (n & 0x1) == 0 ? n / 2 : n;
+        complexPlan = new FastFourierTransformPlan(complexLength, DftNormalization.STANDARD, TransformType.FORWARD);
+        bufferR     = new double[complexLength];
+        bufferI     = new double[complexLength];
+
+        // the unnormalized inverse computes complexLength times the standard inverse
+        if (normalization == DftNormalization.UNITARY) {
+            forwardScale = 1.0 / FastMath.sqrt(n);
+            inverseScale = FastMath.sqrt(n) / complexLength;
+        } else {
+            forwardScale = 1.0;
+            inverseScale = 1.0 / complexLength;
+        }
+
+        if (complexLength == n) {
+            wR = null;
+            wI = null;
+        } else {
+            final int half = n / 2;
+            wR = new double[half + 1];
+            wI = new double[half + 1];
+            for (int k = 0; k <= half; ++k) {
+                final SinCos sc = FastMath.sinCos(2 * FastMath.PI * k / n);
+                wR[k] = sc.cos();
+                wI[k] = -sc.sin();
+            }
+        }
+
+    }
+
+    /** Copy constructor.
+     * <p>
+     * The copy shares the precomputed tables with the original plan
+     * but has its own scratch buffers.
+     * </p>
+     * @param original plan to copy
+     */
+    private RealFastFourierTransformPlan(final RealFastFourierTransformPlan original) {
+        this.n             = original.n;
+        this.normalization = original.normalization;
+        this.forwardScale  = original.forwardScale;
+        this.inverseScale  = original.inverseScale;
+        this.complexPlan   = original.complexPlan.copy();
+        this.wR            = original.wR;
+        this.wI            = original.wI;
+        this.bufferR       = new double[original.bufferR.length];
+        this.bufferI       = new double[original.bufferI.length];
+    }
+
+    /** Create a copy of the plan, for use in another thread.
+     * <p>
+     * The copy shares the precomputed tables with the original plan
+     * but has its own scratch buffers, so it is much cheaper to build
+     * than a new plan. The original plan and its copy can be used
+     * concurrently.
+     * </p>
+     * @return copy of the plan
+     */
+    public RealFastFourierTransformPlan copy() {
+        return new RealFastFourierTransformPlan(this);
+    }
+
+    /** Get the data length.
+     * @return data length
+     */
+    public int getLength() {
+        return n;
+    }
+
+    /** Get the length of the non-redundant half spectrum.
+     * @return n/2 + 1
+     */
+    public int getSpectrumLength() {
+        return n / 2 + 1;
+    }
+
+    /** Get the normalization.
+     * @return normalization
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /** Compute the forward transform of a real data set.
+     * <p>
+     * This method does not allocate any memory.
+     * </p>
+     * @param data real data set (length {@link #getLength()}, not modified)
+     * @param spectrumR placeholder for the real parts of X<sub>0</sub>, &hellip;, X<sub>n/2</sub>
+     * (length {@link #getSpectrumLength()})
+     * @param spectrumI placeholder for the imaginary parts of X<sub>0</sub>, &hellip;, X<sub>n/2</sub>
+     * (length {@link #getSpectrumLength()})
+     * @exception MathIllegalArgumentException if arrays lengths do not match plan length
+     */
+    public void forward(final double[] data, final double[] spectrumR, final double[] spectrumI)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkDimension(data.length, n);
+        MathUtils.checkDimension(spectrumR.length, getSpectrumLength());
+        MathUtils.checkDimension(spectrumI.length, getSpectrumLength());
+
+        if (wR == null) {
+            // odd length, use a full complex transform
+            System.arraycopy(data, 0, bufferR, 0, n);
+            Arrays.fill(bufferI, 0.0);
+            complexPlan.compute(bufferR, bufferI);
+            for (int k = 0; k < spectrumR.length; ++k) {
+                spectrumR[k] = forwardScale * bufferR[k];
+                spectrumI[k] = forwardScale * bufferI[k];
+            }
+            return;
+        }
+
+        // pack even indices as real parts and odd indices as imaginary parts
+        final int m = bufferR.length;
+        for (int j = 0; j < m; ++j) {
+            bufferR[j] = data[2 * j];
+            bufferI[j] = data[2 * j + 1];
+        }
+        complexPlan.compute(bufferR, bufferI);
+
+        // unpack: X_k = E_k + w^k O_k, with E_k = (Z_k + conj(Z_{m-k})) / 2
+        // and O_k = (Z_k - conj(Z_{m-k})) / 2i
+        for (int k = 0; k <= m; ++k) {
+            final int    k1  = k == m ? 0 : k;
+            final int    k2  = k == 0 ? 0 : m - k;
+            final double zR  = bufferR[k1];
+            final double zI  = bufferI[k1];
+            final double cR  = bufferR[k2];
+            final double cI  = -bufferI[k2];
+            final double eR  = 0.5 * (zR + cR);
+            final double eI  = 0.5 * (zI + cI);
+            final double oR  = 0.5 * (zI - cI);
+            final double oI  = -0.5 * (zR - cR);
+            spectrumR[k] = forwardScale * (eR + wR[k] * oR - wI[k] * oI);
+            spectrumI[k] = forwardScale * (eI + wR[k] * oI + wI[k] * oR);
+        }
+
+    }
+
+    /** Compute the inverse transform of a half spectrum, yielding a real data set.
+     * <p>
+     * The imaginary parts of X<sub>0</sub> and of X<sub>n/2</sub> (for even n)
+     * should be zero for the spectrum of a real data set, they are ignored.
+     * This method does not allocate any memory.
+     * </p>
+     * @param spectrumR real parts of X<sub>0</sub>, &hellip;, X<sub>n/2</sub>
+     * (length {@link #getSpectrumLength()}, not modified)
+     * @param spectrumI imaginary parts of X<sub>0</sub>, &hellip;, X<sub>n/2</sub>
+     * (length {@link #getSpectrumLength()}, not modified)
+     * @param data placeholder for the real data set (length {@link #getLength()})
+     * @exception MathIllegalArgumentException if arrays lengths do not match plan length
+     */
+    public void inverse(final double[] spectrumR, final double[] spectrumI, final double[] data)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkDimension(spectrumR.length, getSpectrumLength());
+        MathUtils.checkDimension(spectrumI.length, getSpectrumLength());
+        MathUtils.checkDimension(data.length, n);
+
+        if (wR == null) {
+            // odd length, rebuild the conjugate-symmetric full spectrum,
+            // conjugated so the inverse transform uses the forward plan
+            bufferR[0] = spectrumR[0];
+            bufferI[0] = 0.0;
+            for (int k = 1; k < spectrumR.length; ++k) {
+                bufferR[k]     = spectrumR[k];
+                bufferI[k]     = -spectrumI[k];
+                bufferR[n - k] = spectrumR[k];
+                bufferI[n - k] = spectrumI[k];
+            }
+            complexPlan.compute(bufferR, bufferI);
+            for (int j = 0; j < n; ++j) {
+                data[j] = inverseScale * bufferR[j];
+            }
+            return;
+        }
+
+        // rebuild Z_k = E_k + i O_k, with E_k = (X_k + conj(X_{m-k})) / 2
+        // and O_k = (X_k - conj(X_{m-k})) conj(w^k) / 2,
+        // conjugated so the inverse transform uses the forward plan
+        final int m = bufferR.length;
+        for (int k = 0; k < m; ++k) {
+            final double xR = spectrumR[k];
+            final double xI = k == 0 ? 0.0 : spectrumI[k];
+            final double cR = spectrumR[m - k];
+            final double cI = k == 0 ? 0.0 : -spectrumI[m - k];
+            final double eR = 0.5 * (xR + cR);
+            final double eI = 0.5 * (xI + cI);
+            final double dR = 0.5 * (xR - cR);
+            final double dI = 0.5 * (xI - cI);
+            final double oR = dR * wR[k] + dI * wI[k];
+            final double oI = dI * wR[k] - dR * wI[k];
+            bufferR[k] = eR - oI;
+            bufferI[k] = -(eI + oR);
+        }
+        complexPlan.compute(bufferR, bufferI);
+
+        // unpack even and odd indices
+        for (int j = 0; j < m; ++j) {
+            data[2 * j]     = inverseScale * bufferR[j];
+            data[2 * j + 1] = -inverseScale * bufferI[j];
+        }
+
+    }
+
+    /** Compute the forward transforms of several real channels.
+     * <p>
+     * If a pool is provided, the channels are split in chunks transformed
+     * concurrently, each chunk using its own {@link #copy() copy} of the plan.
+     * </p>
+     * @param channels real data sets (not modified)
+     * @param spectraR placeholders for the real parts of the half spectra
+     * @param spectraI placeholders for the imaginary parts of the half spectra
+     * @param pool pool to use (if null, channels are transformed serially in the calling thread)
+     * @exception MathIllegalArgumentException if the numbers of channels do not match,
+     * or if arrays lengths do not match plan length
+     * @see #forward(double[], double[], double[])
+     */
+    public void forward(final double[][] channels, final double[][] spectraR, final double[][] spectraI,
+                        final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(spectraR.length, channels.length);
+        MathUtils.checkDimension(spectraI.length, channels.length);
+        final int nbChannels = channels.length;
+        final int nbChunks   = TransformUtils.chunks(nbChannels, pool);
+        ParallelUtils.forEach(pool, 0, nbChunks, 1, chunk -> {
+            // the first chunk uses this plan, the other ones use copies
+            final RealFastFourierTransformPlan plan = chunk == 0 ? this : copy();
+            for (int c = chunk * nbChannels / nbChunks; c < (chunk + 1) * nbChannels / nbChunks; ++c) {
+                plan.forward(channels[c], spectraR[c], spectraI[c]);
+            }
+        });
+    }
+
+    /** Compute the inverse transforms of several half spectra, yielding real channels.
+     * <p>
+     * If a pool is provided, the channels are split in chunks transformed
+     * concurrently, each chunk using its own {@link #copy() copy} of the plan.
+     * </p>
+     * @param spectraR real parts of the half spectra (not modified)
+     * @param spectraI imaginary parts of the half spectra (not modified)
+     * @param channels placeholders for the real data sets
+     * @param pool pool to use (if null, channels are transformed serially in the calling thread)
+     * @exception MathIllegalArgumentException if the numbers of channels do not match,
+     * or if arrays lengths do not match plan length
+     * @see #inverse(double[], double[], double[])
+     */
+    public void inverse(final double[][] spectraR, final double[][] spectraI, final double[][] channels,
+                        final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(spectraR.length, channels.length);
+        MathUtils.checkDimension(spectraI.length, channels.length);
+        final int nbChannels = channels.length;
+        final int nbChunks   = TransformUtils.chunks(nbChannels, pool);
+        ParallelUtils.forEach(pool, 0, nbChunks, 1, chunk -> {
+            // the first chunk uses this plan, the other ones use copies
+            final RealFastFourierTransformPlan plan = chunk == 0 ? this : copy();
+            for (int c = chunk * nbChannels / nbChunks; c < (chunk + 1) * nbChannels / nbChunks; ++c) {
+                plan.inverse(spectraR[c], spectraI[c], channels[c]);
+            }
+        });
+    }
+
+}
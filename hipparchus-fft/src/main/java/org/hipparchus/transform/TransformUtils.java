@@ -22,10 +22,12 @@
 package org.hipparchus.transform;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.complex.Complex;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
 
 /**
  * Useful functions for the implementation of various transforms.
@@ -164,4 +166,18 @@ public class TransformUtils {
         }
         return index;
     }
+
+    /**
+     * Returns the number of chunks to use for transforming several channels.
+     *
+     * @param nbChannels number of channels
+     * @param pool pool to use (may be null)
+     * @return number of chunks (1 if pool is null, at most
+     * 4 times the pool parallelism otherwise)
+     * @since 1.9
+     */
+    static int chunks(final int nbChannels, final ForkJoinPool pool) {
+        return (pool == null || nbChannels < 2) ? 1 : FastMath.min(nbChannels, 4 * pool.getParallelism());
+    }
+
 }
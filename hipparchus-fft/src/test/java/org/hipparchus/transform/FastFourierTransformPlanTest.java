@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.util.Random;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastFourierTransformPlanTest {
+
+    @Test
+    public void testConsistencyWithTransformer() {
+        final Random random = new Random(0x5a3c9e17b2d4f608l);
+        for (final int n : new int[] { 1, 2, 8, 12, 64, 100, 127, 1000, 1024 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                final FastFourierTransformer transformer = new FastFourierTransformer(normalization);
+                for (final TransformType type : TransformType.values()) {
+                    final FastFourierTransformPlan plan = transformer.createPlan(n, type);
+                    Assert.assertEquals(n, plan.getLength());
+                    Assert.assertEquals(normalization, plan.getNormalization());
+                    Assert.assertEquals(type, plan.getTransformType());
+                    // the same plan is reused several times
+                    for (int k = 0; k < 3; ++k) {
+                        final double[][] dataRI = new double[2][n];
+                        for (int i = 0; i < n; ++i) {
+                            dataRI[0][i] = 2 * random.nextDouble() - 1;
+                            dataRI[1][i] = 2 * random.nextDouble() - 1;
+                        }
+                        final Complex[] reference =
+                            transformer.transform(TransformUtils.createComplexArray(dataRI), type);
+                        plan.transform(dataRI);
+                        for (int i = 0; i < n; ++i) {
+                            Assert.assertEquals(reference[i].getReal(),      dataRI[0][i], 1.0e-15 * n);
+                            Assert.assertEquals(reference[i].getImaginary(), dataRI[1][i], 1.0e-15 * n);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Random random = new Random(0x1f7d2b6c84e03a95l);
+        final int n = 3600;
+        final FastFourierTransformPlan forward = new FastFourierTransformPlan(n, DftNormalization.STANDARD,
+                                                                              TransformType.FORWARD);
+        final FastFourierTransformPlan inverse = new FastFourierTransformPlan(n, DftNormalization.STANDARD,
+                                                                              TransformType.INVERSE);
+        final double[] re = new double[n];
+        final double[] im = new double[n];
+        for (int i = 0; i < n; ++i) {
+            re[i] = 2 * random.nextDouble() - 1;
+            im[i] = 2 * random.nextDouble() - 1;
+        }
+        final double[] re0 = re.clone();
+        final double[] im0 = im.clone();
+        forward.transform(re, im);
+        inverse.transform(re, im);
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(re0[i], re[i], 1.0e-15);
+            Assert.assertEquals(im0[i], im[i], 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testWrongLength() {
+        final FastFourierTransformPlan plan = new FastFourierTransformPlan(16, DftNormalization.UNITARY,
+                                                                           TransformType.FORWARD);
+        try {
+            plan.transform(new double[15], new double[15]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            plan.transform(new double[16], new double[15]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongPlanLength() {
+        try {
+            new FastFourierTransformPlan(0, DftNormalization.STANDARD, TransformType.FORWARD);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+    }
+
+}
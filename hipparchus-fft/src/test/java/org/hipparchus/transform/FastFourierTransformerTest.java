@@ -47,75 +47,6 @@ public final class FastFourierTransformerTest {
      * Precondition checks.
      */
 
-    @Test
-    public void testTransformComplexSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final Complex[] x = createComplexData(n);
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(x, type[j]);
-                    Assert.fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
-                }
-            }
-        }
-    }
-
-    @Test
-    public void testTransformRealSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final double[] x = createRealData(n);
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(x, type[j]);
-                    Assert.fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
-                }
-            }
-        }
-    }
-
-    @Test
-    public void testTransformFunctionSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final UnivariateFunction f = new Sin();
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(f, 0.0, Math.PI, n, type[j]);
-                    Assert.fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
-                }
-            }
-        }
-    }
-
     @Test
     public void testTransformFunctionNotStrictlyPositiveNumberOfSamples() {
         final int n = -128;
@@ -405,6 +336,68 @@ public final class FastFourierTransformerTest {
         }
     }
 
+    @Test
+    public void testTransformComplexMixedRadix() {
+        // lengths exercising radices 2, 3, 4, 5, generic radices and Bluestein algorithm
+        for (final int n : new int[] { 3, 5, 6, 7, 12, 15, 30, 49, 60, 100, 127, 210, 1000, 3600, 4099 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                for (final TransformType type : TransformType.values()) {
+                    doTestTransformNonPowerOfTwo(n, 2.0e-15, normalization, type);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTransformRealMixedRadix() {
+        final FastFourierTransformer fft = new FastFourierTransformer(DftNormalization.STANDARD);
+        for (final int n : new int[] { 9, 127, 1000 }) {
+            final double[] x = createRealData(n);
+            final Complex[] y = fft.transform(x, TransformType.FORWARD);
+            for (int k = 1; k < n; ++k) {
+                // spectrum of real data is conjugate-symmetric
+                Assert.assertEquals(y[k].getReal(),       y[n - k].getReal(),      1.0e-12);
+                Assert.assertEquals(y[k].getImaginary(), -y[n - k].getImaginary(), 1.0e-12);
+            }
+            final Complex[] z = fft.transform(y, TransformType.INVERSE);
+            for (int i = 0; i < n; ++i) {
+                Assert.assertEquals(x[i], z[i].getReal(),      1.0e-14);
+                Assert.assertEquals(0.0,  z[i].getImaginary(), 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    public void testTransformEmpty() {
+        double[][] data = new double[][] { {}, {} };
+        FastFourierTransformer.transformInPlace(data,
+                                                DftNormalization.STANDARD,
+                                                TransformType.FORWARD);
+        Assert.assertEquals(0, data[0].length);
+    }
+
+    private static void doTestTransformNonPowerOfTwo(final int n, final double tol,
+                                                     final DftNormalization normalization,
+                                                     final TransformType type) {
+        final FastFourierTransformer fft = new FastFourierTransformer(normalization);
+        final Complex[] x = createComplexData(n);
+        final Complex[] expected = dft(x, type == TransformType.FORWARD ? -1 : 1);
+        final double s;
+        if (normalization == DftNormalization.UNITARY) {
+            s = 1.0 / FastMath.sqrt(n);
+        } else {
+            s = type == TransformType.FORWARD ? 1.0 : 1.0 / n;
+        }
+        final Complex[] actual = fft.transform(x, type);
+        // the error of the FFT grows with log(n), the one of the reference naive DFT with n
+        final double threshold = tol * n * s * FastMath.sqrt(n);
+        for (int i = 0; i < n; i++) {
+            final String msg = String.format("%s, %s, %d, %d", normalization, type, n, i);
+            Assert.assertEquals(msg, s * expected[i].getReal(),      actual[i].getReal(),      threshold);
+            Assert.assertEquals(msg, s * expected[i].getImaginary(), actual[i].getImaginary(), threshold);
+        }
+    }
+
     /*
      * Additional tests for 1D data.
      */
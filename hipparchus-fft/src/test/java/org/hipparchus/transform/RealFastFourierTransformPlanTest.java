@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RealFastFourierTransformPlanTest {
+
+    @Test
+    public void testForwardConsistency() {
+        final Random random = new Random(0x7c2e9b415fa3d086l);
+        for (final int n : new int[] { 1, 2, 3, 4, 7, 10, 64, 127, 254, 1000, 3600 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, normalization);
+                Assert.assertEquals(n, plan.getLength());
+                Assert.assertEquals(n / 2 + 1, plan.getSpectrumLength());
+                Assert.assertEquals(normalization, plan.getNormalization());
+                final FastFourierTransformPlan complexPlan =
+                                new FastFourierTransformPlan(n, normalization, TransformType.FORWARD);
+                final double[] data = randomData(random, n);
+                final double[] re   = data.clone();
+                final double[] im   = new double[n];
+                complexPlan.transform(re, im);
+                final double[] spectrumR = new double[plan.getSpectrumLength()];
+                final double[] spectrumI = new double[plan.getSpectrumLength()];
+                plan.forward(data, spectrumR, spectrumI);
+                for (int k = 0; k < spectrumR.length; ++k) {
+                    Assert.assertEquals(re[k], spectrumR[k], 1.0e-15 * n);
+                    Assert.assertEquals(im[k], spectrumI[k], 1.0e-15 * n);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Random random = new Random(0x43a1f08e2d6b95c7l);
+        for (final int n : new int[] { 1, 2, 5, 16, 100, 127, 3600 }) {
+            for (final DftNormalization normalization : DftNormalization.values()) {
+                final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, normalization);
+                final double[] data      = randomData(random, n);
+                final double[] spectrumR = new double[plan.getSpectrumLength()];
+                final double[] spectrumI = new double[plan.getSpectrumLength()];
+                final double[] rebuilt   = new double[n];
+                plan.forward(data, spectrumR, spectrumI);
+                plan.inverse(spectrumR, spectrumI, rebuilt);
+                for (int i = 0; i < n; ++i) {
+                    Assert.assertEquals(data[i], rebuilt[i], 2.0e-15);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInverseConsistency() {
+        final Random random = new Random(0x0d95b3e7a4c12f68l);
+        for (final int n : new int[] { 6, 9, 128 }) {
+            final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, DftNormalization.STANDARD);
+            final FastFourierTransformPlan complexPlan =
+                            new FastFourierTransformPlan(n, DftNormalization.STANDARD, TransformType.INVERSE);
+            // build an arbitrary conjugate-symmetric spectrum
+            final double[] spectrumR = randomData(random, plan.getSpectrumLength());
+            final double[] spectrumI = randomData(random, plan.getSpectrumLength());
+            spectrumI[0] = 0.0;
+            if (n % 2 == 0) {
+                spectrumI[n / 2] = 0.0;
+            }
+            final double[] re = new double[n];
+            final double[] im = new double[n];
+            for (int k = 0; k < spectrumR.length; ++k) {
+                re[k] = spectrumR[k];
+                im[k] = spectrumI[k];
+                if (k > 0) {
+                    re[n - k] = spectrumR[k];
+                    im[n - k] = -spectrumI[k];
+                }
+            }
+            complexPlan.transform(re, im);
+            final double[] data = new double[n];
+            plan.inverse(spectrumR, spectrumI, data);
+            for (int i = 0; i < n; ++i) {
+                Assert.assertEquals(re[i], data[i], 1.0e-15);
+                Assert.assertEquals(0.0,   im[i],   1.0e-15);
+            }
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        final Random random = new Random(0x6b1e5d09c3f7a248l);
+        final int n          = 1000;
+        final int nbChannels = 37;
+        final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(n, DftNormalization.UNITARY);
+        final double[][] channels = new double[nbChannels][];
+        for (int c = 0; c < nbChannels; ++c) {
+            channels[c] = randomData(random, n);
+        }
+        final double[][] serialR   = new double[nbChannels][plan.getSpectrumLength()];
+        final double[][] serialI   = new double[nbChannels][plan.getSpectrumLength()];
+        final double[][] parallelR = new double[nbChannels][plan.getSpectrumLength()];
+        final double[][] parallelI = new double[nbChannels][plan.getSpectrumLength()];
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            plan.forward(channels, serialR, serialI, null);
+            plan.forward(channels, parallelR, parallelI, pool);
+            for (int c = 0; c < nbChannels; ++c) {
+                // each channel is transformed independently, so results are identical
+                Assert.assertArrayEquals(serialR[c], parallelR[c], 0.0);
+                Assert.assertArrayEquals(serialI[c], parallelI[c], 0.0);
+            }
+            final double[][] rebuilt = new double[nbChannels][n];
+            plan.inverse(parallelR, parallelI, rebuilt, pool);
+            for (int c = 0; c < nbChannels; ++c) {
+                Assert.assertArrayEquals(channels[c], rebuilt[c], 2.0e-15);
+            }
+
+            // complex plans support batches too
+            final FastFourierTransformPlan complexPlan =
+                            new FastFourierTransformPlan(n, DftNormalization.UNITARY, TransformType.FORWARD);
+            final double[][] re = new double[nbChannels][];
+            final double[][] im = new double[nbChannels][];
+            for (int c = 0; c < nbChannels; ++c) {
+                re[c] = channels[c].clone();
+                im[c] = new double[n];
+            }
+            complexPlan.transform(re, im, pool);
+            for (int c = 0; c < nbChannels; ++c) {
+                for (int k = 0; k < plan.getSpectrumLength(); ++k) {
+                    Assert.assertEquals(re[c][k], serialR[c][k], 1.0e-14);
+                    Assert.assertEquals(im[c][k], serialI[c][k], 1.0e-14);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testWrongDimensions() {
+        final RealFastFourierTransformPlan plan = new RealFastFourierTransformPlan(16, DftNormalization.STANDARD);
+        try {
+            plan.forward(new double[16], new double[8], new double[9]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            plan.inverse(new double[9], new double[9], new double[17]);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            plan.forward(new double[2][16], new double[2][9], new double[1][9], null);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            new RealFastFourierTransformPlan(0, DftNormalization.STANDARD);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+    }
+
+    private double[] randomData(final Random random, final int n) {
+        final double[] data = new double[n];
+        for (int i = 0; i < n; ++i) {
+            data[i] = 2 * random.nextDouble() - 1;
+        }
+        return data;
+    }
+
+}
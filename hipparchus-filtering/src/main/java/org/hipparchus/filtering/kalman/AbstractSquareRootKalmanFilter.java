@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.filtering.kalman;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Shared parts between linear and non-linear square-root Kalman filters.
+ * <p>
+ * These filters do not propagate the state covariance matrix \(P\) itself,
+ * but an upper triangular square root \(S\) such that \(P = S S^T\). The
+ * time update triangularizes \([\Phi S | S_q]\) using modified Gram-Schmidt
+ * and the measurement update is Carlson's algorithm, processing the measurement
+ * components sequentially after decorrelating them (see Bierman, "Factorization
+ * Methods for Discrete Sequential Estimation", 1977).
+ * </p>
+ * <p>
+ * As the square root has half the dynamic range of the covariance, these filters
+ * are more robust to ill-conditioning than the classical filters. They need neither
+ * the Joseph form of the covariance update nor the decomposition of the innovation
+ * covariance matrix, and the factored covariance remains positive semi-definite by
+ * construction. The covariance matrix and the Kalman gain in the {@link ProcessEstimate
+ * process estimates} are computed only when requested. The {@link AbstractUDKalmanFilter
+ * U-D filters} are similar but avoid square roots.
+ * </p>
+ * @param <T> the type of the measurements
+ * @since 1.9
+ */
+public abstract class AbstractSquareRootKalmanFilter<T extends Measurement> implements KalmanFilter<T> {
+
+    /** Predicted state. */
+    private ProcessEstimate predicted;
+
+    /** Corrected state. */
+    private ProcessEstimate corrected;
+
+    /** Upper triangular square root of predicted covariance. */
+    private double[][] predictedS;
+
+    /** Upper triangular square root of corrected covariance. */
+    private double[][] correctedS;
+
+    /** Simple constructor.
+     * @param initialState initial state
+     * @exception MathIllegalArgumentException if initial covariance is not positive semi-definite
+     */
+    protected AbstractSquareRootKalmanFilter(final ProcessEstimate initialState)
+        throws MathIllegalArgumentException {
+        this.correctedS = squareRoot(initialState.getCovariance());
+        this.corrected  = initialState;
+    }
+
+    /** Perform prediction step.
+     * @param time process time
+     * @param predictedState predicted state vector
+     * @param stm state transition matrix
+     * @param noise process noise covariance matrix
+     * @exception MathIllegalArgumentException if process noise is not positive semi-definite
+     */
+    protected void predict(final double time, final RealVector predictedState, final RealMatrix stm, final RealMatrix noise)
+        throws MathIllegalArgumentException {
+
+        final int n = correctedS.length;
+
+        // square root of process noise, keeping only non-null directions
+        final double[][] sq = squareRoot(noise);
+        int nq = 0;
+        for (int k = 0; k < n; ++k) {
+            if (sq[k][k] > 0) {
+                ++nq;
+            }
+        }
+
+        // build the matrix [stm.S | Sq]
+        final double[][] w = CovarianceFactors.multiplyUpper(stm, correctedS, n + nq);
+        int column = n;
+        for (int k = 0; k < n; ++k) {
+            if (sq[k][k] > 0) {
+                for (int i = 0; i <= k; ++i) {
+                    w[i][column] = sq[i][k];
+                }
+                ++column;
+            }
+        }
+
+        // triangularize it
+        final double[][] s = new double[n][n];
+        final double[]   d = CovarianceFactors.mwgs(w, null, s);
+        scaleColumns(s, d);
+        predictedS = s;
+        predicted  = new FactoredProcessEstimate(time, predictedState, () -> CovarianceFactors.recompose(s, null),
+                                                 null, null, null, null);
+        corrected  = null;
+
+    }
+
+    /** Compute innovation covariance matrix.
+     * @param r measurement covariance
+     * @param h Jacobian of the measurement with respect to the state
+     * (may be null if measurement should be ignored)
+     * @return innovation covariance matrix, defined as \(h.P.h^T + r\), or
+     * null if h is null
+     */
+    protected RealMatrix computeInnovationCovarianceMatrix(final RealMatrix r, final RealMatrix h) {
+
+        if (h == null) {
+            return null;
+        }
+
+        // f = h.S
+        final int m = h.getRowDimension();
+        final int n = predictedS.length;
+        final double[][] f = new double[m][n];
+        for (int i = 0; i < m; ++i) {
+            for (int k = 0; k < n; ++k) {
+                final double hik = h.getEntry(i, k);
+                if (hik != 0) {
+                    for (int j = k; j < n; ++j) {
+                        f[i][j] += hik * predictedS[k][j];
+                    }
+                }
+            }
+        }
+
+        // s = f.f^T + r
+        final RealMatrix s = r.copy();
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                double sij = 0;
+                for (int k = 0; k < n; ++k) {
+                    sij += f[i][k] * f[j][k];
+                }
+                s.addToEntry(i, j, sij);
+                if (j < i) {
+                    s.addToEntry(j, i, sij);
+                }
+            }
+        }
+        return s;
+
+    }
+
+    /** Perform correction step.
+     * @param measurement single measurement to handle
+     * @param stm state transition matrix
+     * @param innovation innovation vector (i.e. residuals)
+     * (may be null if measurement should be ignored)
+     * @param h Jacobian of the measurement with respect to the state
+     * (may be null if measurement should be ignored)
+     * @param s innovation covariance matrix
+     * (may be null if measurement should be ignored)
+     * @exception MathIllegalArgumentException if measurement covariance is not positive semi-definite
+     */
+    protected void correct(final T measurement, final RealMatrix stm, final RealVector innovation,
+                           final RealMatrix h, final RealMatrix s)
+        throws MathIllegalArgumentException {
+
+        if (innovation == null) {
+            // measurement should be ignored
+            corrected  = predicted;
+            correctedS = predictedS;
+            return;
+        }
+
+        // decorrelate measurement components
+        final int n = predictedS.length;
+        final int m = innovation.getDimension();
+        final RealMatrix r = measurement.getCovariance();
+        final double[][] whitened = new double[m][n + 1];
+        final double[] dr = CovarianceFactors.whiten(r, h, innovation.toArray(), whitened);
+
+        // process measurement components sequentially, using Carlson algorithm
+        final double[][] sqrt = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            sqrt[i] = predictedS[i].clone();
+        }
+        final double[] dx = new double[n];
+        final double[] w  = new double[n];
+        for (int i = 0; i < m; ++i) {
+            final double[] hi = whitened[i];
+            double residual = hi[n];
+            for (int j = 0; j < n; ++j) {
+                residual -= hi[j] * dx[j];
+            }
+            final double alpha = carlsonUpdate(sqrt, hi, dr[i], w);
+            if (alpha > 0) {
+                final double factor = residual / alpha;
+                for (int j = 0; j < n; ++j) {
+                    dx[j] += factor * w[j];
+                }
+            }
+        }
+
+        // correct state vector
+        final RealVector correctedState = predicted.getState().add(new ArrayRealVector(dx, false));
+
+        correctedS = sqrt;
+        final ProcessEstimate p = predicted;
+        corrected  = new FactoredProcessEstimate(measurement.getTime(), correctedState,
+                                                 () -> CovarianceFactors.recompose(sqrt, null),
+                                                 stm, h, s,
+                                                 () -> CovarianceFactors.kalmanGain(p.getCovariance(), r, h, s));
+
+    }
+
+    /** Update the square root of a covariance matrix with a scalar measurement.
+     * <p>
+     * This is Carlson's algorithm.
+     * </p>
+     * @param s upper triangular square root (updated in place)
+     * @param h measurement Jacobian row (may contain additional elements after the n first ones)
+     * @param r measurement variance
+     * @param w placeholder for the unnormalized gain (the Kalman gain is w / alpha)
+     * @return innovation variance alpha
+     */
+    private static double carlsonUpdate(final double[][] s, final double[] h, final double r, final double[] w) {
+
+        final int n = s.length;
+
+        // f = S^T.h
+        final double[] f = new double[n];
+        for (int i = 0; i < n; ++i) {
+            if (h[i] != 0) {
+                for (int j = i; j < n; ++j) {
+                    f[j] += s[i][j] * h[i];
+                }
+            }
+        }
+
+        double alpha = r;
+        for (int j = 0; j < n; ++j) {
+            final double sigma    = f[j];
+            final double previous = alpha;
+            alpha += sigma * sigma;
+            final double eta;
+            final double zeta;
+            if (alpha == 0) {
+                // nothing observed yet
+                eta  = 1.0;
+                zeta = 0.0;
+            } else if (previous == 0) {
+                // perfect measurement, the gain accumulated so far is zero
+                eta  = 0.0;
+                zeta = 0.0;
+            } else {
+                final double gamma = FastMath.sqrt(alpha * previous);
+                eta  = previous / gamma;
+                zeta = sigma / gamma;
+            }
+            w[j] = 0.0;
+            for (int i = 0; i <= j; ++i) {
+                final double tau = s[i][j];
+                s[i][j] = eta * tau - zeta * w[i];
+                w[i]   += tau * sigma;
+            }
+        }
+
+        return alpha;
+
+    }
+
+    /** Compute the upper triangular square root of a covariance matrix.
+     * @param p covariance matrix
+     * @return upper triangular square root
+     * @exception MathIllegalArgumentException if matrix is not positive semi-definite
+     */
+    private static double[][] squareRoot(final RealMatrix p)
+        throws MathIllegalArgumentException {
+        final double[][] s = new double[p.getRowDimension()][p.getRowDimension()];
+        scaleColumns(s, CovarianceFactors.udDecompose(p, s));
+        return s;
+    }
+
+    /** Convert U-D factors into a square root.
+     * @param u unit upper triangular factor, replaced by U.D<sup>1/2</sup> on output
+     * @param d diagonal factor
+     */
+    private static void scaleColumns(final double[][] u, final double[] d) {
+        for (int j = 0; j < d.length; ++j) {
+            final double sqrtD = FastMath.sqrt(d[j]);
+            for (int i = 0; i <= j; ++i) {
+                u[i][j] *= sqrtD;
+            }
+        }
+    }
+
+    /** Get the predicted state.
+     * @return predicted state
+     */
+    @Override
+    public ProcessEstimate getPredicted() {
+        return predicted;
+    }
+
+    /** Get the corrected state.
+     * @return corrected state
+     */
+    @Override
+    public ProcessEstimate getCorrected() {
+        return corrected;
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.filtering.kalman;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+
+/**
+ * Shared parts between linear and non-linear U-D factorized Kalman filters.
+ * <p>
+ * These filters do not propagate the state covariance matrix \(P\) itself,
+ * but its \(P = U D U^T\) factors, where \(U\) is unit upper triangular and
+ * \(D\) is diagonal. The time update is Thornton's modified weighted Gram-Schmidt
+ * algorithm and the measurement update is Bierman's algorithm, processing the
+ * measurement components sequentially after decorrelating them (see Bierman,
+ * "Factorization Methods for Discrete Sequential Estimation", 1977).
+ * </p>
+ * <p>
+ * As they never form the covariance matrix, these filters need neither the
+ * Joseph form of the covariance update nor the decomposition of the innovation
+ * covariance matrix, and the factored covariance remains positive semi-definite
+ * by construction. The covariance matrix and the Kalman gain in the {@link
+ * ProcessEstimate process estimates} are computed only when requested.
+ * </p>
+ * @param <T> the type of the measurements
+ * @since 1.9
+ */
+public abstract class AbstractUDKalmanFilter<T extends Measurement> implements KalmanFilter<T> {
+
+    /** Predicted state. */
+    private ProcessEstimate predicted;
+
+    /** Corrected state. */
+    private ProcessEstimate corrected;
+
+    /** Unit upper triangular factor of predicted covariance. */
+    private double[][] predictedU;
+
+    /** Diagonal factor of predicted covariance. */
+    private double[] predictedD;
+
+    /** Unit upper triangular factor of corrected covariance. */
+    private double[][] correctedU;
+
+    /** Diagonal factor of corrected covariance. */
+    private double[] correctedD;
+
+    /** Simple constructor.
+     * @param initialState initial state
+     * @exception MathIllegalArgumentException if initial covariance is not positive semi-definite
+     */
+    protected AbstractUDKalmanFilter(final ProcessEstimate initialState)
+        throws MathIllegalArgumentException {
+        final int n = initialState.getState().getDimension();
+        this.correctedU = new double[n][n];
+        this.correctedD = CovarianceFactors.udDecompose(initialState.getCovariance(), correctedU);
+        this.corrected  = initialState;
+    }
+
+    /** Perform prediction step.
+     * @param time process time
+     * @param predictedState predicted state vector
+     * @param stm state transition matrix
+     * @param noise process noise covariance matrix
+     * @exception MathIllegalArgumentException if process noise is not positive semi-definite
+     */
+    protected void predict(final double time, final RealVector predictedState, final RealMatrix stm, final RealMatrix noise)
+        throws MathIllegalArgumentException {
+
+        final int n = correctedD.length;
+
+        // factorize process noise, keeping only non-null directions
+        final double[][] uq = new double[n][n];
+        final double[]   dq = CovarianceFactors.udDecompose(noise, uq);
+        int nq = 0;
+        for (final double dqk : dq) {
+            if (dqk > 0) {
+                ++nq;
+            }
+        }
+
+        // build the weighted matrix [stm.U | Uq] with weights [D | Dq]
+        final double[][] w  = CovarianceFactors.multiplyUpper(stm, correctedU, n + nq);
+        final double[]   dw = new double[n + nq];
+        System.arraycopy(correctedD, 0, dw, 0, n);
+        int column = n;
+        for (int k = 0; k < n; ++k) {
+            if (dq[k] > 0) {
+                for (int i = 0; i <= k; ++i) {
+                    w[i][column] = uq[i][k];
+                }
+                dw[column++] = dq[k];
+            }
+        }
+
+        // Thornton time update
+        final double[][] u = new double[n][n];
+        final double[]   d = CovarianceFactors.mwgs(w, dw, u);
+        predictedU = u;
+        predictedD = d;
+        predicted  = new FactoredProcessEstimate(time, predictedState, () -> CovarianceFactors.recompose(u, d),
+                                                 null, null, null, null);
+        corrected  = null;
+
+    }
+
+    /** Compute innovation covariance matrix.
+     * @param r measurement covariance
+     * @param h Jacobian of the measurement with respect to the state
+     * (may be null if measurement should be ignored)
+     * @return innovation covariance matrix, defined as \(h.P.h^T + r\), or
+     * null if h is null
+     */
+    protected RealMatrix computeInnovationCovarianceMatrix(final RealMatrix r, final RealMatrix h) {
+
+        if (h == null) {
+            return null;
+        }
+        // f = h.U
+        final int m = h.getRowDimension();
+        final int n = predictedD.length;
+        final double[][] f = new double[m][n];
+        for (int i = 0; i < m; ++i) {
+            for (int k = 0; k < n; ++k) {
+                final double hik = h.getEntry(i, k);
+                if (hik != 0) {
+                    for (int j = k; j < n; ++j) {
+                        f[i][j] += hik * predictedU[k][j];
+                    }
+                }
+            }
+        }
+
+        // s = f.D.f^T + r
+        final RealMatrix s = r.copy();
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                double sij = 0;
+                for (int k = 0; k < n; ++k) {
+                    sij += f[i][k] * predictedD[k] * f[j][k];
+                }
+                s.addToEntry(i, j, sij);
+                if (j < i) {
+                    s.addToEntry(j, i, sij);
+                }
+            }
+        }
+        return s;
+
+    }
+
+    /** Perform correction step.
+     * @param measurement single measurement to handle
+     * @param stm state transition matrix
+     * @param innovation innovation vector (i.e. residuals)
+     * (may be null if measurement should be ignored)
+     * @param h Jacobian of the measurement with respect to the state
+     * (may be null if measurement should be ignored)
+     * @param s innovation covariance matrix
+     * (may be null if measurement should be ignored)
+     * @exception MathIllegalArgumentException if measurement covariance is not positive semi-definite
+     */
+    protected void correct(final T measurement, final RealMatrix stm, final RealVector innovation,
+                           final RealMatrix h, final RealMatrix s)
+        throws MathIllegalArgumentException {
+
+        if (innovation == null) {
+            // measurement should be ignored
+            corrected  = predicted;
+            correctedU = predictedU;
+            correctedD = predictedD;
+            return;
+        }
+
+        // decorrelate measurement components
+        final int n = predictedD.length;
+        final int m = innovation.getDimension();
+        final RealMatrix r = measurement.getCovariance();
+        final double[][] whitened = new double[m][n + 1];
+        final double[] dr = CovarianceFactors.whiten(r, h, innovation.toArray(), whitened);
+
+        // process measurement components sequentially, using Bierman algorithm
+        final double[][] u = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            u[i] = predictedU[i].clone();
+        }
+        final double[] d  = predictedD.clone();
+        final double[] dx = new double[n];
+        final double[] k  = new double[n];
+        for (int i = 0; i < m; ++i) {
+            final double[] hi = whitened[i];
+            double residual = hi[n];
+            for (int j = 0; j < n; ++j) {
+                residual -= hi[j] * dx[j];
+            }
+            final double alpha = biermanUpdate(u, d, hi, dr[i], k);
+            if (alpha > 0) {
+                final double factor = residual / alpha;
+                for (int j = 0; j < n; ++j) {
+                    dx[j] += factor * k[j];
+                }
+            }
+        }
+
+        // correct state vector
+        final RealVector correctedState = predicted.getState().add(new ArrayRealVector(dx, false));
+
+        correctedU = u;
+        correctedD = d;
+        final ProcessEstimate p = predicted;
+        corrected  = new FactoredProcessEstimate(measurement.getTime(), correctedState,
+                                                 () -> CovarianceFactors.recompose(u, d),
+                                                 stm, h, s,
+                                                 () -> CovarianceFactors.kalmanGain(p.getCovariance(), r, h, s));
+
+    }
+
+    /** Update the U-D factors of a covariance matrix with a scalar measurement.
+     * <p>
+     * This is Bierman's algorithm.
+     * </p>
+     * @param u unit upper triangular factor (updated in place)
+     * @param d diagonal factor (updated in place)
+     * @param h measurement Jacobian row (may contain additional elements after the n first ones)
+     * @param r measurement variance
+     * @param k placeholder for the unnormalized gain (the Kalman gain is k / alpha)
+     * @return innovation variance alpha
+     */
+    private static double biermanUpdate(final double[][] u, final double[] d, final double[] h,
+                                        final double r, final double[] k) {
+
+        final int n = d.length;
+
+        // f = U^T.h
+        final double[] f = new double[n];
+        for (int i = 0; i < n; ++i) {
+            if (h[i] != 0) {
+                for (int j = i; j < n; ++j) {
+                    f[j] += u[i][j] * h[i];
+                }
+            }
+        }
+
+        double alpha = r;
+        for (int j = 0; j < n; ++j) {
+            final double fj       = f[j];
+            final double vj       = d[j] * fj;
+            final double previous = alpha;
+            alpha += fj * vj;
+            if (alpha > 0) {
+                d[j] *= previous / alpha;
+            }
+            final double lambda = previous > 0 ? -fj / previous : 0.0;
+            for (int i = 0; i < j; ++i) {
+                final double uij = u[i][j];
+                u[i][j] = uij + lambda * k[i];
+                k[i]   += vj * uij;
+            }
+            k[j] = vj;
+        }
+
+        return alpha;
+
+    }
+
+    /** Get the predicted state.
+     * @return predicted state
+     */
+    @Override
+    public ProcessEstimate getPredicted() {
+        return predicted;
+    }
+
+    /** Get the corrected state.
+     * @return corrected state
+     */
+    @Override
+    public ProcessEstimate getCorrected() {
+        return corrected;
+    }
+
+}
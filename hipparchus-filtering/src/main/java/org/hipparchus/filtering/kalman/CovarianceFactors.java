@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.filtering.kalman;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Utilities for covariance matrices in factored form.
+ * <p>
+ * Factored forms are based on upper triangular matrices, as in Bierman's
+ * "Factorization Methods for Discrete Sequential Estimation", i.e. covariances
+ * are represented either as \(P = U D U^T\) with \(U\) unit upper triangular and
+ * \(D\) diagonal, or as \(P = S S^T\) with \(S\) upper triangular.
+ * </p>
+ * @since 1.9
+ */
+final class CovarianceFactors {
+
+    /** Private constructor for a utility class. */
+    private CovarianceFactors() {
+        // nothing to do
+    }
+
+    /** Compute the U-D factorization of a symmetric positive semi-definite matrix.
+     * <p>
+     * Rank deficient matrices are supported, the diagonal elements corresponding
+     * to null directions being set to 0.
+     * </p>
+     * @param p symmetric positive semi-definite matrix to factorize
+     * @param u placeholder for the unit upper triangular factor (will be overwritten)
+     * @return diagonal factor
+     * @exception MathIllegalArgumentException if matrix is not square or not positive semi-definite
+     */
+    static double[] udDecompose(final RealMatrix p, final double[][] u)
+        throws MathIllegalArgumentException {
+
+        final int n = p.getRowDimension();
+        if (p.getColumnDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   n, p.getColumnDimension());
+        }
+        double maxDiagonal = 0;
+        for (int i = 0; i < n; ++i) {
+            maxDiagonal = FastMath.max(maxDiagonal, FastMath.abs(p.getEntry(i, i)));
+        }
+        final double threshold = n * Precision.EPSILON * maxDiagonal;
+
+        final double[] d = new double[n];
+        for (int j = n - 1; j >= 0; --j) {
+
+            // diagonal element
+            double dj = p.getEntry(j, j);
+            for (int k = j + 1; k < n; ++k) {
+                dj -= d[k] * u[j][k] * u[j][k];
+            }
+            if (dj < -threshold) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+
+            // column above diagonal
+            u[j][j] = 1.0;
+            if (dj <= threshold) {
+                // null direction
+                d[j] = 0.0;
+                for (int i = 0; i < j; ++i) {
+                    u[i][j] = 0.0;
+                }
+            } else {
+                d[j] = dj;
+                for (int i = 0; i < j; ++i) {
+                    double uij = p.getEntry(i, j);
+                    for (int k = j + 1; k < n; ++k) {
+                        uij -= d[k] * u[i][k] * u[j][k];
+                    }
+                    u[i][j] = uij / dj;
+                }
+            }
+
+            // lower part
+            for (int i = j + 1; i < n; ++i) {
+                u[i][j] = 0.0;
+            }
+
+        }
+
+        return d;
+
+    }
+
+    /** Triangularize a weighted matrix product using modified weighted Gram-Schmidt.
+     * <p>
+     * This method computes the U-D factors of \(W D_w W^T\), where \(W\) is an
+     * n&times;N matrix and \(D_w\) is an N&times;N diagonal matrix with non-negative
+     * elements. This is the core of Thornton's time update.
+     * </p>
+     * @param w n&times;N matrix, one row per array (will be overwritten)
+     * @param dw diagonal elements of the weights matrix (if null, identity is used)
+     * @param u placeholder for the n&times;n unit upper triangular factor (will be overwritten)
+     * @return diagonal factor
+     */
+    static double[] mwgs(final double[][] w, final double[] dw, final double[][] u) {
+
+        final int n = w.length;
+        final double[] d = new double[n];
+        final double[] wd = new double[w[0].length];
+        for (int j = n - 1; j >= 0; --j) {
+
+            // weighted norm of row j
+            final double[] wj = w[j];
+            double dj = 0;
+            for (int k = 0; k < wj.length; ++k) {
+                wd[k] = (dw == null) ? wj[k] : dw[k] * wj[k];
+                dj   += wd[k] * wj[k];
+            }
+            d[j]    = dj;
+            u[j][j] = 1.0;
+
+            // orthogonalize rows above with respect to row j
+            for (int i = 0; i < j; ++i) {
+                final double[] wi = w[i];
+                if (dj > 0) {
+                    double dot = 0;
+                    for (int k = 0; k < wi.length; ++k) {
+                        dot += wi[k] * wd[k];
+                    }
+                    final double uij = dot / dj;
+                    for (int k = 0; k < wi.length; ++k) {
+                        wi[k] -= uij * wj[k];
+                    }
+                    u[i][j] = uij;
+                } else {
+                    u[i][j] = 0.0;
+                }
+            }
+
+            // lower part
+            for (int i = j + 1; i < n; ++i) {
+                u[i][j] = 0.0;
+            }
+
+        }
+
+        return d;
+
+    }
+
+    /** Compute the product of a full matrix by an upper triangular one.
+     * @param a n&times;n full matrix
+     * @param u n&times;n upper triangular matrix
+     * @param columns number of columns of the result array (may be more than n)
+     * @return product a&times;u, in the first n columns of an n&times;columns array
+     */
+    static double[][] multiplyUpper(final RealMatrix a, final double[][] u, final int columns) {
+        final int n = u.length;
+        final double[][] au = new double[n][columns];
+        for (int i = 0; i < n; ++i) {
+            final double[] aui = au[i];
+            for (int k = 0; k < n; ++k) {
+                final double aik = a.getEntry(i, k);
+                if (aik != 0) {
+                    final double[] uk = u[k];
+                    for (int j = k; j < n; ++j) {
+                        aui[j] += aik * uk[j];
+                    }
+                }
+            }
+        }
+        return au;
+    }
+
+    /** Whiten a measurement by decorrelating its components.
+     * <p>
+     * The measurement covariance is factorized as \(R = U_r D_r U_r^T\), and the
+     * Jacobian and innovation are transformed by \(U_r^{-1}\) so the transformed
+     * measurement components are uncorrelated, with variances \(D_r\).
+     * </p>
+     * @param r measurement covariance matrix
+     * @param h measurement Jacobian (m&times;n)
+     * @param innovation innovation vector
+     * @param whitened placeholder for the whitened measurement, one row per component,
+     * with the whitened Jacobian row in the n first columns and the whitened innovation
+     * in the last column (will be overwritten)
+     * @return variances of the whitened measurement components
+     */
+    static double[] whiten(final RealMatrix r, final RealMatrix h, final double[] innovation,
+                           final double[][] whitened) {
+
+        final int m = h.getRowDimension();
+        final int n = h.getColumnDimension();
+        if (r.getRowDimension() != m) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   r.getRowDimension(), m);
+        }
+        final double[][] ur = new double[m][m];
+        final double[]   dr = udDecompose(r, ur);
+
+        // back substitution, with Ur unit upper triangular
+        for (int i = m - 1; i >= 0; --i) {
+            final double[] wi = whitened[i];
+            for (int j = 0; j < n; ++j) {
+                wi[j] = h.getEntry(i, j);
+            }
+            wi[n] = innovation[i];
+            for (int k = i + 1; k < m; ++k) {
+                final double urik = ur[i][k];
+                if (urik != 0) {
+                    final double[] wk = whitened[k];
+                    for (int j = 0; j <= n; ++j) {
+                        wi[j] -= urik * wk[j];
+                    }
+                }
+            }
+        }
+
+        return dr;
+
+    }
+
+    /** Rebuild a covariance matrix from its U-D factors.
+     * @param u unit upper triangular factor
+     * @param d diagonal factor (if null, identity is used)
+     * @return covariance matrix \(U D U^T\)
+     */
+    static RealMatrix recompose(final double[][] u, final double[] d) {
+        final int n = u.length;
+        final double[][] p = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = i; j < n; ++j) {
+                // only k >= j contribute as both rows are upper triangular
+                double pij = 0;
+                for (int k = j; k < n; ++k) {
+                    pij += u[i][k] * ((d == null) ? 1.0 : d[k]) * u[j][k];
+                }
+                p[i][j] = pij;
+                p[j][i] = pij;
+            }
+        }
+        return MatrixUtils.createRealMatrix(p);
+    }
+
+    /** Compute Kalman gain.
+     * @param p predicted covariance
+     * @param r measurement covariance
+     * @param h Jacobian of the measurement with respect to the state
+     * @param s innovation covariance matrix (may be null)
+     * @return Kalman gain
+     */
+    static RealMatrix kalmanGain(final RealMatrix p, final RealMatrix r, final RealMatrix h, final RealMatrix s) {
+        // same as the non-factored filters: solve (h.p.h^T + r).k^T = h.p
+        final RealMatrix hp = h.multiply(p);
+        final RealMatrix innovationCovariance = (s == null) ? hp.multiplyTransposed(h).add(r) : s;
+        return new QRDecomposition(innovationCovariance).getSolver().solve(hp).transpose();
+    }
+
+}
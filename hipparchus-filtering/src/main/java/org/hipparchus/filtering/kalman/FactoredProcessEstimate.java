@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.filtering.kalman;
+
+import java.util.function.Supplier;
+
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+
+/**
+ * Process estimate whose covariance and Kalman gain are computed only on demand.
+ * <p>
+ * Filters propagating factored covariances do not need the full covariance matrix
+ * nor the Kalman gain matrix, so they are built from the factors only if users ask
+ * for them.
+ * </p>
+ * @since 1.9
+ */
+class FactoredProcessEstimate extends ProcessEstimate {
+
+    /** Provider for state covariance. */
+    private Supplier<RealMatrix> covarianceProvider;
+
+    /** State covariance (null until first computed). */
+    private RealMatrix covariance;
+
+    /** Provider for Kalman gain (may be null). */
+    private Supplier<RealMatrix> kalmanGainProvider;
+
+    /** Kalman gain (null until first computed). */
+    private RealMatrix kalmanGain;
+
+    /** Simple constructor.
+     * @param time process time (typically the time or index of a measurement)
+     * @param state state vector
+     * @param covarianceProvider provider for state covariance
+     * @param stateTransitionMatrix state transition matrix between previous state and estimated (but not yet corrected) state
+     * @param measurementJacobian Jacobian of the measurement with respect to the state
+     * @param innovationCovariance innovation covariance matrix, defined as \(h.P.h^T + r\), may be null
+     * @param kalmanGainProvider provider for Kalman Gain matrix, may be null
+     */
+    FactoredProcessEstimate(final double time, final RealVector state,
+                            final Supplier<RealMatrix> covarianceProvider,
+                            final RealMatrix stateTransitionMatrix, final RealMatrix measurementJacobian,
+                            final RealMatrix innovationCovariance,
+                            final Supplier<RealMatrix> kalmanGainProvider) {
+        super(time, state, null, stateTransitionMatrix, measurementJacobian, innovationCovariance, null);
+        this.covarianceProvider = covarianceProvider;
+        this.kalmanGainProvider = kalmanGainProvider;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix getCovariance() {
+        if (covariance == null) {
+            covariance         = covarianceProvider.get();
+            covarianceProvider = null;
+        }
+        return covariance;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix getKalmanGain() {
+        if (kalmanGain == null && kalmanGainProvider != null) {
+            kalmanGain         = kalmanGainProvider.get();
+            kalmanGainProvider = null;
+        }
+        return kalmanGain;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.filtering.kalman;
+
+/** Tolerances used when checking factored Kalman filters against reference data.
+ * <p>
+ * The reference data were computed with the classical covariance form;
+ * filters propagating a factored covariance accumulate rounding errors
+ * differently and need slightly larger tolerances.
+ * </p>
+ */
+public class Tolerances {
+
+    public static final double CONSTANT_STATE                       = 4.0e-14;
+    public static final double CONSTANT_COVARIANCE                  = 2.0e-18;
+    public static final double ACCELERATION_STATE                   = 4.0e-14;
+    public static final double ACCELERATION_COVARIANCE              = 4.0e-14;
+    public static final double ACCELERATION_INNOVATION_COVARIANCE   = 4.0e-12;
+    public static final double ACCELERATION_KALMAN_GAIN             = 1.0e-14;
+    public static final double CANNONBALL_ZERO_NOISE_STATE          = 2.0e-12;
+    public static final double CANNONBALL_ZERO_NOISE_COVARIANCE     = 2.0e-12;
+    public static final double CANNONBALL_NON_ZERO_NOISE_STATE      = 2.0e-12;
+    public static final double CANNONBALL_NON_ZERO_NOISE_COVARIANCE = 2.0e-12;
+
+    private Tolerances() {
+        // utility class
+    }
+
+}
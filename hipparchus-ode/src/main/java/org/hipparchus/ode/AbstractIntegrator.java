@@ -32,17 +32,22 @@ import org.hipparchus.ode.events.EventState;
 import org.hipparchus.ode.events.EventState.EventOccurrence;
 import org.hipparchus.ode.events.ODEEventHandler;
 import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
 import org.hipparchus.ode.sampling.ODEStepHandler;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Incrementor;
+import org.hipparchus.util.ParallelUtils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Base class managing common boilerplate for all integrators.
@@ -71,11 +76,21 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
     private boolean resetOccurred;
 
     /** Events states. */
-    private Collection<EventState> eventsStates;
+    private List<EventState> eventsStates;
 
     /** Initialization indicator of events states. */
     private boolean statesInitialized;
 
+    /** Interpolated states shared by all events states within one step.
+     * @since 1.9
+     */
+    private final StatesCache sharedStates;
+
+    /** Pool for evaluating events states in parallel (null for serial evaluation).
+     * @since 1.9
+     */
+    private ForkJoinPool eventsPool;
+
     /** Name of the method. */
     private final String name;
 
@@ -95,6 +110,8 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
         stepSize          = Double.NaN;
         eventsStates      = new ArrayList<>();
         statesInitialized = false;
+        sharedStates      = new StatesCache();
+        eventsPool        = null;
         evaluations       = new Incrementor();
     }
 
@@ -163,6 +180,35 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
         eventsStates.clear();
     }
 
+    /** Set the pool used for evaluating the event handlers in parallel.
+     * <p>
+     * When a pool is set, the switching functions of all event handlers are
+     * sampled concurrently over each proposed step, one task per handler (see
+     * {@link EventState#sampleStep(org.hipparchus.ode.sampling.ODEStateInterpolator)}).
+     * This is worthwhile only when there are many handlers or when their
+     * switching functions are expensive. The {@link ODEEventHandler#g(ODEStateAndDerivative)
+     * g} functions of all handlers must then be thread-safe. Event localization
+     * (and hence the root-finding solvers, which may be shared between handlers)
+     * and notification are always performed in the integration thread, in
+     * chronological order, so results do not depend on the pool. Sampling may
+     * however evaluate g a few more times than serial evaluation in steps where
+     * an event occurs.
+     * </p>
+     * @param pool pool to use (null for serial evaluation, which is the default)
+     * @since 1.9
+     */
+    public void setEventsPool(final ForkJoinPool pool) {
+        this.eventsPool = pool;
+    }
+
+    /** Get the pool used for evaluating the event handlers in parallel.
+     * @return pool used (null for serial evaluation)
+     * @since 1.9
+     */
+    public ForkJoinPool getEventsPool() {
+        return eventsPool;
+    }
+
     /** {@inheritDoc} */
     @Override
     @Deprecated
@@ -265,6 +311,22 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
         return equations.computeDerivatives(t, y);
     }
 
+    /** Compute the derivatives in place and check the number of evaluations.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the state vector
+     * @param yDot placeholder array where to put the time derivative of the state vector
+     * @exception MathIllegalArgumentException if arrays dimensions do not match equations settings
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * @exception NullPointerException if the ODE equations have not been set (i.e. if this method
+     * is called outside of a call to {@link #integrate(ExpandableODE, ODEState, double) integrate}
+     * @since 1.9
+     */
+    public void computeDerivatives(final double t, final double[] y, final double[] yDot)
+        throws MathIllegalArgumentException, MathIllegalStateException, NullPointerException {
+        evaluations.increment();
+        equations.computeDerivatives(t, y, yDot);
+    }
+
     /** Set the stateInitialized flag.
      * <p>This method must be called by integrators with the value
      * {@code false} before they start integration, so a proper lazy
@@ -292,11 +354,15 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
         final ODEStateAndDerivative currentState = interpolator.getGlobalCurrentState();
         AbstractODEStateInterpolator restricted = interpolator;
 
+        // all event states share the states interpolated at the same time during this step
+        // (restricted interpolators still use the global step, so they all share the same cache)
+        sharedStates.clear();
+        final ODEStateInterpolator shared = new SharedStateInterpolator(interpolator, sharedStates);
 
         // initialize the events states if needed
         if (!statesInitialized) {
             for (EventState state : eventsStates) {
-                state.reinitializeBegin(interpolator);
+                state.reinitializeBegin(shared);
             }
             statesInitialized = true;
         }
@@ -318,8 +384,14 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
 
             // Evaluate all event detectors for events
             occurringEvents.clear();
+            final ODEStateInterpolator sharedRestricted = new SharedStateInterpolator(restricted, sharedStates);
+            if (eventsPool != null) {
+                // only sample g functions in parallel, event location remains serial
+                ParallelUtils.forEach(eventsPool, 0, eventsStates.size(), 1,
+                                      i -> eventsStates.get(i).sampleStep(sharedRestricted));
+            }
             for (final EventState state : eventsStates) {
-                if (state.evaluateStep(restricted)) {
+                if (state.evaluateStep(sharedRestricted)) {
                     // the event occurs during the current step
                     occurringEvents.add(state);
                 }
@@ -334,14 +406,14 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
                     final EventState currentEvent = occurringEvents.poll();
 
                     // get state at event time
-                    ODEStateAndDerivative eventState = restricted.getInterpolatedState(currentEvent.getEventTime());
+                    ODEStateAndDerivative eventState = shared.getInterpolatedState(currentEvent.getEventTime());
 
                     // restrict the interpolator to the first part of the step, up to the event
                     restricted = restricted.restrictStep(previousState, eventState);
 
                     // try to advance all event states to current time
                     for (final EventState state : eventsStates) {
-                        if (state != currentEvent && state.tryAdvance(eventState, interpolator)) {
+                        if (state != currentEvent && state.tryAdvance(eventState, shared)) {
                             // we need to handle another event first
                             // remove event we just updated to prevent heap corruption
                             occurringEvents.remove(state);
@@ -397,7 +469,7 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
 
                     // at this point action == Action.CONTINUE
                     // check if the same event occurs again in the remaining part of the step
-                    if (currentEvent.evaluateStep(restricted)) {
+                    if (currentEvent.evaluateStep(new SharedStateInterpolator(restricted, sharedStates))) {
                         // the event occurs during the current step
                         occurringEvents.add(currentEvent);
                     }
@@ -412,7 +484,7 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
                 // tryAdvance(...) with a doAdvance(...) that throws an exception when
                 // the g function sign is not as expected.
                 for (final EventState state : eventsStates) {
-                    if (state.tryAdvance(currentState, interpolator)) {
+                    if (state.tryAdvance(currentState, shared)) {
                         occurringEvents.add(state);
                     }
                 }
@@ -500,4 +572,168 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
         return isLastStep;
     }
 
+    /** Interpolator sharing the states interpolated at the same time between all events states.
+     * <p>
+     * All interpolators restricted from one step interpolate states using the global
+     * step, so they can all use the same cache, which is cleared at each new step.
+     * </p>
+     * @since 1.9
+     */
+    private static class SharedStateInterpolator implements ODEStateInterpolator {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Underlying interpolator. */
+        private final ODEStateInterpolator delegate;
+
+        /** Cache for interpolated states. */
+        private final StatesCache cache;
+
+        /** Simple constructor.
+         * @param delegate underlying interpolator
+         * @param cache cache for interpolated states
+         */
+        SharedStateInterpolator(final ODEStateInterpolator delegate,
+                                final StatesCache cache) {
+            this.delegate = delegate;
+            this.cache    = cache;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ODEStateAndDerivative getPreviousState() {
+            return delegate.getPreviousState();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isPreviousStateInterpolated() {
+            return delegate.isPreviousStateInterpolated();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ODEStateAndDerivative getCurrentState() {
+            return delegate.getCurrentState();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isCurrentStateInterpolated() {
+            return delegate.isCurrentStateInterpolated();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ODEStateAndDerivative getInterpolatedState(final double time) {
+            ODEStateAndDerivative state = cache.get(time);
+            if (state == null) {
+                state = cache.putIfAbsent(delegate.getInterpolatedState(time));
+            }
+            return state;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isForward() {
+            return delegate.isForward();
+        }
+
+    }
+
+    /** Cache for interpolated states, keyed by primitive time.
+     * <p>
+     * This is a small open addressing hash table, avoiding boxing times. Access is
+     * synchronized as events states may be sampled concurrently, but states are
+     * interpolated outside of the lock.
+     * </p>
+     * @since 1.9
+     */
+    private static class StatesCache implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Cached times. */
+        private double[] times;
+
+        /** Cached states (null for empty slots). */
+        private ODEStateAndDerivative[] states;
+
+        /** Number of cached states. */
+        private int size;
+
+        /** Simple constructor.
+         */
+        StatesCache() {
+            times  = new double[64];
+            states = new ODEStateAndDerivative[64];
+            size   = 0;
+        }
+
+        /** Clear the cache.
+         */
+        synchronized void clear() {
+            if (size > 0) {
+                Arrays.fill(states, null);
+                size = 0;
+            }
+        }
+
+        /** Get a cached state.
+         * @param time state time
+         * @return cached state, or null if not cached
+         */
+        synchronized ODEStateAndDerivative get(final double time) {
+            return states[slot(time)];
+        }
+
+        /** Add a state unless one is already cached for the same time.
+         * @param state state to add
+         * @return cached state for the time of {@code state}
+         */
+        synchronized ODEStateAndDerivative putIfAbsent(final ODEStateAndDerivative state) {
+            final int slot = slot(state.getTime());
+            if (states[slot] != null) {
+                // another thread already interpolated the same state
+                return states[slot];
+            }
+            times[slot]  = state.getTime();
+            states[slot] = state;
+            if (2 * ++size > states.length) {
+                // keep load factor below one half
+                final double[] oldTimes = times;
+                final ODEStateAndDerivative[] oldStates = states;
+                times  = new double[2 * oldTimes.length];
+                states = new ODEStateAndDerivative[2 * oldStates.length];
+                for (int i = 0; i < oldStates.length; ++i) {
+                    if (oldStates[i] != null) {
+                        final int newSlot = slot(oldTimes[i]);
+                        times[newSlot]  = oldTimes[i];
+                        states[newSlot] = oldStates[i];
+                    }
+                }
+            }
+            return state;
+        }
+
+        /** Find the slot for a time.
+         * @param time time to look for
+         * @return slot containing time, or empty slot where it should be inserted
+         */
+        private int slot(final double time) {
+            final long bits = Double.doubleToLongBits(time);
+            final int  mask = states.length - 1;
+            int hash = (int) (bits ^ (bits >>> 32));
+            hash ^= (hash >>> 16);
+            int slot = hash & mask;
+            while (states[slot] != null && Double.doubleToLongBits(times[slot]) != bits) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+    }
+
 }
@@ -0,0 +1,677 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.ode.sampling.ODEStepHandler;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.ResizableDoubleArray;
+
+/**
+ * Compact read-only continuous model of an ODE solution.
+ *
+ * <p>This class stores one block of Chebyshev coefficients per integration
+ * step, for all components of the complete state (primary and secondary).
+ * As the dense output of Runge-Kutta integrators is polynomial within each
+ * step, a degree at least equal to the degree of the integrator interpolant
+ * reproduces it up to round-off errors, while only storing {@code degree + 1}
+ * doubles per component and per step, instead of the full interpolator with
+ * its stage derivatives and boundary states.</p>
+ *
+ * <p>Instances are immutable: {@link #getInterpolatedState(double)} performs a
+ * stateless binary search in the steps boundaries and can therefore be called
+ * concurrently from any number of threads without locking.</p>
+ *
+ * <p>Ephemerides can be built either from an already available {@link
+ * DenseOutputModel} (see {@link DenseOutputModel#toEphemeris(int)}) or directly
+ * during integration using a {@link Recorder} step handler, in which case
+ * the interpolators are compressed as soon as they are produced and are not
+ * kept in memory.</p>
+ *
+ * <p>Ephemerides can be {@link #write(Path) written} to a binary file and
+ * {@link #load(Path) loaded} back. Loading only reads the header and the steps
+ * boundaries; the coefficients are memory-mapped lazily, by segments of
+ * consecutive steps, the first time a date within a segment is requested.
+ * The file format is a header (magic number, format version, degree,
+ * direction, state layout and number of steps, padded to a multiple of 8 bytes),
+ * followed by the steps start times, the steps end times and the coefficients
+ * blocks, all values being stored in big-endian order.</p>
+ *
+ * @see DenseOutputModel
+ * @since 1.9
+ */
+public class DenseOutputEphemeris implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Magic number identifying ephemeris files ("HIPEPHEM" in ASCII). */
+    private static final long MAGIC = 0x484950455048454DL;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Target number of doubles in one lazily mapped segment. */
+    private static final int SEGMENT_DOUBLES = 1 << 17;
+
+    /** Integration direction indicator. */
+    private final boolean forward;
+
+    /** Degree of the Chebyshev polynomials. */
+    private final int degree;
+
+    /** Dimension of the primary state. */
+    private final int primaryDimension;
+
+    /** Dimensions of the secondary states. */
+    private final int[] secondaryDimensions;
+
+    /** Number of coefficients per step. */
+    private final int blockSize;
+
+    /** Start time of each step. */
+    private final double[] starts;
+
+    /** End time of each step. */
+    private final double[] ends;
+
+    /** Number of steps per segment. */
+    private final int stepsPerSegment;
+
+    /** Coefficients segments (null elements correspond to segments not mapped yet). */
+    private final transient AtomicReferenceArray<DoubleBuffer> segments;
+
+    /** File from which segments are mapped (null for in-memory ephemerides). */
+    private final transient Path file;
+
+    /** Offset of the coefficients in the file. */
+    private final transient long dataOffset;
+
+    /** Build an in-memory ephemeris.
+     * @param forward integration direction indicator
+     * @param degree degree of the Chebyshev polynomials
+     * @param primaryDimension dimension of the primary state
+     * @param secondaryDimensions dimensions of the secondary states
+     * @param starts start time of each step
+     * @param ends end time of each step
+     * @param coefficients coefficients blocks for all steps
+     */
+    private DenseOutputEphemeris(final boolean forward, final int degree,
+                                 final int primaryDimension, final int[] secondaryDimensions,
+                                 final double[] starts, final double[] ends,
+                                 final double[] coefficients) {
+        this.forward             = forward;
+        this.degree              = degree;
+        this.primaryDimension    = primaryDimension;
+        this.secondaryDimensions = secondaryDimensions.clone();
+        this.blockSize           = (degree + 1) * completeDimension(primaryDimension, secondaryDimensions);
+        this.starts              = starts;
+        this.ends                = ends;
+        this.stepsPerSegment     = starts.length;
+        this.segments            = new AtomicReferenceArray<>(new DoubleBuffer[] { DoubleBuffer.wrap(coefficients) });
+        this.file                = null;
+        this.dataOffset          = 0L;
+    }
+
+    /** Build a file-backed ephemeris.
+     * @param forward integration direction indicator
+     * @param degree degree of the Chebyshev polynomials
+     * @param primaryDimension dimension of the primary state
+     * @param secondaryDimensions dimensions of the secondary states
+     * @param starts start time of each step
+     * @param ends end time of each step
+     * @param file file from which segments are mapped
+     * @param dataOffset offset of the coefficients in the file
+     */
+    private DenseOutputEphemeris(final boolean forward, final int degree,
+                                 final int primaryDimension, final int[] secondaryDimensions,
+                                 final double[] starts, final double[] ends,
+                                 final Path file, final long dataOffset) {
+        this.forward             = forward;
+        this.degree              = degree;
+        this.primaryDimension    = primaryDimension;
+        this.secondaryDimensions = secondaryDimensions.clone();
+        this.blockSize           = (degree + 1) * completeDimension(primaryDimension, secondaryDimensions);
+        this.starts              = starts;
+        this.ends                = ends;
+        this.stepsPerSegment     = FastMath.max(1, SEGMENT_DOUBLES / blockSize);
+        this.segments            = new AtomicReferenceArray<>((starts.length + stepsPerSegment - 1) / stepsPerSegment);
+        this.file                = file;
+        this.dataOffset          = dataOffset;
+    }
+
+    /** Compute the complete state dimension.
+     * @param primaryDimension dimension of the primary state
+     * @param secondaryDimensions dimensions of the secondary states
+     * @return complete state dimension
+     */
+    private static int completeDimension(final int primaryDimension, final int[] secondaryDimensions) {
+        int dimension = primaryDimension;
+        for (final int secondaryDimension : secondaryDimensions) {
+            dimension += secondaryDimension;
+        }
+        return dimension;
+    }
+
+    /** Load an ephemeris from a binary file.
+     * <p>
+     * Only the header and the steps boundaries are read by this method, the
+     * coefficients are mapped in memory segment by segment when they are first
+     * needed. The file must therefore remain available and unchanged as long
+     * as the returned ephemeris is used.
+     * </p>
+     * @param file file to load (as written by {@link #write(Path)})
+     * @return loaded ephemeris
+     * @exception IOException if file cannot be read
+     * @exception MathIllegalArgumentException if file is not an ephemeris file,
+     * has an unsupported version or is truncated
+     */
+    public static DenseOutputEphemeris load(final Path file)
+        throws IOException, MathIllegalArgumentException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+            if (in.readLong() != MAGIC) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.NOT_AN_EPHEMERIS_FILE, file);
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.UNSUPPORTED_EPHEMERIS_FILE_VERSION,
+                                                       version, file);
+            }
+            final int     degree           = in.readInt();
+            final boolean forward          = in.readInt() != 0;
+            final int     primaryDimension = in.readInt();
+            final int[]   secondaryDimensions = new int[in.readInt()];
+            for (int i = 0; i < secondaryDimensions.length; ++i) {
+                secondaryDimensions[i] = in.readInt();
+            }
+            final int nbSteps = in.readInt();
+            if ((secondaryDimensions.length & 0x1) != 0) {
+                // padding
+                in.readInt();
+            }
+
+            final double[] starts = new double[nbSteps];
+            for (int i = 0; i < nbSteps; ++i) {
+                starts[i] = in.readDouble();
+            }
+            final double[] ends = new double[nbSteps];
+            for (int i = 0; i < nbSteps; ++i) {
+                ends[i] = in.readDouble();
+            }
+
+            final long dataOffset = headerSize(secondaryDimensions.length) + 16L * nbSteps;
+            final long expected   = dataOffset +
+                                    8L * nbSteps * (degree + 1) * completeDimension(primaryDimension, secondaryDimensions);
+            if (Files.size(file) != expected) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.TRUNCATED_EPHEMERIS_FILE, file);
+            }
+
+            return new DenseOutputEphemeris(forward, degree, primaryDimension, secondaryDimensions,
+                                            starts, ends, file, dataOffset);
+
+        }
+    }
+
+    /** Write the ephemeris to a binary file.
+     * @param output file to write
+     * @exception IOException if file cannot be written
+     */
+    public void write(final Path output) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+
+            out.writeLong(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(degree);
+            out.writeInt(forward ? 1 : 0);
+            out.writeInt(primaryDimension);
+            out.writeInt(secondaryDimensions.length);
+            for (final int secondaryDimension : secondaryDimensions) {
+                out.writeInt(secondaryDimension);
+            }
+            out.writeInt(starts.length);
+            if ((secondaryDimensions.length & 0x1) != 0) {
+                // padding, so coefficients are aligned on 8 bytes boundaries
+                out.writeInt(0);
+            }
+
+            for (final double start : starts) {
+                out.writeDouble(start);
+            }
+            for (final double end : ends) {
+                out.writeDouble(end);
+            }
+            for (final double coefficient : getCoefficients()) {
+                out.writeDouble(coefficient);
+            }
+
+        }
+    }
+
+    /** Compute the size of the file header.
+     * @param nbSecondary number of secondary states
+     * @return size of the header in bytes, including padding
+     */
+    private static long headerSize(final int nbSecondary) {
+        return 32L + 8L * ((nbSecondary + 1) / 2);
+    }
+
+    /** Get the initial integration time.
+     * @return initial integration time
+     */
+    public double getInitialTime() {
+        return starts[0];
+    }
+
+    /** Get the final integration time.
+     * @return final integration time
+     */
+    public double getFinalTime() {
+        return ends[ends.length - 1];
+    }
+
+    /** Check if integration was performed forward.
+     * @return true if integration was performed forward
+     */
+    public boolean isForward() {
+        return forward;
+    }
+
+    /** Get the number of steps.
+     * @return number of steps
+     */
+    public int getNumberOfSteps() {
+        return starts.length;
+    }
+
+    /** Get the degree of the Chebyshev polynomials.
+     * @return degree of the Chebyshev polynomials
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the state at interpolated time.
+     * <p>
+     * This method is thread-safe. Times outside of the integration interval
+     * are extrapolated using the first or last step.
+     * </p>
+     * @param time time of the interpolated point
+     * @return state at interpolated time
+     */
+    public ODEStateAndDerivative getInterpolatedState(final double time) {
+
+        final int    index = locateStep(time);
+        final double halfH = 0.5 * (ends[index] - starts[index]);
+        final double x     = (time - 0.5 * (starts[index] + ends[index])) / halfH;
+
+        // Chebyshev polynomials and their derivatives
+        final double[] t = new double[degree + 1];
+        final double[] d = new double[degree + 1];
+        t[0] = 1;
+        t[1] = x;
+        d[1] = 1;
+        for (int k = 2; k <= degree; ++k) {
+            t[k] = 2 * x * t[k - 1] - t[k - 2];
+            d[k] = 2 * t[k - 1] + 2 * x * d[k - 1] - d[k - 2];
+        }
+
+        // evaluate all components
+        final DoubleBuffer segment = getSegment(index / stepsPerSegment);
+        int offset = (index % stepsPerSegment) * blockSize;
+        final double[] y    = new double[blockSize / (degree + 1)];
+        final double[] yDot = new double[y.length];
+        for (int i = 0; i < y.length; ++i) {
+            double v  = 0;
+            double dv = 0;
+            for (int k = 0; k <= degree; ++k) {
+                final double c = segment.get(offset++);
+                v  += c * t[k];
+                dv += c * d[k];
+            }
+            y[i]    = v;
+            yDot[i] = dv / halfH;
+        }
+
+        // split complete state into primary and secondary states
+        final double[]   primaryState        = new double[primaryDimension];
+        final double[]   primaryDerivative   = new double[primaryDimension];
+        final double[][] secondaryState      = new double[secondaryDimensions.length][];
+        final double[][] secondaryDerivative = new double[secondaryDimensions.length][];
+        System.arraycopy(y,    0, primaryState,      0, primaryDimension);
+        System.arraycopy(yDot, 0, primaryDerivative, 0, primaryDimension);
+        int start = primaryDimension;
+        for (int i = 0; i < secondaryDimensions.length; ++i) {
+            secondaryState[i]      = new double[secondaryDimensions[i]];
+            secondaryDerivative[i] = new double[secondaryDimensions[i]];
+            System.arraycopy(y,    start, secondaryState[i],      0, secondaryDimensions[i]);
+            System.arraycopy(yDot, start, secondaryDerivative[i], 0, secondaryDimensions[i]);
+            start += secondaryDimensions[i];
+        }
+
+        return new ODEStateAndDerivative(time, primaryState, primaryDerivative, secondaryState, secondaryDerivative);
+
+    }
+
+    /** Locate the step containing a time.
+     * @param time time to locate
+     * @return index of the last step starting before time (according to
+     * integration direction), or 0 if time is before the first step
+     */
+    private int locateStep(final double time) {
+        int low  = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (forward ? starts[mid] <= time : starts[mid] >= time) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /** Get a coefficients segment, mapping it if needed.
+     * @param index index of the segment
+     * @return coefficients segment
+     */
+    private DoubleBuffer getSegment(final int index) {
+        final DoubleBuffer segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+
+        // map the segment; if another thread maps it concurrently, both mappings are equivalent
+        final int  firstStep = index * stepsPerSegment;
+        final int  nbSteps   = FastMath.min(stepsPerSegment, starts.length - firstStep);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final DoubleBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                    dataOffset + 8L * firstStep * blockSize,
+                                                    8L * nbSteps * blockSize).asDoubleBuffer();
+            segments.compareAndSet(index, null, mapped);
+            return segments.get(index);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+    }
+
+    /** Get all coefficients.
+     * @return coefficients blocks for all steps
+     */
+    private double[] getCoefficients() {
+        final double[] coefficients = new double[starts.length * blockSize];
+        for (int i = 0; i < segments.length(); ++i) {
+            final DoubleBuffer segment = getSegment(i).duplicate();
+            segment.rewind();
+            segment.get(coefficients, i * stepsPerSegment * blockSize, segment.remaining());
+        }
+        return coefficients;
+    }
+
+    /** Replace the instance with a data transfer object for serialization.
+     * @return data transfer object that will be serialized
+     */
+    private Object writeReplace() {
+        return new DataTransferObject(forward, degree, primaryDimension, secondaryDimensions,
+                                      starts, ends, getCoefficients());
+    }
+
+    /** Internal class used only for serialization. */
+    private static class DataTransferObject implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Integration direction indicator. */
+        private final boolean forward;
+
+        /** Degree of the Chebyshev polynomials. */
+        private final int degree;
+
+        /** Dimension of the primary state. */
+        private final int primaryDimension;
+
+        /** Dimensions of the secondary states. */
+        private final int[] secondaryDimensions;
+
+        /** Start time of each step. */
+        private final double[] starts;
+
+        /** End time of each step. */
+        private final double[] ends;
+
+        /** Coefficients blocks for all steps. */
+        private final double[] coefficients;
+
+        /** Simple constructor.
+         * @param forward integration direction indicator
+         * @param degree degree of the Chebyshev polynomials
+         * @param primaryDimension dimension of the primary state
+         * @param secondaryDimensions dimensions of the secondary states
+         * @param starts start time of each step
+         * @param ends end time of each step
+         * @param coefficients coefficients blocks for all steps
+         */
+        DataTransferObject(final boolean forward, final int degree,
+                           final int primaryDimension, final int[] secondaryDimensions,
+                           final double[] starts, final double[] ends,
+                           final double[] coefficients) {
+            this.forward             = forward;
+            this.degree              = degree;
+            this.primaryDimension    = primaryDimension;
+            this.secondaryDimensions = secondaryDimensions.clone();
+            this.starts              = starts.clone();
+            this.ends                = ends.clone();
+            this.coefficients        = coefficients;
+        }
+
+        /** Replace the deserialized data transfer object with a {@link DenseOutputEphemeris}.
+         * @return replacement {@link DenseOutputEphemeris}
+         */
+        private Object readResolve() {
+            return new DenseOutputEphemeris(forward, degree, primaryDimension, secondaryDimensions,
+                                            starts, ends, coefficients);
+        }
+
+    }
+
+    /** Step handler compressing steps into an ephemeris as they are produced.
+     * <p>
+     * The same recorder can be used for several contiguous integration phases
+     * performed in order and in the same direction, the steps of all phases
+     * being appended to the same ephemeris. A new recorder must be used for
+     * unrelated integrations.
+     * </p>
+     */
+    public static class Recorder implements ODEStepHandler {
+
+        /** Degree of the Chebyshev polynomials. */
+        private final int degree;
+
+        /** Sampling nodes in [-1, 1]. */
+        private final double[] nodes;
+
+        /** Chebyshev polynomials values at sampling nodes, scaled for coefficients computation. */
+        private final double[][] weights;
+
+        /** Integration direction indicator. */
+        private boolean forward;
+
+        /** Dimension of the primary state. */
+        private int primaryDimension;
+
+        /** Dimensions of the secondary states (null before first step). */
+        private int[] secondaryDimensions;
+
+        /** Start time of each step. */
+        private final ResizableDoubleArray starts;
+
+        /** End time of each step. */
+        private final ResizableDoubleArray ends;
+
+        /** Coefficients blocks. */
+        private final ResizableDoubleArray coefficients;
+
+        /** Simple constructor.
+         * @param degree degree of the Chebyshev polynomials (at least 1)
+         * @exception MathIllegalArgumentException if degree is less than 1
+         */
+        public Recorder(final int degree) throws MathIllegalArgumentException {
+            if (degree < 1) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 1);
+            }
+            this.degree  = degree;
+            final int n  = degree + 1;
+            this.nodes   = new double[n];
+            this.weights = new double[n][n];
+            for (int k = 0; k < n; ++k) {
+                nodes[k] = FastMath.cos(FastMath.PI * (k + 0.5) / n);
+                for (int j = 0; j < n; ++j) {
+                    weights[j][k] = (j == 0 ? 1.0 : 2.0) * FastMath.cos(FastMath.PI * j * (k + 0.5) / n) / n;
+                }
+            }
+            this.starts       = new ResizableDoubleArray();
+            this.ends         = new ResizableDoubleArray();
+            this.coefficients = new ResizableDoubleArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final ODEStateAndDerivative initialState, final double finalTime)
+            throws MathIllegalArgumentException {
+
+            final int n = starts.getNumElements();
+            if (n == 0) {
+                // first phase
+                return;
+            }
+
+            // the new phase must continue the already recorded ones
+            final double t0 = initialState.getTime();
+            if (finalTime != t0 && (finalTime > t0) != forward) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.PROPAGATION_DIRECTION_MISMATCH);
+            }
+            final double lastStart = starts.getElement(n - 1);
+            final double lastEnd   = ends.getElement(n - 1);
+            final double gap       = t0 - lastEnd;
+            if (FastMath.abs(gap) > 1.0e-3 * FastMath.abs(lastEnd - lastStart)) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES,
+                                                       FastMath.abs(gap));
+            }
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleStep(final ODEStateInterpolator interpolator, final boolean isLast) {
+
+            final ODEStateAndDerivative previous = interpolator.getPreviousState();
+            final double t0 = previous.getTime();
+            final double t1 = interpolator.getCurrentState().getTime();
+            if (t0 == t1) {
+                // ignore empty steps
+                return;
+            }
+
+            if (secondaryDimensions == null) {
+                forward             = interpolator.isForward();
+                primaryDimension    = previous.getPrimaryStateDimension();
+                secondaryDimensions = new int[previous.getNumberOfSecondaryStates()];
+                for (int i = 0; i < secondaryDimensions.length; ++i) {
+                    secondaryDimensions[i] = previous.getSecondaryStateDimension(i + 1);
+                }
+            } else {
+                checkDimensionsEquality(primaryDimension, previous.getPrimaryStateDimension());
+                checkDimensionsEquality(secondaryDimensions.length, previous.getNumberOfSecondaryStates());
+                for (int i = 0; i < secondaryDimensions.length; ++i) {
+                    checkDimensionsEquality(secondaryDimensions[i], previous.getSecondaryStateDimension(i + 1));
+                }
+            }
+
+            // sample the step at Chebyshev nodes
+            final double   tMid    = 0.5 * (t0 + t1);
+            final double   halfH   = 0.5 * (t1 - t0);
+            final double[][] samples = new double[nodes.length][];
+            for (int k = 0; k < nodes.length; ++k) {
+                samples[k] = interpolator.getInterpolatedState(tMid + halfH * nodes[k]).getCompleteState();
+            }
+
+            // compute coefficients
+            for (int i = 0; i < samples[0].length; ++i) {
+                for (int j = 0; j <= degree; ++j) {
+                    double c = 0;
+                    for (int k = 0; k < nodes.length; ++k) {
+                        c += weights[j][k] * samples[k][i];
+                    }
+                    coefficients.addElement(c);
+                }
+            }
+
+            starts.addElement(t0);
+            ends.addElement(t1);
+
+        }
+
+        /** Check dimensions equality.
+         * @param d1 first dimension
+         * @param d2 second dimension
+         * @exception MathIllegalArgumentException if dimensions do not match
+         */
+        private void checkDimensionsEquality(final int d1, final int d2)
+            throws MathIllegalArgumentException {
+            if (d1 != d2) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       d2, d1);
+            }
+        }
+
+        /** Build the ephemeris from the steps recorded so far.
+         * @return ephemeris for the recorded steps
+         * @exception MathIllegalStateException if no steps have been recorded
+         */
+        public DenseOutputEphemeris build() throws MathIllegalStateException {
+            if (starts.getNumElements() == 0) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.NO_DATA);
+            }
+            return new DenseOutputEphemeris(forward, degree, primaryDimension, secondaryDimensions,
+                                            starts.getElements(), ends.getElements(),
+                                            coefficients.getElements());
+        }
+
+    }
+
+}
@@ -328,6 +328,26 @@ public class DenseOutputModel implements ODEStepHandler, Serializable {
 
     }
 
+    /** Compress the model into a read-only ephemeris.
+     * <p>
+     * The ephemeris is much more compact than the model and, contrary to
+     * the model, can be used concurrently by several threads.
+     * </p>
+     * @param degree degree of the Chebyshev polynomials used in each step
+     * @return ephemeris built from the steps stored in the model
+     * @exception MathIllegalArgumentException if degree is less than 1
+     * @exception MathIllegalStateException if the model is empty
+     * @since 1.9
+     */
+    public DenseOutputEphemeris toEphemeris(final int degree)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        final DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(degree);
+        for (int i = 0; i < steps.size(); ++i) {
+            recorder.handleStep(steps.get(i), i == steps.size() - 1);
+        }
+        return recorder.build();
+    }
+
     /** Compare a step interval and a double.
      * @param time point to locate
      * @param interval step interval
@@ -151,4 +151,26 @@ public class ExpandableODE {
 
     }
 
+    /** Compute the current time derivative of the complete state vector in place.
+     * <p>
+     * When there are no secondary equations, the arrays are passed directly
+     * to {@link OrdinaryDifferentialEquation#computeDerivatives(double, double[], double[])},
+     * without intermediate copies.
+     * </p>
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the complete state vector
+     * @param yDot placeholder array where to put the time derivative of the complete state vector
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * @exception MathIllegalArgumentException if arrays dimensions do not match equations settings
+     * @since 1.9
+     */
+    public void computeDerivatives(final double t, final double[] y, final double[] yDot)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        if (mapper.getNumberOfEquations() == 1) {
+            primary.computeDerivatives(t, y, yDot);
+        } else {
+            System.arraycopy(computeDerivatives(t, y), 0, yDot, 0, yDot.length);
+        }
+    }
+
 }
@@ -55,7 +55,10 @@ public enum LocalizedODEFormats implements Localizable {
     TOO_SMALL_INTEGRATION_INTERVAL("too small integration interval: length = {0}"),
     UNKNOWN_PARAMETER("unknown parameter {0}"),
     UNMATCHED_ODE_IN_EXPANDED_SET("ode does not match the main ode set in the extended set"),
-    NAN_APPEARING_DURING_INTEGRATION("NaN appears during integration near time {0}");
+    NAN_APPEARING_DURING_INTEGRATION("NaN appears during integration near time {0}"),
+    NOT_AN_EPHEMERIS_FILE("{0} is not an ephemeris file"),
+    UNSUPPORTED_EPHEMERIS_FILE_VERSION("unsupported ephemeris file version {0} in {1}"),
+    TRUNCATED_EPHEMERIS_FILE("truncated ephemeris file {0}");
 
     // CHECKSTYLE: resume JavadocVariable
     // CHECKSTYLE: resume MultipleVariableDeclarations
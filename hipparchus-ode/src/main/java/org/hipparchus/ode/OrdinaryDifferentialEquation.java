@@ -73,4 +73,27 @@ public interface OrdinaryDifferentialEquation {
      */
     double[] computeDerivatives(double t, double[] y);
 
+    /** Compute the current time derivative of the state vector in place.
+     * <p>
+     * This method is used by integrators in low allocation mode, for
+     * example {@link org.hipparchus.ode.nonstiff.EmbeddedRungeKuttaIntegrator#setLowAllocation(boolean)
+     * EmbeddedRungeKuttaIntegrator}. The arrays are working arrays of the
+     * integrator, the implementation must not modify {@code y} and must
+     * not keep references to any of them.
+     * </p>
+     * <p>
+     * The default implementation delegates to {@link #computeDerivatives(double, double[])}
+     * and copies the result. Small systems integrated many times can override it
+     * to avoid allocating a new array at each evaluation.
+     * </p>
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the state vector
+     * @param yDot placeholder array where to put the time derivative of the state vector
+     * @since 1.9
+     */
+    default void computeDerivatives(double t, double[] y, double[] yDot) {
+        final double[] derivative = computeDerivatives(t, y);
+        System.arraycopy(derivative, 0, yDot, 0, derivative.length);
+    }
+
 }
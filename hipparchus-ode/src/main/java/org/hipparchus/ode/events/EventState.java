@@ -100,6 +100,31 @@ public class EventState {
     /** Root-finding algorithm to use to detect state events. */
     private final BracketedUnivariateSolver<UnivariateFunction> solver;
 
+    /** State at the end of the last evaluated step (null if no value is cached).
+     * @since 1.9
+     */
+    private ODEStateAndDerivative cachedState;
+
+    /** Value of the g function at {@link #cachedState}.
+     * @since 1.9
+     */
+    private double cachedG;
+
+    /** Interpolator for which {@link #sampledG} holds values (null if none).
+     * @since 1.9
+     */
+    private ODEStateInterpolator sampledInterpolator;
+
+    /** Values of the g function sampled at substeps ends by {@link #sampleStep(ODEStateInterpolator)}.
+     * @since 1.9
+     */
+    private double[] sampledG;
+
+    /** Number of values in {@link #sampledG}.
+     * @since 1.9
+     */
+    private int nbSampled;
+
     /** Simple constructor.
      * @param handler event handler
      * @param maxCheckInterval maximal time interval between switching
@@ -129,6 +154,11 @@ public class EventState {
         earliestTimeConsidered = Double.NaN;
         afterEvent = Double.NaN;
         afterG = Double.NaN;
+        cachedState = null;
+        cachedG     = Double.NaN;
+        sampledInterpolator = null;
+        sampledG            = new double[1];
+        nbSampled           = 0;
     }
 
     /** Get the underlying event handler.
@@ -168,6 +198,8 @@ public class EventState {
         throws MathIllegalStateException {
 
         forward = interpolator.isForward();
+        cachedState         = null;
+        sampledInterpolator = null;
         final ODEStateAndDerivative s0 = interpolator.getPreviousState();
         t0 = s0.getTime();
         g0 = handler.g(s0);
@@ -202,9 +234,64 @@ public class EventState {
 
     }
 
+    /**
+     * Sample the event handler over the proposed step, without locating events.
+     *
+     * <p>This method evaluates the g function at the substeps ends, up to the first
+     * sign change, and keeps the values for the next call to {@link
+     * #evaluateStep(ODEStateInterpolator) evaluateStep} with the same interpolator.
+     * It does not use the root-finding solver and it changes only this instance, so
+     * it may be called concurrently on different instances, provided the g functions
+     * of their handlers are thread-safe. Calling it is never mandatory.</p>
+     *
+     * @param interpolator step interpolator for the proposed step
+     * @throws MathIllegalStateException if the interpolator throws one because the
+     *                                   number of functions evaluations is exceeded
+     * @since 1.9
+     */
+    public void sampleStep(final ODEStateInterpolator interpolator)
+        throws MathIllegalStateException {
+
+        sampledInterpolator = null;
+        nbSampled           = 0;
+        cachedState         = null;
+        final ODEStateAndDerivative s1 = interpolator.getCurrentState();
+        final double dt = s1.getTime() - t0;
+        if (FastMath.abs(dt) < convergence) {
+            // evaluateStep will not need any value
+            return;
+        }
+        final int n = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / maxCheckInterval));
+        final double h = dt / n;
+        if (sampledG.length < n) {
+            sampledG = new double[n];
+        }
+
+        for (int i = 0; i < n; ++i) {
+            final double gb = substepG(interpolator, s1, i, n, h);
+            sampledG[nbSampled++] = gb;
+            if (gb == 0.0 || (g0Positive ^ (gb > 0))) {
+                // evaluateStep will have to locate a root here
+                break;
+            }
+        }
+        sampledInterpolator = interpolator;
+
+    }
+
     /**
      * Evaluate the impact of the proposed step on the event handler.
      *
+     * <p>The g function value at the end of the step is evaluated on the state
+     * returned by {@link ODEStateInterpolator#getCurrentState()} (and not on a state
+     * interpolated at the same time, which may differ by a few ulps), and it is cached
+     * so a subsequent call to {@link #tryAdvance(ODEStateAndDerivative, ODEStateInterpolator)
+     * tryAdvance} with this same state does not evaluate it again.</p>
+     *
+     * <p>If {@link #sampleStep(ODEStateInterpolator) sampleStep} has been called just
+     * before with the same interpolator, the sampled values are used instead of
+     * evaluating the g function again.</p>
+     *
      * @param interpolator step interpolator for the proposed step
      * @return true if the event handler triggers an event before the end of the proposed
      * step
@@ -216,6 +303,11 @@ public class EventState {
             throws MathIllegalArgumentException, MathIllegalStateException {
 
         forward = interpolator.isForward();
+        final boolean useSamples = interpolator == sampledInterpolator;
+        sampledInterpolator = null;
+        if (!useSamples) {
+            cachedState = null;
+        }
         final ODEStateAndDerivative s1 = interpolator.getCurrentState();
         final double t1 = s1.getTime();
         final double dt = t1 - t0;
@@ -234,7 +326,7 @@ public class EventState {
 
             // evaluate handler value at the end of the substep
             final double tb = (i == n - 1) ? t1 : t0 + (i + 1) * h;
-            final double gb = handler.g(interpolator.getInterpolatedState(tb));
+            final double gb = (useSamples && i < nbSampled) ? sampledG[i] : substepG(interpolator, s1, i, n, h);
 
             // check events occurrence
             if (gb == 0.0 || (g0Positive ^ (gb > 0))) {
@@ -257,6 +349,29 @@ public class EventState {
 
     }
 
+    /**
+     * Evaluate the g function at the end of a substep.
+     *
+     * @param interpolator step interpolator for the proposed step
+     * @param s1           state at step end
+     * @param i            index of the substep
+     * @param n            number of substeps
+     * @param h            substeps size
+     * @return g function value at substep end
+     */
+    private double substepG(final ODEStateInterpolator interpolator, final ODEStateAndDerivative s1,
+                            final int i, final int n, final double h) {
+        if (i == n - 1) {
+            // last substep, we use the step end state and keep the g value for tryAdvance
+            final double g1 = handler.g(s1);
+            cachedState = s1;
+            cachedG     = g1;
+            return g1;
+        } else {
+            return handler.g(interpolator.getInterpolatedState(t0 + (i + 1) * h));
+        }
+    }
+
     /**
      * Find a root in a bracketing interval.
      *
@@ -435,7 +550,8 @@ public class EventState {
             meFirst = false;
         } else {
             // check g function to see if there is a new event
-            final double g = handler.g(state);
+            // (reusing the value computed at step end by evaluateStep if available)
+            final double g = (state == cachedState) ? cachedG : handler.g(state);
             final boolean positive = g > 0;
 
             if (positive == g0Positive) {
@@ -457,6 +573,10 @@ public class EventState {
             t0 = t;
         }
 
+        // some event handler may change the g function before we are called again
+        cachedState         = null;
+        sampledInterpolator = null;
+
         return meFirst;
     }
 
@@ -486,7 +606,9 @@ public class EventState {
             newState = state;
         }
         // clear pending event
-        pendingEvent = false;
+        cachedState         = null;
+        sampledInterpolator = null;
+        pendingEvent        = false;
         pendingEventTime = Double.NaN;
         // setup for next search
         earliestTimeConsidered = afterEvent;
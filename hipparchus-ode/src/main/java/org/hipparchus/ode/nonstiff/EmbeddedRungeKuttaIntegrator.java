@@ -89,6 +89,9 @@ public abstract class EmbeddedRungeKuttaIntegrator
     /** Maximal growth factor for stepsize control. */
     private double maxGrowth;
 
+    /** Low allocation mode indicator. */
+    private boolean lowAllocation;
+
     /** Build a Runge-Kutta integrator with the given Butcher array.
      * @param name name of the method
      * @param fsal index of the pre-computed derivative for <i>fsal</i> methods
@@ -186,6 +189,35 @@ public abstract class EmbeddedRungeKuttaIntegrator
         this.safety = safety;
     }
 
+    /** Check if low allocation mode is enabled.
+     * @return true if low allocation mode is enabled
+     * @see #setLowAllocation(boolean)
+     * @since 1.9
+     */
+    public boolean isLowAllocation() {
+        return lowAllocation;
+    }
+
+    /** Enable or disable low allocation mode.
+     * <p>
+     * In low allocation mode, the stages derivatives are computed in place
+     * using {@link ExpandableODE#computeDerivatives(double, double[], double[])}
+     * and the state and derivatives buffers are reused from one step to the
+     * next. If in addition no step handlers and no event handlers are registered,
+     * neither intermediate states nor interpolators are built at all, only the
+     * final state is. In this last case, {@link #getStepStart()} is not updated
+     * during integration. This mode is intended for small systems integrated
+     * many times, for which allocation and copying cost more than the derivatives
+     * evaluations. The equations must neither modify nor keep references to the
+     * arrays they get.
+     * </p>
+     * @param lowAllocation if true, low allocation mode is enabled
+     * @since 1.9
+     */
+    public void setLowAllocation(final boolean lowAllocation) {
+        this.lowAllocation = lowAllocation;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ODEStateAndDerivative integrate(final ExpandableODE equations,
@@ -196,10 +228,23 @@ public abstract class EmbeddedRungeKuttaIntegrator
         setStepStart(initIntegration(equations, initialState, finalTime));
         final boolean forward = finalTime > initialState.getTime();
 
+        // in low allocation mode without handlers, steps are not mapped to states
+        final boolean direct = lowAllocation && getStepHandlers().isEmpty() && getEventHandlers().isEmpty();
+
         // create some internal working arrays
         final int        stages  = c.length + 1;
         final double[][] yDotK   = new double[stages][];
-        final double[]   yTmp    = new double[equations.getMapper().getTotalDimension()];
+        double[]         yTmp    = new double[equations.getMapper().getTotalDimension()];
+        double[]         y       = getStepStart().getCompleteState();
+        double[]         yDotEnd = null;
+        if (lowAllocation) {
+            yDotK[0] = getStepStart().getCompleteDerivative();
+            for (int k = 1; k < stages; ++k) {
+                yDotK[k] = new double[yTmp.length];
+            }
+            yDotEnd = new double[yTmp.length];
+        }
+        double t = getStepStart().getTime();
 
         // set up integration control objects
         double  hNew      = 0;
@@ -214,8 +259,10 @@ public abstract class EmbeddedRungeKuttaIntegrator
             while (error >= 1.0) {
 
                 // first stage
-                final double[] y = getStepStart().getCompleteState();
-                yDotK[0] = getStepStart().getCompleteDerivative();
+                if (!lowAllocation) {
+                    y        = getStepStart().getCompleteState();
+                    yDotK[0] = getStepStart().getCompleteDerivative();
+                }
 
                 if (firstTime) {
                     final double[] scale = new double[mainSetDimension];
@@ -234,12 +281,12 @@ public abstract class EmbeddedRungeKuttaIntegrator
 
                 setStepSize(hNew);
                 if (forward) {
-                    if (getStepStart().getTime() + getStepSize() >= finalTime) {
-                        setStepSize(finalTime - getStepStart().getTime());
+                    if (t + getStepSize() >= finalTime) {
+                        setStepSize(finalTime - t);
                     }
                 } else {
-                    if (getStepStart().getTime() + getStepSize() <= finalTime) {
-                        setStepSize(finalTime - getStepStart().getTime());
+                    if (t + getStepSize() <= finalTime) {
+                        setStepSize(finalTime - t);
                     }
                 }
 
@@ -254,7 +301,11 @@ public abstract class EmbeddedRungeKuttaIntegrator
                         yTmp[j] = y[j] + getStepSize() * sum;
                     }
 
-                    yDotK[k] = computeDerivatives(getStepStart().getTime() + c[k-1] * getStepSize(), yTmp);
+                    if (lowAllocation) {
+                        computeDerivatives(t + c[k-1] * getStepSize(), yTmp, yDotK[k]);
+                    } else {
+                        yDotK[k] = computeDerivatives(t + c[k-1] * getStepSize(), yTmp);
+                    }
 
                 }
 
@@ -271,7 +322,7 @@ public abstract class EmbeddedRungeKuttaIntegrator
                 error = estimateError(yDotK, y, yTmp, getStepSize());
                 if (Double.isNaN(error)) {
                     throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
-                                                        getStepStart().getTime() + getStepSize());
+                                                        t + getStepSize());
                 }
                 if (error >= 1.0) {
                     // reject the step and attempt to reduce error by stepsize control
@@ -282,13 +333,55 @@ public abstract class EmbeddedRungeKuttaIntegrator
                 }
 
             }
-            final double   stepEnd = getStepStart().getTime() + getStepSize();
-            final double[] yDotTmp = (fsal >= 0) ? yDotK[fsal] : computeDerivatives(stepEnd, yTmp);
-            final ODEStateAndDerivative stateTmp = equations.getMapper().mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
+            final double   stepEnd = t + getStepSize();
+            final double[] yDotTmp;
+            if (fsal >= 0) {
+                yDotTmp = yDotK[fsal];
+            } else if (lowAllocation) {
+                computeDerivatives(stepEnd, yTmp, yDotEnd);
+                yDotTmp = yDotEnd;
+            } else {
+                yDotTmp = computeDerivatives(stepEnd, yTmp);
+            }
+
+            boolean swapBuffers = direct;
+            if (direct) {
+                // local error is small enough: accept the step
+                t = stepEnd;
+                setIsLastStep(FastMath.abs(t - finalTime) <= FastMath.ulp(finalTime));
+            } else {
+                final ODEStateAndDerivative stateTmp = equations.getMapper().mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
+
+                // local error is small enough: accept the step, trigger events and step handlers
+                setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp, equations.getMapper()),
+                                        finalTime));
+                t = getStepStart().getTime();
+
+                if (lowAllocation) {
+                    if (resetOccurred()) {
+                        // the state has been changed by some event
+                        y        = getStepStart().getCompleteState();
+                        yDotK[0] = getStepStart().getCompleteDerivative();
+                    } else {
+                        swapBuffers = true;
+                    }
+                }
+            }
 
-            // local error is small enough: accept the step, trigger events and step handlers
-            setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp, equations.getMapper()),
-                                    finalTime));
+            if (swapBuffers) {
+                // the end of the accepted step becomes the start of the next one
+                final double[] swapY = y;
+                y    = yTmp;
+                yTmp = swapY;
+                final double[] swapYDot = yDotK[0];
+                if (fsal >= 0) {
+                    yDotK[0]    = yDotK[fsal];
+                    yDotK[fsal] = swapYDot;
+                } else {
+                    yDotK[0] = yDotEnd;
+                    yDotEnd  = swapYDot;
+                }
+            }
 
             if (!isLastStep()) {
 
@@ -296,21 +389,22 @@ public abstract class EmbeddedRungeKuttaIntegrator
                 final double factor =
                                 FastMath.min(maxGrowth, FastMath.max(minReduction, safety * FastMath.pow(error, exp)));
                 final double  scaledH    = getStepSize() * factor;
-                final double  nextT      = getStepStart().getTime() + scaledH;
+                final double  nextT      = t + scaledH;
                 final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
                 hNew = filterStep(scaledH, forward, nextIsLast);
 
-                final double  filteredNextT      = getStepStart().getTime() + hNew;
+                final double  filteredNextT      = t + hNew;
                 final boolean filteredNextIsLast = forward ? (filteredNextT >= finalTime) : (filteredNextT <= finalTime);
                 if (filteredNextIsLast) {
-                    hNew = finalTime - getStepStart().getTime();
+                    hNew = finalTime - t;
                 }
 
             }
 
         } while (!isLastStep());
 
-        final ODEStateAndDerivative finalState = getStepStart();
+        final ODEStateAndDerivative finalState =
+                        direct ? equations.getMapper().mapStateAndDerivative(t, y, yDotK[0]) : getStepStart();
         resetInternalState();
         return finalState;
 
@@ -0,0 +1,535 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEIntegrator;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Incrementor;
+import org.hipparchus.util.ParallelUtils;
+
+/**
+ * Integrator for ensembles of trajectories, as used in Monte Carlo
+ * dispersion analyses or parameter sweeps.
+ *
+ * <p>Two integration modes are available:</p>
+ * <ul>
+ *   <li>in {@link #integrate(IntFunction, ODEState[], double, MemberSetup) independent}
+ *   mode, each member is integrated separately by an {@link
+ *   EmbeddedRungeKuttaIntegrator} with its own step size control, events and
+ *   step handlers; members are distributed across the threads of a
+ *   {@link ForkJoinPool} and integrators are recycled from one member to the
+ *   next instead of being rebuilt for each trajectory,</li>
+ *   <li>in {@link #integrateLockstep(EnsembleODE, double, double[][], double,
+ *   EnsembleStepHandler) lockstep} mode, all members share the same time grid
+ *   and the derivatives of the whole ensemble are computed by one call to a
+ *   vectorized {@link EnsembleODE} working on structure-of-arrays states; the
+ *   step size is driven by the member with the largest error.</li>
+ * </ul>
+ *
+ * <p>Both modes use the Butcher array, error estimator and step size control
+ * settings of the integrators built by the factory provided at construction.</p>
+ *
+ * @since 1.9
+ */
+public class EnsembleIntegrator {
+
+    /** Factory for integrators. */
+    private final Supplier<? extends EmbeddedRungeKuttaIntegrator> factory;
+
+    /** Pool for parallel integration (null for serial integration). */
+    private final ForkJoinPool pool;
+
+    /** Integrators available for reuse. */
+    private final Queue<EmbeddedRungeKuttaIntegrator> idle;
+
+    /** Build a serial ensemble integrator.
+     * @param factory factory for the integrators, it must build a new instance at each call
+     */
+    public EnsembleIntegrator(final Supplier<? extends EmbeddedRungeKuttaIntegrator> factory) {
+        this(factory, null);
+    }
+
+    /** Build a parallel ensemble integrator.
+     * @param factory factory for the integrators, it must build a new instance at each call
+     * @param pool pool to use for independent integration of members (if null,
+     * members are integrated serially in the calling thread)
+     */
+    public EnsembleIntegrator(final Supplier<? extends EmbeddedRungeKuttaIntegrator> factory,
+                              final ForkJoinPool pool) {
+        this.factory = factory;
+        this.pool    = pool;
+        this.idle    = new ConcurrentLinkedQueue<>();
+    }
+
+    /** Integrate independently several initial states of the same equations.
+     * <p>
+     * The equations are shared by all members, so they must be thread-safe
+     * if a pool is used.
+     * </p>
+     * @param equations differential equations to integrate
+     * @param initialStates initial states of all members
+     * @param finalTime target time for the integration
+     * @return states at final time for all members
+     * @exception MathIllegalArgumentException if integration step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    public ODEStateAndDerivative[] integrate(final OrdinaryDifferentialEquation equations,
+                                             final ODEState[] initialStates, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        return integrate(member -> new ExpandableODE(equations), initialStates, finalTime, null);
+    }
+
+    /** Integrate independently all members of an ensemble.
+     * <p>
+     * For each member, an integrator is taken from an internal cache (or built
+     * if the cache is empty), the member setup is called to register the member
+     * events and step handlers, the member is integrated and the integrator is
+     * cleared from its events and step handlers before going back to the cache.
+     * </p>
+     * @param equations provider for the differential equations of each member
+     * (called with the member index, typically to build equations with a specific
+     * set of parameters)
+     * @param initialStates initial states of all members
+     * @param finalTime target time for the integration
+     * @param setup setup for the events and step handlers of each member
+     * (may be null if members have no events and no step handlers)
+     * @return states at final time for all members
+     * @exception MathIllegalArgumentException if integration step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    public ODEStateAndDerivative[] integrate(final IntFunction<? extends ExpandableODE> equations,
+                                             final ODEState[] initialStates, final double finalTime,
+                                             final MemberSetup setup)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        final ODEStateAndDerivative[] finalStates = new ODEStateAndDerivative[initialStates.length];
+        ParallelUtils.forEach(pool, 0, initialStates.length, 1, member -> {
+            final EmbeddedRungeKuttaIntegrator integrator = borrow();
+            try {
+                if (setup != null) {
+                    setup.setup(member, integrator);
+                }
+                finalStates[member] = integrator.integrate(equations.apply(member),
+                                                           initialStates[member], finalTime);
+            } finally {
+                release(integrator);
+            }
+        });
+
+        return finalStates;
+
+    }
+
+    /** Integrate all members of an ensemble in lockstep.
+     * <p>
+     * All members are advanced with the same steps, the step size being
+     * driven by the member with the largest error. Each stage of the Runge-Kutta
+     * method is computed by one call to {@link EnsembleODE#computeDerivatives(double,
+     * double[][], double[][])} for the whole ensemble. Events are not supported in
+     * this mode. The initial step size is always estimated from the ensemble,
+     * regardless of the {@link AdaptiveStepsizeIntegrator#setInitialStepSize(double)
+     * initial step size} set up in the integrators built by the factory.
+     * </p>
+     * @param equations vectorized differential equations
+     * @param t0 initial time
+     * @param y0 initial states, {@code y0[i][m]} being component {@code i} of member {@code m}
+     * @param finalTime target time for the integration
+     * @param handler handler called at the end of each step (may be null)
+     * @return states at final time for all members (empty if the ensemble has no members)
+     * @exception MathIllegalArgumentException if integration step is too small,
+     * if dimensions do not match or if equations have no components
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    public ODEStateAndDerivative[] integrateLockstep(final EnsembleODE equations,
+                                                     final double t0, final double[][] y0,
+                                                     final double finalTime,
+                                                     final EnsembleStepHandler handler)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        // check dimensions
+        final int n = equations.getDimension();
+        if (y0.length != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   y0.length, n);
+        }
+        if (n == 0) {
+            // without any component, the ensemble size cannot be inferred
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NO_DATA);
+        }
+        final int size = y0[0].length;
+        if (size == 0) {
+            // empty ensemble, there is nothing to integrate
+            return new ODEStateAndDerivative[0];
+        }
+        double[][] y = new double[n][];
+        for (int i = 0; i < n; ++i) {
+            if (y0[i].length != size) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       y0[i].length, size);
+            }
+            y[i] = y0[i].clone();
+        }
+
+        final EmbeddedRungeKuttaIntegrator integrator = borrow();
+        try {
+
+            integrator.sanityChecks(new ODEState(t0, new double[n]), finalTime);
+            final boolean forward = finalTime > t0;
+
+            // Butcher array
+            final double[]   c      = integrator.getC();
+            final double[][] a      = integrator.getA();
+            final double[]   b      = integrator.getB();
+            final int        stages = c.length + 1;
+            final boolean    fsal   = isFsal(c, a, b);
+            final double     exp    = -1.0 / integrator.getOrder();
+
+            // working arrays, in structure-of-arrays layout
+            final double[][][] yDotK = new double[stages][n][size];
+            double[][]         yTmp  = new double[n][size];
+
+            // working arrays for one member, used for error estimation
+            final double[][] memberYDotK = new double[stages][n];
+            final double[]   memberY0    = new double[n];
+            final double[]   memberY1    = new double[n];
+
+            final Incrementor evaluations = new Incrementor(integrator.getMaxEvaluations());
+            equations.init(t0, y0, finalTime);
+            double t = t0;
+            computeDerivatives(equations, evaluations, t, y, yDotK[0]);
+            double h = initializeStep(integrator, equations, evaluations, forward,
+                                      t, y, yDotK[0], yTmp, yDotK[1]);
+
+            boolean isLast = false;
+            while (!isLast) {
+
+                // iterate over step size, ensuring local normalized error is smaller than 1
+                double error = 10;
+                while (error >= 1.0) {
+
+                    isLast = forward ? t + h >= finalTime : t + h <= finalTime;
+                    if (isLast) {
+                        h = finalTime - t;
+                    }
+
+                    // next stages
+                    for (int k = 1; k < stages; ++k) {
+                        for (int i = 0; i < n; ++i) {
+                            final double[] yi    = y[i];
+                            final double[] yTmpi = yTmp[i];
+                            for (int m = 0; m < size; ++m) {
+                                double sum = a[k - 1][0] * yDotK[0][i][m];
+                                for (int l = 1; l < k; ++l) {
+                                    sum += a[k - 1][l] * yDotK[l][i][m];
+                                }
+                                yTmpi[m] = yi[m] + h * sum;
+                            }
+                        }
+                        computeDerivatives(equations, evaluations, t + c[k - 1] * h, yTmp, yDotK[k]);
+                    }
+
+                    // estimate the states at the end of the step
+                    for (int i = 0; i < n; ++i) {
+                        final double[] yi    = y[i];
+                        final double[] yTmpi = yTmp[i];
+                        for (int m = 0; m < size; ++m) {
+                            double sum = b[0] * yDotK[0][i][m];
+                            for (int l = 1; l < stages; ++l) {
+                                sum += b[l] * yDotK[l][i][m];
+                            }
+                            yTmpi[m] = yi[m] + h * sum;
+                        }
+                    }
+
+                    // estimate the largest error among members
+                    error = 0;
+                    for (int m = 0; m < size; ++m) {
+                        for (int i = 0; i < n; ++i) {
+                            memberY0[i] = y[i][m];
+                            memberY1[i] = yTmp[i][m];
+                            for (int k = 0; k < stages; ++k) {
+                                memberYDotK[k][i] = yDotK[k][i][m];
+                            }
+                        }
+                        final double memberError = integrator.estimateError(memberYDotK, memberY0, memberY1, h);
+                        if (Double.isNaN(memberError)) {
+                            throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                                t + h);
+                        }
+                        error = FastMath.max(error, memberError);
+                    }
+
+                    if (error >= 1.0) {
+                        // reject the step and attempt to reduce error by stepsize control
+                        h = integrator.filterStep(h * factor(integrator, error, exp), forward, false);
+                    }
+
+                }
+
+                // accept the step
+                t = isLast ? finalTime : t + h;
+                final double[][] swap = y;
+                y    = yTmp;
+                yTmp = swap;
+                if (fsal) {
+                    final double[][] last = yDotK[stages - 1];
+                    yDotK[stages - 1] = yDotK[0];
+                    yDotK[0]          = last;
+                } else {
+                    computeDerivatives(equations, evaluations, t, y, yDotK[0]);
+                }
+                if (handler != null) {
+                    handler.handleStep(t, y, yDotK[0], isLast);
+                }
+
+                if (!isLast) {
+                    // stepsize control for next step
+                    final double  scaledH    = h * factor(integrator, error, exp);
+                    final double  nextT      = t + scaledH;
+                    final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
+                    h = integrator.filterStep(scaledH, forward, nextIsLast);
+                }
+
+            }
+
+            // extract members final states
+            final ODEStateAndDerivative[] finalStates = new ODEStateAndDerivative[size];
+            for (int m = 0; m < size; ++m) {
+                for (int i = 0; i < n; ++i) {
+                    memberY0[i] = y[i][m];
+                    memberY1[i] = yDotK[0][i][m];
+                }
+                finalStates[m] = new ODEStateAndDerivative(t, memberY0, memberY1);
+            }
+            return finalStates;
+
+        } finally {
+            release(integrator);
+        }
+
+    }
+
+    /** Compute the derivatives of all members.
+     * @param equations vectorized differential equations
+     * @param evaluations evaluations counter
+     * @param t current time
+     * @param y current states
+     * @param yDot placeholder array where to put the time derivatives
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    private static void computeDerivatives(final EnsembleODE equations, final Incrementor evaluations,
+                                           final double t, final double[][] y, final double[][] yDot)
+        throws MathIllegalStateException {
+        evaluations.increment();
+        equations.computeDerivatives(t, y, yDot);
+    }
+
+    /** Initialize the integration step for all members.
+     * <p>
+     * This method applies the same heuristic as {@link
+     * AdaptiveStepsizeIntegrator#initializeStep(boolean, int, double[],
+     * ODEStateAndDerivative, org.hipparchus.ode.EquationsMapper)} to all members
+     * at once, and selects the smallest step.
+     * </p>
+     * @param integrator integrator providing tolerances and step bounds
+     * @param equations vectorized differential equations
+     * @param evaluations evaluations counter
+     * @param forward forward integration indicator
+     * @param t0 initial time
+     * @param y0 initial states
+     * @param yDot0 initial derivatives
+     * @param y1 placeholder for states after a trial Euler step
+     * @param yDot1 placeholder for derivatives after a trial Euler step
+     * @return first integration step
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     */
+    private static double initializeStep(final EmbeddedRungeKuttaIntegrator integrator,
+                                         final EnsembleODE equations, final Incrementor evaluations,
+                                         final boolean forward, final double t0,
+                                         final double[][] y0, final double[][] yDot0,
+                                         final double[][] y1, final double[][] yDot1)
+        throws MathIllegalStateException {
+
+        final int n    = y0.length;
+        final int size = y0[0].length;
+
+        // very rough first guess : h = 0.01 * ||y/scale|| / ||y'/scale||
+        final double[] yDotOnScale = new double[size];
+        double h = Double.POSITIVE_INFINITY;
+        for (int m = 0; m < size; ++m) {
+            double yOnScale2    = 0;
+            double yDotOnScale2 = 0;
+            for (int i = 0; i < n; ++i) {
+                final double scale    = scale(integrator, i, y0[i][m]);
+                final double ratio    = y0[i][m] / scale;
+                yOnScale2            += ratio * ratio;
+                final double ratioDot = yDot0[i][m] / scale;
+                yDotOnScale2         += ratioDot * ratioDot;
+            }
+            yDotOnScale[m] = FastMath.sqrt(yDotOnScale2);
+            h = FastMath.min(h, ((yOnScale2 < 1.0e-10) || (yDotOnScale2 < 1.0e-10)) ?
+                                1.0e-6 : (0.01 * FastMath.sqrt(yOnScale2 / yDotOnScale2)));
+        }
+        if (!forward) {
+            h = -h;
+        }
+
+        // perform an Euler step using the preceding rough guess
+        for (int i = 0; i < n; ++i) {
+            for (int m = 0; m < size; ++m) {
+                y1[i][m] = y0[i][m] + h * yDot0[i][m];
+            }
+        }
+        computeDerivatives(equations, evaluations, t0 + h, y1, yDot1);
+
+        // step size is computed such that
+        // h^order * max (||y'/tol||, ||y''/tol||) = 0.01
+        double hMin = Double.POSITIVE_INFINITY;
+        for (int m = 0; m < size; ++m) {
+            double yDDotOnScale = 0;
+            for (int i = 0; i < n; ++i) {
+                final double ratioDotDot = (yDot1[i][m] - yDot0[i][m]) / scale(integrator, i, y0[i][m]);
+                yDDotOnScale += ratioDotDot * ratioDotDot;
+            }
+            yDDotOnScale = FastMath.sqrt(yDDotOnScale) / FastMath.abs(h);
+            final double maxInv2 = FastMath.max(yDotOnScale[m], yDDotOnScale);
+            final double h1 = (maxInv2 < 1.0e-15) ?
+                              FastMath.max(1.0e-6, 0.001 * FastMath.abs(h)) :
+                              FastMath.pow(0.01 / maxInv2, 1.0 / integrator.getOrder());
+            hMin = FastMath.min(hMin, FastMath.min(100.0 * FastMath.abs(h), h1));
+        }
+        hMin = FastMath.max(hMin, 1.0e-12 * FastMath.abs(t0));  // avoids cancellation when computing t1 - t0
+        hMin = FastMath.max(hMin, integrator.getMinStep());
+        hMin = FastMath.min(hMin, integrator.getMaxStep());
+
+        return forward ? hMin : -hMin;
+
+    }
+
+    /** Compute the scaling factor of one state component.
+     * @param integrator integrator providing tolerances
+     * @param i index of the component
+     * @param yi value of the component
+     * @return scaling factor
+     */
+    private static double scale(final EmbeddedRungeKuttaIntegrator integrator, final int i, final double yi) {
+        return (integrator.vecAbsoluteTolerance == null) ?
+               integrator.scalAbsoluteTolerance + integrator.scalRelativeTolerance * FastMath.abs(yi) :
+               integrator.vecAbsoluteTolerance[i] + integrator.vecRelativeTolerance[i] * FastMath.abs(yi);
+    }
+
+    /** Compute the step size change factor.
+     * @param integrator integrator providing step size control settings
+     * @param error normalized error
+     * @param exp step size control exponent
+     * @return step size change factor
+     */
+    private static double factor(final EmbeddedRungeKuttaIntegrator integrator,
+                                 final double error, final double exp) {
+        return FastMath.min(integrator.getMaxGrowth(),
+                            FastMath.max(integrator.getMinReduction(),
+                                         integrator.getSafety() * FastMath.pow(error, exp)));
+    }
+
+    /** Check if a Butcher array corresponds to a <i>fsal</i> method.
+     * @param c time steps from Butcher array (without the first zero)
+     * @param a internal weights from Butcher array (without the first empty row)
+     * @param b external weights for the high order method from Butcher array
+     * @return true if the last stage is evaluated at the end of the step with the final weights
+     */
+    private static boolean isFsal(final double[] c, final double[][] a, final double[] b) {
+        final double[] last = a[a.length - 1];
+        if (c[c.length - 1] != 1.0 || b[b.length - 1] != 0.0) {
+            return false;
+        }
+        for (int l = 0; l < last.length; ++l) {
+            if (last[l] != b[l]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Get an integrator from the cache, or build a new one if needed.
+     * @return integrator ready for use
+     */
+    private EmbeddedRungeKuttaIntegrator borrow() {
+        final EmbeddedRungeKuttaIntegrator integrator = idle.poll();
+        return integrator == null ? factory.get() : integrator;
+    }
+
+    /** Return an integrator to the cache.
+     * @param integrator integrator to return
+     */
+    private void release(final EmbeddedRungeKuttaIntegrator integrator) {
+        integrator.clearEventHandlers();
+        integrator.clearStepHandlers();
+        idle.offer(integrator);
+    }
+
+    /** Setup for the events and step handlers of one member. */
+    @FunctionalInterface
+    public interface MemberSetup {
+
+        /** Set up the integrator for one member.
+         * <p>
+         * The integrator is provided without any events or step handlers,
+         * this method should register the ones specific to the member. If
+         * a pool is used, this method may be called concurrently for
+         * different members.
+         * </p>
+         * @param member index of the member
+         * @param integrator integrator that will be used for this member
+         */
+        void setup(int member, ODEIntegrator integrator);
+
+    }
+
+    /** Handler called at the end of each lockstep integration step. */
+    @FunctionalInterface
+    public interface EnsembleStepHandler {
+
+        /** Handle the end of a step.
+         * <p>
+         * The arrays are reused by the integrator, they must not be modified
+         * and they must be copied if their content is needed after the call.
+         * </p>
+         * @param t time at the end of the step
+         * @param y states of all members, {@code y[i][m]} being component {@code i} of member {@code m}
+         * @param yDot derivatives of all members, with the same layout as {@code y}
+         * @param isLast true if the step is the last one
+         */
+        void handleStep(double t, double[][] y, double[][] yDot, boolean isLast);
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+/** This interface represents a first order differential equations set
+ * evaluated simultaneously for all members of an ensemble.
+ *
+ * <p>States and derivatives are stored in structure-of-arrays layout:
+ * {@code y[i][m]} is component {@code i} of member {@code m}. This
+ * allows implementations to evaluate the derivatives of all members
+ * in tight loops over contiguous arrays.</p>
+ *
+ * <p>As for {@link org.hipparchus.ode.OrdinaryDifferentialEquation
+ * OrdinaryDifferentialEquation}, parameters that differ between members
+ * are handled by the implementations as they want, typically as arrays
+ * indexed by member.</p>
+ *
+ * @see EnsembleIntegrator#integrateLockstep(EnsembleODE, double, double[][], double,
+ * EnsembleIntegrator.EnsembleStepHandler)
+ * @since 1.9
+ */
+public interface EnsembleODE {
+
+    /** Get the dimension of the problem for one member.
+     * @return dimension of the problem for one member
+     */
+    int getDimension();
+
+    /** Initialize equations at the start of an ensemble integration.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param t0 value of the independent <I>time</I> variable at integration start
+     * @param y0 states of all members at integration start, {@code y0[i][m]}
+     * being component {@code i} of member {@code m}
+     * @param finalTime target time for the integration
+     */
+    default void init(double t0, double[][] y0, double finalTime) {
+        // do nothing by default
+    }
+
+    /** Compute the current time derivatives of the states of all members.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y current states, {@code y[i][m]} being component {@code i} of member {@code m}
+     * @param yDot placeholder array where to put the time derivatives, with the same layout
+     * as {@code y}
+     */
+    void computeDerivatives(double t, double[][] y, double[][] yDot);
+
+}
@@ -66,6 +66,9 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
     /** Integration step. */
     private final double step;
 
+    /** Low allocation mode indicator. */
+    private boolean lowAllocation;
+
     /** Simple constructor.
      * Build a Runge-Kutta integrator with the given
      * step. The default step handler does nothing.
@@ -93,6 +96,33 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
                                                                      ODEStateAndDerivative globalCurrentState,
                                                                      EquationsMapper mapper);
 
+    /** Check if low allocation mode is enabled.
+     * @return true if low allocation mode is enabled
+     * @see #setLowAllocation(boolean)
+     * @since 1.9
+     */
+    public boolean isLowAllocation() {
+        return lowAllocation;
+    }
+
+    /** Enable or disable low allocation mode.
+     * <p>
+     * In low allocation mode, the stages derivatives are computed in place
+     * using {@link ExpandableODE#computeDerivatives(double, double[], double[])}
+     * and the state and derivatives buffers are reused from one step to the
+     * next. If in addition no step handlers and no event handlers are registered,
+     * neither intermediate states nor interpolators are built at all, only the
+     * final state is. In this last case, {@link #getStepStart()} is not updated
+     * during integration. The equations must neither modify nor keep references
+     * to the arrays they get.
+     * </p>
+     * @param lowAllocation if true, low allocation mode is enabled
+     * @since 1.9
+     */
+    public void setLowAllocation(final boolean lowAllocation) {
+        this.lowAllocation = lowAllocation;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ODEStateAndDerivative integrate(final ExpandableODE equations,
@@ -103,22 +133,34 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
         setStepStart(initIntegration(equations, initialState, finalTime));
         final boolean forward = finalTime > initialState.getTime();
 
+        // in low allocation mode without handlers, steps are not mapped to states
+        final boolean direct = lowAllocation && getStepHandlers().isEmpty() && getEventHandlers().isEmpty();
+
         // create some internal working arrays
-        final int        stages = c.length + 1;
-        double[]         y      = getStepStart().getCompleteState();
-        final double[][] yDotK  = new double[stages][];
-        final double[]   yTmp   = new double[y.length];
+        final int        stages  = c.length + 1;
+        double[]         y       = getStepStart().getCompleteState();
+        final double[][] yDotK   = new double[stages][];
+        double[]         yTmp    = new double[y.length];
+        double[]         yDotEnd = null;
+        if (lowAllocation) {
+            yDotK[0] = getStepStart().getCompleteDerivative();
+            for (int k = 1; k < stages; ++k) {
+                yDotK[k] = new double[y.length];
+            }
+            yDotEnd = new double[y.length];
+        }
+        double t = getStepStart().getTime();
 
         // set up integration control objects
         if (forward) {
-            if (getStepStart().getTime() + step >= finalTime) {
-                setStepSize(finalTime - getStepStart().getTime());
+            if (t + step >= finalTime) {
+                setStepSize(finalTime - t);
             } else {
                 setStepSize(step);
             }
         } else {
-            if (getStepStart().getTime() - step <= finalTime) {
-                setStepSize(finalTime - getStepStart().getTime());
+            if (t - step <= finalTime) {
+                setStepSize(finalTime - t);
             } else {
                 setStepSize(-step);
             }
@@ -129,8 +171,10 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
         do {
 
             // first stage
-            y        = getStepStart().getCompleteState();
-            yDotK[0] = getStepStart().getCompleteDerivative();
+            if (!lowAllocation) {
+                y        = getStepStart().getCompleteState();
+                yDotK[0] = getStepStart().getCompleteDerivative();
+            }
 
             // next stages
             for (int k = 1; k < stages; ++k) {
@@ -143,7 +187,11 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
                     yTmp[j] = y[j] + getStepSize() * sum;
                 }
 
-                yDotK[k] = computeDerivatives(getStepStart().getTime() + c[k-1] * getStepSize(), yTmp);
+                if (lowAllocation) {
+                    computeDerivatives(t + c[k-1] * getStepSize(), yTmp, yDotK[k]);
+                } else {
+                    yDotK[k] = computeDerivatives(t + c[k-1] * getStepSize(), yTmp);
+                }
 
             }
 
@@ -156,34 +204,71 @@ public abstract class RungeKuttaIntegrator extends AbstractIntegrator implements
                 yTmp[j] = y[j] + getStepSize() * sum;
                 if (Double.isNaN(yTmp[j])) {
                     throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
-                                                        getStepStart().getTime() + getStepSize());
+                                                        t + getStepSize());
                 }
 
             }
-            final double stepEnd   = getStepStart().getTime() + getStepSize();
-            final double[] yDotTmp = computeDerivatives(stepEnd, yTmp);
-            final ODEStateAndDerivative stateTmp =
-                equations.getMapper().mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
+            final double stepEnd   = t + getStepSize();
+            final double[] yDotTmp;
+            if (lowAllocation) {
+                computeDerivatives(stepEnd, yTmp, yDotEnd);
+                yDotTmp = yDotEnd;
+            } else {
+                yDotTmp = computeDerivatives(stepEnd, yTmp);
+            }
+
+            boolean swapBuffers = direct;
+            if (direct) {
+                t = stepEnd;
+                setIsLastStep(FastMath.abs(t - finalTime) <= FastMath.ulp(finalTime));
+            } else {
+                final ODEStateAndDerivative stateTmp =
+                    equations.getMapper().mapStateAndDerivative(stepEnd, yTmp, yDotTmp);
 
-            // discrete events handling
-            System.arraycopy(yTmp, 0, y, 0, y.length);
-            setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp,
-                                                       equations.getMapper()),
-                                    finalTime));
+                // discrete events handling
+                if (!lowAllocation) {
+                    System.arraycopy(yTmp, 0, y, 0, y.length);
+                }
+                setStepStart(acceptStep(createInterpolator(forward, yDotK, getStepStart(), stateTmp,
+                                                           equations.getMapper()),
+                                        finalTime));
+                t = getStepStart().getTime();
+
+                if (lowAllocation) {
+                    if (resetOccurred()) {
+                        // the state has been changed by some event
+                        y        = getStepStart().getCompleteState();
+                        yDotK[0] = getStepStart().getCompleteDerivative();
+                    } else {
+                        swapBuffers = true;
+                    }
+                }
+            }
+
+            if (swapBuffers) {
+                // the end of the accepted step becomes the start of the next one
+                final double[] swapY = y;
+                y    = yTmp;
+                yTmp = swapY;
+                final double[] swapYDot = yDotK[0];
+                yDotK[0] = yDotEnd;
+                yDotEnd  = swapYDot;
+            }
 
             if (!isLastStep()) {
 
                 // stepsize control for next step
-                final double  nextT      = getStepStart().getTime() + getStepSize();
+                final double  nextT      = t + getStepSize();
                 final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
                 if (nextIsLast) {
-                    setStepSize(finalTime - getStepStart().getTime());
+                    setStepSize(finalTime - t);
                 }
             }
 
         } while (!isLastStep());
 
-        final ODEStateAndDerivative finalState = getStepStart();
+        final ODEStateAndDerivative finalState =
+                        direct ? equations.getMapper().mapStateAndDerivative(t, y, yDotK[0]) : getStepStart();
         setStepStart(null);
         setStepSize(Double.NaN);
         return finalState;
@@ -0,0 +1,419 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This class implements a variable order, variable step Backward Differentiation
+ * Formula integrator.
+ *
+ * <p>At order k, the state y<sub>n+1</sub> at the end of the step is such that the
+ * polynomial Q interpolating y<sub>n+1</sub>, y<sub>n</sub> ... y<sub>n+1-k</sub>
+ * satisfies the differential equation at t<sub>n+1</sub>:</p>
+ * <pre>
+ *   Q'(t<sub>n+1</sub>) = &alpha;<sub>0</sub> y<sub>n+1</sub> + &sum; &alpha;<sub>j</sub> y<sub>n+1-j</sub> = f(t<sub>n+1</sub>, y<sub>n+1</sub>)
+ * </pre>
+ * <p>The coefficients &alpha;<sub>j</sub> are recomputed from the actual
+ * back points times at each step (variable coefficients form), so the
+ * step size can change without interpolating the history. The implicit
+ * equation is solved by a simplified Newton iteration, starting from the
+ * extrapolation of the back points and using the iteration matrix
+ * I - J/&alpha;<sub>0</sub>, whose LU decomposition is reused as long
+ * as &alpha;<sub>0</sub> does not change by more than 30%.</p>
+ *
+ * <p>The local error is estimated from the difference between the predicted
+ * and corrected states. The integration starts at order 1 (backward Euler)
+ * and the order is changed between 1 and the maximal order (at most 5) by
+ * comparing the step sizes allowed by the error estimates at neighbouring
+ * orders, the order being increased only after k+1 steps at order k.</p>
+ *
+ * <p>Dense output is provided by the interpolating polynomial Q, and the
+ * derivative at step end is Q'(t<sub>n+1</sub>), so no extra evaluation of
+ * the derivatives is needed once the Newton iteration has converged.</p>
+ *
+ * @see ImplicitIntegrator
+ * @since 1.9
+ */
+public class BDFIntegrator extends ImplicitIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "BDF";
+
+    /** Highest supported order. */
+    private static final int MAX_SUPPORTED_ORDER = 5;
+
+    /** Maximal number of Newton iterations. */
+    private static final int MAX_NEWTON_ITERATIONS = 4;
+
+    /** Convergence threshold for the weighted norm of Newton corrections. */
+    private static final double NEWTON_TOLERANCE = 0.03;
+
+    /** Highest acceptable convergence rate for Newton iterations. */
+    private static final double MAX_NEWTON_RATE = 0.9;
+
+    /** Relative tolerance on &alpha;<sub>0</sub> for reusing decompositions. */
+    private static final double DECOMPOSITION_TOLERANCE = 0.3;
+
+    /** Bias applied to the step size ratio allowed by the lower order. */
+    private static final double LOWER_ORDER_BIAS = 1.0 / 1.3;
+
+    /** Bias applied to the step size ratio allowed by the higher order. */
+    private static final double HIGHER_ORDER_BIAS = 1.0 / 1.4;
+
+    /** Maximal order. */
+    private final int maxOrder;
+
+    /** Simple constructor.
+     * Build a BDF integrator with the given step bounds
+     * @param maxOrder maximal order of the method (between 1 and 5)
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     * @exception MathIllegalArgumentException if the maximal order is out of range
+     */
+    public BDFIntegrator(final int maxOrder,
+                         final double minStep, final double maxStep,
+                         final double scalAbsoluteTolerance,
+                         final double scalRelativeTolerance)
+        throws MathIllegalArgumentException {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+        this.maxOrder = checkOrder(maxOrder);
+        setMaxGrowth(2.0);
+    }
+
+    /** Simple constructor.
+     * Build a BDF integrator with the given step bounds
+     * @param maxOrder maximal order of the method (between 1 and 5)
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     * @exception MathIllegalArgumentException if the maximal order is out of range
+     */
+    public BDFIntegrator(final int maxOrder,
+                         final double minStep, final double maxStep,
+                         final double[] vecAbsoluteTolerance,
+                         final double[] vecRelativeTolerance)
+        throws MathIllegalArgumentException {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+        this.maxOrder = checkOrder(maxOrder);
+        setMaxGrowth(2.0);
+    }
+
+    /** Check the maximal order.
+     * @param order maximal order
+     * @return order
+     * @exception MathIllegalArgumentException if the maximal order is out of range
+     */
+    private static int checkOrder(final int order) throws MathIllegalArgumentException {
+        if (order < 1 || order > MAX_SUPPORTED_ORDER) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   order, 1, MAX_SUPPORTED_ORDER);
+        }
+        return order;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return maxOrder;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        resetImplicitState();
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        // back points, most recent first
+        final double[]   times  = new double[maxOrder + 1];
+        final double[][] states = new double[maxOrder + 1][];
+        times[0]                = getStepStart().getTime();
+        states[0]               = getStepStart().getCompleteState();
+        int nbPoints            = 1;
+
+        // create some internal working arrays
+        final double[] alpha       = new double[maxOrder + 1];
+        final double[] sumPast     = new double[n];
+        final double[] yPred       = new double[n];
+        final double[] yLowerPred  = new double[n];
+        final double[] residual    = new double[n];
+        final double[] correction  = new double[n];
+        final double[] error       = new double[n];
+        double[]       previousCorrection = null;
+
+        // order control
+        int order        = 1;
+        int stepsAtOrder = 0;
+        double eta       = 1.0;
+
+        // main integration loop
+        double hNew = initializeStep(forward, 1, getStepStart());
+        setIsLastStep(false);
+        do {
+
+            final double   t0 = times[0];
+            final double[] y0 = states[0];
+            final double[] y1 = new double[n];
+            double errorRatio = 10;
+
+            // iterate over step size, ensuring convergence and local normalized error smaller than 1
+            while (errorRatio >= 1.0) {
+
+                if (jacobianNeedsUpdate()) {
+                    // the derivative at step start must be consistent with the finite differences
+                    updateJacobian(t0, y0, computeDerivatives(t0, y0));
+                }
+                setBoundedStepSize(hNew, forward, finalTime);
+                final double h  = getStepSize();
+                final double t1 = t0 + h;
+
+                // predictor, extrapolating the back points (or Euler step at start)
+                final double tOldest;
+                if (nbPoints == 1) {
+                    final double[] f0 = getStepStart().getCompleteDerivative();
+                    for (int i = 0; i < n; ++i) {
+                        yPred[i] = y0[i] + h * f0[i];
+                    }
+                    tOldest = t0;
+                } else {
+                    PolynomialStateInterpolator.interpolate(t1, times, states, order + 1, yPred, null);
+                    tOldest = times[order];
+                }
+
+                // corrector coefficients, i.e. derivatives at t1 of the Lagrange basis
+                // polynomials on nodes t1, t0 ... t(1-k)
+                computeCoefficients(t1, times, order, alpha);
+                for (int i = 0; i < n; ++i) {
+                    double sum = 0;
+                    for (int j = 1; j <= order; ++j) {
+                        sum += alpha[j] * states[j - 1][i];
+                    }
+                    sumPast[i] = sum;
+                }
+                final double beta = 1.0 / alpha[0];
+
+                // simplified Newton iteration for y1 - beta (f(t1, y1) - sumPast) = 0
+                boolean converged = false;
+                final DecompositionSolver solver = getSolver(beta, DECOMPOSITION_TOLERANCE);
+                if (solver != null) {
+                    System.arraycopy(yPred, 0, y1, 0, n);
+                    eta = FastMath.pow(FastMath.max(eta, Precision.EPSILON), 0.8);
+                    double previousNorm = 0;
+                    for (int iter = 0; iter < MAX_NEWTON_ITERATIONS && !converged; ++iter) {
+                        final double[] f1 = computeDerivatives(t1, y1);
+                        for (int i = 0; i < n; ++i) {
+                            residual[i] = beta * (f1[i] - sumPast[i]) - y1[i];
+                        }
+                        final double[] delta = solve(solver, residual);
+                        for (int i = 0; i < n; ++i) {
+                            y1[i] += delta[i];
+                        }
+                        final double norm = errorNorm(delta, y0, y1);
+                        if (iter > 0) {
+                            final double rate = norm / previousNorm;
+                            if (rate >= MAX_NEWTON_RATE) {
+                                break;
+                            }
+                            eta = rate / (1 - rate);
+                        }
+                        converged    = eta * norm <= NEWTON_TOLERANCE;
+                        previousNorm = norm;
+                    }
+                }
+
+                if (!converged) {
+                    // convergence failure, refresh Jacobian first, then reduce step
+                    eta = 1.0;
+                    if (isJacobianFresh()) {
+                        hNew = filterStep(0.5 * h, forward, false);
+                    } else {
+                        invalidateJacobian();
+                        hNew = h;
+                    }
+                    continue;
+                }
+
+                // local error estimate
+                for (int i = 0; i < n; ++i) {
+                    correction[i] = y1[i] - yPred[i];
+                }
+                final double errorConstant = 1.0 / (1.0 + alpha[0] * (t1 - tOldest));
+                for (int i = 0; i < n; ++i) {
+                    error[i] = errorConstant * correction[i];
+                }
+                errorRatio = errorNorm(error, y0, y1);
+
+                if (errorRatio >= 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control
+                    hNew = filterStep(h * stepSizeRatio(errorRatio, -1.0 / (order + 1)), forward, false);
+                }
+
+            }
+
+            // build the interpolator on the corrector polynomial
+            final double   stepEnd       = t0 + getStepSize();
+            final double[] interpTimes   = new double[order + 1];
+            final double[][] interpStates = new double[order + 1][];
+            interpTimes[0]  = stepEnd;
+            interpStates[0] = y1;
+            System.arraycopy(times,  0, interpTimes,  1, order);
+            System.arraycopy(states, 0, interpStates, 1, order);
+            final double[] yDot1 = new double[n];
+            for (int i = 0; i < n; ++i) {
+                yDot1[i] = alpha[0] * y1[i] + sumPast[i];
+            }
+            final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, y1, yDot1);
+
+            // estimate the error at lower and higher orders, for order selection
+            double ratio = safetyRatio(errorRatio, order);
+            int    newOrder = order;
+            if (order > 1) {
+                PolynomialStateInterpolator.interpolate(stepEnd, times, states, order, yLowerPred, null);
+                computeCoefficients(stepEnd, times, order - 1, alpha);
+                final double lowerConstant = 1.0 / (1.0 + alpha[0] * (stepEnd - times[order - 1]));
+                for (int i = 0; i < n; ++i) {
+                    error[i] = lowerConstant * (y1[i] - yLowerPred[i]);
+                }
+                final double lowerRatio = LOWER_ORDER_BIAS * safetyRatio(errorNorm(error, y0, y1), order - 1);
+                if (lowerRatio > ratio) {
+                    ratio    = lowerRatio;
+                    newOrder = order - 1;
+                }
+            }
+            if (order < maxOrder && stepsAtOrder >= order + 1 && nbPoints >= order + 1 &&
+                previousCorrection != null) {
+                for (int i = 0; i < n; ++i) {
+                    error[i] = (correction[i] - previousCorrection[i]) / (order + 2);
+                }
+                final double higherRatio = HIGHER_ORDER_BIAS * safetyRatio(errorNorm(error, y0, y1), order + 1);
+                if (higherRatio > ratio) {
+                    ratio    = higherRatio;
+                    newOrder = order + 1;
+                }
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            setStepStart(acceptStep(new PolynomialStateInterpolator(forward, interpTimes, interpStates,
+                                                                    getStepStart(), stateTmp,
+                                                                    getStepStart(), stateTmp, mapper),
+                                    finalTime));
+            jacobianStepAccepted();
+
+            if (resetOccurred()) {
+                // restart from scratch at order 1
+                times[0]           = getStepStart().getTime();
+                states[0]          = getStepStart().getCompleteState();
+                nbPoints           = 1;
+                order              = 1;
+                stepsAtOrder       = 0;
+                previousCorrection = null;
+                invalidateJacobian();
+            } else {
+                // update back points
+                System.arraycopy(times,  0, times,  1, maxOrder);
+                System.arraycopy(states, 0, states, 1, maxOrder);
+                times[0]  = stepEnd;
+                states[0] = y1;
+                nbPoints  = FastMath.min(nbPoints + 1, maxOrder + 1);
+                if (newOrder == order) {
+                    ++stepsAtOrder;
+                    previousCorrection = correction.clone();
+                } else {
+                    order              = newOrder;
+                    stepsAtOrder       = 0;
+                    previousCorrection = null;
+                }
+            }
+
+            if (!isLastStep()) {
+                // stepsize control for next step
+                hNew = nextStepSize(boundRatio(ratio), forward, finalTime);
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Compute the raw step size ratio allowed by an error estimate.
+     * @param errorRatio normalized error
+     * @param q order of the method the error corresponds to
+     * @return raw step size ratio
+     */
+    private double safetyRatio(final double errorRatio, final int q) {
+        return getSafety() * FastMath.pow(errorRatio, -1.0 / (q + 1));
+    }
+
+    /** Compute the BDF coefficients.
+     * <p>
+     * The coefficients are the derivatives at t<sub>1</sub> of the Lagrange basis
+     * polynomials on the nodes t<sub>1</sub>, times[0] ... times[order - 1].
+     * </p>
+     * @param t1 time at step end
+     * @param times back points times, most recent first
+     * @param order order of the formula
+     * @param alpha placeholder where to put the order + 1 coefficients
+     */
+    private static void computeCoefficients(final double t1, final double[] times, final int order,
+                                            final double[] alpha) {
+        alpha[0] = 0;
+        for (int j = 1; j <= order; ++j) {
+            final double tj = times[j - 1];
+            alpha[0] += 1.0 / (t1 - tj);
+            double aj = 1.0 / (tj - t1);
+            for (int m = 1; m <= order; ++m) {
+                if (m != j) {
+                    final double tm = times[m - 1];
+                    aj *= (t1 - tm) / (tj - tm);
+                }
+            }
+            alpha[j] = aj;
+        }
+    }
+
+}
@@ -0,0 +1,480 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This abstract class holds the common part of all implicit integrators
+ * devoted to stiff problems.
+ *
+ * <p>All these integrators need the Jacobian matrix of the complete state
+ * derivative with respect to the complete state. If the primary equation
+ * implements {@link ODEJacobiansProvider} and no secondary equations have
+ * been added to the {@link ExpandableODE expandable ODE}, the Jacobian is
+ * computed by {@link ODEJacobiansProvider#computeMainStateJacobian(double,
+ * double[], double[]) computeMainStateJacobian}. Otherwise it is computed
+ * by forward finite differences, which costs one evaluation of the derivatives
+ * per state component.</p>
+ *
+ * <p>The Jacobian is not evaluated at each step. It is kept as long as the
+ * steps are accepted, up to a {@link #setMaxJacobianAge(int) maximal age},
+ * and it is refreshed when a step fails. The LU decompositions of the
+ * iteration matrices built from it are also kept as long as neither the
+ * Jacobian nor the step size change. In order to favor this reuse, the
+ * step size is left unchanged when the step size control would only
+ * increase it slightly.</p>
+ *
+ * @since 1.9
+ */
+public abstract class ImplicitIntegrator extends AdaptiveStepsizeIntegrator {
+
+    /** Lowest step size ratio for which the step size is kept unchanged. */
+    private static final double KEEP_STEP_LOW = 1.0;
+
+    /** Highest step size ratio for which the step size is kept unchanged. */
+    private static final double KEEP_STEP_HIGH = 1.2;
+
+    /** Safety factor for stepsize control. */
+    private double safety;
+
+    /** Minimal reduction factor for stepsize control. */
+    private double minReduction;
+
+    /** Maximal growth factor for stepsize control. */
+    private double maxGrowth;
+
+    /** Maximal number of accepted steps before the Jacobian is re-evaluated. */
+    private int maxJacobianAge;
+
+    /** Current Jacobian of the complete state derivative (null if not evaluated). */
+    private double[][] jacobian;
+
+    /** Number of accepted steps since last Jacobian evaluation. */
+    private int jacobianAge;
+
+    /** Factor of the Jacobian in the decomposed iteration matrix. */
+    private double solverFactor;
+
+    /** Solver for the decomposed iteration matrix (null if not decomposed). */
+    private DecompositionSolver solver;
+
+    /** Number of Jacobian evaluations during last integration. */
+    private int jacobianEvaluations;
+
+    /** Number of LU decompositions during last integration. */
+    private int decompositions;
+
+    /** Build an implicit integrator with the given stepsize bounds.
+     * @param name name of the method
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    protected ImplicitIntegrator(final String name,
+                                 final double minStep, final double maxStep,
+                                 final double scalAbsoluteTolerance,
+                                 final double scalRelativeTolerance) {
+        super(name, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+        setSafety(0.9);
+        setMinReduction(0.2);
+        setMaxGrowth(10.0);
+        setMaxJacobianAge(20);
+    }
+
+    /** Build an implicit integrator with the given stepsize bounds.
+     * @param name name of the method
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    protected ImplicitIntegrator(final String name,
+                                 final double minStep, final double maxStep,
+                                 final double[] vecAbsoluteTolerance,
+                                 final double[] vecRelativeTolerance) {
+        super(name, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+        setSafety(0.9);
+        setMinReduction(0.2);
+        setMaxGrowth(10.0);
+        setMaxJacobianAge(20);
+    }
+
+    /** Get the order of the method.
+     * <p>
+     * For variable order methods, this is the maximal order.
+     * </p>
+     * @return order of the method
+     */
+    public abstract int getOrder();
+
+    /** Get the safety factor for stepsize control.
+     * @return safety factor
+     */
+    public double getSafety() {
+        return safety;
+    }
+
+    /** Set the safety factor for stepsize control.
+     * @param safety safety factor
+     */
+    public void setSafety(final double safety) {
+        this.safety = safety;
+    }
+
+    /** Get the minimal reduction factor for stepsize control.
+     * @return minimal reduction factor
+     */
+    public double getMinReduction() {
+        return minReduction;
+    }
+
+    /** Set the minimal reduction factor for stepsize control.
+     * @param minReduction minimal reduction factor
+     */
+    public void setMinReduction(final double minReduction) {
+        this.minReduction = minReduction;
+    }
+
+    /** Get the maximal growth factor for stepsize control.
+     * @return maximal growth factor
+     */
+    public double getMaxGrowth() {
+        return maxGrowth;
+    }
+
+    /** Set the maximal growth factor for stepsize control.
+     * @param maxGrowth maximal growth factor
+     */
+    public void setMaxGrowth(final double maxGrowth) {
+        this.maxGrowth = maxGrowth;
+    }
+
+    /** Get the maximal number of accepted steps before the Jacobian is re-evaluated.
+     * @return maximal number of accepted steps before the Jacobian is re-evaluated
+     */
+    public int getMaxJacobianAge() {
+        return maxJacobianAge;
+    }
+
+    /** Set the maximal number of accepted steps before the Jacobian is re-evaluated.
+     * <p>
+     * Setting this value to 1 forces a Jacobian evaluation at each step.
+     * </p>
+     * @param maxJacobianAge maximal number of accepted steps before the Jacobian
+     * is re-evaluated (values lower than 1 are replaced by 1)
+     */
+    public void setMaxJacobianAge(final int maxJacobianAge) {
+        this.maxJacobianAge = FastMath.max(1, maxJacobianAge);
+    }
+
+    /** Get the number of Jacobian evaluations performed during last integration.
+     * <p>
+     * The evaluations of the derivatives needed by finite differences Jacobians
+     * are also counted in the regular {@link #getEvaluations() evaluations}.
+     * </p>
+     * @return number of Jacobian evaluations performed during last integration
+     */
+    public int getJacobianEvaluations() {
+        return jacobianEvaluations;
+    }
+
+    /** Get the number of LU decompositions performed during last integration.
+     * @return number of LU decompositions performed during last integration
+     */
+    public int getDecompositions() {
+        return decompositions;
+    }
+
+    /** Reset the Jacobian and decompositions caches and counters.
+     * <p>
+     * This method must be called by integrators before they start integration.
+     * </p>
+     */
+    protected void resetImplicitState() {
+        jacobian            = null;
+        jacobianAge         = 0;
+        solver              = null;
+        jacobianEvaluations = 0;
+        decompositions      = 0;
+    }
+
+    /** Check if the Jacobian must be re-evaluated before attempting a step.
+     * @return true if the Jacobian is missing or too old
+     */
+    protected boolean jacobianNeedsUpdate() {
+        return jacobian == null || jacobianAge >= maxJacobianAge;
+    }
+
+    /** Check if the Jacobian has been evaluated at the start of the current step.
+     * @return true if the Jacobian has been evaluated since last accepted step
+     */
+    protected boolean isJacobianFresh() {
+        return jacobian != null && jacobianAge == 0;
+    }
+
+    /** Drop the current Jacobian, forcing a re-evaluation before next step.
+     * <p>
+     * This method is typically called after an event has reset the state.
+     * </p>
+     */
+    protected void invalidateJacobian() {
+        jacobian = null;
+        solver   = null;
+    }
+
+    /** Notify that a step has been accepted, thus aging the Jacobian. */
+    protected void jacobianStepAccepted() {
+        ++jacobianAge;
+    }
+
+    /** Get the current Jacobian.
+     * @return current Jacobian of the complete state derivative
+     * (null if not evaluated yet)
+     */
+    protected double[][] getJacobian() {
+        return jacobian;
+    }
+
+    /** Evaluate the Jacobian of the complete state derivative.
+     * <p>
+     * The cached decomposition of the iteration matrix is dropped.
+     * </p>
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the complete state vector
+     * @param yDot array containing the current value of the complete state derivative
+     * @return Jacobian of the complete state derivative
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * @exception MathIllegalArgumentException if arrays dimensions do not match equations settings
+     */
+    protected double[][] updateJacobian(final double t, final double[] y, final double[] yDot)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        final ExpandableODE equations = getEquations();
+        if (equations.getMapper().getNumberOfEquations() == 1 &&
+            equations.getPrimary() instanceof ODEJacobiansProvider) {
+            // use the analytical Jacobian provided by the user
+            jacobian = ((ODEJacobiansProvider) equations.getPrimary()).computeMainStateJacobian(t, y, yDot);
+        } else {
+            // use forward finite differences
+            final int n = y.length;
+            jacobian = new double[n][n];
+            final double[] yShifted = y.clone();
+            for (int j = 0; j < n; ++j) {
+                final double delta = FastMath.sqrt(Precision.EPSILON * FastMath.max(1.0e-5, FastMath.abs(y[j])));
+                yShifted[j] = y[j] + delta;
+                final double[] yDotShifted = computeDerivatives(t, yShifted);
+                for (int i = 0; i < n; ++i) {
+                    jacobian[i][j] = (yDotShifted[i] - yDot[i]) / delta;
+                }
+                yShifted[j] = y[j];
+            }
+        }
+
+        ++jacobianEvaluations;
+        jacobianAge = 0;
+        solver      = null;
+        return jacobian;
+
+    }
+
+    /** Get a solver for the iteration matrix I - factor &times; J.
+     * <p>
+     * The LU decomposition is reused as long as neither the Jacobian
+     * nor the factor change by more than the specified relative tolerance.
+     * </p>
+     * @param factor factor of the Jacobian J
+     * @param tolerance relative tolerance on the factor for reusing
+     * the decomposition (0 to enforce an exact match)
+     * @return solver for the iteration matrix, null if the matrix is singular
+     */
+    protected DecompositionSolver getSolver(final double factor, final double tolerance) {
+        if (solver == null || FastMath.abs(factor - solverFactor) > tolerance * FastMath.abs(solverFactor)) {
+            final int n = jacobian.length;
+            final RealMatrix m = new Array2DRowRealMatrix(n, n);
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    m.setEntry(i, j, -factor * jacobian[i][j]);
+                }
+                m.addToEntry(i, i, 1.0);
+            }
+            solver       = decompose(m);
+            solverFactor = factor;
+        }
+        return solver.isNonSingular() ? solver : null;
+    }
+
+    /** Get the factor of the Jacobian in the currently decomposed iteration matrix.
+     * @return factor of the Jacobian in the currently decomposed iteration matrix
+     */
+    protected double getSolverFactor() {
+        return solverFactor;
+    }
+
+    /** Compute the LU decomposition of a matrix.
+     * @param m matrix to decompose
+     * @return solver for the matrix
+     */
+    protected DecompositionSolver decompose(final RealMatrix m) {
+        ++decompositions;
+        return new LUDecomposition(m).getSolver();
+    }
+
+    /** Solve a linear system.
+     * @param linearSolver solver for the system matrix
+     * @param rhs right hand side
+     * @return solution of the linear system
+     */
+    protected static double[] solve(final DecompositionSolver linearSolver, final double[] rhs) {
+        return linearSolver.solve(new ArrayRealVector(rhs, false)).toArray();
+    }
+
+    /** Compute the weighted norm of an error or correction vector.
+     * <p>
+     * Only the main set components are considered, the weights being
+     * derived from the absolute and relative tolerances.
+     * </p>
+     * @param error error or correction vector
+     * @param y0 state at the start of the step
+     * @param y1 state at the end of the step
+     * @return weighted norm of the error, greater than 1 if step should be rejected
+     */
+    protected double errorNorm(final double[] error, final double[] y0, final double[] y1) {
+        double sum = 0;
+        for (int j = 0; j < mainSetDimension; ++j) {
+            final double yScale = FastMath.max(FastMath.abs(y0[j]), FastMath.abs(y1[j]));
+            final double tol = (vecAbsoluteTolerance == null) ?
+                               (scalAbsoluteTolerance + scalRelativeTolerance * yScale) :
+                               (vecAbsoluteTolerance[j] + vecRelativeTolerance[j] * yScale);
+            final double ratio = error[j] / tol;
+            sum += ratio * ratio;
+        }
+        final double norm = FastMath.sqrt(sum / mainSetDimension);
+        if (Double.isNaN(norm)) {
+            throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                getStepStart().getTime() + getStepSize());
+        }
+        return norm;
+    }
+
+    /** Compute the step size ratio from a normalized error.
+     * <p>
+     * If the error is lower than 1 and the resulting ratio is only a slight increase,
+     * 1 is returned so the current step size and decompositions can be reused.
+     * </p>
+     * @param error normalized error
+     * @param exp stepsize control exponent (i.e. -1/(q+1) where q is the order
+     * of the error estimator)
+     * @return step size ratio
+     */
+    protected double stepSizeRatio(final double error, final double exp) {
+        return boundRatio(safety * FastMath.pow(error, exp));
+    }
+
+    /** Bound a step size ratio.
+     * <p>
+     * The ratio is bounded by the minimal reduction and maximal growth factors,
+     * and replaced by 1 if it corresponds to only a slight increase.
+     * </p>
+     * @param ratio raw step size ratio
+     * @return bounded step size ratio
+     */
+    protected double boundRatio(final double ratio) {
+        final double bounded = FastMath.min(maxGrowth, FastMath.max(minReduction, ratio));
+        return (bounded >= KEEP_STEP_LOW && bounded <= KEEP_STEP_HIGH) ? 1.0 : bounded;
+    }
+
+    /** Compute the initial step size.
+     * @param forward forward integration indicator
+     * @param order order of the method
+     * @param state0 state at integration start time
+     * @return first integration step
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * @exception MathIllegalArgumentException if arrays dimensions do not match equations settings
+     */
+    protected double initializeStep(final boolean forward, final int order, final ODEStateAndDerivative state0)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        final double[] y = state0.getCompleteState();
+        final double[] scale = new double[mainSetDimension];
+        for (int i = 0; i < scale.length; ++i) {
+            scale[i] = (vecAbsoluteTolerance == null) ?
+                       (scalAbsoluteTolerance + scalRelativeTolerance * FastMath.abs(y[i])) :
+                       (vecAbsoluteTolerance[i] + vecRelativeTolerance[i] * FastMath.abs(y[i]));
+        }
+        return initializeStep(forward, order, scale, state0, getEquations().getMapper());
+    }
+
+    /** Set the step size, reducing it if needed to stop at the final time.
+     * @param h candidate step size
+     * @param forward forward integration indicator
+     * @param finalTime target time for the integration
+     */
+    protected void setBoundedStepSize(final double h, final boolean forward, final double finalTime) {
+        setStepSize(h);
+        final double t0 = getStepStart().getTime();
+        if (forward ? (t0 + h >= finalTime) : (t0 + h <= finalTime)) {
+            setStepSize(finalTime - t0);
+        }
+    }
+
+    /** Compute the step size for next step after an accepted step.
+     * @param ratio step size ratio with respect to the last step
+     * @param forward forward integration indicator
+     * @param finalTime target time for the integration
+     * @return step size to use for next step
+     */
+    protected double nextStepSize(final double ratio, final boolean forward, final double finalTime) {
+
+        final double  scaledH    = getStepSize() * ratio;
+        final double  nextT      = getStepStart().getTime() + scaledH;
+        final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
+        double hNew = filterStep(scaledH, forward, nextIsLast);
+
+        final double  filteredNextT      = getStepStart().getTime() + hNew;
+        final boolean filteredNextIsLast = forward ? (filteredNextT >= finalTime) : (filteredNextT <= finalTime);
+        if (filteredNextIsLast) {
+            hNew = finalTime - getStepStart().getTime();
+        }
+
+        return hNew;
+
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+
+/**
+ * This class implements a Lagrange polynomial interpolator for one step.
+ *
+ * <p>The interpolating polynomial goes through a few complete states
+ * at known times, which are the collocation points for {@link
+ * RadauIIAIntegrator Radau IIA} and the back points for {@link
+ * BDFIntegrator BDF}. The derivatives are the derivatives of the
+ * polynomial.</p>
+ *
+ * @since 1.9
+ */
+class PolynomialStateInterpolator extends AbstractODEStateInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Interpolation nodes times. */
+    private final double[] times;
+
+    /** Complete states at interpolation nodes. */
+    private final double[][] states;
+
+    /** Simple constructor.
+     * @param forward integration direction indicator
+     * @param times interpolation nodes times
+     * @param states complete states at interpolation nodes
+     * @param globalPreviousState start of the global step
+     * @param globalCurrentState end of the global step
+     * @param softPreviousState start of the restricted step
+     * @param softCurrentState end of the restricted step
+     * @param mapper equations mapper for the all equations
+     */
+    PolynomialStateInterpolator(final boolean forward, final double[] times, final double[][] states,
+                                final ODEStateAndDerivative globalPreviousState,
+                                final ODEStateAndDerivative globalCurrentState,
+                                final ODEStateAndDerivative softPreviousState,
+                                final ODEStateAndDerivative softCurrentState,
+                                final EquationsMapper mapper) {
+        super(forward, globalPreviousState, globalCurrentState, softPreviousState, softCurrentState, mapper);
+        this.times  = times;
+        this.states = states;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected PolynomialStateInterpolator create(final boolean newForward,
+                                                 final ODEStateAndDerivative newGlobalPreviousState,
+                                                 final ODEStateAndDerivative newGlobalCurrentState,
+                                                 final ODEStateAndDerivative newSoftPreviousState,
+                                                 final ODEStateAndDerivative newSoftCurrentState,
+                                                 final EquationsMapper newMapper) {
+        return new PolynomialStateInterpolator(newForward, times, states,
+                                               newGlobalPreviousState, newGlobalCurrentState,
+                                               newSoftPreviousState, newSoftCurrentState,
+                                               newMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeInterpolatedStateAndDerivatives(final EquationsMapper mapper,
+                                                                           final double time, final double theta,
+                                                                           final double thetaH, final double oneMinusThetaH) {
+
+        final double[] interpolatedState       = new double[states[0].length];
+        final double[] interpolatedDerivatives = new double[states[0].length];
+        interpolate(time, times, states, times.length, interpolatedState, interpolatedDerivatives);
+
+        return mapper.mapStateAndDerivative(time, interpolatedState, interpolatedDerivatives);
+
+    }
+
+    /** Evaluate a Lagrange polynomial and its derivative.
+     * @param time evaluation time
+     * @param times interpolation nodes times
+     * @param states states at interpolation nodes
+     * @param nbNodes number of nodes to use (the first ones in the arrays)
+     * @param y placeholder where to put the interpolated state
+     * @param yDot placeholder where to put the interpolated derivative (may be null)
+     */
+    static void interpolate(final double time, final double[] times, final double[][] states, final int nbNodes,
+                            final double[] y, final double[] yDot) {
+
+        final int n = y.length;
+        for (int i = 0; i < n; ++i) {
+            y[i] = 0;
+            if (yDot != null) {
+                yDot[i] = 0;
+            }
+        }
+
+        for (int k = 0; k < nbNodes; ++k) {
+
+            // Lagrange basis polynomial associated with node k and its derivative
+            double lk  = 1;
+            double dlk = 0;
+            for (int j = 0; j < nbNodes; ++j) {
+                if (j != k) {
+                    final double inv = 1.0 / (times[k] - times[j]);
+                    final double u   = (time - times[j]) * inv;
+                    dlk = dlk * u + lk * inv;
+                    lk *= u;
+                }
+            }
+
+            final double[] yk = states[k];
+            for (int i = 0; i < n; ++i) {
+                y[i] += lk * yk[i];
+            }
+            if (yDot != null) {
+                for (int i = 0; i < n; ++i) {
+                    yDot[i] += dlk * yk[i];
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This class implements the 3 stages Radau IIA implicit Runge-Kutta method.
+ *
+ * <p>This fifth order, L-stable and stiffly accurate collocation method is
+ * the one used in Hairer and Wanner's RADAU5 code (Solving Ordinary Differential
+ * Equations II, Springer, 1996). Its Butcher array is:</p>
+ * <pre>
+ *  (4-&radic;6)/10 | (88-7&radic;6)/360     (296-169&radic;6)/1800  (-2+3&radic;6)/225
+ *  (4+&radic;6)/10 | (296+169&radic;6)/1800 (88+7&radic;6)/360      (-2-3&radic;6)/225
+ *       1      | (16-&radic;6)/36       (16+&radic;6)/36        1/9
+ *              |------------------------------------------------------
+ *              | (16-&radic;6)/36       (16+&radic;6)/36        1/9
+ * </pre>
+ *
+ * <p>The stage increments Z<sub>i</sub> = Y<sub>i</sub> - y<sub>n</sub> are computed
+ * by a simplified Newton iteration on the 3n-dimensional system, whose iteration
+ * matrix I - h A &otimes; J is decomposed once and reused as long as neither the
+ * step size nor the Jacobian change. The iteration starts from the extrapolation
+ * of the previous step collocation polynomial.</p>
+ *
+ * <p>The error is estimated as in RADAU5, by comparing the solution with an
+ * embedded third order formula using f(t<sub>n</sub>, y<sub>n</sub>), the
+ * difference being filtered by (I - h &gamma;<sub>0</sub> J)<sup>-1</sup> so it
+ * remains bounded for stiff components (&gamma;<sub>0</sub> is the real eigenvalue
+ * of A).</p>
+ *
+ * <p>Dense output is provided by the collocation polynomial.</p>
+ *
+ * @see ImplicitIntegrator
+ * @since 1.9
+ */
+public class RadauIIAIntegrator extends ImplicitIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Radau IIA";
+
+    /** Number of stages. */
+    private static final int STAGES = 3;
+
+    /** Maximal number of Newton iterations. */
+    private static final int MAX_NEWTON_ITERATIONS = 7;
+
+    /** Convergence threshold for the weighted norm of Newton corrections. */
+    private static final double NEWTON_TOLERANCE = 0.03;
+
+    /** Highest acceptable convergence rate for Newton iterations. */
+    private static final double MAX_NEWTON_RATE = 0.99;
+
+    /** Stepsize control exponent (from the third order embedded formula). */
+    private static final double EXP = -1.0 / 4.0;
+
+    /** Square root of 6. */
+    private static final double SQRT6 = FastMath.sqrt(6.0);
+
+    /** Time steps from Butcher array. */
+    private static final double[] C = {
+        (4 - SQRT6) / 10, (4 + SQRT6) / 10, 1
+    };
+
+    /** Internal weights from Butcher array. */
+    private static final double[][] A = {
+        { (88 - 7 * SQRT6) / 360,     (296 - 169 * SQRT6) / 1800, (-2 + 3 * SQRT6) / 225 },
+        { (296 + 169 * SQRT6) / 1800, (88 + 7 * SQRT6) / 360,     (-2 - 3 * SQRT6) / 225 },
+        { (16 - SQRT6) / 36,          (16 + SQRT6) / 36,          1.0 / 9 }
+    };
+
+    /** Real eigenvalue of the internal weights matrix. */
+    private static final double GAMMA0 = (6 + FastMath.cbrt(81) - FastMath.cbrt(9)) / 30;
+
+    /** Weights of the stage increments in the error estimate. */
+    private static final double[] E;
+
+    static {
+        // the embedded formula y0 + h (gamma0 f(t0, y0) + sum bHat_j f(Y_j)) is third order
+        // iff w = bHat - b satisfies the quadrature conditions on nodes 0, c1, c2, c3,
+        // and sum w_j f(Y_j) = sum e_i Z_i / h with e = A^{-T} w
+        final RealMatrix v = new Array2DRowRealMatrix(STAGES, STAGES);
+        for (int j = 0; j < STAGES; ++j) {
+            v.setEntry(0, j, 1);
+            v.setEntry(1, j, C[j]);
+            v.setEntry(2, j, C[j] * C[j]);
+        }
+        final double[] w = new LUDecomposition(v).getSolver().
+                           solve(new ArrayRealVector(new double[] { -GAMMA0, 0, 0 })).toArray();
+        E = new LUDecomposition(new Array2DRowRealMatrix(A).transpose()).getSolver().
+            solve(new ArrayRealVector(w)).toArray();
+    }
+
+    /** Simple constructor.
+     * Build a Radau IIA integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public RadauIIAIntegrator(final double minStep, final double maxStep,
+                              final double scalAbsoluteTolerance,
+                              final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a Radau IIA integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public RadauIIAIntegrator(final double minStep, final double maxStep,
+                              final double[] vecAbsoluteTolerance,
+                              final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 5;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        resetImplicitState();
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        // create some internal working arrays
+        final double[][] z        = new double[STAGES][n];
+        final double[][] yDotK    = new double[STAGES][];
+        final double[]   yTmp     = new double[n];
+        final double[]   residual = new double[STAGES * n];
+        final double[]   diff     = new double[n];
+        final double[]   stageDelta = new double[n];
+
+        // collocation polynomial of previous step, used to initialize Newton iterations
+        double[]   previousTimes  = null;
+        double[][] previousStates = null;
+
+        // cached decomposition of the collocation system
+        DecompositionSolver collocationSolver = null;
+        double collocationStep = Double.NaN;
+        int    collocationJacobian = -1;
+
+        // main integration loop
+        double eta  = 1.0;
+        double hNew = initializeStep(forward, getOrder(), getStepStart());
+        setIsLastStep(false);
+        do {
+
+            final double   t0 = getStepStart().getTime();
+            final double[] y0 = getStepStart().getCompleteState();
+            final double[] f0 = getStepStart().getCompleteDerivative();
+            final double[] y1 = new double[n];
+            double errorRatio = 10;
+
+            // iterate over step size, ensuring convergence and local normalized error smaller than 1
+            while (errorRatio >= 1.0) {
+
+                if (jacobianNeedsUpdate()) {
+                    updateJacobian(t0, y0, f0);
+                }
+                setBoundedStepSize(hNew, forward, finalTime);
+                final double h = getStepSize();
+
+                // decompose the collocation system if needed
+                if (collocationSolver == null || h != collocationStep ||
+                    collocationJacobian != getJacobianEvaluations()) {
+                    collocationSolver   = decompose(collocationMatrix(getJacobian(), h));
+                    collocationStep     = h;
+                    collocationJacobian = getJacobianEvaluations();
+                }
+
+                // initial guess
+                for (int k = 0; k < STAGES; ++k) {
+                    if (previousTimes == null) {
+                        Arrays.fill(z[k], 0.0);
+                    } else {
+                        PolynomialStateInterpolator.interpolate(t0 + C[k] * h, previousTimes, previousStates,
+                                                                STAGES + 1, z[k], null);
+                        for (int i = 0; i < n; ++i) {
+                            z[k][i] -= y0[i];
+                        }
+                    }
+                }
+
+                // simplified Newton iteration
+                boolean converged = false;
+                if (collocationSolver.isNonSingular()) {
+                    eta = FastMath.pow(FastMath.max(eta, Precision.EPSILON), 0.8);
+                    double previousNorm = 0;
+                    for (int iter = 0; iter < MAX_NEWTON_ITERATIONS && !converged; ++iter) {
+                        for (int k = 0; k < STAGES; ++k) {
+                            for (int i = 0; i < n; ++i) {
+                                yTmp[i] = y0[i] + z[k][i];
+                            }
+                            yDotK[k] = computeDerivatives(t0 + C[k] * h, yTmp);
+                        }
+                        for (int k = 0; k < STAGES; ++k) {
+                            for (int i = 0; i < n; ++i) {
+                                double sum = 0;
+                                for (int l = 0; l < STAGES; ++l) {
+                                    sum += A[k][l] * yDotK[l][i];
+                                }
+                                residual[k * n + i] = h * sum - z[k][i];
+                            }
+                        }
+                        final double[] delta = solve(collocationSolver, residual);
+                        double sum2 = 0;
+                        for (int k = 0; k < STAGES; ++k) {
+                            for (int i = 0; i < n; ++i) {
+                                stageDelta[i] = delta[k * n + i];
+                                z[k][i]      += stageDelta[i];
+                            }
+                            final double stageNorm = errorNorm(stageDelta, y0, y0);
+                            sum2 += stageNorm * stageNorm;
+                        }
+                        final double norm = FastMath.sqrt(sum2 / STAGES);
+                        if (iter > 0) {
+                            final double rate = norm / previousNorm;
+                            if (rate >= MAX_NEWTON_RATE) {
+                                break;
+                            }
+                            eta = rate / (1 - rate);
+                        }
+                        converged    = eta * norm <= NEWTON_TOLERANCE;
+                        previousNorm = norm;
+                    }
+                }
+
+                if (!converged) {
+                    // convergence failure, refresh Jacobian first, then reduce step
+                    eta = 1.0;
+                    if (isJacobianFresh()) {
+                        hNew = filterStep(0.5 * h, forward, false);
+                    } else {
+                        invalidateJacobian();
+                        hNew = h;
+                    }
+                    continue;
+                }
+
+                // the method is stiffly accurate
+                for (int i = 0; i < n; ++i) {
+                    y1[i] = y0[i] + z[STAGES - 1][i];
+                }
+
+                // filtered error estimate
+                final DecompositionSolver errorSolver = getSolver(GAMMA0 * h, 0.0);
+                if (errorSolver == null) {
+                    invalidateJacobian();
+                    hNew = filterStep(0.5 * h, forward, false);
+                    continue;
+                }
+                for (int i = 0; i < n; ++i) {
+                    double sum = GAMMA0 * h * f0[i];
+                    for (int k = 0; k < STAGES; ++k) {
+                        sum += E[k] * z[k][i];
+                    }
+                    diff[i] = sum;
+                }
+                errorRatio = errorNorm(solve(errorSolver, diff), y0, y1);
+
+                if (errorRatio >= 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control
+                    hNew = filterStep(h * stepSizeRatio(errorRatio, EXP), forward, false);
+                }
+
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            final double h       = getStepSize();
+            final double stepEnd = t0 + h;
+            final double[]   interpTimes  = new double[STAGES + 1];
+            final double[][] interpStates = new double[STAGES + 1][];
+            interpTimes[0]  = t0;
+            interpStates[0] = y0;
+            for (int k = 0; k < STAGES; ++k) {
+                interpTimes[k + 1]  = t0 + C[k] * h;
+                interpStates[k + 1] = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    interpStates[k + 1][i] = y0[i] + z[k][i];
+                }
+            }
+            interpTimes[STAGES] = stepEnd;
+            final double[] yDot1 = computeDerivatives(stepEnd, y1);
+            final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, y1, yDot1);
+            setStepStart(acceptStep(new PolynomialStateInterpolator(forward, interpTimes, interpStates,
+                                                                    getStepStart(), stateTmp,
+                                                                    getStepStart(), stateTmp, mapper),
+                                    finalTime));
+            jacobianStepAccepted();
+
+            if (resetOccurred()) {
+                invalidateJacobian();
+                previousTimes  = null;
+                previousStates = null;
+            } else {
+                previousTimes  = interpTimes;
+                previousStates = interpStates;
+            }
+
+            if (!isLastStep()) {
+                // stepsize control for next step
+                hNew = nextStepSize(stepSizeRatio(errorRatio, EXP), forward, finalTime);
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Build the iteration matrix of the collocation system.
+     * @param jacobian Jacobian of the complete state derivative
+     * @param h step size
+     * @return iteration matrix I - h A &otimes; J
+     */
+    private static RealMatrix collocationMatrix(final double[][] jacobian, final double h) {
+        final int n = jacobian.length;
+        final RealMatrix m = new Array2DRowRealMatrix(STAGES * n, STAGES * n);
+        for (int k = 0; k < STAGES; ++k) {
+            for (int l = 0; l < STAGES; ++l) {
+                final double factor = -h * A[k][l];
+                for (int i = 0; i < n; ++i) {
+                    for (int j = 0; j < n; ++j) {
+                        m.setEntry(k * n + i, l * n + j, factor * jacobian[i][j]);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < STAGES * n; ++i) {
+            m.addToEntry(i, i, 1.0);
+        }
+        return m;
+    }
+
+}
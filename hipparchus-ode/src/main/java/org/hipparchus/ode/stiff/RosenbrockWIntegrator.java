@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This class implements the second order L-stable Rosenbrock-W method ROS2.
+ *
+ * <p>This method is due to Verwer, Spee, Blom and Hundsdorfer (A second
+ * order Rosenbrock method applied to photochemical dispersion problems,
+ * SIAM Journal on Scientific Computing 20, 1999). It is a linearly implicit
+ * method: each step needs only two evaluations of the derivatives and the
+ * solution of two linear systems sharing the same matrix I - &gamma; h W,
+ * without any Newton iteration. As a W-method, it keeps its order for
+ * <em>any</em> matrix W, so the Jacobian J is only used to ensure stability
+ * and can be kept for several steps:</p>
+ * <pre>
+ *   (I - &gamma; h J) k<sub>1</sub> = f(t<sub>n</sub>, y<sub>n</sub>)
+ *   (I - &gamma; h J) k<sub>2</sub> = f(t<sub>n</sub> + h, y<sub>n</sub> + h k<sub>1</sub>) - 2 k<sub>1</sub>
+ *   y<sub>n+1</sub> = y<sub>n</sub> + 3/2 h k<sub>1</sub> + 1/2 h k<sub>2</sub>
+ * </pre>
+ * <p>with &gamma; = 1 + 1/&radic;2. The error is estimated by comparison
+ * with the first order solution y<sub>n</sub> + h k<sub>1</sub>.</p>
+ *
+ * <p>Non-autonomous problems are handled as the autonomous problem where time
+ * is an additional state component, so the stages right hand sides also include
+ * &plusmn;&gamma; h &part;f/&part;t. This time derivative is computed by finite
+ * differences along with the Jacobian. It is mandatory for stiff problems
+ * driven by time-dependent terms, as otherwise the first stage could not follow
+ * the slow manifold, and for the same reason it is refreshed at each step
+ * start when it is not zero, which costs one more evaluation per step. For
+ * autonomous problems, it is kept with the Jacobian and the steps need only
+ * two evaluations.</p>
+ *
+ * <p>The derivative at step end is reused as the first evaluation of the
+ * next step, and dense output is provided by a continuous extension of
+ * the method.</p>
+ *
+ * @see ImplicitIntegrator
+ * @since 1.9
+ */
+public class RosenbrockWIntegrator extends ImplicitIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Rosenbrock-W ROS2";
+
+    /** Diagonal coefficient of the method. */
+    private static final double GAMMA = 1.0 + 1.0 / FastMath.sqrt(2.0);
+
+    /** Stepsize control exponent. */
+    private static final double EXP = -1.0 / 2.0;
+
+    /** Simple constructor.
+     * Build a Rosenbrock-W integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public RosenbrockWIntegrator(final double minStep, final double maxStep,
+                                 final double scalAbsoluteTolerance,
+                                 final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    /** Simple constructor.
+     * Build a Rosenbrock-W integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public RosenbrockWIntegrator(final double minStep, final double maxStep,
+                                 final double[] vecAbsoluteTolerance,
+                                 final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getOrder() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        resetImplicitState();
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        // create some internal working arrays
+        final double[] yTmp  = new double[n];
+        final double[] rhs   = new double[n];
+        final double[] error = new double[n];
+
+        // time derivative of the state derivative, evaluated along with the Jacobian
+        double[] fT            = null;
+        double   tT            = Double.NaN;
+        boolean  timeDependent = true;
+
+        // main integration loop
+        double hNew = initializeStep(forward, getOrder(), getStepStart());
+        setIsLastStep(false);
+        do {
+
+            final double   t0 = getStepStart().getTime();
+            final double[] y0 = getStepStart().getCompleteState();
+            final double[] f0 = getStepStart().getCompleteDerivative();
+            final double[] y1 = new double[n];
+            double[] k1 = null;
+            double[] k2 = null;
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            double errorRatio = 10;
+            while (errorRatio >= 1.0) {
+
+                if (jacobianNeedsUpdate()) {
+                    updateJacobian(t0, y0, f0);
+                    fT            = timeDerivative(t0, y0, f0);
+                    tT            = t0;
+                    timeDependent = !isZero(fT);
+                } else if (timeDependent && tT != t0) {
+                    // a stale time derivative would spoil the first stage on stiff components
+                    fT = timeDerivative(t0, y0, f0);
+                    tT = t0;
+                }
+                setBoundedStepSize(hNew, forward, finalTime);
+                final double h = getStepSize();
+
+                final DecompositionSolver solver = getSolver(GAMMA * h, 0.0);
+                if (solver == null) {
+                    // singular iteration matrix, try again with a smaller step
+                    invalidateJacobian();
+                    hNew = filterStep(0.5 * h, forward, false);
+                    continue;
+                }
+
+                // first stage
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = f0[i] + GAMMA * h * fT[i];
+                }
+                k1 = solve(solver, rhs);
+
+                // second stage
+                for (int i = 0; i < n; ++i) {
+                    yTmp[i] = y0[i] + h * k1[i];
+                }
+                final double[] f1 = computeDerivatives(t0 + h, yTmp);
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = f1[i] - 2 * k1[i] - GAMMA * h * fT[i];
+                }
+                k2 = solve(solver, rhs);
+
+                // estimate the state and the error at the end of the step
+                for (int i = 0; i < n; ++i) {
+                    y1[i]    = y0[i] + h * (1.5 * k1[i] + 0.5 * k2[i]);
+                    error[i] = 0.5 * h * (k1[i] + k2[i]);
+                }
+                errorRatio = errorNorm(error, y0, y1);
+
+                if (errorRatio >= 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control,
+                    // also refreshing the Jacobian as it may be the culprit
+                    if (!isJacobianFresh()) {
+                        invalidateJacobian();
+                    }
+                    hNew = filterStep(h * stepSizeRatio(errorRatio, EXP), forward, false);
+                }
+
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            final double   stepEnd = t0 + getStepSize();
+            final double[] yDot1   = computeDerivatives(stepEnd, y1);
+            final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, y1, yDot1);
+            setStepStart(acceptStep(new RosenbrockWStateInterpolator(forward, k1, k2,
+                                                                     getStepStart(), stateTmp,
+                                                                     getStepStart(), stateTmp, mapper),
+                                    finalTime));
+            jacobianStepAccepted();
+            if (resetOccurred()) {
+                invalidateJacobian();
+            }
+
+            if (!isLastStep()) {
+                // stepsize control for next step
+                hNew = nextStepSize(stepSizeRatio(errorRatio, EXP), forward, finalTime);
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Compute the partial derivative of the state derivative with respect to time.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the complete state vector
+     * @param yDot array containing the current value of the complete state derivative
+     * @return partial derivative of the state derivative with respect to time
+     */
+    private double[] timeDerivative(final double t, final double[] y, final double[] yDot) {
+        final double   delta  = FastMath.sqrt(Precision.EPSILON * FastMath.max(1.0e-5, FastMath.abs(t)));
+        final double[] yDotT  = computeDerivatives(t + delta, y);
+        for (int i = 0; i < yDotT.length; ++i) {
+            yDotT[i] = (yDotT[i] - yDot[i]) / delta;
+        }
+        return yDotT;
+    }
+
+    /** Check if all components of an array are zero.
+     * @param a array to check
+     * @return true if all components of the array are zero
+     */
+    private static boolean isZero(final double[] a) {
+        for (final double ai : a) {
+            if (ai != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+
+/**
+ * This class implements an interpolator for the Rosenbrock-W ROS2 integrator.
+ *
+ * <p>The interpolation is a continuous extension of the method, using
+ * only the stages k<sub>1</sub> and k<sub>2</sub>:</p>
+ * <pre>
+ *   y(t<sub>n</sub> + &theta; h) = y<sub>n</sub> + &theta; h ((1 + &theta;/2) k<sub>1</sub> + &theta;/2 k<sub>2</sub>)
+ * </pre>
+ * <p>It matches the integration scheme at step end. The stages are damped by the
+ * (I - &gamma; h J)<sup>-1</sup> filter, so contrary to a Hermite interpolation
+ * using the derivatives at both ends, this interpolation is not spoiled by the
+ * huge derivatives errors of stiff components.</p>
+ *
+ * @see RosenbrockWIntegrator
+ * @since 1.9
+ */
+class RosenbrockWStateInterpolator extends AbstractODEStateInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** First stage. */
+    private final double[] k1;
+
+    /** Second stage. */
+    private final double[] k2;
+
+    /** Simple constructor.
+     * @param forward integration direction indicator
+     * @param k1 first stage
+     * @param k2 second stage
+     * @param globalPreviousState start of the global step
+     * @param globalCurrentState end of the global step
+     * @param softPreviousState start of the restricted step
+     * @param softCurrentState end of the restricted step
+     * @param mapper equations mapper for the all equations
+     */
+    RosenbrockWStateInterpolator(final boolean forward, final double[] k1, final double[] k2,
+                                 final ODEStateAndDerivative globalPreviousState,
+                                 final ODEStateAndDerivative globalCurrentState,
+                                 final ODEStateAndDerivative softPreviousState,
+                                 final ODEStateAndDerivative softCurrentState,
+                                 final EquationsMapper mapper) {
+        super(forward, globalPreviousState, globalCurrentState, softPreviousState, softCurrentState, mapper);
+        this.k1 = k1;
+        this.k2 = k2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected RosenbrockWStateInterpolator create(final boolean newForward,
+                                                  final ODEStateAndDerivative newGlobalPreviousState,
+                                                  final ODEStateAndDerivative newGlobalCurrentState,
+                                                  final ODEStateAndDerivative newSoftPreviousState,
+                                                  final ODEStateAndDerivative newSoftCurrentState,
+                                                  final EquationsMapper newMapper) {
+        return new RosenbrockWStateInterpolator(newForward, k1, k2,
+                                                newGlobalPreviousState, newGlobalCurrentState,
+                                                newSoftPreviousState, newSoftCurrentState,
+                                                newMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeInterpolatedStateAndDerivatives(final EquationsMapper mapper,
+                                                                           final double time, final double theta,
+                                                                           final double thetaH, final double oneMinusThetaH) {
+
+        final double[] y0 = getGlobalPreviousState().getCompleteState();
+        final double   c1 = thetaH * (1 + 0.5 * theta);
+        final double   c2 = thetaH * 0.5 * theta;
+        final double   d1 = 1 + theta;
+
+        final double[] interpolatedState       = new double[y0.length];
+        final double[] interpolatedDerivatives = new double[y0.length];
+        for (int i = 0; i < y0.length; ++i) {
+            interpolatedState[i]       = y0[i] + c1 * k1[i] + c2 * k2[i];
+            interpolatedDerivatives[i] = d1 * k1[i] + theta * k2[i];
+        }
+
+        return mapper.mapStateAndDerivative(time, interpolatedState, interpolatedDerivatives);
+
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * <p>
+ * This package provides classes to solve stiff Ordinary Differential Equations problems.
+ * </p>
+ *
+ * <p>
+ * The integrators are implicit or linearly implicit: {@link
+ * org.hipparchus.ode.stiff.RosenbrockWIntegrator Rosenbrock-W ROS2}, variable order
+ * {@link org.hipparchus.ode.stiff.BDFIntegrator BDF} and {@link
+ * org.hipparchus.ode.stiff.RadauIIAIntegrator Radau IIA}. They use the Jacobian
+ * of the derivatives, either provided by an {@link org.hipparchus.ode.ODEJacobiansProvider
+ * ODEJacobiansProvider} or computed by finite differences, and reuse both the Jacobian
+ * and the LU decompositions of the iteration matrices across steps. They support
+ * events and step handlers just as the non-stiff integrators.
+ * </p>
+ *
+ */
+package org.hipparchus.ode.stiff;
@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.nonstiff.DormandPrince54Integrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.ode.nonstiff.EulerIntegrator;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DenseOutputEphemerisTest {
+
+    @Test
+    public void testReproduceModel() {
+
+        TestProblem3 pb = new TestProblem3(0.9);
+        ODEIntegrator integ = new DormandPrince54Integrator(0, pb.getFinalTime() - pb.getInitialTime(),
+                                                            1.0e-8, 1.0e-8);
+        DenseOutputModel dom = new DenseOutputModel();
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(5);
+        integ.addStepHandler(dom);
+        integ.addStepHandler(recorder);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+
+        for (DenseOutputEphemeris ephemeris : new DenseOutputEphemeris[] { dom.toEphemeris(5), recorder.build() }) {
+            Assert.assertTrue(ephemeris.isForward());
+            Assert.assertEquals(5, ephemeris.getDegree());
+            Assert.assertEquals(dom.getInitialTime(), ephemeris.getInitialTime(), 1.0e-15);
+            Assert.assertEquals(dom.getFinalTime(),   ephemeris.getFinalTime(),   1.0e-15);
+            Random random = new Random(347588535632l);
+            for (int i = 0; i < 1000; ++i) {
+                double r = random.nextDouble();
+                double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+                ODEStateAndDerivative expected = dom.getInterpolatedState(time);
+                ODEStateAndDerivative actual   = ephemeris.getInterpolatedState(time);
+                Assert.assertEquals(time, actual.getTime(), 1.0e-15);
+                for (int j = 0; j < expected.getPrimaryStateDimension(); ++j) {
+                    Assert.assertEquals(expected.getPrimaryState()[j],      actual.getPrimaryState()[j],      1.0e-12);
+                    Assert.assertEquals(expected.getPrimaryDerivative()[j], actual.getPrimaryDerivative()[j], 1.0e-9);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testLowDegree() {
+
+        TestProblem3 pb = new TestProblem3(0.9);
+        ODEIntegrator integ = new DormandPrince853Integrator(0, pb.getFinalTime() - pb.getInitialTime(),
+                                                             1.0e-10, 1.0e-10);
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(3);
+        integ.addStepHandler(recorder);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        DenseOutputEphemeris ephemeris = recorder.build();
+
+        double maxError = 0;
+        for (double t = pb.getInitialTime(); t < pb.getFinalTime(); t += 0.01) {
+            double[] y  = ephemeris.getInterpolatedState(t).getPrimaryState();
+            double[] yT = pb.computeTheoreticalState(t);
+            maxError = FastMath.max(maxError, FastMath.hypot(y[0] - yT[0], y[1] - yT[1]));
+        }
+        Assert.assertTrue(maxError > 1.0e-8);
+        Assert.assertTrue(maxError < 1.0e-3);
+
+    }
+
+    @Test
+    public void testBackwardWithSecondary() {
+
+        // theoretical solution: y[0] = cos(t), y[1] = sin(t), secondary z = t
+        ExpandableODE expandable = new ExpandableODE(new OrdinaryDifferentialEquation() {
+            @Override
+            public double[] computeDerivatives(double t, double[] y) {
+                return new double[] { -y[1], y[0] };
+            }
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+        });
+        int index = expandable.addSecondaryEquations(new SecondaryODE() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public double[] computeDerivatives(double t, double[] primary, double[] primaryDot, double[] secondary) {
+                return new double[] { 1.0 };
+            }
+        });
+
+        ODEIntegrator integ = new DormandPrince853Integrator(0, 1.0, 1.0e-10, 1.0e-10);
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(7);
+        integ.addStepHandler(recorder);
+        ODEState initial = new ODEState(2.0 * FastMath.PI,
+                                        new double[] { 1.0, 0.0 },
+                                        new double[][] { { 2.0 * FastMath.PI } });
+        integ.integrate(expandable, initial, 0.0);
+        DenseOutputEphemeris ephemeris = recorder.build();
+
+        Assert.assertFalse(ephemeris.isForward());
+        Assert.assertEquals(2.0 * FastMath.PI, ephemeris.getInitialTime(), 1.0e-15);
+        Assert.assertEquals(0.0, ephemeris.getFinalTime(), 1.0e-15);
+        for (double t = -0.1; t < 2.0 * FastMath.PI + 0.1; t += 0.01) {
+            ODEStateAndDerivative state = ephemeris.getInterpolatedState(t);
+            double tolerance = (t < 0 || t > 2.0 * FastMath.PI) ? 1.0e-5 : 1.0e-8;
+            Assert.assertEquals(FastMath.cos(t),  state.getPrimaryState()[0],      tolerance);
+            Assert.assertEquals(FastMath.sin(t),  state.getPrimaryState()[1],      tolerance);
+            Assert.assertEquals(-FastMath.sin(t), state.getPrimaryDerivative()[0], tolerance);
+            Assert.assertEquals(FastMath.cos(t),  state.getPrimaryDerivative()[1], tolerance);
+            Assert.assertEquals(1, state.getNumberOfSecondaryStates());
+            Assert.assertEquals(t,   state.getSecondaryState(index)[0],      tolerance);
+            Assert.assertEquals(1.0, state.getSecondaryDerivative(index)[0], tolerance);
+        }
+
+    }
+
+    @Test
+    public void testFile() throws IOException {
+
+        // many small steps, so the file is mapped in several segments
+        TestProblem1 pb = new TestProblem1();
+        EulerIntegrator integ = new EulerIntegrator((pb.getFinalTime() - pb.getInitialTime()) / 40000);
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(1);
+        integ.addStepHandler(recorder);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        DenseOutputEphemeris ephemeris = recorder.build();
+        Assert.assertEquals(40000, ephemeris.getNumberOfSteps());
+
+        Path file = Files.createTempFile("ephemeris", ".bin");
+        try {
+            ephemeris.write(file);
+            Assert.assertEquals(32 + 16 * 40000 + 8 * 40000 * 2 * 2, Files.size(file));
+            DenseOutputEphemeris loaded = DenseOutputEphemeris.load(file);
+            Assert.assertTrue(loaded.isForward());
+            Assert.assertEquals(1, loaded.getDegree());
+            Assert.assertEquals(40000, loaded.getNumberOfSteps());
+            Assert.assertEquals(ephemeris.getInitialTime(), loaded.getInitialTime(), 0.0);
+            Assert.assertEquals(ephemeris.getFinalTime(),   loaded.getFinalTime(),   0.0);
+            Random random = new Random(0x2c51d0f3e5a1bd5al);
+            for (int i = 0; i < 1000; ++i) {
+                double r = random.nextDouble();
+                double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+                ODEStateAndDerivative expected = ephemeris.getInterpolatedState(time);
+                ODEStateAndDerivative actual   = loaded.getInterpolatedState(time);
+                Assert.assertArrayEquals(expected.getPrimaryState(),      actual.getPrimaryState(),      0.0);
+                Assert.assertArrayEquals(expected.getPrimaryDerivative(), actual.getPrimaryDerivative(), 0.0);
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+    }
+
+    @Test
+    public void testNotAnEphemerisFile() throws IOException {
+        Path file = Files.createTempFile("ephemeris", ".bin");
+        try {
+            Files.write(file, new byte[64]);
+            DenseOutputEphemeris.load(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedODEFormats.NOT_AN_EPHEMERIS_FILE, miae.getSpecifier());
+            Assert.assertEquals(file, miae.getParts()[0]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCorruptedFile() throws IOException {
+        TestProblem1 pb = new TestProblem1();
+        EulerIntegrator integ = new EulerIntegrator((pb.getFinalTime() - pb.getInitialTime()) / 10);
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(2);
+        integ.addStepHandler(recorder);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        Path file = Files.createTempFile("ephemeris", ".bin");
+        try {
+            recorder.build().write(file);
+            final byte[] content = Files.readAllBytes(file);
+
+            // truncated file
+            Files.write(file, Arrays.copyOf(content, content.length - 8));
+            try {
+                DenseOutputEphemeris.load(file);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException miae) {
+                Assert.assertEquals(LocalizedODEFormats.TRUNCATED_EPHEMERIS_FILE, miae.getSpecifier());
+            }
+
+            // unsupported version (the version follows the 8 bytes magic number)
+            final byte[] modified = content.clone();
+            modified[11] = 99;
+            Files.write(file, modified);
+            try {
+                DenseOutputEphemeris.load(file);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException miae) {
+                Assert.assertEquals(LocalizedODEFormats.UNSUPPORTED_EPHEMERIS_FILE_VERSION, miae.getSpecifier());
+                Assert.assertEquals(99, miae.getParts()[0]);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMultiplePhases() {
+
+        TestProblem3 pb = new TestProblem3(0.9);
+        ODEIntegrator integ = new DormandPrince54Integrator(0, pb.getFinalTime() - pb.getInitialTime(),
+                                                            1.0e-8, 1.0e-8);
+        DenseOutputModel dom = new DenseOutputModel();
+        DenseOutputModel reference = new DenseOutputModel();
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(5);
+        integ.addStepHandler(dom);
+        integ.addStepHandler(recorder);
+        double tMiddle = 0.5 * (pb.getInitialTime() + pb.getFinalTime());
+        ODEStateAndDerivative middle = integ.integrate(pb, pb.getInitialState(), tMiddle);
+        reference.append(dom);
+        int nbFirst = recorder.build().getNumberOfSteps();
+        integ.integrate(pb, middle, pb.getFinalTime());
+        reference.append(dom);
+        DenseOutputEphemeris ephemeris = recorder.build();
+
+        // both phases are in the same ephemeris
+        Assert.assertTrue(ephemeris.getNumberOfSteps() > nbFirst);
+        Assert.assertEquals(pb.getInitialTime(), ephemeris.getInitialTime(), 1.0e-15);
+        Assert.assertEquals(pb.getFinalTime(),   ephemeris.getFinalTime(),   1.0e-15);
+        for (double t = pb.getInitialTime(); t < pb.getFinalTime(); t += 0.01) {
+            double[] expected = reference.getInterpolatedState(t).getPrimaryState();
+            double[] actual   = ephemeris.getInterpolatedState(t).getPrimaryState();
+            Assert.assertArrayEquals(expected, actual, 1.0e-12);
+        }
+
+        // a hole between phases is rejected
+        try {
+            integ.integrate(pb, new ODEState(pb.getFinalTime() + 1.0, middle.getPrimaryState()),
+                            pb.getFinalTime() + 2.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES, miae.getSpecifier());
+            Assert.assertEquals(1.0, ((Double) miae.getParts()[0]).doubleValue(), 1.0e-12);
+        }
+
+        // a phase in the other direction is rejected
+        try {
+            integ.integrate(pb, new ODEState(pb.getFinalTime(), middle.getPrimaryState()), tMiddle);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedODEFormats.PROPAGATION_DIRECTION_MISMATCH, miae.getSpecifier());
+        }
+
+        // failed phases did not change the recorded steps
+        Assert.assertEquals(ephemeris.getNumberOfSteps(), recorder.build().getNumberOfSteps());
+
+    }
+
+    @Test
+    public void testConcurrentAccess() throws IOException {
+
+        TestProblem3 pb = new TestProblem3(0.9);
+        ODEIntegrator integ = new DormandPrince54Integrator(0, pb.getFinalTime() - pb.getInitialTime(),
+                                                            1.0e-8, 1.0e-8);
+        DenseOutputEphemeris.Recorder recorder = new DenseOutputEphemeris.Recorder(5);
+        integ.addStepHandler(recorder);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        DenseOutputEphemeris ephemeris = recorder.build();
+
+        final int n = 2000;
+        final double[] times    = new double[n];
+        final double[] expected = new double[n];
+        Random random = new Random(0x48f2e86b5bc02a47l);
+        for (int i = 0; i < n; ++i) {
+            double r = random.nextDouble();
+            times[i]    = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+            expected[i] = ephemeris.getInterpolatedState(times[i]).getPrimaryState()[0];
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final AtomicReference<Double> maxError = new AtomicReference<>(0.0);
+            final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[8];
+            for (int k = 0; k < tasks.length; ++k) {
+                final int shift = k;
+                tasks[k] = pool.submit(() -> {
+                    for (int i = 0; i < n; ++i) {
+                        final int j = (i * 7 + shift * 251) % n;
+                        final double y = ephemeris.getInterpolatedState(times[j]).getPrimaryState()[0];
+                        maxError.accumulateAndGet(FastMath.abs(y - expected[j]), FastMath::max);
+                    }
+                });
+            }
+            for (final ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            Assert.assertEquals(0.0, maxError.get(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+
+        TestProblem1 pb = new TestProblem1();
+        EulerIntegrator integ = new EulerIntegrator((pb.getFinalTime() - pb.getInitialTime()) * 0.001);
+        DenseOutputModel dom = new DenseOutputModel();
+        integ.addStepHandler(dom);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        DenseOutputEphemeris ephemeris = dom.toEphemeris(1);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(ephemeris);
+
+        // much smaller than the 131976 bytes of the serialized dense output model
+        Assert.assertTrue("size = " + bos.size(), bos.size() < 50000);
+
+        ByteArrayInputStream  bis = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream     ois = new ObjectInputStream(bis);
+        DenseOutputEphemeris deserialized = (DenseOutputEphemeris) ois.readObject();
+
+        for (double t = pb.getInitialTime(); t < pb.getFinalTime(); t += 0.01) {
+            Assert.assertArrayEquals(ephemeris.getInterpolatedState(t).getPrimaryState(),
+                                     deserialized.getInterpolatedState(t).getPrimaryState(),
+                                     0.0);
+            Assert.assertArrayEquals(dom.getInterpolatedState(t).getPrimaryState(),
+                                     deserialized.getInterpolatedState(t).getPrimaryState(),
+                                     1.0e-14);
+        }
+
+    }
+
+    @Test
+    public void testErrors() {
+        try {
+            new DenseOutputEphemeris.Recorder(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+        try {
+            new DenseOutputEphemeris.Recorder(3).build();
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalStateException mise) {
+            Assert.assertEquals(LocalizedCoreFormats.NO_DATA, mise.getSpecifier());
+        }
+    }
+
+}
@@ -36,9 +36,14 @@ import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
 import org.hipparchus.ode.nonstiff.LutherIntegrator;
 import org.hipparchus.ode.sampling.DummyStepInterpolator;
 import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 public class EventStateTest {
 
     // JIRA: MATH-322
@@ -237,6 +242,103 @@ public class EventStateTest {
 
     }
 
+    @Test
+    public void testSharedStatesAndCachedValues() {
+
+        DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-3, 1.0, 1.0e-10, 1.0e-10);
+        RecordingHandler h1 = new RecordingHandler();
+        RecordingHandler h2 = new RecordingHandler();
+        RecordingHandler h3 = new RecordingHandler();
+        integrator.addEventHandler(h1, 0.1, 1.0e-10, 100);
+        integrator.addEventHandler(h2, 0.1, 1.0e-10, 100);
+        integrator.addEventHandler(h3, 1.0e10, 1.0e-10, 100);
+        final int[] steps = new int[1];
+        integrator.addStepHandler((interpolator, isLast) -> ++steps[0]);
+        integrator.integrate(new Oscillator(), new ODEState(0.0, new double[] { 0.0, 1.0 }), 10.0);
+
+        // handlers with the same settings see the same interpolated states
+        Assert.assertTrue(h1.states.size() > 2 * steps[0]);
+        Assert.assertEquals(h1.states.size(), h2.states.size());
+        for (int i = 0; i < h1.states.size(); ++i) {
+            Assert.assertSame(h1.states.get(i), h2.states.get(i));
+        }
+
+        // g is evaluated once at start and once per step, not again when advancing to step end
+        Assert.assertEquals(1 + steps[0], h3.states.size());
+
+    }
+
+    @Test
+    public void testParallelEvaluation() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<List<Double>> serial   = integrateWithPhases(null);
+            final List<List<Double>> parallel = integrateWithPhases(pool);
+            Assert.assertEquals(20, serial.size());
+            for (int i = 0; i < serial.size(); ++i) {
+                Assert.assertEquals(4, serial.get(i).size());
+                Assert.assertEquals(serial.get(i), parallel.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<List<Double>> integrateWithPhases(final ForkJoinPool pool) {
+        DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-3, 1.0, 1.0e-10, 1.0e-10);
+        integrator.setEventsPool(pool);
+        Assert.assertSame(pool, integrator.getEventsPool());
+        // all handlers share the same root solver, which must not be used concurrently
+        final BracketingNthOrderBrentSolver solver = new BracketingNthOrderBrentSolver(1.0e-12, 5);
+        final List<List<Double>> events = new ArrayList<>();
+        for (int k = 0; k < 20; ++k) {
+            final double phase = 0.1 * k + 0.05;
+            final List<Double> times = new ArrayList<>();
+            events.add(times);
+            integrator.addEventHandler(new ODEEventHandler() {
+                public double g(ODEStateAndDerivative s) {
+                    return FastMath.sin(s.getTime() - phase);
+                }
+                public Action eventOccurred(ODEStateAndDerivative s, boolean increasing) {
+                    times.add(s.getTime());
+                    return Action.CONTINUE;
+                }
+            }, 0.5, 1.0e-12, 100, solver);
+        }
+        integrator.integrate(new Oscillator(), new ODEState(0.0, new double[] { 0.0, 1.0 }), 12.0);
+        for (int k = 0; k < events.size(); ++k) {
+            Assert.assertEquals(0.1 * k + 0.05, events.get(k).get(0), 1.0e-10);
+        }
+        return events;
+    }
+
+    private static class Oscillator implements OrdinaryDifferentialEquation {
+
+        public int getDimension() {
+            return 2;
+        }
+
+        public double[] computeDerivatives(double t, double[] y) {
+            return new double[] { y[1], -y[0] };
+        }
+
+    }
+
+    private static class RecordingHandler implements ODEEventHandler {
+
+        final List<ODEStateAndDerivative> states = new ArrayList<>();
+
+        public double g(ODEStateAndDerivative s) {
+            states.add(s);
+            return 1.0;
+        }
+
+        public Action eventOccurred(ODEStateAndDerivative s, boolean increasing) {
+            return Action.CONTINUE;
+        }
+
+    }
+
     private class CloseEventsGenerator implements ODEEventHandler {
 
         final double r1;
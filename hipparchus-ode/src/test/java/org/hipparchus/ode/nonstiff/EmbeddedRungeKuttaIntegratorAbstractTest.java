@@ -35,6 +35,7 @@ import org.hipparchus.ode.TestProblem1;
 import org.hipparchus.ode.TestProblem3;
 import org.hipparchus.ode.TestProblem4;
 import org.hipparchus.ode.TestProblem5;
+import org.hipparchus.ode.TestProblemAbstract;
 import org.hipparchus.ode.TestProblemHandler;
 import org.hipparchus.ode.VariationalEquation;
 import org.hipparchus.ode.events.Action;
@@ -755,6 +756,53 @@ public abstract class EmbeddedRungeKuttaIntegratorAbstractTest {
 
     }
 
+    @Test
+    public void testLowAllocation() {
+
+        // without handlers, states and interpolators are not built at all
+        final TestProblem3 pb3 = new TestProblem3(0.9);
+        final InPlaceODE   ode3 = new InPlaceODE(pb3);
+        final ODEStateAndDerivative regular3 = integrate(false, ode3, pb3, false);
+        Assert.assertEquals(0, ode3.inPlaceCalls);
+        final ODEStateAndDerivative low3     = integrate(true, ode3, pb3, false);
+        // only the initial evaluations use the allocating method
+        Assert.assertTrue(ode3.regularCalls <= 2);
+        Assert.assertTrue(ode3.inPlaceCalls > 0);
+        checkSameState(regular3, low3);
+
+        // with handlers and events resetting state, buffers are reused between steps
+        final TestProblem4 pb4 = new TestProblem4();
+        final InPlaceODE   ode4 = new InPlaceODE(pb4);
+        checkSameState(integrate(false, ode4, pb4, true), integrate(true, ode4, pb4, true));
+
+    }
+
+    private ODEStateAndDerivative integrate(final boolean lowAllocation, final InPlaceODE ode,
+                                            final TestProblemAbstract pb, final boolean handlers) {
+        final EmbeddedRungeKuttaIntegrator integrator = createIntegrator(0, pb.getFinalTime() - pb.getInitialTime(), 1.0e-10, 1.0e-10);
+        integrator.setLowAllocation(lowAllocation);
+        Assert.assertEquals(lowAllocation, integrator.isLowAllocation());
+        if (handlers) {
+            final TestProblemHandler handler = new TestProblemHandler(pb, integrator);
+            integrator.addStepHandler(handler);
+            for (ODEEventHandler eh : pb.getEventsHandlers()) {
+                integrator.addEventHandler(eh, 0.1, 1.0e-10, 1000);
+            }
+        }
+        ode.regularCalls = 0;
+        ode.inPlaceCalls = 0;
+        final ODEStateAndDerivative finalState =
+                        integrator.integrate(new ExpandableODE(ode), pb.getInitialState(), pb.getFinalTime());
+        Assert.assertEquals(ode.regularCalls + ode.inPlaceCalls, integrator.getEvaluations());
+        return finalState;
+    }
+
+    private void checkSameState(final ODEStateAndDerivative expected, final ODEStateAndDerivative actual) {
+        Assert.assertEquals(expected.getTime(), actual.getTime(), 0.0);
+        Assert.assertArrayEquals(expected.getCompleteState(),      actual.getCompleteState(),      0.0);
+        Assert.assertArrayEquals(expected.getCompleteDerivative(), actual.getCompleteDerivative(), 0.0);
+    }
+
     @Test
     public void testNaNAppearing() {
         try {
@@ -896,4 +944,34 @@ public abstract class EmbeddedRungeKuttaIntegratorAbstractTest {
 
     }
 
+    private static class InPlaceODE implements OrdinaryDifferentialEquation {
+
+        private final TestProblemAbstract pb;
+        private int regularCalls;
+        private int inPlaceCalls;
+
+        InPlaceODE(final TestProblemAbstract pb) {
+            this.pb = pb;
+        }
+
+        @Override
+        public int getDimension() {
+            return pb.getDimension();
+        }
+
+        @Override
+        public double[] computeDerivatives(final double t, final double[] y) {
+            ++regularCalls;
+            return pb.doComputeDerivatives(t, y);
+        }
+
+        @Override
+        public void computeDerivatives(final double t, final double[] y, final double[] yDot) {
+            ++inPlaceCalls;
+            final double[] d = pb.doComputeDerivatives(t, y);
+            System.arraycopy(d, 0, yDot, 0, d.length);
+        }
+
+    }
+
 }
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EnsembleIntegratorTest {
+
+    @Test
+    public void testIndependentMatchesSingle() {
+        final int size = 40;
+        final ODEState[] initialStates = new ODEState[size];
+        for (int m = 0; m < size; ++m) {
+            initialStates[m] = new ODEState(0.0, new double[] { 1.0, 0.0 });
+        }
+        final AtomicInteger built = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final EnsembleIntegrator ensemble =
+                            new EnsembleIntegrator(() -> {
+                                built.incrementAndGet();
+                                return new DormandPrince54Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10);
+                            }, pool);
+            final ODEStateAndDerivative[] finalStates =
+                            ensemble.integrate(m -> new ExpandableODE(new Oscillator(omega(m))),
+                                               initialStates, 10.0, null);
+            Assert.assertTrue(built.get() <= 4);
+            for (int m = 0; m < size; ++m) {
+                final ODEStateAndDerivative reference =
+                                new DormandPrince54Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10).
+                                integrate(new Oscillator(omega(m)), initialStates[m], 10.0);
+                Assert.assertEquals(10.0, finalStates[m].getTime(), 1.0e-15);
+                Assert.assertArrayEquals(reference.getPrimaryState(), finalStates[m].getPrimaryState(), 0.0);
+                Assert.assertEquals(FastMath.cos(omega(m) * 10.0), finalStates[m].getPrimaryState()[0], 1.0e-7);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSerialReusesIntegrator() {
+        final AtomicInteger built = new AtomicInteger();
+        final EnsembleIntegrator ensemble =
+                        new EnsembleIntegrator(() -> {
+                            built.incrementAndGet();
+                            return new HighamHall54Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10);
+                        });
+        final ODEState[] initialStates = new ODEState[10];
+        for (int m = 0; m < initialStates.length; ++m) {
+            initialStates[m] = new ODEState(0.0, new double[] { 1.0, 0.1 * m });
+        }
+        final ODEStateAndDerivative[] finalStates =
+                        ensemble.integrate(new Oscillator(1.0), initialStates, 3.0);
+        Assert.assertEquals(1, built.get());
+        for (int m = 0; m < initialStates.length; ++m) {
+            // y = cos t + 0.1 m sin t
+            Assert.assertEquals(FastMath.cos(3.0) + 0.1 * m * FastMath.sin(3.0),
+                                finalStates[m].getPrimaryState()[0], 1.0e-8);
+        }
+    }
+
+    @Test
+    public void testMemberEventsAndHandlers() {
+        final int size = 12;
+        final ODEState[] initialStates = new ODEState[size];
+        for (int m = 0; m < size; ++m) {
+            initialStates[m] = new ODEState(0.0, new double[] { 1.0, 0.0 });
+        }
+        final int[] steps = new int[size];
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final EnsembleIntegrator ensemble =
+                            new EnsembleIntegrator(() -> new DormandPrince853Integrator(1.0e-6, 1.0, 1.0e-10, 1.0e-10),
+                                                   pool);
+            final ODEStateAndDerivative[] finalStates =
+                            ensemble.integrate(m -> new ExpandableODE(new Oscillator(omega(m))),
+                                               initialStates, 100.0,
+                                               (m, integrator) -> {
+                                                   // odd members stop at first zero crossing
+                                                   if ((m & 0x1) != 0) {
+                                                       integrator.addEventHandler(new StopAtZero(), 0.1, 1.0e-12, 100);
+                                                   }
+                                                   integrator.addStepHandler((interpolator, isLast) -> ++steps[m]);
+                                               });
+            for (int m = 0; m < size; ++m) {
+                final double expected = ((m & 0x1) != 0) ? 0.5 * FastMath.PI / omega(m) : 100.0;
+                Assert.assertEquals(expected, finalStates[m].getTime(), 1.0e-10);
+                Assert.assertTrue(steps[m] > 0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLockstep() {
+        final int size = 25;
+        final double[] omega = new double[size];
+        final double[][] y0 = new double[2][size];
+        for (int m = 0; m < size; ++m) {
+            omega[m] = omega(m);
+            y0[0][m] = 1.0;
+        }
+        final AtomicInteger calls = new AtomicInteger();
+        final EnsembleODE equations = new EnsembleODE() {
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+            @Override
+            public void computeDerivatives(final double t, final double[][] y, final double[][] yDot) {
+                calls.incrementAndGet();
+                for (int m = 0; m < y[0].length; ++m) {
+                    yDot[0][m] = y[1][m];
+                    yDot[1][m] = -omega[m] * omega[m] * y[0][m];
+                }
+            }
+        };
+        final EnsembleIntegrator ensemble =
+                        new EnsembleIntegrator(() -> new DormandPrince54Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10));
+        final AtomicInteger steps = new AtomicInteger();
+        final ODEStateAndDerivative[] finalStates =
+                        ensemble.integrateLockstep(equations, 0.0, y0, 10.0,
+                                                   (t, y, yDot, isLast) -> {
+                                                       steps.incrementAndGet();
+                                                       Assert.assertEquals(isLast, t == 10.0);
+                                                   });
+
+        // initial state is not modified
+        Assert.assertEquals(1.0, y0[0][size - 1], 0.0);
+
+        // one call for initial derivatives, one for initial step estimation,
+        // and six calls per step (DP54 is fsal), ignoring rejected steps
+        Assert.assertTrue(calls.get() >= 2 + 6 * steps.get());
+        for (int m = 0; m < size; ++m) {
+            Assert.assertEquals(10.0, finalStates[m].getTime(), 1.0e-15);
+            Assert.assertEquals(FastMath.cos(omega[m] * 10.0),
+                                finalStates[m].getPrimaryState()[0], 2.0e-8);
+            Assert.assertEquals(-omega[m] * FastMath.sin(omega[m] * 10.0),
+                                finalStates[m].getPrimaryState()[1], 2.0e-8);
+            Assert.assertEquals(finalStates[m].getPrimaryState()[1],
+                                finalStates[m].getPrimaryDerivative()[0], 1.0e-15);
+        }
+
+    }
+
+    @Test
+    public void testLockstepBackward() {
+        final double[][] y0 = { { 1.0, 2.0, 3.0 } };
+        final EnsembleODE decay = new EnsembleODE() {
+            @Override
+            public int getDimension() {
+                return 1;
+            }
+            @Override
+            public void computeDerivatives(final double t, final double[][] y, final double[][] yDot) {
+                for (int m = 0; m < y[0].length; ++m) {
+                    yDot[0][m] = -y[0][m];
+                }
+            }
+        };
+        final EnsembleIntegrator ensemble =
+                        new EnsembleIntegrator(() -> new DormandPrince853Integrator(1.0e-6, 1.0, 1.0e-12, 1.0e-12));
+        final ODEStateAndDerivative[] finalStates = ensemble.integrateLockstep(decay, 2.0, y0, -1.0, null);
+        for (int m = 0; m < 3; ++m) {
+            Assert.assertEquals(-1.0, finalStates[m].getTime(), 1.0e-15);
+            Assert.assertEquals((m + 1) * FastMath.exp(3.0), finalStates[m].getPrimaryState()[0], 1.0e-10 * (m + 1) * FastMath.exp(3.0));
+        }
+    }
+
+    @Test
+    public void testLockstepDimensionMismatch() {
+        final EnsembleIntegrator ensemble =
+                        new EnsembleIntegrator(() -> new DormandPrince54Integrator(1.0e-6, 1.0, 1.0e-10, 1.0e-10));
+        try {
+            ensemble.integrateLockstep(new EnsembleODE() {
+                @Override
+                public int getDimension() {
+                    return 2;
+                }
+                @Override
+                public void computeDerivatives(final double t, final double[][] y, final double[][] yDot) {
+                    Assert.fail("should not be called");
+                }
+            }, 0.0, new double[][] { { 1.0, 2.0 }, { 3.0 } }, 1.0, null);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testLockstepEmptyEnsemble() {
+        final EnsembleIntegrator ensemble =
+                        new EnsembleIntegrator(() -> new DormandPrince54Integrator(1.0e-6, 1.0, 1.0e-10, 1.0e-10));
+        final EnsembleODE equations = new EnsembleODE() {
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+            @Override
+            public void computeDerivatives(final double t, final double[][] y, final double[][] yDot) {
+                Assert.fail("should not be called");
+            }
+        };
+        Assert.assertEquals(0, ensemble.integrateLockstep(equations, 0.0, new double[2][0], 1.0, null).length);
+    }
+
+    @Test
+    public void testLockstepNoComponents() {
+        final EnsembleIntegrator ensemble =
+                        new EnsembleIntegrator(() -> new DormandPrince54Integrator(1.0e-6, 1.0, 1.0e-10, 1.0e-10));
+        try {
+            ensemble.integrateLockstep(new EnsembleODE() {
+                @Override
+                public int getDimension() {
+                    return 0;
+                }
+                @Override
+                public void computeDerivatives(final double t, final double[][] y, final double[][] yDot) {
+                    Assert.fail("should not be called");
+                }
+            }, 0.0, new double[0][], 1.0, null);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.NO_DATA, miae.getSpecifier());
+        }
+    }
+
+    private static double omega(final int m) {
+        return 0.5 + 0.1 * m;
+    }
+
+    private static class Oscillator implements OrdinaryDifferentialEquation {
+
+        private final double omega;
+
+        Oscillator(final double omega) {
+            this.omega = omega;
+        }
+
+        @Override
+        public int getDimension() {
+            return 2;
+        }
+
+        @Override
+        public double[] computeDerivatives(final double t, final double[] y) {
+            return new double[] { y[1], -omega * omega * y[0] };
+        }
+
+    }
+
+    private static class StopAtZero implements ODEEventHandler {
+
+        @Override
+        public double g(final ODEStateAndDerivative state) {
+            return state.getPrimaryState()[0];
+        }
+
+        @Override
+        public Action eventOccurred(final ODEStateAndDerivative state, final boolean increasing) {
+            return Action.STOP;
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BDFIntegratorTest extends ImplicitIntegratorAbstractTest {
+
+    @Override
+    protected ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double scalAbsoluteTolerance, final double scalRelativeTolerance) {
+        return new BDFIntegrator(5, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    @Override
+    protected ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double[] vecAbsoluteTolerance, final double[] vecRelativeTolerance) {
+        return new BDFIntegrator(5, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    @Override
+    @Test
+    public void testNonStiff() {
+        doTestNonStiff(50.0);
+    }
+
+    @Override
+    @Test
+    public void testStiffLinear() {
+        doTestStiffLinear(1.0e-8, 1.0e-7, 1.0e-6, 1200);
+    }
+
+    @Override
+    @Test
+    public void testRobertson() {
+        doTestRobertson(true, 1.0e-5, 200);
+        doTestRobertson(false, 1.0e-5, 200);
+    }
+
+    @Test
+    public void testOrderRange() {
+        for (final int order : new int[] { 0, 6 }) {
+            try {
+                new BDFIntegrator(order, 1.0e-10, 1.0, 1.0e-8, 1.0e-8);
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalArgumentException miae) {
+                Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+                Assert.assertEquals(order, ((Integer) miae.getParts()[0]).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void testMaxOrder() {
+        final OrdinaryDifferentialEquation sincos = new OrdinaryDifferentialEquation() {
+            public int getDimension() {
+                return 2;
+            }
+            public double[] computeDerivatives(double t, double[] y) {
+                return new double[] { y[1], -y[0] };
+            }
+        };
+        int previous = Integer.MAX_VALUE;
+        for (int maxOrder = 1; maxOrder <= 5; ++maxOrder) {
+            final BDFIntegrator integ = new BDFIntegrator(maxOrder, 1.0e-10, 1.0, 1.0e-7, 1.0e-7);
+            final ODEStateAndDerivative finalState =
+                    integ.integrate(sincos, new ODEState(0.0, new double[] { 0.0, 1.0 }), 1.0);
+            Assert.assertEquals(FastMath.sin(1.0), finalState.getPrimaryState()[0], 1.0e-3);
+            Assert.assertTrue(integ.getEvaluations() <= previous);
+            previous = integ.getEvaluations();
+        }
+    }
+
+}
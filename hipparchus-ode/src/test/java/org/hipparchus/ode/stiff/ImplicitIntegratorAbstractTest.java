@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.ODEIntegrator;
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.TestProblem1;
+import org.hipparchus.ode.TestProblemHandler;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.ode.nonstiff.DormandPrince54Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public abstract class ImplicitIntegratorAbstractTest {
+
+    protected abstract ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double scalAbsoluteTolerance, final double scalRelativeTolerance);
+
+    protected abstract ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double[] vecAbsoluteTolerance, final double[] vecRelativeTolerance);
+
+    @Test
+    public abstract void testNonStiff();
+
+    protected void doTestNonStiff(final double factor) {
+        final TestProblem1 pb = new TestProblem1();
+        for (int i = 4; i < 8; ++i) {
+            final double tolerance = FastMath.pow(10.0, -i);
+            final ImplicitIntegrator integ =
+                    createIntegrator(0, pb.getFinalTime() - pb.getInitialTime(), tolerance, tolerance);
+            final TestProblemHandler handler = new TestProblemHandler(pb, integ);
+            integ.addStepHandler(handler);
+            integ.integrate(new ExpandableODE(pb), pb.getInitialState(), pb.getFinalTime());
+            Assert.assertTrue(handler.getMaximalValueError() < factor * tolerance);
+            Assert.assertEquals(0, handler.getMaximalTimeError(), 1.0e-12);
+            Assert.assertEquals(pb.getFinalTime(), handler.getLastTime(), 1.0e-12);
+        }
+    }
+
+    @Test
+    public abstract void testStiffLinear();
+
+    protected void doTestStiffLinear(final double tolerance, final double maxError,
+                                     final double maxDenseError, final int maxEvaluations) {
+
+        // Prothero-Robinson problem, with a stiff eigenvalue
+        final ProtheroRobinson pb = new ProtheroRobinsonWithJacobian(-1.0e6);
+        final ImplicitIntegrator integ = createIntegrator(1.0e-10, 1.0, tolerance, tolerance);
+        final double[] maxStepError = new double[1];
+        integ.addStepHandler((interpolator, isLast) -> {
+            final double pT = interpolator.getPreviousState().getTime();
+            final double cT = interpolator.getCurrentState().getTime();
+            for (int k = 0; k <= 10; ++k) {
+                final double t = pT + (k * (cT - pT)) / 10;
+                final double y = interpolator.getInterpolatedState(t).getPrimaryState()[0];
+                maxStepError[0] = FastMath.max(maxStepError[0], FastMath.abs(y - FastMath.cos(t)));
+            }
+        });
+        final ODEStateAndDerivative finalState =
+                integ.integrate(pb, new ODEState(0.0, new double[] { 1.0 }), 10.0);
+        Assert.assertEquals(10.0, finalState.getTime(), 1.0e-15);
+        Assert.assertEquals(FastMath.cos(10.0), finalState.getPrimaryState()[0], maxError);
+        Assert.assertTrue(maxStepError[0] < maxDenseError);
+        Assert.assertTrue(integ.getEvaluations() < maxEvaluations);
+
+        // an explicit integrator needs steps of the order of 1/|lambda| throughout
+        final DormandPrince54Integrator explicit = new DormandPrince54Integrator(1.0e-10, 1.0, tolerance, tolerance);
+        explicit.integrate(pb, new ODEState(0.0, new double[] { 1.0 }), 0.1);
+        Assert.assertTrue(explicit.getEvaluations() > integ.getEvaluations());
+
+    }
+
+    @Test
+    public abstract void testRobertson();
+
+    protected void doTestRobertson(final boolean analyticalJacobian, final double tolerance,
+                                   final int maxSteps) {
+
+        final Robertson pb = analyticalJacobian ? new RobertsonWithJacobian() : new Robertson();
+        final ImplicitIntegrator integ =
+                createIntegrator(1.0e-12, 10.0,
+                                 new double[] { 1.0e-8, 1.0e-12, 1.0e-8 },
+                                 new double[] { 1.0e-6, 1.0e-6, 1.0e-6 });
+        final int[] steps = new int[1];
+        integ.addStepHandler((interpolator, isLast) -> ++steps[0]);
+        final ODEStateAndDerivative finalState =
+                integ.integrate(new ExpandableODE(pb), new ODEState(0.0, new double[] { 1.0, 0.0, 0.0 }), 40.0);
+        final double[] y = finalState.getPrimaryState();
+
+        // reference values from Hairer and Wanner, Solving Ordinary Differential Equations II
+        Assert.assertEquals(0.7158270687,   y[0], tolerance);
+        Assert.assertEquals(9.185534764e-6, y[1], tolerance * 1.0e-5);
+        Assert.assertEquals(0.2841637457,   y[2], tolerance);
+        Assert.assertEquals(1.0, y[0] + y[1] + y[2], 1.0e-12);
+        Assert.assertTrue(steps[0] < maxSteps);
+
+        // Jacobian and decompositions are reused across steps
+        Assert.assertTrue(integ.getJacobianEvaluations() < steps[0]);
+        Assert.assertTrue(integ.getDecompositions() < 2 * steps[0]);
+        if (analyticalJacobian) {
+            Assert.assertEquals(integ.getJacobianEvaluations(), pb.jacobianCalls);
+        } else {
+            Assert.assertEquals(0, pb.jacobianCalls);
+        }
+
+    }
+
+    @Test
+    public void testEvents() {
+
+        final ProtheroRobinson pb = new ProtheroRobinson(-1.0e4);
+        final ImplicitIntegrator integ = createIntegrator(1.0e-10, 1.0, 1.0e-10, 1.0e-10);
+        final double[] eventTime = { Double.NaN };
+        integ.addEventHandler(new ODEEventHandler() {
+            public double g(ODEStateAndDerivative s) {
+                return s.getPrimaryState()[0] - 0.5;
+            }
+            public Action eventOccurred(ODEStateAndDerivative s, boolean increasing) {
+                eventTime[0] = s.getTime();
+                return Action.STOP;
+            }
+        }, 0.1, 1.0e-12, 100);
+        final ODEStateAndDerivative finalState =
+                integ.integrate(pb, new ODEState(0.0, new double[] { 1.0 }), 10.0);
+        Assert.assertEquals(FastMath.PI / 3, eventTime[0], 1.0e-7);
+        Assert.assertEquals(eventTime[0], finalState.getTime(), 1.0e-15);
+        Assert.assertEquals(0.5, finalState.getPrimaryState()[0], 1.0e-7);
+
+    }
+
+    @Test
+    public void testResetState() {
+
+        // y' = lambda (y - cos t) - sin t, with y reset to cos t + 1 at t = 1
+        final ProtheroRobinson pb = new ProtheroRobinson(-1.0e4);
+        final ImplicitIntegrator integ = createIntegrator(1.0e-10, 1.0, 1.0e-10, 1.0e-10);
+        integ.addEventHandler(new ODEEventHandler() {
+            public double g(ODEStateAndDerivative s) {
+                return s.getTime() - 1.0;
+            }
+            public Action eventOccurred(ODEStateAndDerivative s, boolean increasing) {
+                return Action.RESET_STATE;
+            }
+            public ODEState resetState(ODEStateAndDerivative s) {
+                return new ODEState(s.getTime(), new double[] { s.getPrimaryState()[0] + 1.0 });
+            }
+        }, 0.1, 1.0e-12, 100);
+        final ODEStateAndDerivative finalState =
+                integ.integrate(pb, new ODEState(0.0, new double[] { 1.0 }), 2.0);
+
+        // the perturbation decays as exp(lambda (t - 1))
+        Assert.assertEquals(FastMath.cos(2.0), finalState.getPrimaryState()[0], 1.0e-7);
+
+    }
+
+    @Test
+    public void testBackward() {
+        final ProtheroRobinson pb = new ProtheroRobinson(1.0e4);
+        final ImplicitIntegrator integ = createIntegrator(1.0e-10, 1.0, 1.0e-10, 1.0e-10);
+        final ODEStateAndDerivative finalState =
+                integ.integrate(pb, new ODEState(5.0, new double[] { FastMath.cos(5.0) }), 0.0);
+        Assert.assertEquals(0.0, finalState.getTime(), 1.0e-15);
+        Assert.assertEquals(1.0, finalState.getPrimaryState()[0], 1.0e-7);
+    }
+
+    /** Prothero-Robinson problem y' = lambda (y - cos t) - sin t, with solution y = cos t. */
+    private static class ProtheroRobinson implements OrdinaryDifferentialEquation {
+
+        protected final double lambda;
+
+        ProtheroRobinson(final double lambda) {
+            this.lambda = lambda;
+        }
+
+        public int getDimension() {
+            return 1;
+        }
+
+        public double[] computeDerivatives(final double t, final double[] y) {
+            return new double[] { lambda * (y[0] - FastMath.cos(t)) - FastMath.sin(t) };
+        }
+
+    }
+
+    /** Prothero-Robinson problem with analytical Jacobian. */
+    private static class ProtheroRobinsonWithJacobian extends ProtheroRobinson implements ODEJacobiansProvider {
+
+        ProtheroRobinsonWithJacobian(final double lambda) {
+            super(lambda);
+        }
+
+        public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+            return new double[][] { { lambda } };
+        }
+
+    }
+
+    /** Robertson chemical kinetics problem. */
+    private static class Robertson implements OrdinaryDifferentialEquation {
+
+        protected int jacobianCalls;
+
+        public int getDimension() {
+            return 3;
+        }
+
+        public double[] computeDerivatives(final double t, final double[] y) {
+            final double r1 = 0.04 * y[0];
+            final double r2 = 3.0e7 * y[1] * y[1];
+            final double r3 = 1.0e4 * y[1] * y[2];
+            return new double[] { r3 - r1, r1 - r2 - r3, r2 };
+        }
+
+    }
+
+    /** Robertson chemical kinetics problem with analytical Jacobian. */
+    private static class RobertsonWithJacobian extends Robertson implements ODEJacobiansProvider {
+
+        public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+            ++jacobianCalls;
+            return new double[][] {
+                { -0.04,  1.0e4 * y[2],                 1.0e4 * y[1] },
+                {  0.04, -6.0e7 * y[1] - 1.0e4 * y[2], -1.0e4 * y[1] },
+                {  0.0,   6.0e7 * y[1],                 0.0 }
+            };
+        }
+
+    }
+
+}
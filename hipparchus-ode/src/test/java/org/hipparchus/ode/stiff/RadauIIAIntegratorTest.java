@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.junit.Test;
+
+public class RadauIIAIntegratorTest extends ImplicitIntegratorAbstractTest {
+
+    @Override
+    protected ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double scalAbsoluteTolerance, final double scalRelativeTolerance) {
+        return new RadauIIAIntegrator(minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    @Override
+    protected ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double[] vecAbsoluteTolerance, final double[] vecRelativeTolerance) {
+        return new RadauIIAIntegrator(minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    @Override
+    @Test
+    public void testNonStiff() {
+        doTestNonStiff(5.0);
+    }
+
+    @Override
+    @Test
+    public void testStiffLinear() {
+        doTestStiffLinear(1.0e-8, 1.0e-8, 1.0e-3, 100);
+    }
+
+    @Override
+    @Test
+    public void testRobertson() {
+        doTestRobertson(true, 1.0e-7, 100);
+        doTestRobertson(false, 1.0e-7, 100);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RosenbrockWIntegratorTest extends ImplicitIntegratorAbstractTest {
+
+    @Override
+    protected ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double scalAbsoluteTolerance, final double scalRelativeTolerance) {
+        return new RosenbrockWIntegrator(minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+    }
+
+    @Override
+    protected ImplicitIntegrator
+    createIntegrator(final double minStep, final double maxStep,
+                     final double[] vecAbsoluteTolerance, final double[] vecRelativeTolerance) {
+        return new RosenbrockWIntegrator(minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+    }
+
+    @Override
+    @Test
+    public void testNonStiff() {
+        doTestNonStiff(5.0);
+    }
+
+    @Override
+    @Test
+    public void testStiffLinear() {
+        doTestStiffLinear(1.0e-6, 1.0e-5, 1.0e-5, 12000);
+    }
+
+    @Override
+    @Test
+    public void testRobertson() {
+        doTestRobertson(true, 1.0e-6, 6000);
+        doTestRobertson(false, 1.0e-6, 6000);
+    }
+
+    @Test
+    public void testAutonomousEvaluations() {
+
+        // autonomous stiff problem, with a slow oscillation driving a fast component
+        final ODEJacobiansProvider pb = new ODEJacobiansProvider() {
+            public int getDimension() {
+                return 3;
+            }
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[] { y[1], -y[0], -1.0e4 * (y[2] - y[0]) };
+            }
+            public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+                return new double[][] { { 0.0, 1.0, 0.0 }, { -1.0, 0.0, 0.0 }, { 1.0e4, 0.0, -1.0e4 } };
+            }
+        };
+
+        final RosenbrockWIntegrator integ = new RosenbrockWIntegrator(1.0e-10, 1.0, 1.0e-6, 1.0e-6);
+        final int[] steps = new int[1];
+        integ.addStepHandler((interpolator, isLast) -> ++steps[0]);
+        final double[] y =
+                integ.integrate(pb, new ODEState(0.0, new double[] { 1.0, 0.0, 1.0 }), 10.0).getPrimaryState();
+        Assert.assertEquals(FastMath.cos(10.0), y[0], 1.0e-4);
+        Assert.assertEquals(y[0], y[2], 1.0e-3);
+
+        // the time derivative is zero, it is kept with the Jacobian and
+        // steps cost only two evaluations, the first one being shared with previous step
+        Assert.assertTrue(integ.getJacobianEvaluations() < steps[0] / 10);
+        Assert.assertTrue(integ.getEvaluations() < 2 * steps[0] + integ.getJacobianEvaluations() + 10);
+
+    }
+
+}
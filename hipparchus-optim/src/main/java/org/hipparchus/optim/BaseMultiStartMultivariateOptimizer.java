@@ -21,10 +21,14 @@
  */
 package org.hipparchus.optim;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.random.RandomVectorGenerator;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * Base class multi-start optimizer for a multivariate function.
@@ -33,6 +37,17 @@ import org.hipparchus.random.RandomVectorGenerator;
  * turn with different starting points (trying to avoid being trapped
  * in a local extremum when looking for a global one).
  * <em>It is not a "user" class.</em>
+ * <p>
+ * When built with an optimizer factory and a {@link ForkJoinPool}, the
+ * starts are run in parallel, each one with its own optimizer instance.
+ * The start points are all drawn from the random vector generator in the
+ * calling thread before the optimizations are launched, and the optima are
+ * stored in start order, so the results are the same as in serial mode,
+ * as long as the objective function is thread-safe and the evaluation
+ * budget is not exhausted. The budget set by {@link MaxEval} is shared by
+ * all concurrent starts; if it is exhausted, which starts fail depends on
+ * thread scheduling.
+ * </p>
  *
  * @param <P> Type of the point/value pair returned by the optimization
  * algorithm.
@@ -42,6 +57,10 @@ public abstract class BaseMultiStartMultivariateOptimizer<P>
     extends BaseMultivariateOptimizer<P> {
     /** Underlying classical optimizer. */
     private final BaseMultivariateOptimizer<P> optimizer;
+    /** Factory for optimizers used by parallel starts (null in serial mode). */
+    private final Supplier<? extends BaseMultivariateOptimizer<P>> factory;
+    /** Pool for parallel starts (null in serial mode). */
+    private final ForkJoinPool pool;
     /** Number of evaluations already performed for all starts. */
     private int totalEvaluations;
     /** Number of starts to go. */
@@ -82,6 +101,33 @@ public abstract class BaseMultiStartMultivariateOptimizer<P>
     public BaseMultiStartMultivariateOptimizer(final BaseMultivariateOptimizer<P> optimizer,
                                                final int starts,
                                                final RandomVectorGenerator generator) {
+        this(optimizer, null, starts, generator, null);
+    }
+
+    /**
+     * Create a multi-start optimizer that may run starts in parallel.
+     * <p>
+     * In parallel mode, the first start uses {@code optimizer} and the
+     * factory is called once for each other start, in the calling thread.
+     * Each start therefore uses its own optimizer instance, but the objective
+     * function is shared and must be thread-safe.
+     * </p>
+     * @param optimizer Single-start optimizer to wrap.
+     * @param factory factory for single-start optimizers (may be null in serial mode)
+     * @param starts Number of starts to perform. If {@code starts == 1},
+     * the {@link #optimize(OptimizationData[]) optimize} will return the
+     * same solution as the given {@code optimizer} would return.
+     * @param generator Random vector generator to use for restarts.
+     * @param pool pool to use (if null, starts are run serially in the calling
+     * thread, all with the same optimizer instance)
+     * @throws MathIllegalArgumentException if {@code starts < 1}.
+     * @since 1.9
+     */
+    protected BaseMultiStartMultivariateOptimizer(final BaseMultivariateOptimizer<P> optimizer,
+                                                final Supplier<? extends BaseMultivariateOptimizer<P>> factory,
+                                                final int starts,
+                                                final RandomVectorGenerator generator,
+                                                final ForkJoinPool pool) {
         super(optimizer.getConvergenceChecker());
 
         if (starts < 1) {
@@ -90,6 +136,8 @@ public abstract class BaseMultiStartMultivariateOptimizer<P>
         }
 
         this.optimizer = optimizer;
+        this.factory = factory;
+        this.pool = pool;
         this.starts = starts;
         this.generator = generator;
     }
@@ -165,6 +213,10 @@ public abstract class BaseMultiStartMultivariateOptimizer<P>
             throw new MathIllegalStateException(LocalizedCoreFormats.ILLEGAL_STATE);
         }
 
+        if (pool != null && factory != null) {
+            return doOptimizeInParallel();
+        }
+
         RuntimeException lastException = null;
         totalEvaluations = 0;
         clear();
@@ -181,26 +233,7 @@ public abstract class BaseMultiStartMultivariateOptimizer<P>
                 // Decrease number of allowed evaluations.
                 optimData[maxEvalIndex] = new MaxEval(maxEval - totalEvaluations);
                 // New start value.
-                double[] s = null;
-                if (i == 0) {
-                    s = startPoint;
-                } else {
-                    int attempts = 0;
-                    while (s == null) {
-                        if (attempts >= getMaxEvaluations()) {
-                            throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED,
-                                                                getMaxEvaluations());
-                        }
-                        s = generator.nextVector();
-                        for (int k = 0; s != null && k < s.length; ++k) {
-                            if ((min != null && s[k] < min[k]) || (max != null && s[k] > max[k])) {
-                                // reject the vector
-                                s = null;
-                            }
-                        }
-                        ++attempts;
-                    }
-                }
+                final double[] s = (i == 0) ? startPoint : nextStartPoint(min, max);
                 optimData[initialGuessIndex] = new InitialGuess(s);
                 // Optimize.
                 final P result = optimizer.optimize(optimData);
@@ -223,6 +256,143 @@ public abstract class BaseMultiStartMultivariateOptimizer<P>
         return optima[0];
     }
 
+    /**
+     * Run all starts in parallel.
+     *
+     * @return the best optimum
+     */
+    private P doOptimizeInParallel() {
+
+        totalEvaluations = 0;
+        clear();
+
+        final int maxEval = getMaxEvaluations();
+        final double[] min = getLowerBound();
+        final double[] max = getUpperBound();
+        final SharedEvaluationBudget budget = new SharedEvaluationBudget(maxEval);
+
+        // prepare all starts in the calling thread, for reproducibility
+        @SuppressWarnings("unchecked")
+        final BaseMultivariateOptimizer<P>[] optimizers = new BaseMultivariateOptimizer[starts];
+        final OptimizationData[][] data                 = new OptimizationData[starts][];
+        final RuntimeException[]   failures             = new RuntimeException[starts];
+        for (int i = 0; i < starts; i++) {
+            // CHECKSTYLE: stop IllegalCatch
+            try {
+                final double[] s = (i == 0) ? getStartPoint() : nextStartPoint(min, max);
+                data[i] = new OptimizationData[optimData.length];
+                for (int k = 0; k < optimData.length; ++k) {
+                    data[i][k] = optimData[k] == null ? null : prepareStartData(optimData[k], budget);
+                }
+                data[i][maxEvalIndex]      = new MaxEval(maxEval);
+                data[i][initialGuessIndex] = new InitialGuess(s);
+                optimizers[i] = (i == 0) ? optimizer : factory.get();
+            } catch (RuntimeException mue) { // NOPMD - caching a RuntimeException is intentional here, it will be rethrown later
+                failures[i] = mue;
+            }
+            // CHECKSTYLE: resume IllegalCatch
+        }
+
+        // run the optimizations
+        final P[]   results     = newResultsArray(starts);
+        final int[] evaluations = new int[starts];
+        ParallelUtils.forEach(pool, 0, starts, 1, i -> {
+            if (optimizers[i] != null) {
+                // CHECKSTYLE: stop IllegalCatch
+                try {
+                    results[i] = optimizers[i].optimize(data[i]);
+                } catch (RuntimeException mue) { // NOPMD - caching a RuntimeException is intentional here, it will be rethrown later
+                    failures[i] = mue;
+                }
+                // CHECKSTYLE: resume IllegalCatch
+                evaluations[i] = optimizers[i].getEvaluations();
+            }
+        });
+
+        // gather the results in start order
+        RuntimeException lastException = null;
+        for (int i = 0; i < starts; i++) {
+            if (results[i] == null) {
+                lastException = failures[i];
+            } else {
+                store(results[i]);
+            }
+            totalEvaluations += evaluations[i];
+        }
+
+        final P[] optima = getOptima();
+        if (optima.length == 0) {
+            // All runs failed.
+            throw lastException; // Cannot be null if starts >= 1.
+        }
+
+        // Return the best optimum.
+        return optima[0];
+    }
+
+    /**
+     * Generate a random start point within the bounds.
+     *
+     * @param min lower bound (may be null)
+     * @param max upper bound (may be null)
+     * @return start point
+     * @throws MathIllegalStateException if no point within bounds could be
+     * generated in {@link #getMaxEvaluations()} attempts
+     */
+    private double[] nextStartPoint(final double[] min, final double[] max)
+        throws MathIllegalStateException {
+        double[] s = null;
+        int attempts = 0;
+        while (s == null) {
+            if (attempts >= getMaxEvaluations()) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED,
+                                                    getMaxEvaluations());
+            }
+            s = generator.nextVector();
+            for (int k = 0; s != null && k < s.length; ++k) {
+                if ((min != null && s[k] < min[k]) || (max != null && s[k] > max[k])) {
+                    // reject the vector
+                    s = null;
+                }
+            }
+            ++attempts;
+        }
+        return s;
+    }
+
+    /**
+     * Prepare one optimization data element for one parallel start.
+     * <p>
+     * This method is called only in parallel mode, for each start and each
+     * non-null optimization data element, except {@link MaxEval} and
+     * {@link InitialGuess}. Implementations should wrap the objective function
+     * so that it calls {@link SharedEvaluationBudget#consume()} before each
+     * evaluation, and should copy elements holding mutable state, as starts
+     * run concurrently. The default implementation returns the element
+     * unchanged, so each start is only limited by its own {@link MaxEval}.
+     * </p>
+     *
+     * @param data optimization data element
+     * @param budget evaluation budget shared by all starts
+     * @return element to use for the start (may be {@code data} itself)
+     * @since 1.9
+     */
+    protected OptimizationData prepareStartData(final OptimizationData data,
+                                                final SharedEvaluationBudget budget) {
+        return data;
+    }
+
+    /**
+     * Create an array for storing the results of all starts.
+     *
+     * @param n number of starts
+     * @return new array
+     */
+    @SuppressWarnings("unchecked")
+    private P[] newResultsArray(final int n) {
+        return (P[]) new Object[n];
+    }
+
     /**
      * Method that will be called in order to store each found optimum.
      *
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalStateException;
+
+/**
+ * Thread-safe evaluation budget shared by several optimizations running
+ * concurrently.
+ * <p>
+ * Each optimizer still checks its own {@link MaxEval} limit, this budget
+ * additionally enforces a global limit on the number of evaluations performed
+ * by all of them. It is used by the multi-start optimizers when starts run in
+ * parallel.
+ * </p>
+ * @since 1.9
+ */
+public class SharedEvaluationBudget {
+
+    /** Allowed number of evaluations. */
+    private final int max;
+
+    /** Number of evaluations consumed so far. */
+    private final AtomicInteger consumed;
+
+    /** Simple constructor.
+     * @param max allowed number of evaluations for all users of the budget
+     */
+    public SharedEvaluationBudget(final int max) {
+        this.max      = max;
+        this.consumed = new AtomicInteger(0);
+    }
+
+    /** Get the allowed number of evaluations.
+     * @return allowed number of evaluations
+     */
+    public int getMaxEval() {
+        return max;
+    }
+
+    /** Get the number of evaluations consumed so far.
+     * @return number of evaluations consumed so far (never larger than {@link #getMaxEval()})
+     */
+    public int getConsumed() {
+        return consumed.get();
+    }
+
+    /** Consume one evaluation.
+     * @exception MathIllegalStateException if the budget is exhausted
+     */
+    public void consume() throws MathIllegalStateException {
+        final int previous = consumed.getAndUpdate(c -> c < max ? c + 1 : c);
+        if (previous >= max) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, max);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.nonlinear.scalar;
+
+import org.hipparchus.optim.OptimizationData;
+
+/**
+ * Scalar function to be optimized, evaluated by batches of points.
+ * <p>
+ * This optimization data can be used in addition to, or instead of, an
+ * {@link ObjectiveFunction}. When both are provided, the batch function is
+ * used whenever the optimizer has several points to evaluate at once and the
+ * regular function is used for single points. When only the batch function is
+ * provided, single points are evaluated as batches of size one.
+ * </p>
+ * @since 1.9
+ */
+public class BatchObjectiveFunction implements OptimizationData {
+
+    /** Function to be optimized. */
+    private final MultivariateBatchFunction function;
+
+    /**
+     * @param f Function to be optimized.
+     */
+    public BatchObjectiveFunction(final MultivariateBatchFunction f) {
+        function = f;
+    }
+
+    /**
+     * Gets the function to be optimized.
+     *
+     * @return the objective function.
+     */
+    public MultivariateBatchFunction getObjectiveFunction() {
+        return function;
+    }
+
+}
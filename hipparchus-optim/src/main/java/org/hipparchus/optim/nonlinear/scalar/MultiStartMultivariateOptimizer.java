@@ -25,11 +25,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.optim.BaseMultiStartMultivariateOptimizer;
+import org.hipparchus.optim.OptimizationData;
 import org.hipparchus.optim.PointValuePair;
+import org.hipparchus.optim.SharedEvaluationBudget;
+import org.hipparchus.optim.nonlinear.scalar.noderiv.AbstractSimplex;
 import org.hipparchus.random.RandomVectorGenerator;
 
 /**
@@ -38,6 +43,10 @@ import org.hipparchus.random.RandomVectorGenerator;
  * This class wraps an optimizer in order to use it several times in
  * turn with different starting points (trying to avoid being trapped
  * in a local extremum when looking for a global one).
+ * <p>
+ * Starts can be run in parallel, see {@link
+ * #MultiStartMultivariateOptimizer(Supplier, int, RandomVectorGenerator, ForkJoinPool)}.
+ * </p>
  *
  */
 public class MultiStartMultivariateOptimizer
@@ -63,7 +72,57 @@ public class MultiStartMultivariateOptimizer
                                            final int starts,
                                            final RandomVectorGenerator generator)
         throws MathIllegalArgumentException, NullArgumentException {
-        super(optimizer, starts, generator);
+        this(optimizer, null, starts, generator, null);
+    }
+
+    /**
+     * Create a multi-start optimizer running starts in parallel.
+     * <p>
+     * The factory is called once for each start, in the calling thread, so
+     * each start uses its own optimizer instance. The start points are drawn
+     * from the generator before the optimizations are launched and the optima
+     * are gathered in start order, so the results are the same as in serial
+     * mode for a given generator seed. The objective function is shared by all
+     * starts and must be thread-safe. The {@link org.hipparchus.optim.MaxEval
+     * maximum number of evaluations} is a budget shared by all starts; if it
+     * is exhausted, which starts fail depends on thread scheduling.
+     * </p>
+     *
+     * @param factory factory for single-start optimizers
+     * @param starts Number of starts to perform.
+     * If {@code starts == 1}, the result will be same as if an optimizer
+     * built by the factory is called directly.
+     * @param generator Random vector generator to use for restarts.
+     * @param pool pool to use (if null, starts are run serially in the calling
+     * thread, all with the same optimizer instance)
+     * @throws NullArgumentException if {@code factory} or {@code generator}
+     * is {@code null}.
+     * @throws MathIllegalArgumentException if {@code starts < 1}.
+     * @since 1.9
+     */
+    public MultiStartMultivariateOptimizer(final Supplier<? extends MultivariateOptimizer> factory,
+                                           final int starts,
+                                           final RandomVectorGenerator generator,
+                                           final ForkJoinPool pool)
+        throws MathIllegalArgumentException, NullArgumentException {
+        this(factory.get(), factory, starts, generator, pool);
+    }
+
+    /**
+     * Create a multi-start optimizer.
+     *
+     * @param optimizer Single-start optimizer to wrap.
+     * @param factory factory for single-start optimizers (may be null in serial mode)
+     * @param starts Number of starts to perform.
+     * @param generator Random vector generator to use for restarts.
+     * @param pool pool to use (if null, starts are run serially in the calling thread)
+     */
+    private MultiStartMultivariateOptimizer(final MultivariateOptimizer optimizer,
+                                            final Supplier<? extends MultivariateOptimizer> factory,
+                                            final int starts,
+                                            final RandomVectorGenerator generator,
+                                            final ForkJoinPool pool) {
+        super(optimizer, factory, starts, generator, pool);
         this.optimizer = optimizer;
         this.optima   = new ArrayList<>();
     }
@@ -93,6 +152,40 @@ public class MultiStartMultivariateOptimizer
         optima.clear();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@link ObjectiveFunction} and {@link BatchObjectiveFunction} are
+     * wrapped so that they charge each evaluation to the shared budget, and
+     * {@link AbstractSimplex simplices} are copied as they are updated in
+     * place during optimization.
+     * </p>
+     */
+    @Override
+    protected OptimizationData prepareStartData(final OptimizationData data,
+                                                     final SharedEvaluationBudget budget) {
+        if (data instanceof ObjectiveFunction) {
+            final ObjectiveFunction objective = (ObjectiveFunction) data;
+            return new ObjectiveFunction(point -> {
+                budget.consume();
+                return objective.getObjectiveFunction().value(point);
+            });
+        }
+        if (data instanceof BatchObjectiveFunction) {
+            final BatchObjectiveFunction objective = (BatchObjectiveFunction) data;
+            return new BatchObjectiveFunction(points -> {
+                for (int i = 0; i < points.length; ++i) {
+                    budget.consume();
+                }
+                return objective.getObjectiveFunction().value(points);
+            });
+        }
+        if (data instanceof AbstractSimplex) {
+            return ((AbstractSimplex) data).copy();
+        }
+        return data;
+    }
+
     /**
      * @return a comparator for sorting the optima.
      */
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.nonlinear.scalar;
+
+/**
+ * Scalar function of several variables evaluated at several points at once.
+ * <p>
+ * Optimizers that generate several candidate points before needing their
+ * values (like {@link org.hipparchus.optim.nonlinear.scalar.noderiv.CMAESOptimizer
+ * CMA-ES} for its population, or the simplex methods when building or shrinking
+ * the simplex) use this interface to hand all points to the user in one call.
+ * The implementation is then free to evaluate them concurrently or in a single
+ * vectorized computation, see for example {@link ParallelBatchFunction}.
+ * </p>
+ * @see BatchObjectiveFunction
+ * @since 1.9
+ */
+@FunctionalInterface
+public interface MultivariateBatchFunction {
+
+    /** Compute the values of the function at several points.
+     * @param points points at which the function must be evaluated,
+     * {@code points[i]} being the i<sup>th</sup> point (the arrays must not be modified)
+     * @return values of the function, the i<sup>th</sup> element corresponding to {@code points[i]}
+     */
+    double[] value(double[][] points);
+
+}
@@ -22,6 +22,8 @@
 package org.hipparchus.optim.nonlinear.scalar;
 
 import org.hipparchus.analysis.MultivariateFunction;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.optim.BaseMultivariateOptimizer;
 import org.hipparchus.optim.ConvergenceChecker;
@@ -36,6 +38,8 @@ public abstract class MultivariateOptimizer
     extends BaseMultivariateOptimizer<PointValuePair> {
     /** Objective function. */
     private MultivariateFunction function;
+    /** Objective function evaluated by batches (may be null). */
+    private MultivariateBatchFunction batchFunction;
     /** Type of optimization. */
     private GoalType goal;
 
@@ -54,6 +58,7 @@ public abstract class MultivariateOptimizer
      * BaseMultivariateOptimizer}, this method will register the following data:
      * <ul>
      *  <li>{@link ObjectiveFunction}</li>
+     *  <li>{@link BatchObjectiveFunction}</li>
      *  <li>{@link GoalType}</li>
      * </ul>
      * @return {@inheritDoc}
@@ -75,6 +80,7 @@ public abstract class MultivariateOptimizer
      * The following data will be looked for:
      * <ul>
      *  <li>{@link ObjectiveFunction}</li>
+     *  <li>{@link BatchObjectiveFunction}</li>
      *  <li>{@link GoalType}</li>
      * </ul>
      */
@@ -84,7 +90,16 @@ public abstract class MultivariateOptimizer
         super.parseOptimizationData(optData);
 
         // The existing values (as set by the previous call) are reused if
-        // not provided in the argument list.
+        // not provided in the argument list. The scalar and batch objective
+        // functions are however replaced together, so both evaluation paths
+        // always use the same objective.
+        for (OptimizationData data : optData) {
+            if (data instanceof ObjectiveFunction || data instanceof BatchObjectiveFunction) {
+                function      = null;
+                batchFunction = null;
+                break;
+            }
+        }
         for (OptimizationData data : optData) {
             if (data instanceof GoalType) {
                 goal = (GoalType) data;
@@ -94,6 +109,10 @@ public abstract class MultivariateOptimizer
                 function = ((ObjectiveFunction) data).getObjectiveFunction();
                 continue;
             }
+            if (data instanceof BatchObjectiveFunction) {
+                batchFunction = ((BatchObjectiveFunction) data).getObjectiveFunction();
+                continue;
+            }
         }
     }
 
@@ -112,10 +131,75 @@ public abstract class MultivariateOptimizer
      * @param params Point at which the objective function must be evaluated.
      * @return the objective function value at the specified point.
      * @throws MathIllegalStateException if the maximal number of
-     * evaluations is exceeded.
+     * evaluations is exceeded, or if no objective function has been provided.
      */
     public double computeObjectiveValue(double[] params) {
+        checkObjective();
         super.incrementEvaluationCount();
+        if (function == null) {
+            return evaluateBatch(new double[][] { params })[0];
+        }
         return function.value(params);
     }
+
+    /**
+     * Computes the objective function values at several points.
+     * <p>
+     * If a {@link BatchObjectiveFunction} has been provided, all points are
+     * handed to it in one call, otherwise they are evaluated one at a time.
+     * Each point counts as one evaluation, and the evaluation counter limit
+     * is enforced before any point is evaluated.
+     * </p>
+     *
+     * @param points Points at which the objective function must be evaluated.
+     * @return the objective function values at the specified points.
+     * @throws MathIllegalStateException if the maximal number of
+     * evaluations is exceeded, or if no objective function has been provided.
+     * @throws MathIllegalArgumentException if the batch function does not
+     * return one value per point.
+     * @since 1.9
+     */
+    public double[] computeObjectiveValues(double[][] points) {
+        checkObjective();
+        for (int i = 0; i < points.length; ++i) {
+            super.incrementEvaluationCount();
+        }
+        if (batchFunction != null) {
+            return evaluateBatch(points);
+        }
+        final double[] values = new double[points.length];
+        for (int i = 0; i < points.length; ++i) {
+            values[i] = function.value(points[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Check an objective function has been provided.
+     *
+     * @throws MathIllegalStateException if neither an {@link ObjectiveFunction}
+     * nor a {@link BatchObjectiveFunction} has been provided.
+     */
+    private void checkObjective() {
+        if (function == null && batchFunction == null) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.NULL_NOT_ALLOWED);
+        }
+    }
+
+    /**
+     * Evaluate the batch function, checking its output size.
+     *
+     * @param points Points at which the objective function must be evaluated.
+     * @return the objective function values at the specified points.
+     * @throws MathIllegalArgumentException if the batch function does not
+     * return one value per point.
+     */
+    private double[] evaluateBatch(final double[][] points) {
+        final double[] values = batchFunction.value(points);
+        if (values.length != points.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   values.length, points.length);
+        }
+        return values;
+    }
 }
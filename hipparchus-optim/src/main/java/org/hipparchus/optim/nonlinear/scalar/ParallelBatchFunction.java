@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.nonlinear.scalar;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.analysis.MultivariateFunction;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.ParallelUtils;
+
+/**
+ * Batch function evaluating a regular function at all points concurrently.
+ * <p>
+ * Each point of a batch is a separate task submitted to the pool, so this
+ * evaluator is worthwhile when single evaluations are expensive (for example
+ * when each of them runs a simulation). The underlying function must be
+ * thread-safe.
+ * </p>
+ * @since 1.9
+ */
+public class ParallelBatchFunction implements MultivariateBatchFunction {
+
+    /** Underlying function. */
+    private final MultivariateFunction function;
+
+    /** Pool to use. */
+    private final ForkJoinPool pool;
+
+    /** Simple constructor.
+     * @param function underlying function (must be thread-safe)
+     * @param pool pool to use (if null, points are evaluated serially in the calling thread)
+     * @exception NullArgumentException if {@code function} is null
+     */
+    public ParallelBatchFunction(final MultivariateFunction function, final ForkJoinPool pool) {
+        MathUtils.checkNotNull(function);
+        this.function = function;
+        this.pool     = pool;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] value(final double[][] points) {
+        final double[] values = new double[points.length];
+        ParallelUtils.forEach(pool, 0, points.length, 1, i -> values[i] = function.value(points[i]));
+        return values;
+    }
+
+}
@@ -28,10 +28,12 @@ import java.util.Comparator;
 import org.hipparchus.analysis.MultivariateFunction;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.optim.LocalizedOptimFormats;
 import org.hipparchus.optim.OptimizationData;
 import org.hipparchus.optim.PointValuePair;
+import org.hipparchus.optim.nonlinear.scalar.MultivariateBatchFunction;
 import org.hipparchus.util.MathUtils;
 
 /**
@@ -49,7 +51,7 @@ import org.hipparchus.util.MathUtils;
  *
  * @see SimplexOptimizer
  */
-public abstract class AbstractSimplex implements OptimizationData {
+public abstract class AbstractSimplex implements OptimizationData, Cloneable {
     /** Simplex. */
     private PointValuePair[] simplex;
     /** Start simplex configuration. */
@@ -196,6 +198,30 @@ public abstract class AbstractSimplex implements OptimizationData {
         return simplex.length;
     }
 
+    /**
+     * Create an independent copy of this simplex.
+     * <p>
+     * The copy shares the (immutable) start configuration but has its own
+     * vertices, so it can be used by another optimizer concurrently, for
+     * example by each start of a parallel multi-start optimization.
+     * </p>
+     *
+     * @return a copy of this simplex
+     * @since 1.9
+     */
+    public AbstractSimplex copy() {
+        try {
+            final AbstractSimplex copy = (AbstractSimplex) super.clone();
+            if (simplex != null) {
+                copy.simplex = simplex.clone();
+            }
+            return copy;
+        } catch (CloneNotSupportedException cnse) {
+            // this should never happen as the class is Cloneable
+            throw MathRuntimeException.createInternalError(cnse);
+        }
+    }
+
     /**
      * Compute the next simplex of the algorithm.
      *
@@ -238,6 +264,10 @@ public abstract class AbstractSimplex implements OptimizationData {
 
     /**
      * Evaluate all the non-evaluated points of the simplex.
+     * <p>
+     * If {@code evaluationFunction} also implements {@link MultivariateBatchFunction},
+     * all non-evaluated points are evaluated in a single batch call.
+     * </p>
      *
      * @param evaluationFunction Evaluation function.
      * @param comparator Comparator to use to sort simplex vertices from best to worst.
@@ -246,12 +276,33 @@ public abstract class AbstractSimplex implements OptimizationData {
      */
     public void evaluate(final MultivariateFunction evaluationFunction,
                          final Comparator<PointValuePair> comparator) {
-        // Evaluate the objective function at all non-evaluated simplex points.
-        for (int i = 0; i < simplex.length; i++) {
-            final PointValuePair vertex = simplex[i];
-            final double[] point = vertex.getPointRef();
-            if (Double.isNaN(vertex.getValue())) {
-                simplex[i] = new PointValuePair(point, evaluationFunction.value(point), false);
+        if (evaluationFunction instanceof MultivariateBatchFunction) {
+            // Gather the non-evaluated simplex points and evaluate them at once.
+            final int[] indices = new int[simplex.length];
+            int n = 0;
+            for (int i = 0; i < simplex.length; i++) {
+                if (Double.isNaN(simplex[i].getValue())) {
+                    indices[n++] = i;
+                }
+            }
+            if (n > 0) {
+                final double[][] points = new double[n][];
+                for (int k = 0; k < n; k++) {
+                    points[k] = simplex[indices[k]].getPointRef();
+                }
+                final double[] values = ((MultivariateBatchFunction) evaluationFunction).value(points);
+                for (int k = 0; k < n; k++) {
+                    simplex[indices[k]] = new PointValuePair(points[k], values[k], false);
+                }
+            }
+        } else {
+            // Evaluate the objective function at all non-evaluated simplex points.
+            for (int i = 0; i < simplex.length; i++) {
+                final PointValuePair vertex = simplex[i];
+                final double[] point = vertex.getPointRef();
+                if (Double.isNaN(vertex.getValue())) {
+                    simplex[i] = new PointValuePair(point, evaluationFunction.value(point), false);
+                }
             }
         }
 
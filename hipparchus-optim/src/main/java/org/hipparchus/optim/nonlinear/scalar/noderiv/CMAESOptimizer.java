@@ -71,6 +71,20 @@ import org.hipparchus.util.FastMath;
  * This implementation is translated and adapted from the Matlab version
  * of the CMA-ES algorithm as implemented in module {@code cmaes.m} version 3.51.
  * <p>
+ * All offspring of a generation are evaluated in one call to
+ * {@link #computeObjectiveValues(double[][])}, so providing a
+ * {@link org.hipparchus.optim.nonlinear.scalar.BatchObjectiveFunction
+ * BatchObjectiveFunction} allows to evaluate the population concurrently.
+ * <p>
+ * The internal state is held in arrays allocated once per optimization. The
+ * covariance matrix is updated in place by the rank-one and rank-&mu; updates,
+ * and its eigen decomposition is refreshed only once every
+ * {@code 1 / (c1 + cmu) / n / 10} generations, which is every generation in
+ * small dimensions but much less often in large ones. Setting the
+ * {@code diagonalOnly} constructor parameter to 1 selects the separable
+ * variant (sep-CMA-ES), which keeps the covariance matrix diagonal and has
+ * linear time and space complexity with respect to the dimension.
+ * <p>
  * For more information, please refer to the following links:
  * <ul>
  *  <li><a href="http://www.lri.fr/~hansen/cmaes.m">Matlab code</a></li>
@@ -143,7 +157,7 @@ public class CMAESOptimizer
     /** log(mu + 0.5), stored for efficiency. */
     private double logMu2;   // NOPMD - using a field here is for performance reasons
     /** Array for weighted recombination. */
-    private RealMatrix weights;
+    private double[] weights;
     /** Variance-effectiveness of sum w_i x_i. */
     private double mueff; //
 
@@ -169,28 +183,62 @@ public class CMAESOptimizer
 
     // CMA internal values - updated each generation
     /** Objective variables. */
-    private RealMatrix xmean;
+    private double[] xmean;
+    /** Objective variables of the previous generation. */
+    private double[] xold;
     /** Evolution path. */
-    private RealMatrix pc;
+    private double[] pc;
     /** Evolution path for sigma. */
-    private RealMatrix ps;
+    private double[] ps;
     /** Norm of ps, stored for efficiency. */
     private double normps;
-    /** Coordinate system. */
-    private RealMatrix B;
-    /** Scaling. */
-    private RealMatrix D;
-    /** B*D, stored for efficiency. */
-    private RealMatrix BD;
+    /** Coordinate system (null while the covariance matrix is diagonal). */
+    private double[][] B;
+    /** B*D, stored for efficiency (null while the covariance matrix is diagonal). */
+    private double[][] BD;
     /** Diagonal of sqrt(D), stored for efficiency. */
-    private RealMatrix diagD;
-    /** Covariance matrix. */
-    private RealMatrix C;
-    /** Diagonal of C, used for diagonalOnly. */
-    private RealMatrix diagC;
+    private double[] diagD;
+    /** Covariance matrix (null while the covariance matrix is diagonal). */
+    private double[][] C;
+    /** Diagonal of C. */
+    private double[] diagC;
+    /** Iteration at which B and D were last computed from C. */
+    private int lastDecomposition;
     /** Number of iterations already performed. */
     private int iterations;
 
+    // work arrays, allocated once per optimization
+    /** Gaussian random values of the offspring, one row per offspring. */
+    private double[][] arz;
+    /** Offspring, one row per offspring. */
+    private double[][] arx;
+    /** Offspring repaired to fit in the bounds, one row per offspring. */
+    private double[][] repaired;
+    /** Signed objective values of the offspring. */
+    private double[] values;
+    /** Signed penalties of the offspring. */
+    private double[] penalties;
+    /** Fitness of the offspring. */
+    private double[] fitness;
+    /** Indices of the offspring, sorted by fitness. */
+    private int[] arindex;
+    /** Weighted mean of the selected Gaussian random values. */
+    private double[] zmean;
+    /** Work vector of problem dimension. */
+    private double[] work;
+    /** Differences between the selected offspring and the previous mean, scaled by sigma. */
+    private double[][] arpos;
+    /** Norms of the worst Gaussian random values (active CMA). */
+    private double[] arnorms;
+    /** Indices sorting {@link #arnorms} (active CMA). */
+    private int[] idxnorms;
+    /** Directions of the negative update, one row per worst offspring (active CMA). */
+    private double[][] artmp;
+    /** Lower bounds. */
+    private double[] lB;
+    /** Upper bounds. */
+    private double[] uB;
+
     /** History queue of best values. */
     private double[] fitnessHistory;
 
@@ -378,8 +426,7 @@ public class CMAESOptimizer
         dimension = guess.length;
         initializeCMA(guess);
         iterations = 0;
-        ValuePenaltyPair valuePenalty = fitfun.value(guess);
-        double bestValue = valuePenalty.value+valuePenalty.penalty;
+        double bestValue = fitfun.value(guess);
         push(fitnessHistory, bestValue);
         PointValuePair optimum
             = new PointValuePair(getStartPoint(),
@@ -393,55 +440,70 @@ public class CMAESOptimizer
             incrementIterationCount();
 
             // Generate and evaluate lambda offspring
-            final RealMatrix arz = randn1(dimension, lambda);
-            final RealMatrix arx = zeros(dimension, lambda);
-            final double[] fitness = new double[lambda];
-            final ValuePenaltyPair[] valuePenaltyPairs = new ValuePenaltyPair[lambda];
+            randn1(arz);
             // generate random offspring
             for (int k = 0; k < lambda; k++) {
-                RealMatrix arxk = null;
+                final double[] arzk = arz[k];
+                final double[] arxk = arx[k];
                 for (int i = 0; i < checkFeasableCount + 1; i++) {
                     if (diagonalOnly <= 0) {
-                        arxk = xmean.add(BD.multiply(arz.getColumnMatrix(k))
-                                         .scalarMultiply(sigma)); // m + sig * Normal(0,C)
+                        for (int r = 0; r < dimension; r++) {
+                            final double[] bdr = BD[r];
+                            double y = 0;
+                            for (int c = 0; c < dimension; c++) {
+                                y += bdr[c] * arzk[c];
+                            }
+                            arxk[r] = xmean[r] + y * sigma; // m + sig * Normal(0,C)
+                        }
                     } else {
-                        arxk = xmean.add(times(diagD,arz.getColumnMatrix(k))
-                                         .scalarMultiply(sigma));
+                        for (int r = 0; r < dimension; r++) {
+                            arxk[r] = xmean[r] + diagD[r] * arzk[r] * sigma;
+                        }
                     }
                     if (i >= checkFeasableCount ||
-                        fitfun.isFeasible(arxk.getColumn(0))) {
+                        fitfun.isFeasible(arxk)) {
                         break;
                     }
                     // regenerate random arguments for row
-                    arz.setColumn(k, randn(dimension));
-                }
-                copyColumn(arxk, 0, arx, k);
-                try {
-                    valuePenaltyPairs[k] = fitfun.value(arx.getColumn(k)); // compute fitness
-                } catch (MathIllegalStateException e) {
-                    break generationLoop;
+                    randn(arzk);
                 }
             }
 
+            // compute fitness of all offspring at once
+            try {
+                fitfun.values(arx);
+            } catch (MathIllegalStateException e) {
+                break generationLoop;
+            }
+
             // Compute fitnesses by adding value and penalty after scaling by value range.
-            double valueRange = valueRange(valuePenaltyPairs);
-            for (int iValue=0;iValue<valuePenaltyPairs.length;iValue++) {
-                 fitness[iValue] = valuePenaltyPairs[iValue].value + valuePenaltyPairs[iValue].penalty*valueRange;
+            final double valueRange = valueRange(values);
+            for (int k = 0; k < lambda; k++) {
+                fitness[k] = values[k] + penalties[k] * valueRange;
             }
 
             // Sort by fitness and compute weighted mean into xmean
-            final int[] arindex = sortedIndices(fitness);
+            sortedIndices(fitness, arindex);
             // Calculate new xmean, this is selection and recombination
-            final RealMatrix xold = xmean; // for speed up of Eq. (2) and (3)
-            final RealMatrix bestArx = selectColumns(arx, Arrays.copyOf(arindex, mu));
-            xmean = bestArx.multiply(weights);
-            final RealMatrix bestArz = selectColumns(arz, Arrays.copyOf(arindex, mu));
-            final RealMatrix zmean = bestArz.multiply(weights);
-            final boolean hsig = updateEvolutionPaths(zmean, xold);
+            final double[] swap = xold;
+            xold = xmean; // for speed up of Eq. (2) and (3)
+            xmean = swap;
+            Arrays.fill(xmean, 0.0);
+            Arrays.fill(zmean, 0.0);
+            for (int j = 0; j < mu; j++) {
+                final double   wj    = weights[j];
+                final double[] arxj  = arx[arindex[j]];
+                final double[] arzj  = arz[arindex[j]];
+                for (int r = 0; r < dimension; r++) {
+                    xmean[r] += wj * arxj[r];
+                    zmean[r] += wj * arzj[r];
+                }
+            }
+            final boolean hsig = updateEvolutionPaths();
             if (diagonalOnly <= 0) {
-                updateCovariance(hsig, bestArx, arz, arindex, xold);
+                updateCovariance(hsig);
             } else {
-                updateCovarianceDiagonalOnly(hsig, bestArz);
+                updateCovarianceDiagonalOnly(hsig);
             }
             // Adapt step size sigma - Eq. (5)
             sigma *= FastMath.exp(FastMath.min(1, (normps/chiN - 1) * cs / damps));
@@ -450,7 +512,7 @@ public class CMAESOptimizer
             if (bestValue > bestFitness) {
                 bestValue = bestFitness;
                 lastResult = optimum;
-                optimum = new PointValuePair(fitfun.repair(bestArx.getColumn(0)),
+                optimum = new PointValuePair(fitfun.repair(arx[arindex[0]]),
                                              isMinimize ? bestFitness : -bestFitness);
                 if (getConvergenceChecker() != null && lastResult != null &&
                     getConvergenceChecker().converged(iterations, optimum, lastResult)) {
@@ -462,10 +524,8 @@ public class CMAESOptimizer
             if (stopFitness != 0 && bestFitness < (isMinimize ? stopFitness : -stopFitness)) {
                 break generationLoop;
             }
-            final double[] sqrtDiagC = sqrt(diagC).getColumn(0);
-            final double[] pcCol = pc.getColumn(0);
             for (int i = 0; i < dimension; i++) {
-                if (sigma * FastMath.max(FastMath.abs(pcCol[i]), sqrtDiagC[i]) > stopTolX) {
+                if (sigma * FastMath.max(FastMath.abs(pc[i]), FastMath.sqrt(diagC[i])) > stopTolX) {
                     break;
                 }
                 if (i >= dimension - 1) {
@@ -473,7 +533,7 @@ public class CMAESOptimizer
                 }
             }
             for (int i = 0; i < dimension; i++) {
-                if (sigma * sqrtDiagC[i] > stopTolUpX) {
+                if (sigma * FastMath.sqrt(diagC[i]) > stopTolUpX) {
                     break generationLoop;
                 }
             }
@@ -495,7 +555,7 @@ public class CMAESOptimizer
             // user defined termination
             if (getConvergenceChecker() != null) {
                 final PointValuePair current
-                    = new PointValuePair(bestArx.getColumn(0),
+                    = new PointValuePair(arx[arindex[0]],
                                          isMinimize ? bestFitness : -bestFitness);
                 if (lastResult != null &&
                     getConvergenceChecker().converged(iterations, current, lastResult)) {
@@ -516,8 +576,8 @@ public class CMAESOptimizer
             if (generateStatistics) {
                 statisticsSigmaHistory.add(sigma);
                 statisticsFitnessHistory.add(bestFitness);
-                statisticsMeanHistory.add(xmean.transpose());
-                statisticsDHistory.add(diagD.transpose().scalarMultiply(1E5));
+                statisticsMeanHistory.add(MatrixUtils.createRowRealMatrix(xmean));
+                statisticsDHistory.add(MatrixUtils.createRowRealMatrix(diagD).scalarMultiply(1E5));
             }
         }
         return optimum;
@@ -589,31 +649,29 @@ public class CMAESOptimizer
                                                    lambda, 0);
         }
         // initialize sigma
-        final double[][] sigmaArray = new double[guess.length][1];
-        for (int i = 0; i < guess.length; i++) {
-            sigmaArray[i][0] = inputSigma[i];
-        }
-        final RealMatrix insigma = new Array2DRowRealMatrix(sigmaArray, false);
-        sigma = max(insigma); // overall standard deviation
+        sigma = max(inputSigma); // overall standard deviation
 
         // initialize termination criteria
-        stopTolUpX = 1e3 * max(insigma);
-        stopTolX = 1e-11 * max(insigma);
+        stopTolUpX = 1e3 * sigma;
+        stopTolX = 1e-11 * sigma;
         stopTolFun = 1e-12;
         stopTolHistFun = 1e-13;
 
         // initialize selection strategy parameters
         mu = lambda / 2; // number of parents/points for recombination
         logMu2 = FastMath.log(mu + 0.5);
-        weights = log(sequence(1, mu, 1)).scalarMultiply(-1).scalarAdd(logMu2);
+        weights = new double[mu];
         double sumw = 0;
         double sumwq = 0;
         for (int i = 0; i < mu; i++) {
-            double w = weights.getEntry(i, 0);
+            final double w = logMu2 - FastMath.log(i + 1);
+            weights[i] = w;
             sumw += w;
             sumwq += w * w;
         }
-        weights = weights.scalarMultiply(1 / sumw);
+        for (int i = 0; i < mu; i++) {
+            weights[i] *= 1 / sumw;
+        }
         mueff = sumw * sumw / sumwq; // variance-effectiveness of sum w_i x_i
 
         // initialize dynamic strategy parameters and constants
@@ -632,97 +690,159 @@ public class CMAESOptimizer
         chiN = FastMath.sqrt(dimension) *
                 (1 - 1 / ((double) 4 * dimension) + 1 / ((double) 21 * dimension * dimension));
         // intialize CMA internal values - updated each generation
-        xmean = MatrixUtils.createColumnRealMatrix(guess); // objective variables
-        diagD = insigma.scalarMultiply(1 / sigma);
-        diagC = square(diagD);
-        pc = zeros(dimension, 1); // evolution paths for C and sigma
-        ps = zeros(dimension, 1); // B defines the coordinate system
-        normps = ps.getFrobeniusNorm();
-
-        B = eye(dimension, dimension);
-        D = ones(dimension, 1); // diagonal D defines the scaling
-        BD = times(B, repmat(diagD.transpose(), dimension, 1));
-        C = B.multiply(diag(square(D)).multiply(B.transpose())); // covariance
+        xmean = guess.clone(); // objective variables
+        xold  = new double[dimension];
+        diagD = new double[dimension];
+        diagC = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            diagD[i] = inputSigma[i] * (1 / sigma);
+            diagC[i] = diagD[i] * diagD[i];
+        }
+        pc = new double[dimension]; // evolution paths for C and sigma
+        ps = new double[dimension];
+        normps = 0;
+
+        // the full covariance matrix is only needed if it is not kept diagonal
+        B  = null;
+        BD = null;
+        C  = null;
+        if (diagonalOnly <= 0) {
+            // B defines the coordinate system, the diagonal D (all ones) defines the scaling
+            B  = new double[dimension][dimension];
+            BD = new double[dimension][dimension];
+            C  = new double[dimension][dimension];
+            for (int i = 0; i < dimension; i++) {
+                B[i][i]  = 1;
+                BD[i][i] = diagD[i];
+                C[i][i]  = 1;
+            }
+        }
+        lastDecomposition = 0;
+
         final int historySize = 10 + (int) (3 * 10 * dimension / (double) lambda);
         fitnessHistory = new double[historySize]; // history of fitness values
         for (int i = 0; i < historySize; i++) {
             fitnessHistory[i] = Double.MAX_VALUE;
         }
+
+        // work arrays
+        arz       = new double[lambda][dimension];
+        arx       = new double[lambda][dimension];
+        repaired  = new double[lambda][dimension];
+        values    = new double[lambda];
+        penalties = new double[lambda];
+        fitness   = new double[lambda];
+        arindex   = new int[lambda];
+        zmean     = new double[dimension];
+        work      = new double[dimension];
+        arnorms   = new double[mu];
+        idxnorms  = new int[mu];
+        arpos     = new double[mu][dimension];
+        artmp     = isActiveCMA ? new double[mu][dimension] : null;
+        lB        = getLowerBound();
+        uB        = getUpperBound();
     }
 
     /**
      * Update of the evolution paths ps and pc.
      *
-     * @param zmean Weighted row matrix of the gaussian random numbers generating
-     * the current offspring.
-     * @param xold xmean matrix of the previous generation.
      * @return hsig flag indicating a small correction.
      */
-    private boolean updateEvolutionPaths(RealMatrix zmean, RealMatrix xold) {
-        ps = ps.scalarMultiply(1 - cs).add(
-                B.multiply(zmean).scalarMultiply(
-                        FastMath.sqrt(cs * (2 - cs) * mueff)));
-        normps = ps.getFrobeniusNorm();
+    private boolean updateEvolutionPaths() {
+        final double psFactor = FastMath.sqrt(cs * (2 - cs) * mueff);
+        double normps2 = 0;
+        for (int r = 0; r < dimension; r++) {
+            // B is the identity while the covariance matrix is diagonal
+            double bz = zmean[r];
+            if (B != null) {
+                final double[] br = B[r];
+                bz = 0;
+                for (int c = 0; c < dimension; c++) {
+                    bz += br[c] * zmean[c];
+                }
+            }
+            ps[r] = ps[r] * (1 - cs) + bz * psFactor;
+            normps2 += ps[r] * ps[r];
+        }
+        normps = FastMath.sqrt(normps2);
         final boolean hsig = normps /
             FastMath.sqrt(1 - FastMath.pow(1 - cs, 2 * iterations)) /
             chiN < 1.4 + 2 / ((double) dimension + 1);
-        pc = pc.scalarMultiply(1 - cc);
-        if (hsig) {
-            pc = pc.add(xmean.subtract(xold).scalarMultiply(FastMath.sqrt(cc * (2 - cc) * mueff) / sigma));
+        final double pcFactor = FastMath.sqrt(cc * (2 - cc) * mueff) / sigma;
+        for (int r = 0; r < dimension; r++) {
+            pc[r] *= 1 - cc;
+            if (hsig) {
+                pc[r] += (xmean[r] - xold[r]) * pcFactor;
+            }
         }
         return hsig;
     }
 
     /**
      * Update of the covariance matrix C for diagonalOnly > 0
+     * <p>
+     * This is the separable CMA-ES (sep-CMA-ES), which has linear time
+     * and space complexity with respect to the problem dimension.
+     * </p>
      *
      * @param hsig Flag indicating a small correction.
-     * @param bestArz Fitness-sorted matrix of the gaussian random values of the
-     * current offspring.
      */
-    private void updateCovarianceDiagonalOnly(boolean hsig,
-                                              final RealMatrix bestArz) {
+    private void updateCovarianceDiagonalOnly(boolean hsig) {
         // minor correction if hsig==false
         double oldFac = hsig ? 0 : ccov1Sep * cc * (2 - cc);
         oldFac += 1 - ccov1Sep - ccovmuSep;
-        diagC = diagC.scalarMultiply(oldFac) // regard old matrix
-            .add(square(pc).scalarMultiply(ccov1Sep)) // plus rank one update
-            .add((times(diagC, square(bestArz).multiply(weights))) // plus rank mu update
-                 .scalarMultiply(ccovmuSep));
-        diagD = sqrt(diagC); // replaces eig(C)
+        for (int r = 0; r < dimension; r++) {
+            double rankMu = 0;
+            for (int j = 0; j < mu; j++) {
+                final double z = arz[arindex[j]][r];
+                rankMu += z * z * weights[j];
+            }
+            diagC[r] = diagC[r] * oldFac          // regard old matrix
+                     + pc[r] * pc[r] * ccov1Sep    // plus rank one update
+                     + diagC[r] * rankMu * ccovmuSep; // plus rank mu update
+            diagD[r] = FastMath.sqrt(diagC[r]); // replaces eig(C)
+        }
         if (diagonalOnly > 1 &&
             iterations > diagonalOnly) {
             // full covariance matrix from now on
             diagonalOnly = 0;
-            B = eye(dimension, dimension);
-            BD = diag(diagD);
-            C = diag(diagC);
+            B  = new double[dimension][dimension];
+            BD = new double[dimension][dimension];
+            C  = new double[dimension][dimension];
+            for (int i = 0; i < dimension; i++) {
+                B[i][i]  = 1;
+                BD[i][i] = diagD[i];
+                C[i][i]  = diagC[i];
+            }
+            lastDecomposition = iterations;
         }
     }
 
     /**
      * Update of the covariance matrix C.
+     * <p>
+     * The rank-one and rank-mu updates are applied in place, only the upper
+     * triangle is computed and mirrored to keep C exactly symmetric.
+     * </p>
      *
      * @param hsig Flag indicating a small correction.
-     * @param bestArx Fitness-sorted matrix of the argument vectors producing the
-     * current offspring.
-     * @param arz Unsorted matrix containing the gaussian random values of the
-     * current offspring.
-     * @param arindex Indices indicating the fitness-order of the current offspring.
-     * @param xold xmean matrix of the previous generation.
      */
-    private void updateCovariance(boolean hsig, final RealMatrix bestArx,
-                                  final RealMatrix arz, final int[] arindex,
-                                  final RealMatrix xold) {
+    private void updateCovariance(boolean hsig) {
         double negccov = 0;
         if (ccov1 + ccovmu > 0) {
-            final RealMatrix arpos = bestArx.subtract(repmat(xold, 1, mu))
-                .scalarMultiply(1 / sigma); // mu difference vectors
-            final RealMatrix roneu = pc.multiplyTransposed(pc)
-                .scalarMultiply(ccov1); // rank one update
+            final double invSigma = 1 / sigma;
+            // mu difference vectors
+            for (int j = 0; j < mu; j++) {
+                final double[] arxj   = arx[arindex[j]];
+                final double[] arposj = arpos[j];
+                for (int r = 0; r < dimension; r++) {
+                    arposj[r] = (arxj[r] - xold[r]) * invSigma;
+                }
+            }
             // minor correction if hsig==false
             double oldFac = hsig ? 0 : ccov1 * cc * (2 - cc);
             oldFac += 1 - ccov1 - ccovmu;
+            double posFactor = ccovmu;
             if (isActiveCMA) {
                 // Adapt covariance matrix C active CMA
                 negccov = (1 - ccovmu) * 0.25 * mueff /
@@ -733,40 +853,62 @@ public class CMAESOptimizer
                 // where to make up for the variance loss
                 final double negalphaold = 0.5;
                 // prepare vectors, compute negative updating matrix Cneg
-                final int[] arReverseIndex = reverse(arindex);
-                RealMatrix arzneg = selectColumns(arz, Arrays.copyOf(arReverseIndex, mu));
-                RealMatrix arnorms = sqrt(sumRows(square(arzneg)));
-                final int[] idxnorms = sortedIndices(arnorms.getRow(0));
-                final RealMatrix arnormsSorted = selectColumns(arnorms, idxnorms);
-                final int[] idxReverse = reverse(idxnorms);
-                final RealMatrix arnormsReverse = selectColumns(arnorms, idxReverse);
-                arnorms = divide(arnormsReverse, arnormsSorted);
-                final int[] idxInv = inverse(idxnorms);
-                final RealMatrix arnormsInv = selectColumns(arnorms, idxInv);
+                // from the mu worst offspring, worst first
+                for (int j = 0; j < mu; j++) {
+                    final double[] arzneg = arz[arindex[lambda - 1 - j]];
+                    double norm2 = 0;
+                    for (int r = 0; r < dimension; r++) {
+                        norm2 += arzneg[r] * arzneg[r];
+                    }
+                    arnorms[j] = FastMath.sqrt(norm2);
+                }
+                sortedIndices(arnorms, idxnorms);
+                // the norm of the vector with rank k is replaced by the norm with rank mu - 1 - k
+                double sumW = 0;
+                for (int k = 0; k < mu; k++) {
+                    final int    j      = idxnorms[k];
+                    final double factor = arnorms[idxnorms[mu - 1 - k]] / arnorms[j];
+                    final double[] arzneg = arz[arindex[lambda - 1 - j]];
+                    final double[] t      = artmp[j];
+                    for (int r = 0; r < dimension; r++) {
+                        final double[] bdr = BD[r];
+                        double s = 0;
+                        for (int c = 0; c < dimension; c++) {
+                            s += bdr[c] * arzneg[c];
+                        }
+                        t[r] = s * factor;
+                    }
+                    sumW += factor * factor * weights[j];
+                }
                 // check and set learning rate negccov
-                final double negcovMax = (1 - negminresidualvariance) /
-                    square(arnormsInv).multiply(weights).getEntry(0, 0);
+                final double negcovMax = (1 - negminresidualvariance) / sumW;
                 if (negccov > negcovMax) {
                     negccov = negcovMax;
                 }
-                arzneg = times(arzneg, repmat(arnormsInv, dimension, 1));
-                final RealMatrix artmp = BD.multiply(arzneg);
-                final RealMatrix Cneg = artmp.multiply(diag(weights)).multiply(artmp.transpose());
                 oldFac += negalphaold * negccov;
-                C = C.scalarMultiply(oldFac)
-                    .add(roneu) // regard old matrix
-                    .add(arpos.scalarMultiply( // plus rank one update
-                                              ccovmu + (1 - negalphaold) * negccov) // plus rank mu update
-                         .multiply(times(repmat(weights, 1, dimension),
-                                         arpos.transpose())))
-                    .subtract(Cneg.scalarMultiply(negccov));
-            } else {
-                // Adapt covariance matrix C - nonactive
-                C = C.scalarMultiply(oldFac) // regard old matrix
-                    .add(roneu) // plus rank one update
-                    .add(arpos.scalarMultiply(ccovmu) // plus rank mu update
-                         .multiply(times(repmat(weights, 1, dimension),
-                                         arpos.transpose())));
+                posFactor += (1 - negalphaold) * negccov;
+            }
+            for (int r = 0; r < dimension; r++) {
+                final double[] cr = C[r];
+                for (int c = r; c < dimension; c++) {
+                    double rankMu = 0;
+                    for (int j = 0; j < mu; j++) {
+                        rankMu += weights[j] * arpos[j][r] * arpos[j][c];
+                    }
+                    double cNew = cr[c] * oldFac        // regard old matrix
+                                + ccov1 * pc[r] * pc[c] // plus rank one update
+                                + posFactor * rankMu;   // plus rank mu update
+                    if (isActiveCMA) {
+                        double rankNeg = 0;
+                        for (int j = 0; j < mu; j++) {
+                            rankNeg += weights[j] * artmp[j][r] * artmp[j][c];
+                        }
+                        cNew -= negccov * rankNeg;
+                    }
+                    cr[c]    = cNew;
+                    C[c][r]  = cNew;
+                }
+                diagC[r] = cr[r];
             }
         }
         updateBD(negccov);
@@ -774,37 +916,59 @@ public class CMAESOptimizer
 
     /**
      * Update B and D from C.
+     * <p>
+     * The eigen decomposition is an O(n<sup>3</sup>) operation, so as suggested
+     * by Hansen it is performed only once every {@code 1 / (c1 + cmu) / n / 10}
+     * generations, which keeps the overall cost in O(n<sup>2</sup>) per generation.
+     * </p>
      *
      * @param negccov Negative covariance factor.
      */
     private void updateBD(double negccov) {
         if (ccov1 + ccovmu + negccov > 0 &&
-            (iterations % 1. / (ccov1 + ccovmu + negccov) / dimension / 10.) < 1) {
-            // to achieve O(N^2)
-            C = triu(C, 0).add(triu(C, 1).transpose());
-            // enforce symmetry to prevent complex numbers
-            final EigenDecomposition eig = new EigenDecomposition(C);
-            B = eig.getV(); // eigen decomposition, B==normalized eigenvectors
-            D = eig.getD();
-            diagD = diag(D);
+            iterations - lastDecomposition > 1. / (ccov1 + ccovmu + negccov) / dimension / 10.) {
+            lastDecomposition = iterations;
+            // C is kept exactly symmetric by the in-place update
+            final EigenDecomposition eig = new EigenDecomposition(new Array2DRowRealMatrix(C, false));
+            final RealMatrix v = eig.getV(); // eigen decomposition, B==normalized eigenvectors
+            for (int r = 0; r < dimension; r++) {
+                for (int c = 0; c < dimension; c++) {
+                    B[r][c] = v.getEntry(r, c);
+                }
+                diagD[r] = eig.getRealEigenvalue(r);
+            }
             if (min(diagD) <= 0) {
                 for (int i = 0; i < dimension; i++) {
-                    if (diagD.getEntry(i, 0) < 0) {
-                        diagD.setEntry(i, 0, 0);
+                    if (diagD[i] < 0) {
+                        diagD[i] = 0;
                     }
                 }
-                final double tfac = max(diagD) / 1e14;
-                C = C.add(eye(dimension, dimension).scalarMultiply(tfac));
-                diagD = diagD.add(ones(dimension, 1).scalarMultiply(tfac));
+                addToDiagonal(max(diagD) / 1e14);
             }
             if (max(diagD) > 1e14 * min(diagD)) {
-                final double tfac = max(diagD) / 1e14 - min(diagD);
-                C = C.add(eye(dimension, dimension).scalarMultiply(tfac));
-                diagD = diagD.add(ones(dimension, 1).scalarMultiply(tfac));
+                addToDiagonal(max(diagD) / 1e14 - min(diagD));
+            }
+            for (int r = 0; r < dimension; r++) {
+                diagC[r] = C[r][r];
+                diagD[r] = FastMath.sqrt(diagD[r]); // D contains standard deviations now
+            }
+            for (int r = 0; r < dimension; r++) {
+                for (int c = 0; c < dimension; c++) {
+                    BD[r][c] = B[r][c] * diagD[c]; // O(n^2)
+                }
             }
-            diagC = diag(C);
-            diagD = sqrt(diagD); // D contains standard deviations now
-            BD = times(B, repmat(diagD.transpose(), dimension, 1)); // O(n^2)
+        }
+    }
+
+    /**
+     * Add a constant to the diagonals of both C and D.
+     *
+     * @param tfac Constant to add.
+     */
+    private void addToDiagonal(final double tfac) {
+        for (int i = 0; i < dimension; i++) {
+            C[i][i]  += tfac;
+            diagD[i] += tfac;
         }
     }
 
@@ -823,109 +987,46 @@ public class CMAESOptimizer
 
     /**
      * Sorts fitness values.
+     * <p>
+     * The sort is stable, equal values keep their original order.
+     * </p>
      *
      * @param doubles Array of values to be sorted.
-     * @return a sorted array of indices pointing into doubles.
+     * @param indices Array where to put the sorted indices pointing into doubles.
      */
-    private int[] sortedIndices(final double[] doubles) {
-        final DoubleIndex[] dis = new DoubleIndex[doubles.length];
-        for (int i = 0; i < doubles.length; i++) {
-            dis[i] = new DoubleIndex(doubles[i], i);
-        }
-        Arrays.sort(dis);
-        final int[] indices = new int[doubles.length];
-        for (int i = 0; i < doubles.length; i++) {
-            indices[i] = dis[i].index;
+    private static void sortedIndices(final double[] doubles, final int[] indices) {
+        // insertion sort, populations are small and this avoids allocations
+        for (int i = 0; i < indices.length; i++) {
+            final double v = doubles[i];
+            int j = i;
+            while (j > 0 && Double.compare(doubles[indices[j - 1]], v) > 0) {
+                indices[j] = indices[j - 1];
+                --j;
+            }
+            indices[j] = i;
         }
-        return indices;
     }
-   /**
+
+    /**
      * Get range of values.
      *
-     * @param vpPairs Array of valuePenaltyPairs to get range from.
+     * @param vals Array of values to get range from.
      * @return a double equal to maximum value minus minimum value.
      */
-    private double valueRange(final ValuePenaltyPair[] vpPairs) {
+    private static double valueRange(final double[] vals) {
         double max = Double.NEGATIVE_INFINITY;
         double min = Double.MAX_VALUE;
-        for (ValuePenaltyPair vpPair:vpPairs) {
-            if (vpPair.value > max) {
-                max = vpPair.value;
+        for (final double v : vals) {
+            if (v > max) {
+                max = v;
             }
-            if (vpPair.value < min) {
-                min = vpPair.value;
+            if (v < min) {
+                min = v;
             }
         }
         return max-min;
     }
 
-    /**
-     * Used to sort fitness values. Sorting is always in lower value first
-     * order.
-     */
-    private static class DoubleIndex implements Comparable<DoubleIndex> {
-        /** Value to compare. */
-        private final double value;
-        /** Index into sorted array. */
-        private final int index;
-
-        /**
-         * @param value Value to compare.
-         * @param index Index into sorted array.
-         */
-        DoubleIndex(double value, int index) {
-            this.value = value;
-            this.index = index;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public int compareTo(DoubleIndex o) {
-            return Double.compare(value, o.value);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public boolean equals(Object other) {
-
-            if (this == other) {
-                return true;
-            }
-
-            if (other instanceof DoubleIndex) {
-                return Double.compare(value, ((DoubleIndex) other).value) == 0;
-            }
-
-            return false;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public int hashCode() {
-            long bits = Double.doubleToLongBits(value);
-            return (int) ((1438542 ^ (bits >>> 32) ^ bits) & 0xffffffff);
-        }
-    }
-    /**
-     * Stores the value and penalty (for repair of out of bounds point).
-     */
-    private static class ValuePenaltyPair {
-        /** Objective function value. */
-        private double value;
-        /** Penalty value for repair of out out of bounds points. */
-        private double penalty;
-
-        /**
-         * @param value Function value.
-         * @param penalty Out-of-bounds penalty.
-        */
-        ValuePenaltyPair(final double value, final double penalty) {
-            this.value   = value;
-            this.penalty = penalty;
-        }
-    }
-
-
     /**
      * Normalizes fitness values to the range [0,1]. Adds a penalty to the
      * fitness value if out of range.
@@ -947,19 +1048,43 @@ public class CMAESOptimizer
          * @param point Normalized objective variables.
          * @return the objective value + penalty for violated bounds.
          */
-        public ValuePenaltyPair value(final double[] point) {
+        public double value(final double[] point) {
             double value;
             double penalty=0.0;
             if (isRepairMode) {
-                double[] repaired = repair(point);
-                value = CMAESOptimizer.this.computeObjectiveValue(repaired);
-                penalty =  penalty(point, repaired);
+                double[] repairedPoint = repair(point);
+                value = CMAESOptimizer.this.computeObjectiveValue(repairedPoint);
+                penalty =  penalty(point, repairedPoint);
             } else {
                 value = CMAESOptimizer.this.computeObjectiveValue(point);
             }
             value = isMinimize ? value : -value;
             penalty = isMinimize ? penalty : -penalty;
-            return new ValuePenaltyPair(value,penalty);
+            return value + penalty;
+        }
+
+        /**
+         * Evaluate all offspring, storing the signed objective values and
+         * penalties in {@link CMAESOptimizer#values} and {@link CMAESOptimizer#penalties}.
+         *
+         * @param points Normalized objective variables, one point per row.
+         */
+        public void values(final double[][] points) {
+            final double[][] evaluated;
+            if (isRepairMode) {
+                for (int k = 0; k < points.length; k++) {
+                    repair(points[k], repaired[k]);
+                }
+                evaluated = repaired;
+            } else {
+                evaluated = points;
+            }
+            final double[] raw = CMAESOptimizer.this.computeObjectiveValues(evaluated);
+            for (int k = 0; k < points.length; k++) {
+                final double penalty = isRepairMode ? penalty(points[k], evaluated[k]) : 0.0;
+                values[k]    = isMinimize ? raw[k]  : -raw[k];
+                penalties[k] = isMinimize ? penalty : -penalty;
+            }
         }
 
         /**
@@ -967,9 +1092,6 @@ public class CMAESOptimizer
          * @return {@code true} if in bounds.
          */
         public boolean isFeasible(final double[] x) {
-            final double[] lB = CMAESOptimizer.this.getLowerBound();
-            final double[] uB = CMAESOptimizer.this.getUpperBound();
-
             for (int i = 0; i < x.length; i++) {
                 if (x[i] < lB[i]) {
                     return false;
@@ -986,301 +1108,43 @@ public class CMAESOptimizer
          * @return the repaired (i.e. all in bounds) objective variables.
          */
         private double[] repair(final double[] x) {
-            final double[] lB = CMAESOptimizer.this.getLowerBound();
-            final double[] uB = CMAESOptimizer.this.getUpperBound();
+            final double[] repairedPoint = new double[x.length];
+            repair(x, repairedPoint);
+            return repairedPoint;
+        }
 
-            final double[] repaired = new double[x.length];
+        /**
+         * @param x Normalized objective variables.
+         * @param repairedPoint Array where to put the repaired (i.e. all in bounds)
+         * objective variables.
+         */
+        private void repair(final double[] x, final double[] repairedPoint) {
             for (int i = 0; i < x.length; i++) {
                 if (x[i] < lB[i]) {
-                    repaired[i] = lB[i];
+                    repairedPoint[i] = lB[i];
                 } else if (x[i] > uB[i]) {
-                    repaired[i] = uB[i];
+                    repairedPoint[i] = uB[i];
                 } else {
-                    repaired[i] = x[i];
+                    repairedPoint[i] = x[i];
                 }
             }
-            return repaired;
         }
 
         /**
          * @param x Normalized objective variables.
-         * @param repaired Repaired objective variables.
+         * @param repairedPoint Repaired objective variables.
          * @return Penalty value according to the violation of the bounds.
          */
-        private double penalty(final double[] x, final double[] repaired) {
+        private double penalty(final double[] x, final double[] repairedPoint) {
             double penalty = 0;
             for (int i = 0; i < x.length; i++) {
-                double diff = FastMath.abs(x[i] - repaired[i]);
+                double diff = FastMath.abs(x[i] - repairedPoint[i]);
                 penalty += diff;
             }
             return isMinimize ? penalty : -penalty;
         }
     }
 
-    // -----Matrix utility functions similar to the Matlab build in functions------
-
-    /**
-     * @param m Input matrix
-     * @return Matrix representing the element-wise logarithm of m.
-     */
-    private static RealMatrix log(final RealMatrix m) {
-        final double[][] d = new double[m.getRowDimension()][m.getColumnDimension()];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                d[r][c] = FastMath.log(m.getEntry(r, c));
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @return Matrix representing the element-wise square root of m.
-     */
-    private static RealMatrix sqrt(final RealMatrix m) {
-        final double[][] d = new double[m.getRowDimension()][m.getColumnDimension()];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                d[r][c] = FastMath.sqrt(m.getEntry(r, c));
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @return Matrix representing the element-wise square of m.
-     */
-    private static RealMatrix square(final RealMatrix m) {
-        final double[][] d = new double[m.getRowDimension()][m.getColumnDimension()];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                double e = m.getEntry(r, c);
-                d[r][c] = e * e;
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix 1.
-     * @param n Input matrix 2.
-     * @return the matrix where the elements of m and n are element-wise multiplied.
-     */
-    private static RealMatrix times(final RealMatrix m, final RealMatrix n) {
-        final double[][] d = new double[m.getRowDimension()][m.getColumnDimension()];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                d[r][c] = m.getEntry(r, c) * n.getEntry(r, c);
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix 1.
-     * @param n Input matrix 2.
-     * @return Matrix where the elements of m and n are element-wise divided.
-     */
-    private static RealMatrix divide(final RealMatrix m, final RealMatrix n) {
-        final double[][] d = new double[m.getRowDimension()][m.getColumnDimension()];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                d[r][c] = m.getEntry(r, c) / n.getEntry(r, c);
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @param cols Columns to select.
-     * @return Matrix representing the selected columns.
-     */
-    private static RealMatrix selectColumns(final RealMatrix m, final int[] cols) {
-        final double[][] d = new double[m.getRowDimension()][cols.length];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < cols.length; c++) {
-                d[r][c] = m.getEntry(r, cols[c]);
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @param k Diagonal position.
-     * @return Upper triangular part of matrix.
-     */
-    private static RealMatrix triu(final RealMatrix m, int k) {
-        final double[][] d = new double[m.getRowDimension()][m.getColumnDimension()];
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                d[r][c] = r <= c - k ? m.getEntry(r, c) : 0;
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @return Row matrix representing the sums of the rows.
-     */
-    private static RealMatrix sumRows(final RealMatrix m) {
-        final double[][] d = new double[1][m.getColumnDimension()];
-        for (int c = 0; c < m.getColumnDimension(); c++) {
-            double sum = 0;
-            for (int r = 0; r < m.getRowDimension(); r++) {
-                sum += m.getEntry(r, c);
-            }
-            d[0][c] = sum;
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @return the diagonal n-by-n matrix if m is a column matrix or the column
-     * matrix representing the diagonal if m is a n-by-n matrix.
-     */
-    private static RealMatrix diag(final RealMatrix m) {
-        if (m.getColumnDimension() == 1) {
-            final double[][] d = new double[m.getRowDimension()][m.getRowDimension()];
-            for (int i = 0; i < m.getRowDimension(); i++) {
-                d[i][i] = m.getEntry(i, 0);
-            }
-            return new Array2DRowRealMatrix(d, false);
-        } else {
-            final double[][] d = new double[m.getRowDimension()][1];
-            for (int i = 0; i < m.getColumnDimension(); i++) {
-                d[i][0] = m.getEntry(i, i);
-            }
-            return new Array2DRowRealMatrix(d, false);
-        }
-    }
-
-    /**
-     * Copies a column from m1 to m2.
-     *
-     * @param m1 Source matrix.
-     * @param col1 Source column.
-     * @param m2 Target matrix.
-     * @param col2 Target column.
-     */
-    private static void copyColumn(final RealMatrix m1, int col1,
-                                   RealMatrix m2, int col2) {
-        for (int i = 0; i < m1.getRowDimension(); i++) {
-            m2.setEntry(i, col2, m1.getEntry(i, col1));
-        }
-    }
-
-    /**
-     * @param n Number of rows.
-     * @param m Number of columns.
-     * @return n-by-m matrix filled with 1.
-     */
-    private static RealMatrix ones(int n, int m) {
-        final double[][] d = new double[n][m];
-        for (int r = 0; r < n; r++) {
-            Arrays.fill(d[r], 1);
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param n Number of rows.
-     * @param m Number of columns.
-     * @return n-by-m matrix of 0 values out of diagonal, and 1 values on
-     * the diagonal.
-     */
-    private static RealMatrix eye(int n, int m) {
-        final double[][] d = new double[n][m];
-        for (int r = 0; r < n; r++) {
-            if (r < m) {
-                d[r][r] = 1;
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param n Number of rows.
-     * @param m Number of columns.
-     * @return n-by-m matrix of zero values.
-     */
-    private static RealMatrix zeros(int n, int m) {
-        return new Array2DRowRealMatrix(n, m);
-    }
-
-    /**
-     * @param mat Input matrix.
-     * @param n Number of row replicates.
-     * @param m Number of column replicates.
-     * @return a matrix which replicates the input matrix in both directions.
-     */
-    private static RealMatrix repmat(final RealMatrix mat, int n, int m) {
-        final int rd = mat.getRowDimension();
-        final int cd = mat.getColumnDimension();
-        final double[][] d = new double[n * rd][m * cd];
-        for (int r = 0; r < n * rd; r++) {
-            for (int c = 0; c < m * cd; c++) {
-                d[r][c] = mat.getEntry(r % rd, c % cd);
-            }
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param start Start value.
-     * @param end End value.
-     * @param step Step size.
-     * @return a sequence as column matrix.
-     */
-    private static RealMatrix sequence(double start, double end, double step) {
-        final int size = (int) ((end - start) / step + 1);
-        final double[][] d = new double[size][1];
-        double value = start;
-        for (int r = 0; r < size; r++) {
-            d[r][0] = value;
-            value += step;
-        }
-        return new Array2DRowRealMatrix(d, false);
-    }
-
-    /**
-     * @param m Input matrix.
-     * @return the maximum of the matrix element values.
-     */
-    private static double max(final RealMatrix m) {
-        double max = -Double.MAX_VALUE;
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                double e = m.getEntry(r, c);
-                if (max < e) {
-                    max = e;
-                }
-            }
-        }
-        return max;
-    }
-
-    /**
-     * @param m Input matrix.
-     * @return the minimum of the matrix element values.
-     */
-    private static double min(final RealMatrix m) {
-        double min = Double.MAX_VALUE;
-        for (int r = 0; r < m.getRowDimension(); r++) {
-            for (int c = 0; c < m.getColumnDimension(); c++) {
-                double e = m.getEntry(r, c);
-                if (min > e) {
-                    min = e;
-                }
-            }
-        }
-        return min;
-    }
-
     /**
      * @param m Input array.
      * @return the maximum of the array values.
@@ -1310,53 +1174,30 @@ public class CMAESOptimizer
     }
 
     /**
-     * @param indices Input index array.
-     * @return the inverse of the mapping defined by indices.
-     */
-    private static int[] inverse(final int[] indices) {
-        final int[] inverse = new int[indices.length];
-        for (int i = 0; i < indices.length; i++) {
-            inverse[indices[i]] = i;
-        }
-        return inverse;
-    }
-
-    /**
-     * @param indices Input index array.
-     * @return the indices in inverse order (last is first).
-     */
-    private static int[] reverse(final int[] indices) {
-        final int[] reverse = new int[indices.length];
-        for (int i = 0; i < indices.length; i++) {
-            reverse[i] = indices[indices.length - i - 1];
-        }
-        return reverse;
-    }
-
-    /**
-     * @param size Length of random array.
-     * @return an array of Gaussian random numbers.
+     * Fill an array with Gaussian random numbers.
+     *
+     * @param randn Array to fill.
      */
-    private double[] randn(int size) {
-        final double[] randn = new double[size];
-        for (int i = 0; i < size; i++) {
+    private void randn(final double[] randn) {
+        for (int i = 0; i < randn.length; i++) {
             randn[i] = random.nextGaussian();
         }
-        return randn;
     }
 
     /**
-     * @param size Number of rows.
-     * @param popSize Population size.
-     * @return a 2-dimensional matrix of Gaussian random numbers.
+     * Fill the Gaussian random numbers of a population.
+     * <p>
+     * The numbers are drawn component by component, i.e. all offspring get their
+     * first component before any of them gets its second component.
+     * </p>
+     *
+     * @param population Array to fill, one row per offspring.
      */
-    private RealMatrix randn1(int size, int popSize) {
-        final double[][] d = new double[size][popSize];
-        for (int r = 0; r < size; r++) {
-            for (int c = 0; c < popSize; c++) {
-                d[r][c] = random.nextGaussian();
+    private void randn1(final double[][] population) {
+        for (int r = 0; r < dimension; r++) {
+            for (final double[] offspring : population) {
+                offspring[r] = random.nextGaussian();
             }
         }
-        return new Array2DRowRealMatrix(d, false);
     }
 }
@@ -32,6 +32,7 @@ import org.hipparchus.optim.OptimizationData;
 import org.hipparchus.optim.PointValuePair;
 import org.hipparchus.optim.SimpleValueChecker;
 import org.hipparchus.optim.nonlinear.scalar.GoalType;
+import org.hipparchus.optim.nonlinear.scalar.MultivariateBatchFunction;
 import org.hipparchus.optim.nonlinear.scalar.MultivariateOptimizer;
 
 /**
@@ -70,6 +71,11 @@ import org.hipparchus.optim.nonlinear.scalar.MultivariateOptimizer;
  *  to one with the appropriate dimensions.
  * </p>
  * <p>
+ *  If a {@link org.hipparchus.optim.nonlinear.scalar.BatchObjectiveFunction
+ *  BatchObjectiveFunction} is provided, the vertices of the initial simplex
+ *  and of shrunk or transformed simplices are evaluated by batches.
+ * </p>
+ * <p>
  *  Convergence is checked by providing the <em>worst</em> points of
  *  previous and current simplex to the convergence checker, not the best
  *  ones.
@@ -131,16 +137,9 @@ public class SimplexOptimizer extends MultivariateOptimizer {
     protected PointValuePair doOptimize() {
         checkParameters();
 
-        // Indirect call to "computeObjectiveValue" in order to update the
+        // Indirect call to "computeObjectiveValue(s)" in order to update the
         // evaluations counter.
-        final MultivariateFunction evalFunc
-            = new MultivariateFunction() {
-                /** {@inheritDoc} */
-                @Override
-                public double value(double[] point) {
-                    return computeObjectiveValue(point);
-                }
-            };
+        final MultivariateFunction evalFunc = new Evaluator();
 
         final boolean isMinim = getGoalType() == GoalType.MINIMIZE;
         final Comparator<PointValuePair> comparator
@@ -226,4 +225,22 @@ public class SimplexOptimizer extends MultivariateOptimizer {
             throw new MathRuntimeException(LocalizedCoreFormats.CONSTRAINT);
         }
     }
+
+    /** Evaluation function updating the evaluations counter. */
+    private class Evaluator implements MultivariateFunction, MultivariateBatchFunction {
+
+        /** {@inheritDoc} */
+        @Override
+        public double value(final double[] point) {
+            return computeObjectiveValue(point);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] value(final double[][] points) {
+            return computeObjectiveValues(points);
+        }
+
+    }
+
 }
@@ -24,14 +24,18 @@ package org.hipparchus.optim.univariate;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.optim.MaxEval;
 import org.hipparchus.optim.OptimizationData;
+import org.hipparchus.optim.SharedEvaluationBudget;
 import org.hipparchus.optim.nonlinear.scalar.GoalType;
 import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.ParallelUtils;
 
 /**
  * Special implementation of the {@link UnivariateOptimizer} interface
@@ -40,12 +44,20 @@ import org.hipparchus.random.RandomGenerator;
  * This class wraps an optimizer in order to use it several times in
  * turn with different starting points (trying to avoid being trapped
  * in a local extremum when looking for a global one).
+ * <p>
+ * Starts can be run in parallel, see {@link
+ * #MultiStartUnivariateOptimizer(Supplier, int, RandomGenerator, ForkJoinPool)}.
+ * </p>
  *
  */
 public class MultiStartUnivariateOptimizer
     extends UnivariateOptimizer {
     /** Underlying classical optimizer. */
     private final UnivariateOptimizer optimizer;
+    /** Factory for optimizers used by parallel starts (null in serial mode). */
+    private final Supplier<? extends UnivariateOptimizer> factory;
+    /** Pool for parallel starts (null in serial mode). */
+    private final ForkJoinPool pool;
     /** Number of evaluations already performed for all starts. */
     private int totalEvaluations;
     /** Number of starts to go. */
@@ -80,6 +92,54 @@ public class MultiStartUnivariateOptimizer
     public MultiStartUnivariateOptimizer(final UnivariateOptimizer optimizer,
                                          final int starts,
                                          final RandomGenerator generator) {
+        this(optimizer, null, starts, generator, null);
+    }
+
+    /**
+     * Create a multi-start optimizer running starts in parallel.
+     * <p>
+     * The factory is called once for each start, in the calling thread, so
+     * each start uses its own optimizer instance. The start values are drawn
+     * from the generator before the optimizations are launched and the optima
+     * are gathered in start order, so the results are the same as in serial
+     * mode for a given generator seed. The objective function is shared by all
+     * starts and must be thread-safe. The {@link MaxEval maximum number of
+     * evaluations} is a budget shared by all starts; if it is exhausted, which
+     * starts fail depends on thread scheduling.
+     * </p>
+     *
+     * @param factory factory for single-start optimizers
+     * @param starts Number of starts to perform. If {@code starts == 1},
+     * the {@code optimize} methods will return the same solution as an
+     * optimizer built by the factory would.
+     * @param generator Random generator to use for restarts.
+     * @param pool pool to use (if null, starts are run serially in the calling
+     * thread, all with the same optimizer instance)
+     * @throws MathIllegalArgumentException if {@code starts < 1}.
+     * @since 1.9
+     */
+    public MultiStartUnivariateOptimizer(final Supplier<? extends UnivariateOptimizer> factory,
+                                         final int starts,
+                                         final RandomGenerator generator,
+                                         final ForkJoinPool pool) {
+        this(factory.get(), factory, starts, generator, pool);
+    }
+
+    /**
+     * Create a multi-start optimizer.
+     *
+     * @param optimizer Single-start optimizer to wrap.
+     * @param factory factory for single-start optimizers (may be null in serial mode)
+     * @param starts Number of starts to perform.
+     * @param generator Random generator to use for restarts.
+     * @param pool pool to use (if null, starts are run serially in the calling thread)
+     * @throws MathIllegalArgumentException if {@code starts < 1}.
+     */
+    private MultiStartUnivariateOptimizer(final UnivariateOptimizer optimizer,
+                                          final Supplier<? extends UnivariateOptimizer> factory,
+                                          final int starts,
+                                          final RandomGenerator generator,
+                                          final ForkJoinPool pool) {
         super(optimizer.getConvergenceChecker());
 
         if (starts < 1) {
@@ -88,6 +148,8 @@ public class MultiStartUnivariateOptimizer
         }
 
         this.optimizer = optimizer;
+        this.factory = factory;
+        this.pool = pool;
         this.starts = starts;
         this.generator = generator;
     }
@@ -168,6 +230,10 @@ public class MultiStartUnivariateOptimizer
             throw new MathIllegalStateException(LocalizedCoreFormats.ILLEGAL_STATE);
         }
 
+        if (pool != null && factory != null) {
+            return doOptimizeInParallel();
+        }
+
         RuntimeException lastException = null;
         optima = new UnivariatePointValuePair[starts];
         totalEvaluations = 0;
@@ -209,6 +275,78 @@ public class MultiStartUnivariateOptimizer
         return optima[0];
     }
 
+    /**
+     * Run all starts in parallel.
+     *
+     * @return the point with the best objective function value
+     */
+    private UnivariatePointValuePair doOptimizeInParallel() {
+
+        optima = new UnivariatePointValuePair[starts];
+        totalEvaluations = 0;
+
+        final int maxEval = getMaxEvaluations();
+        final double min = getMin();
+        final double max = getMax();
+        final SharedEvaluationBudget budget = new SharedEvaluationBudget(maxEval);
+
+        // prepare all starts in the calling thread, for reproducibility
+        final UnivariateOptimizer[] optimizers = new UnivariateOptimizer[starts];
+        final OptimizationData[][]  data       = new OptimizationData[starts][];
+        for (int i = 0; i < starts; i++) {
+            final double s = (i == 0) ?
+                getStartValue() :
+                min + generator.nextDouble() * (max - min);
+            data[i] = new OptimizationData[optimData.length];
+            for (int k = 0; k < optimData.length; ++k) {
+                if (optimData[k] instanceof UnivariateObjectiveFunction) {
+                    // charge each evaluation to the shared budget
+                    final UnivariateObjectiveFunction objective = (UnivariateObjectiveFunction) optimData[k];
+                    data[i][k] = new UnivariateObjectiveFunction(x -> {
+                        budget.consume();
+                        return objective.getObjectiveFunction().value(x);
+                    });
+                } else {
+                    data[i][k] = optimData[k];
+                }
+            }
+            data[i][maxEvalIndex]        = new MaxEval(maxEval);
+            data[i][searchIntervalIndex] = new SearchInterval(min, max, s);
+            optimizers[i] = (i == 0) ? optimizer : factory.get();
+        }
+
+        // run the optimizations
+        final RuntimeException[] failures    = new RuntimeException[starts];
+        final int[]              evaluations = new int[starts];
+        ParallelUtils.forEach(pool, 0, starts, 1, i -> {
+            // CHECKSTYLE: stop IllegalCatch
+            try {
+                optima[i] = optimizers[i].optimize(data[i]);
+            } catch (RuntimeException mue) { // NOPMD - caching a RuntimeException is intentional here, it will be rethrown later
+                failures[i] = mue;
+            }
+            // CHECKSTYLE: resume IllegalCatch
+            evaluations[i] = optimizers[i].getEvaluations();
+        });
+
+        RuntimeException lastException = null;
+        for (int i = 0; i < starts; i++) {
+            if (optima[i] == null) {
+                lastException = failures[i];
+            }
+            totalEvaluations += evaluations[i];
+        }
+
+        sortPairs(getGoalType());
+
+        if (optima[0] == null) {
+            throw lastException; // Cannot be null if starts >= 1.
+        }
+
+        // Return the point with the best objective function value.
+        return optima[0];
+    }
+
     /**
      * Sort the optima from best to worst, followed by {@code null} elements.
      *
@@ -21,7 +21,11 @@
  */
 package org.hipparchus.optim.nonlinear.scalar;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.hipparchus.analysis.MultivariateFunction;
+import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.geometry.euclidean.twod.Vector2D;
 import org.hipparchus.optim.InitialGuess;
 import org.hipparchus.optim.MaxEval;
@@ -119,6 +123,88 @@ public class MultiStartMultivariateOptimizerTest {
         Assert.assertTrue(optimum.getValue() < 5e-5);
     }
 
+    @Test
+    public void testParallel() {
+        final AtomicInteger count = new AtomicInteger();
+        final MultivariateFunction rosenbrock = x -> {
+            count.incrementAndGet();
+            double a = x[1] - x[0] * x[0];
+            double b = 1 - x[0];
+            return 100 * a * a + b * b;
+        };
+        NelderMeadSimplex simplex = new NelderMeadSimplex(new double[][] {
+                { -1.2,  1.0 },
+                { 0.9, 1.2 } ,
+                {  3.5, -2.3 }
+            });
+        int nbStarts = 10;
+
+        MultiStartMultivariateOptimizer serial =
+                        new MultiStartMultivariateOptimizer(new SimplexOptimizer(new SimpleValueChecker(-1, 1e-3)),
+                                                            nbStarts, rosenbrockGenerator());
+        serial.optimize(new MaxEval(10000), new ObjectiveFunction(rosenbrock), GoalType.MINIMIZE,
+                        simplex, new InitialGuess(new double[] { -1.2, 1.0 }));
+        Assert.assertEquals(count.get(), serial.getEvaluations());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int k = 0; k < 3; ++k) {
+                count.set(0);
+                MultiStartMultivariateOptimizer parallel =
+                                new MultiStartMultivariateOptimizer(() -> new SimplexOptimizer(new SimpleValueChecker(-1, 1e-3)),
+                                                                    nbStarts, rosenbrockGenerator(), pool);
+                PointValuePair optimum =
+                                parallel.optimize(new MaxEval(10000), new ObjectiveFunction(rosenbrock), GoalType.MINIMIZE,
+                                                  simplex, new InitialGuess(new double[] { -1.2, 1.0 }));
+                Assert.assertEquals(serial.getEvaluations(), parallel.getEvaluations());
+                Assert.assertEquals(count.get(), parallel.getEvaluations());
+                Assert.assertTrue(optimum.getValue() < 5e-5);
+                PointValuePair[] serialOptima   = serial.getOptima();
+                PointValuePair[] parallelOptima = parallel.getOptima();
+                Assert.assertEquals(nbStarts, parallelOptima.length);
+                for (int i = 0; i < nbStarts; ++i) {
+                    Assert.assertEquals(serialOptima[i].getValue(), parallelOptima[i].getValue(), 0.0);
+                    Assert.assertArrayEquals(serialOptima[i].getPointRef(), parallelOptima[i].getPointRef(), 0.0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSharedBudget() {
+        final AtomicInteger count = new AtomicInteger();
+        final MultivariateFunction rosenbrock = x -> {
+            count.incrementAndGet();
+            double a = x[1] - x[0] * x[0];
+            double b = 1 - x[0];
+            return 100 * a * a + b * b;
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MultiStartMultivariateOptimizer parallel =
+                            new MultiStartMultivariateOptimizer(() -> new SimplexOptimizer(new SimpleValueChecker(-1, 1e-3)),
+                                                                10, rosenbrockGenerator(), pool);
+            try {
+                parallel.optimize(new MaxEval(50), new ObjectiveFunction(rosenbrock), GoalType.MINIMIZE,
+                                  new NelderMeadSimplex(2), new InitialGuess(new double[] { -1.2, 1.0 }));
+                Assert.fail("an exception should have been thrown");
+            } catch (MathIllegalStateException mise) {
+                // expected, no start can converge within the shared budget
+            }
+            Assert.assertEquals(50, count.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static RandomVectorGenerator rosenbrockGenerator() {
+        JDKRandomGenerator g = new JDKRandomGenerator();
+        g.setSeed(16069223052l);
+        return new UncorrelatedRandomVectorGenerator(2, new GaussianRandomGenerator(g));
+    }
+
     private static class Rosenbrock implements MultivariateFunction {
         private int count;
 
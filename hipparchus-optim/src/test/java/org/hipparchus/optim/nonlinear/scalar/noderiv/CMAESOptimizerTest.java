@@ -23,6 +23,8 @@ package org.hipparchus.optim.nonlinear.scalar.noderiv;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hipparchus.Retry;
 import org.hipparchus.RetryRunner;
@@ -32,8 +34,10 @@ import org.hipparchus.optim.InitialGuess;
 import org.hipparchus.optim.MaxEval;
 import org.hipparchus.optim.PointValuePair;
 import org.hipparchus.optim.SimpleBounds;
+import org.hipparchus.optim.nonlinear.scalar.BatchObjectiveFunction;
 import org.hipparchus.optim.nonlinear.scalar.GoalType;
 import org.hipparchus.optim.nonlinear.scalar.ObjectiveFunction;
+import org.hipparchus.optim.nonlinear.scalar.ParallelBatchFunction;
 import org.hipparchus.random.MersenneTwister;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
@@ -364,6 +368,20 @@ public class CMAESOptimizerTest {
                 1e-10, 1e-4, 1000000, expected);
      }
 
+    @Test
+    public void testSeparableLargeDimension() {
+        // sep-CMA-ES, only the diagonal of the covariance matrix is adapted
+        final int dim = 100;
+        double[] startPoint = point(dim, 1.0);
+        double[] insigma = point(dim, 0.3);
+        double[][] boundaries = null;
+        PointValuePair expected =
+            new PointValuePair(point(dim, 0.0), 0.0);
+        doTest(new Elli(), startPoint, insigma, boundaries,
+               GoalType.MINIMIZE, 4 + (int) (3 * FastMath.log(dim)), true, 1, 1e-13,
+               1e-10, 1e-5, 1000000, expected);
+    }
+
     @Test
     public void testMath864() {
         final CMAESOptimizer optimizer
@@ -392,6 +410,49 @@ public class CMAESOptimizerTest {
                           result[0] <= upper[0]);
     }
 
+    @Test
+    public void testBatchEvaluation() {
+        final double[] start = point(DIM, 0.0);
+        final double[] sigma = point(DIM, 0.1);
+
+        final CMAESOptimizer serial = new CMAESOptimizer(30000, 0, true, 10, 0,
+                                                         new MersenneTwister(123456L), false, null);
+        final PointValuePair reference = serial.optimize(new MaxEval(100000),
+                                                         new ObjectiveFunction(new Rosen()),
+                                                         GoalType.MINIMIZE,
+                                                         new CMAESOptimizer.PopulationSize(LAMBDA),
+                                                         new CMAESOptimizer.Sigma(sigma),
+                                                         new InitialGuess(start),
+                                                         SimpleBounds.unbounded(DIM));
+
+        final AtomicInteger batches = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ParallelBatchFunction parallel = new ParallelBatchFunction(new Rosen(), pool);
+            final CMAESOptimizer batch = new CMAESOptimizer(30000, 0, true, 10, 0,
+                                                            new MersenneTwister(123456L), false, null);
+            final PointValuePair optimum = batch.optimize(new MaxEval(100000),
+                                                          new ObjectiveFunction(new Rosen()),
+                                                          new BatchObjectiveFunction(points -> {
+                                                              Assert.assertEquals(LAMBDA, points.length);
+                                                              batches.incrementAndGet();
+                                                              return parallel.value(points);
+                                                          }),
+                                                          GoalType.MINIMIZE,
+                                                          new CMAESOptimizer.PopulationSize(LAMBDA),
+                                                          new CMAESOptimizer.Sigma(sigma),
+                                                          new InitialGuess(start),
+                                                          SimpleBounds.unbounded(DIM));
+            Assert.assertEquals(reference.getValue(), optimum.getValue(), 0.0);
+            Assert.assertArrayEquals(reference.getPointRef(), optimum.getPointRef(), 0.0);
+            Assert.assertEquals(serial.getEvaluations(), batch.getEvaluations());
+            Assert.assertEquals(serial.getIterations(), batches.get());
+            Assert.assertEquals(1 + LAMBDA * batches.get(), batch.getEvaluations());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Cf. MATH-867
      */
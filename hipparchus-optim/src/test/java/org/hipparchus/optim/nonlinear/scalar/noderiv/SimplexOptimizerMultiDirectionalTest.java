@@ -29,6 +29,7 @@ import org.hipparchus.optim.MaxEval;
 import org.hipparchus.optim.PointValuePair;
 import org.hipparchus.optim.SimpleBounds;
 import org.hipparchus.optim.SimpleValueChecker;
+import org.hipparchus.optim.nonlinear.scalar.BatchObjectiveFunction;
 import org.hipparchus.optim.nonlinear.scalar.GoalType;
 import org.hipparchus.optim.nonlinear.scalar.ObjectiveFunction;
 import org.hipparchus.util.FastMath;
@@ -192,6 +193,46 @@ public class SimplexOptimizerMultiDirectionalTest {
         Assert.assertTrue(optimum.getValue() > 1e-2);
     }
 
+    @Test
+    public void testBatchOnly() {
+        final MultivariateFunction powell = x -> {
+            double a = x[0] + 10 * x[1];
+            double b = x[2] - x[3];
+            double c = x[1] - 2 * x[2];
+            double d = x[0] - x[3];
+            return a * a + 5 * b * b + c * c * c * c + 10 * d * d * d * d;
+        };
+        SimplexOptimizer optimizer = new SimplexOptimizer(-1, 1e-3);
+        PointValuePair reference
+            = optimizer.optimize(new MaxEval(1000),
+                                 new ObjectiveFunction(powell),
+                                 GoalType.MINIMIZE,
+                                 new InitialGuess(new double[] { 3, -1, 0, 1 }),
+                                 new MultiDirectionalSimplex(4));
+
+        // all vertices of each transformed simplex are evaluated in a single batch
+        count = 0;
+        SimplexOptimizer batchOptimizer = new SimplexOptimizer(-1, 1e-3);
+        PointValuePair optimum
+            = batchOptimizer.optimize(new MaxEval(1000),
+                                      new BatchObjectiveFunction(points -> {
+                                          Assert.assertTrue(points.length >= 4);
+                                          count += points.length;
+                                          final double[] values = new double[points.length];
+                                          for (int i = 0; i < points.length; ++i) {
+                                              values[i] = powell.value(points[i]);
+                                          }
+                                          return values;
+                                      }),
+                                      GoalType.MINIMIZE,
+                                      new InitialGuess(new double[] { 3, -1, 0, 1 }),
+                                      new MultiDirectionalSimplex(4));
+        Assert.assertEquals(reference.getValue(), optimum.getValue(), 0.0);
+        Assert.assertArrayEquals(reference.getPointRef(), optimum.getPointRef(), 0.0);
+        Assert.assertEquals(optimizer.getEvaluations(), batchOptimizer.getEvaluations());
+        Assert.assertEquals(count, batchOptimizer.getEvaluations());
+    }
+
     @Test
     public void testMath283() {
         // fails because MultiDirectional.iterateSimplex is looping forever
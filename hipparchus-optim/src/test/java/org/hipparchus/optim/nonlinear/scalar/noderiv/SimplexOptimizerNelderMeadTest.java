@@ -33,6 +33,7 @@ import org.hipparchus.optim.InitialGuess;
 import org.hipparchus.optim.MaxEval;
 import org.hipparchus.optim.PointValuePair;
 import org.hipparchus.optim.SimpleBounds;
+import org.hipparchus.optim.nonlinear.scalar.BatchObjectiveFunction;
 import org.hipparchus.optim.nonlinear.scalar.GoalType;
 import org.hipparchus.optim.nonlinear.scalar.LeastSquaresConverter;
 import org.hipparchus.optim.nonlinear.scalar.ObjectiveFunction;
@@ -176,6 +177,107 @@ public class SimplexOptimizerNelderMeadTest {
         Assert.assertTrue(optimum.getValue() < 2e-3);
     }
 
+    @Test
+    public void testBatchPowell() {
+        Powell powell = new Powell();
+        SimplexOptimizer optimizer = new SimplexOptimizer(-1, 1e-3);
+        PointValuePair reference =
+            optimizer.optimize(new MaxEval(200),
+                               new ObjectiveFunction(powell),
+                               GoalType.MINIMIZE,
+                               new InitialGuess(new double[] { 3, -1, 0, 1 }),
+                               new NelderMeadSimplex(4));
+        int evaluations = optimizer.getEvaluations();
+
+        // only building and shrinking the simplex evaluate several points at once
+        final Powell batchPowell = new Powell();
+        final int[] batchSizes = new int[6];
+        SimplexOptimizer batchOptimizer = new SimplexOptimizer(-1, 1e-3);
+        PointValuePair optimum =
+            batchOptimizer.optimize(new MaxEval(200),
+                                    new ObjectiveFunction(batchPowell),
+                                    new BatchObjectiveFunction(points -> {
+                                        ++batchSizes[points.length];
+                                        final double[] values = new double[points.length];
+                                        for (int i = 0; i < points.length; ++i) {
+                                            values[i] = batchPowell.value(points[i]);
+                                        }
+                                        return values;
+                                    }),
+                                    GoalType.MINIMIZE,
+                                    new InitialGuess(new double[] { 3, -1, 0, 1 }),
+                                    new NelderMeadSimplex(4));
+        Assert.assertEquals(reference.getValue(), optimum.getValue(), 0.0);
+        Assert.assertArrayEquals(reference.getPointRef(), optimum.getPointRef(), 0.0);
+        Assert.assertEquals(evaluations, batchOptimizer.getEvaluations());
+        Assert.assertEquals(evaluations, batchPowell.getCount());
+        Assert.assertEquals(1, batchSizes[5]);
+        Assert.assertEquals(0, batchSizes[1] + batchSizes[2] + batchSizes[3]);
+    }
+
+    @Test
+    public void testObjectivesReplacedTogether() {
+        final int[] batchCalls = new int[1];
+        SimplexOptimizer optimizer = new SimplexOptimizer(1e-10, 1e-30);
+
+        // first run with both scalar and batch versions of the same objective
+        final MultivariateFunction first = quadratic(1.0, 2.0);
+        optimizer.optimize(new MaxEval(1000),
+                           new ObjectiveFunction(first),
+                           new BatchObjectiveFunction(points -> {
+                               ++batchCalls[0];
+                               final double[] values = new double[points.length];
+                               for (int i = 0; i < points.length; ++i) {
+                                   values[i] = first.value(points[i]);
+                               }
+                               return values;
+                           }),
+                           GoalType.MINIMIZE,
+                           new InitialGuess(new double[] { 0, 0 }),
+                           new NelderMeadSimplex(2));
+        Assert.assertTrue(batchCalls[0] > 0);
+
+        // second run with a scalar objective only: the former batch objective must not be used
+        batchCalls[0] = 0;
+        PointValuePair optimum =
+            optimizer.optimize(new MaxEval(1000),
+                               new ObjectiveFunction(quadratic(-3.0, 4.0)),
+                               new InitialGuess(new double[] { 0, 0 }),
+                               new NelderMeadSimplex(2));
+        Assert.assertEquals(0, batchCalls[0]);
+        Assert.assertEquals(-3.0, optimum.getPoint()[0], 1.0e-6);
+        Assert.assertEquals( 4.0, optimum.getPoint()[1], 1.0e-6);
+        Assert.assertEquals( 0.0, optimum.getValue(), 1.0e-10);
+
+        // third run with a batch objective only: the former scalar objective must not be used
+        final MultivariateFunction third = quadratic(5.0, -1.0);
+        optimum = optimizer.optimize(new MaxEval(1000),
+                                     new BatchObjectiveFunction(points -> {
+                                         final double[] values = new double[points.length];
+                                         for (int i = 0; i < points.length; ++i) {
+                                             values[i] = third.value(points[i]);
+                                         }
+                                         return values;
+                                     }),
+                                     new InitialGuess(new double[] { 0, 0 }),
+                                     new NelderMeadSimplex(2));
+        Assert.assertEquals( 5.0, optimum.getPoint()[0], 1.0e-6);
+        Assert.assertEquals(-1.0, optimum.getPoint()[1], 1.0e-6);
+        Assert.assertEquals( 0.0, optimum.getValue(), 1.0e-10);
+    }
+
+    @Test(expected = MathIllegalStateException.class)
+    public void testMissingObjective() {
+        new SimplexOptimizer(1e-10, 1e-30).optimize(new MaxEval(100),
+                                                   GoalType.MINIMIZE,
+                                                   new InitialGuess(new double[] { 0, 0 }),
+                                                   new NelderMeadSimplex(2));
+    }
+
+    private static MultivariateFunction quadratic(final double cx, final double cy) {
+        return point -> (point[0] - cx) * (point[0] - cx) + (point[1] - cy) * (point[1] - cy);
+    }
+
     @Test
     public void testLeastSquares1() {
         final RealMatrix factors
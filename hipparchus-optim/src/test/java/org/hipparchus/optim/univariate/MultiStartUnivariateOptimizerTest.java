@@ -21,6 +21,8 @@
  */
 package org.hipparchus.optim.univariate;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.analysis.QuinticFunction;
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.analysis.function.Sin;
@@ -102,6 +104,38 @@ public class MultiStartUnivariateOptimizerTest {
         Assert.assertTrue(optimizer.getEvaluations() <= 100);
     }
 
+    @Test
+    public void testParallel() {
+        UnivariateFunction f = new Sin();
+        JDKRandomGenerator g = new JDKRandomGenerator();
+        g.setSeed(44428400075l);
+        MultiStartUnivariateOptimizer serial =
+                        new MultiStartUnivariateOptimizer(new BrentOptimizer(1e-10, 1e-14), 10, g);
+        serial.optimize(new MaxEval(3000), new UnivariateObjectiveFunction(f),
+                        GoalType.MINIMIZE, new SearchInterval(-100.0, 100.0));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            g.setSeed(44428400075l);
+            MultiStartUnivariateOptimizer parallel =
+                            new MultiStartUnivariateOptimizer(() -> new BrentOptimizer(1e-10, 1e-14), 10, g, pool);
+            UnivariatePointValuePair optimum =
+                            parallel.optimize(new MaxEval(3000), new UnivariateObjectiveFunction(f),
+                                              GoalType.MINIMIZE, new SearchInterval(-100.0, 100.0));
+            Assert.assertEquals(-1.0, optimum.getValue(), 1.0e-10);
+            Assert.assertEquals(serial.getEvaluations(), parallel.getEvaluations());
+            UnivariatePointValuePair[] serialOptima   = serial.getOptima();
+            UnivariatePointValuePair[] parallelOptima = parallel.getOptima();
+            Assert.assertEquals(serialOptima.length, parallelOptima.length);
+            for (int i = 0; i < serialOptima.length; ++i) {
+                Assert.assertEquals(serialOptima[i].getPoint(), parallelOptima[i].getPoint(), 0.0);
+                Assert.assertEquals(serialOptima[i].getValue(), parallelOptima[i].getValue(), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testBadFunction() {
         UnivariateFunction f = new UnivariateFunction() {